@@ -0,0 +1,28 @@
+package com.company.los.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * API үйлдлүүдэд үйл ажиллагааны лог interceptor холбох
+ * Registers the activity logging interceptor for /api/**
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Configuration
+public class ActivityLoggingConfig implements WebMvcConfigurer {
+
+    private final ActivityLoggingInterceptor activityLoggingInterceptor;
+
+    public ActivityLoggingConfig(ActivityLoggingInterceptor activityLoggingInterceptor) {
+        this.activityLoggingInterceptor = activityLoggingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(activityLoggingInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,149 @@
+package com.company.los.config;
+
+import com.company.los.controller.CustomerController;
+import com.company.los.controller.DocumentController;
+import com.company.los.controller.HealthController;
+import com.company.los.controller.LoanApplicationController;
+import com.company.los.controller.UserController;
+import com.company.los.entity.ActivityLog;
+import com.company.los.entity.User;
+import com.company.los.service.ActivityLogService;
+import com.company.los.util.ClientAddress;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Controller үйлдлүүдийг үйл ажиллагааны лог болгон бүртгэх interceptor.
+ *
+ * Үйлдлийн төрөл (handler method-ийн нэрээс, жишээ нь createCustomer → CREATE_CUSTOMER) болон
+ * объектын төрөл (controller-оос) method бүрт нэг удаа тооцогдож cache-лэгдэнэ; request бүрт
+ * зөвхөн path variable, хэрэглэгч, статусыг уншиж ActivityLogService руу дамжуулна.
+ * GET хүсэлтүүд app.activity.log-reads=true үед л бүртгэгдэнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Component
+public class ActivityLoggingInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ActivityLoggingInterceptor.class.getName() + ".start";
+
+    private static final Map<Class<?>, String> CONTROLLER_ENTITIES = Map.of(
+            CustomerController.class, ActivityLog.ENTITY_CUSTOMER,
+            LoanApplicationController.class, ActivityLog.ENTITY_LOAN_APPLICATION,
+            DocumentController.class, ActivityLog.ENTITY_DOCUMENT,
+            UserController.class, ActivityLog.ENTITY_USER);
+
+    // Тодорхой нэртэй path variable нь controller-оос үл хамааран объектыг заана
+    private static final Map<String, String> VARIABLE_ENTITIES = Map.of(
+            "customerId", ActivityLog.ENTITY_CUSTOMER,
+            "applicationId", ActivityLog.ENTITY_LOAN_APPLICATION,
+            "loanApplicationId", ActivityLog.ENTITY_LOAN_APPLICATION,
+            "documentId", ActivityLog.ENTITY_DOCUMENT,
+            "userId", ActivityLog.ENTITY_USER);
+
+    private final ActivityLogService activityLogService;
+    private final Map<Method, String> activityTypes = new ConcurrentHashMap<>();
+
+    @Value("${app.activity.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.activity.log-reads:false}")
+    private boolean logReads = false;
+
+    public ActivityLoggingInterceptor(ActivityLogService activityLogService) {
+        this.activityLogService = activityLogService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled && handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos) || !(handler instanceof HandlerMethod handlerMethod)
+                || handlerMethod.getBeanType() == HealthController.class) {
+            return;
+        }
+        String method = request.getMethod();
+        boolean mutating = !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+        if (!mutating && !logReads) {
+            return;
+        }
+
+        String entityType = CONTROLLER_ENTITIES.get(handlerMethod.getBeanType());
+        String entityId = null;
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> pathVariables && !pathVariables.isEmpty()) {
+            Object id = pathVariables.get("id");
+            if (id != null) {
+                entityId = id.toString();
+            } else {
+                for (Map.Entry<String, String> variable : VARIABLE_ENTITIES.entrySet()) {
+                    Object value = pathVariables.get(variable.getKey());
+                    if (value != null) {
+                        entityType = variable.getValue();
+                        entityId = value.toString();
+                        break;
+                    }
+                }
+            }
+        }
+
+        String userId = null;
+        String username = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            username = authentication.getName();
+            if (authentication.getPrincipal() instanceof User user && user.getId() != null) {
+                userId = user.getId().toString();
+            }
+        }
+
+        String ipAddress = ClientAddress.of(request);
+        HttpSession session = request.getSession(false);
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+        activityLogService.record(new ActivityLogService.Event(userId, username,
+                activityTypes.computeIfAbsent(handlerMethod.getMethod(), ActivityLoggingInterceptor::activityType),
+                entityType, entityId, method, request.getRequestURI(), status,
+                (System.nanoTime() - startNanos) / 1_000_000, mutating,
+                ipAddress, request.getHeader("User-Agent"), session != null ? session.getId() : null,
+                LocalDateTime.now()));
+    }
+
+    /**
+     * createCustomer → CREATE_CUSTOMER
+     */
+    private static String activityType(Method method) {
+        String name = method.getName();
+        StringBuilder type = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                type.append('_');
+            }
+            type.append(Character.toUpperCase(c));
+        }
+        return type.toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.company.los.config;
+
+import com.company.los.entity.AuditLog;
+import com.company.los.entity.Customer;
+import com.company.los.entity.Document;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.User;
+import com.company.los.service.AuditTrailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hibernate event түвшний аудит listener.
+ * LoanApplication, Customer, Document, User-ийн commit болсон өөрчлөлтөөс талбарын diff гаргаж
+ * AuditTrailService руу дамжуулна (бичилт нь async).
+ *
+ * Request thread дээр зөвхөн state массивуудыг харьцуулж жижиг map үүсгэнэ; JSON болон
+ * DB бичилт flusher thread дээр хийгдэнэ. Collection талбарууд болон нууц үг аудитлагдахгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Component
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventListener.class);
+
+    private static final Map<Class<?>, String> AUDITED_TABLES = Map.of(
+            LoanApplication.class, AuditLog.TABLE_LOAN_APPLICATIONS,
+            Customer.class, AuditLog.TABLE_CUSTOMERS,
+            Document.class, AuditLog.TABLE_DOCUMENTS,
+            User.class, AuditLog.TABLE_USERS);
+
+    // Өөрчлөлт бүрт дагаж өөрчлөгддөг тул diff-д оруулахгүй (optimistic lock-ийн version мөн)
+    private static final Set<String> EXCLUDED_PROPERTIES = Set.of("updatedAt", "updatedBy", "version");
+
+    // Өөрчлөгдсөн нь бүртгэгдэх боловч утга нь хадгалагдахгүй
+    private static final Set<String> MASKED_PROPERTIES = Set.of("passwordHash");
+    private static final String MASKED = "***";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditTrailService auditTrailService;
+
+    @Value("${app.audit.enabled:true}")
+    private boolean enabled = true;
+
+    public AuditEventListener(EntityManagerFactory entityManagerFactory, AuditTrailService auditTrailService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditTrailService = auditTrailService;
+    }
+
+    @PostConstruct
+    void register() {
+        if (!enabled) {
+            logger.info("Audit trail capture disabled");
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        logger.info("Audit trail listeners registered for {}", AUDITED_TABLES.values());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITED_TABLES.containsKey(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String table = AUDITED_TABLES.get(event.getPersister().getMappedClass());
+        if (table == null) {
+            return;
+        }
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        collect(event.getPersister(), event.getSession(), null, event.getState(), null, null, newValues);
+        capture(table, event.getId(), AuditLog.ACTION_INSERT, Collections.emptyMap(), newValues);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String table = AUDITED_TABLES.get(event.getPersister().getMappedClass());
+        if (table == null) {
+            return;
+        }
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        collect(event.getPersister(), event.getSession(), event.getDirtyProperties(),
+                event.getState(), event.getOldState(), oldValues, newValues);
+        if (newValues.isEmpty() && oldValues.isEmpty()) {
+            return;
+        }
+        capture(table, event.getId(), AuditLog.ACTION_UPDATE, oldValues, newValues);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String table = AUDITED_TABLES.get(event.getPersister().getMappedClass());
+        if (table == null) {
+            return;
+        }
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        collect(event.getPersister(), event.getSession(), null, event.getDeletedState(), null, null, oldValues);
+        capture(table, event.getId(), AuditLog.ACTION_DELETE, oldValues, Collections.emptyMap());
+    }
+
+    // Rollback болсон өөрчлөлт аудитлагдахгүй
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    // Дотоод
+
+    /**
+     * dirty индексүүд (байхгүй бол бүх талбар)-ын утгыг цуглуулна. oldState өгөгдсөн бол
+     * зөвхөн ялгаатай талбаруудыг авна.
+     */
+    private void collect(EntityPersister persister, EventSource session, int[] dirty, Object[] state,
+                         Object[] oldState, Map<String, Object> oldValues, Map<String, Object> newValues) {
+        if (state == null) {
+            return;
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        int count = dirty != null ? dirty.length : names.length;
+
+        for (int i = 0; i < count; i++) {
+            int property = dirty != null ? dirty[i] : i;
+            String name = names[property];
+            Type type = types[property];
+            if (type.isCollectionType() || EXCLUDED_PROPERTIES.contains(name)) {
+                continue;
+            }
+
+            Object newValue = normalize(type, state[property], session);
+            if (oldState != null) {
+                Object oldValue = normalize(type, oldState[property], session);
+                if (Objects.equals(oldValue, newValue)) {
+                    continue;
+                }
+                oldValues.put(name, mask(name, oldValue));
+            }
+            newValues.put(name, mask(name, newValue));
+        }
+    }
+
+    private static Object mask(String name, Object value) {
+        return value != null && MASKED_PROPERTIES.contains(name) ? MASKED : value;
+    }
+
+    /**
+     * Холбоос entity-г ID болгон хөрвүүлэх (lazy proxy-г ачаалахгүй)
+     */
+    private static Object normalize(Type type, Object value, EventSource session) {
+        if (value == null || !type.isEntityType()) {
+            return value;
+        }
+        if (value instanceof HibernateProxy proxy) {
+            return String.valueOf(proxy.getHibernateLazyInitializer().getInternalIdentifier());
+        }
+        Object id = session.getContextEntityIdentifier(value);
+        return id != null ? id.toString() : null;
+    }
+
+    private void capture(String table, Object id, String action,
+                         Map<String, Object> oldValues, Map<String, Object> newValues) {
+        auditTrailService.capture(AuditTrailService.Change.ofCurrentRequest(table, id, action,
+                oldValues, newValues, null));
+    }
+}
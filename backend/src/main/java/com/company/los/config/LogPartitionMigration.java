@@ -0,0 +1,119 @@
+package com.company.los.config;
+
+import com.company.los.util.DatabaseDialect;
+import com.company.los.util.LogPartitions;
+import com.company.los.util.LogPartitions.LogTable;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * V6: audit_logs, activity_logs хүснэгтүүдийг сарын range partition болгох (зөвхөн PostgreSQL).
+ *
+ * Хуучин хүснэгтийг нэрийг нь сольж, ижил бүтэцтэй partition хүснэгт үүсгэн өгөгдлийг шилжүүлнэ.
+ * Анхдагч түлхүүр (id, цагийн багана) болно - PostgreSQL partition түлхүүрийг PK-д шаарддаг.
+ * Бусад өгөгдлийн сан дээр юу ч хийхгүй (LogRetentionService chunk устгалаар ажиллана).
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Component
+public class LogPartitionMigration implements JavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogPartitionMigration.class);
+
+    private static final int PREMAKE_MONTHS = 3;
+
+    private static final Map<String, List<String>> INDEXES = Map.of(
+            LogPartitions.AUDIT_LOGS.name(), List.of(
+                    "CREATE INDEX idx_audit_logs_table_record ON audit_logs(table_name, record_id, changed_at)",
+                    "CREATE INDEX idx_audit_logs_action ON audit_logs(action)",
+                    "CREATE INDEX idx_audit_logs_changed_by ON audit_logs(changed_by)",
+                    "CREATE INDEX idx_audit_logs_changed_at ON audit_logs(changed_at)"),
+            LogPartitions.ACTIVITY_LOGS.name(), List.of(
+                    "CREATE INDEX idx_activity_logs_user_id ON activity_logs(user_id)",
+                    "CREATE INDEX idx_activity_logs_type ON activity_logs(activity_type)",
+                    "CREATE INDEX idx_activity_logs_entity ON activity_logs(entity_type, entity_id)",
+                    "CREATE INDEX idx_activity_logs_created_at ON activity_logs(created_at)"));
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("6");
+    }
+
+    @Override
+    public String getDescription() {
+        return "partition log tables";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!DatabaseDialect.isPostgres(jdbcTemplate)) {
+            logger.info("Log table partitioning skipped: database is not PostgreSQL");
+            return;
+        }
+        for (LogTable table : LogPartitions.TABLES) {
+            if (!LogPartitions.isPartitioned(jdbcTemplate, table)) {
+                partition(jdbcTemplate, table);
+            }
+        }
+    }
+
+    private void partition(JdbcTemplate jdbcTemplate, LogTable table) {
+        String name = table.name();
+        String legacy = name + "_legacy";
+
+        jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + legacy);
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (" + table.timeColumn() + ")");
+
+        // Одоо байгаа өгөгдлийн эхний сараас хэдэн сарын урьдчилсан partition хүртэл
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + table.timeColumn() + ") FROM " + legacy, Timestamp.class);
+        YearMonth last = YearMonth.now().plusMonths(PREMAKE_MONTHS);
+        YearMonth month = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            LogPartitions.createMonthPartition(jdbcTemplate, table, month);
+        }
+        jdbcTemplate.execute("CREATE TABLE " + name + "_default PARTITION OF " + name + " DEFAULT");
+
+        int copied = jdbcTemplate.update("INSERT INTO " + name + " SELECT * FROM " + legacy);
+
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(con.oid) FROM pg_constraint con JOIN pg_class c ON c.oid = con.conrelid " +
+                "WHERE c.relname = ? AND con.contype = 'f' AND pg_table_is_visible(c.oid)", String.class, legacy);
+
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+        jdbcTemplate.execute("ALTER TABLE " + name + " ADD PRIMARY KEY (id, " + table.timeColumn() + ")");
+        for (String index : INDEXES.getOrDefault(name, List.of())) {
+            jdbcTemplate.execute(index);
+        }
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + name + " ADD " + foreignKey);
+        }
+
+        logger.info("Partitioned {} by month on {} ({} rows moved)", name, table.timeColumn(), copied);
+    }
+}
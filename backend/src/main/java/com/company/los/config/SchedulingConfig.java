@@ -0,0 +1,19 @@
+package com.company.los.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Төлөвлөгдсөн ажлуудын тохиргоо (accrual batch гэх мэт)
+ * Scheduling configuration - app.scheduling.enabled=false үед бүх @Scheduled ажил идэвхгүй
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
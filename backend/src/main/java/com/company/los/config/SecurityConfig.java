@@ -340,6 +340,7 @@ public class SecurityConfig {
                     "/api/v1/customers/**", "/los/api/v1/customers/**",
                     "/api/v1/loan-applications/**", "/los/api/v1/loan-applications/**",
                     "/api/v1/documents/**", "/los/api/v1/documents/**",
+                    "/api/v1/work-queue/**", "/los/api/v1/work-queue/**",
                     "/api/v1/loans/process/**", "/los/api/v1/loans/process/**"
                 ).hasAnyRole("LOAN_OFFICER", "MANAGER", "SUPER_ADMIN");
 
@@ -0,0 +1,128 @@
+package com.company.los.config;
+
+import com.company.los.util.DatabaseDialect;
+import com.company.los.util.LogPartitions;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * V8: entity ID болон тэдгээрийг заасан баганыг VARCHAR(36)/BINARY(16)-аас native uuid төрөлд хөрвүүлэх (зөвхөн PostgreSQL).
+ *
+ * 36 байтын текст түлхүүрийг 16 байтын uuid болгосноор PK/FK индексүүд ~2 дахин жижгэрч, харьцуулалт
+ * collation-гүй болно. Хөрвүүлэхийн өмнө эдгээр хүснэгтийн FK-уудыг түр устгаж, дараа нь ижил тодорхойлолтоор
+ * буцааж үүсгэнэ. Аль хэдийн uuid болсон эсвэл байхгүй багануудыг алгасна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Component
+public class UuidColumnMigration implements JavaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UuidColumnMigration.class);
+
+    // Хүснэгт -> uuid болгох баганууд
+    private static final Map<String, List<String>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("roles", List.of("id", "parent_role_id"));
+        COLUMNS.put("permissions", List.of("id"));
+        COLUMNS.put("customers", List.of("id"));
+        COLUMNS.put("loan_products", List.of("id"));
+        COLUMNS.put("document_types", List.of("id"));
+        COLUMNS.put("users", List.of("id", "manager_id"));
+        COLUMNS.put("loan_applications", List.of("id", "customer_id", "loan_product_id"));
+        COLUMNS.put("documents", List.of("id", "customer_id", "loan_application_id", "document_type_id", "previous_document_id"));
+        COLUMNS.put("user_roles", List.of("user_id", "role_id"));
+        COLUMNS.put("role_permissions", List.of("role_id", "permission_id"));
+        COLUMNS.put(LogPartitions.ACTIVITY_LOGS.name(), List.of("user_id"));
+        COLUMNS.put("loan_interest_accruals", List.of("loan_application_id"));
+        COLUMNS.put("loan_application_daily_rollups", List.of("loan_product_id"));
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("8");
+    }
+
+    @Override
+    public String getDescription() {
+        return "native uuid key columns";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!DatabaseDialect.isPostgres(jdbcTemplate)) {
+            logger.info("UUID column conversion skipped: database is not PostgreSQL");
+            return;
+        }
+
+        String tables = COLUMNS.keySet().stream().map(t -> "'" + t + "'").collect(Collectors.joining(", "));
+
+        // Эдгээр хүснэгтийг заасан эсвэл эдгээрээс гарсан бүх FK (partition-ы хүүхэд биш, эх хүснэгт дээрх)
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT c.relname AS table_name, con.conname AS name, pg_get_constraintdef(con.oid) AS definition " +
+                "FROM pg_constraint con " +
+                "JOIN pg_class c ON c.oid = con.conrelid " +
+                "JOIN pg_class r ON r.oid = con.confrelid " +
+                "WHERE con.contype = 'f' AND con.conparentid = 0 AND pg_table_is_visible(c.oid) " +
+                "AND (c.relname IN (" + tables + ") OR r.relname IN (" + tables + "))");
+
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + foreignKey.get("table_name") + " DROP CONSTRAINT " + foreignKey.get("name"));
+        }
+
+        int converted = 0;
+        for (Map.Entry<String, List<String>> entry : COLUMNS.entrySet()) {
+            String table = entry.getKey();
+            for (String column : entry.getValue()) {
+                List<String> types = jdbcTemplate.queryForList(
+                        "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                        String.class, table, column);
+                if (types.isEmpty()) {
+                    continue;
+                }
+                String using = switch (types.get(0)) {
+                    case "character varying", "character", "text" -> column + "::uuid";
+                    case "bytea" -> "encode(" + column + ", 'hex')::uuid";
+                    default -> null;
+                };
+                if (using == null) {
+                    continue;
+                }
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " TYPE uuid USING " + using);
+                converted++;
+            }
+        }
+
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + foreignKey.get("table_name") + " ADD CONSTRAINT "
+                    + foreignKey.get("name") + " " + foreignKey.get("definition"));
+        }
+
+        logger.info("Converted {} key columns to uuid ({} foreign keys rebuilt)", converted, foreignKeys.size());
+    }
+}
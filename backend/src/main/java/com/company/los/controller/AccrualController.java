@@ -0,0 +1,76 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.service.LoanAccrualService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Өдрийн хүүгийн хуримтлалын batch удирдлага (SUPER_ADMIN)
+ * Daily interest accrual admin API
+ */
+@RestController
+@RequestMapping("/api/v1/admin/accruals")
+@Tag(name = "Interest Accrual", description = "Өдрийн хүүгийн хуримтлалын API")
+public class AccrualController {
+
+    private static final Logger log = LoggerFactory.getLogger(AccrualController.class);
+
+    private final LoanAccrualService loanAccrualService;
+
+    public AccrualController(LoanAccrualService loanAccrualService) {
+        this.loanAccrualService = loanAccrualService;
+    }
+
+    /**
+     * Бизнес өдрийн хуримтлалыг гараар ажиллуулах / тасалдсан ажлыг үргэлжлүүлэх
+     */
+    @PostMapping("/run")
+    @Operation(summary = "Хуримтлал ажиллуулах", description = "Тухайн бизнес өдрийн хүүгийн хуримтлалыг ажиллуулах (idempotent)")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> runAccrual(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Бизнес өдөр") LocalDate businessDate) {
+
+        log.info("Manual interest accrual requested for {}", businessDate);
+
+        try {
+            Map<String, Object> result = loanAccrualService.runDailyAccrual(businessDate);
+            return ResponseEntity.ok(ResponseWrapper.success(result, "Хүүгийн хуримтлал дууслаа"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Хуримтлал аль хэдийн ажиллаж байна"));
+        } catch (Exception e) {
+            log.error("Error running interest accrual for {}: {}", businessDate, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Хүүгийн хуримтлал хийхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Бизнес өдрийн хуримтлалын явц
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Хуримтлалын явц", description = "Partition бүрийн checkpoint болон төлөв")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getAccrualStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Бизнес өдөр") LocalDate businessDate) {
+
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(loanAccrualService.getAccrualRunStatus(businessDate)));
+        } catch (Exception e) {
+            log.error("Error getting accrual status for {}: {}", businessDate, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Хуримтлалын явц авахад алдаа гарлаа"));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.los.controller;
 
+import com.company.los.dto.CursorPage;
 import com.company.los.dto.CustomerDto;
 import com.company.los.dto.CustomerRequestDto;
 import com.company.los.dto.CustomerResponseDto;
@@ -8,6 +9,8 @@ import com.company.los.enums.CustomerStatus;
 import com.company.los.enums.CustomerType;
 import com.company.los.enums.KYCStatus;
 import com.company.los.service.CustomerService;
+import com.company.los.service.SpreadsheetExportService;
+import com.company.los.util.EntityTags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -17,11 +20,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 import java.time.LocalDate;
@@ -79,13 +87,43 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Харилцагчдын жагсаалт - cursor хуудаслалт (COUNT, OFFSET-гүй)
+     * GET /api/v1/customers/scroll
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('customer:view')")
+    public ResponseEntity<ApiResponse<CursorPage<CustomerDto>>> scrollCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        logger.debug("📋 Scrolling customers - cursor: {}, size: {}", cursor, size);
+
+        try {
+            CursorPage<CustomerDto> customers = customerService.getCustomersByCursor(cursor, size, includeTotal);
+            return ResponseEntity.ok()
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .body(ApiResponse.success(customers));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .body(ApiResponse.error("Буруу cursor"));
+        } catch (Exception e) {
+            logger.error("❌ Error scrolling customers: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .body(ApiResponse.error("Харилцагчдийг авахад алдаа гарлаа"));
+        }
+    }
+
     /**
      * Тодорхой харилцагч авах - ⭐ ЗАСВАРЛАСАН NULL CHECK ⭐
      * GET /api/v1/customers/{id}
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('customer:view')")
-    public ResponseEntity<ApiResponse<CustomerDto>> getCustomer(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<CustomerDto>> getCustomer(@PathVariable UUID id, WebRequest webRequest) {
         logger.debug("👤 Getting customer: {}", id);
 
         try {
@@ -97,12 +135,24 @@ public class CustomerController {
                     .body(ApiResponse.error("Харилцагчийн ID буруу байна"));
             }
 
+            // ⭐ If-None-Match таарвал entity ачаалахгүйгээр 304 ⭐
+            String etag = customerService.getCustomerETag(id);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                logger.debug("👤 Customer not modified: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+            }
+
             CustomerDto customer = customerService.getCustomerById(id);
 
             if (customer != null) {
                 logger.info("✅ Successfully retrieved customer: {}", id);
                 return ResponseEntity.ok()
                     .header("Content-Type", "application/json;charset=UTF-8")
+                    .eTag(EntityTags.of(customer.getUpdatedAt()))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
                     .body(ApiResponse.success(customer));
             } else {
                 logger.warn("⚠️ Customer not found: {}", id);
@@ -463,6 +513,25 @@ public class CustomerController {
         }
     }
 
+    // ==================== EXPORT ====================
+
+    /**
+     * Харилцагчдыг Excel (XLSX) файлаар татах. ids өгөөгүй бол бүх харилцагч.
+     * GET /api/v1/customers/export
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('customer:view')")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(required = false) List<UUID> ids) {
+        logger.debug("📤 Exporting customers to XLSX: {} ids", ids != null ? ids.size() : "all");
+
+        StreamingResponseBody body = out -> customerService.exportCustomersToExcel(ids, out);
+        String fileName = "customers_" + LocalDate.now() + ".xlsx";
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(SpreadsheetExportService.CONTENT_TYPE))
+            .body(body);
+    }
+
     // ==================== ⭐ HEALTH CHECK ENDPOINT - ШИНЭЭР НЭМЭГДСЭН ⭐ ====================
 
     /**
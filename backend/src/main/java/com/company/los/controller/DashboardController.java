@@ -0,0 +1,94 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.service.DashboardRollupService;
+import com.company.los.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Dashboard Controller
+ * Frontend dashboard-ийн бүх widget-ийг нэг дуудлагаар буцаана
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@Tag(name = "Dashboard", description = "Нэгтгэсэн dashboard API")
+public class DashboardController {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+
+    private final DashboardService dashboardService;
+    private final DashboardRollupService dashboardRollupService;
+
+    public DashboardController(DashboardService dashboardService, DashboardRollupService dashboardRollupService) {
+        this.dashboardService = dashboardService;
+        this.dashboardRollupService = dashboardRollupService;
+    }
+
+    /**
+     * Нэгтгэсэн dashboard (widget-үүд зэрэг ачаалагдана, богино хугацаанд cache-лэгдэнэ)
+     */
+    @GetMapping
+    @Operation(summary = "Dashboard", description = "Бүх dashboard widget-ийг нэг хариунд нэгтгэх")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getDashboard(
+            @RequestParam(defaultValue = "false") @Parameter(description = "Cache алгасах") boolean refresh) {
+
+        log.debug("Getting aggregated dashboard (refresh={})", refresh);
+
+        try {
+            Map<String, Object> dashboard = dashboardService.getDashboard(refresh);
+            String message = Boolean.TRUE.equals(dashboard.get("partial"))
+                    ? "Зарим widget хугацаандаа ачаалагдсангүй" : null;
+            return ResponseEntity.ok(ResponseWrapper.success(dashboard, message));
+        } catch (Exception e) {
+            log.error("Error getting dashboard: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Dashboard ачаалахад алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Rollup хүснэгтүүдийг бүрэн дахин үүсгэх
+     */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Rollup дахин үүсгэх", description = "Dashboard rollup хүснэгтүүдийг түүхээс дахин тооцоолох")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> rebuildRollups() {
+        log.info("Dashboard rollup rebuild requested");
+
+        try {
+            Map<String, Object> result = dashboardRollupService.rebuildAll();
+            dashboardService.evictDashboardCache();
+            return ResponseEntity.ok(ResponseWrapper.success(result, "Rollup дахин үүсгэгдлээ"));
+        } catch (Exception e) {
+            log.error("Error rebuilding dashboard rollups: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Rollup дахин үүсгэхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Rollup бүрийн watermark
+     */
+    @GetMapping("/rollups/watermarks")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Rollup watermark", description = "Rollup бүрийн сүүлд шинэчлэгдсэн цэг")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getRollupWatermarks() {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(dashboardRollupService.getWatermarks()));
+        } catch (Exception e) {
+            log.error("Error getting rollup watermarks: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Watermark авахад алдаа гарлаа"));
+        }
+    }
+}
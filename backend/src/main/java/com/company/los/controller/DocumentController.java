@@ -1,20 +1,60 @@
 package com.company.los.controller;
 
+import com.company.los.dto.CursorPage;
+import com.company.los.dto.DocumentDto;
+import com.company.los.exception.OcrSaturatedException;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.service.DocumentOcrPipeline;
+import com.company.los.service.DocumentPreviewService;
+import com.company.los.service.DocumentPreviewService.Preview;
+import com.company.los.service.DocumentPreviewService.Rendition;
+import com.company.los.service.DocumentService;
+import com.company.los.service.DocumentStorage;
+import com.company.los.service.ResumableUploadService;
+import com.company.los.service.ResumableUploadService.SessionRequest;
+import com.company.los.service.ResumableUploadService.UploadStatus;
+import com.company.los.util.EntityTags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/documents")
 @CrossOrigin(origins = {"http://localhost:3001", "http://localhost:3000"})
 public class DocumentController {
 
+    private final DocumentService documentService;
+    private final DocumentOcrPipeline ocrPipeline;
+    private final DocumentPreviewService previewService;
+    private final ResumableUploadService resumableUploadService;
+    private final DocumentStorage documentStorage;
+
+    // Хувилбар checksum-аар түлхүүрлэгдсэн тул агуулга нь хэзээ ч өөрчлөгдөхгүй
+    private static final CacheControl PREVIEW_CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    public DocumentController(DocumentService documentService, DocumentOcrPipeline ocrPipeline,
+                              DocumentPreviewService previewService, ResumableUploadService resumableUploadService,
+                              DocumentStorage documentStorage) {
+        this.documentService = documentService;
+        this.ocrPipeline = ocrPipeline;
+        this.previewService = previewService;
+        this.resumableUploadService = resumableUploadService;
+        this.documentStorage = documentStorage;
+    }
+
     /**
      * Бүх баримт авах
      * GET /api/v1/documents
@@ -29,22 +69,97 @@ public class DocumentController {
     }
 
     /**
-     * Тодорхой баримт авах
+     * Баримтын жагсаалт - cursor хуудаслалт (COUNT, OFFSET-гүй)
+     * GET /api/v1/documents/scroll
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<DocumentDto>> scrollDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(documentService.getDocumentsByCursor(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Тодорхой баримтын мэдээлэл авах (If-None-Match дэмжинэ)
      * GET /api/v1/documents/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getDocument(@PathVariable String id) {
-        System.out.println("📄 Getting document: " + id);
-        
-        Map<String, Object> document = new HashMap<>();
-        document.put("id", id);
-        document.put("name", "Sample Document " + id);
-        document.put("type", "PDF");
-        document.put("status", "PENDING");
-        document.put("uploadedAt", LocalDateTime.now().toString());
-        document.put("size", "1.2MB");
-        
-        return ResponseEntity.ok(document);
+    public ResponseEntity<DocumentDto> getDocument(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = documentService.getDocumentETag(id);
+        if (etag == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Өөрчлөгдөөгүй бол entity ачаалахгүйгээр 304
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .build();
+        }
+
+        try {
+            DocumentDto document = documentService.getDocumentById(id);
+            return ResponseEntity.ok()
+                .eTag(EntityTags.of(document.getUpdatedAt()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(document);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Баримтын thumbnail / preview зураг (If-None-Match дэмжинэ)
+     * GET /api/v1/documents/{id}/preview?size=thumbnail|preview
+     */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<byte[]> getPreview(@PathVariable UUID id,
+                                             @RequestParam(defaultValue = "thumbnail") String size,
+                                             WebRequest webRequest) {
+        Rendition rendition;
+        try {
+            rendition = Rendition.valueOf(size.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = previewService.getPreviewETag(id, rendition);
+        if (etag == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Browser-т байгаа бол зураг уншихгүйгээр 304
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(PREVIEW_CACHE)
+                .build();
+        }
+
+        try {
+            Preview preview = previewService.getPreview(id, rendition);
+            return ResponseEntity.ok()
+                .eTag(preview.etag())
+                .cacheControl(PREVIEW_CACHE)
+                .contentType(MediaType.parseMediaType(preview.contentType()))
+                .body(preview.content());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+    }
+
+    /**
+     * Preview кэшийн hit/miss статистик
+     * GET /api/v1/documents/preview/statistics
+     */
+    @GetMapping("/preview/statistics")
+    public ResponseEntity<Map<String, Object>> getPreviewStatistics() {
+        return ResponseEntity.ok(previewService.getStatistics());
     }
 
     /**
@@ -69,6 +184,114 @@ public class DocumentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Resumable upload session нээх
+     * POST /api/v1/documents/uploads
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> createUploadSession(@RequestBody SessionRequest request, Authentication authentication) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(resumableUploadService.createSession(request, username(authentication)));
+        } catch (IllegalArgumentException e) {
+            return uploadError(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return uploadError(HttpStatus.INSUFFICIENT_STORAGE, e.getMessage());
+        }
+    }
+
+    /**
+     * Chunk илгээх (offset нь chunkSize-ийн үржвэр); X-Chunk-Checksum - chunk-ийн SHA-256
+     * PUT /api/v1/documents/uploads/{sessionId}?offset=0
+     */
+    @PutMapping(value = "/uploads/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> uploadChunk(@PathVariable UUID sessionId,
+                                         @RequestParam long offset,
+                                         @RequestHeader(value = "X-Chunk-Checksum", required = false) String chunkChecksum,
+                                         @RequestBody byte[] chunk,
+                                         Authentication authentication) {
+        try {
+            return ResponseEntity.ok(resumableUploadService.writeChunk(sessionId, offset, chunk, chunkChecksum,
+                username(authentication)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return uploadError(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return uploadError(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Session-ий төлөв - тасарсны дараа дутуу chunk-уудыг олох
+     * GET /api/v1/documents/uploads/{sessionId}
+     */
+    @GetMapping("/uploads/{sessionId}")
+    public ResponseEntity<UploadStatus> getUploadStatus(@PathVariable UUID sessionId, Authentication authentication) {
+        try {
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(resumableUploadService.getStatus(sessionId, username(authentication)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Бүх chunk ирсэн бол баримт үүсгэх
+     * POST /api/v1/documents/uploads/{sessionId}/complete
+     */
+    @PostMapping("/uploads/{sessionId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable UUID sessionId, Authentication authentication) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(resumableUploadService.complete(sessionId, username(authentication)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return uploadError(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        } catch (OcrSaturatedException e) {
+            // Session OPEN хэвээр - client Retry-After-ийн дараа дахин дуусгана
+            return ocrSaturated();
+        } catch (IllegalStateException e) {
+            return uploadError(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Session цуцлах
+     * DELETE /api/v1/documents/uploads/{sessionId}
+     */
+    @DeleteMapping("/uploads/{sessionId}")
+    public ResponseEntity<?> abortUpload(@PathVariable UUID sessionId, Authentication authentication) {
+        try {
+            resumableUploadService.abort(sessionId, username(authentication));
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return uploadError(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Upload session-уудын статистик
+     * GET /api/v1/documents/uploads/statistics
+     */
+    @GetMapping("/uploads/statistics")
+    public ResponseEntity<Map<String, Object>> getUploadStatistics() {
+        return ResponseEntity.ok(resumableUploadService.getStatistics());
+    }
+
+    /**
+     * Файл хадгалалтын статистик (mount бүрийн сул зай, хадгалсан файл)
+     * GET /api/v1/documents/storage/statistics
+     */
+    @GetMapping("/storage/statistics")
+    public ResponseEntity<Map<String, Object>> getStorageStatistics() {
+        return ResponseEntity.ok(documentStorage.getStatistics());
+    }
+
     /**
      * Харилцагчийн баримтууд авах
      * GET /api/v1/documents/customer/{customerId}
@@ -81,4 +304,53 @@ public class DocumentController {
         
         return ResponseEntity.ok(documents);
     }
+
+    /**
+     * Баримтыг OCR pipeline-д оруулах (async)
+     * POST /api/v1/documents/{id}/ocr
+     */
+    @PostMapping("/{id}/ocr")
+    public ResponseEntity<Map<String, Object>> processWithOcr(@PathVariable UUID id) {
+        try {
+            DocumentDto document = documentService.processDocumentWithOCR(id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("id", document.getId());
+            response.put("processingStatus", document.getProcessingStatus());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OcrSaturatedException e) {
+            return ocrSaturated();
+        }
+    }
+
+    /**
+     * OCR pipeline-ийн шат бүрийн дараалал, worker
+     * GET /api/v1/documents/ocr/statistics
+     */
+    @GetMapping("/ocr/statistics")
+    public ResponseEntity<Map<String, Object>> getOcrStatistics() {
+        return ResponseEntity.ok(ocrPipeline.getStatistics());
+    }
+
+    private static String username(Authentication authentication) {
+        return authentication != null ? authentication.getName() : "system";
+    }
+
+    private ResponseEntity<Map<String, Object>> uploadError(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> ocrSaturated() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Баримт боловсруулах дараалал дүүрсэн байна, түр хүлээгээд дахин оролдоно уу");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ocrPipeline.getRetryAfterSeconds()))
+            .body(response);
+    }
 }
\ No newline at end of file
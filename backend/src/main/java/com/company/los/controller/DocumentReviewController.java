@@ -0,0 +1,103 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.service.DocumentReviewQueueService;
+import com.company.los.service.DocumentReviewQueueService.ReviewLease;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Баримт хянах дарааллын Controller
+ * Reviewer дараагийн баримтуудыг lease-тэй татаж авна; хянаж байх хугацаандаа heartbeat-ээр сунгана
+ */
+@RestController
+@RequestMapping("/api/v1/documents/review")
+@Tag(name = "Document Review Queue", description = "Баримт хянах дараалал")
+public class DocumentReviewController {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentReviewController.class);
+
+    private final DocumentReviewQueueService reviewQueueService;
+
+    public DocumentReviewController(DocumentReviewQueueService reviewQueueService) {
+        this.reviewQueueService = reviewQueueService;
+    }
+
+    /**
+     * Дараагийн баримтуудыг авах. Дараалал хоосон бол 204.
+     */
+    @PostMapping("/claim")
+    @Operation(summary = "Баримт авах", description = "Хамгийн эрт upload хийсэн хүлээгдэж буй баримтуудыг lease-тэй авах")
+    public ResponseEntity<ResponseWrapper<List<ReviewLease>>> claim(
+            @RequestParam(defaultValue = "1") @Parameter(description = "Авах тоо (max-claim хүртэл)") int count,
+            Authentication authentication) {
+        String reviewer = reviewerOf(authentication);
+        try {
+            List<ReviewLease> leases = reviewQueueService.claimNext(reviewer, count);
+            if (leases.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            log.debug("Review leases issued: {} -> {}", leases.size(), reviewer);
+            return ResponseEntity.ok(ResponseWrapper.success(leases));
+        } catch (Exception e) {
+            log.error("Error claiming documents for {}: {}", reviewer, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Баримт авахад алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Lease сунгах (heartbeat)
+     */
+    @PostMapping("/{documentId}/heartbeat")
+    @Operation(summary = "Lease сунгах", description = "Хянаж буй баримтын lease-ийн хугацааг сунгах")
+    public ResponseEntity<ResponseWrapper<ReviewLease>> heartbeat(
+            @PathVariable @Parameter(description = "Баримтын ID") UUID documentId,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(
+                reviewQueueService.heartbeat(documentId, reviewerOf(authentication))));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ResponseWrapper.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Баримтыг хянаж дуусгалгүйгээр дараалалд буцаах
+     */
+    @PostMapping("/{documentId}/release")
+    @Operation(summary = "Баримт буцаах", description = "Lease-ийг цуцалж баримтыг дараалалд буцаах")
+    public ResponseEntity<ResponseWrapper<Void>> release(
+            @PathVariable @Parameter(description = "Баримтын ID") UUID documentId,
+            Authentication authentication) {
+        if (!reviewQueueService.release(documentId, reviewerOf(authentication))) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Энэ баримт дээр таны lease байхгүй"));
+        }
+        return ResponseEntity.ok(ResponseWrapper.success(null, "Баримт дараалалд буцлаа"));
+    }
+
+    /**
+     * Дарааллын статистик
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Дарааллын статистик")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok(ResponseWrapper.success(reviewQueueService.getStatistics()));
+    }
+
+    private static String reviewerOf(Authentication authentication) {
+        return authentication != null ? authentication.getName() : "system";
+    }
+}
@@ -1,9 +1,16 @@
 package com.company.los.controller;
 
+import com.company.los.dto.CursorPage;
 import com.company.los.dto.LoanApplicationDto;
 import com.company.los.dto.CreateLoanRequestDto;
+import com.company.los.dto.LoanQuoteDto;
 import com.company.los.enums.LoanStatus;
+import com.company.los.enums.PrepaymentStrategy;
 import com.company.los.service.LoanApplicationService;
+import com.company.los.service.LoanWorkflowService;
+import com.company.los.service.LoanQuoteService;
+import com.company.los.service.SpreadsheetExportService;
+import com.company.los.util.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,12 +22,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -47,9 +61,12 @@ public class LoanApplicationController {
     private static final Logger log = LoggerFactory.getLogger(LoanApplicationController.class);
 
     private final LoanApplicationService loanApplicationService;
+    private final LoanQuoteService loanQuoteService;
 
-    public LoanApplicationController(LoanApplicationService loanApplicationService) {
+    public LoanApplicationController(LoanApplicationService loanApplicationService,
+                                     LoanQuoteService loanQuoteService) {
         this.loanApplicationService = loanApplicationService;
+        this.loanQuoteService = loanQuoteService;
     }
 
     /**
@@ -110,6 +127,27 @@ public class LoanApplicationController {
         }
     }
 
+    /**
+     * Зээлийн хүсэлтийн жагсаалт - cursor хуудаслалт (COUNT, OFFSET-гүй)
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Зээлийн хүсэлтүүд (cursor)", description = "Шинэ нь эхэндээ; дараагийн хуудсыг nextCursor-оор авна")
+    public ResponseEntity<ResponseWrapper<CursorPage<LoanApplicationDto>>> scrollLoanApplications(
+            @RequestParam(required = false) @Parameter(description = "Өмнөх хуудасны nextCursor") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Хуудсан дахь элементийн тоо") int size,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Ойролцоо нийт тоо") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(
+                    loanApplicationService.getLoanApplicationsByCursor(cursor, size, includeTotal)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ResponseWrapper.error("Буруу cursor"));
+        } catch (Exception e) {
+            log.error("Error scrolling loan applications: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Зээлийн хүсэлт авахад алдаа гарлаа"));
+        }
+    }
+
     /**
      * ⭐ ЗАСВАРЛАСАН: Тодорхой зээлийн хүсэлт авах ⭐
      */
@@ -117,10 +155,12 @@ public class LoanApplicationController {
     @Operation(summary = "Зээлийн хүсэлтийн мэдээлэл", description = "ID-гаар зээлийн хүсэлтийн дэлгэрэнгүй мэдээлэл авах")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Амжилттай"),
+        @ApiResponse(responseCode = "304", description = "If-None-Match таарсан, өөрчлөгдөөгүй"),
         @ApiResponse(responseCode = "404", description = "Зээлийн хүсэлт олдсонгүй")
     })
     public ResponseEntity<ResponseWrapper<LoanApplicationDto>> getLoanApplication(
-            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID id) {
+            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID id,
+            WebRequest webRequest) {
         
         log.debug("Getting loan application: {}", id);
         
@@ -131,10 +171,23 @@ public class LoanApplicationController {
                     .body(ResponseWrapper.error("Буруу зээлийн хүсэлтийн ID"));
             }
 
+            // Өөрчлөгдөөгүй бол entity ачаалж, JSON үүсгэхгүйгээр 304 буцаана
+            String etag = loanApplicationService.getLoanApplicationETag(id);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                log.debug("Loan application not modified: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+            }
+
             LoanApplicationDto application = loanApplicationService.getLoanApplicationById(id);
             
             log.info("Successfully retrieved loan application: {}", id);
-            return ResponseEntity.ok(ResponseWrapper.success(application));
+            return ResponseEntity.ok()
+                .eTag(EntityTags.of(application.getUpdatedAt()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ResponseWrapper.success(application));
             
         } catch (com.company.los.exception.ResourceNotFoundException e) {
             log.warn("Loan application not found: {}", id);
@@ -253,6 +306,10 @@ public class LoanApplicationController {
             log.warn("Invalid status transition: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ResponseWrapper.error(e.getMessage()));
+        } catch (org.springframework.dao.OptimisticLockingFailureException e) {
+            log.warn("Concurrent modification of loan application: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Зээлийн хүсэлтийг өөр хэрэглэгч өөрчилсөн байна, дахин ачаална уу"));
         } catch (Exception e) {
             log.error("Error updating loan application status {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -260,6 +317,36 @@ public class LoanApplicationController {
         }
     }
 
+    /**
+     * Олон хүсэлтийн статусын шилжилтийг бөөнөөр үнэлэх (өөрчлөлт хийхгүй)
+     */
+    @PostMapping("/status/evaluate")
+    @Operation(summary = "Шилжилт үнэлэх", description = "Олон зээлийн хүсэлтийг тухайн статус руу шилжүүлж болох эсэхийг шалгах")
+    public ResponseEntity<ResponseWrapper<List<LoanWorkflowService.TransitionDecision>>> evaluateStatusTransitions(
+            @RequestBody List<UUID> ids,
+            @RequestParam @Parameter(description = "Зорилтот статус") String status) {
+
+        log.debug("Evaluating transition to {} for {} loan applications", status, ids != null ? ids.size() : 0);
+
+        try {
+            if (ids == null || ids.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseWrapper.error("Зээлийн хүсэлтийн ID заавал оруулна уу"));
+            }
+            LoanStatus loanStatus = LoanStatus.valueOf(status.toUpperCase());
+            List<LoanWorkflowService.TransitionDecision> decisions =
+                loanApplicationService.evaluateStatusTransitions(ids, loanStatus);
+            return ResponseEntity.ok(ResponseWrapper.success(decisions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ResponseWrapper.error("Буруу статус: " + status));
+        } catch (Exception e) {
+            log.error("Error evaluating status transitions: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Шилжилт үнэлэхэд алдаа гарлаа"));
+        }
+    }
+
     /**
      * ⭐ ЗАСВАРЛАСАН: Зээлийн хүсэлт зөвшөөрөх ⭐
      */
@@ -298,6 +385,10 @@ public class LoanApplicationController {
             log.warn("Loan application not found: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ResponseWrapper.error("Зээлийн хүсэлт олдсонгүй"));
+        } catch (org.springframework.dao.OptimisticLockingFailureException e) {
+            log.warn("Concurrent modification of loan application: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Зээлийн хүсэлтийг өөр хэрэглэгч өөрчилсөн байна, дахин ачаална уу"));
         } catch (Exception e) {
             log.error("Error approving loan application {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -340,6 +431,10 @@ public class LoanApplicationController {
             log.warn("Loan application not found: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ResponseWrapper.error("Зээлийн хүсэлт олдсонгүй"));
+        } catch (org.springframework.dao.OptimisticLockingFailureException e) {
+            log.warn("Concurrent modification of loan application: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Зээлийн хүсэлтийг өөр хэрэглэгч өөрчилсөн байна, дахин ачаална уу"));
         } catch (Exception e) {
             log.error("Error rejecting loan application {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -394,6 +489,25 @@ public class LoanApplicationController {
         }
     }
 
+    /**
+     * Зээлийн хүсэлтүүдийг Excel (XLSX) файлаар татах. ids өгөөгүй бол бүх хүсэлт.
+     * Файл хариу руу урсгалаар бичигдэнэ.
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Excel экспорт", description = "Зээлийн хүсэлтүүдийг XLSX файлаар урсгалаар татах")
+    public ResponseEntity<StreamingResponseBody> exportLoanApplications(
+            @RequestParam(required = false) @Parameter(description = "Хүсэлтийн ID-ууд") List<UUID> ids) {
+
+        log.debug("Exporting loan applications to XLSX: {} ids", ids != null ? ids.size() : "all");
+
+        StreamingResponseBody body = out -> loanApplicationService.exportLoanApplicationsToExcel(ids, out);
+        String fileName = "loan_applications_" + LocalDate.now() + ".xlsx";
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(SpreadsheetExportService.CONTENT_TYPE))
+            .body(body);
+    }
+
     /**
      * ⭐ ЗАСВАРЛАСАН: Зээлийн хүсэлт хайх ⭐
      */
@@ -511,6 +625,104 @@ public class LoanApplicationController {
         }
     }
 
+    /**
+     * Зээл хаах дүнгийн тооцоо (үндсэн зээл, хүү, торгууль)
+     */
+    @GetMapping("/{id}/payoff-quote")
+    @Operation(summary = "Зээл хаах тооцоо", description = "Тухайн өдрийн байдлаар зээлийг бүрэн хаах дүн тооцоолох")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Амжилттай"),
+        @ApiResponse(responseCode = "404", description = "Зээлийн хүсэлт олдсонгүй"),
+        @ApiResponse(responseCode = "409", description = "Олгогдоогүй зээл")
+    })
+    public ResponseEntity<ResponseWrapper<LoanQuoteDto>> getPayoffQuote(
+            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Тооцох өдөр (default: өнөөдөр)") LocalDate date,
+            @RequestParam(required = false) @Parameter(description = "Төлөгдсөн төлбөрийн тоо") Integer installmentsPaid) {
+
+        log.debug("Getting payoff quote for loan application: {}, date: {}", id, date);
+
+        try {
+            LoanQuoteDto quote = loanQuoteService.getPayoffQuote(id, date, installmentsPaid);
+            return ResponseEntity.ok(ResponseWrapper.success(quote));
+        } catch (com.company.los.exception.ResourceNotFoundException e) {
+            log.warn("Loan application not found: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ResponseWrapper.error("Зээлийн хүсэлт олдсонгүй"));
+        } catch (IllegalStateException e) {
+            log.warn("Payoff quote not available for {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ResponseWrapper.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error calculating payoff quote {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Зээл хаах тооцоо хийхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Хэсэгчилсэн урьдчилан төлөлтийн тооцоо (хугацаа эсвэл төлбөр бууруулах)
+     */
+    @GetMapping("/{id}/prepayment-quote")
+    @Operation(summary = "Урьдчилан төлөлтийн тооцоо", description = "Хэсэгчилсэн урьдчилан төлөлтийн дараах шинэ хуваарь")
+    public ResponseEntity<ResponseWrapper<LoanQuoteDto>> getPrepaymentQuote(
+            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID id,
+            @RequestParam @Parameter(description = "Урьдчилан төлөх дүн") BigDecimal amount,
+            @RequestParam(defaultValue = "REDUCE_TERM") @Parameter(description = "REDUCE_TERM эсвэл REDUCE_PAYMENT") PrepaymentStrategy strategy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Тооцох өдөр (default: өнөөдөр)") LocalDate date) {
+
+        log.debug("Getting prepayment quote for loan application: {}, amount: {}, strategy: {}", id, amount, strategy);
+
+        try {
+            LoanQuoteDto quote = loanQuoteService.getPrepaymentQuote(id, amount, strategy, date);
+            return ResponseEntity.ok(ResponseWrapper.success(quote));
+        } catch (com.company.los.exception.ResourceNotFoundException e) {
+            log.warn("Loan application not found: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ResponseWrapper.error("Зээлийн хүсэлт олдсонгүй"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ResponseWrapper.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error calculating prepayment quote {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Урьдчилан төлөлтийн тооцоо хийхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Олон зээлийн хаалтын дүнг нэг дор тооцох
+     */
+    @PostMapping("/payoff-quotes")
+    @Operation(summary = "Bulk зээл хаах тооцоо", description = "Олон зээлийн хаалтын дүнг нэг хүсэлтээр тооцоолох")
+    public ResponseEntity<ResponseWrapper<List<LoanQuoteDto>>> getBulkPayoffQuotes(
+            @RequestBody List<UUID> ids,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Тооцох өдөр (default: өнөөдөр)") LocalDate date) {
+
+        log.debug("Getting bulk payoff quotes for {} loan applications", ids != null ? ids.size() : 0);
+
+        try {
+            List<LoanQuoteDto> quotes = loanQuoteService.getBulkPayoffQuotes(ids, date);
+            return ResponseEntity.ok(ResponseWrapper.success(quotes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ResponseWrapper.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error calculating bulk payoff quotes: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Зээл хаах тооцоо хийхэд алдаа гарлаа"));
+        }
+    }
+
     /**
      * ⭐ HEALTH CHECK ENDPOINT ⭐
      */
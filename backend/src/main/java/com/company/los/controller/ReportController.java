@@ -0,0 +1,143 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.dto.ReportJobDto;
+import com.company.los.enums.ReportType;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Тайлангийн Controller
+ * Тайлан async ажиллана: хүсэлт ажлын ID буцааж, үр дүнг төлөв/татах endpoint-оор авна
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@Tag(name = "Reports", description = "Async тайлангийн API")
+public class ReportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportController.class);
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    /**
+     * Боломжит тайлангийн төрлүүд
+     */
+    @GetMapping("/types")
+    @Operation(summary = "Тайлангийн төрлүүд", description = "Тайлан бүрийн параметр болон баганууд")
+    public ResponseEntity<ResponseWrapper<List<Map<String, Object>>>> getReportTypes() {
+        return ResponseEntity.ok(ResponseWrapper.success(reportService.getReportTypes()));
+    }
+
+    /**
+     * Тайлан хүсэх. Хадгалсан үр дүн хүчинтэй бол 200, шинэ ажил бол 202 буцаана.
+     */
+    @PostMapping("/{reportType}")
+    @Operation(summary = "Тайлан хүсэх", description = "Тайланг async ажиллуулах эсвэл хадгалсан үр дүнг буцаах")
+    public ResponseEntity<ResponseWrapper<ReportJobDto>> submitReport(
+            @PathVariable @Parameter(description = "Тайлангийн төрөл") ReportType reportType,
+            @RequestParam Map<String, String> parameters,
+            Authentication authentication) {
+
+        log.debug("Report requested: {} {}", reportType, parameters);
+
+        try {
+            String requestedBy = authentication != null ? authentication.getName() : "system";
+            ReportJobDto job = reportService.submitReport(reportType, parameters, requestedBy);
+            HttpStatus status = job.isCompleted() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(ResponseWrapper.success(job,
+                    job.isCompleted() ? "Тайлан бэлэн байна" : "Тайлан дараалалд орлоо"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ResponseWrapper.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ResponseWrapper.error("Тайлангийн дараалал дүүрсэн байна, дараа дахин оролдоно уу"));
+        } catch (Exception e) {
+            log.error("Error submitting report {}: {}", reportType, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Тайлан хүсэхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Ажлын төлөв
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Тайлангийн төлөв", description = "QUEUED, RUNNING, COMPLETED, FAILED")
+    public ResponseEntity<ResponseWrapper<ReportJobDto>> getJob(
+            @PathVariable @Parameter(description = "Ажлын ID") UUID jobId) {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(reportService.getJob(jobId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ResponseWrapper.error("Тайлангийн ажил олдсонгүй"));
+        } catch (Exception e) {
+            log.error("Error getting report job {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Тайлангийн төлөв авахад алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Дууссан тайлангийн үр дүн (JSON)
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    @Operation(summary = "Тайлангийн үр дүн", description = "Дууссан тайлангийн багана болон мөрүүд")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getResult(
+            @PathVariable @Parameter(description = "Ажлын ID") UUID jobId) {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(reportService.getResult(jobId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ResponseWrapper.error("Тайлангийн ажил олдсонгүй"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ResponseWrapper.error("Тайлан хараахан бэлэн болоогүй"));
+        } catch (Exception e) {
+            log.error("Error getting report result {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Тайлангийн үр дүн авахад алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Дууссан тайланг CSV файлаар татах
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(summary = "Тайлан татах", description = "Дууссан тайланг CSV файлаар татах")
+    public ResponseEntity<byte[]> download(@PathVariable @Parameter(description = "Ажлын ID") UUID jobId) {
+        try {
+            ReportJobDto job = reportService.getJob(jobId);
+            byte[] csv = reportService.exportResultCsv(jobId);
+            String fileName = job.getReportType().name().toLowerCase() + "_" + jobId + ".csv";
+            return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .contentLength(csv.length)
+                .body(csv);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Error downloading report {}: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.service.LogRetentionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Аудит / үйл ажиллагааны логийн хадгалалтын удирдлага (SUPER_ADMIN)
+ * Log retention admin API
+ */
+@RestController
+@RequestMapping("/api/v1/admin/retention")
+@Tag(name = "Log Retention", description = "Логийн хадгалалтын API")
+public class RetentionController {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionController.class);
+
+    private final LogRetentionService logRetentionService;
+
+    public RetentionController(LogRetentionService logRetentionService) {
+        this.logRetentionService = logRetentionService;
+    }
+
+    /**
+     * Хадгалалтын ажлыг гараар ажиллуулах
+     */
+    @PostMapping("/run")
+    @Operation(summary = "Хадгалалт ажиллуулах", description = "Хугацаа хэтэрсэн partition устгах эсвэл мөрүүдийг chunk-аар устгах")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> runRetention() {
+        log.info("Manual log retention requested");
+
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(logRetentionService.runRetention(), "Логийн хадгалалт дууслаа"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ResponseWrapper.error("Логийн хадгалалт аль хэдийн ажиллаж байна"));
+        } catch (Exception e) {
+            log.error("Error running log retention: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Логийн хадгалалт хийхэд алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Горим, partition-ууд болон сүүлийн ажиллагаа
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Хадгалалтын төлөв", description = "Хүснэгт бүрийн горим, partition болон сүүлийн үр дүн")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getRetentionStatus() {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(logRetentionService.getRetentionStatus()));
+        } catch (Exception e) {
+            log.error("Error getting log retention status: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Хадгалалтын төлөв авахад алдаа гарлаа"));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.los.controller;
 
+import com.company.los.dto.CursorPage;
 import com.company.los.dto.UserDto;
 import com.company.los.dto.CreateUserRequestDto;
 import com.company.los.service.UserService;
@@ -62,6 +63,32 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Хэрэглэгчдийн жагсаалт - cursor хуудаслалт
+     * Keyset-paginated user list without COUNT queries
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Хэрэглэгчдийн жагсаалт (cursor)", description = "Шинэ нь эхэндээ; дараагийн хуудсыг nextCursor-оор авна")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Амжилттай"),
+        @ApiResponse(responseCode = "400", description = "Буруу cursor"),
+        @ApiResponse(responseCode = "403", description = "Эрх хүрэхгүй")
+    })
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<CursorPage<UserDto>> scrollUsers(
+            @RequestParam(required = false) @Parameter(description = "Өмнөх хуудасны nextCursor") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Хуудасны хэмжээ") int size,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Ойролцоо нийт тоо") boolean includeTotal) {
+
+        log.debug("Scrolling users - cursor: {}, size: {}", cursor, size);
+
+        try {
+            return ResponseEntity.ok(userService.getUsersByCursor(cursor, size, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Хэрэглэгчийн дэлгэрэнгүй мэдээлэл ID-гаар
      * Get user by ID
@@ -0,0 +1,126 @@
+package com.company.los.controller;
+
+import com.company.los.controller.LoanApplicationController.ResponseWrapper;
+import com.company.los.dto.WorkQueueItem;
+import com.company.los.service.WorkQueueService;
+import com.company.los.service.WorkQueueService.WorkLease;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Зээлийн ажилтны ажлын дарааллын Controller
+ * Ажилтан дараагийн ажлаа татаж авна (lease); ажиллаж байх хугацаандаа heartbeat-ээр сунгана
+ */
+@RestController
+@RequestMapping("/api/v1/work-queue")
+@Tag(name = "Work Queue", description = "Зээлийн ажилтны ажлын дараалал")
+public class WorkQueueController {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkQueueController.class);
+
+    private final WorkQueueService workQueueService;
+
+    public WorkQueueController(WorkQueueService workQueueService) {
+        this.workQueueService = workQueueService;
+    }
+
+    /**
+     * Дараагийн ажлыг авах. Дараалал хоосон бол 204.
+     */
+    @PostMapping("/next")
+    @Operation(summary = "Дараагийн ажил", description = "Өөрийн, хуваалцсан эсвэл бусдын дарааллаас дараагийн хүсэлтийг lease-тэй авах")
+    public ResponseEntity<ResponseWrapper<WorkLease>> next(Authentication authentication) {
+        String officer = officerOf(authentication);
+        try {
+            Optional<WorkLease> lease = workQueueService.next(officer);
+            if (lease.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            log.debug("Work lease issued: {} -> {}", lease.get().applicationNumber(), officer);
+            return ResponseEntity.ok(ResponseWrapper.success(lease.get()));
+        } catch (Exception e) {
+            log.error("Error issuing work for {}: {}", officer, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Дараагийн ажил авахад алдаа гарлаа"));
+        }
+    }
+
+    /**
+     * Lease сунгах (heartbeat)
+     */
+    @PostMapping("/{applicationId}/heartbeat")
+    @Operation(summary = "Lease сунгах", description = "Ажиллаж буй хүсэлтийн lease-ийн хугацааг сунгах")
+    public ResponseEntity<ResponseWrapper<WorkLease>> heartbeat(
+            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID applicationId,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(
+                workQueueService.renew(applicationId, officerOf(authentication))));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ResponseWrapper.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Ажлыг дуусгалгүйгээр дараалалд буцаах
+     */
+    @PostMapping("/{applicationId}/release")
+    @Operation(summary = "Ажил буцаах", description = "Lease-ийг цуцалж хүсэлтийг дараалалд буцаах")
+    public ResponseEntity<ResponseWrapper<Void>> release(
+            @PathVariable @Parameter(description = "Зээлийн хүсэлтийн ID") UUID applicationId,
+            Authentication authentication) {
+        workQueueService.release(applicationId, officerOf(authentication));
+        return ResponseEntity.ok(ResponseWrapper.success(null, "Ажил дараалалд буцлаа"));
+    }
+
+    /**
+     * Өөрийн болон хуваалцсан дарааллын эхний ажлууд
+     */
+    @GetMapping
+    @Operation(summary = "Миний дараалал", description = "Lease олгохгүйгээр дарааллын эхний хүсэлтүүдийг харах")
+    public ResponseEntity<ResponseWrapper<List<WorkQueueItem>>> peek(
+            @RequestParam(defaultValue = "20") @Parameter(description = "Дээд тоо (max 100)") int limit,
+            Authentication authentication) {
+        return ResponseEntity.ok(ResponseWrapper.success(workQueueService.peek(officerOf(authentication), limit)));
+    }
+
+    /**
+     * Дарааллын статистик
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Дарааллын статистик")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> getStatistics() {
+        return ResponseEntity.ok(ResponseWrapper.success(workQueueService.getStatistics()));
+    }
+
+    /**
+     * Дарааллыг DB-тэй тулгах
+     */
+    @PostMapping("/rebuild")
+    @Operation(summary = "Дараалал сэргээх", description = "Санах ойн дарааллыг DB-ээс дахин тулгах")
+    public ResponseEntity<ResponseWrapper<Map<String, Object>>> rebuild() {
+        try {
+            return ResponseEntity.ok(ResponseWrapper.success(workQueueService.rebuild()));
+        } catch (Exception e) {
+            log.error("Error rebuilding work queue: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseWrapper.error("Дараалал сэргээхэд алдаа гарлаа"));
+        }
+    }
+
+    private static String officerOf(Authentication authentication) {
+        return authentication != null ? authentication.getName() : "system";
+    }
+}
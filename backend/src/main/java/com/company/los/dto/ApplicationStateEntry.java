@@ -0,0 +1,32 @@
+package com.company.los.dto;
+
+import com.company.los.entity.LoanApplication;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Зээлийн хүсэлт одоогийн төлөвтөө орсон мөч
+ * Current-state entry of a loan application, used to rebuild SLA timers
+ */
+public record ApplicationStateEntry(
+        UUID id,
+        String applicationNumber,
+        LoanApplication.ApplicationStatus status,
+        LocalDateTime enteredAt) {
+
+    /**
+     * JPQL SELECT хэсэг (alias: la)
+     */
+    public static final String SELECT =
+            "SELECT new com.company.los.dto.ApplicationStateEntry(" +
+            "la.id, la.applicationNumber, la.status, COALESCE(la.statusChangedAt, la.createdAt)) " +
+            "FROM LoanApplication la ";
+
+    public static ApplicationStateEntry of(LoanApplication application) {
+        LocalDateTime enteredAt = application.getStatusChangedAt() != null
+                ? application.getStatusChangedAt() : application.getCreatedAt();
+        return new ApplicationStateEntry(application.getId(), application.getApplicationNumber(),
+                application.getStatus(), enteredAt);
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.los.dto;
+
+import com.company.los.util.SeekCursor;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cursor-оор хуудасласан жагсаалт
+ * Keyset-paginated result with an opaque next-page cursor
+ *
+ * Page-ээс ялгаатай нь COUNT(*) хийхгүй; approximateTotal зөвхөн хүсэлтээр, статистикаас тооцогдоно.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long approximateTotal;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * size + 1 мөр уншсан үр дүнгээс хуудас үүсгэх: илүү мөр байвал дараагийн хуудас бий.
+     *
+     * @param rows      (sort key, id)-аар эрэмбэлэгдсэн, size + 1 хүртэлх мөр
+     * @param size      хуудасны хэмжээ
+     * @param sortKey   мөрийн эрэмбийн түлхүүр
+     * @param id        мөрийн id
+     * @param mapper    мөрийг DTO болгох
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, LocalDateTime> sortKey,
+                                          Function<E, UUID> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new SeekCursor(sortKey.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Хуудасны хэмжээг [1, MAX_SIZE] мужид оруулах
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Long getApproximateTotal() { return approximateTotal; }
+    public void setApproximateTotal(Long approximateTotal) { this.approximateTotal = approximateTotal; }
+}
@@ -264,6 +264,63 @@ public class DocumentDto {
         return dto;
     }
 
+    /**
+     * Жагсаалтын projection-оос DTO үүсгэх - customer/application/type LAZY холбоос ачаалахгүй
+     */
+    public static DocumentDto fromListItem(DocumentListItem item) {
+        if (item == null) {
+            return null;
+        }
+
+        DocumentDto dto = new DocumentDto();
+        dto.setId(item.id());
+        dto.setOriginalFilename(item.originalFilename());
+        dto.setContentType(item.contentType());
+        dto.setFileSize(item.fileSize());
+        dto.setDescription(item.description());
+        dto.setVersionNumber(item.versionNumber());
+        dto.setVerificationStatus(item.verificationStatus());
+        dto.setVerifiedBy(item.verifiedBy());
+        dto.setVerifiedAt(item.verifiedAt());
+        dto.setExpiryDate(item.expiryDate());
+        dto.setIsRequired(item.isRequired());
+        dto.setProcessingStatus(item.processingStatus());
+        dto.setAiConfidenceScore(item.aiConfidenceScore());
+        dto.setUploadedAt(item.uploadedAt());
+        dto.setUploadedBy(item.uploadedBy());
+        dto.setCreatedAt(item.createdAt());
+        dto.setUpdatedAt(item.updatedAt());
+
+        dto.setCustomerId(item.customerId());
+        dto.setCustomerName(item.customerName());
+        dto.setLoanApplicationId(item.loanApplicationId());
+        dto.setLoanApplicationNumber(item.loanApplicationNumber());
+        dto.setDocumentTypeId(item.documentTypeId());
+        dto.setDocumentTypeName(item.documentTypeName());
+
+        // Computed fields
+        String contentType = item.contentType();
+        Document.VerificationStatus status = item.verificationStatus();
+        dto.setVerificationStatusText(status != null ? status.getMongolianName() : "Тодорхойгүй");
+        dto.setFileSizeFormatted(formatFileSize(item.fileSize()));
+        dto.setFileExtension(getFileExtension(item.originalFilename()));
+        dto.setIsImage(contentType != null && contentType.startsWith("image/"));
+        dto.setIsPdf("application/pdf".equals(contentType));
+        dto.setIsOfficeDocument(contentType != null &&
+            (contentType.contains("msword") || contentType.contains("excel") || contentType.contains("powerpoint")));
+        dto.setIsExpired(item.expiryDate() != null && item.expiryDate().isBefore(LocalDate.now()));
+        dto.setNeedsResubmission(status == Document.VerificationStatus.RESUBMIT_REQUIRED ||
+                                 status == Document.VerificationStatus.REJECTED);
+        if (item.uploadedAt() != null) {
+            dto.setDaysSinceUpload((int) java.time.Duration.between(item.uploadedAt(), LocalDateTime.now()).toDays());
+        }
+        if (item.verifiedAt() != null) {
+            dto.setDaysSinceVerification((int) java.time.Duration.between(item.verifiedAt(), LocalDateTime.now()).toDays());
+        }
+
+        return dto;
+    }
+
     public static DocumentDto createSummary(Document document) {
         if (document == null) {
             return null;
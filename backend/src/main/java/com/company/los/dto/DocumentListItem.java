@@ -0,0 +1,63 @@
+package com.company.los.dto;
+
+import com.company.los.entity.Customer;
+import com.company.los.entity.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Баримтын жагсаалтын мөр (read model)
+ * Document list row projected in a single query together with customer, application and type columns
+ *
+ * OCR текст, extracted data зэрэг том баганыг уншихгүй; дэлгэрэнгүйг ID-гаар авна.
+ */
+public record DocumentListItem(
+        UUID id,
+        String originalFilename,
+        String contentType,
+        Long fileSize,
+        String description,
+        Integer versionNumber,
+        Document.VerificationStatus verificationStatus,
+        String verifiedBy,
+        LocalDateTime verifiedAt,
+        LocalDate expiryDate,
+        Boolean isRequired,
+        String processingStatus,
+        BigDecimal aiConfidenceScore,
+        LocalDateTime uploadedAt,
+        String uploadedBy,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID customerId,
+        Customer.CustomerType customerType,
+        String customerCompanyName,
+        String customerFirstName,
+        String customerLastName,
+        String customerRegisterNumber,
+        UUID loanApplicationId,
+        String loanApplicationNumber,
+        UUID documentTypeId,
+        String documentTypeName) {
+
+    /**
+     * JPQL SELECT хэсэг (alias: d, c, la, dt)
+     */
+    public static final String SELECT =
+            "SELECT new com.company.los.dto.DocumentListItem(" +
+            "d.id, d.originalFilename, d.contentType, d.fileSize, d.description, d.versionNumber, " +
+            "d.verificationStatus, d.verifiedBy, d.verifiedAt, d.expiryDate, d.isRequired, d.processingStatus, " +
+            "d.aiConfidenceScore, d.uploadedAt, d.uploadedBy, d.createdAt, d.updatedAt, " +
+            "c.id, c.customerType, c.companyName, c.firstName, c.lastName, c.registerNumber, " +
+            "la.id, la.applicationNumber, dt.id, dt.name) " +
+            "FROM Document d LEFT JOIN d.customer c LEFT JOIN d.loanApplication la LEFT JOIN d.documentType dt ";
+
+    public String customerName() {
+        return customerId != null
+                ? Customer.displayName(customerType, customerCompanyName, customerFirstName, customerLastName, customerRegisterNumber)
+                : null;
+    }
+}
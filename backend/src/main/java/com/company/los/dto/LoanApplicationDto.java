@@ -518,21 +518,48 @@ public class LoanApplicationDto {
         }
 
         // Set computed fields
-        dto.setStatusDisplay(dto.calculateStatusDisplay());
-        dto.setLoanTypeDisplay(dto.calculateLoanTypeDisplay());
-        dto.setFormattedRequestedAmount(dto.formatAmount(dto.getRequestedAmount()));
-        dto.setFormattedApprovedAmount(dto.formatAmount(dto.getApprovedAmount()));
-        dto.setFormattedMonthlyPayment(dto.formatAmount(dto.getMonthlyPayment()));
-        dto.setFormattedTotalPayment(dto.formatAmount(dto.getTotalPayment()));
-        dto.setFormattedInterestRate(dto.formatRate(dto.getInterestRate()));
-        dto.setTermText(dto.calculateTermText());
-        dto.setDaysSinceSubmitted(dto.calculateDaysSinceSubmitted());
-        dto.setDaysSinceReviewed(dto.calculateDaysSinceReviewed());
-        dto.setIsOverdue(dto.calculateIsOverdue());
-        dto.setCanBeEdited(dto.calculateCanBeEdited());
-        dto.setCanBeApproved(dto.calculateCanBeApproved());
-        dto.setCanBeRejected(dto.calculateCanBeRejected());
-        dto.setUrgencyLevel(dto.calculateUrgencyLevel());
+        dto.applyComputedFields();
+
+        return dto;
+    }
+
+    /**
+     * Жагсаалтын projection-оос DTO үүсгэх - LAZY холбоос ачаалахгүй
+     */
+    public static LoanApplicationDto fromListItem(LoanApplicationListItem item) {
+        if (item == null) {
+            return null;
+        }
+
+        LoanApplicationDto dto = LoanApplicationDto.builder()
+                .id(item.id())
+                .applicationNumber(item.applicationNumber())
+                .loanType(item.loanType())
+                .status(item.status())
+                .requestedAmount(item.requestedAmount())
+                .requestedTermMonths(item.requestedTermMonths())
+                .interestRate(item.interestRate())
+                .approvedAmount(item.approvedAmount())
+                .approvedTermMonths(item.approvedTermMonths())
+                .monthlyPayment(item.monthlyPayment())
+                .totalPayment(item.totalPayment())
+                .purpose(item.purpose())
+                .assignedTo(item.assignedTo())
+                .priority(item.priority())
+                .submittedAt(item.submittedAt())
+                .reviewedAt(item.reviewedAt())
+                .approvedAt(item.approvedAt())
+                .rejectedAt(item.rejectedAt())
+                .disbursedAt(item.disbursedAt())
+                .createdAt(item.createdAt())
+                .updatedAt(item.updatedAt())
+                .build();
+
+        dto.setCustomerId(item.customerId());
+        dto.setCustomerName(item.customerName());
+        dto.setLoanProductId(item.loanProductId());
+        dto.setLoanProductName(item.loanProductName());
+        dto.applyComputedFields();
 
         return dto;
     }
@@ -595,6 +622,23 @@ public class LoanApplicationDto {
     }
 
     // Helper methods for computed fields
+    private void applyComputedFields() {
+        setStatusDisplay(calculateStatusDisplay());
+        setLoanTypeDisplay(calculateLoanTypeDisplay());
+        setFormattedRequestedAmount(formatAmount(requestedAmount));
+        setFormattedApprovedAmount(formatAmount(approvedAmount));
+        setFormattedMonthlyPayment(formatAmount(monthlyPayment));
+        setFormattedTotalPayment(formatAmount(totalPayment));
+        setFormattedInterestRate(formatRate(interestRate));
+        setTermText(calculateTermText());
+        setDaysSinceSubmitted(calculateDaysSinceSubmitted());
+        setDaysSinceReviewed(calculateDaysSinceReviewed());
+        setCanBeEdited(calculateCanBeEdited());
+        setCanBeApproved(calculateCanBeApproved());
+        setCanBeRejected(calculateCanBeRejected());
+        setUrgencyLevel(calculateUrgencyLevel());
+    }
+
     private String calculateStatusDisplay() {
         if (status == null) return "Тодорхойгүй";
         switch (status) {
@@ -638,14 +682,6 @@ public class LoanApplicationDto {
         return (int) java.time.Duration.between(reviewedAt, LocalDateTime.now()).toDays();
     }
 
-    private Boolean calculateIsOverdue() {
-        // Define overdue logic based on business rules
-        if (status == LoanApplication.ApplicationStatus.UNDER_REVIEW && submittedAt != null) {
-            return java.time.Duration.between(submittedAt, LocalDateTime.now()).toDays() > 7; // 7 days threshold
-        }
-        return false;
-    }
-
     private Boolean calculateCanBeEdited() {
         return status == LoanApplication.ApplicationStatus.DRAFT ||
                status == LoanApplication.ApplicationStatus.PENDING_DOCUMENTS;
@@ -663,10 +699,18 @@ public class LoanApplicationDto {
     private String calculateUrgencyLevel() {
         if (priority != null && priority >= 5) return "Маш яаралтай";
         if (priority != null && priority >= 3) return "Яаралтай";
-        if (calculateIsOverdue() != null && calculateIsOverdue()) return "Хугацаа хэтэрсэн";
+        if (Boolean.TRUE.equals(isOverdue)) return "Хугацаа хэтэрсэн";
         return "Энгийн";
     }
 
+    /**
+     * Хугацаа хэтэрсэн эсэхийг SLA monitor-оос тэмдэглэх (төлөвт орсон мөч, төлөвийн хугацаагаар тооцогдсон)
+     */
+    public void applySlaStatus(boolean overdue) {
+        setIsOverdue(overdue);
+        setUrgencyLevel(calculateUrgencyLevel());
+    }
+
     // Business logic methods
     public boolean isValidApplication() {
         return customerId != null &&
@@ -0,0 +1,65 @@
+package com.company.los.dto;
+
+import com.company.los.entity.Customer;
+import com.company.los.entity.LoanApplication;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Зээлийн хүсэлтийн жагсаалтын мөр (read model)
+ * Loan application list row projected in a single query together with customer and product columns
+ *
+ * Жагсаалтын endpoint-ууд entity болон LAZY холбоосыг ачаалахгүй, JPQL constructor expression-оор
+ * шууд энэ record-ыг уншина - хуудас бүр нэг SELECT (+ COUNT).
+ */
+public record LoanApplicationListItem(
+        UUID id,
+        String applicationNumber,
+        LoanApplication.LoanType loanType,
+        LoanApplication.ApplicationStatus status,
+        BigDecimal requestedAmount,
+        Integer requestedTermMonths,
+        BigDecimal interestRate,
+        BigDecimal approvedAmount,
+        Integer approvedTermMonths,
+        BigDecimal monthlyPayment,
+        BigDecimal totalPayment,
+        String purpose,
+        String assignedTo,
+        Integer priority,
+        LocalDateTime submittedAt,
+        LocalDateTime reviewedAt,
+        LocalDateTime approvedAt,
+        LocalDateTime rejectedAt,
+        LocalDateTime disbursedAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID customerId,
+        Customer.CustomerType customerType,
+        String customerCompanyName,
+        String customerFirstName,
+        String customerLastName,
+        String customerRegisterNumber,
+        UUID loanProductId,
+        String loanProductName) {
+
+    /**
+     * JPQL SELECT хэсэг (alias: la, c, lp)
+     */
+    public static final String SELECT =
+            "SELECT new com.company.los.dto.LoanApplicationListItem(" +
+            "la.id, la.applicationNumber, la.loanType, la.status, la.requestedAmount, la.requestedTermMonths, " +
+            "la.interestRate, la.approvedAmount, la.approvedTermMonths, la.monthlyPayment, la.totalPayment, " +
+            "la.purpose, la.assignedTo, la.priority, la.submittedAt, la.reviewedAt, la.approvedAt, la.rejectedAt, " +
+            "la.disbursedAt, la.createdAt, la.updatedAt, " +
+            "c.id, c.customerType, c.companyName, c.firstName, c.lastName, c.registerNumber, lp.id, lp.name) " +
+            "FROM LoanApplication la LEFT JOIN la.customer c LEFT JOIN la.loanProduct lp ";
+
+    public String customerName() {
+        return customerId != null
+                ? Customer.displayName(customerType, customerCompanyName, customerFirstName, customerLastName, customerRegisterNumber)
+                : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.company.los.dto;
+
+import com.company.los.enums.PrepaymentStrategy;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Зээл хаах болон урьдчилан төлөлтийн тооцооны DTO
+ * Loan payoff / prepayment quote Data Transfer Object
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanQuoteDto {
+
+    private UUID loanApplicationId;
+    private String applicationNumber;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate quoteDate;
+
+    // Зээлийн нөхцөл
+    private BigDecimal principal;
+    private BigDecimal annualRate;
+    private Integer termMonths;
+    private BigDecimal monthlyPayment;
+
+    // Төлөлтийн байдал
+    private Integer installmentsDue;
+    private Integer installmentsPaid;
+    private Integer remainingInstallments;
+
+    // Хаалтын дүн
+    private BigDecimal outstandingPrincipal;
+    private BigDecimal overdueInterest;
+    private BigDecimal accruedInterest;
+    private BigDecimal earlyPaymentPenalty;
+    private BigDecimal latePaymentPenalty;
+    private BigDecimal payoffAmount;
+
+    // Хэсэгчилсэн урьдчилан төлөлт
+    private BigDecimal prepaymentAmount;
+    private PrepaymentStrategy prepaymentStrategy;
+    private BigDecimal newOutstandingPrincipal;
+    private BigDecimal newMonthlyPayment;
+    private Integer newRemainingTermMonths;
+    private BigDecimal interestSaved;
+
+    // Bulk тооцоонд алдаа гарсан үед
+    private String error;
+
+    public LoanQuoteDto() {
+    }
+
+    /**
+     * Bulk тооцоонд алдаатай мөр үүсгэх
+     */
+    public static LoanQuoteDto failed(UUID loanApplicationId, String error) {
+        LoanQuoteDto dto = new LoanQuoteDto();
+        dto.setLoanApplicationId(loanApplicationId);
+        dto.setError(error);
+        return dto;
+    }
+
+    // Getters and Setters
+    public UUID getLoanApplicationId() { return loanApplicationId; }
+    public void setLoanApplicationId(UUID loanApplicationId) { this.loanApplicationId = loanApplicationId; }
+
+    public String getApplicationNumber() { return applicationNumber; }
+    public void setApplicationNumber(String applicationNumber) { this.applicationNumber = applicationNumber; }
+
+    public LocalDate getQuoteDate() { return quoteDate; }
+    public void setQuoteDate(LocalDate quoteDate) { this.quoteDate = quoteDate; }
+
+    public BigDecimal getPrincipal() { return principal; }
+    public void setPrincipal(BigDecimal principal) { this.principal = principal; }
+
+    public BigDecimal getAnnualRate() { return annualRate; }
+    public void setAnnualRate(BigDecimal annualRate) { this.annualRate = annualRate; }
+
+    public Integer getTermMonths() { return termMonths; }
+    public void setTermMonths(Integer termMonths) { this.termMonths = termMonths; }
+
+    public BigDecimal getMonthlyPayment() { return monthlyPayment; }
+    public void setMonthlyPayment(BigDecimal monthlyPayment) { this.monthlyPayment = monthlyPayment; }
+
+    public Integer getInstallmentsDue() { return installmentsDue; }
+    public void setInstallmentsDue(Integer installmentsDue) { this.installmentsDue = installmentsDue; }
+
+    public Integer getInstallmentsPaid() { return installmentsPaid; }
+    public void setInstallmentsPaid(Integer installmentsPaid) { this.installmentsPaid = installmentsPaid; }
+
+    public Integer getRemainingInstallments() { return remainingInstallments; }
+    public void setRemainingInstallments(Integer remainingInstallments) { this.remainingInstallments = remainingInstallments; }
+
+    public BigDecimal getOutstandingPrincipal() { return outstandingPrincipal; }
+    public void setOutstandingPrincipal(BigDecimal outstandingPrincipal) { this.outstandingPrincipal = outstandingPrincipal; }
+
+    public BigDecimal getOverdueInterest() { return overdueInterest; }
+    public void setOverdueInterest(BigDecimal overdueInterest) { this.overdueInterest = overdueInterest; }
+
+    public BigDecimal getAccruedInterest() { return accruedInterest; }
+    public void setAccruedInterest(BigDecimal accruedInterest) { this.accruedInterest = accruedInterest; }
+
+    public BigDecimal getEarlyPaymentPenalty() { return earlyPaymentPenalty; }
+    public void setEarlyPaymentPenalty(BigDecimal earlyPaymentPenalty) { this.earlyPaymentPenalty = earlyPaymentPenalty; }
+
+    public BigDecimal getLatePaymentPenalty() { return latePaymentPenalty; }
+    public void setLatePaymentPenalty(BigDecimal latePaymentPenalty) { this.latePaymentPenalty = latePaymentPenalty; }
+
+    public BigDecimal getPayoffAmount() { return payoffAmount; }
+    public void setPayoffAmount(BigDecimal payoffAmount) { this.payoffAmount = payoffAmount; }
+
+    public BigDecimal getPrepaymentAmount() { return prepaymentAmount; }
+    public void setPrepaymentAmount(BigDecimal prepaymentAmount) { this.prepaymentAmount = prepaymentAmount; }
+
+    public PrepaymentStrategy getPrepaymentStrategy() { return prepaymentStrategy; }
+    public void setPrepaymentStrategy(PrepaymentStrategy prepaymentStrategy) { this.prepaymentStrategy = prepaymentStrategy; }
+
+    public BigDecimal getNewOutstandingPrincipal() { return newOutstandingPrincipal; }
+    public void setNewOutstandingPrincipal(BigDecimal newOutstandingPrincipal) { this.newOutstandingPrincipal = newOutstandingPrincipal; }
+
+    public BigDecimal getNewMonthlyPayment() { return newMonthlyPayment; }
+    public void setNewMonthlyPayment(BigDecimal newMonthlyPayment) { this.newMonthlyPayment = newMonthlyPayment; }
+
+    public Integer getNewRemainingTermMonths() { return newRemainingTermMonths; }
+    public void setNewRemainingTermMonths(Integer newRemainingTermMonths) { this.newRemainingTermMonths = newRemainingTermMonths; }
+
+    public BigDecimal getInterestSaved() { return interestSaved; }
+    public void setInterestSaved(BigDecimal interestSaved) { this.interestSaved = interestSaved; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    @Override
+    public String toString() {
+        return "LoanQuoteDto{" +
+                "loanApplicationId=" + loanApplicationId +
+                ", quoteDate=" + quoteDate +
+                ", outstandingPrincipal=" + outstandingPrincipal +
+                ", payoffAmount=" + payoffAmount +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.company.los.entity.Permission;
+import com.company.los.util.UuidV7;
 import jakarta.validation.constraints.*;
 
 import java.time.LocalDateTime;
@@ -151,7 +152,7 @@ public class PermissionDto {
     public Permission toEntity() {
         Permission permission = new Permission();
         
-        permission.setId(this.id != null ? this.id : UUID.randomUUID());
+        permission.setId(this.id != null ? this.id : UuidV7.next());
         permission.setName(this.name);
         permission.setDisplayName(this.displayName);
         permission.setDisplayNameMn(this.displayNameMn);
@@ -0,0 +1,68 @@
+package com.company.los.dto;
+
+import com.company.los.entity.LoanApplication;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Ажилтны ажлын дарааллын мөр
+ * Loan officer work-queue entry, projected without loading the entity
+ *
+ * Дараалал нь тэргүүлэх эрэмбэ (5 = маш яаралтай) буурахаар, дараа нь SLA эхэлсэн хугацаа (хуучин нь түрүүнд),
+ * дараа нь хүссэн дүн (их нь түрүүнд) эрэмбэлэгдэнэ; id нь тэнцүү мөрүүдийг ялгана.
+ */
+public record WorkQueueItem(
+        UUID id,
+        String applicationNumber,
+        LoanApplication.ApplicationStatus status,
+        Integer priority,
+        BigDecimal requestedAmount,
+        LocalDateTime slaStartedAt,
+        String assignedTo,
+        String leaseOwner,
+        LocalDateTime leaseExpiresAt) {
+
+    /**
+     * JPQL SELECT хэсэг (alias: la)
+     */
+    public static final String SELECT =
+            "SELECT new com.company.los.dto.WorkQueueItem(" +
+            "la.id, la.applicationNumber, la.status, la.priority, la.requestedAmount, " +
+            "COALESCE(la.submittedAt, la.createdAt), la.assignedTo, la.leaseOwner, la.leaseExpiresAt) " +
+            "FROM LoanApplication la ";
+
+    public static final Comparator<WorkQueueItem> ORDER = Comparator
+            .comparingInt(WorkQueueItem::priorityOrDefault).reversed()
+            .thenComparing(WorkQueueItem::slaStartedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(WorkQueueItem::requestedAmount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(WorkQueueItem::id);
+
+    public int priorityOrDefault() {
+        return priority != null ? priority : 3;
+    }
+
+    /**
+     * Мөр дээр now-оос хойш хүчинтэй lease байгаа эсэх
+     */
+    public boolean isLeased(LocalDateTime now) {
+        return leaseOwner != null && leaseExpiresAt != null && !leaseExpiresAt.isBefore(now);
+    }
+
+    public WorkQueueItem withAssignedTo(String officer) {
+        return new WorkQueueItem(id, applicationNumber, status, priority, requestedAmount, slaStartedAt, officer,
+                leaseOwner, leaseExpiresAt);
+    }
+
+    public WorkQueueItem withLease(String officer, LocalDateTime expiresAt) {
+        return new WorkQueueItem(id, applicationNumber, status, priority, requestedAmount, slaStartedAt, officer,
+                officer, expiresAt);
+    }
+
+    public WorkQueueItem withoutLease() {
+        return new WorkQueueItem(id, applicationNumber, status, priority, requestedAmount, slaStartedAt, assignedTo,
+                null, null);
+    }
+}
@@ -95,7 +95,7 @@ public class ActivityLog {
 
     // Constructors
     public ActivityLog() {
-        this.id = java.util.UUID.randomUUID().toString();
+        this.id = com.company.los.util.UuidV7.next().toString();
         this.createdAt = LocalDateTime.now();
     }
 
@@ -61,14 +61,24 @@ public class AuditLog {
     @Column(name = "user_agent", columnDefinition = "TEXT")
     private String userAgent;
 
+    @Column(name = "change_reason", length = 500)
+    @Size(max = 500, message = "Өөрчлөлтийн шалтгаан 500 тэмдэгтээс ихгүй байх ёстой")
+    private String changeReason;
+
     // Action constants
     public static final String ACTION_INSERT = "INSERT";
     public static final String ACTION_UPDATE = "UPDATE";
     public static final String ACTION_DELETE = "DELETE";
 
+    // Аудитлагдах хүснэгтүүд
+    public static final String TABLE_LOAN_APPLICATIONS = "loan_applications";
+    public static final String TABLE_CUSTOMERS = "customers";
+    public static final String TABLE_DOCUMENTS = "documents";
+    public static final String TABLE_USERS = "users";
+
     // Constructors
     public AuditLog() {
-        this.id = java.util.UUID.randomUUID().toString();
+        this.id = com.company.los.util.UuidV7.next().toString();
         this.changedAt = LocalDateTime.now();
     }
 
@@ -94,6 +104,10 @@ public class AuditLog {
     }
 
     public String getActionText() {
+        return actionText(action);
+    }
+
+    public static String actionText(String action) {
         switch (action) {
             case ACTION_INSERT: return "Үүсгэсэн";
             case ACTION_UPDATE: return "Засварласан";
@@ -163,6 +177,9 @@ public class AuditLog {
     public String getUserAgent() { return userAgent; }
     public void setUserAgent(String userAgent) { this.userAgent = userAgent; }
 
+    public String getChangeReason() { return changeReason; }
+    public void setChangeReason(String changeReason) { this.changeReason = changeReason; }
+
     // equals and hashCode
     @Override
     public boolean equals(Object o) {
@@ -1,5 +1,6 @@
 package com.company.los.entity;
 
+import com.company.los.util.UuidV7;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -20,7 +21,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
 
     @Id
-    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "VARCHAR(36)")
+    @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
     @CreatedDate
@@ -45,7 +46,7 @@ public abstract class BaseEntity {
     // Constructors
     public BaseEntity() {
         LocalDateTime now = LocalDateTime.now();
-        this.id = UUID.randomUUID(); // Автомат UUID үүсгэх
+        this.id = UuidV7.next(); // Цагаар эрэмбэлэгдсэн UUID үүсгэх
         this.createdAt = now;
         this.updatedAt = now;
     }
@@ -55,7 +56,7 @@ public abstract class BaseEntity {
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
         if (this.id == null) {
-            this.id = UUID.randomUUID();
+            this.id = UuidV7.next();
         }
         if (this.createdAt == null) {
             this.createdAt = now;
@@ -32,7 +32,8 @@ import java.util.Arrays;
         @Index(name = "idx_customers_status", columnList = "status"),
         @Index(name = "idx_customers_is_active", columnList = "is_active")
 })
-@SQLDelete(sql = "UPDATE customers SET is_deleted = true WHERE id = ?")
+@EntityListeners(RollupChangeListener.class)
+@SQLDelete(sql = "UPDATE customers SET is_deleted = true, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
 public class Customer extends BaseEntity {
 
@@ -242,6 +243,11 @@ public class Customer extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Optimistic locking - UPDATE ... WHERE version = ? (null бол шинэ entity)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "status", nullable = false, length = 50)
     @Enumerated(EnumType.STRING)
     @NotNull(message = "Статус заавал байх ёстой")
@@ -306,6 +312,14 @@ public class Customer extends BaseEntity {
     }
 
     public String getDisplayName() {
+        return displayName(customerType, companyName, firstName, lastName, registerNumber);
+    }
+
+    /**
+     * Харуулах нэр - entity ачаалалгүйгээр projection-ы баганаас тооцоход ашиглана
+     */
+    public static String displayName(CustomerType customerType, String companyName, String firstName,
+                                     String lastName, String registerNumber) {
         if (customerType == CustomerType.BUSINESS && companyName != null) {
             return companyName;
         }
@@ -468,6 +482,8 @@ public class Customer extends BaseEntity {
 
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     public CustomerStatus getStatus() { return status; }
     public void setStatus(CustomerStatus status) { this.status = status; }
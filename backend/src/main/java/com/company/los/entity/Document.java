@@ -21,7 +21,8 @@ import java.util.UUID;
         @Index(name = "idx_documents_document_type_id", columnList = "document_type_id"),
         @Index(name = "idx_documents_verification_status", columnList = "verification_status")
 })
-@SQLDelete(sql = "UPDATE documents SET is_deleted = true WHERE id = ?")
+@EntityListeners(RollupChangeListener.class)
+@SQLDelete(sql = "UPDATE documents SET is_deleted = true, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
 public class Document extends BaseEntity {
 
@@ -48,18 +49,18 @@ public class Document extends BaseEntity {
     }
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "customer_id", nullable = false, columnDefinition = "VARCHAR(36)",
+    @JoinColumn(name = "customer_id", nullable = false,
                 foreignKey = @ForeignKey(name = "fk_document_customer"))
     @NotNull(message = "Харилцагч заавал байх ёстой")
     private Customer customer;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "loan_application_id", columnDefinition = "VARCHAR(36)",
+    @JoinColumn(name = "loan_application_id",
                 foreignKey = @ForeignKey(name = "fk_document_loan_app"))
     private LoanApplication loanApplication;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "document_type_id", nullable = false, columnDefinition = "VARCHAR(36)",
+    @JoinColumn(name = "document_type_id", nullable = false,
                 foreignKey = @ForeignKey(name = "fk_document_type"))
     @NotNull(message = "Баримтын төрөл заавал сонгох ёстой")
     private DocumentType documentType;
@@ -103,7 +104,7 @@ public class Document extends BaseEntity {
     @Min(value = 1, message = "Хувилбарын дугаар 1-ээс бага байж болохгүй")
     private Integer versionNumber = 1;
 
-    @Column(name = "previous_document_id", columnDefinition = "VARCHAR(36)")
+    @Column(name = "previous_document_id")
     private UUID previousDocumentId;
 
     @Column(name = "verification_status", nullable = false, length = 20)
@@ -125,6 +126,10 @@ public class Document extends BaseEntity {
     @Size(max = 50, message = "Статус 50 тэмдэгтээс ихгүй байх ёстой")
     private String status = "PENDING";
 
+    // Хянах дарааллаас олгосон lease (verifiedBy = эзэмшигч); хугацаа дууссан бол өөр reviewer авч болно
+    @Column(name = "review_lease_expires_at")
+    private LocalDateTime reviewLeaseExpiresAt;
+
     @Column(name = "expiry_date")
     private LocalDate expiryDate;
 
@@ -160,6 +165,11 @@ public class Document extends BaseEntity {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Optimistic locking - UPDATE ... WHERE version = ? (null бол шинэ entity)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Document() {
         super();
@@ -185,6 +195,7 @@ public class Document extends BaseEntity {
         this.verifiedBy = verifierName;
         this.verificationNotes = notes;
         this.status = "APPROVED";
+        this.reviewLeaseExpiresAt = null;
     }
 
     public void reject(String verifierName, String reason) {
@@ -193,12 +204,14 @@ public class Document extends BaseEntity {
         this.verifiedBy = verifierName;
         this.verificationNotes = reason;
         this.status = "REJECTED";
+        this.reviewLeaseExpiresAt = null;
     }
 
     public void startReview(String reviewerName) {
         this.verificationStatus = VerificationStatus.IN_REVIEW;
         this.verifiedBy = reviewerName;
         this.status = "IN_REVIEW";
+        this.reviewLeaseExpiresAt = null;
     }
 
     public boolean isVerified() {
@@ -325,6 +338,9 @@ public class Document extends BaseEntity {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
+    public LocalDateTime getReviewLeaseExpiresAt() { return reviewLeaseExpiresAt; }
+    public void setReviewLeaseExpiresAt(LocalDateTime reviewLeaseExpiresAt) { this.reviewLeaseExpiresAt = reviewLeaseExpiresAt; }
+
     public LocalDate getExpiryDate() { return expiryDate; }
     public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
 
@@ -354,6 +370,8 @@ public class Document extends BaseEntity {
 
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     @Override
     public String toString() {
@@ -21,7 +21,7 @@ import java.util.UUID;
 @Table(name = "document_types", indexes = {
         @Index(name = "idx_document_type_name", columnList = "name", unique = true)
 })
-@SQLDelete(sql = "UPDATE document_types SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE document_types SET is_deleted = true, updated_at = CURRENT_TIMESTAMP WHERE id = ?")
 @SQLRestriction("is_deleted = false")
 public class DocumentType extends BaseEntity {
 
@@ -23,7 +23,8 @@ import java.util.UUID;
         @Index(name = "idx_loan_applications_status", columnList = "status"),
         @Index(name = "idx_loan_applications_created_at", columnList = "created_at")
 })
-@SQLDelete(sql = "UPDATE loan_applications SET is_deleted = true WHERE id = ?")
+@EntityListeners(RollupChangeListener.class)
+@SQLDelete(sql = "UPDATE loan_applications SET is_deleted = true, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND version = ?")
 @SQLRestriction("is_deleted = false")
 public class LoanApplication extends BaseEntity {
 
@@ -78,13 +79,13 @@ public class LoanApplication extends BaseEntity {
 
     // ⭐ ЗӨВӨӨР ТОДОРХОЙЛОГДСОН: Customer entity-тэй холбосон ⭐
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "customer_id", nullable = false, columnDefinition = "VARCHAR(36)",
+    @JoinColumn(name = "customer_id", nullable = false,
                 foreignKey = @ForeignKey(name = "fk_loan_app_customer"))
     @NotNull(message = "Харилцагч заавал байх ёстой")
     private Customer customer;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "loan_product_id", columnDefinition = "VARCHAR(36)",
+    @JoinColumn(name = "loan_product_id",
                 foreignKey = @ForeignKey(name = "fk_loan_app_product"))
     private LoanProduct loanProduct;
 
@@ -164,6 +165,10 @@ public class LoanApplication extends BaseEntity {
     @NotNull(message = "Статус заавал байх ёстой")
     private ApplicationStatus status = ApplicationStatus.DRAFT;
 
+    // Одоогийн төлөвт орсон хугацаа - ажлын урсгалын dwell хэмжилт
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
     @Column(name = "status_note", length = 1000)
     @Size(max = 1000, message = "Статусын тэмдэглэл 1000 тэмдэгтээс ихгүй байх ёстой")
     private String statusNote;
@@ -188,6 +193,13 @@ public class LoanApplication extends BaseEntity {
     @Size(max = 100, message = "Хариуцагч 100 тэмдэгтээс ихгүй байх ёстой")
     private String assignedTo;
 
+    // Ажлын дарааллын lease - WorkQueueService-ийн нөхцөлт UPDATE л бичнэ (entity save дарж бичихгүй)
+    @Column(name = "lease_owner", length = 100, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
+
     @Column(name = "priority")
     @Min(value = 1, message = "Чухал байдал 1-ээс бага байж болохгүй")
     @Max(value = 5, message = "Чухал байдал 5-аас их байж болохгүй")
@@ -230,6 +242,10 @@ public class LoanApplication extends BaseEntity {
     @Column(name = "disbursed_at")
     private LocalDateTime disbursedAt;
 
+    // Ачаалсан үеийн шийдвэрийн огноонууд - RollupChangeListener хуучин өдрийг дахин тооцоход
+    @Transient
+    private transient LocalDateTime[] loadedDecisionTimes;
+
     // Хянагчийн мэдээлэл
     @Column(name = "reviewed_by", length = 100)
     @Size(max = 100, message = "Хянагч 100 тэмдэгтээс ихгүй байх ёстой")
@@ -291,6 +307,11 @@ public class LoanApplication extends BaseEntity {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Optimistic locking - UPDATE ... WHERE version = ? (null бол шинэ entity)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Чухал огноонууд
     @Column(name = "due_date")
     private LocalDateTime dueDate;
@@ -317,12 +338,14 @@ public class LoanApplication extends BaseEntity {
     // Business methods
     public void submit() {
         this.status = ApplicationStatus.SUBMITTED;
+        this.statusChangedAt = LocalDateTime.now();
         this.submittedAt = LocalDateTime.now();
         this.setUpdatedAt(LocalDateTime.now());
     }
 
     public void approve(String approvedBy, BigDecimal approvedAmount, Integer approvedTermMonths, BigDecimal approvedRate) {
         this.status = ApplicationStatus.APPROVED;
+        this.statusChangedAt = LocalDateTime.now();
         this.approvedBy = approvedBy;
         this.approvedDate = LocalDateTime.now();
         this.decisionDate = LocalDateTime.now();
@@ -334,6 +357,7 @@ public class LoanApplication extends BaseEntity {
 
     public void reject(String rejectedBy, String reason) {
         this.status = ApplicationStatus.REJECTED;
+        this.statusChangedAt = LocalDateTime.now();
         this.rejectedBy = rejectedBy;
         this.rejectedDate = LocalDateTime.now();
         this.decisionDate = LocalDateTime.now();
@@ -343,6 +367,7 @@ public class LoanApplication extends BaseEntity {
 
     public void disburse(String disbursedBy, BigDecimal disbursedAmount) {
         this.status = ApplicationStatus.DISBURSED;
+        this.statusChangedAt = LocalDateTime.now();
         this.disbursedBy = disbursedBy;
         this.disbursedDate = LocalDateTime.now();
         this.disbursedAmount = disbursedAmount;
@@ -403,6 +428,7 @@ public class LoanApplication extends BaseEntity {
 
     public void updateStatus(ApplicationStatus newStatus, String note) {
         this.status = newStatus;
+        this.statusChangedAt = LocalDateTime.now();
         this.statusNote = note;
         this.setUpdatedAt(LocalDateTime.now());
     }
@@ -471,6 +497,8 @@ public class LoanApplication extends BaseEntity {
 
     public ApplicationStatus getStatus() { return status; }
     public void setStatus(ApplicationStatus status) { this.status = status; }
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) { this.statusChangedAt = statusChangedAt; }
 
     public String getStatusNote() { return statusNote; }
     public void setStatusNote(String statusNote) { this.statusNote = statusNote; }
@@ -493,6 +521,10 @@ public class LoanApplication extends BaseEntity {
     public String getAssignedTo() { return assignedTo; }
     public void setAssignedTo(String assignedTo) { this.assignedTo = assignedTo; }
 
+    public String getLeaseOwner() { return leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+
     public Integer getPriority() { return priority; }
     public void setPriority(Integer priority) { this.priority = priority; }
 
@@ -529,6 +561,9 @@ public class LoanApplication extends BaseEntity {
     public LocalDateTime getDisbursedAt() { return disbursedAt; }
     public void setDisbursedAt(LocalDateTime disbursedAt) { this.disbursedAt = disbursedAt; }
 
+    LocalDateTime[] getLoadedDecisionTimes() { return loadedDecisionTimes; }
+    void snapshotDecisionTimes() { this.loadedDecisionTimes = new LocalDateTime[]{approvedAt, rejectedAt, disbursedAt}; }
+
     public String getReviewedBy() { return reviewedBy; }
     public void setReviewedBy(String reviewedBy) { this.reviewedBy = reviewedBy; }
 
@@ -576,6 +611,8 @@ public class LoanApplication extends BaseEntity {
 
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     public LocalDateTime getDueDate() { return dueDate; }
     public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
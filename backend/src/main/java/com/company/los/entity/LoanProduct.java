@@ -15,7 +15,7 @@ import java.util.List;
         @Index(name = "idx_loan_product_name", columnList = "name"),
         @Index(name = "idx_loan_product_type", columnList = "loan_type")
 })
-@SQLDelete(sql = "UPDATE loan_products SET is_deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE loan_products SET is_deleted = true, updated_at = CURRENT_TIMESTAMP WHERE id = ?")
 @SQLRestriction("is_deleted = false")
 public class LoanProduct extends BaseEntity {
 
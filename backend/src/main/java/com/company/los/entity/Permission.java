@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import com.company.los.util.TimeOrderedUuid;
+import com.company.los.util.UuidV7;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -89,8 +91,8 @@ public class Permission {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-    @Column(name = "id", columnDefinition = "BINARY(16)")
+    @TimeOrderedUuid
+    @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
     @Column(name = "name", unique = true, nullable = false, length = 100)
@@ -161,7 +163,7 @@ public class Permission {
 
     // Constructors
     public Permission() {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -0,0 +1,86 @@
+package com.company.los.entity;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dashboard rollup-д нөлөөлөх entity өөрчлөлтийг өдрөөр тэмдэглэх listener.
+ * Rollup job тэмдэглэсэн өдрүүдийг л дахин тооцоолно (бүх түүхийг биш).
+ *
+ * JPA-аас гадуурх өөрчлөлтийг (bulk JPQL, шууд SQL) rollup job updated_at watermark-аар барина.
+ * Шийдвэрийн огноо өөрчлөгдөхөд хуучин өдрийн rollup-д мөр үлдэхгүйн тулд ачаалсан үеийн огноог
+ * мөн тэмдэглэнэ - watermark нь зөвхөн шинэ утгыг харна.
+ */
+public class RollupChangeListener {
+
+    public static final String LOAN_APPLICATIONS = "loan_applications";
+    public static final String LOAN_DECISIONS = "loan_decisions";
+    public static final String CUSTOMERS = "customers";
+    public static final String DOCUMENTS = "documents";
+
+    private static final Map<String, Set<LocalDate>> DIRTY_DAYS = new ConcurrentHashMap<>();
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof LoanApplication application) {
+            application.snapshotDecisionTimes();
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof LoanApplication application) {
+            mark(LOAN_APPLICATIONS, application.getCreatedAt());
+            LocalDateTime[] loaded = application.getLoadedDecisionTimes();
+            if (loaded != null) {
+                for (LocalDateTime previous : loaded) {
+                    mark(LOAN_DECISIONS, previous);
+                }
+            }
+            mark(LOAN_DECISIONS, application.getApprovedAt());
+            mark(LOAN_DECISIONS, application.getRejectedAt());
+            mark(LOAN_DECISIONS, application.getDisbursedAt());
+            // Нэг session-д дахин өөрчлөгдвөл одоогийн утга нь "хуучин" болно
+            application.snapshotDecisionTimes();
+        } else if (entity instanceof Customer customer) {
+            mark(CUSTOMERS, customer.getCreatedAt());
+        } else if (entity instanceof Document document) {
+            mark(DOCUMENTS, document.getCreatedAt());
+        }
+    }
+
+    /**
+     * Тэмдэглэсэн өдрүүдийг авч цэвэрлэх
+     */
+    public static Set<LocalDate> drain(String rollup) {
+        Set<LocalDate> days = DIRTY_DAYS.get(rollup);
+        if (days == null || days.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<LocalDate> drained = new HashSet<>();
+        for (LocalDate day : days) {
+            if (days.remove(day)) {
+                drained.add(day);
+            }
+        }
+        return drained;
+    }
+
+    private static void mark(String rollup, LocalDateTime timestamp) {
+        if (timestamp != null) {
+            DIRTY_DAYS.computeIfAbsent(rollup, key -> ConcurrentHashMap.newKeySet()).add(timestamp.toLocalDate());
+        }
+    }
+}
@@ -94,7 +94,7 @@ public class SystemSettings {
 
     // Constructors
     public SystemSettings() {
-        this.id = java.util.UUID.randomUUID().toString();
+        this.id = com.company.los.util.UuidV7.next().toString();
     }
 
     public SystemSettings(String settingKey, String settingValue, String dataType, String category) {
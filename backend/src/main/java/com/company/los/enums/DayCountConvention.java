@@ -0,0 +1,86 @@
+package com.company.los.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Хүүгийн өдрийн тооллын арга (day-count convention)
+ * Day-count conventions used for daily interest accrual
+ *
+ * @author LOS Development Team
+ */
+public enum DayCountConvention {
+    /**
+     * Бодит өдөр / 365
+     */
+    ACT_365("ACT/365", "Бодит/365"),
+
+    /**
+     * Бодит өдөр / 360
+     */
+    ACT_360("ACT/360", "Бодит/360"),
+
+    /**
+     * Бодит өдөр / жилийн бодит өдөр (366 өндөр жилд)
+     */
+    ACT_ACT("ACT/ACT", "Бодит/Бодит"),
+
+    /**
+     * 30/360 (US) - сар бүрийг 30 өдөр гэж үзнэ
+     */
+    THIRTY_360("30/360", "30/360");
+
+    private final String code;
+    private final String mongolianName;
+
+    DayCountConvention(String code, String mongolianName) {
+        this.code = code;
+        this.mongolianName = mongolianName;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMongolianName() {
+        return mongolianName;
+    }
+
+    /**
+     * from-оос to хүртэлх (to орохгүй) хүү тооцох өдрийн тоо
+     */
+    public long dayCount(LocalDate from, LocalDate to) {
+        if (this == THIRTY_360) {
+            int d1 = Math.min(from.getDayOfMonth(), 30);
+            int d2 = to.getDayOfMonth();
+            if (d2 == 31 && d1 == 30) {
+                d2 = 30;
+            }
+            return 360L * (to.getYear() - from.getYear())
+                    + 30L * (to.getMonthValue() - from.getMonthValue())
+                    + (d2 - d1);
+        }
+        return ChronoUnit.DAYS.between(from, to);
+    }
+
+    /**
+     * Жилийн суурь өдрийн тоо (ACT/ACT-д from огнооны жилээр)
+     */
+    public int daysInYear(LocalDate from) {
+        switch (this) {
+            case ACT_360:
+            case THIRTY_360:
+                return 360;
+            case ACT_ACT:
+                return from.lengthOfYear();
+            case ACT_365:
+            default:
+                return 365;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -84,7 +84,11 @@ public enum LoanStatus {
 
     /**
      * Статус шинэчлэх боломжтой эсэхийг шалгах
+     *
+     * @deprecated Зээлийн хүсэлтийн шилжилтийг {@code app.loan.workflow} тохиргооноос
+     * {@link com.company.los.service.LoanWorkflowService#canTransition} шалгана; энэ хүснэгт түүнтэй зөрж болно
      */
+    @Deprecated
     public boolean canTransitionTo(LoanStatus newStatus) {
         return switch (this) {
             case DRAFT -> newStatus == SUBMITTED || newStatus == CANCELLED;
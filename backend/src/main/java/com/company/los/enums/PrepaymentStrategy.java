@@ -0,0 +1,34 @@
+package com.company.los.enums;
+
+/**
+ * Хэсэгчилсэн урьдчилан төлөлтийн дараах дахин хуваарилалтын арга
+ * Partial prepayment re-amortization strategy
+ *
+ * @author LOS Development Team
+ */
+public enum PrepaymentStrategy {
+    /**
+     * Сарын төлбөр хэвээр, хугацаа богиносно
+     */
+    REDUCE_TERM("Хугацаа богиносгох"),
+
+    /**
+     * Хугацаа хэвээр, сарын төлбөр буурна
+     */
+    REDUCE_PAYMENT("Сарын төлбөр бууруулах");
+
+    private final String mongolianName;
+
+    PrepaymentStrategy(String mongolianName) {
+        this.mongolianName = mongolianName;
+    }
+
+    public String getMongolianName() {
+        return mongolianName;
+    }
+
+    @Override
+    public String toString() {
+        return mongolianName;
+    }
+}
@@ -0,0 +1,132 @@
+package com.company.los.enums;
+
+import java.util.List;
+
+/**
+ * Async тайлангийн төрөл
+ * Report types served by ReportService (backed by ReportingRepository)
+ *
+ * Төрөл бүр уншдаг хүснэгтүүдээ зарлана - data watermark зөвхөн эдгээрээс тооцогдоно.
+ *
+ * @author LOS Development Team
+ */
+public enum ReportType {
+
+    LOAN_APPLICATIONS("Зээлийн хүсэлтийн дэлгэрэнгүй", Params.DATE_RANGE,
+            List.of("loan_applications", "customers", "loan_products", "documents"),
+            List.of("applicationNumber", "customerName", "registerNumber", "productName", "requestedAmount",
+                    "requestedTermMonths", "status", "createdAt", "approvedAt", "rejectedAt", "documentCount")),
+
+    LOAN_APPROVAL("Зээлийн батлалт", Params.DATE_RANGE,
+            List.of("loan_applications", "loan_products"),
+            List.of("productName", "totalApplications", "approvedCount", "rejectedCount", "pendingCount",
+                    "approvalRate", "approvedAmount", "avgApprovedAmount")),
+
+    CUSTOMER_LOAN_HISTORY("Харилцагчийн зээлийн түүх", Params.DATE_RANGE,
+            List.of("customers", "loan_applications", "documents"),
+            List.of("customerName", "registerNumber", "email", "phone", "monthlyIncome", "totalApplications",
+                    "approvedLoans", "rejectedLoans", "totalApprovedAmount", "lastApplicationDate", "totalDocuments")),
+
+    MONTHLY_PERFORMANCE("Сарын гүйцэтгэл", Params.START_DATE,
+            List.of("loan_applications"),
+            List.of("month", "totalApplications", "approvedCount", "rejectedCount", "approvedAmount",
+                    "avgLoanAmount", "uniqueCustomers")),
+
+    PRODUCT_PERFORMANCE("Бүтээгдэхүүний гүйцэтгэл", Params.END_DATE,
+            List.of("loan_products", "loan_applications"),
+            List.of("productName", "baseRate", "minAmount", "maxAmount", "applicationCount", "approvedCount",
+                    "approvalRate", "totalApprovedAmount", "avgApprovedAmount", "firstApplication", "lastApplication")),
+
+    RISK_ANALYSIS("Эрсдэлийн дүн шинжилгээ", Params.DATE_RANGE,
+            List.of("loan_applications"),
+            List.of("riskCategory", "totalApplications", "approvedCount", "rejectedCount", "approvalRate",
+                    "totalRequestedAmount", "approvedAmount")),
+
+    INCOME_RISK("Орлогын түвшний эрсдэл", Params.DATE_RANGE,
+            List.of("loan_applications", "customers"),
+            List.of("incomeCategory", "applicationCount", "approvedCount", "approvalRate",
+                    "avgRequestedAmount", "avgApprovedAmount")),
+
+    DOCUMENT_STATISTICS("Баримтын статистик", Params.NONE,
+            List.of("document_types", "documents"),
+            List.of("documentType", "isRequired", "totalDocuments", "customersWithDocument",
+                    "applicationsWithDocument", "avgFileSize", "totalFileSize")),
+
+    INCOMPLETE_DOCUMENTS("Баримт дутуу хүсэлтүүд", Params.NONE,
+            List.of("loan_applications", "customers", "loan_products", "documents", "document_types"),
+            List.of("applicationNumber", "customerName", "productName", "requestedAmount", "status",
+                    "documentCount", "requiredDocumentTypes", "providedRequiredDocs", "createdAt")),
+
+    GEOGRAPHIC("Газарзүйн тайлан", Params.NONE,
+            List.of("customers", "loan_applications"),
+            List.of("province", "city", "customerCount", "applicationCount", "approvedCount",
+                    "approvedAmount", "avgIncome")),
+
+    AGE_DEMOGRAPHICS("Насны бүлэг", Params.NONE,
+            List.of("customers", "loan_applications"),
+            List.of("ageGroup", "customerCount", "applicationCount", "approvedCount", "approvalRate",
+                    "avgIncome", "avgApprovedAmount")),
+
+    PROCESSING_TIME("Боловсруулах хугацаа", Params.DATE_RANGE,
+            List.of("loan_applications", "loan_products"),
+            List.of("productName", "status", "applicationCount", "avgProcessingDays",
+                    "minProcessingDays", "maxProcessingDays")),
+
+    USER_ACTIVITY("Хэрэглэгчийн үйл ажиллагаа", Params.DATE_RANGE,
+            List.of("audit_logs"),
+            List.of("username", "totalActions", "createActions", "updateActions", "deleteActions",
+                    "tablesModified", "firstActivity", "lastActivity")),
+
+    SYSTEM_HEALTH("Системийн эрүүл мэнд", Params.NONE,
+            List.of("customers", "loan_applications", "documents"),
+            List.of("entityType", "totalCount", "incompleteCount", "createdToday", "updatedToday")),
+
+    TOP_PERFORMERS("Шилдэг харилцагчид", Params.MIN_APPROVED_LOANS,
+            List.of("customers", "loan_applications"),
+            List.of("customerName", "registerNumber", "monthlyIncome", "totalApplications", "approvedApplications",
+                    "totalApprovedAmount", "avgApprovedAmount", "lastApplicationDate")),
+
+    TRENDING("Чиг хандлага", Params.START_DATE,
+            List.of("loan_applications", "loan_products"),
+            List.of("month", "productName", "applicationCount", "avgAmount", "approvedCount"));
+
+    /**
+     * Тайлангийн шаардах параметр
+     */
+    public enum Params {
+        NONE, DATE_RANGE, START_DATE, END_DATE, MIN_APPROVED_LOANS
+    }
+
+    private final String mongolianName;
+    private final Params params;
+    private final List<String> sourceTables;
+    private final List<String> columns;
+
+    ReportType(String mongolianName, Params params, List<String> sourceTables, List<String> columns) {
+        this.mongolianName = mongolianName;
+        this.params = params;
+        this.sourceTables = sourceTables;
+        this.columns = columns;
+    }
+
+    public String getMongolianName() {
+        return mongolianName;
+    }
+
+    public Params getParams() {
+        return params;
+    }
+
+    public List<String> getSourceTables() {
+        return sourceTables;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        return mongolianName;
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.los.exception;
+
+/**
+ * OCR pipeline-ийн дараалал дүүрсэн үед гарах exception - client Retry-After-ийн дараа дахин илгээнэ
+ */
+public class OcrSaturatedException extends IllegalStateException {
+
+    public OcrSaturatedException() {
+        super("OCR pipeline is saturated, try again later");
+    }
+}
@@ -3,6 +3,7 @@ package com.company.los.repository;
 import com.company.los.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -62,10 +63,10 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, String> { //
     Page<AuditLog> findRecentAuditLogs(Pageable pageable);
 
     /**
-     * Хуучин аудит лог
+     * Хуучин аудит лог (хуудсаар; устгалыг LogRetentionService chunk-аар хийнэ)
      */
-    @Query("SELECT al FROM AuditLog al WHERE al.changedAt < :cutoffDate")
-    List<AuditLog> findOldAuditLogs(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query("SELECT al FROM AuditLog al WHERE al.changedAt < :cutoffDate ORDER BY al.changedAt, al.id")
+    Slice<AuditLog> findOldAuditLogs(@Param("cutoffDate") LocalDateTime cutoffDate, Pageable pageable);
 
     // Үйлдлээр хайх
     /**
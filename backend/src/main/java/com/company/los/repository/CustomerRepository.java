@@ -319,7 +319,7 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
      * Олон харилцагчийн статус шинэчлэх
      */
     @Modifying
-    @Query("UPDATE Customer c SET c.status = :status, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id IN :customerIds")
+    @Query("UPDATE Customer c SET c.status = :status, c.updatedAt = CURRENT_TIMESTAMP, c.version = c.version + 1 WHERE c.id IN :customerIds")
     int updateStatusForCustomers(@Param("customerIds") List<UUID> customerIds, 
                                 @Param("status") CustomerStatus status);
 
@@ -327,7 +327,7 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
      * Олон харилцагчийн KYC статус шинэчлэх
      */
     @Modifying
-    @Query("UPDATE Customer c SET c.kycStatus = :kycStatus, c.updatedAt = CURRENT_TIMESTAMP WHERE c.id IN :customerIds")
+    @Query("UPDATE Customer c SET c.kycStatus = :kycStatus, c.updatedAt = CURRENT_TIMESTAMP, c.version = c.version + 1 WHERE c.id IN :customerIds")
     int updateKycStatusForCustomers(@Param("customerIds") List<UUID> customerIds, 
                                    @Param("kycStatus") Customer.KycStatus kycStatus);
 
@@ -371,4 +371,23 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
                    "GROUP BY customer_type", 
            nativeQuery = true)
     List<Object[]> getIncomeStatistics();
-}
\ No newline at end of file
+
+    // Conditional GET - entity ачаалахгүйгээр зөвхөн өөрчлөлтийн тэмдэг уншина
+    @Query("SELECT c.updatedAt FROM Customer c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    // Keyset (cursor) хуудаслалт - (createdAt, id) буурахаар, COUNT хийхгүй
+
+    /**
+     * Эхний хуудас
+     */
+    @Query("SELECT c FROM Customer c ORDER BY c.createdAt DESC, c.id DESC")
+    List<Customer> findSeekFirst(Pageable pageable);
+
+    /**
+     * Cursor-ийн (createdAt, id)-ээс хойших хуудас
+     */
+    @Query("SELECT c FROM Customer c WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Customer> findSeekAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+}
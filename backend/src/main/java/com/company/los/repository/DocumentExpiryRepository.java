@@ -0,0 +1,131 @@
+package com.company.los.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Баримтын хугацаа дуусах sweeper-ийн JDBC хандалт
+ *
+ * (expiry_date, id) keyset-ээр idx_documents_expiry индексийн дагуу chunk-аар уншина; entity ачаалахгүй.
+ * High-water mark нь document_expiry_sweeps хүснэгтэд chunk бүрийн шинэчлэлтэй нэг transaction-д бичигдэнэ.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentExpiryRepository {
+
+    private static final String SELECT_EXPIRED =
+            "SELECT d.id, d.expiry_date, d.original_filename, d.customer_id, d.loan_application_id, " +
+            "c.email, c.phone FROM documents d LEFT JOIN customers c ON c.id = d.customer_id " +
+            "WHERE d.expiry_date IS NOT NULL AND d.is_deleted = FALSE AND d.expiry_date < ? AND d.expiry_date >= ? " +
+            "AND d.verification_status <> 'EXPIRED' ";
+
+    private static final String ORDER_LIMIT = "ORDER BY d.expiry_date, d.id LIMIT ?";
+
+    private static final String MARK_EXPIRED =
+            "UPDATE documents SET verification_status = 'EXPIRED', status = 'EXPIRED', review_lease_expires_at = NULL, " +
+            "updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND is_deleted = FALSE AND verification_status <> 'EXPIRED'";
+
+    private static final RowMapper<ExpiredDocumentRow> ROW_MAPPER = (rs, rowNum) -> new ExpiredDocumentRow(
+            rs.getObject("id", UUID.class),
+            rs.getDate("expiry_date").toLocalDate(),
+            rs.getString("original_filename"),
+            rs.getObject("customer_id", UUID.class),
+            rs.getObject("loan_application_id", UUID.class),
+            rs.getString("email"),
+            rs.getString("phone"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * [from, before) цонхонд хугацаа нь дууссан, EXPIRED болоогүй баримтуудын дараагийн chunk
+     *
+     * @param after өмнөх chunk-ийн сүүлийн мөр (эхний chunk-д null)
+     */
+    public List<ExpiredDocumentRow> findExpiredChunk(LocalDate from, LocalDate before, ExpiredDocumentRow after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SELECT_EXPIRED + ORDER_LIMIT, ROW_MAPPER,
+                    Date.valueOf(before), Date.valueOf(from), limit);
+        }
+        return jdbcTemplate.query(
+                SELECT_EXPIRED + "AND (d.expiry_date > ? OR (d.expiry_date = ? AND d.id > ?)) " + ORDER_LIMIT, ROW_MAPPER,
+                Date.valueOf(before), Date.valueOf(from),
+                Date.valueOf(after.expiryDate()), Date.valueOf(after.expiryDate()), after.id(), limit);
+    }
+
+    /**
+     * Баримтуудыг нэг batch-аар EXPIRED болгох
+     *
+     * @return мөр бүрийн шинэчлэгдсэн эсэх (зэрэг өөрчлөгдсөн эсвэл устгагдсан бол false)
+     */
+    public boolean[] markExpired(List<UUID> ids, LocalDateTime now) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            args.add(new Object[]{nowTs, id});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(MARK_EXPIRED, args);
+        boolean[] updated = new boolean[ids.size()];
+        for (int i = 0; i < updated.length; i++) {
+            // Driver мөрийн тоог мэдээлээгүй бол (SUCCESS_NO_INFO) шинэчлэгдсэн гэж үзнэ
+            updated[i] = i >= counts.length || counts[i] != 0;
+        }
+        return updated;
+    }
+
+    public HighWaterMark loadHighWaterMark(String sweepName) {
+        List<HighWaterMark> rows = jdbcTemplate.query(
+                "SELECT expired_through, last_document_id, expired_count, swept_at FROM document_expiry_sweeps " +
+                "WHERE sweep_name = ?",
+                (rs, rowNum) -> new HighWaterMark(
+                        rs.getDate("expired_through").toLocalDate(),
+                        rs.getObject("last_document_id", UUID.class),
+                        rs.getLong("expired_count"),
+                        rs.getTimestamp("swept_at").toLocalDateTime()),
+                sweepName);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * High-water mark-ыг ахиулах; expired_through хэзээ ч ухрахгүй
+     */
+    public void advanceHighWaterMark(String sweepName, LocalDate expiredThrough, UUID lastDocumentId,
+                                     long expiredDelta, LocalDateTime now) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        int updated = jdbcTemplate.update(
+                "UPDATE document_expiry_sweeps SET " +
+                "expired_through = CASE WHEN expired_through > ? THEN expired_through ELSE ? END, " +
+                "last_document_id = COALESCE(?, last_document_id), expired_count = expired_count + ?, swept_at = ? " +
+                "WHERE sweep_name = ?",
+                Date.valueOf(expiredThrough), Date.valueOf(expiredThrough), lastDocumentId, expiredDelta, nowTs, sweepName);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO document_expiry_sweeps (sweep_name, expired_through, last_document_id, expired_count, swept_at) " +
+                    "VALUES (?, ?, ?, ?, ?)",
+                    sweepName, Date.valueOf(expiredThrough), lastDocumentId, expiredDelta, nowTs);
+        }
+    }
+
+    /**
+     * Sweeper-ийн уншсан мөр (харилцагчид сануулга илгээх мэдээлэлтэй)
+     */
+    public record ExpiredDocumentRow(UUID id, LocalDate expiryDate, String originalFilename, UUID customerId,
+                                     UUID loanApplicationId, String customerEmail, String customerPhone) {
+    }
+
+    /**
+     * @param expiredThrough энэ өдрийг хүртэлх (багтаасан) хугацаа нь дууссан бүх баримт EXPIRED болсон
+     */
+    public record HighWaterMark(LocalDate expiredThrough, UUID lastDocumentId, long expiredCount, LocalDateTime sweptAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.los.repository;
 
+import com.company.los.dto.DocumentListItem;
 import com.company.los.entity.Document;
 import com.company.los.entity.DocumentType;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,6 +47,19 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
      */
     Optional<Document> findByCustomerIdAndDocumentType(UUID customerId, DocumentType documentType);
 
+    /**
+     * Олон баримт байршуулахад төрөл бүрийн одоо байгаа баримтууд (бүх хувилбар) - нэг query
+     */
+    @Query("SELECT d FROM Document d WHERE d.customer.id = :customerId AND d.documentType IN :documentTypes")
+    List<Document> findByCustomerIdAndDocumentTypeIn(@Param("customerId") UUID customerId,
+                                                     @Param("documentTypes") Collection<DocumentType> documentTypes);
+
+    /**
+     * Өгсөн checksum-уудаас аль хэдийн хадгалагдсан нь (давхардлын сануулга)
+     */
+    @Query("SELECT DISTINCT d.checksum FROM Document d WHERE d.checksum IN :checksums")
+    List<String> findExistingChecksums(@Param("checksums") Collection<String> checksums);
+
     /**
      * Баталгаажуулалтын статусаар хайх
      */
@@ -439,4 +454,52 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
      */
     @Query("SELECT d FROM Document d WHERE d.verificationStatus = 'RESUBMIT_REQUIRED'")
     List<Document> findRequiringResubmission();
-}
\ No newline at end of file
+
+    // Жагсаалтын read model - харилцагч, хүсэлт, төрөлтэй нэг query-ээр (N+1 lazy load-гүй)
+
+    @Query(value = DocumentListItem.SELECT,
+           countQuery = "SELECT COUNT(d) FROM Document d")
+    Page<DocumentListItem> findListItems(Pageable pageable);
+
+    @Query(value = DocumentListItem.SELECT + "WHERE d.customer.id = :customerId",
+           countQuery = "SELECT COUNT(d) FROM Document d WHERE d.customer.id = :customerId")
+    Page<DocumentListItem> findListItemsByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
+
+    @Query(value = DocumentListItem.SELECT + "WHERE d.loanApplication.id = :loanApplicationId",
+           countQuery = "SELECT COUNT(d) FROM Document d WHERE d.loanApplication.id = :loanApplicationId")
+    Page<DocumentListItem> findListItemsByLoanApplicationId(@Param("loanApplicationId") UUID loanApplicationId,
+                                                            Pageable pageable);
+
+    // Хугацаа - idx_documents_expiry (expiry_date, id) дарааллаар
+
+    @Query(DocumentListItem.SELECT + "WHERE d.expiryDate < :today AND d.isDeleted = false ORDER BY d.expiryDate, d.id")
+    List<DocumentListItem> findExpiredListItems(@Param("today") LocalDate today);
+
+    @Query(DocumentListItem.SELECT + "WHERE d.expiryDate BETWEEN :today AND :until AND d.isDeleted = false " +
+           "ORDER BY d.expiryDate, d.id")
+    List<DocumentListItem> findListItemsExpiringBetween(@Param("today") LocalDate today, @Param("until") LocalDate until);
+
+    // Conditional GET - entity ачаалахгүйгээр зөвхөн өөрчлөлтийн тэмдэг уншина
+    @Query("SELECT d.updatedAt FROM Document d WHERE d.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    // Preview кэшийн түлхүүр - checksum-гүй хуучин мөрөнд хоосон мөр
+    @Query("SELECT COALESCE(d.checksum, '') FROM Document d WHERE d.id = :id")
+    Optional<String> findChecksumById(@Param("id") UUID id);
+
+    // Keyset (cursor) хуудаслалт - (createdAt, id) буурахаар, COUNT хийхгүй
+
+    /**
+     * Эхний хуудас
+     */
+    @Query(DocumentListItem.SELECT + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentListItem> findSeekFirst(Pageable pageable);
+
+    /**
+     * Cursor-ийн (createdAt, id)-ээс хойших хуудас
+     */
+    @Query(DocumentListItem.SELECT +
+           "WHERE d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id) " +
+           "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentListItem> findSeekAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+}
@@ -0,0 +1,137 @@
+package com.company.los.repository;
+
+import com.company.los.util.DatabaseDialect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Баримт хянах дарааллын lease - мөрийн түвшний атомар claim
+ *
+ * PostgreSQL: нэг statement (CTE-д {@code FOR UPDATE SKIP LOCKED}, {@code UPDATE ... RETURNING}) - өөр reviewer-ийн
+ * түгжсэн мөрийг хүлээлгүй алгасна. H2: сонгох, шинэчлэх хоёр statement; UPDATE бүр төлөвөө дахин шалгах тул
+ * SKIP LOCKED бүрэн ажиллахгүй байсан ч нэг баримтыг хоёр reviewer авахгүй.
+ * Дуудагч transaction дотор дуудна (түгжээ commit хүртэл хадгалагдана).
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentReviewLeaseRepository {
+
+    // Хүлээгдэж буй баримт (idx_documents_review_queue-ийн нөхцөл); хугацаа дууссан lease-ийг expireLeases буцаана
+    private static final String CLAIMABLE = "is_deleted = FALSE AND verification_status = 'PENDING'";
+
+    private static final String CLAIM_SET =
+            "verification_status = 'IN_REVIEW', status = 'IN_REVIEW', verified_by = ?, " +
+            "review_lease_expires_at = ?, updated_at = ?, version = version + 1 ";
+
+    private static final String POSTGRES_CLAIM =
+            "WITH picked AS (SELECT id FROM documents WHERE " + CLAIMABLE + " " +
+            "ORDER BY uploaded_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "UPDATE documents d SET " + CLAIM_SET +
+            "FROM picked WHERE d.id = picked.id RETURNING d.id";
+
+    private static final String SELECT_CLAIMABLE =
+            "SELECT id FROM documents WHERE " + CLAIMABLE + " ORDER BY uploaded_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String CLAIM_ONE =
+            "UPDATE documents SET " + CLAIM_SET + "WHERE id = ? AND " + CLAIMABLE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Хамгийн эрт upload хийсэн, өөр reviewer-ийн түгжээгүй limit хүртэлх баримтыг reviewer-т олгох
+     *
+     * @return олгосон баримтуудын ID (upload дарааллаар)
+     */
+    public List<UUID> claimNext(String reviewer, int limit, LocalDateTime now, LocalDateTime leaseExpiresAt) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp expiresTs = Timestamp.valueOf(leaseExpiresAt);
+        if (isPostgres()) {
+            return jdbcTemplate.queryForList(POSTGRES_CLAIM, UUID.class, limit, reviewer, expiresTs, nowTs);
+        }
+
+        List<UUID> candidates = jdbcTemplate.queryForList(SELECT_CLAIMABLE, UUID.class, limit);
+        List<UUID> claimed = new ArrayList<>(candidates.size());
+        for (UUID id : candidates) {
+            if (jdbcTemplate.update(CLAIM_ONE, reviewer, expiresTs, nowTs, id) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Тодорхой баримтыг reviewer-т олгох (өөрийн lease-ийг дахин авах боломжтой, түр зогсоосныг үргэлжлүүлнэ)
+     *
+     * @return өөр reviewer-ийн хүчинтэй lease-тэй эсвэл хянах боломжгүй төлөвтэй бол false
+     */
+    public boolean claim(UUID id, String reviewer, LocalDateTime now, LocalDateTime leaseExpiresAt) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.update(
+                "UPDATE documents SET " + CLAIM_SET +
+                "WHERE id = ? AND is_deleted = FALSE AND (verification_status IN ('PENDING', 'ON_HOLD') " +
+                "OR (verification_status = 'IN_REVIEW' AND (verified_by = ? OR review_lease_expires_at < ?)))",
+                reviewer, Timestamp.valueOf(leaseExpiresAt), nowTs, id, reviewer, nowTs) == 1;
+    }
+
+    /**
+     * Lease сунгах - зөвхөн одоогийн эзэмшигч (хугацаа дууссан ч өөр хүн аваагүй бол сунгана)
+     */
+    public boolean renew(UUID id, String reviewer, LocalDateTime now, LocalDateTime leaseExpiresAt) {
+        return jdbcTemplate.update(
+                "UPDATE documents SET review_lease_expires_at = ?, updated_at = ? " +
+                "WHERE id = ? AND verification_status = 'IN_REVIEW' AND verified_by = ? " +
+                "AND review_lease_expires_at IS NOT NULL",
+                Timestamp.valueOf(leaseExpiresAt), Timestamp.valueOf(now), id, reviewer) == 1;
+    }
+
+    /**
+     * Эзэмшигч баримтыг дараалалд буцаах
+     */
+    public boolean release(UUID id, String reviewer, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE documents SET verification_status = 'PENDING', status = 'PENDING', verified_by = NULL, " +
+                "review_lease_expires_at = NULL, updated_at = ?, version = version + 1 " +
+                "WHERE id = ? AND verification_status = 'IN_REVIEW' AND verified_by = ? " +
+                "AND review_lease_expires_at IS NOT NULL",
+                Timestamp.valueOf(now), id, reviewer) == 1;
+    }
+
+    /**
+     * Хугацаа дууссан lease-үүдийг хүлээгдэж буй төлөвт буцаах
+     */
+    public int expireLeases(LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE documents SET verification_status = 'PENDING', status = 'PENDING', verified_by = NULL, " +
+                "review_lease_expires_at = NULL, updated_at = ?, version = version + 1 " +
+                "WHERE verification_status = 'IN_REVIEW' AND review_lease_expires_at < ?",
+                Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    /**
+     * Идэвхтэй lease-ийн тоо
+     */
+    public long countActiveLeases(LocalDateTime now) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM documents WHERE verification_status = 'IN_REVIEW' AND review_lease_expires_at >= ?",
+                Long.class, Timestamp.valueOf(now));
+        return count != null ? count : 0L;
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = DatabaseDialect.isPostgres(jdbcTemplate);
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.los.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable upload-ын session-уудын JDBC хандалт
+ *
+ * Хүлээн авсан chunk-уудыг received_chunks баганад BitSet-ийн hex хэлбэрээр хадгална. Зэрэг ирсэн chunk-ууд
+ * bitmap-ыг дарж бичихгүйн тулд шинэчлэл бүр мөрийг FOR UPDATE-ээр түгжиж уншина.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentUploadSessionRepository {
+
+    public static final String STATUS_OPEN = "OPEN";
+    public static final String STATUS_COMPLETING = "COMPLETING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_ABORTED = "ABORTED";
+
+    private static final String SELECT_SESSION =
+            "SELECT id, customer_id, loan_application_id, document_type_id, original_filename, content_type, total_size, " +
+            "chunk_size, received_chunks, received_bytes, expected_checksum, temp_path, created_by, status, document_id, " +
+            "expires_at FROM document_upload_sessions ";
+
+    private static final RowMapper<SessionRow> ROW_MAPPER = (rs, rowNum) -> new SessionRow(
+            rs.getObject("id", UUID.class),
+            rs.getObject("customer_id", UUID.class),
+            rs.getObject("loan_application_id", UUID.class),
+            rs.getObject("document_type_id", UUID.class),
+            rs.getString("original_filename"),
+            rs.getString("content_type"),
+            rs.getLong("total_size"),
+            rs.getInt("chunk_size"),
+            rs.getString("received_chunks"),
+            rs.getLong("received_bytes"),
+            rs.getString("expected_checksum"),
+            rs.getString("temp_path"),
+            rs.getString("created_by"),
+            rs.getString("status"),
+            rs.getObject("document_id", UUID.class),
+            rs.getTimestamp("expires_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(SessionRow session, LocalDateTime now) {
+        jdbcTemplate.update(
+                "INSERT INTO document_upload_sessions (id, customer_id, loan_application_id, document_type_id, " +
+                "original_filename, content_type, total_size, chunk_size, received_chunks, received_bytes, " +
+                "expected_checksum, temp_path, created_by, status, created_at, updated_at, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                session.id(), session.customerId(), session.loanApplicationId(), session.documentTypeId(),
+                session.originalFilename(), session.contentType(), session.totalSize(), session.chunkSize(),
+                session.receivedChunks(), session.receivedBytes(), session.expectedChecksum(), session.tempPath(),
+                session.createdBy(), session.status(), Timestamp.valueOf(now), Timestamp.valueOf(now), Timestamp.valueOf(session.expiresAt()));
+    }
+
+    /**
+     * Session (байхгүй бол null)
+     */
+    public SessionRow find(UUID id) {
+        List<SessionRow> rows = jdbcTemplate.query(SELECT_SESSION + "WHERE id = ?", ROW_MAPPER, id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Session-ийг transaction дуустал түгжиж унших (байхгүй бол null)
+     */
+    public SessionRow findForUpdate(UUID id) {
+        List<SessionRow> rows = jdbcTemplate.query(SELECT_SESSION + "WHERE id = ? FOR UPDATE", ROW_MAPPER, id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Хүлээн авсан chunk-уудыг бичиж, хугацааг сунгах
+     */
+    public void updateProgress(UUID id, String receivedChunks, long receivedBytes, LocalDateTime now,
+                               LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "UPDATE document_upload_sessions SET received_chunks = ?, received_bytes = ?, updated_at = ?, " +
+                "expires_at = ? WHERE id = ?",
+                receivedChunks, receivedBytes, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt), id);
+    }
+
+    /**
+     * Төлөв солих; COMPLETED болоход үүссэн баримтын id-г хадгална
+     */
+    public void updateStatus(UUID id, String status, UUID documentId, LocalDateTime now, LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+                "UPDATE document_upload_sessions SET status = ?, document_id = ?, updated_at = ?, expires_at = ? " +
+                "WHERE id = ?",
+                status, documentId, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt), id);
+    }
+
+    /**
+     * Хугацаа нь дууссан (хаягдсан эсвэл дууссан) session-ууд
+     */
+    public List<SessionRow> findExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(SELECT_SESSION + "WHERE expires_at < ? ORDER BY expires_at LIMIT ?", ROW_MAPPER,
+                Timestamp.valueOf(now), limit);
+    }
+
+    public int delete(UUID id) {
+        return jdbcTemplate.update("DELETE FROM document_upload_sessions WHERE id = ?", id);
+    }
+
+    public long countByStatus(String status) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM document_upload_sessions WHERE status = ?", Long.class, status);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * @param receivedChunks хүлээн авсан chunk-уудын BitSet (hex)
+     * @param tempPath       chunk-ууд байрлалаараа бичигдэх sparse түр файл
+     * @param createdBy      session нээсэн хэрэглэгч - зөвхөн тэр chunk бичиж, дуусгаж, цуцална
+     */
+    public record SessionRow(UUID id, UUID customerId, UUID loanApplicationId, UUID documentTypeId,
+                             String originalFilename, String contentType, long totalSize, int chunkSize,
+                             String receivedChunks, long receivedBytes, String expectedChecksum, String tempPath,
+                             String createdBy, String status, UUID documentId, LocalDateTime expiresAt) {
+
+        public int chunkCount() {
+            return (int) ((totalSize + chunkSize - 1) / chunkSize);
+        }
+
+        public SessionRow withProgress(String receivedChunks, long receivedBytes, LocalDateTime expiresAt) {
+            return new SessionRow(id, customerId, loanApplicationId, documentTypeId, originalFilename, contentType,
+                    totalSize, chunkSize, receivedChunks, receivedBytes, expectedChecksum, tempPath, createdBy, status,
+                    documentId, expiresAt);
+        }
+    }
+}
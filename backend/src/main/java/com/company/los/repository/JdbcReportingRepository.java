@@ -0,0 +1,372 @@
+package com.company.los.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Тайлангийн Repository - native SQL хэрэгжилт
+ *
+ * Хүсэлтийн огноо нь loan_applications.created_at. Огноо хоорондын зөрүүг DB-ийн
+ * DATEDIFF-ээс хамааралгүй байлгахын тулд Java талд тооцно.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcReportingRepository implements ReportingRepository {
+
+    private static final String RISK_CATEGORY =
+            "CASE WHEN la.requested_amount >= 50000000 THEN 'High Amount (50M+)' " +
+            "WHEN la.requested_amount >= 10000000 THEN 'Medium Amount (10M-50M)' " +
+            "ELSE 'Low Amount (<10M)' END";
+
+    private static final String INCOME_CATEGORY =
+            "CASE WHEN c.monthly_income >= 2000000 THEN 'High Income (2M+)' " +
+            "WHEN c.monthly_income >= 1000000 THEN 'Medium Income (1M-2M)' " +
+            "WHEN c.monthly_income >= 500000 THEN 'Low Income (500K-1M)' " +
+            "ELSE 'Very Low Income (<500K)' END";
+
+    private static final String APPROVED_COUNT = "SUM(CASE WHEN la.status = 'APPROVED' THEN 1 ELSE 0 END)";
+    private static final String REJECTED_COUNT = "SUM(CASE WHEN la.status = 'REJECTED' THEN 1 ELSE 0 END)";
+    private static final String APPROVED_AMOUNT = "COALESCE(SUM(CASE WHEN la.status = 'APPROVED' THEN la.requested_amount ELSE 0 END), 0)";
+    private static final String AVG_APPROVED_AMOUNT = "AVG(CASE WHEN la.status = 'APPROVED' THEN la.requested_amount END)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Object[]> getLoanApplicationReport(LocalDateTime startDate, LocalDateTime endDate) {
+        return rows("SELECT la.application_number, CONCAT(c.first_name, ' ', c.last_name), c.register_number, lp.name, " +
+                    "la.requested_amount, la.requested_term_months, la.status, la.created_at, la.approved_at, la.rejected_at, " +
+                    "(SELECT COUNT(*) FROM documents d WHERE d.loan_application_id = la.id AND d.is_deleted = FALSE) " +
+                    "FROM loan_applications la " +
+                    "JOIN customers c ON c.id = la.customer_id " +
+                    "JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                    "WHERE la.is_deleted = FALSE AND la.created_at BETWEEN ? AND ? " +
+                    "ORDER BY la.created_at DESC", ts(startDate), ts(endDate));
+    }
+
+    @Override
+    public List<Object[]> getLoanApprovalReport(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT lp.name, COUNT(*) AS total, " + APPROVED_COUNT + " AS approved, " + REJECTED_COUNT + " AS rejected, " +
+                "SUM(CASE WHEN la.status = 'PENDING' THEN 1 ELSE 0 END) AS pending, " +
+                APPROVED_AMOUNT + " AS approved_amount, " + AVG_APPROVED_AMOUNT + " AS avg_approved " +
+                "FROM loan_applications la JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                "WHERE la.is_deleted = FALSE AND la.created_at BETWEEN ? AND ? " +
+                "GROUP BY lp.id, lp.name",
+                (rs, rowNum) -> new Object[]{rs.getString("name"), rs.getLong("total"), rs.getLong("approved"),
+                        rs.getLong("rejected"), rs.getLong("pending"),
+                        percent(rs.getLong("approved"), rs.getLong("total")),
+                        rs.getBigDecimal("approved_amount"), rs.getBigDecimal("avg_approved")},
+                ts(startDate), ts(endDate));
+        rows.sort((a, b) -> ((BigDecimal) b[5]).compareTo((BigDecimal) a[5]));
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> getCustomerLoanHistoryReport(LocalDateTime startDate, LocalDateTime endDate) {
+        // Баримтыг дэд query-ээр тоолж зээл x баримтын үржвэрээс сэргийлнэ
+        return rows("SELECT CONCAT(c.first_name, ' ', c.last_name), c.register_number, c.email, c.phone, c.monthly_income, " +
+                    "COUNT(la.id), " + APPROVED_COUNT + ", " + REJECTED_COUNT + ", " + APPROVED_AMOUNT + " AS approved_amount, " +
+                    "MAX(la.created_at), " +
+                    "(SELECT COUNT(*) FROM documents d WHERE d.customer_id = c.id AND d.is_deleted = FALSE) " +
+                    "FROM customers c " +
+                    "LEFT JOIN loan_applications la ON la.customer_id = c.id AND la.is_deleted = FALSE " +
+                    "WHERE c.is_deleted = FALSE AND c.created_at BETWEEN ? AND ? " +
+                    "GROUP BY c.id, c.first_name, c.last_name, c.register_number, c.email, c.phone, c.monthly_income " +
+                    "ORDER BY approved_amount DESC", ts(startDate), ts(endDate));
+    }
+
+    @Override
+    public List<Object[]> getMonthlyPerformanceReport(LocalDateTime startDate) {
+        return rows("SELECT CONCAT(CAST(EXTRACT(YEAR FROM la.created_at) AS VARCHAR(4)), '-', " +
+                    "LPAD(CAST(EXTRACT(MONTH FROM la.created_at) AS VARCHAR(2)), 2, '0')) AS month, " +
+                    "COUNT(*), " + APPROVED_COUNT + ", " + REJECTED_COUNT + ", " + APPROVED_AMOUNT + ", " +
+                    AVG_APPROVED_AMOUNT + ", COUNT(DISTINCT la.customer_id) " +
+                    "FROM loan_applications la " +
+                    "WHERE la.is_deleted = FALSE AND la.created_at >= ? " +
+                    "GROUP BY EXTRACT(YEAR FROM la.created_at), EXTRACT(MONTH FROM la.created_at) " +
+                    "ORDER BY month DESC", ts(startDate));
+    }
+
+    @Override
+    public List<Object[]> getProductPerformanceReport(LocalDateTime endDate) {
+        return jdbcTemplate.query(
+                "SELECT lp.name, lp.base_rate, lp.min_amount, lp.max_amount, COUNT(la.id) AS applications, " +
+                APPROVED_COUNT + " AS approved, " + APPROVED_AMOUNT + " AS approved_amount, " +
+                AVG_APPROVED_AMOUNT + " AS avg_approved, MIN(la.created_at) AS first_app, MAX(la.created_at) AS last_app " +
+                "FROM loan_products lp " +
+                "LEFT JOIN loan_applications la ON la.loan_product_id = lp.id AND la.is_deleted = FALSE " +
+                "WHERE lp.is_deleted = FALSE AND lp.created_at <= ? " +
+                "GROUP BY lp.id, lp.name, lp.base_rate, lp.min_amount, lp.max_amount " +
+                "ORDER BY applications DESC",
+                (rs, rowNum) -> new Object[]{rs.getString("name"), rs.getBigDecimal("base_rate"),
+                        rs.getBigDecimal("min_amount"), rs.getBigDecimal("max_amount"), rs.getLong("applications"),
+                        rs.getLong("approved"), percent(rs.getLong("approved"), rs.getLong("applications")),
+                        rs.getBigDecimal("approved_amount"), rs.getBigDecimal("avg_approved"),
+                        rs.getTimestamp("first_app"), rs.getTimestamp("last_app")},
+                ts(endDate));
+    }
+
+    @Override
+    public List<Object[]> getRiskAnalysisReport(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.query(
+                "SELECT " + RISK_CATEGORY + " AS category, COUNT(*) AS total, " + APPROVED_COUNT + " AS approved, " +
+                REJECTED_COUNT + " AS rejected, SUM(la.requested_amount) AS requested, " + APPROVED_AMOUNT + " AS approved_amount " +
+                "FROM loan_applications la " +
+                "WHERE la.is_deleted = FALSE AND la.created_at BETWEEN ? AND ? " +
+                "GROUP BY " + RISK_CATEGORY + " ORDER BY requested DESC",
+                (rs, rowNum) -> new Object[]{rs.getString("category"), rs.getLong("total"), rs.getLong("approved"),
+                        rs.getLong("rejected"), percent(rs.getLong("approved"), rs.getLong("total")),
+                        rs.getBigDecimal("requested"), rs.getBigDecimal("approved_amount")},
+                ts(startDate), ts(endDate));
+    }
+
+    @Override
+    public List<Object[]> getIncomeRiskReport(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT " + INCOME_CATEGORY + " AS category, COUNT(*) AS total, " + APPROVED_COUNT + " AS approved, " +
+                "AVG(la.requested_amount) AS avg_requested, " + AVG_APPROVED_AMOUNT + " AS avg_approved " +
+                "FROM loan_applications la JOIN customers c ON c.id = la.customer_id " +
+                "WHERE la.is_deleted = FALSE AND la.created_at BETWEEN ? AND ? AND c.monthly_income IS NOT NULL " +
+                "GROUP BY " + INCOME_CATEGORY,
+                (rs, rowNum) -> new Object[]{rs.getString("category"), rs.getLong("total"), rs.getLong("approved"),
+                        percent(rs.getLong("approved"), rs.getLong("total")),
+                        rs.getBigDecimal("avg_requested"), rs.getBigDecimal("avg_approved")},
+                ts(startDate), ts(endDate));
+        rows.sort((a, b) -> ((BigDecimal) b[3]).compareTo((BigDecimal) a[3]));
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> getDocumentStatisticsReport() {
+        return rows("SELECT dt.name, dt.is_required, COUNT(d.id) AS total, COUNT(DISTINCT d.customer_id), " +
+                    "COUNT(DISTINCT d.loan_application_id), AVG(d.file_size), COALESCE(SUM(d.file_size), 0) " +
+                    "FROM document_types dt " +
+                    "LEFT JOIN documents d ON d.document_type_id = dt.id AND d.is_deleted = FALSE " +
+                    "GROUP BY dt.id, dt.name, dt.is_required " +
+                    "ORDER BY total DESC");
+    }
+
+    @Override
+    public List<Object[]> getIncompleteDocumentReport() {
+        long requiredTypes = count("SELECT COUNT(*) FROM document_types WHERE is_required = TRUE AND is_deleted = FALSE");
+        return jdbcTemplate.query(
+                "SELECT la.application_number, CONCAT(c.first_name, ' ', c.last_name) AS customer_name, lp.name AS product_name, " +
+                "la.requested_amount, la.status, la.created_at, " +
+                "(SELECT COUNT(*) FROM documents d WHERE d.loan_application_id = la.id AND d.is_deleted = FALSE) AS document_count, " +
+                "(SELECT COUNT(DISTINCT d.document_type_id) FROM documents d JOIN document_types dt ON dt.id = d.document_type_id " +
+                " WHERE d.loan_application_id = la.id AND d.is_deleted = FALSE AND dt.is_required = TRUE) AS provided_required " +
+                "FROM loan_applications la " +
+                "JOIN customers c ON c.id = la.customer_id " +
+                "JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                "WHERE la.is_deleted = FALSE AND la.status IN ('PENDING', 'UNDER_REVIEW') " +
+                "ORDER BY la.created_at ASC",
+                rs -> {
+                    List<Object[]> incomplete = new ArrayList<>();
+                    while (rs.next()) {
+                        long provided = rs.getLong("provided_required");
+                        if (provided < requiredTypes) {
+                            incomplete.add(new Object[]{rs.getString("application_number"), rs.getString("customer_name"),
+                                    rs.getString("product_name"), rs.getBigDecimal("requested_amount"), rs.getString("status"),
+                                    rs.getLong("document_count"), requiredTypes, provided, rs.getTimestamp("created_at")});
+                        }
+                    }
+                    return incomplete;
+                });
+    }
+
+    @Override
+    public List<Object[]> getGeographicReport() {
+        return rows("SELECT c.province, c.city, COUNT(DISTINCT c.id), COUNT(la.id), " + APPROVED_COUNT + ", " +
+                    APPROVED_AMOUNT + ", AVG(c.monthly_income) " +
+                    "FROM customers c " +
+                    "LEFT JOIN loan_applications la ON la.customer_id = c.id AND la.is_deleted = FALSE " +
+                    "WHERE c.is_deleted = FALSE AND c.province IS NOT NULL AND c.city IS NOT NULL " +
+                    "GROUP BY c.province, c.city " +
+                    "ORDER BY c.province, c.city");
+    }
+
+    @Override
+    public List<Object[]> getAgeDemographicsReport() {
+        int year = LocalDate.now().getYear();
+        String ageGroup = "CASE WHEN " + year + " - EXTRACT(YEAR FROM c.date_of_birth) < 25 THEN 'Under 25' " +
+                "WHEN " + year + " - EXTRACT(YEAR FROM c.date_of_birth) <= 35 THEN '25-35' " +
+                "WHEN " + year + " - EXTRACT(YEAR FROM c.date_of_birth) <= 50 THEN '36-50' " +
+                "WHEN " + year + " - EXTRACT(YEAR FROM c.date_of_birth) <= 65 THEN '51-65' " +
+                "ELSE 'Over 65' END";
+        return jdbcTemplate.query(
+                "SELECT " + ageGroup + " AS age_group, COUNT(DISTINCT c.id) AS customers, COUNT(la.id) AS applications, " +
+                APPROVED_COUNT + " AS approved, AVG(c.monthly_income) AS avg_income, " + AVG_APPROVED_AMOUNT + " AS avg_approved " +
+                "FROM customers c " +
+                "LEFT JOIN loan_applications la ON la.customer_id = c.id AND la.is_deleted = FALSE " +
+                "WHERE c.is_deleted = FALSE AND c.date_of_birth IS NOT NULL " +
+                "GROUP BY " + ageGroup + " ORDER BY customers DESC",
+                (rs, rowNum) -> new Object[]{rs.getString("age_group"), rs.getLong("customers"), rs.getLong("applications"),
+                        rs.getLong("approved"), percent(rs.getLong("approved"), rs.getLong("applications")),
+                        rs.getBigDecimal("avg_income"), rs.getBigDecimal("avg_approved")});
+    }
+
+    @Override
+    public List<Object[]> getProcessingTimeReport(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, long[]> groups = new TreeMap<>();
+        jdbcTemplate.query("SELECT lp.name, la.status, la.created_at, la.approved_at, la.rejected_at " +
+                           "FROM loan_applications la JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                           "WHERE la.is_deleted = FALSE AND la.created_at BETWEEN ? AND ?",
+                rs -> {
+                    String status = rs.getString("status");
+                    Timestamp decided = "APPROVED".equals(status) ? rs.getTimestamp("approved_at")
+                            : "REJECTED".equals(status) ? rs.getTimestamp("rejected_at") : null;
+                    LocalDateTime end = decided != null ? decided.toLocalDateTime() : now;
+                    long days = ChronoUnit.DAYS.between(rs.getTimestamp("created_at").toLocalDateTime(), end);
+                    // count, sum, min, max
+                    long[] agg = groups.computeIfAbsent(rs.getString("name") + "\u0000" + status,
+                            key -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+                    agg[0]++;
+                    agg[1] += days;
+                    agg[2] = Math.min(agg[2], days);
+                    agg[3] = Math.max(agg[3], days);
+                }, ts(startDate), ts(endDate));
+
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, agg) -> {
+            String[] parts = key.split("\u0000", 2);
+            rows.add(new Object[]{parts[0], parts[1], agg[0],
+                    BigDecimal.valueOf(agg[1]).divide(BigDecimal.valueOf(agg[0]), 2, RoundingMode.HALF_UP), agg[2], agg[3]});
+        });
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> getUserActivityReport(LocalDateTime startDate, LocalDateTime endDate) {
+        return rows("SELECT changed_by, COUNT(*) AS total, " +
+                    "SUM(CASE WHEN action = 'INSERT' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN action = 'UPDATE' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN action = 'DELETE' THEN 1 ELSE 0 END), " +
+                    "COUNT(DISTINCT table_name), MIN(changed_at), MAX(changed_at) " +
+                    "FROM audit_logs " +
+                    "WHERE changed_at BETWEEN ? AND ? AND changed_by IS NOT NULL " +
+                    "GROUP BY changed_by ORDER BY total DESC", ts(startDate), ts(endDate));
+    }
+
+    @Override
+    public List<Object[]> getSystemHealthReport() {
+        Timestamp today = ts(LocalDate.now().atStartOfDay());
+        Timestamp now = ts(LocalDateTime.now());
+        return rows("SELECT 'Customers', COUNT(*), " +
+                    "SUM(CASE WHEN email IS NULL OR email = '' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END), SUM(CASE WHEN updated_at >= ? THEN 1 ELSE 0 END) " +
+                    "FROM customers WHERE is_deleted = FALSE " +
+                    "UNION ALL " +
+                    "SELECT 'Loan Applications', COUNT(*), " +
+                    "SUM(CASE WHEN expires_at < ? AND status IN ('PENDING', 'UNDER_REVIEW') THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END), SUM(CASE WHEN updated_at >= ? THEN 1 ELSE 0 END) " +
+                    "FROM loan_applications WHERE is_deleted = FALSE " +
+                    "UNION ALL " +
+                    "SELECT 'Documents', COUNT(*), " +
+                    "SUM(CASE WHEN file_size <= 0 THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN created_at >= ? THEN 1 ELSE 0 END), SUM(CASE WHEN updated_at >= ? THEN 1 ELSE 0 END) " +
+                    "FROM documents WHERE is_deleted = FALSE",
+                today, today, now, today, today, today, today);
+    }
+
+    @Override
+    public List<Object[]> getTopPerformersReport(int minApprovedLoans) {
+        return rows("SELECT CONCAT(c.first_name, ' ', c.last_name), c.register_number, c.monthly_income, " +
+                    "COUNT(la.id), COUNT(la.id), COALESCE(SUM(la.requested_amount), 0) AS approved_amount, " +
+                    "AVG(la.requested_amount), MAX(la.created_at) " +
+                    "FROM customers c " +
+                    "JOIN loan_applications la ON la.customer_id = c.id " +
+                    "WHERE c.is_deleted = FALSE AND la.is_deleted = FALSE AND la.status = 'APPROVED' " +
+                    "GROUP BY c.id, c.first_name, c.last_name, c.register_number, c.monthly_income " +
+                    "HAVING COUNT(la.id) >= ? " +
+                    "ORDER BY approved_amount DESC", minApprovedLoans);
+    }
+
+    @Override
+    public List<Object[]> getTrendingReport(LocalDateTime startDate) {
+        return rows("SELECT CONCAT(CAST(EXTRACT(YEAR FROM la.created_at) AS VARCHAR(4)), '-', " +
+                    "LPAD(CAST(EXTRACT(MONTH FROM la.created_at) AS VARCHAR(2)), 2, '0')) AS month, " +
+                    "lp.name, COUNT(*) AS applications, AVG(la.requested_amount), " + APPROVED_COUNT + " " +
+                    "FROM loan_applications la JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                    "WHERE la.is_deleted = FALSE AND la.created_at >= ? " +
+                    "GROUP BY EXTRACT(YEAR FROM la.created_at), EXTRACT(MONTH FROM la.created_at), lp.id, lp.name " +
+                    "ORDER BY month DESC, applications DESC", ts(startDate));
+    }
+
+    @Override
+    public Page<Object[]> getCustomReport(String status, BigDecimal minAmount, BigDecimal maxAmount, String productId,
+                                          LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE la.is_deleted = FALSE");
+        List<Object> args = new ArrayList<>();
+        appendFilter(where, args, "la.status = ?", status);
+        appendFilter(where, args, "la.requested_amount >= ?", minAmount);
+        appendFilter(where, args, "la.requested_amount <= ?", maxAmount);
+        appendFilter(where, args, "la.loan_product_id = ?", productId);
+        appendFilter(where, args, "la.created_at >= ?", startDate != null ? ts(startDate) : null);
+        appendFilter(where, args, "la.created_at <= ?", endDate != null ? ts(endDate) : null);
+
+        String from = " FROM loan_applications la " +
+                      "JOIN customers c ON c.id = la.customer_id " +
+                      "JOIN loan_products lp ON lp.id = la.loan_product_id" + where;
+        long total = count("SELECT COUNT(*)" + from, args.toArray());
+
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(pageable.getPageSize());
+        pageArgs.add(pageable.getOffset());
+        List<Object[]> content = rows("SELECT la.application_number, CONCAT(c.first_name, ' ', c.last_name), c.monthly_income, " +
+                                      "lp.name, la.requested_amount, la.requested_term_months, la.status, la.created_at" + from +
+                                      " ORDER BY la.created_at DESC LIMIT ? OFFSET ?", pageArgs.toArray());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Helper methods
+
+    private List<Object[]> rows(String sql, Object... args) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            int columns = rs.getMetaData().getColumnCount();
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }, args);
+    }
+
+    private long count(String sql, Object... args) {
+        Number value = jdbcTemplate.queryForObject(sql, Number.class, args);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static void appendFilter(StringBuilder where, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            where.append(" AND ").append(condition);
+            args.add(value);
+        }
+    }
+
+    private static BigDecimal percent(long part, long total) {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(part * 100.0 / total).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Timestamp ts(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+}
@@ -1,5 +1,8 @@
 package com.company.los.repository;
 
+import com.company.los.dto.ApplicationStateEntry;
+import com.company.los.dto.LoanApplicationListItem;
+import com.company.los.dto.WorkQueueItem;
 import com.company.los.entity.LoanApplication;
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanProduct;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -492,7 +496,8 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
      * Олон хүсэлтийн статус өөрчлөх
      */
     @Modifying
-    @Query("UPDATE LoanApplication la SET la.status = :newStatus " +
+    @Query("UPDATE LoanApplication la SET la.status = :newStatus, la.updatedAt = CURRENT_TIMESTAMP, " +
+           "la.version = la.version + 1 " +
            "WHERE la.id IN :applicationIds")
     int updateStatusForApplications(@Param("applicationIds") List<UUID> applicationIds,
                                   @Param("newStatus") LoanApplication.ApplicationStatus newStatus);
@@ -501,7 +506,8 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
      * Хүчингүй болсон хүсэлтүүдийг цуцлах
      */
     @Modifying
-    @Query("UPDATE LoanApplication la SET la.status = :cancelledStatus " +
+    @Query("UPDATE LoanApplication la SET la.status = :cancelledStatus, la.updatedAt = CURRENT_TIMESTAMP, " +
+           "la.version = la.version + 1 " +
            "WHERE la.dueDate < CURRENT_TIMESTAMP AND la.status IN (:pendingStatus, :reviewStatus)")
     int expireOverdueApplications(@Param("cancelledStatus") LoanApplication.ApplicationStatus cancelledStatus,
                                 @Param("pendingStatus") LoanApplication.ApplicationStatus pendingStatus,
@@ -511,7 +517,8 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
      * Батлалтын огноо тохируулах
      */
     @Modifying
-    @Query("UPDATE LoanApplication la SET la.approvedDate = CURRENT_TIMESTAMP " +
+    @Query("UPDATE LoanApplication la SET la.approvedDate = CURRENT_TIMESTAMP, la.updatedAt = CURRENT_TIMESTAMP, " +
+           "la.version = la.version + 1 " +
            "WHERE la.id IN :applicationIds")
     int setApprovedDate(@Param("applicationIds") List<UUID> applicationIds);
 
@@ -519,10 +526,81 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
      * Цуцлалтын огноо тохируулах
      */
     @Modifying
-    @Query("UPDATE LoanApplication la SET la.rejectedDate = CURRENT_TIMESTAMP " +
+    @Query("UPDATE LoanApplication la SET la.rejectedDate = CURRENT_TIMESTAMP, la.updatedAt = CURRENT_TIMESTAMP, " +
+           "la.version = la.version + 1 " +
            "WHERE la.id IN :applicationIds")
     int setRejectedDate(@Param("applicationIds") List<UUID> applicationIds);
 
+    // Compare-and-set төлөвийн шилжилт
+    // id, хүлээгдэж буй төлөв, version гурвуулаа таарвал л шинэчилнэ - 0 буцаавал өөр хүн түрүүлж өөрчилсөн
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanApplication la SET la.status = :target, " +
+           "la.decisionReason = COALESCE(:reason, la.decisionReason), " +
+           "la.statusChangedAt = :now, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status = :expected AND la.version = :version")
+    int compareAndSetStatus(@Param("id") UUID id,
+                            @Param("expected") LoanApplication.ApplicationStatus expected,
+                            @Param("version") Long version,
+                            @Param("target") LoanApplication.ApplicationStatus target,
+                            @Param("reason") String reason,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanApplication la SET la.status = :target, la.submittedAt = :now, " +
+           "la.statusChangedAt = :now, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status = :expected AND la.version = :version")
+    int compareAndSetSubmitted(@Param("id") UUID id,
+                               @Param("expected") LoanApplication.ApplicationStatus expected,
+                               @Param("version") Long version,
+                               @Param("target") LoanApplication.ApplicationStatus target,
+                               @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanApplication la SET la.status = :target, la.approvedBy = :approvedBy, " +
+           "la.approvedDate = :now, la.decisionDate = :now, la.approvedAmount = :approvedAmount, " +
+           "la.approvedTermMonths = :approvedTermMonths, la.approvedRate = :approvedRate, " +
+           "la.monthlyPayment = :monthlyPayment, la.decisionReason = :reason, " +
+           "la.statusChangedAt = :now, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status = :expected AND la.version = :version")
+    int compareAndSetApproved(@Param("id") UUID id,
+                              @Param("expected") LoanApplication.ApplicationStatus expected,
+                              @Param("version") Long version,
+                              @Param("target") LoanApplication.ApplicationStatus target,
+                              @Param("approvedBy") String approvedBy,
+                              @Param("approvedAmount") BigDecimal approvedAmount,
+                              @Param("approvedTermMonths") Integer approvedTermMonths,
+                              @Param("approvedRate") BigDecimal approvedRate,
+                              @Param("monthlyPayment") BigDecimal monthlyPayment,
+                              @Param("reason") String reason,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanApplication la SET la.status = :target, la.rejectedBy = :rejectedBy, " +
+           "la.rejectedDate = :now, la.decisionDate = :now, la.decisionReason = :reason, " +
+           "la.statusChangedAt = :now, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status = :expected AND la.version = :version")
+    int compareAndSetRejected(@Param("id") UUID id,
+                              @Param("expected") LoanApplication.ApplicationStatus expected,
+                              @Param("version") Long version,
+                              @Param("target") LoanApplication.ApplicationStatus target,
+                              @Param("rejectedBy") String rejectedBy,
+                              @Param("reason") String reason,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanApplication la SET la.status = :target, la.disbursedBy = :disbursedBy, " +
+           "la.disbursedDate = :now, la.disbursedAmount = :disbursedAmount, " +
+           "la.statusChangedAt = :now, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status = :expected AND la.version = :version")
+    int compareAndSetDisbursed(@Param("id") UUID id,
+                               @Param("expected") LoanApplication.ApplicationStatus expected,
+                               @Param("version") Long version,
+                               @Param("target") LoanApplication.ApplicationStatus target,
+                               @Param("disbursedBy") String disbursedBy,
+                               @Param("disbursedAmount") BigDecimal disbursedAmount,
+                               @Param("now") LocalDateTime now);
+
     // Validation
     /**
      * Хүсэлтийн дугаар давхцаж байгаа эсэхийг шалгах
@@ -669,4 +747,134 @@ public interface LoanApplicationRepository extends JpaRepository<LoanApplication
     @Query("SELECT la FROM LoanApplication la WHERE la.status = :reviewStatus " +
            "ORDER BY la.createdAt ASC")
     Page<LoanApplication> findForReview(@Param("reviewStatus") LoanApplication.ApplicationStatus reviewStatus, Pageable pageable);
-}
\ No newline at end of file
+
+    // Quote
+    /**
+     * Зээлийн бүтээгдэхүүнтэй нь хамт нэг хүсэлтээр татах (payoff quote)
+     */
+    @Query("SELECT la FROM LoanApplication la LEFT JOIN FETCH la.loanProduct WHERE la.id = :id")
+    Optional<LoanApplication> findByIdWithLoanProduct(@Param("id") UUID id);
+
+    /**
+     * Олон хүсэлтийг бүтээгдэхүүнтэй нь хамт нэг хүсэлтээр татах (bulk quote)
+     */
+    @Query("SELECT la FROM LoanApplication la LEFT JOIN FETCH la.loanProduct WHERE la.id IN :ids")
+    List<LoanApplication> findAllByIdInWithLoanProduct(@Param("ids") Collection<UUID> ids);
+
+    // Reports
+    /**
+     * Хугацааны мужид үүссэн хүсэлтүүдийг харилцагчтай нь хамт татах (зээлийн тайлан)
+     */
+    @Query("SELECT la FROM LoanApplication la LEFT JOIN FETCH la.customer " +
+           "WHERE la.createdAt > :startDate AND la.createdAt < :endDate ORDER BY la.createdAt DESC")
+    List<LoanApplication> findForLoanReport(@Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Зээлийн төрөл, статусаар бүлэглэсэн тоо ба дүн (гүйцэтгэлийн тайлан)
+     */
+    @Query("SELECT la.loanType, la.status, COUNT(la), COALESCE(SUM(la.requestedAmount), 0), " +
+           "COALESCE(SUM(la.approvedAmount), 0) " +
+           "FROM LoanApplication la " +
+           "WHERE la.createdAt > :startDate AND la.createdAt < :endDate " +
+           "GROUP BY la.loanType, la.status")
+    List<Object[]> summarizeByLoanTypeAndStatus(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate);
+
+    // Жагсаалтын read model - харилцагч, бүтээгдэхүүнтэй нэг query-ээр (N+1 lazy load-гүй)
+
+    @Query(value = LoanApplicationListItem.SELECT,
+           countQuery = "SELECT COUNT(la) FROM LoanApplication la")
+    Page<LoanApplicationListItem> findListItems(Pageable pageable);
+
+    @Query(value = LoanApplicationListItem.SELECT + "WHERE la.status = :status",
+           countQuery = "SELECT COUNT(la) FROM LoanApplication la WHERE la.status = :status")
+    Page<LoanApplicationListItem> findListItemsByStatus(@Param("status") LoanApplication.ApplicationStatus status,
+                                                        Pageable pageable);
+
+    @Query(value = LoanApplicationListItem.SELECT + "WHERE la.loanType = :loanType",
+           countQuery = "SELECT COUNT(la) FROM LoanApplication la WHERE la.loanType = :loanType")
+    Page<LoanApplicationListItem> findListItemsByLoanType(@Param("loanType") LoanApplication.LoanType loanType,
+                                                          Pageable pageable);
+
+    @Query(value = LoanApplicationListItem.SELECT + "WHERE la.customer.id = :customerId",
+           countQuery = "SELECT COUNT(la) FROM LoanApplication la WHERE la.customer.id = :customerId")
+    Page<LoanApplicationListItem> findListItemsByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
+
+    @Query(value = LoanApplicationListItem.SELECT +
+                   "WHERE LOWER(la.applicationNumber) LIKE LOWER(CONCAT('%', :term, '%'))",
+           countQuery = "SELECT COUNT(la) FROM LoanApplication la " +
+                        "WHERE LOWER(la.applicationNumber) LIKE LOWER(CONCAT('%', :term, '%'))")
+    Page<LoanApplicationListItem> searchListItemsByApplicationNumber(@Param("term") String term, Pageable pageable);
+
+    @Query(LoanApplicationListItem.SELECT + "WHERE la.id IN :ids")
+    List<LoanApplicationListItem> findListItemsByIds(@Param("ids") Collection<UUID> ids);
+
+    // Conditional GET - entity ачаалахгүйгээр зөвхөн өөрчлөлтийн тэмдэг уншина
+    @Query("SELECT la.updatedAt FROM LoanApplication la WHERE la.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    // Keyset (cursor) хуудаслалт - (createdAt, id) буурахаар, COUNT хийхгүй
+
+    /**
+     * Эхний хуудас
+     */
+    @Query(LoanApplicationListItem.SELECT + "ORDER BY la.createdAt DESC, la.id DESC")
+    List<LoanApplicationListItem> findSeekFirst(Pageable pageable);
+
+    /**
+     * Cursor-ийн (createdAt, id)-ээс хойших хуудас
+     */
+    @Query(LoanApplicationListItem.SELECT +
+           "WHERE la.createdAt < :createdAt OR (la.createdAt = :createdAt AND la.id < :id) " +
+           "ORDER BY la.createdAt DESC, la.id DESC")
+    List<LoanApplicationListItem> findSeekAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    // Ажилтны ажлын дараалал - санах ойн scheduler-ийг DB-ээс сэргээх, нэг мөрийг PK-аар шинэчлэх
+
+    @Query(WorkQueueItem.SELECT + "WHERE la.status IN :statuses")
+    List<WorkQueueItem> findWorkQueueItems(@Param("statuses") Collection<LoanApplication.ApplicationStatus> statuses);
+
+    @Query(WorkQueueItem.SELECT + "WHERE la.id = :id")
+    Optional<WorkQueueItem> findWorkQueueItemById(@Param("id") UUID id);
+
+    /**
+     * Дарааллаас олгосон хүсэлтийг ажилтанд оноож мөр дээр lease тавих. Хооронд нь гараар дахин оноосон,
+     * төлөв өөрчлөгдсөн эсвэл өөр ажилтны хүчинтэй lease-тэй бол 0 буцаана
+     * (expectedOwner: өмнөх хариуцагч, хуваалцсан дараалал бол "").
+     */
+    @Modifying
+    @Query("UPDATE LoanApplication la SET la.assignedTo = :officer, la.leaseOwner = :officer, " +
+           "la.leaseExpiresAt = :leaseExpiresAt, la.updatedAt = :now, la.version = la.version + 1 " +
+           "WHERE la.id = :id AND la.status IN :statuses AND COALESCE(la.assignedTo, '') = :expectedOwner " +
+           "AND (la.leaseExpiresAt IS NULL OR la.leaseExpiresAt < :now OR la.leaseOwner = :officer)")
+    int claimForOfficer(@Param("id") UUID id,
+                        @Param("statuses") Collection<LoanApplication.ApplicationStatus> statuses,
+                        @Param("expectedOwner") String expectedOwner,
+                        @Param("officer") String officer,
+                        @Param("now") LocalDateTime now,
+                        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Lease сунгах - зөвхөн мөр дээрх эзэмшигч (хугацаа дууссан ч өөр ажилтан аваагүй бол сунгана)
+     */
+    @Modifying
+    @Query("UPDATE LoanApplication la SET la.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE la.id = :id AND la.leaseOwner = :officer AND la.leaseExpiresAt IS NOT NULL")
+    int renewLease(@Param("id") UUID id,
+                   @Param("officer") String officer,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Эзэмшигч lease-ээ чөлөөлөх (хариуцагч хэвээр үлдэнэ)
+     */
+    @Modifying
+    @Query("UPDATE LoanApplication la SET la.leaseOwner = NULL, la.leaseExpiresAt = NULL " +
+           "WHERE la.id = :id AND la.leaseOwner = :officer")
+    int releaseLease(@Param("id") UUID id, @Param("officer") String officer);
+
+    // SLA хяналт - төлөвт орсон мөчөөс таймерыг сэргээх
+
+    @Query(ApplicationStateEntry.SELECT + "WHERE la.status IN :statuses")
+    List<ApplicationStateEntry> findStateEntries(@Param("statuses") Collection<LoanApplication.ApplicationStatus> statuses);
+}
@@ -0,0 +1,423 @@
+package com.company.los.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard Repository - rollup хүснэгтүүд дээрх хэрэгжилт
+ *
+ * Тоо, нийлбэр, чиг хандлагыг loan_application / loan_decision / customer / document
+ * daily rollup-аас уншина. Audit, сүүлийн жагсаалт, эрсдэлийн query-ууд индекстэй
+ * хязгаарлагдмал мужаар түүхий хүснэгтийг шууд уншина.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupDashboardRepository implements DashboardRepository {
+
+    private static final String PENDING_REVIEW = "('PENDING', 'UNDER_REVIEW')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Object[] getMainDashboardStats() {
+        return new Object[]{
+                count("SELECT COALESCE(SUM(customer_count), 0) FROM customer_daily_rollups"),
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups"),
+                applicationsWithStatus("PENDING"),
+                applicationsWithStatus("APPROVED"),
+                applicationsWithStatus("REJECTED"),
+                count("SELECT COALESCE(SUM(document_count), 0) FROM document_daily_rollups"),
+                count("SELECT COUNT(*) FROM loan_products WHERE is_active = TRUE AND is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM users WHERE is_active = TRUE AND is_deleted = FALSE")
+        };
+    }
+
+    @Override
+    public Object[] getTodayActivityStats() {
+        LocalDate today = LocalDate.now();
+        Date day = Date.valueOf(today);
+        return new Object[]{
+                count("SELECT COALESCE(SUM(customer_count), 0) FROM customer_daily_rollups WHERE stat_date = ?", day),
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups WHERE stat_date = ?", day),
+                decisionCount("APPROVED", day),
+                decisionCount("REJECTED", day),
+                count("SELECT COALESCE(SUM(document_count), 0) FROM document_daily_rollups WHERE stat_date = ?", day),
+                auditActionsOn(today)
+        };
+    }
+
+    @Override
+    public Object[] getFinancialDashboardStats() {
+        Date day = Date.valueOf(LocalDate.now());
+        long approvedCount = applicationsWithStatus("APPROVED");
+        BigDecimal approvedAmount = requestedAmountWithStatus("APPROVED");
+        return new Object[]{
+                requestedAmountWithStatus("PENDING"),
+                approvedAmount,
+                amount("SELECT COALESCE(SUM(requested_amount), 0) FROM loan_application_daily_rollups WHERE stat_date = ?", day),
+                amount("SELECT COALESCE(SUM(decision_amount), 0) FROM loan_decision_daily_rollups " +
+                       "WHERE decision = 'APPROVED' AND stat_date = ?", day),
+                ratio(approvedAmount, approvedCount),
+                amount("SELECT COALESCE(MAX(max_requested_amount), 0) FROM loan_application_daily_rollups WHERE status = 'APPROVED'")
+        };
+    }
+
+    @Override
+    public Object[] getPerformanceMetrics() {
+        long approved = applicationsWithStatus("APPROVED");
+        long rejected = applicationsWithStatus("REJECTED");
+        Map<String, Object> decisions = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(decision_count), 0) AS decided, COALESCE(SUM(processing_days_sum), 0) AS days " +
+                "FROM loan_decision_daily_rollups WHERE decision IN ('APPROVED', 'REJECTED')");
+        return new Object[]{
+                percent(approved, approved + rejected),
+                ratio(toBigDecimal(decisions.get("days")), toLong(decisions.get("decided"))),
+                count("SELECT COUNT(DISTINCT customer_id) FROM loan_applications WHERE status = 'APPROVED' AND is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM loan_applications WHERE expires_at < ? AND status IN " + PENDING_REVIEW +
+                      " AND is_deleted = FALSE", now())
+        };
+    }
+
+    @Override
+    public Object[] getWorkloadStats(LocalDateTime nearExpiry) {
+        return new Object[]{
+                applicationsWithStatus("PENDING"),
+                applicationsWithStatus("UNDER_REVIEW"),
+                count("SELECT COUNT(*) FROM loan_applications WHERE expires_at BETWEEN ? AND ? AND status IN " + PENDING_REVIEW +
+                      " AND is_deleted = FALSE", now(), Timestamp.valueOf(nearExpiry)),
+                count("SELECT COUNT(*) FROM loan_applications WHERE created_at < ? AND status IN " + PENDING_REVIEW +
+                      " AND is_deleted = FALSE", daysAgo(7)),
+                count("SELECT COUNT(*) FROM customers c WHERE c.is_deleted = FALSE AND NOT EXISTS (" +
+                      "SELECT 1 FROM documents d JOIN document_types dt ON dt.id = d.document_type_id " +
+                      "WHERE d.customer_id = c.id AND dt.is_required = TRUE AND d.is_deleted = FALSE)")
+        };
+    }
+
+    @Override
+    public List<Object[]> getRecentActivity() {
+        return rows("SELECT changed_at, table_name, action, record_id, changed_by FROM audit_logs " +
+                    "ORDER BY changed_at DESC LIMIT 10");
+    }
+
+    @Override
+    public List<Object[]> getRecentLoanApplications() {
+        return rows("SELECT la.application_number, CONCAT(c.first_name, ' ', c.last_name), lp.name, " +
+                    "la.requested_amount, la.status, la.created_at " +
+                    "FROM loan_applications la " +
+                    "JOIN customers c ON c.id = la.customer_id " +
+                    "JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                    "WHERE la.is_deleted = FALSE " +
+                    "ORDER BY la.created_at DESC LIMIT 5");
+    }
+
+    @Override
+    public List<Object[]> getRecentCustomers() {
+        return rows("SELECT CONCAT(first_name, ' ', last_name), email, phone, monthly_income, created_at " +
+                    "FROM customers WHERE is_deleted = FALSE " +
+                    "ORDER BY created_at DESC LIMIT 5");
+    }
+
+    @Override
+    public Object[] getAlertStats(LocalDateTime oldCustomerDate, LocalDateTime inactiveUserDate, LocalDateTime recentTime) {
+        return new Object[]{
+                count("SELECT COUNT(*) FROM loan_applications WHERE expires_at < ? AND status IN " + PENDING_REVIEW +
+                      " AND is_deleted = FALSE", now()),
+                count("SELECT COUNT(*) FROM loan_applications WHERE created_at < ? AND status = 'PENDING' AND is_deleted = FALSE",
+                      daysAgo(10)),
+                count("SELECT COUNT(*) FROM customers c WHERE c.created_at < ? AND c.is_deleted = FALSE " +
+                      "AND NOT EXISTS (SELECT 1 FROM loan_applications la WHERE la.customer_id = c.id)",
+                      Timestamp.valueOf(oldCustomerDate)),
+                count("SELECT COUNT(*) FROM documents WHERE file_size > 104857600 AND is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM users WHERE last_login_at < ? AND is_deleted = FALSE",
+                      Timestamp.valueOf(inactiveUserDate)),
+                count("SELECT COUNT(*) FROM (SELECT ip_address FROM audit_logs WHERE changed_at >= ? " +
+                      "GROUP BY ip_address HAVING COUNT(*) > 100) busy", Timestamp.valueOf(recentTime))
+        };
+    }
+
+    @Override
+    public List<Object[]> getWeeklyTrends() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(6);
+        Map<LocalDate, long[]> byDay = new HashMap<>();
+        jdbcTemplate.query("SELECT stat_date, SUM(application_count) AS apps, " +
+                           "SUM(CASE WHEN status = 'APPROVED' THEN application_count ELSE 0 END) AS approved " +
+                           "FROM loan_application_daily_rollups WHERE stat_date >= ? GROUP BY stat_date",
+                rs -> {
+                    long[] totals = byDay.computeIfAbsent(rs.getDate("stat_date").toLocalDate(), d -> new long[3]);
+                    totals[0] = rs.getLong("apps");
+                    totals[1] = rs.getLong("approved");
+                }, Date.valueOf(from));
+        jdbcTemplate.query("SELECT stat_date, SUM(customer_count) AS customers FROM customer_daily_rollups " +
+                           "WHERE stat_date >= ? GROUP BY stat_date",
+                rs -> {
+                    byDay.computeIfAbsent(rs.getDate("stat_date").toLocalDate(), d -> new long[3])[2] = rs.getLong("customers");
+                }, Date.valueOf(from));
+
+        List<Object[]> trends = new ArrayList<>(7);
+        for (LocalDate day = today; !day.isBefore(from); day = day.minusDays(1)) {
+            long[] totals = byDay.getOrDefault(day, new long[3]);
+            trends.add(new Object[]{day, totals[0], totals[1], totals[2]});
+        }
+        return trends;
+    }
+
+    @Override
+    public List<Object[]> getMonthlyTrends() {
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(11);
+        Map<YearMonth, Object[]> byMonth = new LinkedHashMap<>();
+        for (YearMonth month = current; !month.isBefore(first); month = month.minusMonths(1)) {
+            byMonth.put(month, new Object[]{month.toString(), 0L, 0L, BigDecimal.ZERO});
+        }
+        jdbcTemplate.query("SELECT stat_date, status, application_count, requested_amount " +
+                           "FROM loan_application_daily_rollups WHERE stat_date >= ?",
+                rs -> {
+                    Object[] row = byMonth.get(YearMonth.from(rs.getDate("stat_date").toLocalDate()));
+                    if (row == null) {
+                        return;
+                    }
+                    long applications = rs.getLong("application_count");
+                    row[1] = (Long) row[1] + applications;
+                    if ("APPROVED".equals(rs.getString("status"))) {
+                        row[2] = (Long) row[2] + applications;
+                        row[3] = ((BigDecimal) row[3]).add(rs.getBigDecimal("requested_amount"));
+                    }
+                }, Date.valueOf(first.atDay(1)));
+        return new ArrayList<>(byMonth.values());
+    }
+
+    @Override
+    public List<Object[]> getTopProductPerformance() {
+        return jdbcTemplate.query(
+                "SELECT lp.name, COALESCE(SUM(r.application_count), 0) AS applications, " +
+                "COALESCE(SUM(CASE WHEN r.status = 'APPROVED' THEN r.application_count ELSE 0 END), 0) AS approved, " +
+                "COALESCE(SUM(CASE WHEN r.status = 'APPROVED' THEN r.requested_amount ELSE 0 END), 0) AS approved_amount " +
+                "FROM loan_products lp " +
+                "LEFT JOIN loan_application_daily_rollups r ON r.loan_product_id = lp.id " +
+                "WHERE lp.is_active = TRUE AND lp.is_deleted = FALSE " +
+                "GROUP BY lp.id, lp.name " +
+                "ORDER BY applications DESC LIMIT 5",
+                (rs, rowNum) -> {
+                    long applications = rs.getLong("applications");
+                    long approved = rs.getLong("approved");
+                    return new Object[]{rs.getString("name"), applications, approved,
+                            percent(approved, applications), rs.getBigDecimal("approved_amount")};
+                });
+    }
+
+    @Override
+    public List<Object[]> getTopProvinceStats() {
+        Map<String, Object[]> byProvince = new HashMap<>();
+        jdbcTemplate.query("SELECT province, SUM(customer_count) AS customers FROM customer_daily_rollups " +
+                           "WHERE province <> '' GROUP BY province",
+                rs -> {
+                    provinceRow(byProvince, rs.getString("province"))[1] = rs.getLong("customers");
+                });
+        jdbcTemplate.query("SELECT province, SUM(application_count) AS applications, " +
+                           "COALESCE(SUM(CASE WHEN status = 'APPROVED' THEN requested_amount ELSE 0 END), 0) AS approved_amount " +
+                           "FROM loan_application_daily_rollups WHERE province <> '' GROUP BY province",
+                rs -> {
+                    Object[] row = provinceRow(byProvince, rs.getString("province"));
+                    row[2] = rs.getLong("applications");
+                    row[3] = rs.getBigDecimal("approved_amount");
+                });
+        return byProvince.values().stream()
+                .sorted(Comparator.comparingLong((Object[] row) -> (Long) row[1]).reversed())
+                .limit(5)
+                .toList();
+    }
+
+    @Override
+    public List<Object[]> getMostActiveUsers(LocalDateTime startDate) {
+        return rows("SELECT changed_by, COUNT(*) AS action_count, COUNT(DISTINCT table_name), MAX(changed_at) " +
+                    "FROM audit_logs WHERE changed_at >= ? AND changed_by IS NOT NULL " +
+                    "GROUP BY changed_by ORDER BY action_count DESC LIMIT 5", Timestamp.valueOf(startDate));
+    }
+
+    @Override
+    public Object[] getDocumentDashboardStats() {
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(document_count), 0) AS documents, COALESCE(SUM(total_file_size), 0) AS file_size, " +
+                "COALESCE(SUM(large_file_count), 0) AS large_files FROM document_daily_rollups");
+        return new Object[]{
+                toLong(totals.get("documents")),
+                count("SELECT COALESCE(SUM(document_count), 0) FROM document_daily_rollups WHERE stat_date = ?",
+                      Date.valueOf(LocalDate.now())),
+                toLong(totals.get("file_size")),
+                count("SELECT COUNT(DISTINCT customer_id) FROM documents WHERE is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM customers c WHERE c.is_deleted = FALSE " +
+                      "AND NOT EXISTS (SELECT 1 FROM documents d WHERE d.customer_id = c.id AND d.is_deleted = FALSE)"),
+                toLong(totals.get("large_files"))
+        };
+    }
+
+    @Override
+    public Object[] getSystemPerformanceStats(LocalDateTime recentTime) {
+        Timestamp since = Timestamp.valueOf(recentTime);
+        LocalDate today = LocalDate.now();
+        long[] pending = new long[2];
+        jdbcTemplate.query("SELECT stat_date, application_count FROM loan_application_daily_rollups WHERE status = 'PENDING'",
+                rs -> {
+                    long applications = rs.getLong("application_count");
+                    pending[0] += applications;
+                    pending[1] += applications * ChronoUnit.DAYS.between(rs.getDate("stat_date").toLocalDate(), today);
+                });
+        return new Object[]{
+                count("SELECT COUNT(*) FROM audit_logs WHERE changed_at >= ?", since),
+                count("SELECT COUNT(DISTINCT changed_by) FROM audit_logs WHERE changed_at >= ?", since),
+                count("SELECT COUNT(*) FROM loan_applications WHERE updated_at >= ?", since),
+                count("SELECT COUNT(DISTINCT ip_address) FROM audit_logs WHERE changed_at >= ?", since),
+                ratio(BigDecimal.valueOf(pending[1]), pending[0])
+        };
+    }
+
+    @Override
+    public Object[] getRiskDashboardStats() {
+        return new Object[]{
+                count("SELECT COUNT(*) FROM loan_applications WHERE requested_amount >= 50000000 AND status = 'PENDING' " +
+                      "AND is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM (SELECT customer_id FROM loan_applications WHERE status = 'REJECTED' " +
+                      "AND is_deleted = FALSE GROUP BY customer_id HAVING COUNT(*) >= 3) repeat_rejected"),
+                count("SELECT COUNT(*) FROM loan_applications la JOIN loan_products lp ON lp.id = la.loan_product_id " +
+                      "WHERE la.requested_amount > lp.max_amount AND la.is_deleted = FALSE"),
+                count("SELECT COUNT(DISTINCT c.id) FROM customers c JOIN loan_applications la ON la.customer_id = c.id " +
+                      "WHERE c.monthly_income IS NULL AND c.is_deleted = FALSE AND la.is_deleted = FALSE"),
+                count("SELECT COUNT(*) FROM loan_applications la WHERE la.status IN " + PENDING_REVIEW +
+                      " AND la.is_deleted = FALSE " +
+                      "AND NOT EXISTS (SELECT 1 FROM documents d WHERE d.loan_application_id = la.id AND d.is_deleted = FALSE)")
+        };
+    }
+
+    @Override
+    public List<Object[]> getQuickStatsCards() {
+        Date day = Date.valueOf(LocalDate.now());
+        List<Object[]> cards = new ArrayList<>(4);
+        cards.add(new Object[]{"CUSTOMERS",
+                count("SELECT COALESCE(SUM(customer_count), 0) FROM customer_daily_rollups"),
+                count("SELECT COALESCE(SUM(customer_count), 0) FROM customer_daily_rollups WHERE stat_date = ?", day),
+                "+"});
+        cards.add(new Object[]{"APPLICATIONS",
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups"),
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups WHERE stat_date = ?", day),
+                "+"});
+        cards.add(new Object[]{"PENDING",
+                applicationsWithStatus("PENDING"),
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups " +
+                      "WHERE status = 'PENDING' AND stat_date = ?", day),
+                "+"});
+        cards.add(new Object[]{"APPROVED_AMOUNT",
+                requestedAmountWithStatus("APPROVED"),
+                amount("SELECT COALESCE(SUM(decision_amount), 0) FROM loan_decision_daily_rollups " +
+                       "WHERE decision = 'APPROVED' AND stat_date = ?", day),
+                "+"});
+        return cards;
+    }
+
+    @Override
+    public Object[] getDashboardStatsForDate(LocalDateTime date) {
+        LocalDate day = date.toLocalDate();
+        Date statDate = Date.valueOf(day);
+        return new Object[]{
+                day.toString(),
+                count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups WHERE stat_date = ?", statDate),
+                count("SELECT COALESCE(SUM(customer_count), 0) FROM customer_daily_rollups WHERE stat_date = ?", statDate),
+                count("SELECT COALESCE(SUM(document_count), 0) FROM document_daily_rollups WHERE stat_date = ?", statDate),
+                auditActionsOn(day)
+        };
+    }
+
+    // Helper methods
+
+    private long applicationsWithStatus(String status) {
+        return count("SELECT COALESCE(SUM(application_count), 0) FROM loan_application_daily_rollups WHERE status = ?", status);
+    }
+
+    private BigDecimal requestedAmountWithStatus(String status) {
+        return amount("SELECT COALESCE(SUM(requested_amount), 0) FROM loan_application_daily_rollups WHERE status = ?", status);
+    }
+
+    private long decisionCount(String decision, Date day) {
+        return count("SELECT COALESCE(SUM(decision_count), 0) FROM loan_decision_daily_rollups WHERE decision = ? AND stat_date = ?",
+                decision, day);
+    }
+
+    private long auditActionsOn(LocalDate day) {
+        return count("SELECT COUNT(*) FROM audit_logs WHERE changed_at >= ? AND changed_at < ?",
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+    private long count(String sql, Object... args) {
+        Number value = jdbcTemplate.queryForObject(sql, Number.class, args);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private BigDecimal amount(String sql, Object... args) {
+        BigDecimal value = jdbcTemplate.queryForObject(sql, BigDecimal.class, args);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private List<Object[]> rows(String sql, Object... args) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            int columns = rs.getMetaData().getColumnCount();
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        }, args);
+    }
+
+    private static Object[] provinceRow(Map<String, Object[]> byProvince, String province) {
+        return byProvince.computeIfAbsent(province, p -> new Object[]{p, 0L, 0L, BigDecimal.ZERO});
+    }
+
+    private static BigDecimal percent(long part, long total) {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(part * 100.0 / total).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal ratio(BigDecimal sum, long count) {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value instanceof Number number ? BigDecimal.valueOf(number.doubleValue()) : BigDecimal.ZERO;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static Timestamp daysAgo(int days) {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+    }
+}
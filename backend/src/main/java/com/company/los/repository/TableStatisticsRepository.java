@@ -0,0 +1,49 @@
+package com.company.los.repository;
+
+import com.company.los.util.DatabaseDialect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Хүснэгтийн мөрийн ойролцоо тоо - COUNT(*) хийлгүйгээр статистикаас уншина
+ *
+ * PostgreSQL: pg_class.reltuples (ANALYZE/autovacuum шинэчилнэ), H2: INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE.
+ * Зөөлөн устгасан мөрүүдийг оролцуулна.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Ойролцоо мөрийн тоо. Статистик байхгүй бол null.
+     */
+    public Long approximateRowCount(String table) {
+        List<Long> estimates = isPostgres()
+                ? jdbcTemplate.queryForList(
+                        "SELECT CAST(c.reltuples AS BIGINT) FROM pg_class c " +
+                        "WHERE c.relname = ? AND c.relkind IN ('r', 'p') AND pg_table_is_visible(c.oid)", Long.class, table)
+                : jdbcTemplate.queryForList(
+                        "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES " +
+                        "WHERE LOWER(TABLE_NAME) = ? AND TABLE_SCHEMA = SCHEMA()", Long.class, table);
+        if (estimates.isEmpty() || estimates.get(0) == null || estimates.get(0) < 0) {
+            return null;
+        }
+        return estimates.get(0);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = DatabaseDialect.isPostgres(jdbcTemplate);
+            postgres = result;
+        }
+        return result;
+    }
+}
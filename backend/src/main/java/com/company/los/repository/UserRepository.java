@@ -565,4 +565,19 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE " +
            "r.name LIKE '%MANAGER%' OR SIZE(u.subordinates) > 0")
     List<User> findManagerUsers();
-}
\ No newline at end of file
+
+    // Keyset (cursor) хуудаслалт - (createdAt, id) буурахаар, COUNT хийхгүй
+
+    /**
+     * Эхний хуудас
+     */
+    @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findSeekFirst(Pageable pageable);
+
+    /**
+     * Cursor-ийн (createdAt, id)-ээс хойших хуудас
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findSeekAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+}
@@ -0,0 +1,50 @@
+package com.company.los.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Хэрэглэгчийн үйл ажиллагааны лог Service Interface
+ * Asynchronous activity logging pipeline
+ *
+ * Controller interceptor үйлдэл бүрийг Event болгон дараалалд хийж, тусдаа thread
+ * activity_logs руу batch-аар бичнэ. Ачаалал ихсэхэд унших үйлдлүүдийг sample хийж,
+ * дараалал дүүрвэл хаяна (тоолуураар хянагдана).
+ */
+public interface ActivityLogService {
+
+    /**
+     * Нэг үйлдэл. Бүх талбар энгийн утга тул request thread дээр нэмэлт хуваарилалт бага.
+     *
+     * @param mutating өгөгдөл өөрчлөх үйлдэл эсэх (ачааллын үед sample хийгдэхгүй)
+     */
+    record Event(String userId, String username, String activityType, String entityType, String entityId,
+                 String httpMethod, String path, int httpStatus, long durationMillis, boolean mutating,
+                 String ipAddress, String userAgent, String sessionId, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Үйлдлийг бичих дараалалд оруулах. Sample/drop хийгдсэн бол false (блоклохгүй).
+     */
+    boolean record(Event event);
+
+    /**
+     * Объектын үйл ажиллагааны түүх (шинэ нь эхэндээ). since null бол хугацааны хязгааргүй.
+     */
+    List<Map<String, Object>> getEntityActivity(String entityType, UUID entityId, LocalDateTime since, int limit);
+
+    /**
+     * Хэрэглэгчийн үйл ажиллагааны түүх (шинэ нь эхэндээ)
+     */
+    Page<Map<String, Object>> getUserActivity(UUID userId, Pageable pageable);
+
+    /**
+     * Дамжуулах хоолойн тоолуурууд (recorded, sampledOut, dropped, written, failed, pending)
+     */
+    Map<String, Object> getStatistics();
+}
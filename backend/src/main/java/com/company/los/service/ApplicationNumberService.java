@@ -0,0 +1,23 @@
+package com.company.los.service;
+
+import java.util.Map;
+
+/**
+ * Зээлийн хүсэлтийн дугаар олгох Service Interface
+ * Block-allocated (hi/lo) per-year application number generator
+ *
+ * Дугаар нь жил бүр 1-ээс эхэлж өснө (жишээ: LN-2025-000123). Node бүр өгөгдлийн сангаас
+ * дугаарын блок нөөцөлж аваад санах ойгоос олгох тул давхардал шалгах query шаардлагагүй.
+ */
+public interface ApplicationNumberService {
+
+    /**
+     * Дараагийн зээлийн хүсэлтийн дугаар
+     */
+    String nextApplicationNumber();
+
+    /**
+     * Одоогийн блок болон нөөцлөлтийн статистик
+     */
+    Map<String, Object> getStatistics();
+}
@@ -0,0 +1,66 @@
+package com.company.los.service;
+
+import com.company.los.util.ClientAddress;
+import com.company.los.util.CurrentUser;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Аудитын мөр бүртгэлийн Service Interface
+ * Asynchronous, batched audit trail capture
+ *
+ * Entity өөрчлөлтийг (талбарын diff) request thread дээр ring buffer руу хийж,
+ * тусдаа thread audit_logs хүснэгт рүү JDBC batch-аар бичнэ.
+ */
+public interface AuditTrailService {
+
+    /**
+     * Нэг entity өөрчлөлт. oldValues/newValues нь зөвхөн өөрчлөгдсөн талбаруудыг агуулна.
+     * changeReason нь entity listener-ээс гадуурх (bulk UPDATE, дараалал) өөрчлөлтийн шалтгаан.
+     */
+    record Change(String tableName, String recordId, String action,
+                  Map<String, Object> oldValues, Map<String, Object> newValues,
+                  String changedBy, LocalDateTime changedAt, String ipAddress, String userAgent,
+                  String changeReason) {
+
+        /**
+         * Одоогийн хүсэлтийн IP, User-Agent болон хэрэглэгчээр (байхгүй бол "system") өөрчлөлт үүсгэх
+         */
+        public static Change ofCurrentRequest(String tableName, Object recordId, String action,
+                                              Map<String, Object> oldValues, Map<String, Object> newValues,
+                                              String changeReason) {
+            String ipAddress = null;
+            String userAgent = null;
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes servletAttributes) {
+                HttpServletRequest request = servletAttributes.getRequest();
+                ipAddress = ClientAddress.of(request);
+                userAgent = request.getHeader("User-Agent");
+            }
+            return new Change(tableName, String.valueOf(recordId), action, oldValues, newValues,
+                    CurrentUser.username(), LocalDateTime.now(), ipAddress, userAgent, changeReason);
+        }
+    }
+
+    /**
+     * Өөрчлөлтийг бичих дараалалд оруулах. Дараалал дүүрсэн бол хаяж false буцаана (блоклохгүй).
+     */
+    boolean capture(Change change);
+
+    /**
+     * Бичлэгийн аудит түүх (шинэ нь эхэндээ)
+     */
+    List<Map<String, Object>> getAuditHistory(String tableName, UUID recordId, int limit);
+
+    /**
+     * Бүртгэлийн тоолуурууд (captured, dropped, written, failed, pending)
+     */
+    Map<String, Object> getStatistics();
+}
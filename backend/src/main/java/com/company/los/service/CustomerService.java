@@ -1,12 +1,14 @@
 package com.company.los.service;
 
 import com.company.los.dto.CustomerDto;
+import com.company.los.dto.CursorPage;
 import com.company.los.entity.Customer;
 import com.company.los.enums.CustomerStatus;
 import com.company.los.enums.KYCStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +34,11 @@ public interface CustomerService {
      */
     CustomerDto getCustomerById(UUID id);
 
+    /**
+     * Харилцагчийн ETag (entity ачаалахгүй). Олдохгүй бол null
+     */
+    String getCustomerETag(UUID id);
+
     /**
      * Харилцагч шинэчлэх
      */
@@ -54,6 +61,16 @@ public interface CustomerService {
      */
     Page<CustomerDto> getAllCustomers(Pageable pageable);
 
+    /**
+     * Бүх харилцагч - keyset (cursor) хуудаслалт, шинэ нь эхэндээ. COUNT хийхгүй.
+     *
+     * @param cursor       өмнөх хуудасны nextCursor (эхний хуудаст null)
+     * @param size         хуудасны хэмжээ
+     * @param includeTotal ойролцоо нийт тоог статистикаас нэмэх эсэх
+     * @throws IllegalArgumentException cursor буруу бол
+     */
+    CursorPage<CustomerDto> getCustomersByCursor(String cursor, int size, boolean includeTotal);
+
     /**
      * Регистрийн дугаараар харилцагч авах
      */
@@ -282,6 +299,11 @@ public interface CustomerService {
      */
     byte[] exportCustomersToExcel(List<UUID> customerIds);
 
+    /**
+     * Харилцагчдыг XLSX-ээр урсгалд шууд бичих (бүх мөрийг санах ойд ачаалахгүй)
+     */
+    int exportCustomersToExcel(List<UUID> customerIds, OutputStream out);
+
     // ==================== PROFILE MANAGEMENT ====================
     
     /**
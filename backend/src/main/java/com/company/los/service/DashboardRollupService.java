@@ -0,0 +1,32 @@
+package com.company.los.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Dashboard rollup хүснэгтүүдийг шинэчлэх Service Interface
+ * Dashboard rollup refresh (entity events + watermark delta job)
+ */
+public interface DashboardRollupService {
+
+    /**
+     * Сүүлийн watermark-аас хойш өөрчлөгдсөн өдрүүдийг дахин тооцоолох
+     */
+    Map<String, Object> refreshRollups();
+
+    /**
+     * Бүх rollup-ийг түүхээс бүрэн дахин үүсгэх
+     */
+    Map<String, Object> rebuildAll();
+
+    /**
+     * Тодорхой өдрүүдийн loan application rollup-ийг дахин тооцоолох
+     */
+    void recomputeLoanApplicationDays(Collection<LocalDate> days);
+
+    /**
+     * Rollup бүрийн watermark
+     */
+    Map<String, Object> getWatermarks();
+}
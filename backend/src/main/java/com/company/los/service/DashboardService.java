@@ -0,0 +1,23 @@
+package com.company.los.service;
+
+import java.util.Map;
+
+/**
+ * Нэгтгэсэн dashboard Service Interface
+ * Single-call dashboard aggregation (parallel widgets, shared short-lived cache)
+ */
+public interface DashboardService {
+
+    /**
+     * Бүх widget-ийг зэрэг ачаалж нэг хариу болгох.
+     * Хугацаандаа амжаагүй widget-ийг алгасаж хэсэгчилсэн хариу буцаана.
+     *
+     * @param forceRefresh true бол cache-ийг алгасаж шинээр тооцно
+     */
+    Map<String, Object> getDashboard(boolean forceRefresh);
+
+    /**
+     * Хуваалцсан dashboard cache-ийг цэвэрлэх
+     */
+    void evictDashboardCache();
+}
@@ -0,0 +1,37 @@
+package com.company.los.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Баримтын хугацаа дуусах sweeper-ийн Service Interface
+ * Chunked document expiry sweeper driven by an expiry-date index and a high-water mark
+ *
+ * Ажиллах бүрдээ зөвхөн өмнөх high-water mark-аас хойш хугацаа нь дууссан цонхыг (expiry_date, id) keyset
+ * chunk-аар уншиж, batch UPDATE-ээр EXPIRED болгоно. EXPIRED болсон баримт бүрд {@link DocumentExpired}
+ * event нийтлэгдэнэ (харилцагчид сануулга илгээхэд).
+ */
+public interface DocumentExpiryService {
+
+    /**
+     * Шинээр хугацаа дууссан баримтуудыг EXPIRED болгох
+     *
+     * @return expired - EXPIRED болгосон тоо, chunks, expiredThrough, durationMs (өөр sweep ажиллаж байвал skipped)
+     */
+    Map<String, Object> sweep();
+
+    /**
+     * High-water mark болон sweeper-ийн статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Баримтын хугацаа дуусахад chunk commit хийгдсэний дараа нийтлэгдэх Spring application event
+     */
+    record DocumentExpired(UUID documentId, String documentName, LocalDate expiryDate, UUID customerId,
+                           UUID loanApplicationId, String customerEmail, String customerPhone,
+                           LocalDateTime expiredAt) {
+    }
+}
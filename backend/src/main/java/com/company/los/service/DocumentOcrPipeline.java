@@ -0,0 +1,75 @@
+package com.company.los.service;
+
+import com.company.los.entity.Document;
+import com.company.los.entity.LoanApplication;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Баримтын OCR, өгөгдөл задлах async pipeline-ийн Service Interface
+ * Staged, bounded OCR pipeline: decode → preprocess → OCR → extract → saveOcrResults
+ *
+ * Шат бүр өөрийн worker pool-той, шатнуудын хооронд хязгаартай дараалал. Доод шат удаашрахад дээд шатны
+ * worker хүлээж, эхний дараалал дүүрэхэд шинэ ажил хүлээж авахгүй (backpressure). Хянагдаж буй хүсэлтийн
+ * баримтууд priority эгнээгээр явна. Үр дүн {@link DocumentService#saveOcrResults}-ээр хадгалагдана.
+ */
+public interface DocumentOcrPipeline {
+
+    /**
+     * Баримтыг pipeline-д оруулах (хүлээхгүй)
+     *
+     * @return хүлээж авсан бол true; баримт аль хэдийн pipeline-д байвал false
+     * @throws com.company.los.exception.OcrSaturatedException тухайн эгнээний эхний дараалал дүүрсэн бол
+     */
+    boolean submit(OcrRequest request);
+
+    /**
+     * Тухайн эгнээ шинэ ажил хүлээж авах боломжгүй эсэх (upload-ийн backpressure)
+     */
+    boolean isSaturated(boolean priority);
+
+    /**
+     * Дүүрсэн үед дахин оролдохыг зөвлөх хугацаа (секунд)
+     */
+    long getRetryAfterSeconds();
+
+    /**
+     * Шат бүрийн дараалал, worker, боловсруулсан тоо
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Pipeline-ийн ажил
+     *
+     * @param ocrText  өмнө танигдсан текст - байвал decode, preprocess, OCR шатыг алгасаж шууд задлана
+     * @param priority хянагдаж буй хүсэлтийн баримт
+     */
+    record OcrRequest(UUID documentId, String filePath, String contentType, String documentName,
+                      String documentType, String ocrText, boolean priority) {
+
+        // Шийдвэр хүлээж буй хүсэлтийн баримтыг түрүүлж боловсруулна
+        public static final Set<LoanApplication.ApplicationStatus> PRIORITY_STATUSES = EnumSet.of(
+                LoanApplication.ApplicationStatus.UNDER_REVIEW,
+                LoanApplication.ApplicationStatus.PENDING_DOCUMENTS);
+
+        public static OcrRequest of(Document document) {
+            return of(document, null);
+        }
+
+        public static OcrRequest forExtraction(Document document) {
+            return of(document, document.getOcrText());
+        }
+
+        private static OcrRequest of(Document document, String ocrText) {
+            LoanApplication application = document.getLoanApplication();
+            boolean priority = application != null && PRIORITY_STATUSES.contains(application.getStatus());
+            return new OcrRequest(document.getId(), document.getFilePath(), document.getContentType(),
+                    document.getOriginalFilename(),
+                    document.getDocumentType() != null ? document.getDocumentType().getName() : null,
+                    ocrText, priority);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.los.service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Баримтын thumbnail / preview-ийн Service Interface
+ * Pre-rendered, checksum-keyed thumbnail and preview cache for the document viewer
+ *
+ * Upload хийсний дараа жижигрүүлсэн JPEG хувилбарууд async үүсгэгдэж эх файлын хажууд checksum-аар
+ * хадгалагдана. Кэшэд байхгүй бол хүсэлтээр үүсгэнэ - ижил хувилбарыг зэрэг хүссэн хүсэлтүүд нэг
+ * үүсгэлтийг хүлээнэ (single-flight). Checksum өөрчлөгдөхгүй тул хариуг удаан кэшлэж болно.
+ */
+public interface DocumentPreviewService {
+
+    /**
+     * Хувилбарыг авах (кэшэд байхгүй бол үүсгэнэ)
+     *
+     * @throws com.company.los.exception.ResourceNotFoundException баримт эсвэл эх файл байхгүй бол
+     * @throws IllegalArgumentException                           файлын төрлөөс preview гаргах боломжгүй бол
+     */
+    Preview getPreview(UUID documentId, Rendition rendition);
+
+    /**
+     * Хувилбарын ETag - файл уншихгүй (баримт байхгүй бол null)
+     */
+    String getPreviewETag(UUID documentId, Rendition rendition);
+
+    /**
+     * Бүх хувилбарыг background-д үүсгэх (дараалал дүүрсэн бол алгасна - дараа нь хүсэлтээр үүснэ)
+     */
+    void generateAsync(UUID documentId);
+
+    /**
+     * Кэшийн статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Хувилбарын төрөл; хэмжээг {@code app.document.preview.*-size}-аар тохируулна
+     */
+    enum Rendition {
+        THUMBNAIL("thumb"),
+        PREVIEW("preview");
+
+        private final String suffix;
+
+        Rendition(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+    }
+
+    /**
+     * Үүсгэсэн хувилбар
+     */
+    record Preview(byte[] content, String contentType, String etag) {
+    }
+}
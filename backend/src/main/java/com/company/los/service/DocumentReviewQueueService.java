@@ -0,0 +1,63 @@
+package com.company.los.service;
+
+import com.company.los.dto.DocumentDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Баримт хянах дарааллын Service Interface
+ * Lease-based concurrent document review queue
+ *
+ * Reviewer дараагийн N баримтыг нэг атомар UPDATE-ээр (FOR UPDATE SKIP LOCKED) хугацаатай lease-тэй авна -
+ * олон reviewer зэрэг татахад нэг баримт давхар олгогдохгүй, бие биеийнхээ түгжээг хүлээхгүй.
+ * Heartbeat-ээр lease-ийг сунгана; сунгаагүй бол хугацаа дуусахад баримт дараалалд буцна.
+ */
+public interface DocumentReviewQueueService {
+
+    /**
+     * Хамгийн эрт upload хийсэн хүлээгдэж буй баримтуудаас count хүртэлхийг reviewer-т олгох
+     */
+    List<ReviewLease> claimNext(String reviewer, int count);
+
+    /**
+     * Тодорхой баримтыг reviewer-т олгох
+     *
+     * @throws IllegalStateException өөр reviewer-ийн хүчинтэй lease-тэй эсвэл хянах боломжгүй төлөвтэй бол
+     */
+    ReviewLease claim(UUID documentId, String reviewer);
+
+    /**
+     * Lease сунгах (heartbeat)
+     *
+     * @throws IllegalStateException lease байхгүй эсвэл өөр reviewer авсан бол
+     */
+    ReviewLease heartbeat(UUID documentId, String reviewer);
+
+    /**
+     * Баримтыг хянаж дуусгалгүйгээр дараалалд буцаах
+     *
+     * @return reviewer-ийн lease байсан бол true
+     */
+    boolean release(UUID documentId, String reviewer);
+
+    /**
+     * Хугацаа дууссан lease-үүдийг дараалалд буцаах
+     *
+     * @return буцаасан баримтын тоо
+     */
+    int expireLeases();
+
+    /**
+     * Дарааллын статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Олгосон баримт; expiresAt-аас өмнө heartbeat хийхгүй бол дараалалд буцна
+     */
+    record ReviewLease(UUID documentId, String reviewer, LocalDateTime expiresAt, DocumentDto document) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.company.los.service;
 
 import com.company.los.dto.DocumentDto;
+import com.company.los.dto.CursorPage;
 import com.company.los.entity.Customer;
 import com.company.los.entity.Document;
 import com.company.los.entity.DocumentType;
@@ -10,11 +11,13 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Баримт бичгийн Service Interface
@@ -33,12 +36,31 @@ public interface DocumentService {
     DocumentDto uploadDocument(UUID customerId, UUID loanApplicationId, DocumentType documentType,
                               MultipartFile file, String description, String tags) throws IOException;
 
+    /**
+     * Бүрэн хүлээн авсан түр файлаас баримт үүсгэх - файлыг баримтын сан руу зөөнө
+     * Create a document from a fully received temporary file (resumable upload completion)
+     *
+     * Файлыг transaction-ий гадна зөөж, баримтын мөрийг дараа нь богино transaction-д бичнэ. Тэр transaction
+     * буцаагдвал файл түр байршилдаа буцаж зөөгдөнө.
+     *
+     * @param onRecorded баримтын мөртэй нэг transaction-д дуудагдана (жишээ нь upload session-ийг дуусгах)
+     */
+    DocumentDto createDocumentFromFile(UUID customerId, UUID loanApplicationId, UUID documentTypeId, Path file,
+                                       String originalFilename, String contentType, String checksum,
+                                       Consumer<DocumentDto> onRecorded) throws IOException;
+
     /**
      * Баримтын мэдээлэл авах
      * Get document information
      */
     DocumentDto getDocumentById(UUID id);
 
+    /**
+     * Баримтын мэдээллийн ETag (entity ачаалахгүй). Олдохгүй бол null
+     * Get document metadata ETag without loading the entity
+     */
+    String getDocumentETag(UUID id);
+
     /**
      * Баримт шинэчлэх
      * Update document
@@ -98,24 +120,32 @@ public interface DocumentService {
     /**
      * Баримт баталгаажуулах
      * Verify document
+     *
+     * @throws IllegalStateException verifierName-д хүчинтэй хянах lease байхгүй бол (startReview/claim)
      */
     DocumentDto verifyDocument(UUID id, Document.VerificationStatus status, String verifierName, String notes);
 
     /**
      * Баримт зөвшөөрөх
      * Approve document
+     *
+     * @throws IllegalStateException verifierName-д хүчинтэй хянах lease байхгүй бол (startReview/claim)
      */
     DocumentDto approveDocument(UUID id, String verifierName, String notes);
 
     /**
      * Баримт татгалзах
      * Reject document
+     *
+     * @throws IllegalStateException verifierName-д хүчинтэй хянах lease байхгүй бол (startReview/claim)
      */
     DocumentDto rejectDocument(UUID id, String verifierName, String reason);
 
     /**
      * Дахин илгээх шаардах
      * Request resubmission
+     *
+     * @throws IllegalStateException verifierName-д хүчинтэй хянах lease байхгүй бол (startReview/claim)
      */
     DocumentDto requestResubmission(UUID id, String verifierName, String reason);
 
@@ -147,6 +177,16 @@ public interface DocumentService {
      */
     Page<DocumentDto> getAllDocuments(Pageable pageable);
 
+    /**
+     * Бүх баримт - keyset (cursor) хуудаслалт, шинэ нь эхэндээ. COUNT хийхгүй.
+     *
+     * @param cursor       өмнөх хуудасны nextCursor (эхний хуудаст null)
+     * @param size         хуудасны хэмжээ
+     * @param includeTotal ойролцоо нийт тоог статистикаас нэмэх эсэх
+     * @throws IllegalArgumentException cursor буруу бол
+     */
+    CursorPage<DocumentDto> getDocumentsByCursor(String cursor, int size, boolean includeTotal);
+
     /**
      * Харилцагчийн баримтууд
      * Get documents by customer
@@ -373,6 +413,18 @@ public interface DocumentService {
     List<DocumentDto> uploadMultipleDocuments(UUID customerId, UUID loanApplicationId,
                                              Map<DocumentType, MultipartFile> files) throws IOException;
 
+    /**
+     * Олон баримтыг зэрэг байршуулах - файл бүрийн үр дүнтэй
+     * Upload multiple documents in parallel with per-file results
+     *
+     * Харилцагч, зээлийн хүсэлт, одоо байгаа баримтуудыг нэг удаа хайж, файлуудыг хязгаартай зэрэгцээгээр
+     * хадгалаад, мэдээллийг нэг transaction-д batch-аар бичнэ.
+     *
+     * @throws IllegalArgumentException файлын тоо эсвэл нийт хэмжээ хязгаараас хэтэрвэл (юу ч хадгалахгүй)
+     */
+    List<UploadResult> uploadDocumentsInParallel(UUID customerId, UUID loanApplicationId,
+                                                 Map<DocumentType, MultipartFile> files);
+
     /**
      * Олон баримтын баталгаажуулалтын статус өөрчлөх
      * Update verification status for multiple documents
@@ -607,4 +659,14 @@ public interface DocumentService {
      * Validate data integrity
      */
     Map<String, Object> validateDataIntegrity();
+
+    /**
+     * Олон баримт байршуулалтын нэг файлын үр дүн (document эсвэл error-ийн аль нэг нь null)
+     */
+    record UploadResult(String documentType, String filename, DocumentDto document, String error) {
+
+        public boolean isSuccess() {
+            return document != null;
+        }
+    }
 }
\ No newline at end of file
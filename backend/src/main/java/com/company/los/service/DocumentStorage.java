@@ -0,0 +1,106 @@
+package com.company.los.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Баримтын файл хадгалах backend-ийн Service Interface
+ * Pluggable document file storage: sharded local mounts or an S3-compatible object store
+ *
+ * Хадгалсан файл бүр байршлын мөрөөр ({@code local://<mount>/ab/cd/<нэр>}, {@code s3://<bucket>/ab/cd/<нэр>})
+ * ялгагдаж, {@code Document.filePath}-д хадгалагдана. {@code ab/cd} нь файлын нэрийн hash-ийн угтвар тул
+ * файлууд хавтас, диск, object store-ийн partition-уудад жигд тархана. Схемгүй хуучин абсолют замыг
+ * бүх хэрэгжүүлэлт local файл гэж уншина.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Backend-ийн нэр (local, s3)
+     */
+    String getName();
+
+    /**
+     * Урсгалыг хадгалах. Алдаа гарвал хагас бичигдсэн файл үлдэхгүй.
+     *
+     * @param filename давтагдахгүй хадгалах нэр (generateStoredFilename)
+     * @param size     урсгалын урт (byte)
+     * @return Document.filePath-д хадгалах байршил
+     */
+    String store(String filename, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Local файлыг хадгалалтад шилжүүлэх - амжилттай бол эх файл үлдэхгүй
+     *
+     * @return Document.filePath-д хадгалах байршил
+     */
+    String moveIn(Path file, String filename, String contentType) throws IOException;
+
+    /**
+     * Файлыг унших
+     *
+     * @throws java.nio.file.NoSuchFileException файл байхгүй бол
+     */
+    InputStream open(String location) throws IOException;
+
+    boolean exists(String location) throws IOException;
+
+    /**
+     * Файл устгах
+     *
+     * @return файл байсан бол true (object store мэдэгдэхгүй бол үргэлж true)
+     */
+    boolean delete(String location) throws IOException;
+
+    /**
+     * Backend файлыг local file system-д хадгалдаг бол түүний зам, үгүй бол null
+     */
+    Path localFile(String location);
+
+    /**
+     * Хадгалалтын статистик (mount-уудын сул зай, хүсэлтийн тоо)
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Path шаарддаг боловсруулалтад (OCR) файл өгөх: local бол шууд, үгүй бол түр файлд татаж, дараа нь устгана
+     */
+    default <T> T withLocalFile(String location, LocalFileAction<T> action) throws IOException {
+        Path local = localFile(location);
+        if (local != null) {
+            return action.apply(local);
+        }
+        Path temp = Files.createTempFile("document-", ".tmp");
+        try {
+            try (InputStream in = open(location)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return action.apply(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Файлын нэрийн SHA-256-ийн эхний хоёр byte-аас {@code ab/cd} хэлбэрийн shard угтвар
+     */
+    static String shardPrefix(String filename) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(filename.getBytes(StandardCharsets.UTF_8));
+            return String.format("%02x/%02x", hash[0] & 0xff, hash[1] & 0xff);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    interface LocalFileAction<T> {
+        T apply(Path file) throws IOException;
+    }
+}
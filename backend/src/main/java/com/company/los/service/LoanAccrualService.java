@@ -0,0 +1,31 @@
+package com.company.los.service;
+
+import com.company.los.enums.DayCountConvention;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Олгогдсон зээлийн өдрийн хүүгийн хуримтлалын Service Interface
+ * Daily interest accrual batch for DISBURSED loans
+ */
+public interface LoanAccrualService {
+
+    /**
+     * Тухайн бизнес өдрийн хуримтлалыг ажиллуулах.
+     * Дууссан partition-ийг алгасч, тасалдсан partition-ийг checkpoint-оос үргэлжлүүлнэ.
+     */
+    Map<String, Object> runDailyAccrual(LocalDate businessDate);
+
+    /**
+     * Бизнес өдрийн ажлын явц (partition бүрийн checkpoint)
+     */
+    Map<String, Object> getAccrualRunStatus(LocalDate businessDate);
+
+    /**
+     * Нэг өдрийн хүүгийн хуримтлал: үлдэгдэл × жилийн хүү × өдөр / жилийн суурь
+     */
+    BigDecimal calculateDailyAccrual(BigDecimal principalBalance, BigDecimal annualRate,
+                                     DayCountConvention dayCount, LocalDate businessDate);
+}
@@ -2,12 +2,14 @@ package com.company.los.service;
 
 import com.company.los.dto.CreateLoanRequestDto;
 import com.company.los.dto.LoanApplicationDto;
+import com.company.los.dto.CursorPage;
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanApplication;
 import com.company.los.enums.LoanStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,6 +33,11 @@ public interface LoanApplicationService {
      */
     LoanApplicationDto getLoanApplicationById(UUID id);
 
+    /**
+     * Зээлийн хүсэлтийн ETag (entity ачаалахгүй). Олдохгүй бол null
+     */
+    String getLoanApplicationETag(UUID id);
+
     /**
      * Зээлийн хүсэлт шинэчлэх
      */
@@ -99,6 +106,16 @@ public interface LoanApplicationService {
      */
     Page<LoanApplicationDto> getAllLoanApplications(Pageable pageable);
 
+    /**
+     * Бүх зээлийн хүсэлт - keyset (cursor) хуудаслалт, шинэ нь эхэндээ. COUNT хийхгүй.
+     *
+     * @param cursor       өмнөх хуудасны nextCursor (эхний хуудаст null)
+     * @param size         хуудасны хэмжээ
+     * @param includeTotal ойролцоо нийт тоог статистикаас нэмэх эсэх
+     * @throws IllegalArgumentException cursor буруу бол
+     */
+    CursorPage<LoanApplicationDto> getLoanApplicationsByCursor(String cursor, int size, boolean includeTotal);
+
     /**
      * Хүсэлтийн дугаараар хайх
      */
@@ -305,6 +322,11 @@ public interface LoanApplicationService {
      */
     byte[] exportLoanApplicationsToExcel(List<UUID> applicationIds);
 
+    /**
+     * Зээлийн хүсэлтүүдийг XLSX-ээр урсгалд шууд бичих (бүх мөрийг санах ойд ачаалахгүй)
+     */
+    int exportLoanApplicationsToExcel(List<UUID> applicationIds, OutputStream out);
+
     // Харилцагчтай холбоотой
     /**
      * Харилцагчийн сүүлийн зээлийн хүсэлт
@@ -328,6 +350,12 @@ public interface LoanApplicationService {
     int updateStatusForApplications(List<UUID> applicationIds, LoanStatus currentStatus, 
                                   LoanStatus newStatus);
 
+    /**
+     * Олон хүсэлтийг тухайн статус руу шилжүүлж болох эсэхийг бөөнөөр үнэлэх (өөрчлөлт хийхгүй)
+     */
+    List<LoanWorkflowService.TransitionDecision> evaluateStatusTransitions(List<UUID> applicationIds,
+                                                                         LoanStatus targetStatus);
+
     // Business rules
     /**
      * Зээлийн хязгаар шалгах
@@ -0,0 +1,39 @@
+package com.company.los.service;
+
+import com.company.los.dto.LoanQuoteDto;
+import com.company.los.entity.LoanApplication;
+import com.company.los.enums.PrepaymentStrategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Зээл хаах болон урьдчилан төлөлтийн тооцооны Service Interface
+ * Loan payoff / prepayment quote Service Interface
+ */
+public interface LoanQuoteService {
+
+    /**
+     * Тухайн өдрийн байдлаар зээлийг бүрэн хаах дүн.
+     * installmentsPaid null бол хуваарийн дагуу бүх төлбөр хийгдсэн гэж үзнэ.
+     */
+    LoanQuoteDto getPayoffQuote(UUID loanApplicationId, LocalDate quoteDate, Integer installmentsPaid);
+
+    /**
+     * Хэсэгчилсэн урьдчилан төлөлтийн дараах шинэ хуваарь
+     */
+    LoanQuoteDto getPrepaymentQuote(UUID loanApplicationId, BigDecimal prepaymentAmount,
+                                    PrepaymentStrategy strategy, LocalDate quoteDate);
+
+    /**
+     * Олон зээлийн хаалтын дүнг нэг дор тооцох (call-centre)
+     */
+    List<LoanQuoteDto> getBulkPayoffQuotes(List<UUID> loanApplicationIds, LocalDate quoteDate);
+
+    /**
+     * Ачаалагдсан entity дээр хаалтын дүн тооцох (DB хандалтгүй)
+     */
+    LoanQuoteDto calculatePayoffQuote(LoanApplication loanApplication, LocalDate quoteDate, Integer installmentsPaid);
+}
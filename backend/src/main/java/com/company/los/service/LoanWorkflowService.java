@@ -0,0 +1,82 @@
+package com.company.los.service;
+
+import com.company.los.entity.LoanApplication;
+import com.company.los.enums.LoanStatus;
+import com.company.los.enums.WorkflowStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Зээлийн хүсэлтийн ажлын урсгалын төлөвийн машин Service Interface
+ * Table-driven loan application workflow (transitions, guards, side-effects)
+ *
+ * Шилжилт, нөхцөл (guard), дагалдах үйлдэл (effect) нь {@code app.loan.workflow.*} тохиргооноос уншигдаж
+ * эхлэхэд EnumMap/bit-matrix болж хөрвөнө. Төлөвийн шилжилтийг шалгах цорын ганц эх сурвалж.
+ */
+public interface LoanWorkflowService {
+
+    /**
+     * Шилжилт хүснэгтэд зөвшөөрөгдсөн эсэх (guard шалгахгүй, O(1))
+     */
+    boolean canTransition(LoanApplication.ApplicationStatus from, LoanApplication.ApplicationStatus to);
+
+    /**
+     * Тухайн төлөвөөс шилжиж болох төлөвүүд
+     */
+    Set<LoanApplication.ApplicationStatus> getAllowedTransitions(LoanApplication.ApplicationStatus from);
+
+    /**
+     * Хүснэгт болон guard-уудыг шалгах
+     *
+     * @throws IllegalStateException шилжилт хориотой эсвэл guard татгалзсан бол
+     */
+    void checkTransition(LoanApplication application, LoanApplication.ApplicationStatus target);
+
+    /**
+     * Олон хүсэлтийг нэг зорилтот төлөв рүү шилжүүлж болох эсэхийг бөөнөөр үнэлэх (DB өөрчлөхгүй)
+     */
+    List<TransitionDecision> evaluateTransitions(Collection<LoanApplication> applications,
+                                                 LoanApplication.ApplicationStatus target);
+
+    /**
+     * Амжилттай шилжилтийн дараа: өмнөх төлөвт байсан хугацааг хэмжиж, effect-үүдийг
+     * транзакц commit болсны дараа гүйцэтгэнэ (rollback болбол мэдэгдэл илгээгдэхгүй)
+     *
+     * @param from      Өмнөх төлөв
+     * @param enteredAt Өмнөх төлөвт орсон хугацаа (null бол хэмжихгүй)
+     * @param application Шилжсэн хүсэлт
+     */
+    void onTransitionCompleted(LoanApplication.ApplicationStatus from, LocalDateTime enteredAt,
+                               LoanApplication application);
+
+    /**
+     * API-ийн LoanStatus-ийг хүсэлтийн төлөв рүү хөрвүүлэх
+     *
+     * @throws IllegalArgumentException хүсэлтийн төлөвт харгалзахгүй бол
+     */
+    LoanApplication.ApplicationStatus toApplicationStatus(LoanStatus loanStatus);
+
+    /**
+     * Хүсэлтийн төлөвийг API-ийн LoanStatus руу хөрвүүлэх
+     */
+    LoanStatus toLoanStatus(LoanApplication.ApplicationStatus applicationStatus);
+
+    /**
+     * Хүсэлтийн төлөвийн ерөнхий үе шат (IN_PROGRESS, ON_HOLD, COMPLETED, CANCELLED)
+     */
+    WorkflowStatus getWorkflowStatus(LoanApplication.ApplicationStatus status);
+
+    /**
+     * Бөөн үнэлгээний нэг мөрийн үр дүн; allowed=false бол reason-д шалтгаан
+     */
+    record TransitionDecision(UUID applicationId,
+                              LoanApplication.ApplicationStatus from,
+                              LoanApplication.ApplicationStatus to,
+                              boolean allowed,
+                              String reason) {
+    }
+}
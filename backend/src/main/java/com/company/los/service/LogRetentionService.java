@@ -0,0 +1,26 @@
+package com.company.los.service;
+
+import java.util.Map;
+
+/**
+ * Аудит болон үйл ажиллагааны логийн хадгалалтын Service Interface
+ * Audit/activity log retention
+ *
+ * PostgreSQL дээр сарын partition-уудыг урьдчилан үүсгэж, хадгалах хугацаанаас хэтэрсэн
+ * partition-ийг (сонголтоор экспортлоод) бүтнээр нь устгана. Partition-гүй өгөгдлийн сан дээр
+ * хуучин мөрүүдийг keyset chunk-аар, хооронд нь завсарлага авч устгана.
+ */
+public interface LogRetentionService {
+
+    /**
+     * Хадгалалтын ажлыг нэг удаа ажиллуулах. Аль хэдийн ажиллаж байвал IllegalStateException.
+     *
+     * @return хүснэгт бүрийн үр дүн
+     */
+    Map<String, Object> runRetention();
+
+    /**
+     * Тохиргоо, горим (partition / chunk) болон сүүлийн ажиллагааны үр дүн
+     */
+    Map<String, Object> getRetentionStatus();
+}
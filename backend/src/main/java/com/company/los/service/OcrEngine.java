@@ -0,0 +1,57 @@
+package com.company.los.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * OCR болон өгөгдөл задлах engine-ийн интерфэйс
+ * Pluggable OCR / data-extraction engine used by the document OCR pipeline stages
+ *
+ * Алхам бүр pipeline-ийн тусдаа шатанд, өөр өөр thread дээр дуудагдана - хэрэгжүүлэлт thread-safe байна.
+ * Бодит engine-ийг {@code app.document.ocr.engine} тохиргоогоор сонгоно; анхдагч нь {@code local}.
+ */
+public interface OcrEngine {
+
+    /**
+     * Engine-ийн нэр (тохиргооны утга)
+     */
+    String getName();
+
+    /**
+     * Файлыг хуудсуудад задлах
+     */
+    List<Page> decode(Path file, String contentType) throws IOException;
+
+    /**
+     * Хуудсыг танихад бэлтгэх (хазайлт засах, хар цагаан болгох г.м.)
+     */
+    Page preprocess(Page page);
+
+    /**
+     * Хуудсуудаас текст таних
+     */
+    Recognition recognize(List<Page> pages);
+
+    /**
+     * Танисан текстээс баримтын төрлийн талбаруудыг JSON хэлбэрээр задлах
+     *
+     * @param documentType баримтын төрлийн нэр (байхгүй бол null)
+     */
+    String extract(String text, String documentType);
+
+    /**
+     * Задалсан хуудас
+     */
+    record Page(int number, String contentType, byte[] content) {
+    }
+
+    /**
+     * Танилтын үр дүн
+     *
+     * @param confidence 0..1
+     */
+    record Recognition(String text, BigDecimal confidence) {
+    }
+}
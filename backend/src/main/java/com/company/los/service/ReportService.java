@@ -0,0 +1,49 @@
+package com.company.los.service;
+
+import com.company.los.dto.ReportJobDto;
+import com.company.los.enums.ReportType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Async тайлангийн Service Interface
+ * Asynchronous, watermark-cached report generation
+ *
+ * Үр дүн (тайлан, параметр, data watermark)-аар хадгалагдана. Эх хүснэгтүүд
+ * watermark-аас хойш өөрчлөгдөөгүй бол давтан хүсэлтэд хадгалсан үр дүнг буцаана.
+ */
+public interface ReportService {
+
+    /**
+     * Тайлан хүсэх. Тохирох үр дүн эсвэл ажиллаж буй ажил байвал түүнийг буцаана,
+     * үгүй бол шинэ ажил дараалалд оруулна.
+     */
+    ReportJobDto submitReport(ReportType reportType, Map<String, String> parameters, String requestedBy);
+
+    /**
+     * Ажлын төлөв
+     */
+    ReportJobDto getJob(UUID jobId);
+
+    /**
+     * Дууссан ажлын үр дүн (columns + rows)
+     */
+    Map<String, Object> getResult(UUID jobId);
+
+    /**
+     * Дууссан ажлын үр дүнг CSV болгох
+     */
+    byte[] exportResultCsv(UUID jobId);
+
+    /**
+     * Боломжит тайлангийн төрлүүд
+     */
+    List<Map<String, Object>> getReportTypes();
+
+    /**
+     * Хуучирсан үр дүнг цэвэрлэх
+     */
+    int purgeExpiredResults();
+}
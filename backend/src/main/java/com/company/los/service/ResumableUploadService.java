@@ -0,0 +1,94 @@
+package com.company.los.service;
+
+import com.company.los.dto.DocumentDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resumable (chunk-ээр) баримт байршуулалтын Service Interface
+ * Resumable chunked document uploads: create session, write chunks at offsets, complete
+ *
+ * Chunk бүр sparse түр файлд өөрийн байрлалд бичигдэж, хүлээн авсан нь session-д тэмдэглэгдэнэ - тасарсан
+ * холболт дахин эхлэхдээ зөвхөн дутуу chunk-уудыг илгээнэ. SHA-256 нь дараалсан chunk-ууд ирэх тусам
+ * тооцогдож, дуусгахад эцсийн checksum-ыг client-ийн өгсөнтэй тулгана.
+ */
+public interface ResumableUploadService {
+
+    /**
+     * Upload session нээх - файлын бүтэн хэмжээтэй sparse түр файл үүсгэнэ
+     *
+     * @param createdBy session-ийг эзэмших хэрэглэгч
+     * @throws IllegalArgumentException хэмжээ, нэр, checksum буруу бол
+     * @throws IllegalStateException    түр файлд хангалттай зай байхгүй бол
+     */
+    UploadStatus createSession(SessionRequest request, String createdBy);
+
+    /**
+     * Chunk бичих. Offset нь chunkSize-ийн үржвэр, урт нь тухайн chunk-ийн хэмжээтэй тэнцүү байна.
+     * Аль хэдийн хүлээн авсан chunk-ийг дахин илгээвэл бичилгүй одоогийн төлөвийг буцаана.
+     *
+     * @param chunkChecksum chunk-ийн SHA-256 (hex, заавал биш) - таарахгүй бол бичихгүй
+     * @throws com.company.los.exception.ResourceNotFoundException session байхгүй бол
+     * @throws org.springframework.security.access.AccessDeniedException username нь session нээсэн хэрэглэгч биш бол
+     * @throws IllegalArgumentException                           offset, урт, checksum буруу бол
+     * @throws IllegalStateException                              session нээлттэй биш бол
+     */
+    UploadStatus writeChunk(UUID sessionId, long offset, byte[] data, String chunkChecksum, String username);
+
+    /**
+     * Session-ий төлөв (дутуу chunk-уудын offset-той)
+     *
+     * @throws com.company.los.exception.ResourceNotFoundException session байхгүй бол
+     * @throws org.springframework.security.access.AccessDeniedException username нь session нээсэн хэрэглэгч биш бол
+     */
+    UploadStatus getStatus(UUID sessionId, String username);
+
+    /**
+     * Бүх chunk ирсэн бол checksum шалгаж баримт үүсгэх. Дахин дуудвал үүссэн баримтыг буцаана.
+     * Файл зөөх хооронд session COMPLETING төлөвт байна; баримт үүсгэж чадаагүй бол OPEN болж буцна.
+     *
+     * @throws IllegalStateException    chunk дутуу, session цуцлагдсан эсвэл өөр хүсэлт дуусгаж байгаа бол
+     * @throws IllegalArgumentException файлын checksum таарахгүй бол (session цуцлагдана)
+     * @throws org.springframework.security.access.AccessDeniedException username нь session нээсэн хэрэглэгч биш бол
+     */
+    DocumentDto complete(UUID sessionId, String username);
+
+    /**
+     * Session цуцлах - түр файлыг устгана
+     *
+     * @throws org.springframework.security.access.AccessDeniedException username нь session нээсэн хэрэглэгч биш бол
+     */
+    void abort(UUID sessionId, String username);
+
+    /**
+     * Хугацаа нь дууссан session-уудыг түр файлтай нь устгах
+     *
+     * @return устгасан session-ий тоо
+     */
+    int reapExpired();
+
+    /**
+     * Session-уудын статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Session нээх хүсэлт
+     *
+     * @param checksum бүтэн файлын SHA-256 (hex, заавал биш)
+     */
+    record SessionRequest(UUID customerId, UUID loanApplicationId, UUID documentTypeId, String filename,
+                          String contentType, long totalSize, String checksum) {
+    }
+
+    /**
+     * @param nextOffset     дараагийн дутуу chunk-ийн offset (бүгд ирсэн бол totalSize)
+     * @param missingOffsets дутуу chunk-уудын эхний offset-ууд
+     */
+    record UploadStatus(UUID sessionId, String status, long totalSize, int chunkSize, long receivedBytes,
+                        long nextOffset, List<Long> missingOffsets, LocalDateTime expiresAt, UUID documentId) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.los.service;
+
+import com.company.los.dto.ApplicationStateEntry;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Зээлийн хүсэлтийн SLA хяналтын Service Interface
+ * Timer-wheel based SLA monitor for loan application state deadlines
+ *
+ * Хүсэлт эцсийн бус төлөвт орох бүрт тухайн төлөвийн хугацаа (deadline) timer wheel-д бүртгэгдэнэ.
+ * Хугацаа өнгөрөх мөчид {@link SlaEscalation} event нийтлэгдэж, хүсэлт хугацаа хэтэрсэн олонлогт орно;
+ * дараагийн шатлал тогтмол интервалаар давтагдана. Төлөв солигдоход таймер цуцлагдана.
+ * Эхлэхэд болон үе үе DB-ээс сэргээгдэнэ.
+ */
+public interface SlaMonitorService {
+
+    /**
+     * Хүсэлт төлөвт орсныг бүртгэх (эцсийн эсвэл хяналтгүй төлөв бол таймер цуцлагдана)
+     */
+    void onStateEntered(ApplicationStateEntry entry);
+
+    /**
+     * Хүсэлтийг хяналтаас хасах
+     */
+    void forget(UUID applicationId);
+
+    /**
+     * Хүсэлт одоогийн төлөвийнхөө хугацааг хэтрүүлсэн эсэх
+     */
+    boolean isOverdue(UUID applicationId);
+
+    /**
+     * Хугацаа хэтэрсэн хүсэлтүүд, хугацаа нь эрт дууссан нь түрүүнд
+     */
+    List<SlaBreach> getOverdue();
+
+    /**
+     * Тухайн төлөвт threshold-оос өмнө орсон хүсэлтүүдийн ID (хамгийн удаж буй нь түрүүнд)
+     *
+     * @throws IllegalArgumentException төлөв хяналтад байхгүй (эцсийн төлөв) бол
+     */
+    List<UUID> getEnteredBefore(ApplicationStatus status, LocalDateTime threshold);
+
+    /**
+     * Төлөв хяналтад байгаа (эцсийн бус) эсэх
+     */
+    boolean isTracked(ApplicationStatus status);
+
+    /**
+     * Таймеруудыг DB-тэй тулгах
+     */
+    Map<String, Object> rebuild();
+
+    /**
+     * Хяналтын статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Хугацаа хэтэрсэн хүсэлт
+     *
+     * @param escalationLevel 1 - анхны хугацаа хэтэрсэн, түүнээс дээш - дараагийн шатлалууд
+     */
+    record SlaBreach(UUID applicationId, String applicationNumber, ApplicationStatus status,
+                     LocalDateTime enteredAt, LocalDateTime deadline, int escalationLevel) {
+    }
+
+    /**
+     * Хугацаа өнгөрөх мөчид нийтлэгдэх Spring application event
+     */
+    record SlaEscalation(UUID applicationId, String applicationNumber, ApplicationStatus status,
+                         LocalDateTime enteredAt, LocalDateTime deadline, int escalationLevel,
+                         LocalDateTime firedAt) {
+    }
+}
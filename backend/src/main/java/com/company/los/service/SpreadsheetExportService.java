@@ -0,0 +1,31 @@
+package com.company.los.service;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Excel (XLSX) экспортын Service Interface
+ * Streaming spreadsheet export
+ *
+ * Мөрүүдийг forward-only cursor-оор уншиж XLSX-ийг гаралтын урсгал руу шууд бичнэ;
+ * мөрийн тооноос үл хамааран санах ойн хэрэглээ тогтмол байна.
+ */
+public interface SpreadsheetExportService {
+
+    String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    /**
+     * Зээлийн хүсэлтүүдийг экспортлох. ids хоосон бол устгагдаагүй бүх хүсэлт.
+     *
+     * @return бичсэн өгөгдлийн мөрийн тоо
+     */
+    int exportLoanApplications(List<UUID> applicationIds, OutputStream out);
+
+    /**
+     * Харилцагчдыг экспортлох. ids хоосон бол устгагдаагүй бүх харилцагч.
+     *
+     * @return бичсэн өгөгдлийн мөрийн тоо
+     */
+    int exportCustomers(List<UUID> customerIds, OutputStream out);
+}
@@ -2,6 +2,7 @@ package com.company.los.service;
 
 import com.company.los.dto.CreateUserRequestDto;
 import com.company.los.dto.UserDto;
+import com.company.los.dto.CursorPage;
 import com.company.los.entity.Role;
 import com.company.los.entity.User;
 import org.springframework.data.domain.Page;
@@ -73,6 +74,16 @@ public interface UserService extends UserDetailsService {
      */
     Page<UserDto> getAllUsers(Pageable pageable, String search, String department, String status, String role);
 
+    /**
+     * Бүх хэрэглэгч - keyset (cursor) хуудаслалт, шинэ нь эхэндээ. COUNT хийхгүй.
+     *
+     * @param cursor       өмнөх хуудасны nextCursor (эхний хуудаст null)
+     * @param size         хуудасны хэмжээ
+     * @param includeTotal ойролцоо нийт тоог статистикаас нэмэх эсэх
+     * @throws IllegalArgumentException cursor буруу бол
+     */
+    CursorPage<UserDto> getUsersByCursor(String cursor, int size, boolean includeTotal);
+
     /**
      * Статусаар хайх
      */
@@ -0,0 +1,66 @@
+package com.company.los.service;
+
+import com.company.los.dto.WorkQueueItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Зээлийн ажилтны ажлын дарааллын Service Interface
+ * In-memory, DB-backed priority work queue for loan officers
+ *
+ * Ажилтан бүрийн болон хуваалцсан (хариуцагчгүй) дараалал санах ойд эрэмбэлэгдсэн байна.
+ * Дараагийн ажлыг O(log n)-ээр олгож, хугацаатай lease өгнө; lease сунгагдахгүй бол ажил буцаж дараалалд орно.
+ * Өөрийн болон хуваалцсан дараалал хоосон бол хамгийн их ачаалалтай ажилтны дарааллаас авна (work stealing).
+ */
+public interface WorkQueueService {
+
+    /**
+     * Ажилтанд дараагийн ажлыг олгох
+     *
+     * @return олгосон lease, дараалал бүгд хоосон бол empty
+     */
+    Optional<WorkLease> next(String officer);
+
+    /**
+     * Lease сунгах (heartbeat) - мөр дээрх lease_expires_at-ийг сунгана
+     *
+     * @throws IllegalStateException lease байхгүй эсвэл өөр ажилтных бол
+     */
+    WorkLease renew(UUID applicationId, String officer);
+
+    /**
+     * Ажлыг дуусгалгүйгээр дараалалд буцаах
+     */
+    void release(UUID applicationId, String officer);
+
+    /**
+     * Хүсэлт өөрчлөгдсөний дараа (төлөв, эрэмбэ, хариуцагч) дараалал дахь байрлалыг DB-ээс шинэчлэх
+     */
+    void refresh(UUID applicationId);
+
+    /**
+     * Ажилтанд харагдах эхний ажлууд (өөрийн болон хуваалцсан дарааллаас, lease олгохгүй)
+     */
+    List<WorkQueueItem> peek(String officer, int limit);
+
+    /**
+     * Санах ойн дарааллыг DB-тэй тулгах (идэвхтэй lease хэвээр үлдэнэ)
+     */
+    Map<String, Object> rebuild();
+
+    /**
+     * Дарааллын хэмжээ, lease, stealing статистик
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Олгосон ажил; expiresAt-аас өмнө renew хийхгүй бол дараалалд буцна
+     */
+    record WorkLease(UUID applicationId, String applicationNumber, String officer,
+                     LocalDateTime expiresAt, boolean stolen) {
+    }
+}
@@ -0,0 +1,274 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.ActivityLogService;
+import com.company.los.util.MpscRingBuffer;
+import com.company.los.util.UuidV7;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Хэрэглэгчийн үйл ажиллагааны лог Service Implementation
+ *
+ * Request thread: MpscRingBuffer.offer (нэг CAS). "activity-flusher" thread: buffer-ийг batch-size
+ * хүртэл хоослож activity_logs руу нэг batchUpdate-ээр бичнэ.
+ *
+ * Backpressure: buffer sample-threshold-оос дээш дүүрсэн үед өгөгдөл өөрчлөхгүй (унших) үйлдлийн
+ * зөвхөн sample-rate-д нэгийг авна; buffer бүрэн дүүрвэл бүх шинэ үйлдэл хаягдана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityLogServiceImpl implements ActivityLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogServiceImpl.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activity_logs (id, user_id, activity_type, entity_type, entity_id, description, " +
+            "ip_address, user_agent, session_id, details, severity, source, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'WEB', ?)";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, user_id, activity_type, entity_type, entity_id, description, ip_address, details, " +
+            "severity, created_at FROM activity_logs ";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.activity.buffer-capacity:32768}")
+    private int bufferCapacity = 32768;
+
+    @Value("${app.activity.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.activity.flush-interval-ms:250}")
+    private long flushIntervalMs = 250;
+
+    @Value("${app.activity.sample-threshold:0.75}")
+    private double sampleThreshold = 0.75;
+
+    @Value("${app.activity.sample-rate:10}")
+    private int sampleRate = 10;
+
+    private MpscRingBuffer<Event> buffer;
+    private int sampleFrom;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        sampleFrom = (int) (buffer.capacity() * sampleThreshold);
+        running = true;
+        flusher = new Thread(this::flushLoop, "activity-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Activity log pipeline started: buffer={}, batchSize={}, sampling above {} pending (1/{})",
+                buffer.capacity(), batchSize, sampleFrom, sampleRate);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean record(Event event) {
+        if (!event.mutating() && buffer.size() >= sampleFrom
+                && sampleCounter.incrementAndGet() % sampleRate != 0) {
+            sampledOut.incrementAndGet();
+            return false;
+        }
+        if (buffer.offer(event)) {
+            recorded.incrementAndGet();
+            return true;
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            logger.warn("Activity buffer full, dropped {} events so far", dropped.get());
+        }
+        return false;
+    }
+
+    @Override
+    public List<Map<String, Object>> getEntityActivity(String entityType, UUID entityId, LocalDateTime since, int limit) {
+        if (entityId == null) {
+            return new ArrayList<>();
+        }
+        if (since == null) {
+            return jdbcTemplate.query(SELECT_COLUMNS +
+                    "WHERE entity_type = ? AND entity_id = ? ORDER BY created_at DESC LIMIT ?",
+                    activityRowMapper(), entityType, entityId.toString(), Math.max(1, limit));
+        }
+        return jdbcTemplate.query(SELECT_COLUMNS +
+                "WHERE entity_type = ? AND entity_id = ? AND created_at >= ? ORDER BY created_at DESC LIMIT ?",
+                activityRowMapper(), entityType, entityId.toString(), Timestamp.valueOf(since), Math.max(1, limit));
+    }
+
+    @Override
+    public Page<Map<String, Object>> getUserActivity(UUID userId, Pageable pageable) {
+        if (userId == null) {
+            return Page.empty(pageable);
+        }
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM activity_logs WHERE user_id = ?", Long.class, userId.toString());
+        if (total == null || total == 0) {
+            return Page.empty(pageable);
+        }
+        List<Map<String, Object>> content = jdbcTemplate.query(SELECT_COLUMNS +
+                "WHERE user_id = ? ORDER BY created_at DESC LIMIT ? OFFSET ?",
+                activityRowMapper(), userId.toString(), pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recorded", recorded.get());
+        stats.put("sampledOut", sampledOut.get());
+        stats.put("dropped", dropped.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("pending", buffer.size());
+        stats.put("capacity", buffer.capacity());
+        return stats;
+    }
+
+    // Flusher thread
+
+    private void flushLoop() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (flushOnce(batch) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+        while (flushOnce(batch) > 0) {
+            // зогсоохдоо үлдсэнийг бичих
+        }
+    }
+
+    private int flushOnce(List<Event> batch) {
+        batch.clear();
+        int count = buffer.drainTo(batch, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(count);
+        for (Event event : batch) {
+            rows.add(new Object[]{
+                    UuidV7.next().toString(),
+                    event.userId(),
+                    truncate(event.activityType(), 50),
+                    truncate(event.entityType(), 50),
+                    truncate(event.entityId(), 36),
+                    event.httpMethod() + " " + event.path(),
+                    truncate(event.ipAddress(), 45),
+                    event.userAgent(),
+                    truncate(event.sessionId(), 255),
+                    details(event),
+                    event.httpStatus() >= 500 ? "ERROR" : event.httpStatus() >= 400 ? "WARN" : "INFO",
+                    Timestamp.valueOf(event.createdAt())
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.addAndGet(count);
+        } catch (Exception e) {
+            failed.addAndGet(count);
+            logger.error("Failed to write {} activity rows: {}", count, e.getMessage(), e);
+        }
+        return count;
+    }
+
+    private String details(Event event) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("username", event.username());
+        details.put("method", event.httpMethod());
+        details.put("path", event.path());
+        details.put("status", event.httpStatus());
+        details.put("durationMs", event.durationMillis());
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private RowMapper<Map<String, Object>> activityRowMapper() {
+        return (rs, rowNum) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", rs.getString("id"));
+            entry.put("userId", rs.getString("user_id"));
+            entry.put("activityType", rs.getString("activity_type"));
+            entry.put("entityType", rs.getString("entity_type"));
+            entry.put("entityId", rs.getString("entity_id"));
+            entry.put("description", rs.getString("description"));
+            entry.put("ipAddress", rs.getString("ip_address"));
+            entry.put("severity", rs.getString("severity"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            entry.put("createdAt", createdAt != null ? createdAt.toLocalDateTime() : null);
+            entry.put("details", fromJson(rs.getString("details")));
+            return entry;
+        };
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private static String truncate(String value, int length) {
+        return value != null && value.length() > length ? value.substring(0, length) : value;
+    }
+}
@@ -0,0 +1,165 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.ApplicationNumberService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Зээлийн хүсэлтийн дугаар олгох Service Implementation (hi/lo)
+ *
+ * number_sequences хүснэгтийн мөрийг (жишээ: LN-2025) block-size-аар нэмэгдүүлж [hi - size + 1, hi]
+ * блокийг тусдаа богино transaction-д нөөцөлнө; мөрийн түгжээ node-уудын хооронд блокийг давхцуулахгүй.
+ * Блок доторх дугаар AtomicLong-оор түгжээгүй олгогдоно, зөвхөн блок дуусахад шинээр нөөцөлнө.
+ * Restart эсвэл rollback хийгдсэн үед ашиглагдаагүй дугаар алгасагдана (цоорхой) - давхардахгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+public class ApplicationNumberServiceImpl implements ApplicationNumberService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationNumberServiceImpl.class);
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+
+    @Value("${app.loan.application-number.prefix:LN}")
+    private String prefix;
+
+    @Value("${app.loan.application-number.block-size:50}")
+    private int blockSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong blocksReserved = new AtomicLong();
+
+    public ApplicationNumberServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Дуудагчийн transaction-аас үл хамааран commit хийгдэж мөрийн түгжээг шууд чөлөөлнө
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public String nextApplicationNumber() {
+        int year = currentYear();
+        while (true) {
+            Block block = current.get();
+            if (block != null && block.year == year) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    issued.incrementAndGet();
+                    return format(year, value);
+                }
+            }
+            refill(block, year);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Block block = current.get();
+        stats.put("prefix", prefix);
+        stats.put("blockSize", blockSize);
+        stats.put("issued", issued.get());
+        stats.put("blocksReserved", blocksReserved.get());
+        if (block != null) {
+            stats.put("sequenceKey", sequenceKey(block.year));
+            stats.put("blockLast", block.last);
+            stats.put("remainingInBlock", Math.max(0, block.last - block.next.get() + 1));
+        }
+        return stats;
+    }
+
+    /**
+     * Дугаарын жил - шинэ жилд шилжихэд блок шинэ sequence мөрөөс нөөцлөгдөнө
+     */
+    protected int currentYear() {
+        return Year.now().getValue();
+    }
+
+    // Private helper methods
+
+    /**
+     * Дууссан эсвэл өөр жилийн блокийг солих. Зөвхөн нэг thread нөөцөлнө, бусад нь шинэ блокийг ашиглана.
+     */
+    private synchronized void refill(Block exhausted, int year) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        long last = reserve(sequenceKey(year));
+        current.set(new Block(year, last - blockSize + 1, last));
+        blocksReserved.incrementAndGet();
+        logger.debug("Reserved application number block {}: {}..{}", sequenceKey(year), last - blockSize + 1, last);
+    }
+
+    /**
+     * Блок нөөцлөх: шинэ дээд утгыг (hi) буцаана
+     */
+    private long reserve(String sequenceKey) {
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            Long last = reserveTransaction.execute(status -> {
+                int updated = jdbcTemplate.update(
+                        "UPDATE number_sequences SET next_value = next_value + ?, updated_at = ? WHERE sequence_key = ?",
+                        blockSize, Timestamp.valueOf(LocalDateTime.now()), sequenceKey);
+                if (updated == 0) {
+                    return null;
+                }
+                return jdbcTemplate.queryForObject(
+                        "SELECT next_value FROM number_sequences WHERE sequence_key = ?", Long.class, sequenceKey);
+            });
+            if (last != null) {
+                return last;
+            }
+            // Жилийн анхны блок: мөр үүсгэнэ. Өөр node зэрэг үүсгэсэн бол UPDATE-ийг дахин оролдоно.
+            try {
+                reserveTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                        "INSERT INTO number_sequences (sequence_key, next_value, updated_at) VALUES (?, ?, ?)",
+                        sequenceKey, (long) blockSize, Timestamp.valueOf(LocalDateTime.now())));
+                return blockSize;
+            } catch (DuplicateKeyException e) {
+                logger.debug("Sequence {} created concurrently, retrying reservation", sequenceKey);
+            }
+        }
+        throw new IllegalStateException("Could not reserve application number block for " + sequenceKey);
+    }
+
+    private String sequenceKey(int year) {
+        return prefix + "-" + year;
+    }
+
+    private String format(int year, long value) {
+        return String.format("%s-%d-%06d", prefix, year, value);
+    }
+
+    private static final class Block {
+        private final int year;
+        private final long last;
+        private final AtomicLong next;
+
+        private Block(int year, long first, long last) {
+            this.year = year;
+            this.last = last;
+            this.next = new AtomicLong(first);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.company.los.service.impl;
+
+import com.company.los.entity.AuditLog;
+import com.company.los.service.AuditTrailService;
+import com.company.los.util.MpscRingBuffer;
+import com.company.los.util.UuidV7;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Аудитын мөр бүртгэлийн Service Implementation
+ *
+ * Request thread зөвхөн MpscRingBuffer.offer (нэг CAS) хийнэ. "audit-flusher" thread buffer-ийг
+ * batch-size хүртэл хоослож, JSON-д хөрвүүлэн audit_logs руу нэг batchUpdate-ээр бичнэ.
+ * Buffer дүүрвэл шинэ өөрчлөлт хаягдаж dropped тоолуур нэмэгдэнэ - бизнесийн транзакцийг
+ * аудит хэзээ ч удаашруулахгүй. Batch амжилтгүй бол мөр бүрийг дахин бичиж, зөвхөн бичигдэхгүй мөрийг хаяна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditTrailServiceImpl implements AuditTrailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrailServiceImpl.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (id, table_name, record_id, action, old_values, new_values, changed_by, " +
+            "changed_at, ip_address, user_agent, change_reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.audit.buffer-capacity:65536}")
+    private int bufferCapacity = 65536;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${app.audit.flush-interval-ms:200}")
+    private long flushIntervalMs = 200;
+
+    private MpscRingBuffer<Change> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Audit trail started: buffer={}, batchSize={}, flushInterval={}ms",
+                buffer.capacity(), batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean capture(Change change) {
+        if (buffer.offer(change)) {
+            captured.incrementAndGet();
+            return true;
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            logger.warn("Audit buffer full, dropped {} changes so far", dropped.get());
+        }
+        return false;
+    }
+
+    @Override
+    public List<Map<String, Object>> getAuditHistory(String tableName, UUID recordId, int limit) {
+        if (recordId == null) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(
+                "SELECT id, action, old_values, new_values, changed_by, changed_at, ip_address, change_reason " +
+                "FROM audit_logs " +
+                "WHERE table_name = ? AND record_id = ? ORDER BY changed_at DESC LIMIT ?",
+                (rs, rowNum) -> {
+                    String action = rs.getString("action");
+                    Map<String, Object> oldValues = fromJson(rs.getString("old_values"));
+                    Map<String, Object> newValues = fromJson(rs.getString("new_values"));
+
+                    Set<String> fields = new LinkedHashSet<>(newValues.keySet());
+                    fields.addAll(oldValues.keySet());
+                    List<Map<String, Object>> changes = new ArrayList<>(fields.size());
+                    for (String field : fields) {
+                        Map<String, Object> change = new LinkedHashMap<>();
+                        change.put("field", field);
+                        change.put("oldValue", oldValues.get(field));
+                        change.put("newValue", newValues.get(field));
+                        changes.add(change);
+                    }
+
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("id", rs.getString("id"));
+                    entry.put("action", action);
+                    entry.put("actionText", AuditLog.actionText(action));
+                    entry.put("changedBy", rs.getString("changed_by"));
+                    Timestamp changedAt = rs.getTimestamp("changed_at");
+                    entry.put("changedAt", changedAt != null ? changedAt.toLocalDateTime() : null);
+                    entry.put("ipAddress", rs.getString("ip_address"));
+                    entry.put("reason", rs.getString("change_reason"));
+                    entry.put("changes", changes);
+                    return entry;
+                },
+                tableName, recordId.toString(), Math.max(1, limit));
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("captured", captured.get());
+        stats.put("dropped", dropped.get());
+        stats.put("written", written.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        stats.put("pending", buffer.size());
+        stats.put("capacity", buffer.capacity());
+        return stats;
+    }
+
+    // Flusher thread
+
+    private void flushLoop() {
+        List<Change> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (flushOnce(batch) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+        // Зогсоохдоо үлдсэнийг бичиж дуусгах
+        while (flushOnce(batch) > 0) {
+            // drain
+        }
+    }
+
+    private int flushOnce(List<Change> batch) {
+        batch.clear();
+        int count = buffer.drainTo(batch, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>(count);
+        for (Change change : batch) {
+            rows.add(new Object[]{
+                    UuidV7.next().toString(),
+                    change.tableName(),
+                    change.recordId(),
+                    change.action(),
+                    toJson(change.oldValues()),
+                    toJson(change.newValues()),
+                    change.changedBy(),
+                    Timestamp.valueOf(change.changedAt()),
+                    change.ipAddress(),
+                    change.userAgent(),
+                    change.changeReason()
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.addAndGet(count);
+            batches.incrementAndGet();
+        } catch (DataAccessException e) {
+            logger.warn("Audit batch of {} rows failed, retrying row by row: {}", count, e.getMessage());
+            writeRowByRow(batch, rows);
+        } catch (Exception e) {
+            failed.addAndGet(count);
+            logger.error("Failed to write {} audit rows: {}", count, e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * Batch-ийн өмнөх statement-үүд commit болсон байж болно - id урьдчилан үүссэн тул давхар бичигдэхгүй
+     * (DuplicateKeyException = аль хэдийн бичигдсэн). Бичигдэхгүй мөрийг л лог-д үлдээж хаяна.
+     */
+    private void writeRowByRow(List<Change> batch, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, rows.get(i));
+                written.incrementAndGet();
+            } catch (DuplicateKeyException e) {
+                written.incrementAndGet();
+            } catch (DataAccessException e) {
+                failed.incrementAndGet();
+                Change change = batch.get(i);
+                logger.error("Dropped audit row {} {} {} by {} at {}: {}", change.tableName(), change.recordId(),
+                        change.action(), change.changedBy(), change.changedAt(), e.getMessage());
+            }
+        }
+    }
+
+    private String toJson(Map<String, Object> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            Map<String, Object> fallback = new LinkedHashMap<>();
+            values.forEach((key, value) -> fallback.put(key, value != null ? value.toString() : null));
+            try {
+                return objectMapper.writeValueAsString(fallback);
+            } catch (JsonProcessingException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            logger.warn("Unreadable audit values: {}", e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+}
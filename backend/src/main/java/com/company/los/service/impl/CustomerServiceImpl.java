@@ -1,6 +1,9 @@
 package com.company.los.service.impl;
 
 import com.company.los.dto.CustomerDto;
+import com.company.los.dto.CursorPage;
+import com.company.los.entity.ActivityLog;
+import com.company.los.entity.AuditLog;
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanApplication;
 import com.company.los.enums.CustomerStatus;
@@ -8,16 +11,26 @@ import com.company.los.enums.KYCStatus;
 import com.company.los.exception.ResourceNotFoundException;
 import com.company.los.repository.CustomerRepository;
 import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.repository.TableStatisticsRepository;
+import com.company.los.service.ActivityLogService;
+import com.company.los.service.AuditTrailService;
 import com.company.los.service.CustomerService;
+import com.company.los.service.SpreadsheetExportService;
+import com.company.los.util.EntityTags;
+import com.company.los.util.UuidV7;
+import com.company.los.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,8 +57,14 @@ import java.util.stream.Collectors;
 public class CustomerServiceImpl implements CustomerService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerServiceImpl.class);
+
+    private static final int AUDIT_HISTORY_LIMIT = 200;
     private final CustomerRepository customerRepository;
     private final LoanApplicationRepository loanApplicationRepository;
+    private final SpreadsheetExportService spreadsheetExportService;
+    private final AuditTrailService auditTrailService;
+    private final ActivityLogService activityLogService;
+    private final TableStatisticsRepository tableStatisticsRepository;
 
     @Override
     @Transactional(readOnly = true)
@@ -55,6 +74,25 @@ public class CustomerServiceImpl implements CustomerService {
         return customers.map(CustomerDto::fromEntity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerDto> getCustomersByCursor(String cursor, int size, boolean includeTotal) {
+        logger.debug("Fetching customers by cursor: {}, size: {}", cursor, size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        // Дараагийн хуудас байгаа эсэхийг мэдэхийн тулд нэг мөр илүү уншина
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Customer> rows = after == null
+                ? customerRepository.findSeekFirst(limit)
+                : customerRepository.findSeekAfter(after.sortKey(), after.id(), limit);
+
+        CursorPage<CustomerDto> page = CursorPage.of(rows, pageSize, Customer::getCreatedAt, Customer::getId, CustomerDto::fromEntity);
+        if (includeTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("customers"));
+        }
+        return page;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CustomerDto getCustomerById(UUID id) {
@@ -64,6 +102,14 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getCustomerETag(UUID id) {
+        return customerRepository.findUpdatedAtById(id)
+                .map(EntityTags::of)
+                .orElse(null);
+    }
+
     @Override
     @Transactional
     public CustomerDto createCustomer(CustomerDto customerDto) {
@@ -81,7 +127,7 @@ public class CustomerServiceImpl implements CustomerService {
         }
 
         Customer customer = customerDto.toEntity();
-        customer.setId(UUID.randomUUID());
+        customer.setId(UuidV7.next());
         customer.setCreatedAt(LocalDateTime.now());
         customer.setUpdatedAt(LocalDateTime.now());
         customer.setStatus(CustomerStatus.ACTIVE);
@@ -1048,8 +1094,14 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public byte[] exportCustomersToExcel(List<UUID> customerIds) {
-        logger.warn("exportCustomersToExcel not implemented yet");
-        return new byte[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportCustomersToExcel(customerIds, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public int exportCustomersToExcel(List<UUID> customerIds, OutputStream out) {
+        return spreadsheetExportService.exportCustomers(customerIds, out);
     }
 
     @Override
@@ -1065,14 +1117,13 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public List<Map<String, Object>> getCustomerAuditHistory(UUID customerId) {
-        logger.warn("getCustomerAuditHistory not implemented yet for customer: {}", customerId);
-        return new ArrayList<>();
+        return auditTrailService.getAuditHistory(AuditLog.TABLE_CUSTOMERS, customerId, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
     public List<Map<String, Object>> getCustomerActivityLog(UUID customerId, int days) {
-        logger.warn("getCustomerActivityLog not implemented yet for customer: {}", customerId);
-        return new ArrayList<>();
+        LocalDateTime since = days > 0 ? LocalDateTime.now().minusDays(days) : null;
+        return activityLogService.getEntityActivity(ActivityLog.ENTITY_CUSTOMER, customerId, since, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
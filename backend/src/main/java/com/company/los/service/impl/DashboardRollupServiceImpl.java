@@ -0,0 +1,411 @@
+package com.company.los.service.impl;
+
+import com.company.los.entity.RollupChangeListener;
+import com.company.los.service.DashboardRollupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard rollup хүснэгтүүдийг шинэчлэх логик.
+ *
+ * Өөрчлөгдсөн өдрүүдийг хоёр эх сурвалжаас цуглуулна:
+ * {@link RollupChangeListener}-ийн entity event болон updated_at watermark-аас хойших мөрүүд.
+ * Зөвхөн тэдгээр өдрийн rollup мөрүүдийг устгаж, тухайн өдрийн түүхий мөрүүдээс дахин тооцно.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardRollupServiceImpl implements DashboardRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardRollupServiceImpl.class);
+
+    private static final long LARGE_FILE_BYTES = 10485760L;
+
+    private static final String INSERT_LOAN_APPLICATION_ROLLUP =
+            "INSERT INTO loan_application_daily_rollups " +
+            "(stat_date, loan_product_id, province, status, application_count, requested_amount, approved_amount, max_requested_amount) " +
+            "SELECT CAST(la.created_at AS DATE), la.loan_product_id, COALESCE(c.province, ''), la.status, COUNT(*), " +
+            "COALESCE(SUM(la.requested_amount), 0), COALESCE(SUM(la.approved_amount), 0), COALESCE(MAX(la.requested_amount), 0) " +
+            "FROM loan_applications la LEFT JOIN customers c ON c.id = la.customer_id " +
+            "WHERE la.is_deleted = FALSE ";
+
+    private static final String GROUP_LOAN_APPLICATION_ROLLUP =
+            "GROUP BY CAST(la.created_at AS DATE), la.loan_product_id, COALESCE(c.province, ''), la.status";
+
+    private static final String INSERT_CUSTOMER_ROLLUP =
+            "INSERT INTO customer_daily_rollups (stat_date, province, customer_count) " +
+            "SELECT CAST(c.created_at AS DATE), COALESCE(c.province, ''), COUNT(*) " +
+            "FROM customers c WHERE c.is_deleted = FALSE ";
+
+    private static final String GROUP_CUSTOMER_ROLLUP =
+            "GROUP BY CAST(c.created_at AS DATE), COALESCE(c.province, '')";
+
+    private static final String INSERT_DOCUMENT_ROLLUP =
+            "INSERT INTO document_daily_rollups (stat_date, document_count, total_file_size, large_file_count) " +
+            "SELECT CAST(d.created_at AS DATE), COUNT(*), COALESCE(SUM(d.file_size), 0), " +
+            "SUM(CASE WHEN d.file_size > " + LARGE_FILE_BYTES + " THEN 1 ELSE 0 END) " +
+            "FROM documents d WHERE d.is_deleted = FALSE ";
+
+    private static final String GROUP_DOCUMENT_ROLLUP = "GROUP BY CAST(d.created_at AS DATE)";
+
+    private static final String SELECT_DECISIONS =
+            "SELECT la.created_at, la.approved_at, la.rejected_at, la.disbursed_at, la.requested_amount " +
+            "FROM loan_applications la WHERE la.is_deleted = FALSE ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.dashboard.rollup.enabled:true}")
+    private boolean rollupEnabled = true;
+
+    // Удаан commit хийгдсэн transaction-ийг алдахгүйн тулд watermark-ыг хойш татна
+    @Value("${app.dashboard.rollup.watermark-overlap-seconds:30}")
+    private long watermarkOverlapSeconds = 30;
+
+    // Delta job давхцвал алгасна, rebuildAll түүнийг дуустал хүлээнэ
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Delta job - өөрчлөгдсөн өдрүүдийг тогтмол давтамжтайгаар шинэчилнэ
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.rollup.refresh-interval-ms:60000}",
+               initialDelayString = "${app.dashboard.rollup.initial-delay-ms:30000}")
+    public void scheduledRefresh() {
+        if (!rollupEnabled) {
+            return;
+        }
+        try {
+            refreshRollups();
+        } catch (Exception e) {
+            logger.error("Dashboard rollup refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> refreshRollups() {
+        if (!refreshLock.tryLock()) {
+            Map<String, Object> skipped = new LinkedHashMap<>();
+            skipped.put("skipped", true);
+            return skipped;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put(RollupChangeListener.LOAN_APPLICATIONS, refreshLoanApplications());
+            result.put(RollupChangeListener.LOAN_DECISIONS, refreshLoanDecisions());
+            result.put(RollupChangeListener.CUSTOMERS, refreshCustomers());
+            result.put(RollupChangeListener.DOCUMENTS, refreshDocuments());
+            result.put("durationMs", System.currentTimeMillis() - start);
+            logger.debug("Dashboard rollups refreshed: {}", result);
+            return result;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Object> rebuildAll() {
+        refreshLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            for (String rollup : List.of(RollupChangeListener.LOAN_APPLICATIONS, RollupChangeListener.LOAN_DECISIONS,
+                    RollupChangeListener.CUSTOMERS, RollupChangeListener.DOCUMENTS)) {
+                RollupChangeListener.drain(rollup);
+                rebuild(rollup, nextWatermark());
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rebuilt", true);
+            result.put("durationMs", System.currentTimeMillis() - start);
+            logger.info("Dashboard rollups rebuilt in {} ms", result.get("durationMs"));
+            return result;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void recomputeLoanApplicationDays(Collection<LocalDate> days) {
+        if (days == null || days.isEmpty()) {
+            return;
+        }
+        inTransaction(() -> recomputeDays(days, "loan_application_daily_rollups",
+                INSERT_LOAN_APPLICATION_ROLLUP, "la", GROUP_LOAN_APPLICATION_ROLLUP));
+    }
+
+    @Override
+    public Map<String, Object> getWatermarks() {
+        Map<String, Object> watermarks = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT rollup_name, watermark, refreshed_at FROM rollup_watermarks ORDER BY rollup_name",
+                rs -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("watermark", rs.getTimestamp("watermark").toLocalDateTime());
+                    row.put("refreshedAt", rs.getTimestamp("refreshed_at").toLocalDateTime());
+                    watermarks.put(rs.getString("rollup_name"), row);
+                });
+        return watermarks;
+    }
+
+    // Rollup тус бүрийн delta
+
+    private int refreshLoanApplications() {
+        String rollup = RollupChangeListener.LOAN_APPLICATIONS;
+        LocalDateTime watermark = loadWatermark(rollup);
+        LocalDateTime next = nextWatermark();
+        if (watermark == null) {
+            return rebuild(rollup, next);
+        }
+
+        Set<LocalDate> days = new TreeSet<>(RollupChangeListener.drain(rollup));
+        days.addAll(queryDays("SELECT DISTINCT CAST(created_at AS DATE) FROM loan_applications WHERE updated_at > ?", watermark));
+        // Харилцагчийн аймаг өөрчлөгдвөл түүний хүсэлтүүдийн өдрүүд хөдөлнө
+        days.addAll(queryDays("SELECT DISTINCT CAST(la.created_at AS DATE) FROM loan_applications la " +
+                "JOIN customers c ON c.id = la.customer_id WHERE c.updated_at > ?", watermark));
+
+        inTransaction(() -> {
+            recomputeDays(days, "loan_application_daily_rollups",
+                    INSERT_LOAN_APPLICATION_ROLLUP, "la", GROUP_LOAN_APPLICATION_ROLLUP);
+            saveWatermark(rollup, next);
+        });
+        return days.size();
+    }
+
+    private int refreshLoanDecisions() {
+        String rollup = RollupChangeListener.LOAN_DECISIONS;
+        LocalDateTime watermark = loadWatermark(rollup);
+        LocalDateTime next = nextWatermark();
+        if (watermark == null) {
+            return rebuild(rollup, next);
+        }
+
+        Set<LocalDate> days = new TreeSet<>(RollupChangeListener.drain(rollup));
+        jdbcTemplate.query("SELECT approved_at, rejected_at, disbursed_at FROM loan_applications WHERE updated_at > ?",
+                rs -> {
+                    addDay(days, rs.getTimestamp("approved_at"));
+                    addDay(days, rs.getTimestamp("rejected_at"));
+                    addDay(days, rs.getTimestamp("disbursed_at"));
+                }, Timestamp.valueOf(watermark));
+
+        inTransaction(() -> {
+            recomputeDecisionDays(days);
+            saveWatermark(rollup, next);
+        });
+        return days.size();
+    }
+
+    private int refreshCustomers() {
+        String rollup = RollupChangeListener.CUSTOMERS;
+        LocalDateTime watermark = loadWatermark(rollup);
+        LocalDateTime next = nextWatermark();
+        if (watermark == null) {
+            return rebuild(rollup, next);
+        }
+
+        Set<LocalDate> days = new TreeSet<>(RollupChangeListener.drain(rollup));
+        days.addAll(queryDays("SELECT DISTINCT CAST(created_at AS DATE) FROM customers WHERE updated_at > ?", watermark));
+
+        inTransaction(() -> {
+            recomputeDays(days, "customer_daily_rollups", INSERT_CUSTOMER_ROLLUP, "c", GROUP_CUSTOMER_ROLLUP);
+            saveWatermark(rollup, next);
+        });
+        return days.size();
+    }
+
+    private int refreshDocuments() {
+        String rollup = RollupChangeListener.DOCUMENTS;
+        LocalDateTime watermark = loadWatermark(rollup);
+        LocalDateTime next = nextWatermark();
+        if (watermark == null) {
+            return rebuild(rollup, next);
+        }
+
+        Set<LocalDate> days = new TreeSet<>(RollupChangeListener.drain(rollup));
+        days.addAll(queryDays("SELECT DISTINCT CAST(created_at AS DATE) FROM documents WHERE updated_at > ?", watermark));
+
+        inTransaction(() -> {
+            recomputeDays(days, "document_daily_rollups", INSERT_DOCUMENT_ROLLUP, "d", GROUP_DOCUMENT_ROLLUP);
+            saveWatermark(rollup, next);
+        });
+        return days.size();
+    }
+
+    /**
+     * Rollup-ийг бүтнээр нь дахин үүсгэх (анхны ажиллагаа эсвэл rebuildAll)
+     */
+    private int rebuild(String rollup, LocalDateTime next) {
+        logger.info("Rebuilding dashboard rollup '{}' from full history", rollup);
+        inTransaction(() -> {
+            switch (rollup) {
+                case RollupChangeListener.LOAN_APPLICATIONS:
+                    jdbcTemplate.update("DELETE FROM loan_application_daily_rollups");
+                    jdbcTemplate.update(INSERT_LOAN_APPLICATION_ROLLUP + GROUP_LOAN_APPLICATION_ROLLUP);
+                    break;
+                case RollupChangeListener.LOAN_DECISIONS:
+                    jdbcTemplate.update("DELETE FROM loan_decision_daily_rollups");
+                    writeDecisionRollups(aggregateDecisions(
+                            "AND (la.approved_at IS NOT NULL OR la.rejected_at IS NOT NULL OR la.disbursed_at IS NOT NULL)",
+                            new Object[0], null));
+                    break;
+                case RollupChangeListener.CUSTOMERS:
+                    jdbcTemplate.update("DELETE FROM customer_daily_rollups");
+                    jdbcTemplate.update(INSERT_CUSTOMER_ROLLUP + GROUP_CUSTOMER_ROLLUP);
+                    break;
+                case RollupChangeListener.DOCUMENTS:
+                    jdbcTemplate.update("DELETE FROM document_daily_rollups");
+                    jdbcTemplate.update(INSERT_DOCUMENT_ROLLUP + GROUP_DOCUMENT_ROLLUP);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown rollup: " + rollup);
+            }
+            saveWatermark(rollup, next);
+        });
+        return -1;
+    }
+
+    /**
+     * Өдөр бүрийн rollup мөрийг устгаж, тухайн өдрийн түүхий мөрөөс дахин тооцох.
+     * created_at индексээр зөвхөн тухайн өдрийн мөрүүдийг уншина.
+     */
+    private void recomputeDays(Collection<LocalDate> days, String rollupTable, String insertSql,
+                               String alias, String groupBy) {
+        for (LocalDate day : days) {
+            jdbcTemplate.update("DELETE FROM " + rollupTable + " WHERE stat_date = ?", Date.valueOf(day));
+            jdbcTemplate.update(insertSql + "AND " + alias + ".created_at >= ? AND " + alias + ".created_at < ? " + groupBy,
+                    Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        }
+    }
+
+    private void recomputeDecisionDays(Collection<LocalDate> days) {
+        for (LocalDate day : days) {
+            Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+            Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+            jdbcTemplate.update("DELETE FROM loan_decision_daily_rollups WHERE stat_date = ?", Date.valueOf(day));
+            writeDecisionRollups(aggregateDecisions(
+                    "AND ((la.approved_at >= ? AND la.approved_at < ?) OR (la.rejected_at >= ? AND la.rejected_at < ?) " +
+                    "OR (la.disbursed_at >= ? AND la.disbursed_at < ?))",
+                    new Object[]{from, to, from, to, from, to}, day));
+        }
+    }
+
+    /**
+     * Шийдвэрийн rollup-ийг Java талд нэгтгэнэ (боловсруулалтын хоногийг DB-ээс үл хамааран тооцох)
+     */
+    private Map<String, DecisionTotals> aggregateDecisions(String where, Object[] params, LocalDate onlyDay) {
+        Map<String, DecisionTotals> totals = new HashMap<>();
+        jdbcTemplate.query(SELECT_DECISIONS + where, rs -> {
+            Timestamp created = rs.getTimestamp("created_at");
+            BigDecimal amount = rs.getBigDecimal("requested_amount");
+            accumulate(totals, "APPROVED", created, rs.getTimestamp("approved_at"), amount, onlyDay);
+            accumulate(totals, "REJECTED", created, rs.getTimestamp("rejected_at"), amount, onlyDay);
+            accumulate(totals, "DISBURSED", created, rs.getTimestamp("disbursed_at"), amount, onlyDay);
+        }, params);
+        return totals;
+    }
+
+    private void accumulate(Map<String, DecisionTotals> totals, String decision, Timestamp created,
+                            Timestamp decidedAt, BigDecimal amount, LocalDate onlyDay) {
+        if (decidedAt == null) {
+            return;
+        }
+        LocalDate day = decidedAt.toLocalDateTime().toLocalDate();
+        if (onlyDay != null && !onlyDay.equals(day)) {
+            return;
+        }
+        DecisionTotals total = totals.computeIfAbsent(day + "|" + decision, key -> new DecisionTotals(day, decision));
+        total.count++;
+        total.amount = total.amount.add(amount != null ? amount : BigDecimal.ZERO);
+        if (created != null) {
+            total.processingDays += Math.max(0, ChronoUnit.DAYS.between(created.toLocalDateTime(), decidedAt.toLocalDateTime()));
+        }
+    }
+
+    private void writeDecisionRollups(Map<String, DecisionTotals> totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        for (DecisionTotals total : totals.values()) {
+            rows.add(new Object[]{Date.valueOf(total.day), total.decision, total.count, total.amount, total.processingDays});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO loan_decision_daily_rollups (stat_date, decision, decision_count, decision_amount, processing_days_sum) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // Watermark
+
+    private LocalDateTime loadWatermark(String rollup) {
+        List<Timestamp> rows = jdbcTemplate.queryForList(
+                "SELECT watermark FROM rollup_watermarks WHERE rollup_name = ?", Timestamp.class, rollup);
+        return rows.isEmpty() ? null : rows.get(0).toLocalDateTime();
+    }
+
+    private void saveWatermark(String rollup, LocalDateTime watermark) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = jdbcTemplate.update(
+                "UPDATE rollup_watermarks SET watermark = ?, refreshed_at = ? WHERE rollup_name = ?",
+                Timestamp.valueOf(watermark), now, rollup);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO rollup_watermarks (rollup_name, watermark, refreshed_at) VALUES (?, ?, ?)",
+                    rollup, Timestamp.valueOf(watermark), now);
+        }
+    }
+
+    private LocalDateTime nextWatermark() {
+        return LocalDateTime.now().minusSeconds(watermarkOverlapSeconds);
+    }
+
+    // Helpers
+
+    private List<LocalDate> queryDays(String sql, LocalDateTime watermark) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getDate(1).toLocalDate(), Timestamp.valueOf(watermark));
+    }
+
+    private static void addDay(Set<LocalDate> days, Timestamp timestamp) {
+        if (timestamp != null) {
+            days.add(timestamp.toLocalDateTime().toLocalDate());
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static final class DecisionTotals {
+        private final LocalDate day;
+        private final String decision;
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long processingDays;
+
+        private DecisionTotals(LocalDate day, String decision) {
+            this.day = day;
+            this.decision = decision;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.company.los.service.impl;
+
+import com.company.los.repository.DashboardRepository;
+import com.company.los.service.CustomerService;
+import com.company.los.service.DashboardService;
+import com.company.los.service.DocumentService;
+import com.company.los.service.LoanApplicationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Нэгтгэсэн dashboard Service Implementation
+ *
+ * Widget бүрийг хязгаарлагдмал pool дээр зэрэг ажиллуулж, нийт хүлээх хугацааг
+ * widget-timeout-оор хязгаарлана. Угсарсан хариуг бүх хэрэглэгч богино хугацаанд
+ * хуваалцана; cache хоосон үед нэг л thread тооцоолж бусад нь түүнийг хүлээнэ.
+ * Хэсэгчилсэн (widget-ийн хугацаа хэтэрсэн, алдаатай) хариуг зөвхөн partial-cache-ttl-ms хугацаанд
+ * хадгална - удаан query-ийн ачааллаас хамгаалах боловч дутуу хариу бүтэн TTL-ээр үлдэхгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private final LoanApplicationService loanApplicationService;
+    private final CustomerService customerService;
+    private final DocumentService documentService;
+    private final DashboardRepository dashboardRepository;
+
+    @Value("${app.dashboard.aggregate.pool-size:4}")
+    private int poolSize = 4;
+
+    @Value("${app.dashboard.aggregate.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${app.dashboard.aggregate.widget-timeout-ms:2000}")
+    private long widgetTimeoutMs = 2000;
+
+    @Value("${app.dashboard.aggregate.cache-ttl-ms:15000}")
+    private long cacheTtlMs = 15000;
+
+    @Value("${app.dashboard.aggregate.partial-cache-ttl-ms:2000}")
+    private long partialCacheTtlMs = 2000;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicReference<CachedDashboard> cache = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Map<String, Object>>> inFlight = new AtomicReference<>();
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getDashboard(boolean forceRefresh) {
+        CachedDashboard cached = cache.get();
+        if (!forceRefresh && cached != null && cached.isFresh()) {
+            return withCacheInfo(cached, true);
+        }
+
+        // Single-flight: зэрэг ирсэн хүсэлтүүд нэг тооцооллыг хуваалцана
+        CompletableFuture<Map<String, Object>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return awaitShared(running);
+        }
+
+        try {
+            Map<String, Object> assembled = assemble();
+            long ttlMs = Boolean.TRUE.equals(assembled.get("partial")) ? Math.min(partialCacheTtlMs, cacheTtlMs) : cacheTtlMs;
+            CachedDashboard fresh = new CachedDashboard(assembled, System.currentTimeMillis(), ttlMs);
+            cache.set(fresh);
+            mine.complete(assembled);
+            return withCacheInfo(fresh, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    @Override
+    public void evictDashboardCache() {
+        cache.set(null);
+        logger.debug("Dashboard cache evicted");
+    }
+
+    // Widget fan-out
+
+    private Map<String, Object> assemble() {
+        long start = System.currentTimeMillis();
+
+        Map<String, Supplier<Object>> widgets = new LinkedHashMap<>();
+        widgets.put("loanApplications", loanApplicationService::getLoanApplicationStatistics);
+        widgets.put("customers", customerService::getCustomerStatistics);
+        widgets.put("documentsToday", documentService::getTodayDocumentStats);
+        widgets.put("overview", () -> named(dashboardRepository.getMainDashboardStats(),
+                "totalCustomers", "totalApplications", "pendingApplications", "approvedApplications",
+                "rejectedApplications", "totalDocuments", "activeProducts", "activeUsers"));
+        widgets.put("todayActivity", () -> named(dashboardRepository.getTodayActivityStats(),
+                "newCustomersToday", "newApplicationsToday", "approvedToday", "rejectedToday",
+                "documentsUploadedToday", "systemActionsToday"));
+        widgets.put("financial", () -> named(dashboardRepository.getFinancialDashboardStats(),
+                "pendingAmount", "approvedAmount", "todayRequestedAmount", "todayApprovedAmount",
+                "avgApprovedAmount", "maxApprovedAmount"));
+        widgets.put("performance", () -> named(dashboardRepository.getPerformanceMetrics(),
+                "approvalRate", "avgProcessingDays", "uniqueApprovedCustomers", "expiredApplications"));
+        widgets.put("documents", () -> named(dashboardRepository.getDocumentDashboardStats(),
+                "totalDocuments", "uploadedToday", "totalFileSize", "customersWithDocs",
+                "customersWithoutDocs", "largeFiles"));
+        widgets.put("quickStats", dashboardRepository::getQuickStatsCards);
+        widgets.put("weeklyTrends", dashboardRepository::getWeeklyTrends);
+        widgets.put("monthlyTrends", dashboardRepository::getMonthlyTrends);
+        widgets.put("topProducts", dashboardRepository::getTopProductPerformance);
+        widgets.put("topProvinces", dashboardRepository::getTopProvinceStats);
+
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        Map<String, String> status = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<Object>> widget : widgets.entrySet()) {
+            try {
+                futures.put(widget.getKey(), executor.submit(widget.getValue()::get));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Dashboard widget '{}' rejected: executor saturated", widget.getKey());
+                status.put(widget.getKey(), "REJECTED");
+            }
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        long deadline = start + widgetTimeoutMs;
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            Future<Object> future = entry.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                data.put(name, future.get(remaining, TimeUnit.MILLISECONDS));
+                status.put(name, "OK");
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                logger.warn("Dashboard widget '{}' timed out after {} ms", name, widgetTimeoutMs);
+                status.put(name, "TIMEOUT");
+            } catch (ExecutionException e) {
+                logger.error("Dashboard widget '{}' failed: {}", name, e.getCause().getMessage(), e.getCause());
+                status.put(name, "ERROR");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                status.put(name, "INTERRUPTED");
+            }
+        }
+
+        boolean partial = status.values().stream().anyMatch(s -> !"OK".equals(s));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("widgets", data);
+        result.put("widgetStatus", status);
+        result.put("partial", partial);
+        result.put("generatedAt", LocalDateTime.now());
+        result.put("durationMs", System.currentTimeMillis() - start);
+        if (partial) {
+            logger.info("Dashboard assembled partially in {} ms: {}", result.get("durationMs"), status);
+        }
+        return result;
+    }
+
+    private Map<String, Object> awaitShared(CompletableFuture<Map<String, Object>> running) {
+        try {
+            Map<String, Object> shared = new LinkedHashMap<>(running.get(widgetTimeoutMs * 2, TimeUnit.MILLISECONDS));
+            shared.put("cached", true);
+            return shared;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for dashboard", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Dashboard assembly failed", e);
+        }
+    }
+
+    private Map<String, Object> withCacheInfo(CachedDashboard cached, boolean fromCache) {
+        Map<String, Object> response = new LinkedHashMap<>(cached.payload);
+        response.put("cached", fromCache);
+        response.put("cacheAgeMs", System.currentTimeMillis() - cached.createdAtMillis);
+        return response;
+    }
+
+    private static Map<String, Object> named(Object[] values, String... names) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], values != null && i < values.length ? values[i] : null);
+        }
+        return map;
+    }
+
+    private static final class CachedDashboard {
+        private final Map<String, Object> payload;
+        private final long createdAtMillis;
+        private final long ttlMs;
+
+        private CachedDashboard(Map<String, Object> payload, long createdAtMillis, long ttlMs) {
+            this.payload = payload;
+            this.createdAtMillis = createdAtMillis;
+            this.ttlMs = ttlMs;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - createdAtMillis < ttlMs;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.company.los.service.impl;
+
+import com.company.los.repository.DocumentExpiryRepository;
+import com.company.los.repository.DocumentExpiryRepository.ExpiredDocumentRow;
+import com.company.los.repository.DocumentExpiryRepository.HighWaterMark;
+import com.company.los.service.DocumentExpiryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Баримтын хугацаа дуусах sweeper-ийн Service Implementation
+ *
+ * Chunk бүр (унших -> batch UPDATE -> high-water mark) өөрийн REQUIRES_NEW transaction - дуудагчийн transaction
+ * дотроос дуудсан ч sweep бүхэлдээ нэг transaction болохгүй; event-үүд chunk commit болсны дараа нийтлэгдэнэ.
+ * Upload хийхдээ өнгөрсөн огноотой орсон баримтыг алдахгүйн тулд цонх high-water mark-аас lookback-days
+ * хоногоор эрт эхэлнэ - EXPIRED болсон мөрийг дахин уншихгүй тул давхар event гарахгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentExpiryServiceImpl implements DocumentExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExpiryServiceImpl.class);
+
+    static final String SWEEP_NAME = "documents";
+
+    private final DocumentExpiryRepository expiryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.document.expiry.enabled:true}")
+    private boolean sweepEnabled = true;
+
+    @Value("${app.document.expiry.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.document.expiry.lookback-days:7}")
+    private int lookbackDays = 7;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    /**
+     * Тогтмол давтамжтай sweep
+     */
+    @Scheduled(fixedDelayString = "${app.document.expiry.sweep-interval-ms:3600000}",
+               initialDelayString = "${app.document.expiry.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        if (!sweepEnabled) {
+            return;
+        }
+        try {
+            sweep();
+        } catch (Exception e) {
+            logger.error("Document expiry sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            Map<String, Object> skipped = new LinkedHashMap<>();
+            skipped.put("skipped", true);
+            return skipped;
+        }
+        try {
+            return doSweep(LocalDate.now());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private Map<String, Object> doSweep(LocalDate today) {
+        long start = System.currentTimeMillis();
+        HighWaterMark mark = expiryRepository.loadHighWaterMark(SWEEP_NAME);
+        // Анхны ажиллагаа бүх хугацаатай баримтыг нэг удаа хамарна
+        LocalDate from = mark != null ? mark.expiredThrough().minusDays(lookbackDays) : LocalDate.EPOCH;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long expired = 0;
+        int chunks = 0;
+        ExpiredDocumentRow cursor = null;
+        while (true) {
+            ExpiredDocumentRow after = cursor;
+            LocalDateTime now = LocalDateTime.now();
+            Chunk chunk = transaction.execute(status -> expireChunk(from, today, after, now));
+            if (chunk == null || chunk.scanned() == 0) {
+                break;
+            }
+            chunks++;
+            expired += chunk.expired().size();
+            for (ExpiredDocumentRow row : chunk.expired()) {
+                // Chunk commit болсон - нэг listener-ийн алдаа бусад event болон sweep-ийг зогсоохгүй
+                try {
+                    eventPublisher.publishEvent(new DocumentExpired(row.id(), row.originalFilename(), row.expiryDate(),
+                            row.customerId(), row.loanApplicationId(), row.customerEmail(), row.customerPhone(), now));
+                } catch (Exception e) {
+                    logger.error("Document expiry listener failed for document {}: {}", row.id(), e.getMessage(), e);
+                }
+            }
+            if (chunk.scanned() < chunkSize) {
+                break;
+            }
+            cursor = chunk.last();
+        }
+
+        // Өнөөдрөөс өмнөх бүх өдөр бүрэн боловсруулагдсан
+        LocalDate expiredThrough = today.minusDays(1);
+        transaction.executeWithoutResult(status ->
+                expiryRepository.advanceHighWaterMark(SWEEP_NAME, expiredThrough, null, 0, LocalDateTime.now()));
+
+        meterRegistry.counter("los.document.expiry.expired").increment(expired);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("expired", expired);
+        result.put("chunks", chunks);
+        result.put("from", from);
+        result.put("expiredThrough", expiredThrough);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        if (expired > 0) {
+            logger.info("Document expiry sweep: {}", result);
+        } else {
+            logger.debug("Document expiry sweep: {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * Нэг chunk: keyset-ээр унших -> batch UPDATE -> high-water mark (нэг transaction)
+     */
+    private Chunk expireChunk(LocalDate from, LocalDate today, ExpiredDocumentRow after, LocalDateTime now) {
+        List<ExpiredDocumentRow> rows = expiryRepository.findExpiredChunk(from, today, after, chunkSize);
+        if (rows.isEmpty()) {
+            return new Chunk(0, null, List.of());
+        }
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (ExpiredDocumentRow row : rows) {
+            ids.add(row.id());
+        }
+        boolean[] updated = expiryRepository.markExpired(ids, now);
+        List<ExpiredDocumentRow> expired = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i]) {
+                expired.add(rows.get(i));
+            }
+        }
+        ExpiredDocumentRow last = rows.get(rows.size() - 1);
+        // Сүүлийн мөрийн өдөр бүрэн дуусаагүй байж болох тул өмнөх өдрийг хүртэл ахиулна
+        expiryRepository.advanceHighWaterMark(SWEEP_NAME, last.expiryDate().minusDays(1), last.id(),
+                expired.size(), now);
+        return new Chunk(rows.size(), last, expired);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        HighWaterMark mark = expiryRepository.loadHighWaterMark(SWEEP_NAME);
+        stats.put("enabled", sweepEnabled);
+        stats.put("running", sweeping.get());
+        stats.put("expiredThrough", mark != null ? mark.expiredThrough() : null);
+        stats.put("lastDocumentId", mark != null ? mark.lastDocumentId() : null);
+        stats.put("totalExpired", mark != null ? mark.expiredCount() : 0L);
+        stats.put("lastSweptAt", mark != null ? mark.sweptAt() : null);
+        stats.put("chunkSize", chunkSize);
+        stats.put("lookbackDays", lookbackDays);
+        return stats;
+    }
+
+    private record Chunk(int scanned, ExpiredDocumentRow last, List<ExpiredDocumentRow> expired) {
+    }
+}
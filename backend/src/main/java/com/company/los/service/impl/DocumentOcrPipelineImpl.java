@@ -0,0 +1,425 @@
+package com.company.los.service.impl;
+
+import com.company.los.exception.OcrSaturatedException;
+import com.company.los.service.DocumentOcrPipeline;
+import com.company.los.service.DocumentService;
+import com.company.los.service.DocumentStorage;
+import com.company.los.service.OcrEngine;
+import com.company.los.service.OcrEngine.Page;
+import com.company.los.service.OcrEngine.Recognition;
+import com.company.los.util.PriorityLaneQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Баримтын OCR pipeline-ийн Service Implementation
+ *
+ * Шат бүр = хоёр эгнээтэй хязгаартай дараалал ({@link PriorityLaneQueue}) + daemon worker thread-үүд.
+ * Worker ажлаа дараагийн шатны дараалалд put-ээр дамжуулна - дараалал дүүрвэл хүлээнэ, ингэж удаан шат
+ * дээд шатуудыг тормозлож эцэст нь эхний дарааллыг дүүргэнэ (submit татгалзана). CPU-д суурилсан шатнууд
+ * (preprocess, OCR) процессорын тоогоор, файл унших болон задлах шат хагасаар, хадгалах шат DB connection
+ * хэмнэх үүднээс цөөн worker-тэй.
+ *
+ * Дараалал санах ойд байдаг тул commit-ийн дараах submit татгалзсан эсвэл процесс дахин эхэлсэн үед
+ * processing_status='QUEUED' баримт гацна. Эхлэх үед болон тогтмол давтамжтайгаар requeue-after-minutes-аас
+ * удаан QUEUED байгаа баримтуудыг дахин оруулна; updated_at-ийг нөхцөлтэй шинэчилсэн node л оруулна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+public class DocumentOcrPipelineImpl implements DocumentOcrPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentOcrPipelineImpl.class);
+
+    // Энгийн эгнээнээс нэгийг авахаас өмнө дараалан авах priority ажлын тоо
+    private static final int PRIORITY_BURST = 4;
+
+    private static final String FIND_STALE_QUEUED =
+            "SELECT d.id, d.file_path, d.content_type, d.original_filename, dt.name AS document_type, " +
+            "la.status AS application_status FROM documents d " +
+            "LEFT JOIN document_types dt ON dt.id = d.document_type_id " +
+            "LEFT JOIN loan_applications la ON la.id = d.loan_application_id " +
+            "WHERE d.processing_status = 'QUEUED' AND d.is_deleted = FALSE AND d.updated_at < ? " +
+            "ORDER BY d.updated_at, d.id LIMIT ?";
+
+    private static final String CLAIM_STALE_QUEUED =
+            "UPDATE documents SET updated_at = ? WHERE id = ? AND processing_status = 'QUEUED' AND updated_at < ?";
+
+    private final OcrEngine engine;
+    private final DocumentStorage documentStorage;
+    private final ObjectProvider<DocumentService> documentService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.document.ocr.pipeline.queue-capacity:16}")
+    private int queueCapacity = 16;
+
+    @Value("${app.document.ocr.pipeline.retry-after-seconds:5}")
+    private long retryAfterSeconds = 5;
+
+    // 0 - процессорын тооноос тооцно
+    @Value("${app.document.ocr.pipeline.decode-workers:0}")
+    private int decodeWorkers;
+
+    @Value("${app.document.ocr.pipeline.preprocess-workers:0}")
+    private int preprocessWorkers;
+
+    @Value("${app.document.ocr.pipeline.ocr-workers:0}")
+    private int ocrWorkers;
+
+    @Value("${app.document.ocr.pipeline.extract-workers:0}")
+    private int extractWorkers;
+
+    @Value("${app.document.ocr.pipeline.save-workers:2}")
+    private int saveWorkers = 2;
+
+    @Value("${app.document.ocr.pipeline.requeue-after-minutes:15}")
+    private long requeueAfterMinutes = 15;
+
+    @Value("${app.document.ocr.pipeline.requeue-batch-size:100}")
+    private int requeueBatchSize = 100;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+
+    private final List<Stage> stages = new ArrayList<>();
+    private Stage decodeStage;
+    private Stage extractStage;
+    private volatile boolean running;
+
+    public DocumentOcrPipelineImpl(OcrEngine engine, DocumentStorage documentStorage,
+                                   ObjectProvider<DocumentService> documentService, JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.engine = engine;
+        this.documentStorage = documentStorage;
+        this.documentService = documentService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int half = Math.max(1, cpus / 2);
+
+        Stage save = new Stage("save", workers(saveWorkers, 1), null, this::save);
+        extractStage = new Stage("extract", workers(extractWorkers, half), save, this::extract);
+        Stage recognize = new Stage("ocr", workers(ocrWorkers, cpus), extractStage, this::recognize);
+        Stage preprocess = new Stage("preprocess", workers(preprocessWorkers, cpus), recognize, this::preprocess);
+        decodeStage = new Stage("decode", workers(decodeWorkers, half), preprocess, this::decode);
+        stages.addAll(List.of(decodeStage, preprocess, recognize, extractStage, save));
+
+        running = true;
+        stages.forEach(Stage::start);
+        logger.info("OCR pipeline started with engine '{}': {}", engine.getName(),
+                stages.stream().map(stage -> stage.name + "=" + stage.workers).toList());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        stages.forEach(Stage::stop);
+    }
+
+    @Override
+    public boolean submit(OcrRequest request) {
+        if (request == null || request.documentId() == null) {
+            throw new IllegalArgumentException("Document is required");
+        }
+        if (!inFlight.add(request.documentId())) {
+            return false;
+        }
+        Job job = new Job(request);
+        Stage entry = decodeStage;
+        if (request.ocrText() != null) {
+            job.text = request.ocrText();
+            entry = extractStage;
+        }
+        if (!entry.queue.offer(job, request.priority())) {
+            inFlight.remove(request.documentId());
+            rejected.incrementAndGet();
+            meterRegistry.counter("los.document.ocr.rejected").increment();
+            throw new OcrSaturatedException();
+        }
+        logger.debug("Document {} queued for OCR at stage {} (priority={})",
+                request.documentId(), entry.name, request.priority());
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requeueOnStartup() {
+        requeueSafely();
+    }
+
+    @Scheduled(fixedDelayString = "${app.document.ocr.pipeline.requeue-interval-ms:300000}",
+               initialDelayString = "${app.document.ocr.pipeline.requeue-interval-ms:300000}")
+    public void scheduledRequeue() {
+        requeueSafely();
+    }
+
+    private void requeueSafely() {
+        if (!running) {
+            return;
+        }
+        try {
+            requeueStale();
+        } catch (Exception e) {
+            logger.error("Requeueing stale OCR documents failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Удаан QUEUED байгаа баримтуудыг дахин pipeline-д оруулах
+     *
+     * @return дахин оруулсан баримтын тоо
+     */
+    public int requeueStale() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp cutoff = Timestamp.valueOf(now.minusMinutes(requeueAfterMinutes));
+        List<OcrRequest> stale = jdbcTemplate.query(FIND_STALE_QUEUED, (rs, rowNum) -> {
+            String applicationStatus = rs.getString("application_status");
+            boolean priority = applicationStatus != null && OcrRequest.PRIORITY_STATUSES.stream()
+                    .anyMatch(status -> status.name().equals(applicationStatus));
+            return new OcrRequest(rs.getObject("id", UUID.class), rs.getString("file_path"),
+                    rs.getString("content_type"), rs.getString("original_filename"), rs.getString("document_type"),
+                    null, priority);
+        }, cutoff, requeueBatchSize);
+
+        int count = 0;
+        for (OcrRequest request : stale) {
+            if (inFlight.contains(request.documentId()) || isSaturated(request.priority())) {
+                continue;
+            }
+            // Өөр node түрүүлж авсан бол updated_at шинэчлэгдсэн
+            if (jdbcTemplate.update(CLAIM_STALE_QUEUED, Timestamp.valueOf(now), request.documentId(), cutoff) == 0) {
+                continue;
+            }
+            try {
+                if (submit(request)) {
+                    count++;
+                }
+            } catch (IllegalStateException e) {
+                logger.debug("OCR pipeline saturated while requeueing document {}", request.documentId());
+            }
+        }
+        if (count > 0) {
+            requeued.addAndGet(count);
+            meterRegistry.counter("los.document.ocr.requeued").increment(count);
+            logger.info("Requeued {} stale OCR documents", count);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isSaturated(boolean priority) {
+        return decodeStage.queue.isFull(priority);
+    }
+
+    @Override
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("engine", engine.getName());
+        stats.put("inFlight", inFlight.size());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("requeued", requeued.get());
+        Map<String, Object> stageStats = new LinkedHashMap<>();
+        for (Stage stage : stages) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("workers", stage.workers);
+            row.put("queuedPriority", stage.queue.size(true));
+            row.put("queuedNormal", stage.queue.size(false));
+            row.put("capacity", stage.queue.capacity());
+            row.put("processed", stage.processed.get());
+            stageStats.put(stage.name, row);
+        }
+        stats.put("stages", stageStats);
+        return stats;
+    }
+
+    // Шатнууд
+
+    private void decode(Job job) throws Exception {
+        if (job.request.filePath() == null) {
+            throw new IllegalStateException("Document has no stored file");
+        }
+        // Object store дээрх файл түр файлд татагдана
+        job.pages = documentStorage.withLocalFile(job.request.filePath(),
+                file -> engine.decode(file, job.request.contentType()));
+    }
+
+    private void preprocess(Job job) {
+        List<Page> pages = new ArrayList<>(job.pages.size());
+        for (Page page : job.pages) {
+            pages.add(engine.preprocess(page));
+        }
+        job.pages = pages;
+    }
+
+    private void recognize(Job job) {
+        Recognition recognition = engine.recognize(job.pages);
+        job.text = recognition.text();
+        job.confidence = recognition.confidence();
+        job.pages = null; // Хуудсын byte-уудыг дараагийн шатнуудад дамжуулахгүй
+    }
+
+    private void extract(Job job) {
+        job.extractedData = engine.extract(job.text, job.request.documentType());
+    }
+
+    private void save(Job job) {
+        documentService.getObject().saveOcrResults(job.request.documentId(), job.text, job.extractedData, job.confidence);
+    }
+
+    private void finish(Job job) {
+        inFlight.remove(job.request.documentId());
+        completed.incrementAndGet();
+        meterRegistry.timer("los.document.ocr.latency").record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+        logger.debug("OCR completed for document {}", job.request.documentId());
+    }
+
+    private void fail(Job job, String stage, Throwable e) {
+        inFlight.remove(job.request.documentId());
+        failed.incrementAndGet();
+        meterRegistry.counter("los.document.ocr.failed", "stage", stage).increment();
+        logger.warn("OCR failed for document {} at stage {}: {}", job.request.documentId(), stage, e.getMessage());
+        try {
+            jdbcTemplate.update("UPDATE documents SET processing_status = 'FAILED', processing_error = ?, updated_at = ? " +
+                            "WHERE id = ?",
+                    stage + ": " + e.getMessage(), Timestamp.valueOf(LocalDateTime.now()), job.request.documentId());
+        } catch (Exception updateError) {
+            logger.error("Could not record OCR failure for document {}: {}", job.request.documentId(),
+                    updateError.getMessage());
+        }
+    }
+
+    private static int workers(int configured, int fallback) {
+        return configured > 0 ? configured : fallback;
+    }
+
+    @FunctionalInterface
+    private interface StageHandler {
+        void handle(Job job) throws Exception;
+    }
+
+    /**
+     * Pipeline-ээр дамжих ажил - нэг мөчид зөвхөн нэг шатны worker эзэмшинэ
+     */
+    private static final class Job {
+        private final OcrRequest request;
+        private final long enqueuedAt = System.nanoTime();
+        private List<Page> pages;
+        private String text;
+        private BigDecimal confidence;
+        private String extractedData;
+
+        private Job(OcrRequest request) {
+            this.request = request;
+        }
+    }
+
+    private final class Stage {
+        private final String name;
+        private final int workers;
+        private final Stage next;
+        private final StageHandler handler;
+        private final PriorityLaneQueue<Job> queue;
+        private final Timer timer;
+        private final AtomicLong processed = new AtomicLong();
+        private final List<Thread> threads = new ArrayList<>();
+
+        private Stage(String name, int workers, Stage next, StageHandler handler) {
+            this.name = name;
+            this.workers = workers;
+            this.next = next;
+            this.handler = handler;
+            this.queue = new PriorityLaneQueue<>(queueCapacity, PRIORITY_BURST);
+            this.timer = meterRegistry.timer("los.document.ocr.stage", "stage", name);
+        }
+
+        private void start() {
+            for (int i = 1; i <= workers; i++) {
+                Thread thread = new Thread(this::work, "ocr-" + name + "-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        private void stop() {
+            threads.forEach(Thread::interrupt);
+        }
+
+        private void work() {
+            while (running) {
+                Job job;
+                try {
+                    job = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    handler.handle(job);
+                } catch (Throwable e) {
+                    // Error (OutOfMemoryError гэх мэт) ч inFlight-аас гаргаж, worker-ийг амьд үлдээнэ
+                    fail(job, name, e);
+                    continue;
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                processed.incrementAndGet();
+
+                if (next == null) {
+                    finish(job);
+                    continue;
+                }
+                try {
+                    // Дараагийн шат дүүрсэн бол хүлээнэ (backpressure)
+                    next.queue.put(job, job.request.priority());
+                } catch (InterruptedException e) {
+                    fail(job, name, new IllegalStateException("Pipeline stopped"));
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.company.los.service.impl;
+
+import com.company.los.entity.Document;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.repository.DocumentRepository;
+import com.company.los.service.DocumentPreviewService;
+import com.company.los.service.DocumentStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Баримтын thumbnail / preview кэшийн Service Implementation
+ *
+ * Хувилбар бүр эх файлын хавтас (object store дээрх файлынх бол storage path) дахь {@value #PREVIEW_DIR} дотор
+ * {@code <checksum>-<suffix>-<size>.jpg} нэрээр хадгалагдана - checksum-аар түлхүүрлэсэн тул ижил агуулгатай баримтууд нэг файлыг хуваалцаж, хэмжээ
+ * өөрчлөгдвөл шинэ файл үүснэ. Зургийг ImageReader-ийн subsampling-ээр шаардлагатай хэмжээнд ойр уншиж,
+ * дараа нь хоёр дахин багасгах алхмаар жижигрүүлнэ. PDF-ээс эхний суулгасан JPEG (скан хуудас)-ийг авна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentPreviewServiceImpl implements DocumentPreviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPreviewServiceImpl.class);
+
+    static final String PREVIEW_DIR = ".previews";
+    static final String PREVIEW_CONTENT_TYPE = "image/jpeg";
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of(
+            "image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp", "application/pdf");
+
+    private static final byte[] DCT_DECODE = "/DCTDecode".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STREAM = "stream".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END_STREAM = "endstream".getBytes(StandardCharsets.US_ASCII);
+
+    private final DocumentRepository documentRepository;
+    private final MeterRegistry meterRegistry;
+    private final DocumentStorage documentStorage;
+
+    @Value("${app.document.storage.path:./uploads/documents}")
+    private String documentStoragePath = "./uploads/documents";
+
+    @Value("${app.document.preview.pool-size:2}")
+    private int poolSize = 2;
+
+    @Value("${app.document.preview.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${app.document.preview.thumbnail-size:256}")
+    private int thumbnailSize = 256;
+
+    @Value("${app.document.preview.preview-size:1280}")
+    private int previewSize = 1280;
+
+    @Value("${app.document.preview.jpeg-quality:0.8}")
+    private float jpegQuality = 0.8f;
+
+    // Ижил хувилбарыг зэрэг үүсгэхгүй: кэш файлын зам -> үүсгэж буй ажил
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "preview-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Preview getPreview(UUID documentId, Rendition rendition) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + documentId));
+        requireSupported(document);
+
+        Path target = cachePath(document, rendition);
+        if (Files.exists(target)) {
+            hits.incrementAndGet();
+            meterRegistry.counter("los.document.preview.hit").increment();
+        } else {
+            misses.incrementAndGet();
+            meterRegistry.counter("los.document.preview.miss").increment();
+            render(document, rendition, target);
+        }
+        try {
+            return new Preview(Files.readAllBytes(target), PREVIEW_CONTENT_TYPE, etag(cacheKey(document), rendition));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Preview could not be read: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getPreviewETag(UUID documentId, Rendition rendition) {
+        return documentRepository.findChecksumById(documentId)
+                .map(checksum -> etag(checksum.isEmpty() ? documentId.toString() : checksum, rendition))
+                .orElse(null);
+    }
+
+    @Override
+    public void generateAsync(UUID documentId) {
+        try {
+            executor.execute(() -> {
+                Document document = documentRepository.findById(documentId).orElse(null);
+                if (document == null || !isSupported(document)) {
+                    return;
+                }
+                for (Rendition rendition : Rendition.values()) {
+                    Path target = cachePath(document, rendition);
+                    if (Files.exists(target)) {
+                        continue;
+                    }
+                    try {
+                        render(document, rendition, target);
+                    } catch (RuntimeException e) {
+                        // Алдааг render бүртгэсэн; дараагийн хүсэлт дахин оролдоно
+                        return;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            skipped.incrementAndGet();
+            logger.debug("Preview queue full, document {} will be rendered on first request", documentId);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("generated", generated.get());
+        stats.put("failures", failures.get());
+        stats.put("skipped", skipped.get());
+        stats.put("rendering", inFlight.size());
+        stats.put("queued", executor != null ? executor.getQueue().size() : 0);
+        stats.put("thumbnailSize", thumbnailSize);
+        stats.put("previewSize", previewSize);
+        return stats;
+    }
+
+    /**
+     * Single-flight: эхний дуудагч үүсгэнэ, бусад нь түүний үр дүнг хүлээнэ
+     */
+    private Path render(Document document, Rendition rendition, Path target) {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(target, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            // Өмнөх үүсгэгч putIfAbsent-ийн хооронд дуусгасан байж болно
+            if (!Files.exists(target)) {
+                long start = System.nanoTime();
+                writeRendition(document, maxDimension(rendition), target);
+                generated.incrementAndGet();
+                meterRegistry.timer("los.document.preview.render", "rendition", rendition.getSuffix())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            mine.complete(target);
+            return target;
+        } catch (IOException e) {
+            RuntimeException failure = new UncheckedIOException("Preview could not be rendered: " + e.getMessage(), e);
+            fail(document, mine, failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            fail(document, mine, e);
+            throw e;
+        } finally {
+            inFlight.remove(target, mine);
+        }
+    }
+
+    private void fail(Document document, CompletableFuture<Path> future, RuntimeException e) {
+        failures.incrementAndGet();
+        meterRegistry.counter("los.document.preview.failed").increment();
+        logger.warn("Preview rendering failed for document {}: {}", document.getId(), e.getMessage());
+        future.completeExceptionally(e);
+    }
+
+    private void writeRendition(Document document, int maxDimension, Path target) throws IOException {
+        BufferedImage image;
+        try (InputStream source = documentStorage.open(document.getFilePath())) {
+            image = scale(decode(source, document.getContentType(), maxDimension), maxDimension);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("File not found for document: " + document.getId());
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeJpeg(image, temp);
+            // Уншигч хагас бичигдсэн файл харахгүй
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private BufferedImage decode(InputStream source, String contentType, int maxDimension) throws IOException {
+        if ("application/pdf".equals(contentType)) {
+            byte[] jpeg = firstEmbeddedJpeg(source.readAllBytes());
+            if (jpeg == null) {
+                throw new IllegalArgumentException("Preview not supported for PDF without an embedded page image");
+            }
+            return read(new ByteArrayInputStream(jpeg), maxDimension);
+        }
+        return read(source, maxDimension);
+    }
+
+    /**
+     * Зургийг зорилтот хэмжээнээс хоёроос доошгүй дахин томоор subsampling хийж уншина -
+     * том фото бүхэлдээ санах ойд задлагдахгүй, сүүлийн жижигрүүлэлтэд чанар хангалттай үлдэнэ
+     */
+    static BufferedImage read(InputStream input, int maxDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Preview not supported for this image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / (maxDimension * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Урт талыг maxDimension хүртэл жижигрүүлэх (томруулахгүй); ил тод хэсгийг цагаан дэвсгэр болгоно
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = resize(source, source.getWidth(), source.getHeight());
+        // Нэг алхмаар bilinear-аар их багасгавал aliasing гарна - хоёр дахин багасгах алхмуудаар ойртуулна
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != width || current.getHeight() != height) {
+            current = resize(current, width, height);
+        }
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * PDF доторх эхний DCTDecode (JPEG) урсгал - скан хийсэн баримтын эхний хуудас.
+     * Вектор/текст PDF-д байхгүй тул null.
+     */
+    static byte[] firstEmbeddedJpeg(byte[] pdf) {
+        int filter = indexOf(pdf, DCT_DECODE, 0);
+        if (filter < 0) {
+            return null;
+        }
+        int start = indexOf(pdf, STREAM, filter);
+        if (start < 0) {
+            return null;
+        }
+        start += STREAM.length;
+        if (start < pdf.length && pdf[start] == '\r') {
+            start++;
+        }
+        if (start < pdf.length && pdf[start] == '\n') {
+            start++;
+        }
+        int end = indexOf(pdf, END_STREAM, start);
+        // Шүүлтүүрийн гинжтэй (жишээ нь FlateDecode + DCTDecode) урсгал JPEG SOI-оор эхлэхгүй
+        if (end < 0 || end - start < 2 || pdf[start] != (byte) 0xFF || pdf[start + 1] != (byte) 0xD8) {
+            return null;
+        }
+        return Arrays.copyOfRange(pdf, start, end);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = Math.max(0, from); i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private Path cachePath(Document document, Rendition rendition) {
+        if (document.getFilePath() == null) {
+            throw new ResourceNotFoundException("File not found for document: " + document.getId());
+        }
+        Path source = documentStorage.localFile(document.getFilePath());
+        Path directory = source != null ? source.resolveSibling(PREVIEW_DIR) : Paths.get(documentStoragePath, PREVIEW_DIR);
+        return directory.resolve(cacheKey(document) + "-" + rendition.getSuffix() + "-" + maxDimension(rendition) + ".jpg");
+    }
+
+    private int maxDimension(Rendition rendition) {
+        return rendition == Rendition.THUMBNAIL ? thumbnailSize : previewSize;
+    }
+
+    private String etag(String key, Rendition rendition) {
+        return "\"" + key + "-" + rendition.getSuffix() + "-" + maxDimension(rendition) + "\"";
+    }
+
+    private static String cacheKey(Document document) {
+        // Checksum-гүй хуучин баримт өөрийн id-аар түлхүүрлэгдэнэ
+        return document.getChecksum() != null && !document.getChecksum().isEmpty()
+                ? document.getChecksum() : document.getId().toString();
+    }
+
+    private static void requireSupported(Document document) {
+        if (!isSupported(document)) {
+            throw new IllegalArgumentException("Preview not supported for this file type");
+        }
+    }
+
+    private static boolean isSupported(Document document) {
+        return document.getContentType() != null && SUPPORTED_TYPES.contains(document.getContentType());
+    }
+}
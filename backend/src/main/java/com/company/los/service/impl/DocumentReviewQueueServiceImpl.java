@@ -0,0 +1,175 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.DocumentDto;
+import com.company.los.entity.Document;
+import com.company.los.repository.DocumentRepository;
+import com.company.los.repository.DocumentReviewLeaseRepository;
+import com.company.los.service.DocumentReviewQueueService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Баримт хянах дарааллын Service Implementation
+ *
+ * Claim бүр тусдаа богино transaction (REQUIRES_NEW) - мөрийн түгжээ дуудагчийн transaction-ийг хүлээлгүй шууд
+ * чөлөөлөгдөнө. Lease-ийн эзэмшигч нь {@code verified_by}, хугацаа нь {@code review_lease_expires_at};
+ * батлах, татгалзах, түр зогсоох үед lease цэвэрлэгдэнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+public class DocumentReviewQueueServiceImpl implements DocumentReviewQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentReviewQueueServiceImpl.class);
+
+    private final DocumentReviewLeaseRepository leaseRepository;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate claimTransaction;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.document.review.lease-seconds:600}")
+    private long leaseSeconds = 600;
+
+    @Value("${app.document.review.max-claim:20}")
+    private int maxClaim = 20;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    public DocumentReviewQueueServiceImpl(DocumentReviewLeaseRepository leaseRepository,
+                                          DocumentRepository documentRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.documentRepository = documentRepository;
+        // Түгжээг claim дуусмагц commit-оор чөлөөлнө
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<ReviewLease> claimNext(String reviewer, int count) {
+        requireReviewer(reviewer);
+        int limit = Math.max(1, Math.min(count, maxClaim));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+
+        List<ReviewLease> leases = claimTransaction.execute(status -> {
+            List<UUID> ids = leaseRepository.claimNext(reviewer, limit, now, expiresAt);
+            if (ids.isEmpty()) {
+                return List.<ReviewLease>of();
+            }
+            // Шинэчлэгдсэн мөрүүдийг нэг query-ээр уншаад claim-ийн дарааллыг хадгална
+            Map<UUID, Document> documents = documentRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Document::getId, Function.identity()));
+            List<ReviewLease> result = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                Document document = documents.get(id);
+                result.add(new ReviewLease(id, reviewer, expiresAt,
+                        document != null ? DocumentDto.fromEntity(document) : null));
+            }
+            return result;
+        });
+
+        int size = leases != null ? leases.size() : 0;
+        claimed.addAndGet(size);
+        meterRegistry.counter("los.document.review.claimed").increment(size);
+        logger.debug("Reviewer {} claimed {} of {} requested document(s)", reviewer, size, limit);
+        return leases != null ? leases : List.of();
+    }
+
+    @Override
+    public ReviewLease claim(UUID documentId, String reviewer) {
+        requireReviewer(reviewer);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+
+        ReviewLease lease = claimTransaction.execute(status -> {
+            if (!leaseRepository.claim(documentId, reviewer, now, expiresAt)) {
+                return null;
+            }
+            return new ReviewLease(documentId, reviewer, expiresAt,
+                    documentRepository.findById(documentId).map(DocumentDto::fromEntity).orElse(null));
+        });
+        if (lease == null) {
+            conflicts.incrementAndGet();
+            meterRegistry.counter("los.document.review.conflicts").increment();
+            throw new IllegalStateException("Document " + documentId + " is not available for review");
+        }
+        claimed.incrementAndGet();
+        meterRegistry.counter("los.document.review.claimed").increment();
+        return lease;
+    }
+
+    @Override
+    public ReviewLease heartbeat(UUID documentId, String reviewer) {
+        requireReviewer(reviewer);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+        Boolean renewed = claimTransaction.execute(status -> leaseRepository.renew(documentId, reviewer, now, expiresAt));
+        if (!Boolean.TRUE.equals(renewed)) {
+            throw new IllegalStateException("No active review lease on document " + documentId + " for " + reviewer);
+        }
+        return new ReviewLease(documentId, reviewer, expiresAt, null);
+    }
+
+    @Override
+    public boolean release(UUID documentId, String reviewer) {
+        requireReviewer(reviewer);
+        Boolean released = claimTransaction.execute(status -> leaseRepository.release(documentId, reviewer, LocalDateTime.now()));
+        return Boolean.TRUE.equals(released);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.document.review.reap-interval-ms:30000}")
+    public int expireLeases() {
+        Integer count = claimTransaction.execute(status -> leaseRepository.expireLeases(LocalDateTime.now()));
+        int returned = count != null ? count : 0;
+        if (returned > 0) {
+            expired.addAndGet(returned);
+            meterRegistry.counter("los.document.review.expired").increment(returned);
+            logger.info("Returned {} document(s) with expired review leases to the queue", returned);
+        }
+        return returned;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", documentRepository.countByVerificationStatus(Document.VerificationStatus.PENDING));
+        stats.put("activeLeases", leaseRepository.countActiveLeases(LocalDateTime.now()));
+        stats.put("claimed", claimed.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("expiredLeases", expired.get());
+        stats.put("leaseSeconds", leaseSeconds);
+        stats.put("maxClaim", maxClaim);
+        return stats;
+    }
+
+    private static void requireReviewer(String reviewer) {
+        if (reviewer == null || reviewer.isBlank()) {
+            throw new IllegalArgumentException("Reviewer is required");
+        }
+    }
+}
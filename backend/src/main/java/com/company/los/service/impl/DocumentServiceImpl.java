@@ -1,6 +1,10 @@
 package com.company.los.service.impl;
 
 import com.company.los.dto.DocumentDto;
+import com.company.los.dto.DocumentListItem;
+import com.company.los.dto.CursorPage;
+import com.company.los.entity.ActivityLog;
+import com.company.los.entity.AuditLog;
 import com.company.los.entity.Document;
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanApplication;
@@ -9,8 +13,21 @@ import com.company.los.repository.DocumentRepository;
 import com.company.los.repository.CustomerRepository;
 import com.company.los.repository.LoanApplicationRepository;
 import com.company.los.repository.DocumentTypeRepository;
+import com.company.los.repository.TableStatisticsRepository;
+import com.company.los.service.ActivityLogService;
+import com.company.los.service.AuditTrailService;
+import com.company.los.service.DocumentExpiryService;
+import com.company.los.service.DocumentOcrPipeline;
+import com.company.los.service.DocumentOcrPipeline.OcrRequest;
+import com.company.los.service.DocumentPreviewService;
+import com.company.los.service.DocumentReviewQueueService;
 import com.company.los.service.DocumentService;
+import com.company.los.service.DocumentStorage;
+import com.company.los.exception.OcrSaturatedException;
 import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.util.AfterCommit;
+import com.company.los.util.EntityTags;
+import com.company.los.util.SeekCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,23 +36,42 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.io.FileNotFoundException; // Added
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -62,6 +98,8 @@ public class DocumentServiceImpl implements DocumentService {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentServiceImpl.class);
 
+    private static final int AUDIT_HISTORY_LIMIT = 200;
+
     @Autowired
     private DocumentRepository documentRepository;
 
@@ -74,6 +112,37 @@ public class DocumentServiceImpl implements DocumentService {
     @Autowired
     private LoanApplicationRepository loanApplicationRepository;
 
+    @Autowired
+    private AuditTrailService auditTrailService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    @Autowired
+    private DocumentReviewQueueService documentReviewQueueService;
+
+    @Autowired
+    private DocumentExpiryService documentExpiryService;
+
+    @Autowired
+    private DocumentOcrPipeline documentOcrPipeline;
+
+    @Autowired
+    private DocumentPreviewService documentPreviewService;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Upload хийсэн баримтыг автоматаар OCR pipeline-д оруулах
+    @Value("${app.document.ocr.enabled:false}")
+    private boolean ocrOnUpload = false;
+
     @Value("${app.document.storage.path:./uploads/documents}")
     private String documentStoragePath;
 
@@ -81,6 +150,25 @@ public class DocumentServiceImpl implements DocumentService {
     @Value("${app.document.max-size:#{null}}")
     private Long maxFileSize;
 
+    // Олон баримт байршуулах нэг хүсэлтийн хязгаарууд
+    @Value("${app.document.batch.max-files:20}")
+    private int batchMaxFiles = 20;
+
+    @Value("${app.document.batch.max-total-bytes:209715200}")
+    private long batchMaxTotalBytes = 209715200L;
+
+    @Value("${app.document.batch.max-concurrency:4}")
+    private int batchMaxConcurrency = 4;
+
+    // Бүх хүсэлтэд нийтлэг файл хадгалах thread
+    @Value("${app.document.batch.pool-size:8}")
+    private int uploadPoolSize = 8;
+
+    @Value("${app.document.batch.queue-capacity:64}")
+    private int uploadQueueCapacity = 64;
+
+    private ThreadPoolExecutor uploadExecutor;
+
     // ⭐ ADDED: PostConstruct method to ensure maxFileSize is initialized ⭐
     @PostConstruct
     public void initializeDefaults() {
@@ -90,6 +178,23 @@ public class DocumentServiceImpl implements DocumentService {
         } else {
             logger.info("maxFileSize configured: {}", maxFileSize);
         }
+
+        AtomicInteger counter = new AtomicInteger();
+        // Дараалал дүүрвэл хүсэлтийн thread өөрөө хадгална - файл алдагдахгүй, ачаалал хүсэлт рүү буцна
+        uploadExecutor = new ThreadPoolExecutor(uploadPoolSize, uploadPoolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(uploadQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "document-upload-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopUploadExecutor() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -114,42 +219,35 @@ public class DocumentServiceImpl implements DocumentService {
             throw new IllegalArgumentException("Document of this type already exists");
         }
 
+        // Backpressure: OCR дараалал дүүрсэн бол файл хадгалахаас өмнө татгалзана
+        boolean ocrPriority = loanApplication != null
+                && OcrRequest.PRIORITY_STATUSES.contains(loanApplication.getStatus());
+        if (ocrOnUpload && documentOcrPipeline.isSaturated(ocrPriority)) {
+            throw new OcrSaturatedException();
+        }
+
         try {
             String storedFilename = generateStoredFilename(file.getOriginalFilename());
-            Path filePath = storeFile(file, storedFilename);
-            String checksum = calculateChecksum(file.getBytes());
+            StoredFile stored = storeWithChecksum(file, storedFilename);
 
-            List<Document> duplicates = findPotentialDuplicates(file.getOriginalFilename(), file.getSize(), checksum);
+            List<Document> duplicates = findPotentialDuplicates(file.getOriginalFilename(), file.getSize(), stored.checksum());
             if (!duplicates.isEmpty()) {
                 logger.warn("Potential duplicate document found for customer: {}", customerId);
             }
 
-            Document document = new Document();
-            document.setCustomer(customer);
-            document.setLoanApplication(loanApplication);
-            document.setDocumentType(documentType);
-            document.setOriginalFilename(file.getOriginalFilename());
-            document.setStoredFilename(storedFilename);
-            document.setFilePath(filePath.toString());
-            document.setContentType(file.getContentType() != null ? file.getContentType() : "application/octet-stream");
-            document.setFileSize(file.getSize());
-            document.setChecksum(checksum);
-            document.setDescription(description);
-            document.setTags(tags);
-            document.setUploadedAt(LocalDateTime.now());
-            document.setVerificationStatus(Document.VerificationStatus.PENDING);
-            document.setIsRequired(isDocumentTypeRequired(documentType));
+            Document document = newDocument(customer, loanApplication, documentType, file.getOriginalFilename(),
+                    file.getContentType(), file.getSize(), storedFilename, stored.location(), stored.checksum(),
+                    description, tags);
 
             if (existingDocument.isPresent()) {
                 Document existing = existingDocument.get();
-                document.setVersionNumber(existing.getVersionNumber() + 1);
-                document.setPreviousDocumentId(existing.getId());
-                existing.setVerificationStatus(Document.VerificationStatus.EXPIRED);
+                supersede(existing, document);
                 documentRepository.save(existing);
             }
 
             Document savedDocument = documentRepository.save(document);
             logger.info("Document uploaded successfully with ID: {}", savedDocument.getId());
+            processAfterCommit(savedDocument);
             return DocumentDto.fromEntity(savedDocument);
 
         } catch (IOException e) {
@@ -158,6 +256,64 @@ public class DocumentServiceImpl implements DocumentService {
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentDto createDocumentFromFile(UUID customerId, UUID loanApplicationId, UUID documentTypeId, Path file,
+                                              String originalFilename, String contentType, String checksum,
+                                              Consumer<DocumentDto> onRecorded) throws IOException {
+        DocumentType documentType = documentTypeRepository.findById(documentTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document type not found with ID: " + documentTypeId));
+        logger.info("Creating document from completed upload for customer: {}, type: {}", customerId, documentType.getName());
+
+        // Хэмжээг session нээхэд шалгасан - maxFileSize нь зөвхөн нэг хүсэлтээр upload хийхэд хамаарна
+        if (!isFileTypeAllowed(documentType, contentType, originalFilename)) {
+            throw new IllegalArgumentException("File type not allowed");
+        }
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
+
+        LoanApplication loanApplication = null;
+        if (loanApplicationId != null) {
+            loanApplication = loanApplicationRepository.findById(loanApplicationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + loanApplicationId));
+        }
+
+        Optional<Document> existingDocument = findExistingDocument(customerId, documentType);
+        if (existingDocument.isPresent() && existingDocument.get().getVerificationStatus() != Document.VerificationStatus.RESUBMIT_REQUIRED) {
+            throw new IllegalArgumentException("Document of this type already exists");
+        }
+
+        boolean ocrPriority = loanApplication != null
+                && OcrRequest.PRIORITY_STATUSES.contains(loanApplication.getStatus());
+        if (ocrOnUpload && documentOcrPipeline.isSaturated(ocrPriority)) {
+            throw new OcrSaturatedException();
+        }
+
+        // Том файлыг зөөх хооронд DB холболт, мөрийн түгжээ барихгүй
+        long fileSize = Files.size(file);
+        String storedFilename = generateStoredFilename(originalFilename);
+        String location = storage().moveIn(file, storedFilename, contentType);
+
+        Document document = newDocument(customer, loanApplication, documentType, originalFilename, contentType, fileSize,
+                storedFilename, location, checksum, null, null);
+        DocumentDto created = new TransactionTemplate(transactionManager).execute(status -> {
+            restoreOnRollback(location, file);
+            if (existingDocument.isPresent()) {
+                Document existing = existingDocument.get();
+                supersede(existing, document);
+                documentRepository.save(existing);
+            }
+            Document savedDocument = documentRepository.save(document);
+            processAfterCommit(savedDocument);
+            DocumentDto dto = DocumentDto.fromEntity(savedDocument);
+            onRecorded.accept(dto);
+            return dto;
+        });
+        logger.info("Document created from completed upload with ID: {}", created.getId());
+        return created;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public DocumentDto getDocumentById(UUID id) {
@@ -169,6 +325,14 @@ public class DocumentServiceImpl implements DocumentService {
         return DocumentDto.fromEntity(document);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getDocumentETag(UUID id) {
+        return documentRepository.findUpdatedAtById(id)
+                .map(EntityTags::of)
+                .orElse(null);
+    }
+
     @Override
     public DocumentDto updateDocument(UUID id, DocumentDto documentDto) {
         logger.info("Updating document with ID: {}", id);
@@ -216,12 +380,10 @@ public class DocumentServiceImpl implements DocumentService {
 
         // Delete physical file
         try {
-            Path filePath = Paths.get(document.getFilePath());
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-                logger.debug("Physical file deleted: {}", filePath);
+            if (storage().delete(document.getFilePath())) {
+                logger.debug("Physical file deleted: {}", document.getFilePath());
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             logger.warn("Failed to delete physical file: {}", e.getMessage());
         }
 
@@ -240,11 +402,8 @@ public class DocumentServiceImpl implements DocumentService {
         for (Document document : documentList) {
             try {
                 // Delete physical file
-                Path filePath = Paths.get(document.getFilePath());
-                if (Files.exists(filePath)) {
-                    Files.delete(filePath);
-                }
-            } catch (IOException e) {
+                storage().delete(document.getFilePath());
+            } catch (IOException | IllegalArgumentException e) {
                 logger.warn("Failed to delete physical file for document {}: {}", document.getId(), e.getMessage());
             }
         }
@@ -283,8 +442,27 @@ public class DocumentServiceImpl implements DocumentService {
     public Page<DocumentDto> getAllDocuments(Pageable pageable) {
         logger.debug("Getting all documents with pageable: {}", pageable);
 
-        Page<Document> documents = documentRepository.findAll(pageable);
-        return documents.map(DocumentDto::fromEntity);
+        Page<DocumentListItem> documents = documentRepository.findListItems(pageable);
+        return documents.map(DocumentDto::fromListItem);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DocumentDto> getDocumentsByCursor(String cursor, int size, boolean includeTotal) {
+        logger.debug("Fetching documents by cursor: {}, size: {}", cursor, size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        // Дараагийн хуудас байгаа эсэхийг мэдэхийн тулд нэг мөр илүү уншина
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<DocumentListItem> rows = after == null
+                ? documentRepository.findSeekFirst(limit)
+                : documentRepository.findSeekAfter(after.sortKey(), after.id(), limit);
+
+        CursorPage<DocumentDto> page = CursorPage.of(rows, pageSize, DocumentListItem::createdAt, DocumentListItem::id, DocumentDto::fromListItem);
+        if (includeTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("documents"));
+        }
+        return page;
     }
 
     @Override
@@ -292,8 +470,8 @@ public class DocumentServiceImpl implements DocumentService {
     public Page<DocumentDto> getDocumentsByCustomer(UUID customerId, Pageable pageable) {
         logger.debug("Getting documents by customer: {}", customerId);
 
-        Page<Document> documents = documentRepository.findByCustomerId(customerId, pageable);
-        return documents.map(DocumentDto::fromEntity);
+        Page<DocumentListItem> documents = documentRepository.findListItemsByCustomerId(customerId, pageable);
+        return documents.map(DocumentDto::fromListItem);
     }
 
     @Override
@@ -308,8 +486,8 @@ public class DocumentServiceImpl implements DocumentService {
     public Page<DocumentDto> getDocumentsByLoanApplication(UUID loanApplicationId, Pageable pageable) {
         logger.debug("Getting documents by loan application: {}", loanApplicationId);
 
-        Page<Document> documents = documentRepository.findByLoanApplicationId(loanApplicationId, pageable);
-        return documents.map(DocumentDto::fromEntity);
+        Page<DocumentListItem> documents = documentRepository.findListItemsByLoanApplicationId(loanApplicationId, pageable);
+        return documents.map(DocumentDto::fromListItem);
     }
 
     @Override
@@ -350,21 +528,11 @@ public class DocumentServiceImpl implements DocumentService {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
 
-        try {
-            Path filePath = Paths.get(document.getFilePath());
-            
-            // Check if file exists
-            if (!Files.exists(filePath)) {
-                logger.error("Physical file not found: {}", filePath);
-                throw new FileNotFoundException("File not found: " + filePath.toString()); // Changed to FileNotFoundException
-            }
-            
-            if (!Files.isReadable(filePath)) {
-                logger.error("File is not readable: {}", filePath);
-                throw new IOException("File is not readable: " + filePath.toString()); // Changed to IOException
-            }
-            
-            return Files.readAllBytes(filePath);
+        try (InputStream in = storage().open(document.getFilePath())) {
+            return in.readAllBytes();
+        } catch (NoSuchFileException e) {
+            logger.error("Physical file not found: {}", document.getFilePath());
+            throw new RuntimeException("File not found or access error: File not found: " + document.getFilePath());
         } catch (IOException e) {
             logger.error("Error downloading document: {}", id, e);
             throw new RuntimeException("File not found or access error: " + e.getMessage());
@@ -445,42 +613,88 @@ public class DocumentServiceImpl implements DocumentService {
         return timestamp + "_" + uuid + "." + extension;
     }
 
-    private Path storeFile(MultipartFile file, String storedFilename) throws IOException {
-        Path uploadPath = Paths.get(documentStoragePath);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    /**
+     * Spring-ээр бус үүсгэсэн instance (unit test)-д documentStoragePath нэг mount болно
+     */
+    private DocumentStorage storage() {
+        if (documentStorage == null) {
+            documentStorage = new ShardedLocalDocumentStorage(documentStoragePath, null);
         }
+        return documentStorage;
+    }
 
-        String dateFolder = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-        Path dateUploadPath = uploadPath.resolve(dateFolder);
-        if (!Files.exists(dateUploadPath)) {
-            Files.createDirectories(dateUploadPath);
+    /**
+     * Файлыг санах ойд бүтнээр уншилгүй хадгалалт руу урсгах зуураа SHA-256 тооцох
+     */
+    private StoredFile storeWithChecksum(MultipartFile file, String storedFilename) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-
-        Path targetLocation = dateUploadPath.resolve(storedFilename);
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-        return targetLocation;
+        String location;
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            location = storage().store(storedFilename, in, file.getSize(), file.getContentType());
+        }
+        return new StoredFile(location, toHex(digest.digest()));
     }
 
-    private String calculateChecksum(byte[] data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(data);
-            StringBuilder hexString = new StringBuilder();
-
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+    private static String toHex(byte[] hash) {
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
             }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    private Document newDocument(Customer customer, LoanApplication loanApplication, DocumentType documentType,
+                                 String originalFilename, String contentType, long fileSize, String storedFilename,
+                                 String location, String checksum, String description, String tags) {
+        Document document = new Document();
+        document.setCustomer(customer);
+        document.setLoanApplication(loanApplication);
+        document.setDocumentType(documentType);
+        document.setOriginalFilename(originalFilename);
+        document.setStoredFilename(storedFilename);
+        document.setFilePath(location);
+        document.setContentType(contentType != null ? contentType : "application/octet-stream");
+        document.setFileSize(fileSize);
+        document.setChecksum(checksum);
+        document.setDescription(description);
+        document.setTags(tags);
+        document.setUploadedAt(LocalDateTime.now());
+        document.setVerificationStatus(Document.VerificationStatus.PENDING);
+        document.setIsRequired(isDocumentTypeRequired(documentType));
+        if (ocrOnUpload) {
+            document.setProcessingStatus("QUEUED");
+        }
+        return document;
+    }
 
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            logger.error("Error calculating checksum", e);
-            return "dummy-checksum";
+    /**
+     * Шинэ хувилбар өмнөхийг орлоно - өмнөх нь EXPIRED болно
+     */
+    private static void supersede(Document existing, Document document) {
+        document.setVersionNumber(existing.getVersionNumber() + 1);
+        document.setPreviousDocumentId(existing.getId());
+        existing.setVerificationStatus(Document.VerificationStatus.EXPIRED);
+    }
+
+    /**
+     * Commit-ийн дараа OCR pipeline болон preview үүсгэлтэд оруулах
+     */
+    private void processAfterCommit(Document document) {
+        if (ocrOnUpload) {
+            submitForOcrAfterCommit(OcrRequest.of(document));
+        }
+        if (documentPreviewService != null) {
+            UUID documentId = document.getId();
+            AfterCommit.run(() -> documentPreviewService.generateAsync(documentId));
         }
     }
 
@@ -628,9 +842,9 @@ public class DocumentServiceImpl implements DocumentService {
     public List<DocumentDto> getExpiredDocuments() {
         logger.debug("Getting expired documents");
         try {
-            return documentRepository.findExpiredDocuments()
+            return documentRepository.findExpiredListItems(LocalDate.now())
                     .stream()
-                    .map(DocumentDto::fromEntity)
+                    .map(DocumentDto::fromListItem)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             logger.warn("Failed to get expired documents: {}", e.getMessage());
@@ -643,9 +857,9 @@ public class DocumentServiceImpl implements DocumentService {
         logger.debug("Getting documents expiring in {} days", days);
         try {
             LocalDate futureDate = LocalDate.now().plusDays(days);
-            return documentRepository.findDocumentsExpiringSoon(futureDate)
+            return documentRepository.findListItemsExpiringBetween(LocalDate.now(), futureDate)
                     .stream()
-                    .map(DocumentDto::fromEntity)
+                    .map(DocumentDto::fromListItem)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             logger.warn("Failed to get expiring soon documents: {}", e.getMessage());
@@ -676,9 +890,11 @@ public class DocumentServiceImpl implements DocumentService {
 
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
+        requireReviewLease(document, verifierName);
 
         document.setVerificationStatus(status);
         document.setVerifiedAt(LocalDateTime.now());
+        document.setReviewLeaseExpiresAt(null);
         document.setVerificationNotes(notes);
         document.setVerifiedBy(verifierName);
 
@@ -694,12 +910,14 @@ public class DocumentServiceImpl implements DocumentService {
 
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id)); // Fixed here
+        requireReviewLease(document, verifierName);
 
         // Manual approve logic
         document.setVerificationStatus(Document.VerificationStatus.APPROVED);
         document.setVerifiedBy(verifierName);
         document.setVerificationNotes(notes);
         document.setVerifiedAt(LocalDateTime.now());
+        document.setReviewLeaseExpiresAt(null);
         Document savedDocument = documentRepository.save(document);
 
         logger.info("Document approved successfully: {}", id);
@@ -712,18 +930,33 @@ public class DocumentServiceImpl implements DocumentService {
 
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
+        requireReviewLease(document, verifierName);
 
         // Manual reject logic
         document.setVerificationStatus(Document.VerificationStatus.REJECTED);
         document.setVerifiedBy(verifierName);
         document.setVerificationNotes(reason);
         document.setVerifiedAt(LocalDateTime.now());
+        document.setReviewLeaseExpiresAt(null);
         Document savedDocument = documentRepository.save(document);
 
         logger.info("Document rejected successfully: {}", id);
         return DocumentDto.fromEntity(savedDocument);
     }
 
+    /**
+     * Шийдвэрийг зөвхөн хүчинтэй lease-тэй reviewer гаргана. Шалгасны дараа өөр reviewer claim хийвэл
+     * claim нь version-ийг нэмэгдүүлсэн тул save optimistic lock-оор татгалзана.
+     */
+    private static void requireReviewLease(Document document, String reviewer) {
+        LocalDateTime expiresAt = document.getReviewLeaseExpiresAt();
+        if (document.getVerificationStatus() != Document.VerificationStatus.IN_REVIEW
+                || reviewer == null || !reviewer.equals(document.getVerifiedBy())
+                || expiresAt == null || expiresAt.isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("No active review lease on document " + document.getId() + " for " + reviewer);
+        }
+    }
+
     @Override
     public DocumentDto requestResubmission(UUID id, String verifierName, String reason) {
         return verifyDocument(id, Document.VerificationStatus.RESUBMIT_REQUIRED, verifierName, reason);
@@ -733,12 +966,15 @@ public class DocumentServiceImpl implements DocumentService {
     public DocumentDto startReview(UUID id, String reviewerName) {
         logger.info("Starting review for document: {} by: {}", id, reviewerName);
 
+        if (!documentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Document not found with ID: " + id);
+        }
+
+        // Атомар claim - өөр reviewer-ийн хүчинтэй lease-тэй бол IllegalStateException
+        documentReviewQueueService.claim(id, reviewerName);
+
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
-
-        // Manual start review logic
-        document.setVerificationStatus(Document.VerificationStatus.IN_REVIEW);
-        document.setVerifiedBy(reviewerName);
         document.setVerificationNotes("Review started by " + reviewerName);
         Document savedDocument = documentRepository.save(document);
 
@@ -755,6 +991,7 @@ public class DocumentServiceImpl implements DocumentService {
 
         document.setVerificationStatus(Document.VerificationStatus.ON_HOLD);
         document.setVerificationNotes(reason);
+        document.setReviewLeaseExpiresAt(null);
         Document savedDocument = documentRepository.save(document);
 
         logger.info("Document review paused: {}", id);
@@ -833,72 +1070,61 @@ public class DocumentServiceImpl implements DocumentService {
         return DocumentDto.fromEntity(documentRepository.save(document));
     }
 
-    // OCR and AI processing methods
+    // OCR and AI processing methods - DocumentOcrPipeline-д async боловсруулна
     @Override
     public DocumentDto processDocumentWithOCR(UUID id) {
-        logger.info("Processing document with OCR: {}", id);
+        logger.info("Queueing document for OCR: {}", id);
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
-        
-        try {
-            String ocrText = performOCR(document);
-            document.setOcrText(ocrText);
-            document.setProcessingStatus("COMPLETED");
-            Document savedDocument = documentRepository.save(document);
-            logger.info("OCR processing completed for document: {}", id);
-            return DocumentDto.fromEntity(savedDocument);
-        } catch (Exception e) {
-            logger.error("OCR processing failed for document: {}", id, e);
-            document.setProcessingStatus("FAILED");
-            document.setProcessingError(e.getMessage());
-            Document savedDocument = documentRepository.save(document);
-            return DocumentDto.fromEntity(savedDocument);
-        }
-    }
-
-    private String performOCR(Document document) {
-        // ⭐ PLACEHOLDER: Implement OCR processing here ⭐
-        return "OCR text would be extracted here for document: " + document.getOriginalFilename();
+        return queueForOcr(document, OcrRequest.of(document));
     }
 
     @Override
     public DocumentDto saveOcrResults(UUID id, String ocrText, String extractedData, BigDecimal confidenceScore) {
         Document document = documentRepository.findById(id)
                 .orElseThrow(surfaceDocumentNotFound(id));
-        
-        // Manual OCR results update
-        document.setOcrText(ocrText);
-        document.setExtractedData(extractedData);
-        document.setAiConfidenceScore(confidenceScore);
-        
+
+        // Зөвхөн задлалт дахин хийхэд танилтын итгэлцүүр хэвээр үлдэнэ
+        document.updateOcrResults(ocrText, extractedData,
+                confidenceScore != null ? confidenceScore : document.getAiConfidenceScore());
+        document.setProcessingError(null);
+
         return DocumentDto.fromEntity(documentRepository.save(document));
     }
 
     @Override
     public DocumentDto extractDataWithAI(UUID id) {
-        logger.info("Extracting data with AI: {}", id);
+        logger.info("Queueing document for data extraction: {}", id);
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
-        
-        try {
-            String extractedData = performAIExtraction(document);
-            document.setExtractedData(extractedData);
-            document.setProcessingStatus("COMPLETED");
-            Document savedDocument = documentRepository.save(document);
-            logger.info("AI data extraction completed for document: {}", id);
-            return DocumentDto.fromEntity(savedDocument);
-        } catch (Exception e) {
-            logger.error("AI data extraction failed for document: {}", id, e);
-            document.setProcessingStatus("FAILED");
-            document.setProcessingError(e.getMessage());
-            Document savedDocument = documentRepository.save(document);
-            return DocumentDto.fromEntity(savedDocument);
+
+        // Танигдсан текстгүй бол бүтэн pipeline-аар явна
+        OcrRequest request = document.getOcrText() != null ? OcrRequest.forExtraction(document) : OcrRequest.of(document);
+        return queueForOcr(document, request);
+    }
+
+    private DocumentDto queueForOcr(Document document, OcrRequest request) {
+        if (documentOcrPipeline.isSaturated(request.priority())) {
+            throw new OcrSaturatedException();
         }
+        document.setProcessingStatus("QUEUED");
+        document.setProcessingError(null);
+        Document savedDocument = documentRepository.save(document);
+        submitForOcrAfterCommit(request);
+        return DocumentDto.fromEntity(savedDocument);
     }
 
-    private String performAIExtraction(Document document) {
-        // ⭐ PLACEHOLDER: Implement AI data extraction here ⭐
-        return "{}";
+    /**
+     * Worker-ууд commit хийгдсэн мөрийг харахын тулд transaction дууссаны дараа pipeline-д оруулна
+     */
+    private void submitForOcrAfterCommit(OcrRequest request) {
+        AfterCommit.run(() -> {
+            try {
+                documentOcrPipeline.submit(request);
+            } catch (IllegalStateException e) {
+                logger.warn("Document {} left queued for OCR: {}", request.documentId(), e.getMessage());
+            }
+        });
     }
 
     @Override
@@ -943,18 +1169,8 @@ public class DocumentServiceImpl implements DocumentService {
     @Transactional(readOnly = true)
     public byte[] generateDocumentPreview(UUID id) {
         logger.debug("Generating preview for document: {}", id);
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + id));
-
-        // Manual content type check
-        String contentType = document.getContentType();
-        if (!"application/pdf".equals(contentType) && 
-            !"image/jpeg".equals(contentType) && 
-            !"image/jpg".equals(contentType) && 
-            !"image/png".equals(contentType)) {
-            throw new IllegalArgumentException("Preview not supported for this file type");
-        }
-        return downloadDocument(id);
+        // Бүтэн файлын оронд кэшлэгдсэн жижигрүүлсэн хувилбар
+        return documentPreviewService.getPreview(id, DocumentPreviewService.Rendition.PREVIEW).content();
     }
 
     @Override
@@ -1047,18 +1263,247 @@ public class DocumentServiceImpl implements DocumentService {
 
     // Batch operations
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<DocumentDto> uploadMultipleDocuments(UUID customerId, UUID loanApplicationId,
                                                    Map<DocumentType, MultipartFile> files) throws IOException {
-        List<DocumentDto> uploadedDocuments = new ArrayList<>();
+        return uploadDocumentsInParallel(customerId, loanApplicationId, files).stream()
+                .filter(UploadResult::isSuccess)
+                .map(UploadResult::document)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Файлуудыг transaction-гүйгээр upload pool дээр хадгалж, дараа нь зөвхөн мэдээллийг богино transaction-д
+     * бичнэ - файл хуулж байх хугацаанд DB connection эзлэхгүй
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UploadResult> uploadDocumentsInParallel(UUID customerId, UUID loanApplicationId,
+                                                        Map<DocumentType, MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (files.size() > batchMaxFiles) {
+            throw new IllegalArgumentException("Too many files in one upload: " + files.size() + " (max " + batchMaxFiles + ")");
+        }
+        long totalBytes = files.values().stream().mapToLong(MultipartFile::getSize).sum();
+        if (totalBytes > batchMaxTotalBytes) {
+            throw new IllegalArgumentException("Upload size " + totalBytes + " exceeds limit of " + batchMaxTotalBytes + " bytes");
+        }
+        logger.info("Uploading {} documents ({} bytes) for customer: {}", files.size(), totalBytes, customerId);
+
+        // Бүх файлд нийтлэг хайлтууд нэг удаа
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
+        LoanApplication loanApplication = null;
+        if (loanApplicationId != null) {
+            loanApplication = loanApplicationRepository.findById(loanApplicationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + loanApplicationId));
+        }
+        boolean ocrPriority = loanApplication != null
+                && OcrRequest.PRIORITY_STATUSES.contains(loanApplication.getStatus());
+        if (ocrOnUpload && documentOcrPipeline.isSaturated(ocrPriority)) {
+            throw new OcrSaturatedException();
+        }
+        Map<DocumentType, Document> currentByType = findCurrentDocuments(customerId, files.keySet());
+
+        // Файлуудыг зэрэг шалгаж, хадгалж, checksum тооцно; нэг хүсэлт batchMaxConcurrency-оос олон thread эзлэхгүй
+        Semaphore permits = new Semaphore(Math.max(1, batchMaxConcurrency));
+        List<Future<StoredUpload>> pending = new ArrayList<>(files.size());
         for (Map.Entry<DocumentType, MultipartFile> entry : files.entrySet()) {
-            try {
-                DocumentDto document = uploadDocument(customerId, loanApplicationId, entry.getKey(), entry.getValue(), null, null);
-                uploadedDocuments.add(document);
-            } catch (Exception e) {
-                logger.error("Failed to upload document of type {}: {}", entry.getKey(), e.getMessage());
+            Document current = currentByType.get(entry.getKey());
+            permits.acquireUninterruptibly();
+            Callable<StoredUpload> task = () -> {
+                try {
+                    return storeUpload(entry.getKey(), entry.getValue(), current);
+                } finally {
+                    permits.release();
+                }
+            };
+            pending.add(submitUpload(task));
+        }
+        List<StoredUpload> uploads = new ArrayList<>(pending.size());
+        for (Future<StoredUpload> future : pending) {
+            uploads.add(awaitUpload(future));
+        }
+
+        List<String> checksums = uploads.stream()
+                .filter(upload -> upload.error() == null)
+                .map(StoredUpload::checksum)
+                .collect(Collectors.toList());
+        Set<String> duplicates = checksums.isEmpty()
+                ? Set.of()
+                : new HashSet<>(documentRepository.findExistingChecksums(checksums));
+
+        // Мэдээллийг нэг богино transaction-д batch INSERT-ээр бичнэ
+        List<Document> toSave = new ArrayList<>();
+        List<Document> created = new ArrayList<>();
+        List<String> storedLocations = new ArrayList<>();
+        for (StoredUpload upload : uploads) {
+            if (upload.error() != null) {
+                continue;
+            }
+            if (duplicates.contains(upload.checksum())) {
+                logger.warn("Potential duplicate document found for customer: {}", customerId);
+            }
+            MultipartFile file = upload.file();
+            Document document = newDocument(customer, loanApplication, upload.documentType(), file.getOriginalFilename(),
+                    file.getContentType(), file.getSize(), upload.storedFilename(), upload.location(), upload.checksum(),
+                    null, null);
+            if (upload.current() != null) {
+                supersede(upload.current(), document);
+                toSave.add(upload.current());
             }
+            toSave.add(document);
+            created.add(document);
+            storedLocations.add(upload.location());
         }
-        return uploadedDocuments;
+        Map<DocumentType, Document> createdByType = new HashMap<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            deleteFilesOnRollback(storedLocations);
+            documentRepository.saveAll(toSave);
+            for (Document document : created) {
+                createdByType.put(document.getDocumentType(), document);
+                processAfterCommit(document);
+            }
+        });
+        List<UploadResult> results = new ArrayList<>(uploads.size());
+        for (StoredUpload upload : uploads) {
+            Document document = createdByType.get(upload.documentType());
+            results.add(new UploadResult(upload.documentType().getName(), upload.file().getOriginalFilename(),
+                    document != null ? DocumentDto.fromEntity(document) : null, upload.error()));
+        }
+        logger.info("Uploaded {} of {} documents for customer: {}", created.size(), uploads.size(), customerId);
+        return results;
+    }
+
+    /**
+     * Нэг файлыг шалгаж хадгалах (upload thread дээр). Алдааг үр дүнд буцаана - бусад файл үргэлжилнэ.
+     */
+    private StoredUpload storeUpload(DocumentType documentType, MultipartFile file, Document current) {
+        try {
+            validateFileUpload(file, documentType);
+            if (current != null && current.getVerificationStatus() != Document.VerificationStatus.RESUBMIT_REQUIRED) {
+                throw new IllegalArgumentException("Document of this type already exists");
+            }
+            String storedFilename = generateStoredFilename(file.getOriginalFilename());
+            StoredFile stored = storeWithChecksum(file, storedFilename);
+            return new StoredUpload(documentType, file, current, storedFilename, stored.location(), stored.checksum(),
+                    null);
+        } catch (Exception e) {
+            logger.error("Failed to upload document of type {}: {}", documentType.getName(), e.getMessage());
+            return new StoredUpload(documentType, file, current, null, null, null, e.getMessage());
+        }
+    }
+
+    private Future<StoredUpload> submitUpload(Callable<StoredUpload> task) {
+        if (uploadExecutor == null) {
+            FutureTask<StoredUpload> inline = new FutureTask<>(task);
+            inline.run();
+            return inline;
+        }
+        return uploadExecutor.submit(task);
+    }
+
+    private static StoredUpload awaitUpload(Future<StoredUpload> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Upload interrupted", e);
+        } catch (ExecutionException e) {
+            // storeUpload алдааг өөрөө барьдаг тул энд хүрэхгүй
+            throw new IllegalStateException("Upload failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Төрөл бүрийн хамгийн сүүлийн хувилбар
+     */
+    private Map<DocumentType, Document> findCurrentDocuments(UUID customerId, Collection<DocumentType> documentTypes) {
+        Map<DocumentType, Document> current = new HashMap<>();
+        for (Document document : documentRepository.findByCustomerIdAndDocumentTypeIn(customerId, documentTypes)) {
+            current.merge(document.getDocumentType(), document, (a, b) ->
+                    Objects.requireNonNullElse(a.getVersionNumber(), 0) >= Objects.requireNonNullElse(b.getVersionNumber(), 0) ? a : b);
+        }
+        return current;
+    }
+
+    /**
+     * Transaction буцаагдвал хадгалсан файлууд өнчин үлдэхгүй
+     */
+    private void deleteFilesOnRollback(List<String> locations) {
+        if (locations.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    locations.forEach(DocumentServiceImpl.this::deleteQuietly);
+                }
+            }
+        });
+    }
+
+    /**
+     * Transaction буцаагдвал файлыг эх байршилд нь буцаана - upload session дахин дуусгах боломжтой үлдэнэ
+     */
+    private void restoreOnRollback(String location, Path original) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        restoreFile(location, original);
+                    } catch (IOException e) {
+                        logger.error("Could not restore file {} after rollback: {}", original, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private void restoreFile(String location, Path original) throws IOException {
+        Path stored = storage().localFile(location);
+        if (stored != null) {
+            moveFile(stored, original);
+            return;
+        }
+        try (InputStream in = storage().open(location)) {
+            Files.copy(in, original, StandardCopyOption.REPLACE_EXISTING);
+        }
+        storage().delete(location);
+    }
+
+    private static void moveFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Өөр file system дээрх түр хавтас
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(String location) {
+        try {
+            storage().delete(location);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not delete stored file {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Хадгалагдсан боловч мэдээлэл нь бичигдээгүй файл
+     */
+    private record StoredUpload(DocumentType documentType, MultipartFile file, Document current, String storedFilename,
+                                String location, String checksum, String error) {
+    }
+
+    private record StoredFile(String location, String checksum) {
     }
 
     @Override
@@ -1068,6 +1513,8 @@ public class DocumentServiceImpl implements DocumentService {
         int updatedCount = 0;
         for (UUID id : documentIds) {
             try {
+                // Өөр reviewer-ийн хүчинтэй lease-тэй баримтыг алгасна
+                documentReviewQueueService.claim(id, verifierName);
                 verifyDocument(id, newStatus, verifierName, notes);
                 updatedCount++;
             } catch (Exception e) {
@@ -1078,14 +1525,12 @@ public class DocumentServiceImpl implements DocumentService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int markExpiredDocuments() {
         try {
-            List<Document> expiredDocuments = documentRepository.findExpiredDocuments();
-            for (Document doc : expiredDocuments) {
-                doc.setVerificationStatus(Document.VerificationStatus.EXPIRED);
-                documentRepository.save(doc);
-            }
-            return expiredDocuments.size();
+            // Keyset chunk, batch UPDATE, high-water mark - DocumentExpiryService
+            Object expired = documentExpiryService.sweep().get("expired");
+            return expired instanceof Number number ? number.intValue() : 0;
         } catch (Exception e) {
             logger.error("Failed to mark expired documents: {}", e.getMessage());
             return 0;
@@ -1335,14 +1780,12 @@ public class DocumentServiceImpl implements DocumentService {
     // Audit and activity methods
     @Override
     public List<Map<String, Object>> getDocumentAuditHistory(UUID id) {
-        // ⭐ PLACEHOLDER: Implement Audit history here ⭐
-        return new ArrayList<>();
+        return auditTrailService.getAuditHistory(AuditLog.TABLE_DOCUMENTS, id, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
     public List<Map<String, Object>> getDocumentActivityLog(UUID id) {
-        // ⭐ PLACEHOLDER: Implement Activity log here ⭐
-        return new ArrayList<>();
+        return activityLogService.getEntityActivity(ActivityLog.ENTITY_DOCUMENT, id, null, AUDIT_HISTORY_LIMIT);
     }
 
     // Quality and integrity methods
@@ -0,0 +1,521 @@
+package com.company.los.service.impl;
+
+import com.company.los.enums.DayCountConvention;
+import com.company.los.service.LoanAccrualService;
+import com.company.los.util.AnnuityCalculator;
+import com.company.los.util.NodeIdentity;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.company.los.util.AnnuityCalculator.MC;
+
+/**
+ * Олгогдсон зээлийн өдрийн хүүгийн хуримтлалын batch.
+ *
+ * Зээлүүдийг id-ийн тэнцүү тоотой range-үүдэд (partition) хувааж, partition бүрийг тусдаа thread дээр
+ * keyset chunk-аар уншина. Chunk бүрийн ledger мөрүүд болон checkpoint нэг transaction-д
+ * бичигдэх тул тасалдсан ажил давхардалгүй үргэлжилнэ.
+ *
+ * Олон node зэрэг ажиллахад partition бүрийг эхлээд DB-д claim хийнэ (claimed_by, heartbeat_at):
+ * өөр node-ийн heartbeat нь claim-timeout-оос шинэ бол тэр partition-ийг алгасна. Checkpoint бүр
+ * claim-ийг шалгаж heartbeat-ийг сунгах тул claim алдсан node-ийн chunk rollback болно.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanAccrualServiceImpl implements LoanAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanAccrualServiceImpl.class);
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final String STATUS_SKIPPED = "SKIPPED";
+
+    private static final String SELECT_LOANS =
+            "SELECT la.id, la.disbursed_amount, la.approved_amount, la.requested_amount, " +
+            "la.approved_term_months, la.requested_term_months, la.approved_rate, la.interest_rate, " +
+            "lp.default_interest_rate, la.disbursed_date, la.disbursed_at " +
+            "FROM loan_applications la LEFT JOIN loan_products lp ON lp.id = la.loan_product_id " +
+            "WHERE la.status = 'DISBURSED' AND la.is_deleted = FALSE ";
+
+    private static final String COUNT_LOANS =
+            "SELECT COUNT(*) FROM loan_applications la WHERE la.status = 'DISBURSED' AND la.is_deleted = FALSE";
+
+    private static final String SELECT_BOUND =
+            "SELECT la.id FROM loan_applications la WHERE la.status = 'DISBURSED' AND la.is_deleted = FALSE " +
+            "ORDER BY la.id LIMIT 1 OFFSET ?";
+
+    private static final String INSERT_ACCRUAL =
+            "INSERT INTO loan_interest_accruals " +
+            "(loan_application_id, business_date, principal_balance, annual_rate, accrued_amount, day_count, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.loan.accrual.enabled:true}")
+    private boolean accrualEnabled = true;
+
+    @Value("${app.loan.accrual.day-count:ACT_365}")
+    private DayCountConvention dayCountConvention = DayCountConvention.ACT_365;
+
+    @Value("${app.loan.accrual.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.loan.accrual.partitions:0}")
+    private int configuredPartitions = 0;
+
+    // Өөр node-ийн claim-ийг үүнээс удаан heartbeat-гүй бол эзэнгүй гэж үзнэ
+    @Value("${app.loan.accrual.claim-timeout-seconds:600}")
+    private long claimTimeoutSeconds = 600;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Өдөр бүр өмнөх бизнес өдрийн хуримтлалыг ажиллуулна
+     */
+    @Scheduled(cron = "${app.loan.accrual.cron:0 30 0 * * *}")
+    public void scheduledDailyAccrual() {
+        if (!accrualEnabled) {
+            return;
+        }
+        try {
+            runDailyAccrual(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            logger.error("Scheduled interest accrual failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> runDailyAccrual(LocalDate businessDate) {
+        if (businessDate == null) {
+            throw new IllegalArgumentException("Business date is required");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Interest accrual is already running");
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            List<PartitionState> partitions = preparePartitions(businessDate);
+            List<PartitionState> pending = new ArrayList<>();
+            for (PartitionState partition : partitions) {
+                if (!STATUS_COMPLETED.equals(partition.status)) {
+                    pending.add(partition);
+                }
+            }
+
+            logger.info("Starting interest accrual for {}: {} partitions, {} pending, day count {}",
+                    businessDate, partitions.size(), pending.size(), dayCountConvention);
+
+            long processed = 0;
+            int failed = 0;
+            int skipped = 0;
+            if (!pending.isEmpty()) {
+                ExecutorService executor = Executors.newFixedThreadPool(pending.size(), namedThreadFactory());
+                try {
+                    List<Future<Long>> futures = new ArrayList<>();
+                    for (PartitionState partition : pending) {
+                        futures.add(executor.submit(() -> processPartition(businessDate, partition)));
+                    }
+                    for (int i = 0; i < futures.size(); i++) {
+                        try {
+                            Long count = futures.get(i).get();
+                            if (count == null) {
+                                skipped++;
+                            } else {
+                                processed += count;
+                            }
+                        } catch (Exception e) {
+                            failed++;
+                            PartitionState partition = pending.get(i);
+                            logger.error("Accrual partition {} failed for {}: {}",
+                                    partition.partitionNo, businessDate, e.getMessage(), e);
+                            markPartition(businessDate, partition.partitionNo, STATUS_FAILED);
+                        }
+                    }
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            logger.info("Interest accrual for {} finished: {} loans in {} ms, {} partition(s) failed, {} claimed by other nodes",
+                    businessDate, processed, elapsedMs, failed, skipped);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("businessDate", businessDate);
+            result.put("dayCount", dayCountConvention.getCode());
+            result.put("partitions", partitions.size());
+            result.put("resumedPartitions", pending.size());
+            result.put("failedPartitions", failed);
+            result.put("skippedPartitions", skipped);
+            result.put("processedLoans", processed);
+            result.put("durationMs", elapsedMs);
+            result.put("status", failed > 0 ? STATUS_FAILED : skipped > 0 ? STATUS_SKIPPED : STATUS_COMPLETED);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getAccrualRunStatus(LocalDate businessDate) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT partition_no, range_start, range_end, last_loan_id, processed_count, status, claimed_by, " +
+                "heartbeat_at, started_at, completed_at FROM accrual_run_partitions WHERE business_date = ? ORDER BY partition_no",
+                Date.valueOf(businessDate));
+
+        long processed = 0;
+        boolean completed = !partitions.isEmpty();
+        for (Map<String, Object> partition : partitions) {
+            processed += ((Number) partition.get("processed_count")).longValue();
+            completed &= STATUS_COMPLETED.equals(partition.get("status"));
+        }
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("businessDate", businessDate);
+        status.put("running", running.get());
+        status.put("node", NodeIdentity.get());
+        status.put("completed", completed);
+        status.put("processedLoans", processed);
+        status.put("partitions", partitions);
+        return status;
+    }
+
+    @Override
+    public BigDecimal calculateDailyAccrual(BigDecimal principalBalance, BigDecimal annualRate,
+                                            DayCountConvention dayCount, LocalDate businessDate) {
+        if (principalBalance == null || principalBalance.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal rate = AnnuityCalculator.fractionalRate(annualRate);
+        if (rate.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        long days = dayCount.dayCount(businessDate, businessDate.plusDays(1));
+        if (days <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return principalBalance.multiply(rate, MC)
+                .multiply(BigDecimal.valueOf(days))
+                .divide(BigDecimal.valueOf(dayCount.daysInYear(businessDate)), 4, RoundingMode.HALF_UP);
+    }
+
+    // Private helper methods
+
+    /**
+     * Partition-ийн checkpoint мөрүүдийг үүсгэх эсвэл өмнөх ажлынхыг ачаалах.
+     * Дахин эхлүүлэхэд анх хадгалсан range-ийг ашиглах тул CPU-ийн тоо өөрчлөгдсөн ч давхардахгүй.
+     * Хил нь бодит ID-уудын тэнцүү тоотой хэсгүүд (equi-depth) - UUIDv7 цагаар эрэмбэлэгддэг тул
+     * hex угтвараар хуваавал бүх зээл нэг partition-д орно.
+     */
+    private List<PartitionState> preparePartitions(LocalDate businessDate) {
+        List<PartitionState> existing = loadPartitions(businessDate);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        int count = configuredPartitions > 0
+                ? configuredPartitions
+                : Math.max(1, Runtime.getRuntime().availableProcessors());
+        count = Math.min(count, 256);
+
+        Long eligible = jdbcTemplate.queryForObject(COUNT_LOANS, Long.class);
+        long total = eligible != null ? eligible : 0;
+        count = (int) Math.max(1, Math.min(count, total));
+
+        // Хил: эрэмбэлсэн ID-уудын i*total/count дахь утга (status, id индексээр)
+        List<String> bounds = new ArrayList<>(count + 1);
+        bounds.add("");
+        for (int i = 1; i < count; i++) {
+            bounds.add(jdbcTemplate.queryForObject(SELECT_BOUND, String.class, i * total / count));
+        }
+        bounds.add(null);
+
+        List<Object[]> rows = new ArrayList<>(count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{Date.valueOf(businessDate), i, bounds.get(i), bounds.get(i + 1), STATUS_RUNNING, now});
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO accrual_run_partitions (business_date, partition_no, range_start, range_end, status, started_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", rows));
+        } catch (DuplicateKeyException e) {
+            // Өөр node зэрэг үүсгэсэн - түүний range-ийг ашиглана
+            logger.info("Accrual partitions for {} were created by another node", businessDate);
+        }
+        return loadPartitions(businessDate);
+    }
+
+    private List<PartitionState> loadPartitions(LocalDate businessDate) {
+        return jdbcTemplate.query(
+                "SELECT partition_no, range_start, range_end, last_loan_id, status " +
+                "FROM accrual_run_partitions WHERE business_date = ? ORDER BY partition_no",
+                (rs, rowNum) -> new PartitionState(
+                        rs.getInt("partition_no"),
+                        rs.getString("range_start"),
+                        rs.getString("range_end"),
+                        rs.getString("last_loan_id"),
+                        rs.getString("status")),
+                Date.valueOf(businessDate));
+    }
+
+    /**
+     * Partition-ийг claim хийж боловсруулах; өөр node эзэмшиж байвал null
+     */
+    private Long processPartition(LocalDate businessDate, PartitionState pending) {
+        PartitionState partition = claimPartition(businessDate, pending.partitionNo);
+        if (partition == null) {
+            logger.debug("Accrual partition {} for {} is claimed by another node", pending.partitionNo, businessDate);
+            return null;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String lastId = partition.lastLoanId;
+        long processed = 0;
+
+        while (true) {
+            final String afterId = lastId;
+            ChunkResult chunk = transactionTemplate.execute(status -> processChunk(businessDate, partition, afterId));
+            if (chunk == null || chunk.loanCount == 0) {
+                break;
+            }
+            processed += chunk.loanCount;
+            lastId = chunk.lastLoanId;
+            if (chunk.loanCount < chunkSize) {
+                break;
+            }
+        }
+        markPartition(businessDate, partition.partitionNo, STATUS_COMPLETED);
+        logger.debug("Accrual partition {} completed for {}: {} loans", partition.partitionNo, businessDate, processed);
+        return processed;
+    }
+
+    /**
+     * Дуусаагүй, эзэнгүй (эсвэл heartbeat нь хуучирсан) partition-ийг энэ node-д авах. Нөхцөлт UPDATE тул
+     * зэрэг оролдсон node-уудаас зөвхөн нэг нь амжина. Амжвал checkpoint-ийг DB-ээс дахин уншина.
+     */
+    private PartitionState claimPartition(LocalDate businessDate, int partitionNo) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbcTemplate.update(
+                "UPDATE accrual_run_partitions SET status = ?, claimed_by = ?, heartbeat_at = ?, completed_at = NULL " +
+                "WHERE business_date = ? AND partition_no = ? AND status <> ? " +
+                "AND (claimed_by IS NULL OR claimed_by = ? OR heartbeat_at IS NULL OR heartbeat_at < ?)",
+                STATUS_RUNNING, NodeIdentity.get(), Timestamp.valueOf(now),
+                Date.valueOf(businessDate), partitionNo, STATUS_COMPLETED,
+                NodeIdentity.get(), Timestamp.valueOf(now.minusSeconds(claimTimeoutSeconds)));
+        if (claimed == 0) {
+            return null;
+        }
+        for (PartitionState partition : loadPartitions(businessDate)) {
+            if (partition.partitionNo == partitionNo) {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Нэг chunk: зээл унших -> хуримтлал тооцох -> batch insert -> checkpoint (нэг transaction)
+     */
+    private ChunkResult processChunk(LocalDate businessDate, PartitionState partition, String afterId) {
+        StringBuilder sql = new StringBuilder(SELECT_LOANS);
+        List<Object> params = new ArrayList<>();
+        if (afterId != null) {
+            sql.append("AND la.id > ? ");
+            params.add(afterId);
+        } else if (!partition.rangeStart.isEmpty()) {
+            sql.append("AND la.id >= ? ");
+            params.add(partition.rangeStart);
+        }
+        if (partition.rangeEnd != null) {
+            sql.append("AND la.id < ? ");
+            params.add(partition.rangeEnd);
+        }
+        sql.append("ORDER BY la.id LIMIT ?");
+        params.add(chunkSize);
+
+        List<LoanTerms> loans = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql.toString());
+            ps.setFetchSize(chunkSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (rs, rowNum) -> {
+            Timestamp disbursedDate = rs.getTimestamp("disbursed_date");
+            Timestamp disbursedAt = rs.getTimestamp("disbursed_at");
+            Timestamp start = disbursedDate != null ? disbursedDate : disbursedAt;
+            return new LoanTerms(
+                    rs.getString("id"),
+                    firstNonNull(rs.getBigDecimal("disbursed_amount"), rs.getBigDecimal("approved_amount"),
+                            rs.getBigDecimal("requested_amount")),
+                    rs.getObject("approved_term_months") != null
+                            ? Integer.valueOf(rs.getInt("approved_term_months"))
+                            : (rs.getObject("requested_term_months") != null ? Integer.valueOf(rs.getInt("requested_term_months")) : null),
+                    firstNonNull(rs.getBigDecimal("approved_rate"), rs.getBigDecimal("interest_rate"),
+                            rs.getBigDecimal("default_interest_rate")),
+                    start != null ? start.toLocalDateTime().toLocalDate() : null);
+        });
+
+        if (loans.isEmpty()) {
+            return new ChunkResult(0, afterId);
+        }
+
+        Date sqlDate = Date.valueOf(businessDate);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(loans.size());
+        for (LoanTerms loan : loans) {
+            BigDecimal balance = scheduledBalance(loan, businessDate);
+            BigDecimal accrued = calculateDailyAccrual(balance, loan.annualRate, dayCountConvention, businessDate);
+            if (accrued.signum() > 0) {
+                rows.add(new Object[]{loan.id, sqlDate, AnnuityCalculator.money(balance),
+                        AnnuityCalculator.fractionalRate(loan.annualRate), accrued, dayCountConvention.getCode(), now});
+            }
+        }
+
+        String firstId = loans.get(0).id;
+        String lastId = loans.get(loans.size() - 1).id;
+
+        // Checkpoint-гүй үлдсэн мөр байвал давхардуулахгүйн тулд энэ chunk-ийн range-ийг цэвэрлэнэ
+        jdbcTemplate.update(
+                "DELETE FROM loan_interest_accruals WHERE business_date = ? " +
+                "AND loan_application_id >= ? AND loan_application_id <= ?",
+                sqlDate, firstId, lastId);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ACCRUAL, rows);
+        }
+        int checkpointed = jdbcTemplate.update(
+                "UPDATE accrual_run_partitions SET last_loan_id = ?, processed_count = processed_count + ?, heartbeat_at = ? " +
+                "WHERE business_date = ? AND partition_no = ? AND claimed_by = ?",
+                lastId, loans.size(), now, sqlDate, partition.partitionNo, NodeIdentity.get());
+        if (checkpointed == 0) {
+            // Heartbeat хуучирч өөр node partition-ийг авсан - энэ chunk rollback болно
+            throw new IllegalStateException("Accrual partition " + partition.partitionNo + " for " + businessDate
+                    + " was claimed by another node");
+        }
+
+        return new ChunkResult(loans.size(), lastId);
+    }
+
+    /**
+     * Хуваарийн дагуу тухайн өдрийн үндсэн зээлийн үлдэгдэл (хаалттай томьёо)
+     */
+    private BigDecimal scheduledBalance(LoanTerms loan, LocalDate businessDate) {
+        if (loan.principal == null || loan.termMonths == null || loan.termMonths <= 0
+                || loan.startDate == null || businessDate.isBefore(loan.startDate)) {
+            return BigDecimal.ZERO;
+        }
+        int due = (int) Math.min(ChronoUnit.MONTHS.between(loan.startDate, businessDate), loan.termMonths);
+        if (due >= loan.termMonths) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(loan.annualRate);
+        BigDecimal payment = AnnuityCalculator.payment(loan.principal, monthlyRate, loan.termMonths);
+        return AnnuityCalculator.balanceAfter(loan.principal, monthlyRate, payment, due);
+    }
+
+    /**
+     * Эцсийн төлөв бичиж claim-ийг чөлөөлөх (зөвхөн энэ node эзэмшиж байвал)
+     */
+    private void markPartition(LocalDate businessDate, int partitionNo, String status) {
+        jdbcTemplate.update(
+                "UPDATE accrual_run_partitions SET status = ?, completed_at = ?, claimed_by = NULL " +
+                "WHERE business_date = ? AND partition_no = ? AND claimed_by = ?",
+                status,
+                STATUS_COMPLETED.equals(status) ? Timestamp.valueOf(LocalDateTime.now()) : null,
+                Date.valueOf(businessDate), partitionNo, NodeIdentity.get());
+    }
+
+    private static BigDecimal firstNonNull(BigDecimal... values) {
+        for (BigDecimal value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "accrual-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class PartitionState {
+        private final int partitionNo;
+        private final String rangeStart;
+        private final String rangeEnd;
+        private final String lastLoanId;
+        private final String status;
+
+        private PartitionState(int partitionNo, String rangeStart, String rangeEnd, String lastLoanId, String status) {
+            this.partitionNo = partitionNo;
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+            this.lastLoanId = lastLoanId;
+            this.status = status;
+        }
+    }
+
+    private static final class LoanTerms {
+        private final String id;
+        private final BigDecimal principal;
+        private final Integer termMonths;
+        private final BigDecimal annualRate;
+        private final LocalDate startDate;
+
+        private LoanTerms(String id, BigDecimal principal, Integer termMonths, BigDecimal annualRate, LocalDate startDate) {
+            this.id = id;
+            this.principal = principal;
+            this.termMonths = termMonths;
+            this.annualRate = annualRate;
+            this.startDate = startDate;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int loanCount;
+        private final String lastLoanId;
+
+        private ChunkResult(int loanCount, String lastLoanId) {
+            this.loanCount = loanCount;
+            this.lastLoanId = lastLoanId;
+        }
+    }
+}
@@ -1,38 +1,66 @@
 package com.company.los.service.impl;
 
+import com.company.los.dto.ApplicationStateEntry;
 import com.company.los.dto.CreateLoanRequestDto;
 import com.company.los.dto.LoanApplicationDto;
+import com.company.los.dto.LoanApplicationListItem;
+import com.company.los.dto.CursorPage;
+import com.company.los.entity.ActivityLog;
+import com.company.los.entity.AuditLog;
 import com.company.los.entity.Customer;
 import com.company.los.entity.Document;
 import com.company.los.entity.LoanApplication;
 import com.company.los.entity.LoanProduct;
 import com.company.los.enums.LoanStatus;
+import com.company.los.enums.WorkflowStatus;
 import com.company.los.exception.ResourceNotFoundException;
 import com.company.los.repository.CustomerRepository;
 import com.company.los.repository.LoanApplicationRepository;
 import com.company.los.repository.LoanProductRepository;
+import com.company.los.repository.TableStatisticsRepository;
+import com.company.los.service.ActivityLogService;
+import com.company.los.service.ApplicationNumberService;
+import com.company.los.service.AuditTrailService;
 import com.company.los.service.LoanApplicationService;
+import com.company.los.service.LoanWorkflowService;
 import com.company.los.service.DocumentService;
 import com.company.los.service.NotificationService;
+import com.company.los.service.SlaMonitorService;
+import com.company.los.service.SpreadsheetExportService;
+import com.company.los.service.WorkQueueService;
+import com.company.los.util.AfterCommit;
+import com.company.los.util.CurrentUser;
+import com.company.los.util.EntityTags;
+import com.company.los.util.UuidV7;
+import com.company.los.util.SeekCursor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.ToIntFunction;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -50,11 +78,30 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(LoanApplicationServiceImpl.class);
 
+    private static final int AUDIT_HISTORY_LIMIT = 200;
+
+    // Ажлын дарааллын эрэмбэ (WorkQueueItem.ORDER): эрэмбэ, SLA эхэлсэн хугацаа, дүн
+    private static final Sort WORK_QUEUE_ORDER = Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("submittedAt"),
+            Sort.Order.desc("requestedAmount"), Sort.Order.asc("id"));
+
     private final LoanApplicationRepository loanApplicationRepository;
     private final CustomerRepository customerRepository;
     private final LoanProductRepository loanProductRepository;
     private final DocumentService documentService; // Баримт сервис
     private final NotificationService notificationService; // Мэдэгдлийн сервис
+    private final SpreadsheetExportService spreadsheetExportService;
+    private final LoanWorkflowService loanWorkflowService; // Төлөвийн шилжилтийн хүснэгт
+    private final WorkQueueService workQueueService; // Ажилтны ажлын дараалал
+    private final SlaMonitorService slaMonitorService; // Төлөвийн SLA хугацааны хяналт
+    private final AuditTrailService auditTrailService;
+    private final ActivityLogService activityLogService;
+    private final ApplicationNumberService applicationNumberService;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Өрсөлдөөнөөр CAS амжилтгүй болоход idempotent шилжилтийг дахин оролдох дээд тоо
+    @Value("${app.loan.transition.max-attempts:3}")
+    private int transitionMaxAttempts;
 
     /**
      * Бүх зээлийн хүсэлтийг хуудаслаж авах.
@@ -66,8 +113,27 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     @Transactional(readOnly = true)
     public Page<LoanApplicationDto> getAllLoanApplications(Pageable pageable) {
         logger.debug("Fetching all loan applications with pageable: {}", pageable);
-        return loanApplicationRepository.findAll(pageable)
-                .map(LoanApplicationDto::fromEntity);
+        return loanApplicationRepository.findListItems(pageable)
+                .map(this::toListDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LoanApplicationDto> getLoanApplicationsByCursor(String cursor, int size, boolean includeTotal) {
+        logger.debug("Fetching loan applications by cursor: {}, size: {}", cursor, size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        // Дараагийн хуудас байгаа эсэхийг мэдэхийн тулд нэг мөр илүү уншина
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<LoanApplicationListItem> rows = after == null
+                ? loanApplicationRepository.findSeekFirst(limit)
+                : loanApplicationRepository.findSeekAfter(after.sortKey(), after.id(), limit);
+
+        CursorPage<LoanApplicationDto> page = CursorPage.of(rows, pageSize, LoanApplicationListItem::createdAt, LoanApplicationListItem::id, this::toListDto);
+        if (includeTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("loan_applications"));
+        }
+        return page;
     }
 
     /**
@@ -82,17 +148,25 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public LoanApplicationDto getLoanApplicationById(UUID id) {
         logger.debug("Fetching loan application by ID: {}", id);
         return loanApplicationRepository.findById(id)
-                .map(LoanApplicationDto::fromEntity)
+                .map(this::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getLoanApplicationETag(UUID id) {
+        return loanApplicationRepository.findUpdatedAtById(id)
+                .map(EntityTags::of)
+                .orElse(null);
+    }
+
     /**
      * Шинэ зээлийн хүсэлт үүсгэх.
      *
      * @param createRequestDto Үүсгэх зээлийн хүсэлтийн мэдээлэл
      * @return Үүсгэсэн зээлийн хүсэлтийн мэдээлэл
      * @throws ResourceNotFoundException Хэрэв харилцагч олддохгүй бол
-     * @throws IllegalArgumentException  Хэрэв зээлийн хүсэлтийн дугаар давхардсан бол
+     * @throws IllegalArgumentException  Хэрэв зээлийн хүсэлтийн мэдээлэл буруу бол
      */
     @Override
     @Transactional
@@ -117,7 +191,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         }
 
         LoanApplication loanApplication = new LoanApplication();
-        loanApplication.setId(UUID.randomUUID());
+        loanApplication.setId(UuidV7.next());
         loanApplication.setCustomer(customer);
         loanApplication.setLoanType(createRequestDto.getLoanType());
         loanApplication.setRequestedAmount(createRequestDto.getRequestedAmount());
@@ -129,15 +203,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         loanApplication.setCreatedAt(LocalDateTime.now());
         loanApplication.setUpdatedAt(LocalDateTime.now());
 
-        // Зээлийн хүсэлтийн дугаар үүсгэх (жишээ: LN-YYYY-XXXX)
-        String applicationNumber = generateUniqueApplicationNumber();
-        // ⭐ ЗАСВАР: Давхардсан дугаар байгаа эсэхийг шалгах ⭐
-        if (loanApplicationRepository.findByApplicationNumber(applicationNumber).isPresent()) {
-            // Энэ нь маш ховор тохиолдолд үүсэх ёстой, учир нь UUID-аас үүсгэсэн.
-            // Гэхдээ тестүүдэд зориулж энд exception үүсгэж болно.
-            throw new IllegalArgumentException("Application number already exists: " + applicationNumber);
-        }
-        loanApplication.setApplicationNumber(applicationNumber);
+        // Зээлийн хүсэлтийн дугаар (жишээ: LN-YYYY-000123) - нөөцөлсөн блокоос олгох тул давхардахгүй
+        loanApplication.setApplicationNumber(applicationNumberService.nextApplicationNumber());
 
         // Set status and submitted date if not saving as draft
         if (createRequestDto.isSaveAsDraft()) {
@@ -147,6 +214,13 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         }
         
         LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        UUID savedId = savedApplication.getId();
+        ApplicationStateEntry stateEntry = ApplicationStateEntry.of(savedApplication);
+        // Дараалал, SLA нь commit болсон мөрийг л хянана - rollback болбол бүртгэгдэхгүй
+        AfterCommit.run(() -> {
+            workQueueService.refresh(savedId);
+            slaMonitorService.onStateEntered(stateEntry);
+        });
         
         logger.info("Loan application created successfully with ID: {}", savedApplication.getId());
 
@@ -157,7 +231,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
             logger.warn("Failed to send application created notification: {}", e.getMessage());
         }
         
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     /**
@@ -204,7 +278,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         LoanApplication savedApplication = loanApplicationRepository.save(existingApplication);
         logger.info("Loan application updated successfully with ID: {}", savedApplication.getId());
 
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     /**
@@ -219,26 +293,15 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     @Transactional
     public LoanApplicationDto updateLoanApplicationStatus(UUID id, LoanStatus status) {
         logger.info("Updating status for loan application ID: {} to {}", id, status);
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
+        LoanApplication.ApplicationStatus targetStatus = loanWorkflowService.toApplicationStatus(status);
 
-        LoanApplication.ApplicationStatus targetStatus = convertLoanStatusToApplicationStatus(status);
-
-        // ⭐ ЗАСВАР: Status transition validation нэмсэн ⭐
-        if (!isValidStatusTransition(loanApplication.getStatus(), targetStatus)) {
-            throw new IllegalStateException("Invalid status transition from " + loanApplication.getStatus() + " to " + targetStatus);
-        }
-
-        loanApplication.setStatus(targetStatus);
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication updatedApplication = loanApplicationRepository.save(loanApplication);
+        // Мэдэгдэл нь workflow effect (notify-status-change)-ээр илгээгдэнэ
+        LoanApplication updatedApplication = executeTransition(id, "status", true, targetStatus,
+                current -> loanApplicationRepository.compareAndSetStatus(id, current.getStatus(), current.getVersion(),
+                        targetStatus, null, LocalDateTime.now()));
         logger.info("Loan application status updated successfully for ID: {}", id);
 
-        // Мэдэгдэл илгээх
-        notificationService.sendStatusUpdateNotification(updatedApplication);
-
-        return LoanApplicationDto.fromEntity(updatedApplication);
+        return toDto(updatedApplication);
     }
 
     /**
@@ -276,6 +339,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         }
 
         loanApplicationRepository.delete(loanApplication);
+        slaMonitorService.forget(id);
         logger.info("Loan application deleted successfully with ID: {}", id);
     }
 
@@ -289,9 +353,11 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         loanApplication.setIsDeleted(false);
         loanApplication.setUpdatedAt(LocalDateTime.now());
         LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        ApplicationStateEntry stateEntry = ApplicationStateEntry.of(savedApplication);
+        AfterCommit.run(() -> slaMonitorService.onStateEntered(stateEntry));
 
         logger.info("Loan application restored successfully with ID: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
@@ -302,7 +368,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         LoanApplication loanApplication = loanApplicationRepository.findByApplicationNumber(applicationNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with number: " + applicationNumber));
 
-        return LoanApplicationDto.fromEntity(loanApplication);
+        return toDto(loanApplication);
     }
 
     @Override
@@ -310,8 +376,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public Page<LoanApplicationDto> getLoanApplicationsByCustomer(UUID customerId, Pageable pageable) {
         logger.debug("Getting loan applications by customer: {}", customerId);
 
-        Page<LoanApplication> applications = loanApplicationRepository.findByCustomer_Id(customerId, pageable);
-        return applications.map(LoanApplicationDto::fromEntity);
+        Page<LoanApplicationListItem> applications = loanApplicationRepository.findListItemsByCustomerId(customerId, pageable);
+        return applications.map(this::toListDto);
     }
 
     @Override
@@ -320,9 +386,9 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         logger.debug("Getting loan applications by status: {}", status);
 
         // Convert LoanStatus to ApplicationStatus for repository call
-        LoanApplication.ApplicationStatus appStatus = convertLoanStatusToApplicationStatus(status);
-        Page<LoanApplication> applications = loanApplicationRepository.findByStatus(appStatus, pageable);
-        return applications.map(LoanApplicationDto::fromEntity);
+        LoanApplication.ApplicationStatus appStatus = loanWorkflowService.toApplicationStatus(status);
+        Page<LoanApplicationListItem> applications = loanApplicationRepository.findListItemsByStatus(appStatus, pageable);
+        return applications.map(this::toListDto);
     }
 
     @Override
@@ -330,8 +396,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public Page<LoanApplicationDto> getLoanApplicationsByType(LoanApplication.LoanType loanType, Pageable pageable) {
         logger.debug("Getting loan applications by type: {}", loanType);
 
-        Page<LoanApplication> applications = loanApplicationRepository.findByLoanType(loanType, pageable);
-        return applications.map(LoanApplicationDto::fromEntity);
+        Page<LoanApplicationListItem> applications = loanApplicationRepository.findListItemsByLoanType(loanType, pageable);
+        return applications.map(this::toListDto);
     }
 
     @Override
@@ -339,12 +405,12 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public Page<LoanApplicationDto> searchLoanApplications(String searchTerm, Pageable pageable) {
         logger.debug("Searching loan applications with term: {}", searchTerm);
 
-        // ⭐ Fallback logic: Хэрэв findByApplicationNumberContainingIgnoreCase method байхгүй бол findAll ашиглана ⭐
+        // ⭐ Fallback logic: Хэрэв searchListItemsByApplicationNumber method байхгүй бол findAll ашиглана ⭐
         try {
-            return loanApplicationRepository.findByApplicationNumberContainingIgnoreCase(searchTerm, pageable)
-                    .map(LoanApplicationDto::fromEntity);
+            return loanApplicationRepository.searchListItemsByApplicationNumber(searchTerm, pageable)
+                    .map(this::toListDto);
         } catch (UnsupportedOperationException e) {
-            logger.warn("findByApplicationNumberContainingIgnoreCase not supported, falling back to in-memory filter for query: {}", searchTerm);
+            logger.warn("searchListItemsByApplicationNumber not supported, falling back to in-memory filter for query: {}", searchTerm);
             List<LoanApplication> allApplications = loanApplicationRepository.findAll();
             List<LoanApplication> filteredApplications = allApplications.stream()
                     .filter(app -> app.getApplicationNumber().toLowerCase().contains(searchTerm.toLowerCase()) ||
@@ -356,132 +422,99 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
             int start = (int) pageable.getOffset();
             int end = Math.min((start + pageable.getPageSize()), filteredApplications.size());
             List<LoanApplicationDto> pageContent = filteredApplications.subList(start, end).stream()
-                                                    .map(LoanApplicationDto::fromEntity)
+                                                    .map(this::toDto)
                                                     .collect(Collectors.toList());
             return new PageImpl<>(pageContent, pageable, filteredApplications.size());
         }
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto submitLoanApplication(UUID id) {
         logger.info("Submitting loan application: {}", id);
 
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        // Check status using ApplicationStatus enum
-        if (loanApplication.getStatus() != LoanApplication.ApplicationStatus.DRAFT) {
-            throw new IllegalArgumentException("Only draft applications can be submitted");
-        }
-
-        if (!isValidForSubmission(loanApplication)) {
-            throw new IllegalArgumentException("Application data is incomplete");
-        }
-
-        loanApplication.submit();
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        LoanApplication savedApplication = executeTransition(id, "submit", true,
+                LoanApplication.ApplicationStatus.SUBMITTED,
+                current -> loanApplicationRepository.compareAndSetSubmitted(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.SUBMITTED, LocalDateTime.now()));
         logger.info("Loan application submitted successfully with ID: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto approveLoanApplication(UUID id, BigDecimal approvedAmount,
                                                     Integer approvedTermMonths, BigDecimal approvedRate,
                                                     String reason) {
         logger.info("Approving loan application: {}", id);
 
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        if (!canBeApproved(loanApplication)) {
-            throw new IllegalStateException("Loan application cannot be approved in current status");
-        }
-
-        loanApplication.approve("system", approvedAmount, approvedTermMonths, approvedRate);
-        loanApplication.setDecisionReason(reason);
         BigDecimal monthlyPayment = calculateMonthlyPayment(approvedAmount, approvedTermMonths, approvedRate);
-        loanApplication.setMonthlyPayment(monthlyPayment);
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        String actor = CurrentUser.username();
+
+        // Шийдвэр нь ажилтны харсан хувилбар дээр гарсан тул өрсөлдөөнд автоматаар давтахгүй
+        LoanApplication savedApplication = executeTransition(id, "approve", false,
+                LoanApplication.ApplicationStatus.APPROVED,
+                current -> loanApplicationRepository.compareAndSetApproved(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.APPROVED, actor, approvedAmount, approvedTermMonths,
+                        approvedRate, monthlyPayment, reason, LocalDateTime.now()));
         logger.info("Loan application approved successfully: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto rejectLoanApplication(UUID id, String reason) {
         logger.info("Rejecting loan application: {}", id);
+        String actor = CurrentUser.username();
 
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        if (!canBeRejected(loanApplication)) {
-            throw new IllegalStateException("Loan application cannot be rejected in current status");
-        }
-
-        loanApplication.reject("system", reason);
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        LoanApplication savedApplication = executeTransition(id, "reject", true,
+                LoanApplication.ApplicationStatus.REJECTED,
+                current -> loanApplicationRepository.compareAndSetRejected(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.REJECTED, actor, reason, LocalDateTime.now()));
         logger.info("Loan application rejected successfully: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto disburseLoan(UUID id) {
         logger.info("Disbursing loan: {}", id);
-
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        if (loanApplication.getStatus() != LoanApplication.ApplicationStatus.APPROVED) {
-            throw new IllegalArgumentException("Only approved loans can be disbursed");
-        }
-
-        loanApplication.disburse("system", loanApplication.getApprovedAmount());
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        String actor = CurrentUser.username();
+
+        // Олгох дүн уншсан хувилбараас хамаардаг тул өрсөлдөөнд автоматаар давтахгүй
+        LoanApplication savedApplication = executeTransition(id, "disburse", false,
+                LoanApplication.ApplicationStatus.DISBURSED,
+                current -> loanApplicationRepository.compareAndSetDisbursed(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.DISBURSED, actor, current.getApprovedAmount(),
+                        LocalDateTime.now()));
         logger.info("Loan disbursed successfully: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto cancelLoanApplication(UUID id, String reason) {
         logger.info("Cancelling loan application: {}", id);
 
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        if (isFinalStatus(loanApplication)) {
-            throw new IllegalArgumentException("Final status applications cannot be cancelled");
-        }
-
-        loanApplication.setStatus(LoanApplication.ApplicationStatus.CANCELLED);
-        loanApplication.setDecisionReason(reason);
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        LoanApplication savedApplication = executeTransition(id, "cancel", true,
+                LoanApplication.ApplicationStatus.CANCELLED,
+                current -> loanApplicationRepository.compareAndSetStatus(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.CANCELLED, reason, LocalDateTime.now()));
         logger.info("Loan application cancelled successfully: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
+    @Transactional
     public LoanApplicationDto requestAdditionalInfo(UUID id, String requestedInfo) {
         logger.info("Requesting additional info for loan application: {}", id);
 
-        LoanApplication loanApplication = loanApplicationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
-
-        loanApplication.setStatus(LoanApplication.ApplicationStatus.PENDING_DOCUMENTS);
-        loanApplication.setDecisionReason(requestedInfo);
-        loanApplication.setUpdatedAt(LocalDateTime.now());
-
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        LoanApplication savedApplication = executeTransition(id, "request-info", true,
+                LoanApplication.ApplicationStatus.PENDING_DOCUMENTS,
+                current -> loanApplicationRepository.compareAndSetStatus(id, current.getStatus(), current.getVersion(),
+                        LoanApplication.ApplicationStatus.PENDING_DOCUMENTS, requestedInfo, LocalDateTime.now()));
         logger.info("Additional info requested for loan application: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
@@ -581,7 +614,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         LoanApplication loanApplication = loanApplicationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
 
-        return canBeApproved(loanApplication);
+        return loanWorkflowService.evaluateTransitions(List.of(loanApplication),
+                LoanApplication.ApplicationStatus.APPROVED).get(0).allowed();
     }
 
     @Override
@@ -605,6 +639,12 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
                 .collect(Collectors.groupingBy(LoanApplication::getStatus, Collectors.counting()));
         stats.put("byStatus", byStatus);
 
+        // Ажлын урсгалын үе шат (IN_PROGRESS, ON_HOLD, ...) - төлөвийн тооноос нэгтгэнэ
+        Map<WorkflowStatus, Long> byWorkflowStatus = new EnumMap<>(WorkflowStatus.class);
+        byStatus.forEach((status, count) ->
+                byWorkflowStatus.merge(loanWorkflowService.getWorkflowStatus(status), count, Long::sum));
+        stats.put("byWorkflowStatus", byWorkflowStatus);
+
         Map<LoanApplication.LoanType, Long> byType = loanApplicationRepository.findAll().stream()
                 .collect(Collectors.groupingBy(LoanApplication::getLoanType, Collectors.counting()));
         stats.put("byType", byType);
@@ -622,7 +662,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     @Transactional(readOnly = true)
     public Map<LoanStatus, Long> getLoanApplicationCountByStatus() {
         return loanApplicationRepository.findAll().stream()
-                .collect(Collectors.groupingBy(app -> convertApplicationStatusToLoanStatus(app.getStatus()), Collectors.counting()));
+                .collect(Collectors.groupingBy(app -> loanWorkflowService.toLoanStatus(app.getStatus()), Collectors.counting()));
     }
 
     @Override
@@ -661,16 +701,16 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
                                                                      Pageable pageable) {
         // ⭐ ЗАСВАР: Repository method ашиглах эсвэл fallback логик ⭐
         try {
-            LoanApplication.ApplicationStatus statusEnum = status != null ? convertLoanStatusToApplicationStatus(status) : null;
+            LoanApplication.ApplicationStatus statusEnum = status != null ? loanWorkflowService.toApplicationStatus(status) : null;
             return loanApplicationRepository.findByCustomer_CustomerTypeAndLoanTypeAndStatusAndRequestedAmountBetweenAndCreatedAtBetween(
                     customerType, loanType, statusEnum, minAmount, maxAmount, startDate, endDate, pageable)
-                    .map(LoanApplicationDto::fromEntity);
+                    .map(this::toDto);
         } catch (UnsupportedOperationException e) {
             logger.warn("Repository method for searchLoanApplicationsWithFilters not available, falling back to in-memory filter: {}", e.getMessage());
             List<LoanApplication> allApplications = loanApplicationRepository.findAll();
             List<LoanApplication> filteredApplications = allApplications.stream()
                     .filter(app -> {
-                        if (status != null && app.getStatus() != convertLoanStatusToApplicationStatus(status)) return false;
+                        if (status != null && app.getStatus() != loanWorkflowService.toApplicationStatus(status)) return false;
                         if (loanType != null && app.getLoanType() != loanType) return false;
                         if (customerType != null && app.getCustomer() != null && app.getCustomer().getCustomerType() != customerType) return false;
                         if (minAmount != null && app.getRequestedAmount() != null && app.getRequestedAmount().compareTo(minAmount) < 0) return false;
@@ -686,7 +726,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
             int start = (int) pageable.getOffset();
             int end = Math.min((start + pageable.getPageSize()), filteredApplications.size());
             List<LoanApplicationDto> pageContent = filteredApplications.subList(start, end).stream()
-                                                    .map(LoanApplicationDto::fromEntity)
+                                                    .map(this::toDto)
                                                     .collect(Collectors.toList());
             return new PageImpl<>(pageContent, pageable, filteredApplications.size());
         }
@@ -703,8 +743,9 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         loanApplication.setUpdatedAt(LocalDateTime.now());
 
         LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+        AfterCommit.run(() -> workQueueService.refresh(id));
         logger.info("Loan application assigned successfully");
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
@@ -731,13 +772,14 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         loanApplication.setUpdatedAt(LocalDateTime.now());
 
         loanApplicationRepository.save(loanApplication);
+        AfterCommit.run(() -> workQueueService.refresh(id));
         return getLoanApplicationById(id);
     }
 
     @Override
     public Page<LoanApplicationDto> getLoanApplicationsByPriority(Integer priority, Pageable pageable) {
         return loanApplicationRepository.findByPriority(priority, pageable)
-                .map(LoanApplicationDto::fromEntity);
+                .map(this::toDto);
     }
 
     @Override
@@ -775,7 +817,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
 
         LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
         logger.info("Risk assessment performed for loan application: {}", id);
-        return LoanApplicationDto.fromEntity(savedApplication);
+        return toDto(savedApplication);
     }
 
     @Override
@@ -788,31 +830,46 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public Page<LoanApplicationDto> getHighRiskApplications(BigDecimal riskThreshold, Pageable pageable) {
         // ⭐ PLACEHOLDER: Өндөр эрсдэлтэй хүсэлтүүдийг шүүх логик нэмэх ⭐
         return loanApplicationRepository.findAll(pageable)
-                .map(LoanApplicationDto::fromEntity);
+                .map(this::toDto);
     }
 
     @Override
     public Page<LoanApplicationDto> getLowRiskApplications(BigDecimal riskThreshold, Pageable pageable) {
         // ⭐ PLACEHOLDER: Бага эрсдэлтэй хүсэлтүүдийг шүүх логик нэмэх ⭐
         return loanApplicationRepository.findAll(pageable)
-                .map(LoanApplicationDto::fromEntity);
+                .map(this::toDto);
     }
 
+    /**
+     * Хугацаа хэтэрсэн хүсэлтүүд - SLA monitor-ийн хугацаа хэтэрсэн олонлогоос (хамгийн эрт хэтэрсэн нь түрүүнд).
+     * Зөвхөн тухайн хуудасны мөрүүдийг DB-ээс уншина.
+     */
     @Override
+    @Transactional(readOnly = true)
     public Page<LoanApplicationDto> getOverdueApplications(Pageable pageable) {
-        LocalDateTime overdueThreshold = LocalDateTime.now().minusDays(7);
-        return loanApplicationRepository.findByStatusAndCreatedAtBefore(LoanApplication.ApplicationStatus.PENDING, overdueThreshold, pageable)
-                .map(LoanApplicationDto::fromEntity);
+        List<UUID> overdueIds = slaMonitorService.getOverdue().stream()
+                .map(SlaMonitorService.SlaBreach::applicationId)
+                .collect(Collectors.toList());
+        return pageOfIds(overdueIds, pageable);
     }
 
+    /**
+     * Тухайн төлөвт days-ээс удаан байгаа хүсэлтүүд - төлөвт орсон мөчөөр (SLA monitor-ийн индексээс).
+     * Эцсийн төлөвүүд хянагдахгүй тул үүсгэсэн огноогоор DB-ээс шүүнэ.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<LoanApplicationDto> getPendingTooLong(LoanStatus status, int days) {
         LocalDateTime threshold = LocalDateTime.now().minusDays(days);
-        LoanApplication.ApplicationStatus appStatus = convertLoanStatusToApplicationStatus(status);
-        return loanApplicationRepository.findByStatusAndCreatedAtBefore(appStatus, threshold)
-                .stream()
-                .map(LoanApplicationDto::fromEntity)
-                .collect(Collectors.toList());
+        LoanApplication.ApplicationStatus appStatus = loanWorkflowService.toApplicationStatus(status);
+        if (!slaMonitorService.isTracked(appStatus)) {
+            return loanApplicationRepository.findByStatusAndCreatedAtBefore(appStatus, threshold)
+                    .stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        }
+        List<UUID> ids = slaMonitorService.getEnteredBefore(appStatus, threshold);
+        return pageOfIds(ids, Pageable.unpaged()).getContent();
     }
 
     @Override
@@ -864,7 +921,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     public Page<LoanApplicationDto> getFastestApprovedApplications(Pageable pageable) {
         // ⭐ PLACEHOLDER: Хамгийн хурдан батлагдсан хүсэлтүүдийг авах логик нэмэх ⭐
         return loanApplicationRepository.findAll(pageable)
-                .map(LoanApplicationDto::fromEntity);
+                .map(this::toDto);
     }
 
     @Override
@@ -917,8 +974,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
 
     @Override
     public List<Map<String, Object>> getLoanReport(LocalDateTime startDate, LocalDateTime endDate) {
-        return loanApplicationRepository.findAll().stream()
-                .filter(app -> app.getCreatedAt() != null && app.getCreatedAt().isAfter(startDate) && app.getCreatedAt().isBefore(endDate))
+        // Мужаар шүүж, харилцагчийг JOIN FETCH-ээр нэг query-д татна (findAll + N+1-ийн оронд)
+        return loanApplicationRepository.findForLoanReport(startDate, endDate).stream()
                 .map(app -> {
                     Map<String, Object> reportData = new HashMap<>();
                     reportData.put("applicationNumber", app.getApplicationNumber());
@@ -937,14 +994,51 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
 
     @Override
     public List<Map<String, Object>> getPerformanceReport(LocalDateTime startDate, LocalDateTime endDate) {
-        // ⭐ PLACEHOLDER: Гүйцэтгэлийн тайлангийн логик нэмэх ⭐
-        return new ArrayList<>();
+        // Зээлийн төрөл бүрээр DB дээр бүлэглэсэн дүнгээс гүйцэтгэлийг угсарна
+        Map<Object, Map<String, Object>> byLoanType = new LinkedHashMap<>();
+        for (Object[] row : loanApplicationRepository.summarizeByLoanTypeAndStatus(startDate, endDate)) {
+            Map<String, Object> reportData = byLoanType.computeIfAbsent(row[0], loanType -> {
+                Map<String, Object> data = new HashMap<>();
+                data.put("loanType", loanType);
+                data.put("totalApplications", 0L);
+                data.put("approvedCount", 0L);
+                data.put("rejectedCount", 0L);
+                data.put("requestedAmount", BigDecimal.ZERO);
+                data.put("approvedAmount", BigDecimal.ZERO);
+                return data;
+            });
+            LoanApplication.ApplicationStatus status = (LoanApplication.ApplicationStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            reportData.merge("totalApplications", count, (a, b) -> (Long) a + (Long) b);
+            reportData.merge("requestedAmount", row[3], (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+            reportData.merge("approvedAmount", row[4], (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+            if (status == LoanApplication.ApplicationStatus.APPROVED || status == LoanApplication.ApplicationStatus.DISBURSED) {
+                reportData.merge("approvedCount", count, (a, b) -> (Long) a + (Long) b);
+            } else if (status == LoanApplication.ApplicationStatus.REJECTED) {
+                reportData.merge("rejectedCount", count, (a, b) -> (Long) a + (Long) b);
+            }
+        }
+
+        for (Map<String, Object> reportData : byLoanType.values()) {
+            long approved = (Long) reportData.get("approvedCount");
+            long decided = approved + (Long) reportData.get("rejectedCount");
+            reportData.put("approvalRate", decided > 0
+                    ? BigDecimal.valueOf(approved * 100.0 / decided).setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+        }
+        return new ArrayList<>(byLoanType.values());
     }
 
     @Override
     public byte[] exportLoanApplicationsToExcel(List<UUID> applicationIds) {
-        logger.warn("exportLoanApplicationsToExcel not implemented yet");
-        return new byte[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportLoanApplicationsToExcel(applicationIds, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public int exportLoanApplicationsToExcel(List<UUID> applicationIds, OutputStream out) {
+        return spreadsheetExportService.exportLoanApplications(applicationIds, out);
     }
 
     @Override
@@ -953,7 +1047,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
                 PageRequest.of(0, 1, org.springframework.data.domain.Sort.by("createdAt").descending())).getContent();
 
         if (!applications.isEmpty()) {
-            return LoanApplicationDto.fromEntity(applications.get(0));
+            return toDto(applications.get(0));
         }
         return null;
     }
@@ -969,25 +1063,54 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         return loanApplicationRepository.findByCustomer_Id(customerId, Pageable.unpaged())
                 .getContent()
                 .stream()
-                .map(LoanApplicationDto::fromEntity)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     public int updateStatusForApplications(List<UUID> applicationIds, LoanStatus currentStatus, LoanStatus newStatus) {
+        LoanApplication.ApplicationStatus expected = currentStatus != null
+                ? loanWorkflowService.toApplicationStatus(currentStatus) : null;
+
+        // Хориотой шилжилтийг DB бичилтгүйгээр урьдчилан шүүнэ
         int updatedCount = 0;
-        for (UUID id : applicationIds) {
+        for (LoanWorkflowService.TransitionDecision decision : evaluateStatusTransitions(applicationIds, newStatus)) {
+            if (!decision.allowed() || (expected != null && decision.from() != expected)) {
+                logger.debug("Skipping application {}: {}", decision.applicationId(),
+                        decision.allowed() ? "status is " + decision.from() : decision.reason());
+                continue;
+            }
             try {
-                updateLoanApplicationStatus(id, newStatus);
+                updateLoanApplicationStatus(decision.applicationId(), newStatus);
                 updatedCount++;
             } catch (Exception e) {
-                logger.error("Failed to update application: {}", id, e);
+                logger.error("Failed to update application: {}", decision.applicationId(), e);
             }
         }
 
         return updatedCount;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoanWorkflowService.TransitionDecision> evaluateStatusTransitions(List<UUID> applicationIds,
+                                                                                LoanStatus targetStatus) {
+        LoanApplication.ApplicationStatus target = loanWorkflowService.toApplicationStatus(targetStatus);
+        Map<UUID, LoanApplication> applications = loanApplicationRepository.findAllById(applicationIds).stream()
+                .collect(Collectors.toMap(LoanApplication::getId, app -> app));
+
+        Map<UUID, LoanWorkflowService.TransitionDecision> decisions = loanWorkflowService
+                .evaluateTransitions(applications.values(), target).stream()
+                .collect(Collectors.toMap(LoanWorkflowService.TransitionDecision::applicationId, decision -> decision));
+
+        // Оролтын дарааллаар; олдоогүй ID-г татгалзсанд тооцно
+        return applicationIds.stream()
+                .distinct()
+                .map(id -> decisions.getOrDefault(id, new LoanWorkflowService.TransitionDecision(
+                        id, null, target, false, "Loan application not found with ID: " + id)))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean checkLoanLimits(UUID customerId, BigDecimal requestedAmount) {
         // ⭐ PLACEHOLDER: Зээлийн хязгаарыг шалгах логик нэмэх ⭐
@@ -1036,73 +1159,30 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
 
     @Override
     public List<Map<String, Object>> getLoanApplicationAuditHistory(UUID id) {
-        // ⭐ PLACEHOLDER: Аудит түүхийг авах логик нэмэх ⭐
-        return new ArrayList<>();
+        return auditTrailService.getAuditHistory(AuditLog.TABLE_LOAN_APPLICATIONS, id, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
     public List<Map<String, Object>> getLoanApplicationActivityLog(UUID id) {
-        // ⭐ PLACEHOLDER: Үйл ажиллагааны түүхийг авах логик нэмэх ⭐
-        return new ArrayList<>();
+        return activityLogService.getEntityActivity(ActivityLog.ENTITY_LOAN_APPLICATION, id, null, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LoanApplicationDto> getPendingApplications() {
-        LoanApplication.ApplicationStatus status = LoanApplication.ApplicationStatus.SUBMITTED;
-        List<LoanApplication> applications = loanApplicationRepository.findByStatus(status,
-                PageRequest.of(0, 1000)).getContent();
-        return applications.stream()
-                .map(LoanApplicationDto::fromEntity)
-                .collect(Collectors.toList());
+        return loanApplicationRepository.findListItemsByStatus(LoanApplication.ApplicationStatus.SUBMITTED,
+                        PageRequest.of(0, 1000, WORK_QUEUE_ORDER))
+                .map(this::toListDto)
+                .getContent();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LoanApplicationDto> getApplicationsForReview() {
-        LoanApplication.ApplicationStatus status = LoanApplication.ApplicationStatus.UNDER_REVIEW;
-        List<LoanApplication> applications = loanApplicationRepository.findByStatus(status,
-                PageRequest.of(0, 1000)).getContent();
-        return applications.stream()
-                .map(LoanApplicationDto::fromEntity)
-                .collect(Collectors.toList());
-    }
-
-    // ⭐ ЗАСВАРЛАСАН: Status transition validation logic засварласан ⭐
-    private boolean isValidStatusTransition(LoanApplication.ApplicationStatus from, LoanApplication.ApplicationStatus to) {
-        // Define valid transitions
-        switch (from) {
-            case DRAFT:
-                return to == LoanApplication.ApplicationStatus.SUBMITTED || to == LoanApplication.ApplicationStatus.CANCELLED;
-            case SUBMITTED:
-                return to == LoanApplication.ApplicationStatus.UNDER_REVIEW || 
-                       to == LoanApplication.ApplicationStatus.PENDING_DOCUMENTS ||
-                       to == LoanApplication.ApplicationStatus.CANCELLED ||
-                       to == LoanApplication.ApplicationStatus.APPROVED || // Шууд батлах боломжтой
-                       to == LoanApplication.ApplicationStatus.REJECTED; // Шууд татгалзах боломжтой
-            case UNDER_REVIEW:
-                return to == LoanApplication.ApplicationStatus.APPROVED || 
-                       to == LoanApplication.ApplicationStatus.REJECTED ||
-                       to == LoanApplication.ApplicationStatus.PENDING_DOCUMENTS ||
-                       to == LoanApplication.ApplicationStatus.CANCELLED;
-            case PENDING_DOCUMENTS:
-                return to == LoanApplication.ApplicationStatus.UNDER_REVIEW ||
-                       to == LoanApplication.ApplicationStatus.CANCELLED ||
-                       to == LoanApplication.ApplicationStatus.SUBMITTED; // Баримт ирсний дараа дахин илгээх
-            case APPROVED:
-                return to == LoanApplication.ApplicationStatus.DISBURSED ||
-                       to == LoanApplication.ApplicationStatus.CANCELLED; // Батлагдсан ч цуцлах боломжтой
-            case REJECTED:
-            case CANCELLED:
-            case DISBURSED:
-                return false; // Terminal states - no further transitions
-            case PENDING: // PENDING status-ийг нэмсэн
-                return to == LoanApplication.ApplicationStatus.SUBMITTED ||
-                       to == LoanApplication.ApplicationStatus.UNDER_REVIEW ||
-                       to == LoanApplication.ApplicationStatus.CANCELLED;
-            default:
-                return false;
-        }
+        return loanApplicationRepository.findListItemsByStatus(LoanApplication.ApplicationStatus.UNDER_REVIEW,
+                        PageRequest.of(0, 1000, WORK_QUEUE_ORDER))
+                .map(this::toListDto)
+                .getContent();
     }
 
     // Helper methods
@@ -1121,98 +1201,114 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
                loanApplication.getStatus() == LoanApplication.ApplicationStatus.CANCELLED;
     }
 
-    private boolean canBeApproved(LoanApplication loanApplication) {
-        return loanApplication.getStatus() == LoanApplication.ApplicationStatus.SUBMITTED ||
-               loanApplication.getStatus() == LoanApplication.ApplicationStatus.UNDER_REVIEW ||
-               loanApplication.getStatus() == LoanApplication.ApplicationStatus.PENDING_DOCUMENTS; // Баримт ирсний дараа батлах
-    }
-
-    private boolean canBeRejected(LoanApplication loanApplication) {
-        return loanApplication.getStatus() != LoanApplication.ApplicationStatus.DRAFT &&
-               loanApplication.getStatus() != LoanApplication.ApplicationStatus.APPROVED &&
-               loanApplication.getStatus() != LoanApplication.ApplicationStatus.DISBURSED &&
-               loanApplication.getStatus() != LoanApplication.ApplicationStatus.REJECTED &&
-               loanApplication.getStatus() != LoanApplication.ApplicationStatus.CANCELLED;
-    }
-
-    private boolean isValidForSubmission(LoanApplication loanApplication) {
-        return loanApplication.getCustomer() != null &&
-               loanApplication.getLoanType() != null &&
-               loanApplication.getRequestedAmount() != null &&
-               loanApplication.getRequestedAmount().compareTo(BigDecimal.ZERO) > 0 &&
-               loanApplication.getRequestedTermMonths() != null &&
-               loanApplication.getRequestedTermMonths() > 0;
-    }
+    /**
+     * Төлөвийн шилжилтийг нэг conditional UPDATE (id, status, version)-ээр гүйцэтгэх.
+     * Шилжилтийг workflow хүснэгт, guard-аар шалгана (хориотой бол IllegalStateException).
+     * 0 мөр шинэчлэгдвэл өөр хэрэглэгч түрүүлж өөрчилсөн: retryable бол шинэ төлөвийг уншиж дахин шалгана,
+     * үгүй бол шууд conflict буцаана.
+     */
+    private LoanApplication executeTransition(UUID id, String operation, boolean retryable,
+                                              LoanApplication.ApplicationStatus target,
+                                              ToIntFunction<LoanApplication> compareAndSet) {
+        int maxAttempts = retryable ? Math.max(1, transitionMaxAttempts) : 1;
+        for (int attempt = 1; ; attempt++) {
+            LoanApplication current = loanApplicationRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
+            loanWorkflowService.checkTransition(current, target);
+            // CAS нь persistence context-ийг цэвэрлэх тул өмнөх төлөвийн мэдээллийг урьдчилан авна
+            LoanApplication.ApplicationStatus from = current.getStatus();
+            Long fromVersion = current.getVersion();
+            String fromReason = current.getDecisionReason();
+            LocalDateTime enteredAt = current.getStatusChangedAt() != null
+                    ? current.getStatusChangedAt() : current.getCreatedAt();
+
+            if (compareAndSet.applyAsInt(current) == 1) {
+                meterRegistry.summary("los.loan.transition.attempts", "operation", operation).record(attempt);
+                LoanApplication updated = loanApplicationRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + id));
+                // Bulk UPDATE нь Hibernate event-гүй тул аудит, дагалдах үйлдлийг commit-ийн дараа өөрсдөө хийнэ
+                AuditTrailService.Change change = transitionChange(operation, from, fromVersion, fromReason, updated);
+                ApplicationStateEntry entry = ApplicationStateEntry.of(updated);
+                AfterCommit.run(() -> {
+                    auditTrailService.capture(change);
+                    loanWorkflowService.onTransitionCompleted(from, enteredAt, updated);
+                    workQueueService.refresh(id);
+                    slaMonitorService.onStateEntered(entry);
+                });
+                return updated;
+            }
 
-    private String generateUniqueApplicationNumber() {
-        // Жишээ: LN-YYYY-UUID-ийн эхний 8 тэмдэгт
-        String year = String.valueOf(LocalDateTime.now().getYear());
-        String uuidPart = UUID.randomUUID().toString().substring(0, 8);
-        return "LN-" + year + "-" + uuidPart.toUpperCase();
+            meterRegistry.counter("los.loan.transition.conflicts", "operation", operation).increment();
+            if (attempt >= maxAttempts) {
+                meterRegistry.counter("los.loan.transition.failures", "operation", operation).increment();
+                logger.warn("Loan application {} modified concurrently during {} ({} attempt(s))", id, operation, attempt);
+                throw new OptimisticLockingFailureException(
+                        "Loan application " + id + " was modified concurrently, reload and retry");
+            }
+            logger.debug("Retrying {} for loan application {} (attempt {})", operation, id, attempt + 1);
+        }
     }
 
-    private boolean isFinalStatus(LoanApplication loanApplication) {
-        LoanApplication.ApplicationStatus status = loanApplication.getStatus();
-        return status == LoanApplication.ApplicationStatus.APPROVED ||
-               status == LoanApplication.ApplicationStatus.REJECTED ||
-               status == LoanApplication.ApplicationStatus.CANCELLED ||
-               status == LoanApplication.ApplicationStatus.DISBURSED;
+    /**
+     * CAS төлөв шилжилтийн аудит мөр: төлөв, version, шийдвэрийн шалтгаан (өөрчлөгдсөн бол)
+     */
+    private static AuditTrailService.Change transitionChange(String operation,
+                                                             LoanApplication.ApplicationStatus from, Long fromVersion,
+                                                             String fromReason, LoanApplication updated) {
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        oldValues.put("status", from.name());
+        newValues.put("status", updated.getStatus().name());
+        oldValues.put("version", fromVersion);
+        newValues.put("version", updated.getVersion());
+        if (!Objects.equals(fromReason, updated.getDecisionReason())) {
+            oldValues.put("decisionReason", fromReason);
+            newValues.put("decisionReason", updated.getDecisionReason());
+        }
+        String reason = updated.getDecisionReason() != null
+                ? operation + ": " + updated.getDecisionReason() : operation;
+        return AuditTrailService.Change.ofCurrentRequest(AuditLog.TABLE_LOAN_APPLICATIONS, updated.getId(),
+                AuditLog.ACTION_UPDATE, oldValues, newValues, reason.length() > 500 ? reason.substring(0, 500) : reason);
     }
 
     /**
-     * Зээлийн статусыг хүсэлтийн статус руу хөрвүүлэх
+     * ID-нуудын дарааллыг хадгалан тухайн хуудасны мөрүүдийг жагсаалтын read model-оор унших
      */
-    private LoanApplication.ApplicationStatus convertLoanStatusToApplicationStatus(LoanStatus loanStatus) {
-        switch (loanStatus) {
-            case DRAFT:
-                return LoanApplication.ApplicationStatus.DRAFT;
-            case SUBMITTED:
-                return LoanApplication.ApplicationStatus.SUBMITTED;
-            case UNDER_REVIEW:
-                return LoanApplication.ApplicationStatus.UNDER_REVIEW;
-            case APPROVED:
-                return LoanApplication.ApplicationStatus.APPROVED;
-            case REJECTED:
-                return LoanApplication.ApplicationStatus.REJECTED;
-            case CANCELLED:
-                return LoanApplication.ApplicationStatus.CANCELLED;
-            case DISBURSED:
-                return LoanApplication.ApplicationStatus.DISBURSED;
-            case PENDING_DOCUMENTS:
-                return LoanApplication.ApplicationStatus.PENDING_DOCUMENTS;
-            case PENDING:
-                return LoanApplication.ApplicationStatus.PENDING;
-            default:
-                return LoanApplication.ApplicationStatus.DRAFT;
+    private Page<LoanApplicationDto> pageOfIds(List<UUID> ids, Pageable pageable) {
+        List<UUID> pageIds = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        }
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
         }
+        Map<UUID, LoanApplicationListItem> rows = loanApplicationRepository.findListItemsByIds(pageIds).stream()
+                .collect(Collectors.toMap(LoanApplicationListItem::id, row -> row));
+        List<LoanApplicationDto> content = pageIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::toListDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.size());
     }
 
     /**
-     * Хүсэлтийн статусыг Зээлийн статус руу хөрвүүлэх
+     * DTO-д хугацаа хэтэрсэн эсэхийг SLA monitor-оос тэмдэглэнэ (DTO бүрт дахин тооцохгүй)
      */
-    private LoanStatus convertApplicationStatusToLoanStatus(LoanApplication.ApplicationStatus applicationStatus) {
-        switch (applicationStatus) {
-            case DRAFT:
-                return LoanStatus.DRAFT;
-            case SUBMITTED:
-                return LoanStatus.SUBMITTED;
-            case UNDER_REVIEW:
-                return LoanStatus.UNDER_REVIEW;
-            case APPROVED:
-                return LoanStatus.APPROVED;
-            case REJECTED:
-                return LoanStatus.REJECTED;
-            case CANCELLED:
-                return LoanStatus.CANCELLED;
-            case DISBURSED:
-                return LoanStatus.DISBURSED;
-            case PENDING_DOCUMENTS:
-                return LoanStatus.PENDING_DOCUMENTS;
-            case PENDING:
-                return LoanStatus.PENDING;
-            default:
-                return LoanStatus.DRAFT;
+    private LoanApplicationDto toDto(LoanApplication application) {
+        return withSla(LoanApplicationDto.fromEntity(application));
+    }
+
+    private LoanApplicationDto toListDto(LoanApplicationListItem item) {
+        return withSla(LoanApplicationDto.fromListItem(item));
+    }
+
+    private LoanApplicationDto withSla(LoanApplicationDto dto) {
+        if (dto != null) {
+            dto.applySlaStatus(slaMonitorService.isOverdue(dto.getId()));
         }
+        return dto;
     }
 
     private boolean isValidLoanRequest(CreateLoanRequestDto createRequest) {
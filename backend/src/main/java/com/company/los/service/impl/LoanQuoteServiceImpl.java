@@ -0,0 +1,286 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.LoanQuoteDto;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanProduct;
+import com.company.los.enums.PrepaymentStrategy;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.LoanQuoteService;
+import com.company.los.util.AnnuityCalculator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.company.los.util.AnnuityCalculator.MC;
+import static com.company.los.util.AnnuityCalculator.money;
+
+/**
+ * Зээл хаах болон урьдчилан төлөлтийн тооцооны логик.
+ *
+ * Хуваарийг бүтнээр нь үүсгэхгүй - үлдэгдэл, хүүг {@link AnnuityCalculator}-ийн
+ * хаалттай томьёогоор шууд тооцно. Хүүгийн хувийг 12.0 болон 0.12 аль алинаар нь хүлээн авна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanQuoteServiceImpl implements LoanQuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanQuoteServiceImpl.class);
+
+    private final LoanApplicationRepository loanApplicationRepository;
+
+    @Value("${app.loan.quote.max-bulk-size:500}")
+    private int maxBulkSize = 500;
+
+    @Value("${app.loan.quote.day-count-basis:365}")
+    private int dayCountBasis = 365;
+
+    @Override
+    @Transactional(readOnly = true)
+    public LoanQuoteDto getPayoffQuote(UUID loanApplicationId, LocalDate quoteDate, Integer installmentsPaid) {
+        logger.debug("Calculating payoff quote for loan application: {}", loanApplicationId);
+        LoanApplication loanApplication = loadDisbursedLoan(loanApplicationId);
+        return calculatePayoffQuote(loanApplication, quoteDate, installmentsPaid);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LoanQuoteDto getPrepaymentQuote(UUID loanApplicationId, BigDecimal prepaymentAmount,
+                                           PrepaymentStrategy strategy, LocalDate quoteDate) {
+        logger.debug("Calculating prepayment quote for loan application: {}, amount: {}, strategy: {}",
+                loanApplicationId, prepaymentAmount, strategy);
+
+        if (prepaymentAmount == null || prepaymentAmount.signum() <= 0) {
+            throw new IllegalArgumentException("Prepayment amount must be positive");
+        }
+        PrepaymentStrategy effectiveStrategy = strategy != null ? strategy : PrepaymentStrategy.REDUCE_TERM;
+
+        LoanApplication loanApplication = loadDisbursedLoan(loanApplicationId);
+        LoanQuoteDto quote = calculatePayoffQuote(loanApplication, quoteDate, null);
+
+        int remaining = quote.getRemainingInstallments();
+        if (remaining <= 0) {
+            throw new IllegalStateException("Loan has no remaining installments to re-amortize");
+        }
+
+        BigDecimal outstanding = quote.getOutstandingPrincipal();
+        if (prepaymentAmount.compareTo(outstanding) >= 0) {
+            throw new IllegalArgumentException("Prepayment amount covers the outstanding principal, use a payoff quote instead");
+        }
+
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(quote.getAnnualRate());
+        BigDecimal payment = quote.getMonthlyPayment();
+        BigDecimal newBalance = outstanding.subtract(prepaymentAmount);
+
+        BigDecimal newPayment;
+        int newTerm;
+        BigDecimal newInterest;
+        if (effectiveStrategy == PrepaymentStrategy.REDUCE_PAYMENT) {
+            newTerm = remaining;
+            newPayment = AnnuityCalculator.payment(newBalance, monthlyRate, newTerm);
+            newInterest = newPayment.multiply(BigDecimal.valueOf(newTerm)).subtract(newBalance);
+        } else {
+            newPayment = payment;
+            newTerm = Math.min(AnnuityCalculator.termForPayment(newBalance, monthlyRate, payment), remaining);
+            // Сүүлийн төлбөр бүтэн биш - үлдэгдлийг хүүтэй нь хаана
+            BigDecimal beforeLast = AnnuityCalculator.balanceAfter(newBalance, monthlyRate, payment, newTerm - 1);
+            BigDecimal lastPayment = beforeLast.multiply(BigDecimal.ONE.add(monthlyRate), MC);
+            newInterest = payment.multiply(BigDecimal.valueOf(newTerm - 1L)).add(lastPayment).subtract(newBalance);
+        }
+        BigDecimal oldInterest = payment.multiply(BigDecimal.valueOf(remaining)).subtract(outstanding);
+
+        quote.setEarlyPaymentPenalty(money(earlyPenalty(loanApplication.getLoanProduct(), prepaymentAmount)));
+        quote.setPrepaymentAmount(money(prepaymentAmount));
+        quote.setPrepaymentStrategy(effectiveStrategy);
+        quote.setNewOutstandingPrincipal(money(newBalance));
+        quote.setNewMonthlyPayment(money(newPayment));
+        quote.setNewRemainingTermMonths(newTerm);
+        quote.setInterestSaved(money(oldInterest.subtract(newInterest).max(BigDecimal.ZERO)));
+        // Урьдчилан төлөлтөд хаалтын дүн хамаарахгүй
+        quote.setPayoffAmount(null);
+        return quote;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoanQuoteDto> getBulkPayoffQuotes(List<UUID> loanApplicationIds, LocalDate quoteDate) {
+        if (loanApplicationIds == null || loanApplicationIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (loanApplicationIds.size() > maxBulkSize) {
+            throw new IllegalArgumentException("Bulk quote request exceeds limit of " + maxBulkSize);
+        }
+        logger.info("Calculating bulk payoff quotes for {} loan applications", loanApplicationIds.size());
+
+        // Нэг query-гээр бүтээгдэхүүнтэй нь хамт татна
+        Map<UUID, LoanApplication> loans = loanApplicationRepository
+                .findAllByIdInWithLoanProduct(new LinkedHashSet<>(loanApplicationIds)).stream()
+                .collect(Collectors.toMap(LoanApplication::getId, Function.identity(), (a, b) -> a));
+
+        List<LoanQuoteDto> quotes = new ArrayList<>(loanApplicationIds.size());
+        for (UUID id : loanApplicationIds) {
+            LoanApplication loanApplication = loans.get(id);
+            if (loanApplication == null) {
+                quotes.add(LoanQuoteDto.failed(id, "Loan application not found with ID: " + id));
+                continue;
+            }
+            try {
+                requireDisbursed(loanApplication);
+                quotes.add(calculatePayoffQuote(loanApplication, quoteDate, null));
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                quotes.add(LoanQuoteDto.failed(id, e.getMessage()));
+            }
+        }
+        return quotes;
+    }
+
+    @Override
+    public LoanQuoteDto calculatePayoffQuote(LoanApplication loanApplication, LocalDate quoteDate, Integer installmentsPaid) {
+        LocalDate asOf = quoteDate != null ? quoteDate : LocalDate.now();
+        LoanProduct product = loanApplication.getLoanProduct();
+
+        BigDecimal principal = firstNonNull(loanApplication.getDisbursedAmount(),
+                loanApplication.getApprovedAmount(), loanApplication.getRequestedAmount());
+        Integer term = loanApplication.getApprovedTermMonths() != null
+                ? loanApplication.getApprovedTermMonths() : loanApplication.getRequestedTermMonths();
+        BigDecimal annualRate = firstNonNull(loanApplication.getApprovedRate(), loanApplication.getInterestRate(),
+                product != null ? product.getDefaultInterestRate() : null);
+        LocalDate startDate = disbursementDate(loanApplication);
+
+        if (principal == null || principal.signum() <= 0 || term == null || term <= 0) {
+            throw new IllegalStateException("Loan application has no valid principal or term: " + loanApplication.getId());
+        }
+        if (startDate == null) {
+            throw new IllegalStateException("Loan application has no disbursement date: " + loanApplication.getId());
+        }
+        if (asOf.isBefore(startDate)) {
+            throw new IllegalArgumentException("Quote date is before disbursement date");
+        }
+
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(annualRate);
+        BigDecimal payment = AnnuityCalculator.payment(principal, monthlyRate, term);
+
+        int due = (int) Math.min(ChronoUnit.MONTHS.between(startDate, asOf), term);
+        int paid = installmentsPaid != null ? Math.max(0, Math.min(installmentsPaid, term)) : due;
+        int overdueCount = Math.max(0, due - paid);
+
+        BigDecimal outstanding = AnnuityCalculator.balanceAfter(principal, monthlyRate, payment, paid);
+        BigDecimal overdueInterest = AnnuityCalculator.interestBetween(principal, monthlyRate, payment, paid, due);
+
+        // Сүүлийн төлөлтийн өдрөөс хойш хуримтлагдсан хүү (бодит өдрөөр)
+        BigDecimal accrued = BigDecimal.ZERO;
+        if (due < term && outstanding.signum() > 0) {
+            LocalDate periodStart = startDate.plusMonths(Math.max(due, paid));
+            LocalDate periodEnd = startDate.plusMonths(Math.max(due, paid) + 1L);
+            long elapsed = Math.max(0, ChronoUnit.DAYS.between(periodStart, asOf));
+            long periodDays = ChronoUnit.DAYS.between(periodStart, periodEnd);
+            accrued = outstanding.multiply(monthlyRate, MC)
+                    .multiply(BigDecimal.valueOf(elapsed))
+                    .divide(BigDecimal.valueOf(periodDays), MC);
+        }
+
+        // Хоцорсон төлбөр бүрийн хоногоор хоцрогдлын торгууль (хоцорсон төлбөрийн тоогоор хязгаарлагдана)
+        BigDecimal latePenalty = BigDecimal.ZERO;
+        BigDecimal lateRate = AnnuityCalculator.fractionalRate(product != null ? product.getLatePaymentPenaltyRate() : null);
+        if (overdueCount > 0 && lateRate.signum() > 0) {
+            long lateDays = 0;
+            for (int k = paid + 1; k <= due; k++) {
+                lateDays += Math.max(0, ChronoUnit.DAYS.between(startDate.plusMonths(k), asOf));
+            }
+            latePenalty = payment.multiply(lateRate, MC)
+                    .multiply(BigDecimal.valueOf(lateDays))
+                    .divide(BigDecimal.valueOf(dayCountBasis), MC);
+        }
+
+        // Хугацаанаас өмнө хаах торгууль
+        BigDecimal earlyPenalty = due < term && outstanding.signum() > 0
+                ? earlyPenalty(product, outstanding)
+                : BigDecimal.ZERO;
+
+        LoanQuoteDto quote = new LoanQuoteDto();
+        quote.setLoanApplicationId(loanApplication.getId());
+        quote.setApplicationNumber(loanApplication.getApplicationNumber());
+        quote.setQuoteDate(asOf);
+        quote.setPrincipal(money(principal));
+        quote.setAnnualRate(annualRate);
+        quote.setTermMonths(term);
+        quote.setMonthlyPayment(money(payment));
+        quote.setInstallmentsDue(due);
+        quote.setInstallmentsPaid(paid);
+        quote.setRemainingInstallments(term - Math.max(due, paid));
+        quote.setOutstandingPrincipal(money(outstanding));
+        quote.setOverdueInterest(money(overdueInterest));
+        quote.setAccruedInterest(money(accrued));
+        quote.setEarlyPaymentPenalty(money(earlyPenalty));
+        quote.setLatePaymentPenalty(money(latePenalty));
+        quote.setPayoffAmount(money(outstanding.add(overdueInterest).add(accrued).add(earlyPenalty).add(latePenalty)));
+        return quote;
+    }
+
+    // Private helper methods
+
+    private LoanApplication loadDisbursedLoan(UUID loanApplicationId) {
+        LoanApplication loanApplication = loanApplicationRepository.findByIdWithLoanProduct(loanApplicationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Loan application not found with ID: " + loanApplicationId));
+        requireDisbursed(loanApplication);
+        return loanApplication;
+    }
+
+    private void requireDisbursed(LoanApplication loanApplication) {
+        if (loanApplication.getStatus() != LoanApplication.ApplicationStatus.DISBURSED) {
+            throw new IllegalStateException("Quotes are available only for disbursed loans. Current status: "
+                    + loanApplication.getStatus());
+        }
+    }
+
+    private LocalDate disbursementDate(LoanApplication loanApplication) {
+        if (loanApplication.getDisbursedDate() != null) {
+            return loanApplication.getDisbursedDate().toLocalDate();
+        }
+        if (loanApplication.getDisbursedAt() != null) {
+            return loanApplication.getDisbursedAt().toLocalDate();
+        }
+        return null;
+    }
+
+    /**
+     * Урьдчилан төлөх дүнгийн хувиар тооцох торгууль дээр бүтээгдэхүүний тогтмол торгуулийг нэмнэ
+     */
+    private BigDecimal earlyPenalty(LoanProduct product, BigDecimal prepaidPrincipal) {
+        if (product == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal penalty = prepaidPrincipal.multiply(AnnuityCalculator.fractionalRate(product.getEarlyPaymentPenaltyRate()), MC);
+        if (product.getEarlyPaymentPenalty() != null) {
+            penalty = penalty.add(product.getEarlyPaymentPenalty());
+        }
+        return penalty;
+    }
+
+    private BigDecimal firstNonNull(BigDecimal... values) {
+        for (BigDecimal value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
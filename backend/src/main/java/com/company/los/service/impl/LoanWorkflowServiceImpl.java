@@ -0,0 +1,357 @@
+package com.company.los.service.impl;
+
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.enums.LoanStatus;
+import com.company.los.enums.WorkflowStatus;
+import com.company.los.service.LoanWorkflowService;
+import com.company.los.service.NotificationService;
+import com.company.los.util.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Зээлийн хүсэлтийн ажлын урсгалын төлөвийн машин Service Implementation
+ *
+ * {@code app.loan.workflow} тохиргоог эхлэхэд нэг удаа хөрвүүлнэ:
+ * transitions - эх төлөв бүрийн зөвшөөрөгдсөн төлөвүүд {@code long} bit-mask (ordinal-аар индекслэсэн матриц),
+ * guards/effects - "ЭХ>ЗОРИЛГО" түлхүүр ("*" = дурын) бүхий нэрсийг доорх бүртгэлээс олж ирмэг бүрт EnumMap-д холбоно,
+ * phases - төлөв бүрийн WorkflowStatus. Үл мэдэгдэх төлөв/нэр эсвэл хүснэгтэд байхгүй ирмэгт guard
+ * зааж өгвөл эхлэх үед алдаа шиднэ. Хөрвүүлсэн хүснэгт өөрчлөгдөхгүй тул шалгалт түгжээгүй.
+ *
+ * Шилжилт бүрт өмнөх төлөвт байсан хугацааг {@code los.workflow.status.dwell} (from, to) timer-т бичнэ -
+ * хүсэлтүүд аль төлөвт удаж байгааг эндээс харна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class LoanWorkflowServiceImpl implements LoanWorkflowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanWorkflowServiceImpl.class);
+
+    private static final String PREFIX = "app.loan.workflow";
+    private static final String WILDCARD = "*";
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    private static final Map<LoanStatus, ApplicationStatus> TO_APPLICATION_STATUS = new EnumMap<>(LoanStatus.class);
+    private static final Map<ApplicationStatus, LoanStatus> TO_LOAN_STATUS = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        // Хоёр enum ижил нэртэй төлөвүүдээрээ л харгалзана; LoanStatus-ийн бусад утга хүсэлтийн төлөв биш
+        for (ApplicationStatus status : STATUSES) {
+            LoanStatus loanStatus = LoanStatus.valueOf(status.name());
+            TO_APPLICATION_STATUS.put(loanStatus, status);
+            TO_LOAN_STATUS.put(status, loanStatus);
+        }
+    }
+
+    private final Environment environment;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+
+    private CompiledWorkflow workflow;
+
+    @PostConstruct
+    public void compile() {
+        Binder binder = Binder.get(environment);
+        Map<String, String> transitions = bindMap(binder, PREFIX + ".transitions");
+        Map<String, String> guards = bindMap(binder, PREFIX + ".guards");
+        Map<String, String> effects = bindMap(binder, PREFIX + ".effects");
+        Map<String, String> phases = bindMap(binder, PREFIX + ".phases");
+
+        long[] matrix = new long[STATUSES.length];
+        transitions.forEach((from, targets) -> {
+            ApplicationStatus source = parseStatus(from);
+            for (String target : splitNames(targets)) {
+                matrix[source.ordinal()] |= 1L << parseStatus(target).ordinal();
+            }
+        });
+
+        Map<String, Predicate<LoanApplication>> guardRegistry = guardRegistry();
+        Map<String, Consumer<LoanApplication>> effectRegistry = effectRegistry();
+        Map<ApplicationStatus, Map<ApplicationStatus, List<Guard>>> guardTable = bindToEdges(matrix, guards,
+                name -> guardRegistry.containsKey(name) ? new Guard(name, guardRegistry.get(name)) : null, "guard");
+        Map<ApplicationStatus, Map<ApplicationStatus, List<Effect>>> effectTable = bindToEdges(matrix, effects,
+                name -> effectRegistry.containsKey(name) ? new Effect(name, effectRegistry.get(name)) : null, "effect");
+
+        Map<ApplicationStatus, WorkflowStatus> phaseTable = new EnumMap<>(ApplicationStatus.class);
+        phases.forEach((phase, statuses) -> {
+            WorkflowStatus workflowStatus = WorkflowStatus.valueOf(phase.trim().toUpperCase(Locale.ROOT));
+            for (String status : splitNames(statuses)) {
+                phaseTable.put(parseStatus(status), workflowStatus);
+            }
+        });
+        for (ApplicationStatus status : STATUSES) {
+            if (!phaseTable.containsKey(status)) {
+                throw new IllegalStateException(PREFIX + ".phases does not assign a phase to " + status);
+            }
+        }
+
+        Map<ApplicationStatus, Map<ApplicationStatus, Timer>> dwellTimers = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus from : STATUSES) {
+            Map<ApplicationStatus, Timer> row = new EnumMap<>(ApplicationStatus.class);
+            for (ApplicationStatus to : targetsOf(matrix[from.ordinal()])) {
+                row.put(to, Timer.builder("los.workflow.status.dwell")
+                        .description("Time an application spent in a status before leaving it")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(meterRegistry));
+            }
+            dwellTimers.put(from, Collections.unmodifiableMap(row));
+        }
+
+        this.workflow = new CompiledWorkflow(matrix, guardTable, effectTable,
+                Collections.unmodifiableMap(phaseTable), Collections.unmodifiableMap(dwellTimers));
+        logger.info("Loan workflow compiled: {} transitions, {} guard bindings, {} effect bindings",
+                Arrays.stream(matrix).map(Long::bitCount).sum(), countBindings(guardTable), countBindings(effectTable));
+    }
+
+    @Override
+    public boolean canTransition(ApplicationStatus from, ApplicationStatus to) {
+        return from != null && to != null && (workflow.matrix()[from.ordinal()] & (1L << to.ordinal())) != 0;
+    }
+
+    @Override
+    public Set<ApplicationStatus> getAllowedTransitions(ApplicationStatus from) {
+        return Collections.unmodifiableSet(targetsOf(workflow.matrix()[from.ordinal()]));
+    }
+
+    @Override
+    public void checkTransition(LoanApplication application, ApplicationStatus target) {
+        String reason = rejectionReason(application, target);
+        if (reason != null) {
+            throw new IllegalStateException(reason);
+        }
+    }
+
+    @Override
+    public List<TransitionDecision> evaluateTransitions(Collection<LoanApplication> applications, ApplicationStatus target) {
+        List<TransitionDecision> decisions = new ArrayList<>(applications.size());
+        for (LoanApplication application : applications) {
+            String reason = rejectionReason(application, target);
+            decisions.add(new TransitionDecision(application.getId(), application.getStatus(), target,
+                    reason == null, reason));
+        }
+        return decisions;
+    }
+
+    @Override
+    public void onTransitionCompleted(ApplicationStatus from, LocalDateTime enteredAt, LoanApplication application) {
+        ApplicationStatus to = application.getStatus();
+        Timer timer = workflow.dwellTimers().get(from).get(to);
+        if (timer != null && enteredAt != null) {
+            Duration dwell = Duration.between(enteredAt, LocalDateTime.now());
+            if (!dwell.isNegative()) {
+                timer.record(dwell);
+            }
+        }
+
+        List<Effect> effects = workflow.effects().get(from).getOrDefault(to, List.of());
+        if (effects.isEmpty()) {
+            return;
+        }
+        // Мэдэгдэл зэрэг гадны үйлдлийг зөвхөн commit болсон шилжилтэд гүйцэтгэнэ
+        AfterCommit.run(() -> {
+            for (Effect effect : effects) {
+                try {
+                    effect.action().accept(application);
+                } catch (RuntimeException e) {
+                    // Дагалдах үйлдэл амжаагүйгээс шилжилтийг буцаахгүй
+                    meterRegistry.counter("los.workflow.effect.failures", "effect", effect.name()).increment();
+                    logger.warn("Workflow effect '{}' failed for loan application {} ({} -> {}): {}",
+                            effect.name(), application.getId(), from, to, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public ApplicationStatus toApplicationStatus(LoanStatus loanStatus) {
+        ApplicationStatus status = TO_APPLICATION_STATUS.get(loanStatus);
+        if (status == null) {
+            throw new IllegalArgumentException("Loan status " + loanStatus + " is not a loan application status");
+        }
+        return status;
+    }
+
+    @Override
+    public LoanStatus toLoanStatus(ApplicationStatus applicationStatus) {
+        return TO_LOAN_STATUS.get(applicationStatus);
+    }
+
+    @Override
+    public WorkflowStatus getWorkflowStatus(ApplicationStatus status) {
+        return workflow.phases().get(status);
+    }
+
+    /**
+     * Шилжилт хориотой бол шалтгаан, зөвшөөрөгдвөл null
+     */
+    private String rejectionReason(LoanApplication application, ApplicationStatus target) {
+        ApplicationStatus from = application.getStatus();
+        if (!canTransition(from, target)) {
+            return "Invalid status transition from " + from + " to " + target;
+        }
+        for (Guard guard : workflow.guards().get(from).getOrDefault(target, List.of())) {
+            if (!guard.test().test(application)) {
+                meterRegistry.counter("los.workflow.guard.rejections", "guard", guard.name()).increment();
+                return "Status transition from " + from + " to " + target + " blocked by guard '" + guard.name() + "'";
+            }
+        }
+        return null;
+    }
+
+    // Тохиргоонд нэрээр нь заах guard, effect-үүд
+
+    private Map<String, Predicate<LoanApplication>> guardRegistry() {
+        return Map.of(
+                "complete-application", application -> application.getCustomer() != null
+                        && application.getLoanType() != null
+                        && application.getRequestedAmount() != null
+                        && application.getRequestedAmount().compareTo(BigDecimal.ZERO) > 0
+                        && application.getRequestedTermMonths() != null
+                        && application.getRequestedTermMonths() > 0,
+                "kyc-completed", application -> application.getCustomer() != null
+                        && application.getCustomer().isKycCompleted(),
+                "approved-amount", application -> application.getApprovedAmount() != null
+                        && application.getApprovedAmount().compareTo(BigDecimal.ZERO) > 0);
+    }
+
+    private Map<String, Consumer<LoanApplication>> effectRegistry() {
+        return Map.of(
+                "notify-status-change", notificationService::sendStatusUpdateNotification);
+    }
+
+    /**
+     * "ЭХ>ЗОРИЛГО" түлхүүртэй нэрсийг зөвшөөрөгдсөн ирмэг бүрт холбох
+     */
+    private <T> Map<ApplicationStatus, Map<ApplicationStatus, List<T>>> bindToEdges(
+            long[] matrix, Map<String, String> bindings,
+            Function<String, T> resolver, String kind) {
+        Map<ApplicationStatus, Map<ApplicationStatus, List<T>>> edges = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus from : STATUSES) {
+            edges.put(from, new EnumMap<>(ApplicationStatus.class));
+        }
+
+        bindings.forEach((edge, names) -> {
+            String[] parts = edge.split(">", -1);
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid workflow " + kind + " key '" + edge + "', expected FROM>TO");
+            }
+            EnumSet<ApplicationStatus> sources = parseStatusOrWildcard(parts[0]);
+            EnumSet<ApplicationStatus> targets = parseStatusOrWildcard(parts[1]);
+
+            List<T> resolved = new ArrayList<>();
+            for (String name : splitNames(names)) {
+                T item = resolver.apply(name);
+                if (item == null) {
+                    throw new IllegalStateException("Unknown workflow " + kind + " '" + name + "' for " + edge);
+                }
+                resolved.add(item);
+            }
+
+            boolean matched = false;
+            for (ApplicationStatus from : sources) {
+                for (ApplicationStatus to : targets) {
+                    if ((matrix[from.ordinal()] & (1L << to.ordinal())) != 0) {
+                        edges.get(from).computeIfAbsent(to, key -> new ArrayList<>()).addAll(resolved);
+                        matched = true;
+                    }
+                }
+            }
+            if (!matched) {
+                throw new IllegalStateException("Workflow " + kind + " '" + edge + "' matches no allowed transition");
+            }
+        });
+
+        Map<ApplicationStatus, Map<ApplicationStatus, List<T>>> frozen = new EnumMap<>(ApplicationStatus.class);
+        edges.forEach((from, row) -> {
+            Map<ApplicationStatus, List<T>> frozenRow = new EnumMap<>(ApplicationStatus.class);
+            row.forEach((to, items) -> frozenRow.put(to, List.copyOf(items)));
+            frozen.put(from, Collections.unmodifiableMap(frozenRow));
+        });
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static Map<String, String> bindMap(Binder binder, String name) {
+        return binder.bind(name, Bindable.mapOf(String.class, String.class)).orElseGet(Map::of);
+    }
+
+    private static EnumSet<ApplicationStatus> targetsOf(long mask) {
+        EnumSet<ApplicationStatus> targets = EnumSet.noneOf(ApplicationStatus.class);
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            targets.add(STATUSES[Long.numberOfTrailingZeros(bits)]);
+        }
+        return targets;
+    }
+
+    private static EnumSet<ApplicationStatus> parseStatusOrWildcard(String value) {
+        return WILDCARD.equals(value.trim()) ? EnumSet.allOf(ApplicationStatus.class) : EnumSet.of(parseStatus(value));
+    }
+
+    private static ApplicationStatus parseStatus(String value) {
+        try {
+            return ApplicationStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown application status '" + value + "' in " + PREFIX, e);
+        }
+    }
+
+    private static List<String> splitNames(String value) {
+        List<String> names = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                names.add(part.trim());
+            }
+        }
+        return names;
+    }
+
+    private static int countBindings(Map<ApplicationStatus, ? extends Map<ApplicationStatus, ? extends List<?>>> table) {
+        return table.values().stream().flatMap(row -> row.values().stream()).mapToInt(List::size).sum();
+    }
+
+    private record Guard(String name, Predicate<LoanApplication> test) {
+    }
+
+    private record Effect(String name, Consumer<LoanApplication> action) {
+    }
+
+    /**
+     * Хөрвүүлсэн, өөрчлөгдөхгүй хүснэгтүүд
+     */
+    private record CompiledWorkflow(long[] matrix,
+                                    Map<ApplicationStatus, Map<ApplicationStatus, List<Guard>>> guards,
+                                    Map<ApplicationStatus, Map<ApplicationStatus, List<Effect>>> effects,
+                                    Map<ApplicationStatus, WorkflowStatus> phases,
+                                    Map<ApplicationStatus, Map<ApplicationStatus, Timer>> dwellTimers) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.OcrEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Локал, тодорхойлогдсон (deterministic) OCR engine
+ *
+ * Гадны OCR сервисгүй орчин болон тестэд зориулсан: текст файлыг шууд уншиж, бусад файлаас хэвлэгдэх
+ * тэмдэгтийн дарааллыг "таньна". Ижил файл үргэлж ижил текст, итгэлцүүр, задалсан JSON өгнө.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.document.ocr.engine", havingValue = "local", matchIfMissing = true)
+public class LocalOcrEngine implements OcrEngine {
+
+    static final int PAGE_BYTES = 64 * 1024;
+
+    // Хэвлэгдэх тэмдэгтийн 4-өөс урт дараалал (PDF-ийн шахаагүй текст урсгал г.м.)
+    private static final int MIN_RUN = 4;
+
+    private static final Pattern REGISTER_NUMBER = Pattern.compile("[А-ЯӨҮЁ]{2}\\d{8}");
+    private static final Pattern DATE = Pattern.compile("\\b\\d{4}[-./]\\d{2}[-./]\\d{2}\\b");
+    private static final Pattern AMOUNT = Pattern.compile("\\b\\d{1,3}(?:[ ,]\\d{3})+(?:\\.\\d{1,2})?\\b|\\b\\d+\\.\\d{2}\\b");
+    private static final Pattern PHONE = Pattern.compile("(?<!\\d)(?:\\+976)?[89]\\d{7}(?!\\d)");
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public List<Page> decode(Path file, String contentType) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (isText(contentType) || content.length <= PAGE_BYTES) {
+            return List.of(new Page(1, contentType, content));
+        }
+        List<Page> pages = new ArrayList<>(content.length / PAGE_BYTES + 1);
+        for (int offset = 0, number = 1; offset < content.length; offset += PAGE_BYTES, number++) {
+            pages.add(new Page(number, contentType,
+                    Arrays.copyOfRange(content, offset, Math.min(content.length, offset + PAGE_BYTES))));
+        }
+        return pages;
+    }
+
+    @Override
+    public Page preprocess(Page page) {
+        if (!isText(page.contentType())) {
+            return page;
+        }
+        // Мөрийн төгсгөл, давхар зайг нэгтгэнэ
+        String normalized = new String(page.content(), StandardCharsets.UTF_8)
+                .replace("\r\n", "\n")
+                .replaceAll("[ \\t]+", " ")
+                .strip();
+        return new Page(page.number(), page.contentType(), normalized.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Recognition recognize(List<Page> pages) {
+        StringBuilder text = new StringBuilder();
+        long printable = 0;
+        long total = 0;
+        for (Page page : pages) {
+            total += page.content().length;
+            if (isText(page.contentType())) {
+                text.append(new String(page.content(), StandardCharsets.UTF_8));
+                printable += page.content().length;
+            } else {
+                printable += appendPrintableRuns(page.content(), text);
+            }
+            text.append('\n');
+        }
+        BigDecimal confidence = total == 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(printable).divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP);
+        return new Recognition(text.toString().strip(), confidence);
+    }
+
+    @Override
+    public String extract(String text, String documentType) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("engine", getName());
+        fields.put("documentType", documentType);
+        fields.put("registerNumber", first(REGISTER_NUMBER, text));
+        fields.put("phone", first(PHONE, text));
+        fields.put("dates", all(DATE, text));
+        fields.put("amounts", all(AMOUNT, text));
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Extracted data could not be serialized", e);
+        }
+    }
+
+    private static long appendPrintableRuns(byte[] content, StringBuilder text) {
+        long printable = 0;
+        int start = -1;
+        for (int i = 0; i <= content.length; i++) {
+            boolean isPrintable = i < content.length && content[i] >= 0x20 && content[i] < 0x7f;
+            if (isPrintable && start < 0) {
+                start = i;
+            } else if (!isPrintable && start >= 0) {
+                if (i - start >= MIN_RUN) {
+                    text.append(new String(content, start, i - start, StandardCharsets.US_ASCII)).append(' ');
+                    printable += i - start;
+                }
+                start = -1;
+            }
+        }
+        return printable;
+    }
+
+    private static boolean isText(String contentType) {
+        return contentType != null && (contentType.startsWith("text/") || contentType.contains("json")
+                || contentType.contains("xml"));
+    }
+
+    private static String first(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    private static List<String> all(Pattern pattern, String text) {
+        Set<String> values = new LinkedHashSet<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            values.add(matcher.group());
+        }
+        return new ArrayList<>(values);
+    }
+}
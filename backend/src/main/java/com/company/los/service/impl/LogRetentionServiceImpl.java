@@ -0,0 +1,397 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.LogRetentionService;
+import com.company.los.util.LogPartitions;
+import com.company.los.util.LogPartitions.LogTable;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Аудит болон үйл ажиллагааны логийн хадгалалтын Service Implementation
+ *
+ * Partition горим: ирэх саруудын partition-ийг урьдчилан үүсгэж, бүх мөр нь cutoff-оос өмнөх
+ * partition-ийг DETACH + DROP хийнэ (мөр бүрийг устгахгүй, hot хүснэгт түгжигдэхгүй).
+ * Chunk горим: (цаг, id) keyset-ээр chunk-size мөрийг сонгож id-аар устгана; chunk бүр тусдаа
+ * богино транзакц бөгөөд дараагийн chunk-ийн өмнө устгалд зарцуулсан хугацаанаас багагүй завсарлана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class LogRetentionServiceImpl implements LogRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogRetentionServiceImpl.class);
+
+    private static final DateTimeFormatter RUN_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.retention.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.retention.audit-retention-days:730}")
+    private int auditRetentionDays = 730;
+
+    @Value("${app.retention.activity-retention-days:180}")
+    private int activityRetentionDays = 180;
+
+    @Value("${app.retention.premake-months:3}")
+    private int premakeMonths = 3;
+
+    @Value("${app.retention.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.retention.chunk-pause-ms:200}")
+    private long chunkPauseMs = 200;
+
+    @Value("${app.retention.max-chunks-per-run:1000}")
+    private int maxChunksPerRun = 1000;
+
+    @Value("${app.retention.export.enabled:false}")
+    private boolean exportEnabled = false;
+
+    @Value("${app.retention.export.path:./exports/log-archive}")
+    private String exportPath = "./exports/log-archive";
+
+    @Value("${app.retention.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<Map<String, Object>> lastRun = new AtomicReference<>();
+
+    @Scheduled(cron = "${app.retention.cron:0 30 2 * * *}")
+    public void scheduledRetention() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            runRetention();
+        } catch (IllegalStateException e) {
+            logger.info("Log retention skipped: previous run still in progress");
+        } catch (Exception e) {
+            logger.error("Log retention failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> runRetention() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Log retention is already running");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("startedAt", startedAt);
+
+            for (LogTable table : LogPartitions.TABLES) {
+                LocalDateTime cutoff = startedAt.minusDays(retentionDays(table));
+                try {
+                    result.put(table.name(), LogPartitions.isPartitioned(jdbcTemplate, table)
+                            ? retainPartitions(table, cutoff)
+                            : deleteInChunks(table, cutoff));
+                } catch (Exception e) {
+                    logger.error("Retention failed for {}: {}", table.name(), e.getMessage(), e);
+                    result.put(table.name(), Map.of("error", String.valueOf(e.getMessage())));
+                }
+            }
+
+            result.put("completedAt", LocalDateTime.now());
+            lastRun.set(result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getRetentionStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("running", running.get());
+        for (LogTable table : LogPartitions.TABLES) {
+            Map<String, Object> tableStatus = new LinkedHashMap<>();
+            boolean partitioned = LogPartitions.isPartitioned(jdbcTemplate, table);
+            tableStatus.put("mode", partitioned ? "PARTITION" : "CHUNK");
+            tableStatus.put("retentionDays", retentionDays(table));
+            if (partitioned) {
+                tableStatus.put("partitions", LogPartitions.listMonthPartitions(jdbcTemplate, table));
+            }
+            status.put(table.name(), tableStatus);
+        }
+        status.put("exportEnabled", exportEnabled);
+        status.put("lastRun", lastRun.get());
+        return status;
+    }
+
+    // Partition горим
+
+    private Map<String, Object> retainPartitions(LogTable table, LocalDateTime cutoff) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            LogPartitions.createMonthPartition(jdbcTemplate, table, current.plusMonths(i));
+        }
+
+        List<String> dropped = new ArrayList<>();
+        for (String partition : LogPartitions.listMonthPartitions(jdbcTemplate, table)) {
+            YearMonth month = LogPartitions.monthOf(table, partition);
+            // Partition-ий дээд хил cutoff-оос хойш бол дотор нь хадгалах мөр байж болно
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            if (exportEnabled) {
+                exportPartition(table, partition);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            dropped.add(partition);
+            logger.info("Dropped log partition {} (cutoff {})", partition, cutoff);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", "PARTITION");
+        result.put("cutoff", cutoff);
+        result.put("droppedPartitions", dropped);
+        return result;
+    }
+
+    private void exportPartition(LogTable table, String partition) {
+        Path file = archiveDirectory(table).resolve(partition + ".csv.gz");
+        try (CsvArchive archive = new CsvArchive(file)) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + partition);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                ResultSetMetaData metaData = rs.getMetaData();
+                Object[] values = new Object[metaData.getColumnCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                try {
+                    archive.write(metaData, values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            logger.info("Exported {} rows of {} to {}", archive.rows, partition, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Chunk горим
+
+    private Map<String, Object> deleteInChunks(LogTable table, LocalDateTime cutoff) {
+        String timeColumn = table.timeColumn();
+        String columns = exportEnabled ? "*" : "id, " + timeColumn;
+        String firstChunk = "SELECT " + columns + " FROM " + table.name() + " WHERE " + timeColumn + " < ? " +
+                "ORDER BY " + timeColumn + ", id LIMIT ?";
+        String nextChunk = "SELECT " + columns + " FROM " + table.name() + " WHERE " + timeColumn + " < ? " +
+                "AND (" + timeColumn + " > ? OR (" + timeColumn + " = ? AND id > ?)) ORDER BY " + timeColumn + ", id LIMIT ?";
+
+        Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+        Timestamp lastTime = null;
+        String lastId = null;
+        long deleted = 0;
+        int chunks = 0;
+        long started = System.currentTimeMillis();
+
+        CsvArchive archive = null;
+        try {
+            while (chunks < maxChunksPerRun) {
+                List<Map<String, Object>> rows = lastId == null
+                        ? jdbcTemplate.queryForList(firstChunk, cutoffTimestamp, chunkSize)
+                        : jdbcTemplate.queryForList(nextChunk, cutoffTimestamp, lastTime, lastTime, lastId, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                if (exportEnabled) {
+                    if (archive == null) {
+                        archive = new CsvArchive(archiveDirectory(table)
+                                .resolve(table.name() + "_" + LocalDateTime.now().format(RUN_SUFFIX) + ".csv.gz"));
+                    }
+                    for (Map<String, Object> row : rows) {
+                        archive.write(row);
+                    }
+                }
+
+                List<Object> ids = new ArrayList<>(rows.size() + 1);
+                for (Map<String, Object> row : rows) {
+                    ids.add(row.get("id"));
+                }
+                Map<String, Object> last = rows.get(rows.size() - 1);
+                Object time = last.get(timeColumn);
+                lastTime = time instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : (Timestamp) time;
+                lastId = String.valueOf(last.get("id"));
+
+                long chunkStarted = System.currentTimeMillis();
+                ids.add(cutoffTimestamp);
+                deleted += jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE id IN (" +
+                        String.join(",", Collections.nCopies(rows.size(), "?")) + ") AND " + timeColumn + " < ?",
+                        ids.toArray());
+                chunks++;
+
+                if (rows.size() < chunkSize) {
+                    break;
+                }
+                // Устгалд зарцуулсан хугацаанаас багагүй завсарлах: hot хүснэгтийн ачааллыг 50%-иас хэтрүүлэхгүй
+                throttle(Math.max(chunkPauseMs, System.currentTimeMillis() - chunkStarted));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeQuietly(archive);
+        }
+
+        if (deleted > 0) {
+            logger.info("Deleted {} rows from {} older than {} in {} chunks ({} ms)", deleted, table.name(), cutoff,
+                    chunks, System.currentTimeMillis() - started);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", "CHUNK");
+        result.put("cutoff", cutoff);
+        result.put("deletedRows", deleted);
+        result.put("chunks", chunks);
+        result.put("complete", chunks < maxChunksPerRun);
+        return result;
+    }
+
+    // Туслах
+
+    private int retentionDays(LogTable table) {
+        return table == LogPartitions.AUDIT_LOGS ? auditRetentionDays : activityRetentionDays;
+    }
+
+    private Path archiveDirectory(LogTable table) {
+        Path directory = Paths.get(exportPath, table.name());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return directory;
+    }
+
+    private static void throttle(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Log retention interrupted", e);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close log archive: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Устгах мөрүүдийн gzip CSV архив (эхний мөрөнд баганын нэрс)
+     */
+    private static final class CsvArchive implements Closeable {
+
+        private final Writer writer;
+        private boolean headerWritten;
+        private long rows;
+
+        CsvArchive(Path file) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8));
+        }
+
+        void write(Map<String, Object> row) throws IOException {
+            if (!headerWritten) {
+                writeLine(row.keySet().toArray());
+                headerWritten = true;
+            }
+            writeLine(row.values().toArray());
+            rows++;
+        }
+
+        void write(ResultSetMetaData metaData, Object[] values) throws SQLException, IOException {
+            if (!headerWritten) {
+                Object[] names = new Object[values.length];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = metaData.getColumnLabel(i + 1);
+                }
+                writeLine(names);
+                headerWritten = true;
+            }
+            writeLine(values);
+            rows++;
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    String value = values[i].toString();
+                    if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                            || value.indexOf('\r') >= 0) {
+                        writer.write('"');
+                        writer.write(value.replace("\"", "\"\""));
+                        writer.write('"');
+                    } else {
+                        writer.write(value);
+                    }
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
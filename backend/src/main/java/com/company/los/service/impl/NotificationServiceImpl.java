@@ -2,10 +2,12 @@ package com.company.los.service.impl;
 
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanApplication;
+import com.company.los.service.DocumentExpiryService.DocumentExpired;
 import com.company.los.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -241,6 +243,32 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
     
+    /**
+     * Баримтын хугацаа дууссан тухай харилцагчид сануулах (expiry sweeper-ийн event)
+     */
+    @EventListener
+    public void onDocumentExpired(DocumentExpired event) {
+        log.info("Баримтын хугацаа дууссан талаар сануулга илгээж байна: {} ({})",
+            event.documentId(), event.expiryDate());
+
+        if (emailEnabled && event.customerEmail() != null) {
+            sendEmailNotification(
+                event.customerEmail(),
+                "Баримтын хугацаа дууссан",
+                String.format("Таны \"%s\" баримтын хугацаа %s-нд дууссан байна. Шинэчилсэн баримтаа илгээнэ үү.",
+                    event.documentName(), event.expiryDate())
+            );
+        }
+
+        if (smsEnabled && event.customerPhone() != null) {
+            sendSMSNotification(
+                event.customerPhone(),
+                String.format("\"%s\" баримтын хугацаа %s-нд дууссан. Шинэчилнэ үү.",
+                    event.documentName(), event.expiryDate())
+            );
+        }
+    }
+    
     // Helper methods
     private void sendEmailNotification(String to, String subject, String body) {
         // TODO: Implement actual email sending logic
@@ -0,0 +1,543 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.ReportJobDto;
+import com.company.los.enums.ReportType;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.repository.ReportingRepository;
+import com.company.los.service.ReportService;
+import com.company.los.util.NodeIdentity;
+import com.company.los.util.UuidV7;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async тайлангийн Service Implementation
+ *
+ * Үр дүнг report_results хүснэгтэд (тайлан, параметрийн hash, data watermark)-аар хадгална.
+ * Data watermark нь тайлангийн эх хүснэгт бүрийн MAX(updated_at) (индексээр нэг мөр);
+ * эдгээр өөрчлөгдөөгүй бол хадгалсан үр дүнг дахин ашиглана.
+ *
+ * QUEUED/RUNNING ажил бүр үүсгэсэн node-оо (owner_node) тэмдэглэж, тэр node heartbeat-ийг тогтмол
+ * сунгана. Heartbeat нь stale-after-seconds-оос хуучирсан ажлыг (унасан эсвэл restart хийсэн node)
+ * аль ч node FAILED болгоно - бусад node-ийн ажиллаж буй ажилд хүрэхгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+    private static final String SELECT_JOB =
+            "SELECT id, report_type, parameters, data_watermark, status, row_count, error_message, requested_by, " +
+            "created_at, started_at, completed_at FROM report_results ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportingRepository reportingRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.report.pool-size:2}")
+    private int poolSize = 2;
+
+    @Value("${app.report.queue-capacity:32}")
+    private int queueCapacity = 32;
+
+    @Value("${app.report.retention-hours:24}")
+    private long retentionHours = 24;
+
+    @Value("${app.report.stale-after-seconds:120}")
+    private long staleAfterSeconds = 120;
+
+    private ThreadPoolExecutor executor;
+
+    // Ижил (түлхүүр, watermark)-тай ажлыг давхар эхлүүлэхгүй; future нь INSERT дууссаны дараа ID-г өгнө
+    private final Map<String, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        // Унасан node-уудын дутуу ажлыг дахин ашиглагдахгүй болгох (бусад node-ийн амьд ажил хөндөгдөхгүй)
+        try {
+            failStaleJobs();
+        } catch (Exception e) {
+            logger.error("Failed to clean up stale report jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public ReportJobDto submitReport(ReportType reportType, Map<String, String> parameters, String requestedBy) {
+        if (reportType == null) {
+            throw new IllegalArgumentException("Report type is required");
+        }
+
+        Map<String, String> normalized = normalizeParameters(reportType, parameters != null ? parameters : Map.of());
+        String parametersJson = toJson(normalized);
+        String cacheKey = sha256(reportType.name() + "|" + parametersJson);
+        String watermark = computeWatermark(reportType);
+
+        List<ReportJobDto> existing = jdbcTemplate.query(SELECT_JOB +
+                "WHERE cache_key = ? AND data_watermark = ? AND status <> 'FAILED' ORDER BY created_at DESC LIMIT 1",
+                jobRowMapper(), cacheKey, watermark);
+        if (!existing.isEmpty()) {
+            ReportJobDto job = existing.get(0);
+            job.setCached(job.isCompleted());
+            logger.debug("Report {} served from stored job {} ({})", reportType, job.getJobId(), job.getStatus());
+            return job;
+        }
+
+        String flightKey = cacheKey + "|" + watermark;
+        CompletableFuture<UUID> mine = new CompletableFuture<>();
+        CompletableFuture<UUID> running = inFlight.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            return getJob(awaitJobId(running));
+        }
+
+        // INSERT нь map-ийн түгжээнээс гадуур; зэрэг ирсэн хүсэлтүүд future-ээр хүлээнэ
+        UUID jobId = UuidV7.next();
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("INSERT INTO report_results (id, report_type, cache_key, parameters, data_watermark, status, " +
+                                "requested_by, owner_node, heartbeat_at, created_at) VALUES (?, ?, ?, ?, ?, 'QUEUED', ?, ?, ?, ?)",
+                    jobId.toString(), reportType.name(), cacheKey, parametersJson, watermark, requestedBy,
+                    NodeIdentity.get(), now, now);
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        mine.complete(jobId);
+
+        try {
+            executor.execute(() -> runJob(jobId, reportType, normalized, flightKey));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(flightKey, mine);
+            markFailed(jobId, "Report queue is full");
+            throw new IllegalStateException("Report queue is full, try again later");
+        }
+
+        logger.info("Report job {} queued: {} {}", jobId, reportType, normalized);
+        return getJob(jobId);
+    }
+
+    @Override
+    public ReportJobDto getJob(UUID jobId) {
+        List<ReportJobDto> jobs = jdbcTemplate.query(SELECT_JOB + "WHERE id = ?", jobRowMapper(), jobId.toString());
+        if (jobs.isEmpty()) {
+            throw new ResourceNotFoundException("Report job not found with ID: " + jobId);
+        }
+        return jobs.get(0);
+    }
+
+    @Override
+    public Map<String, Object> getResult(UUID jobId) {
+        ReportJobDto job = getJob(jobId);
+        if (!job.isCompleted()) {
+            throw new IllegalStateException("Report job is not completed: " + job.getStatus());
+        }
+        String data = jdbcTemplate.queryForObject("SELECT result_data FROM report_results WHERE id = ?",
+                String.class, jobId.toString());
+        try {
+            Map<String, Object> result = objectMapper.readValue(data, new TypeReference<LinkedHashMap<String, Object>>() {});
+            result.put("job", job);
+            return result;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored report result is unreadable", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] exportResultCsv(UUID jobId) {
+        Map<String, Object> result = getResult(jobId);
+        List<Object> columns = (List<Object>) result.get("columns");
+        List<List<Object>> rows = (List<List<Object>>) result.get("rows");
+
+        StringBuilder csv = new StringBuilder("\uFEFF"); // Excel-д UTF-8 танигдах BOM
+        appendCsvLine(csv, columns);
+        for (List<Object> row : rows) {
+            appendCsvLine(csv, row);
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public List<Map<String, Object>> getReportTypes() {
+        List<Map<String, Object>> types = new ArrayList<>();
+        for (ReportType type : ReportType.values()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("code", type.name());
+            info.put("name", type.getMongolianName());
+            info.put("parameters", type.getParams().name());
+            info.put("columns", type.getColumns());
+            types.add(info);
+        }
+        return types;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.report.purge-cron:0 15 * * * *}")
+    public int purgeExpiredResults() {
+        int purged = jdbcTemplate.update("DELETE FROM report_results WHERE created_at < ? AND status IN ('COMPLETED', 'FAILED')",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (purged > 0) {
+            logger.info("Purged {} expired report results", purged);
+        }
+        return purged;
+    }
+
+    /**
+     * Энэ node-ийн дутуу ажлуудын heartbeat-ийг сунгаж, хуучирсан (эзэн нь унасан) ажлуудыг FAILED болгох
+     */
+    @Scheduled(fixedDelayString = "${app.report.heartbeat-interval-ms:30000}",
+               initialDelayString = "${app.report.heartbeat-interval-ms:30000}")
+    public void scheduledHeartbeat() {
+        try {
+            jdbcTemplate.update("UPDATE report_results SET heartbeat_at = ? " +
+                                "WHERE owner_node = ? AND status IN ('QUEUED', 'RUNNING')",
+                    Timestamp.valueOf(LocalDateTime.now()), NodeIdentity.get());
+            failStaleJobs();
+        } catch (Exception e) {
+            logger.error("Report job heartbeat failed: {}", e.getMessage(), e);
+        }
+    }
+
+    int failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = jdbcTemplate.update(
+                "UPDATE report_results SET status = 'FAILED', error_message = ?, completed_at = ? " +
+                "WHERE status IN ('QUEUED', 'RUNNING') AND (heartbeat_at IS NULL OR heartbeat_at < ?) " +
+                "AND (owner_node IS NULL OR owner_node <> ?)",
+                "Abandoned by a stopped node", Timestamp.valueOf(now),
+                Timestamp.valueOf(now.minusSeconds(staleAfterSeconds)), NodeIdentity.get());
+        if (abandoned > 0) {
+            logger.warn("Marked {} report jobs of stopped nodes as failed", abandoned);
+        }
+        return abandoned;
+    }
+
+    // Ажил гүйцэтгэх
+
+    private void runJob(UUID jobId, ReportType reportType, Map<String, String> parameters, String flightKey) {
+        long start = System.currentTimeMillis();
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("UPDATE report_results SET status = 'RUNNING', started_at = ?, heartbeat_at = ? WHERE id = ?",
+                    now, now, jobId.toString());
+
+            List<Object[]> rows = execute(reportType, parameters);
+
+            List<List<Object>> serializedRows = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                List<Object> values = new ArrayList<>(row.length);
+                for (Object value : row) {
+                    values.add(toJsonValue(value));
+                }
+                serializedRows.add(values);
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("columns", reportType.getColumns());
+            result.put("rows", serializedRows);
+
+            jdbcTemplate.update("UPDATE report_results SET status = 'COMPLETED', row_count = ?, result_data = ?, completed_at = ? " +
+                                "WHERE id = ?",
+                    rows.size(), toJson(result), Timestamp.valueOf(LocalDateTime.now()), jobId.toString());
+            logger.info("Report job {} ({}) completed: {} rows in {} ms", jobId, reportType, rows.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Report job {} ({}) failed: {}", jobId, reportType, e.getMessage(), e);
+            markFailed(jobId, e.getMessage());
+        } finally {
+            inFlight.remove(flightKey);
+        }
+    }
+
+    private List<Object[]> execute(ReportType reportType, Map<String, String> parameters) {
+        LocalDateTime startDate = parameters.containsKey("startDate") ? LocalDateTime.parse(parameters.get("startDate")) : null;
+        LocalDateTime endDate = parameters.containsKey("endDate") ? LocalDateTime.parse(parameters.get("endDate")) : null;
+
+        switch (reportType) {
+            case LOAN_APPLICATIONS:
+                return reportingRepository.getLoanApplicationReport(startDate, endDate);
+            case LOAN_APPROVAL:
+                return reportingRepository.getLoanApprovalReport(startDate, endDate);
+            case CUSTOMER_LOAN_HISTORY:
+                return reportingRepository.getCustomerLoanHistoryReport(startDate, endDate);
+            case MONTHLY_PERFORMANCE:
+                return reportingRepository.getMonthlyPerformanceReport(startDate);
+            case PRODUCT_PERFORMANCE:
+                return reportingRepository.getProductPerformanceReport(endDate);
+            case RISK_ANALYSIS:
+                return reportingRepository.getRiskAnalysisReport(startDate, endDate);
+            case INCOME_RISK:
+                return reportingRepository.getIncomeRiskReport(startDate, endDate);
+            case DOCUMENT_STATISTICS:
+                return reportingRepository.getDocumentStatisticsReport();
+            case INCOMPLETE_DOCUMENTS:
+                return reportingRepository.getIncompleteDocumentReport();
+            case GEOGRAPHIC:
+                return reportingRepository.getGeographicReport();
+            case AGE_DEMOGRAPHICS:
+                return reportingRepository.getAgeDemographicsReport();
+            case PROCESSING_TIME:
+                return reportingRepository.getProcessingTimeReport(startDate, endDate);
+            case USER_ACTIVITY:
+                return reportingRepository.getUserActivityReport(startDate, endDate);
+            case SYSTEM_HEALTH:
+                return reportingRepository.getSystemHealthReport();
+            case TOP_PERFORMERS:
+                return reportingRepository.getTopPerformersReport(Integer.parseInt(parameters.get("minApprovedLoans")));
+            case TRENDING:
+                return reportingRepository.getTrendingReport(startDate);
+            default:
+                throw new IllegalArgumentException("Unsupported report type: " + reportType);
+        }
+    }
+
+    // Параметр ба түлхүүр
+
+    /**
+     * Параметрийг каноник хэлбэрт оруулах - ижил утгатай хүсэлтүүд ижил түлхүүр авна.
+     * "Өнөөдөр"-өөс хамаарах тайлан өдөр бүр шинэ түлхүүр авахын тулд asOfDate нэмэгдэнэ.
+     */
+    Map<String, String> normalizeParameters(ReportType reportType, Map<String, String> parameters) {
+        Map<String, String> normalized = new TreeMap<>();
+        LocalDate today = LocalDate.now();
+        normalized.put("asOfDate", today.toString());
+
+        switch (reportType.getParams()) {
+            case DATE_RANGE: {
+                LocalDateTime start = parseDateTime(required(parameters, "startDate"), false);
+                LocalDateTime end = parseDateTime(required(parameters, "endDate"), true);
+                if (end.isBefore(start)) {
+                    throw new IllegalArgumentException("endDate must not be before startDate");
+                }
+                normalized.put("startDate", start.toString());
+                normalized.put("endDate", end.toString());
+                break;
+            }
+            case START_DATE: {
+                String value = parameters.get("startDate");
+                LocalDateTime start = value != null && !value.isBlank()
+                        ? parseDateTime(value, false)
+                        : today.withDayOfMonth(1).minusMonths(11).atStartOfDay();
+                normalized.put("startDate", start.toString());
+                break;
+            }
+            case END_DATE: {
+                String value = parameters.get("endDate");
+                LocalDateTime end = value != null && !value.isBlank()
+                        ? parseDateTime(value, true)
+                        : today.atTime(LocalTime.MAX);
+                normalized.put("endDate", end.toString());
+                break;
+            }
+            case MIN_APPROVED_LOANS: {
+                String value = parameters.getOrDefault("minApprovedLoans", "1");
+                int minApprovedLoans;
+                try {
+                    minApprovedLoans = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("minApprovedLoans must be a number");
+                }
+                if (minApprovedLoans < 1) {
+                    throw new IllegalArgumentException("minApprovedLoans must be at least 1");
+                }
+                normalized.put("minApprovedLoans", String.valueOf(minApprovedLoans));
+                break;
+            }
+            default:
+                break;
+        }
+        return normalized;
+    }
+
+    /**
+     * Эх хүснэгт бүрийн хамгийн сүүлийн өөрчлөлтийн хугацаа - updated_at индексийн нэг мөр тул хүсэлтийн
+     * thread дээр хямд. Шинэчлэлт болон soft delete (@SQLDelete) updated_at-ийг хөдөлгөнө; audit_logs-д
+     * зөвхөн нэмэгдэнэ. JPA-аас гадуурх физик устгалыг барихгүй - ийм үед үр дүн дараагийн өдрийн asOfDate-ээр шинэчлэгдэнэ.
+     */
+    String computeWatermark(ReportType reportType) {
+        StringBuilder watermark = new StringBuilder();
+        for (String table : reportType.getSourceTables()) {
+            String changedColumn = "audit_logs".equals(table) ? "changed_at" : "updated_at";
+            Timestamp lastChanged = jdbcTemplate.queryForObject(
+                    "SELECT MAX(" + changedColumn + ") FROM " + table, Timestamp.class);
+            if (watermark.length() > 0) {
+                watermark.append(';');
+            }
+            watermark.append(table).append('@').append(lastChanged);
+        }
+        return watermark.toString();
+    }
+
+    private static LocalDateTime parseDateTime(String value, boolean endOfDay) {
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfDay ? date.atTime(LocalTime.MAX) : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value.trim();
+    }
+
+    // Helper methods
+
+    private static UUID awaitJobId(CompletableFuture<UUID> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Report job could not be created", e.getCause());
+        }
+    }
+
+    private void markFailed(UUID jobId, String message) {
+        String error = message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+        jdbcTemplate.update("UPDATE report_results SET status = 'FAILED', error_message = ?, completed_at = ? WHERE id = ?",
+                error, Timestamp.valueOf(LocalDateTime.now()), jobId.toString());
+    }
+
+    private RowMapper<ReportJobDto> jobRowMapper() {
+        return (rs, rowNum) -> {
+            ReportJobDto job = new ReportJobDto();
+            job.setJobId(UUID.fromString(rs.getString("id")));
+            job.setReportType(ReportType.valueOf(rs.getString("report_type")));
+            job.setParameters(fromJson(rs.getString("parameters")));
+            job.setDataWatermark(rs.getString("data_watermark"));
+            job.setStatus(rs.getString("status"));
+            int rowCount = rs.getInt("row_count");
+            job.setRowCount(rs.wasNull() ? null : rowCount);
+            job.setErrorMessage(rs.getString("error_message"));
+            job.setRequestedBy(rs.getString("requested_by"));
+            job.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            job.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+            job.setCompletedAt(toLocalDateTime(rs.getTimestamp("completed_at")));
+            return job;
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Object toJsonValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof LocalDate || value instanceof LocalDateTime) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize report data", e);
+        }
+    }
+
+    private Map<String, String> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<TreeMap<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    private static void appendCsvLine(StringBuilder csv, List<Object> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                String text = value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                    csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    csv.append(text);
+                }
+            }
+        }
+        csv.append("\r\n");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.DocumentDto;
+import com.company.los.exception.ResourceNotFoundException;
+import com.company.los.repository.DocumentUploadSessionRepository;
+import com.company.los.repository.DocumentUploadSessionRepository.SessionRow;
+import com.company.los.service.DocumentService;
+import com.company.los.service.ResumableUploadService;
+import com.company.los.util.UuidV7;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static com.company.los.repository.DocumentUploadSessionRepository.STATUS_ABORTED;
+import static com.company.los.repository.DocumentUploadSessionRepository.STATUS_COMPLETED;
+import static com.company.los.repository.DocumentUploadSessionRepository.STATUS_COMPLETING;
+import static com.company.los.repository.DocumentUploadSessionRepository.STATUS_OPEN;
+
+/**
+ * Resumable upload-ын Service Implementation
+ *
+ * Chunk-ийг эхлээд түр файлд байрлалаар нь бичиж force хийсний дараа л bitmap-д тэмдэглэнэ - тэмдэглэгдсэн
+ * chunk бүр дискэнд байгаа гэж итгэж болно. SHA-256-ийн төлөв санах ойд байх бөгөөд эхнээсээ дараалан ирсэн
+ * chunk-уудаар урагшилна; дараалал алгассан chunk-ууд дутуу завсар нөхөгдөхөд файлаас уншигдана. Төлөв
+ * алдагдвал (restart, өөр node) дуусгахдаа файлаас дахин тооцно. Session-ийг нээсэн хэрэглэгч л chunk бичиж,
+ * дуусгаж, цуцална.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+public class ResumableUploadServiceImpl implements ResumableUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUploadServiceImpl.class);
+
+    static final String INCOMING_DIR = ".incoming";
+
+    // received_chunks VARCHAR(4096) - hex тэмдэгт бүр 4 chunk
+    static final int MAX_CHUNKS = 4096 * 4;
+
+    private static final int MISSING_OFFSETS_LIMIT = 100;
+    private static final int REAP_BATCH = 100;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+
+    private final DocumentUploadSessionRepository sessionRepository;
+    private final DocumentService documentService;
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.document.storage.path:./uploads/documents}")
+    private String documentStoragePath = "./uploads/documents";
+
+    @Value("${app.document.upload.chunk-size:5242880}")
+    private int chunkSize = 5242880;
+
+    @Value("${app.document.upload.max-size:1073741824}")
+    private long maxUploadSize = 1073741824L;
+
+    @Value("${app.document.upload.session-ttl-hours:24}")
+    private long sessionTtlHours = 24;
+
+    // Session бүрийн үргэлжилж буй SHA-256
+    private final Map<UUID, DigestState> digests = new ConcurrentHashMap<>();
+
+    public ResumableUploadServiceImpl(DocumentUploadSessionRepository sessionRepository, DocumentService documentService,
+                                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.documentService = documentService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public UploadStatus createSession(SessionRequest request, String createdBy) {
+        if (request == null || request.customerId() == null || request.documentTypeId() == null) {
+            throw new IllegalArgumentException("Customer and document type are required");
+        }
+        if (request.filename() == null || request.filename().isBlank()) {
+            throw new IllegalArgumentException("Filename is required");
+        }
+        if (request.totalSize() <= 0 || request.totalSize() > maxUploadSize) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxUploadSize + " bytes");
+        }
+        if ((request.totalSize() + chunkSize - 1) / chunkSize > MAX_CHUNKS) {
+            throw new IllegalArgumentException("Upload has too many chunks for chunk size " + chunkSize);
+        }
+        if (request.checksum() != null && !SHA256_HEX.matcher(request.checksum()).matches()) {
+            throw new IllegalArgumentException("Checksum must be a SHA-256 hex string");
+        }
+
+        UUID id = UuidV7.next();
+        Path tempFile = Paths.get(documentStoragePath).resolve(INCOMING_DIR).resolve(id + ".part");
+        try {
+            Files.createDirectories(tempFile.getParent());
+            if (Files.getFileStore(tempFile.getParent()).getUsableSpace() < request.totalSize()) {
+                throw new IllegalStateException("Insufficient storage for upload");
+            }
+            // Бүтэн хэмжээтэй sparse файл - chunk-ууд ямар ч дарааллаар байрлалдаа бичигдэнэ
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+                channel.write(ByteBuffer.allocate(1), request.totalSize() - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Upload file could not be created: " + e.getMessage(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SessionRow session = new SessionRow(id, request.customerId(), request.loanApplicationId(),
+                request.documentTypeId(), request.filename(), request.contentType(), request.totalSize(), chunkSize,
+                "", 0L, request.checksum() != null ? request.checksum().toLowerCase() : null, tempFile.toString(),
+                createdBy, STATUS_OPEN, null, now.plusHours(sessionTtlHours));
+        try {
+            sessionRepository.insert(session, now);
+        } catch (RuntimeException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+        meterRegistry.counter("los.document.upload.sessions.created").increment();
+        logger.info("Upload session {} opened for '{}' ({} bytes, {} chunks)", id, request.filename(),
+                request.totalSize(), session.chunkCount());
+        return status(session);
+    }
+
+    @Override
+    public UploadStatus writeChunk(UUID sessionId, long offset, byte[] data, String chunkChecksum, String username) {
+        SessionRow session = requireSession(sessionId);
+        requireOwner(session, username);
+        requireOpen(session);
+        int index = chunkIndex(session, offset, data);
+        if (decode(session.receivedChunks()).get(index)) {
+            // Хариу нь алдагдсан chunk-ийн давтан илгээлт
+            return status(session);
+        }
+        if (chunkChecksum != null && !chunkChecksum.equalsIgnoreCase(sha256Hex(data))) {
+            throw new IllegalArgumentException("Chunk checksum mismatch at offset " + offset);
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(session.tempPath()), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Chunk could not be written: " + e.getMessage(), e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SessionRow updated = transaction.execute(status -> {
+            SessionRow locked = sessionRepository.findForUpdate(sessionId);
+            if (locked == null) {
+                throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+            }
+            requireOpen(locked);
+            BitSet received = decode(locked.receivedChunks());
+            if (received.get(index)) {
+                return locked;
+            }
+            received.set(index);
+            String encoded = encode(received);
+            long receivedBytes = locked.receivedBytes() + data.length;
+            LocalDateTime expiresAt = now.plusHours(sessionTtlHours);
+            sessionRepository.updateProgress(sessionId, encoded, receivedBytes, now, expiresAt);
+            return locked.withProgress(encoded, receivedBytes, expiresAt);
+        });
+
+        meterRegistry.counter("los.document.upload.bytes").increment(data.length);
+        advanceDigest(updated, index, data);
+        return status(updated);
+    }
+
+    @Override
+    public UploadStatus getStatus(UUID sessionId, String username) {
+        SessionRow session = requireSession(sessionId);
+        requireOwner(session, username);
+        return status(session);
+    }
+
+    @Override
+    public DocumentDto complete(UUID sessionId, String username) {
+        // Мөрийг зөвхөн COMPLETING болгох хооронд түгжинэ - checksum, файл зөөлт transaction-ий гадна
+        SessionRow session = transaction.execute(status -> {
+            SessionRow locked = sessionRepository.findForUpdate(sessionId);
+            if (locked == null) {
+                throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+            }
+            requireOwner(locked, username);
+            if (STATUS_COMPLETED.equals(locked.status())) {
+                return locked;
+            }
+            requireOpen(locked);
+            if (decode(locked.receivedChunks()).cardinality() < locked.chunkCount()) {
+                throw new IllegalStateException("Upload incomplete: " + locked.receivedBytes() + " of "
+                        + locked.totalSize() + " bytes received");
+            }
+            sessionRepository.updateStatus(sessionId, STATUS_COMPLETING, null, LocalDateTime.now(), locked.expiresAt());
+            return locked;
+        });
+        if (STATUS_COMPLETED.equals(session.status())) {
+            return documentService.getDocumentById(session.documentId());
+        }
+
+        String checksum;
+        try {
+            checksum = finishDigest(session);
+        } catch (RuntimeException e) {
+            reopen(session);
+            throw e;
+        }
+        if (session.expectedChecksum() != null && !session.expectedChecksum().equals(checksum)) {
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status ->
+                    sessionRepository.updateStatus(sessionId, STATUS_ABORTED, null, now, now));
+            deleteQuietly(Paths.get(session.tempPath()));
+            meterRegistry.counter("los.document.upload.checksum.mismatch").increment();
+            throw new IllegalArgumentException("Checksum mismatch for upload session " + sessionId + ", upload aborted");
+        }
+
+        DocumentDto document;
+        try {
+            // Баримтын мөртэй нэг transaction-д COMPLETED болгоно; давтан дуусгах хүсэлтэд баримтыг буцаахын тулд
+            // мөрийг хугацаа дуустал үлдээнэ
+            document = documentService.createDocumentFromFile(session.customerId(), session.loanApplicationId(),
+                    session.documentTypeId(), Paths.get(session.tempPath()), session.originalFilename(),
+                    session.contentType(), checksum, created -> {
+                        LocalDateTime now = LocalDateTime.now();
+                        sessionRepository.updateStatus(sessionId, STATUS_COMPLETED, created.getId(), now,
+                                now.plusHours(sessionTtlHours));
+                    });
+        } catch (IOException e) {
+            reopen(session);
+            throw new UncheckedIOException("Upload could not be stored: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            reopen(session);
+            throw e;
+        }
+        meterRegistry.counter("los.document.upload.sessions.completed").increment();
+        logger.info("Upload session {} completed as document {}", sessionId, document.getId());
+        return document;
+    }
+
+    @Override
+    public void abort(UUID sessionId, String username) {
+        SessionRow session = transaction.execute(status -> {
+            SessionRow locked = sessionRepository.findForUpdate(sessionId);
+            if (locked == null) {
+                throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+            }
+            requireOwner(locked, username);
+            if (STATUS_COMPLETED.equals(locked.status())) {
+                throw new IllegalStateException("Upload session already completed");
+            }
+            if (STATUS_COMPLETING.equals(locked.status())) {
+                throw new IllegalStateException("Upload session is being completed");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            sessionRepository.updateStatus(sessionId, STATUS_ABORTED, null, now, now.plusHours(sessionTtlHours));
+            return locked;
+        });
+        digests.remove(sessionId);
+        deleteQuietly(Paths.get(session.tempPath()));
+        logger.info("Upload session {} aborted", sessionId);
+    }
+
+    /**
+     * Хаягдсан session-уудыг тогтмол цэвэрлэх
+     */
+    @Scheduled(fixedDelayString = "${app.document.upload.reap-interval-ms:900000}")
+    public void scheduledReap() {
+        try {
+            reapExpired();
+        } catch (Exception e) {
+            logger.error("Upload session cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int reapExpired() {
+        int reaped = 0;
+        while (true) {
+            List<SessionRow> expired = sessionRepository.findExpired(LocalDateTime.now(), REAP_BATCH);
+            int batchReaped = 0;
+            for (SessionRow session : expired) {
+                // Дууссан session-ий файл баримтын сан руу зөөгдсөн
+                if (!STATUS_COMPLETED.equals(session.status())) {
+                    deleteQuietly(Paths.get(session.tempPath()));
+                }
+                digests.remove(session.id());
+                batchReaped += sessionRepository.delete(session.id());
+            }
+            reaped += batchReaped;
+            // Устгаж чадаагүй batch-ийг дахин уншвал мөнхийн давталт болно - дараагийн ажиллагаанд үлдээнэ
+            if (expired.size() < REAP_BATCH || batchReaped == 0) {
+                break;
+            }
+        }
+        if (reaped > 0) {
+            meterRegistry.counter("los.document.upload.sessions.reaped").increment(reaped);
+            logger.info("Removed {} expired upload sessions", reaped);
+        }
+        return reaped;
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("open", sessionRepository.countByStatus(STATUS_OPEN));
+        stats.put("completed", sessionRepository.countByStatus(STATUS_COMPLETED));
+        stats.put("aborted", sessionRepository.countByStatus(STATUS_ABORTED));
+        stats.put("digestsInMemory", digests.size());
+        stats.put("chunkSize", chunkSize);
+        stats.put("maxSize", maxUploadSize);
+        stats.put("sessionTtlHours", sessionTtlHours);
+        return stats;
+    }
+
+    /**
+     * Дараалан ирсэн chunk-уудаар checksum-ыг урагшлуулах. Алдаа гарвал төлөвийг хаяна - дуусгахад дахин тооцно.
+     */
+    private void advanceDigest(SessionRow session, int index, byte[] data) {
+        DigestState state = digests.computeIfAbsent(session.id(), id -> new DigestState());
+        synchronized (state) {
+            try {
+                BitSet received = decode(session.receivedChunks());
+                while (state.nextChunk < session.chunkCount() && received.get(state.nextChunk)) {
+                    state.digest.update(state.nextChunk == index ? data : readChunk(session, state.nextChunk));
+                    state.nextChunk++;
+                }
+            } catch (RuntimeException e) {
+                digests.remove(session.id(), state);
+                logger.debug("Checksum state dropped for upload session {}: {}", session.id(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Бүх chunk ирсэн үед эцсийн checksum (санах ойд үлдсэн хэсгийг файлаас нөхнө)
+     */
+    private String finishDigest(SessionRow session) {
+        DigestState state = digests.computeIfAbsent(session.id(), id -> new DigestState());
+        synchronized (state) {
+            try {
+                while (state.nextChunk < session.chunkCount()) {
+                    state.digest.update(readChunk(session, state.nextChunk));
+                    state.nextChunk++;
+                }
+                return HexFormat.of().formatHex(state.digest.digest());
+            } finally {
+                digests.remove(session.id(), state);
+            }
+        }
+    }
+
+    private static byte[] readChunk(SessionRow session, int index) {
+        long offset = (long) index * session.chunkSize();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(session.chunkSize(), session.totalSize() - offset));
+        try (FileChannel channel = FileChannel.open(Paths.get(session.tempPath()), StandardOpenOption.READ)) {
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of upload file");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Chunk could not be read: " + e.getMessage(), e);
+        }
+        return buffer.array();
+    }
+
+    private static int chunkIndex(SessionRow session, long offset, byte[] data) {
+        if (offset < 0 || offset >= session.totalSize() || offset % session.chunkSize() != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of " + session.chunkSize()
+                    + " below " + session.totalSize());
+        }
+        int index = (int) (offset / session.chunkSize());
+        long expected = Math.min(session.chunkSize(), session.totalSize() - offset);
+        if (data == null || data.length != expected) {
+            throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + expected + " bytes");
+        }
+        return index;
+    }
+
+    /**
+     * Баримт үүсгэж чадаагүй бол session-ийг дахин дуусгах боломжтой OPEN төлөвт буцаана
+     */
+    private void reopen(SessionRow session) {
+        try {
+            transaction.executeWithoutResult(status -> sessionRepository.updateStatus(session.id(), STATUS_OPEN, null,
+                    LocalDateTime.now(), session.expiresAt()));
+        } catch (RuntimeException e) {
+            logger.error("Could not reopen upload session {}: {}", session.id(), e.getMessage());
+        }
+    }
+
+    private SessionRow requireSession(UUID sessionId) {
+        SessionRow session = sessionRepository.find(sessionId);
+        if (session == null) {
+            throw new ResourceNotFoundException("Upload session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    private static void requireOwner(SessionRow session, String username) {
+        if (!Objects.equals(session.createdBy(), username)) {
+            throw new AccessDeniedException("Upload session belongs to another user");
+        }
+    }
+
+    private static void requireOpen(SessionRow session) {
+        if (!STATUS_OPEN.equals(session.status())) {
+            throw new IllegalStateException("Upload session is " + session.status().toLowerCase());
+        }
+        if (session.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Upload session has expired");
+        }
+    }
+
+    private static UploadStatus status(SessionRow session) {
+        BitSet received = decode(session.receivedChunks());
+        int chunks = session.chunkCount();
+        List<Long> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < chunks && missing.size() < MISSING_OFFSETS_LIMIT;
+             i = received.nextClearBit(i + 1)) {
+            missing.add((long) i * session.chunkSize());
+        }
+        long nextOffset = missing.isEmpty() ? session.totalSize() : missing.get(0);
+        return new UploadStatus(session.id(), session.status(), session.totalSize(), session.chunkSize(),
+                session.receivedBytes(), nextOffset, missing, session.expiresAt(), session.documentId());
+    }
+
+    static BitSet decode(String receivedChunks) {
+        return receivedChunks == null || receivedChunks.isEmpty()
+                ? new BitSet()
+                : BitSet.valueOf(HexFormat.of().parseHex(receivedChunks));
+    }
+
+    static String encode(BitSet received) {
+        return HexFormat.of().formatHex(received.toByteArray());
+    }
+
+    private static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static final class DigestState {
+        private final MessageDigest digest = newDigest();
+        private int nextChunk;
+    }
+}
@@ -0,0 +1,319 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.DocumentStorage;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * S3-тэй нийцтэй object store (AWS S3, MinIO, Ceph RGW) дээрх хадгалалтын Service Implementation
+ *
+ * Гадны SDK-гүй: java.net.http клиентээр path-style REST (PUT/GET/HEAD/DELETE) дуудаж, хүсэлт бүрийг
+ * Signature V4-өөр гарын үсэг зурна. Агуулгыг санах ойд цуглуулалгүй урсгалаар илгээх тул payload hash-ийг
+ * {@value #UNSIGNED_PAYLOAD} гэж тэмдэглэнэ - endpoint нь HTTPS байх ёстой. Object-ийн түлхүүр нь
+ * {@code ab/cd/<нэр>} hash угтвартай тул ачаалал bucket-ийн partition-уудад тархана.
+ * {@code local://} болон схемгүй хуучин байршлуудыг local mount-уудаас уншина.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@ConditionalOnProperty(name = "app.document.storage.type", havingValue = "s3")
+public class S3DocumentStorage implements DocumentStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3DocumentStorage.class);
+
+    static final String SCHEME = "s3://";
+    static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SIGNED_HEADERS = "host;x-amz-content-sha256;x-amz-date";
+    private static final HttpRequest.BodyPublisher NO_BODY = HttpRequest.BodyPublishers.noBody();
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    @Value("${app.document.storage.path:./uploads/documents}")
+    private String storagePath = "./uploads/documents";
+
+    @Value("${app.document.storage.mounts:}")
+    private String mounts = "";
+
+    @Value("${app.document.storage.s3.endpoint:https://s3.amazonaws.com}")
+    private String endpoint = "https://s3.amazonaws.com";
+
+    @Value("${app.document.storage.s3.region:us-east-1}")
+    private String region = "us-east-1";
+
+    @Value("${app.document.storage.s3.bucket:los-documents}")
+    private String bucket = "los-documents";
+
+    @Value("${app.document.storage.s3.access-key:}")
+    private String accessKey = "";
+
+    @Value("${app.document.storage.s3.secret-key:}")
+    private String secretKey = "";
+
+    @Value("${app.document.storage.s3.timeout-seconds:60}")
+    private long timeoutSeconds = 60;
+
+    private HttpClient httpClient;
+    private ShardedLocalDocumentStorage local;
+
+    private final AtomicLong uploads = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong deletes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(timeoutSeconds))
+                .build();
+        local = new ShardedLocalDocumentStorage(storagePath, mounts);
+        logger.info("Document storage: S3 bucket {} at {}", bucket, endpoint);
+    }
+
+    @Override
+    public String getName() {
+        return "s3";
+    }
+
+    @Override
+    public String store(String filename, InputStream content, long size, String contentType) throws IOException {
+        String key = ShardedLocalDocumentStorage.relativePath(filename);
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> content), size);
+        HttpRequest.Builder request = request("PUT", bucket, key, body)
+                .header("Content-Type", contentType != null ? contentType : "application/octet-stream");
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw failure("PUT", key, response.statusCode(), response.body());
+        }
+        uploads.incrementAndGet();
+        uploadedBytes.addAndGet(size);
+        return SCHEME + bucket + "/" + key;
+    }
+
+    @Override
+    public String moveIn(Path file, String filename, String contentType) throws IOException {
+        String location;
+        try (InputStream in = Files.newInputStream(file)) {
+            location = store(filename, in, Files.size(file), contentType);
+        }
+        Files.delete(file);
+        return location;
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        if (!isObject(location)) {
+            return local.open(location);
+        }
+        String[] object = parse(location);
+        HttpResponse<InputStream> response = send(request("GET", object[0], object[1], NO_BODY),
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 == 2) {
+            downloads.incrementAndGet();
+            return response.body();
+        }
+        String error;
+        try (InputStream body = response.body()) {
+            error = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (response.statusCode() == 404) {
+            throw new NoSuchFileException(location);
+        }
+        throw failure("GET", object[1], response.statusCode(), error);
+    }
+
+    @Override
+    public boolean exists(String location) throws IOException {
+        if (!isObject(location)) {
+            return local.exists(location);
+        }
+        String[] object = parse(location);
+        HttpResponse<Void> response = send(request("HEAD", object[0], object[1], NO_BODY),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw failure("HEAD", object[1], response.statusCode(), "");
+        }
+        return true;
+    }
+
+    @Override
+    public boolean delete(String location) throws IOException {
+        if (!isObject(location)) {
+            return local.delete(location);
+        }
+        String[] object = parse(location);
+        HttpResponse<String> response = send(request("DELETE", object[0], object[1], NO_BODY),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+            throw failure("DELETE", object[1], response.statusCode(), response.body());
+        }
+        deletes.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Path localFile(String location) {
+        return isObject(location) ? null : local.localFile(location);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", getName());
+        stats.put("endpoint", endpoint);
+        stats.put("bucket", bucket);
+        stats.put("uploads", uploads.get());
+        stats.put("uploadedBytes", uploadedBytes.get());
+        stats.put("downloads", downloads.get());
+        stats.put("deletes", deletes.get());
+        stats.put("failures", failures.get());
+        stats.put("local", local.getStatistics());
+        return stats;
+    }
+
+    private static boolean isObject(String location) {
+        return location != null && location.startsWith(SCHEME);
+    }
+
+    /**
+     * {@code s3://bucket/key} -> [bucket, key]
+     */
+    private static String[] parse(String location) {
+        String rest = location.substring(SCHEME.length());
+        int slash = rest.indexOf('/');
+        if (slash <= 0 || slash == rest.length() - 1) {
+            throw new IllegalArgumentException("Invalid S3 location: " + location);
+        }
+        return new String[]{rest.substring(0, slash), rest.substring(slash + 1)};
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 request interrupted");
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private IOException failure(String method, String key, int status, String body) {
+        failures.incrementAndGet();
+        logger.warn("S3 {} {} failed with HTTP {}: {}", method, key, status, body);
+        return new IOException("S3 " + method + " " + key + " failed with HTTP " + status);
+    }
+
+    /**
+     * Path-style URI ба Signature V4 толгойтой хүсэлт
+     */
+    private HttpRequest.Builder request(String method, String bucketName, String key,
+                                        HttpRequest.BodyPublisher body) {
+        String base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        URI uri = URI.create(base + "/" + encode(bucketName) + "/" + encodeKey(key));
+        String amzDate = AMZ_DATE.format(ZonedDateTime.now(ZoneOffset.UTC));
+        String host = uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        String canonicalRequest = method + "\n" + uri.getRawPath() + "\n\n"
+                + "host:" + host + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n\n"
+                + SIGNED_HEADERS + "\n" + UNSIGNED_PAYLOAD;
+        String authorization = ALGORITHM + " Credential=" + accessKey + "/" + scope(amzDate, region)
+                + ", SignedHeaders=" + SIGNED_HEADERS
+                + ", Signature=" + signature(secretKey, region, amzDate, canonicalRequest);
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .method(method, body)
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("Authorization", authorization);
+    }
+
+    private static String scope(String amzDate, String region) {
+        return amzDate.substring(0, 8) + "/" + region + "/s3/aws4_request";
+    }
+
+    /**
+     * Signature V4: огноо, бүс, үйлчилгээгээр гаргасан түлхүүрээр string-to-sign-ийн HMAC-SHA256
+     */
+    public static String signature(String secretKey, String region, String amzDate, String canonicalRequest) {
+        try {
+            String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope(amzDate, region) + "\n"
+                    + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+            byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), amzDate.substring(0, 8));
+            key = hmac(key, region);
+            key = hmac(key, "s3");
+            key = hmac(key, "aws4_request");
+            return HexFormat.of().formatHex(hmac(key, stringToSign));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeKey(String key) {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : key.split("/", -1)) {
+            if (encoded.length() > 0) {
+                encoded.append('/');
+            }
+            encoded.append(encode(segment));
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * RFC 3986 (S3 canonical URI-д шаардагдах) percent-encoding
+     */
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+}
@@ -0,0 +1,253 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Олон mount point дээр hash угтвараар тархсан local хадгалалтын Service Implementation
+ *
+ * Mount-уудыг {@code app.document.storage.mounts}-д {@code нэр=зам} хэлбэрээр (таслалаар) өгнө; хоосон бол
+ * {@code app.document.storage.path} нэг mount болно. Шинэ файл бүрийн mount-ийг сул зайнаас нь
+ * {@code min-free-bytes} нөөцийг хассан жингээр санамсаргүй сонгоно - их зайтай диск илүү их бичилт авч,
+ * дүүрэх дөхсөн эсвэл салгагдсан диск бичилт авахгүй. Байршилд mount-ийн нэр орох тул mount-ийн замыг
+ * өөрчилж болно, харин нэрийг өөрчилж болохгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@ConditionalOnProperty(name = "app.document.storage.type", havingValue = "local", matchIfMissing = true)
+public class ShardedLocalDocumentStorage implements DocumentStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedLocalDocumentStorage.class);
+
+    static final String SCHEME = "local://";
+    static final String DEFAULT_MOUNT = "default";
+
+    private static final Pattern MOUNT_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final List<Mount> mounts;
+    private final Map<String, Mount> mountsByName = new LinkedHashMap<>();
+
+    // Үүнээс бага сул зайтай mount шинэ файл авахгүй (бүгд доогуур бол хамгийн их зайтайг сонгоно)
+    @Value("${app.document.storage.min-free-bytes:1073741824}")
+    private long minFreeBytes = 1073741824L;
+
+    public ShardedLocalDocumentStorage(@Value("${app.document.storage.path:./uploads/documents}") String storagePath,
+                                       @Value("${app.document.storage.mounts:}") String mountConfig) {
+        this.mounts = Collections.unmodifiableList(parseMounts(storagePath, mountConfig));
+        for (Mount mount : mounts) {
+            if (mountsByName.putIfAbsent(mount.name, mount) != null) {
+                throw new IllegalArgumentException("Duplicate storage mount name: " + mount.name);
+            }
+        }
+        logger.info("Document storage mounts: {}", mountsByName.keySet());
+    }
+
+    private static List<Mount> parseMounts(String storagePath, String mountConfig) {
+        List<Mount> parsed = new ArrayList<>();
+        if (mountConfig == null || mountConfig.isBlank()) {
+            parsed.add(new Mount(DEFAULT_MOUNT, Paths.get(storagePath)));
+            return parsed;
+        }
+        for (String entry : mountConfig.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Storage mount must be name=path: " + entry.trim());
+            }
+            String name = entry.substring(0, separator).trim();
+            if (!MOUNT_NAME.matcher(name).matches()) {
+                throw new IllegalArgumentException("Invalid storage mount name: " + name);
+            }
+            parsed.add(new Mount(name, Paths.get(entry.substring(separator + 1).trim())));
+        }
+        return parsed;
+    }
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public String store(String filename, InputStream content, long size, String contentType) throws IOException {
+        Mount mount = selectMount();
+        String relative = relativePath(filename);
+        Path target = mount.root.resolve(relative);
+        Files.createDirectories(target.getParent());
+        long written;
+        try {
+            written = Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        mount.stored.incrementAndGet();
+        mount.storedBytes.addAndGet(written);
+        return SCHEME + mount.name + "/" + relative;
+    }
+
+    @Override
+    public String moveIn(Path file, String filename, String contentType) throws IOException {
+        long size = Files.size(file);
+        Mount mount = selectMount();
+        String relative = relativePath(filename);
+        Path target = mount.root.resolve(relative);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Өөр диск дээрх mount - хуулж устгана
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        mount.stored.incrementAndGet();
+        mount.storedBytes.addAndGet(size);
+        return SCHEME + mount.name + "/" + relative;
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return Files.newInputStream(resolve(location));
+    }
+
+    @Override
+    public boolean exists(String location) {
+        return Files.exists(resolve(location));
+    }
+
+    @Override
+    public boolean delete(String location) throws IOException {
+        return Files.deleteIfExists(resolve(location));
+    }
+
+    @Override
+    public Path localFile(String location) {
+        return resolve(location);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", getName());
+        stats.put("minFreeBytes", minFreeBytes);
+        Map<String, Object> mountStats = new LinkedHashMap<>();
+        for (Mount mount : mounts) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("path", mount.root.toAbsolutePath().toString());
+            row.put("usableBytes", usableSpace(mount.root));
+            row.put("storedFiles", mount.stored.get());
+            row.put("storedBytes", mount.storedBytes.get());
+            mountStats.put(mount.name, row);
+        }
+        stats.put("mounts", mountStats);
+        return stats;
+    }
+
+    /**
+     * Байршлыг файлын зам болгох; схемгүй бол хуучин абсолют зам
+     */
+    Path resolve(String location) {
+        if (location == null) {
+            throw new IllegalArgumentException("Document has no stored file");
+        }
+        if (!location.startsWith(SCHEME)) {
+            return Paths.get(location);
+        }
+        String rest = location.substring(SCHEME.length());
+        int slash = rest.indexOf('/');
+        Mount mount = slash > 0 ? mountsByName.get(rest.substring(0, slash)) : null;
+        if (mount == null) {
+            throw new IllegalArgumentException("Unknown storage mount in location: " + location);
+        }
+        Path path = mount.root.resolve(rest.substring(slash + 1)).normalize();
+        if (!path.startsWith(mount.root.normalize())) {
+            throw new IllegalArgumentException("Location escapes its storage mount: " + location);
+        }
+        return path;
+    }
+
+    /**
+     * Сул зайгаар жигнэсэн санамсаргүй сонголт
+     */
+    private Mount selectMount() {
+        if (mounts.size() == 1) {
+            return mounts.get(0);
+        }
+        long[] weights = new long[mounts.size()];
+        long total = 0;
+        Mount roomiest = mounts.get(0);
+        long roomiestSpace = -1;
+        for (int i = 0; i < mounts.size(); i++) {
+            long usable = usableSpace(mounts.get(i).root);
+            if (usable > roomiestSpace) {
+                roomiestSpace = usable;
+                roomiest = mounts.get(i);
+            }
+            weights[i] = Math.max(0, usable - minFreeBytes);
+            total += weights[i];
+        }
+        if (total == 0) {
+            logger.warn("All storage mounts are below {} free bytes, writing to {}", minFreeBytes, roomiest.name);
+            return roomiest;
+        }
+        long pick = ThreadLocalRandom.current().nextLong(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return mounts.get(i);
+            }
+        }
+        return roomiest;
+    }
+
+    /**
+     * Mount-ийн ашиглах боломжтой зай; салгагдсан (байхгүй) mount 0
+     */
+    protected long usableSpace(Path root) {
+        return root.toFile().getUsableSpace();
+    }
+
+    static String relativePath(String filename) {
+        if (filename == null || filename.isEmpty() || filename.startsWith(".")
+                || filename.indexOf('/') >= 0 || filename.indexOf('\\') >= 0) {
+            throw new IllegalArgumentException("Invalid stored filename: " + filename);
+        }
+        return DocumentStorage.shardPrefix(filename) + "/" + filename;
+    }
+
+    private static final class Mount {
+        private final String name;
+        private final Path root;
+        private final AtomicLong stored = new AtomicLong();
+        private final AtomicLong storedBytes = new AtomicLong();
+
+        Mount(String name, Path root) {
+            this.name = name;
+            this.root = root;
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.ApplicationStateEntry;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.LoanWorkflowService;
+import com.company.los.service.SlaMonitorService;
+import com.company.los.util.HierarchicalTimerWheel;
+import com.company.los.util.NodeIdentity;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Зээлийн хүсэлтийн SLA хяналтын Service Implementation
+ *
+ * Хүсэлт бүрийн одоогийн төлөвт орсон мөч ({@code status_changed_at}) санах ойд {@link Clock} болж хадгалагдана.
+ * {@code app.loan.sla.deadlines}-д хугацаатай төлөвүүдийн дараагийн шатлалын мөч {@link HierarchicalTimerWheel}-д
+ * бүртгэгдэж, {@link #advance()} tick бүрт зөвхөн хугацаа нь дууссан слотууд шалгагдана - хүснэгт scan хийхгүй.
+ * Хугацаа хэтэрсэн олонлог ба төлөв бүрийн орсон мөчөөр эрэмбэлэгдсэн индекс үргэлж шинэчлэгдсэн байх тул
+ * overdue / pending-too-long endpoint-ууд шууд эндээс уншина.
+ *
+ * Restart хийхэд DB-ээс сэргээнэ: хугацаа нь унтарсан хооронд өнгөрсөн хүсэлтүүд хугацаа хэтэрсэн олонлогт
+ * тохирох шатлалаар шууд орж, алгассан шатлал бүр advanceTo-гийн адил sla_escalations claim-аар дамжин
+ * нийтлэгдэнэ - өмнө нь илгээгдсэн шатлал давхардахгүй.
+ * Нэг хүсэлтийн өөрчлөлтүүд ConcurrentHashMap.compute-оор цувралжина.
+ *
+ * Олон node ажиллахад бүгд ижил таймертай тул escalation бүрийг sla_escalations хүснэгтийн
+ * primary key-ээр нэг л node нийтэлнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class SlaMonitorServiceImpl implements SlaMonitorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlaMonitorServiceImpl.class);
+
+    private static final String PREFIX = "app.loan.sla";
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final String CLAIM_SQL =
+            "INSERT INTO sla_escalations (application_id, status, entered_at, escalation_level, fired_by, fired_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<Clock> BY_ENTERED_AT =
+            Comparator.comparing((Clock clock) -> clock.enteredAt).thenComparing(clock -> clock.id);
+    private static final Comparator<Clock> BY_DEADLINE =
+            Comparator.comparing((Clock clock) -> clock.deadline).thenComparing(clock -> clock.id);
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoanWorkflowService loanWorkflowService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.loan.sla.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.loan.sla.tick-ms:1000}")
+    private long tickMillis = 1000;
+
+    // Дээд шатлал - анхны хугацаа хэтэрснээс хойш escalation-interval тутамд нэгээр өснө
+    @Value("${app.loan.sla.max-escalation-level:3}")
+    private int maxEscalationLevel = 3;
+
+    // Node-уудын хооронд давхардлыг шалгах sla_escalations мөрүүдийг хадгалах хугацаа
+    @Value("${app.loan.sla.escalation-retention-days:30}")
+    private int escalationRetentionDays = 30;
+
+    private Map<ApplicationStatus, Duration> deadlines = Map.of();
+    private Duration escalationInterval = Duration.ofDays(1);
+    private Set<ApplicationStatus> tracked = EnumSet.noneOf(ApplicationStatus.class);
+    private Map<ApplicationStatus, ConcurrentSkipListSet<Clock>> byStatus = Map.of();
+    private HierarchicalTimerWheel<Clock> wheel;
+
+    private final ConcurrentHashMap<UUID, Clock> clocks = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Clock> overdue = new ConcurrentSkipListSet<>(BY_DEADLINE);
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final AtomicLong escalations = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private volatile LocalDateTime lastRebuildAt;
+
+    @PostConstruct
+    public void init() {
+        Binder binder = Binder.get(environment);
+        Map<ApplicationStatus, Duration> parsed = new EnumMap<>(ApplicationStatus.class);
+        binder.bind(PREFIX + ".deadlines", Bindable.mapOf(String.class, Duration.class)).orElseGet(Map::of)
+                .forEach((status, deadline) -> parsed.put(parseStatus(status), deadline));
+        this.escalationInterval = binder.bind(PREFIX + ".escalation-interval", Duration.class)
+                .orElse(Duration.ofDays(1));
+
+        // Эцсийн бус (дараагийн шилжилттэй) бүх төлөвийг хянана; хугацаа зөвхөн тохируулсан төлөвт
+        EnumSet<ApplicationStatus> nonTerminal = EnumSet.noneOf(ApplicationStatus.class);
+        Map<ApplicationStatus, ConcurrentSkipListSet<Clock>> index = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            if (!loanWorkflowService.getAllowedTransitions(status).isEmpty()) {
+                nonTerminal.add(status);
+                index.put(status, new ConcurrentSkipListSet<>(BY_ENTERED_AT));
+            }
+        }
+        parsed.forEach((status, deadline) -> {
+            if (!nonTerminal.contains(status)) {
+                throw new IllegalStateException("SLA deadline configured for terminal status " + status + " in " + PREFIX);
+            }
+            if (deadline.isNegative() || deadline.isZero()) {
+                throw new IllegalStateException("SLA deadline for " + status + " must be positive");
+            }
+        });
+        if (escalationInterval.isNegative() || escalationInterval.isZero()) {
+            throw new IllegalStateException(PREFIX + ".escalation-interval must be positive");
+        }
+
+        this.deadlines = Collections.unmodifiableMap(parsed);
+        this.tracked = Collections.unmodifiableSet(nonTerminal);
+        this.byStatus = Collections.unmodifiableMap(index);
+        this.wheel = new HierarchicalTimerWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+
+        meterRegistry.gaugeMapSize("los.sla.tracked", List.of(), clocks);
+        meterRegistry.gaugeCollectionSize("los.sla.overdue", List.of(), overdue);
+        logger.info("SLA monitor configured: deadlines={}, escalation every {}, max level {}",
+                deadlines, escalationInterval, maxEscalationLevel);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Initial SLA timer load failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.loan.sla.resync-interval-ms:600000}",
+               initialDelayString = "${app.loan.sla.resync-interval-ms:600000}")
+    public void scheduledResync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("SLA timer resync failed: {}", e.getMessage(), e);
+        }
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM sla_escalations WHERE fired_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(escalationRetentionDays)));
+            if (purged > 0) {
+                logger.debug("Purged {} SLA escalation claims", purged);
+            }
+        } catch (Exception e) {
+            logger.warn("SLA escalation claim purge failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Timer wheel-ийг одоогийн цаг хүртэл урагшлуулах
+     */
+    @Scheduled(fixedDelayString = "${app.loan.sla.tick-ms:1000}")
+    public void advance() {
+        if (enabled) {
+            advanceTo(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Wheel-ийг nowMillis хүртэл урагшлуулж хугацаа нь дууссан хүсэлтүүдийг шатлуулах.
+     * Node бүр өөрийн санах ойн төлөвийг шатлуулах боловч event-ийг зөвхөн sla_escalations-д
+     * мөрөө түрүүлж оруулсан node нийтэлнэ.
+     *
+     * @return энэ node-ийн нийтэлсэн escalation event-ийн тоо
+     */
+    public int advanceTo(long nowMillis) {
+        List<SlaEscalation> fired = new ArrayList<>();
+        LocalDateTime firedAt = toLocalDateTime(nowMillis);
+        for (Clock clock : wheel.advance(nowMillis)) {
+            clocks.computeIfPresent(clock.id, (id, current) -> {
+                // Хооронд нь төлөв солигдсон бол хуучин таймер хамаарахгүй
+                if (current != clock || clock.timeout == null) {
+                    return current;
+                }
+                clock.timeout = null;
+                clock.escalationLevel++;
+                if (clock.escalationLevel == 1) {
+                    overdue.add(clock);
+                }
+                if (clock.escalationLevel < maxEscalationLevel) {
+                    schedule(clock);
+                }
+                fired.add(new SlaEscalation(clock.id, clock.applicationNumber, clock.status, clock.enteredAt,
+                        clock.deadline, clock.escalationLevel, firedAt));
+                return current;
+            });
+        }
+
+        return publish(fired);
+    }
+
+    /**
+     * Claim хийж чадсан escalation-уудыг нийтлэх (compute-ийн гадна дуудна - DB I/O)
+     */
+    private int publish(List<SlaEscalation> fired) {
+        int published = 0;
+        for (SlaEscalation escalation : fired) {
+            if (!claim(escalation)) {
+                duplicates.incrementAndGet();
+                continue;
+            }
+            published++;
+            escalations.incrementAndGet();
+            meterRegistry.counter("los.sla.escalations", "status", escalation.status().name(),
+                    "level", String.valueOf(escalation.escalationLevel())).increment();
+            logger.info("SLA escalation level {}: application {} in {} since {} (deadline {})",
+                    escalation.escalationLevel(), escalation.applicationNumber(), escalation.status(),
+                    escalation.enteredAt(), escalation.deadline());
+            try {
+                eventPublisher.publishEvent(escalation);
+            } catch (Exception e) {
+                logger.error("SLA escalation listener failed for application {}: {}",
+                        escalation.applicationNumber(), e.getMessage(), e);
+            }
+        }
+        return published;
+    }
+
+    /**
+     * (хүсэлт, төлөв, орсон мөч, шатлал)-ын мөрийг оруулж чадсан node л event нийтэлнэ.
+     * DB алдаатай бол escalation алдагдахаас давхардсан нь дээр тул нийтэлнэ.
+     */
+    private boolean claim(SlaEscalation escalation) {
+        try {
+            jdbcTemplate.update(CLAIM_SQL, escalation.applicationId(), escalation.status().name(),
+                    Timestamp.valueOf(escalation.enteredAt().truncatedTo(ChronoUnit.SECONDS)),
+                    escalation.escalationLevel(), NodeIdentity.get(), Timestamp.valueOf(escalation.firedAt()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            logger.debug("SLA escalation level {} for application {} already fired by another node",
+                    escalation.escalationLevel(), escalation.applicationNumber());
+            return false;
+        } catch (DataAccessException e) {
+            logger.warn("Could not claim SLA escalation for application {}, publishing anyway: {}",
+                    escalation.applicationNumber(), e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onStateEntered(ApplicationStateEntry entry) {
+        if (entry == null || entry.id() == null) {
+            return;
+        }
+        List<SlaEscalation> missed = new ArrayList<>();
+        clocks.compute(entry.id(), (id, current) -> {
+            if (current != null) {
+                if (current.status == entry.status() && current.enteredAt.equals(entry.enteredAt())) {
+                    return current; // өөрчлөлтгүй (resync)
+                }
+                detach(current);
+            }
+            if (entry.status() == null || !tracked.contains(entry.status()) || entry.enteredAt() == null) {
+                return null;
+            }
+            Clock clock = new Clock(entry.id(), entry.applicationNumber(), entry.status(), entry.enteredAt(),
+                    deadlineOf(entry.status(), entry.enteredAt()));
+            attach(clock, System.currentTimeMillis(), missed);
+            return clock;
+        });
+        publish(missed);
+    }
+
+    @Override
+    public void forget(UUID applicationId) {
+        clocks.computeIfPresent(applicationId, (id, current) -> {
+            detach(current);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isOverdue(UUID applicationId) {
+        if (applicationId == null) {
+            return false;
+        }
+        Clock clock = clocks.get(applicationId);
+        return clock != null && clock.escalationLevel > 0;
+    }
+
+    @Override
+    public List<SlaBreach> getOverdue() {
+        List<SlaBreach> result = new ArrayList<>(overdue.size());
+        for (Clock clock : overdue) {
+            result.add(new SlaBreach(clock.id, clock.applicationNumber, clock.status, clock.enteredAt,
+                    clock.deadline, clock.escalationLevel));
+        }
+        return result;
+    }
+
+    @Override
+    public List<UUID> getEnteredBefore(ApplicationStatus status, LocalDateTime threshold) {
+        ConcurrentSkipListSet<Clock> index = byStatus.get(status);
+        if (index == null) {
+            throw new IllegalArgumentException("Status " + status + " is not tracked by the SLA monitor");
+        }
+        Clock probe = new Clock(MIN_ID, null, status, threshold, null);
+        List<UUID> result = new ArrayList<>();
+        for (Clock clock : index.headSet(probe)) {
+            result.add(clock.id);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isTracked(ApplicationStatus status) {
+        return tracked.contains(status);
+    }
+
+    @Override
+    public Map<String, Object> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            Map<String, Object> skipped = new LinkedHashMap<>();
+            skipped.put("skipped", true);
+            return skipped;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime startedAt = toLocalDateTime(start);
+            List<ApplicationStateEntry> entries = loanApplicationRepository.findStateEntries(tracked);
+            Set<UUID> seen = new HashSet<>(entries.size() * 2);
+            for (ApplicationStateEntry entry : entries) {
+                seen.add(entry.id());
+                Clock current = clocks.get(entry.id());
+                // Унших хооронд шинэ төлөвт орсон бол DB-ийн хуучин мөрөөр дарж бичихгүй
+                if (current == null || !entry.enteredAt().isBefore(current.enteredAt)) {
+                    onStateEntered(entry);
+                }
+            }
+            int removed = 0;
+            for (Clock clock : new ArrayList<>(clocks.values())) {
+                if (!seen.contains(clock.id) && !clock.enteredAt.isAfter(startedAt)) {
+                    boolean[] detached = new boolean[1];
+                    clocks.computeIfPresent(clock.id, (id, current) -> {
+                        if (current != clock) {
+                            return current;
+                        }
+                        detach(current);
+                        detached[0] = true;
+                        return null;
+                    });
+                    if (detached[0]) {
+                        removed++;
+                    }
+                }
+            }
+            lastRebuildAt = LocalDateTime.now();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("loaded", entries.size());
+            result.put("removed", removed);
+            result.put("overdue", overdue.size());
+            result.put("durationMs", System.currentTimeMillis() - start);
+            logger.debug("SLA timers rebuilt: {}", result);
+            return result;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tracked", clocks.size());
+        stats.put("timers", wheel.size());
+        stats.put("overdue", overdue.size());
+        Map<String, Integer> trackedByStatus = new LinkedHashMap<>();
+        byStatus.forEach((status, index) -> trackedByStatus.put(status.name(), index.size()));
+        stats.put("trackedByStatus", trackedByStatus);
+        Map<String, Long> overdueByStatus = new LinkedHashMap<>();
+        for (Clock clock : overdue) {
+            overdueByStatus.merge(clock.status.name(), 1L, Long::sum);
+        }
+        stats.put("overdueByStatus", overdueByStatus);
+        stats.put("escalations", escalations.get());
+        stats.put("duplicateEscalations", duplicates.get());
+        Map<String, String> configured = new LinkedHashMap<>();
+        deadlines.forEach((status, deadline) -> configured.put(status.name(), deadline.toString()));
+        stats.put("deadlines", configured);
+        stats.put("escalationInterval", escalationInterval.toString());
+        stats.put("tickMillis", tickMillis);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    /**
+     * Индексүүдэд нэмж, дараагийн шатлалын таймерыг бүртгэх. Хугацаа нь аль хэдийн өнгөрсөн бол
+     * (restart, resync) шатлалыг тооцож шууд хугацаа хэтэрсэнд оруулж, өнгөрсөн шатлал бүрийг missed-д нэмнэ.
+     * sla_escalations-ийн хадгалах хугацаанаас өмнө болсон шатлалыг нийтлэхгүй - claim мөр нь устсан тул
+     * давхардлыг шалгах боломжгүй, тэр үед аль хэдийн нийтлэгдсэн байна.
+     */
+    private void attach(Clock clock, long nowMillis, List<SlaEscalation> missed) {
+        byStatus.get(clock.status).add(clock);
+        if (clock.deadline == null) {
+            return;
+        }
+        long deadlineMillis = toEpochMillis(clock.deadline);
+        if (deadlineMillis <= nowMillis) {
+            long overdueMillis = nowMillis - deadlineMillis;
+            long level = 1 + overdueMillis / escalationInterval.toMillis();
+            clock.escalationLevel = (int) Math.min(level, Math.max(1, maxEscalationLevel));
+            overdue.add(clock);
+
+            long retentionStart = nowMillis - Duration.ofDays(escalationRetentionDays).toMillis();
+            LocalDateTime firedAt = toLocalDateTime(nowMillis);
+            for (int passed = 1; passed <= clock.escalationLevel; passed++) {
+                if (deadlineMillis + (passed - 1) * escalationInterval.toMillis() >= retentionStart) {
+                    missed.add(new SlaEscalation(clock.id, clock.applicationNumber, clock.status, clock.enteredAt,
+                            clock.deadline, passed, firedAt));
+                }
+            }
+        }
+        if (clock.escalationLevel < maxEscalationLevel) {
+            schedule(clock);
+        }
+    }
+
+    private void detach(Clock clock) {
+        byStatus.get(clock.status).remove(clock);
+        // overdue нь deadline-аар эрэмбэлэгдсэн - хугацаагүй төлөвийн цаг тэнд байхгүй
+        if (clock.deadline != null) {
+            overdue.remove(clock);
+        }
+        if (clock.timeout != null) {
+            wheel.cancel(clock.timeout);
+            clock.timeout = null;
+        }
+    }
+
+    /**
+     * Дараагийн шатлалын мөч: deadline + (level * escalationInterval)
+     */
+    private void schedule(Clock clock) {
+        long at = toEpochMillis(clock.deadline) + clock.escalationLevel * escalationInterval.toMillis();
+        clock.timeout = wheel.schedule(at, clock);
+    }
+
+    private LocalDateTime deadlineOf(ApplicationStatus status, LocalDateTime enteredAt) {
+        Duration deadline = deadlines.get(status);
+        return deadline != null ? enteredAt.plus(deadline) : null;
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static ApplicationStatus parseStatus(String value) {
+        try {
+            return ApplicationStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown application status '" + value + "' in " + PREFIX, e);
+        }
+    }
+
+    /**
+     * Хүсэлтийн одоогийн төлөвийн SLA цаг. Талбарууд clocks.compute дотор л өөрчлөгдөнө.
+     */
+    private static final class Clock {
+        private final UUID id;
+        private final String applicationNumber;
+        private final ApplicationStatus status;
+        private final LocalDateTime enteredAt;
+        private final LocalDateTime deadline;
+        private volatile int escalationLevel;
+        private HierarchicalTimerWheel.Timeout<Clock> timeout;
+
+        private Clock(UUID id, String applicationNumber, ApplicationStatus status,
+                      LocalDateTime enteredAt, LocalDateTime deadline) {
+            this.id = id;
+            this.applicationNumber = applicationNumber;
+            this.status = status;
+            this.enteredAt = enteredAt;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.company.los.service.impl;
+
+import com.company.los.service.SpreadsheetExportService;
+import com.company.los.util.XlsxStreamWriter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Excel (XLSX) экспортын Service Implementation
+ *
+ * JDBC cursor (TYPE_FORWARD_ONLY, fetch size)-оор мөр бүрийг уншингаа XlsxStreamWriter руу
+ * бичнэ. Read-only транзакц дотор ажилладаг тул PostgreSQL driver fetch size-ийг хүндэтгэж
+ * үр дүнг хэсэгчлэн татна; бүх мөрийг санах ойд ачаалахгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+@RequiredArgsConstructor
+public class SpreadsheetExportServiceImpl implements SpreadsheetExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpreadsheetExportServiceImpl.class);
+
+    // IN (...) жагсаалтын дээд хэмжээ
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final String LOAN_SELECT =
+            "SELECT la.application_number, la.loan_type, la.status, " +
+            "c.register_number, c.customer_type, c.first_name, c.last_name, c.company_name, " +
+            "la.requested_amount, la.requested_term_months, la.approved_amount, la.approved_term_months, " +
+            "la.interest_rate, la.monthly_payment, " +
+            "la.created_at, la.submitted_at, la.approved_at, la.rejected_at, la.disbursed_at " +
+            "FROM loan_applications la LEFT JOIN customers c ON c.id = la.customer_id " +
+            "WHERE la.is_deleted = FALSE";
+
+    private static final String[] LOAN_HEADER = {
+            "Хүсэлтийн дугаар", "Зээлийн төрөл", "Төлөв",
+            "Регистр", "Харилцагч", "Зээлийн дүн", "Хугацаа (сар)", "Зөвшөөрсөн дүн", "Зөвшөөрсөн хугацаа",
+            "Хүү (%)", "Сарын төлбөр",
+            "Үүсгэсэн", "Илгээсэн", "Зөвшөөрсөн", "Татгалзсан", "Олгосон"
+    };
+
+    private static final String CUSTOMER_SELECT =
+            "SELECT c.register_number, c.customer_type, c.first_name, c.last_name, c.company_name, " +
+            "c.phone, c.email, c.city, c.province, c.monthly_income, c.kyc_status, c.risk_rating, c.created_at " +
+            "FROM customers c WHERE c.is_deleted = FALSE";
+
+    private static final String[] CUSTOMER_HEADER = {
+            "Регистр", "Төрөл", "Нэр", "Овог", "Байгууллага", "Утас", "И-мэйл", "Хот", "Аймаг",
+            "Сарын орлого", "KYC төлөв", "Эрсдэлийн зэрэглэл", "Бүртгэсэн"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @Value("${app.export.max-shared-strings:10000}")
+    private int maxSharedStrings = XlsxStreamWriter.DEFAULT_MAX_SHARED_STRINGS;
+
+    @Override
+    public int exportLoanApplications(List<UUID> applicationIds, OutputStream out) {
+        return export("Зээлийн хүсэлтүүд", LOAN_SELECT, "la.id", " ORDER BY la.created_at, la.id",
+                applicationIds, LOAN_HEADER, out, (writer, rs) -> writer.writeRow(
+                        rs.getString("application_number"),
+                        rs.getString("loan_type"),
+                        rs.getString("status"),
+                        rs.getString("register_number"),
+                        customerName(rs),
+                        rs.getBigDecimal("requested_amount"),
+                        rs.getObject("requested_term_months", Integer.class),
+                        rs.getBigDecimal("approved_amount"),
+                        rs.getObject("approved_term_months", Integer.class),
+                        rs.getBigDecimal("interest_rate"),
+                        rs.getBigDecimal("monthly_payment"),
+                        rs.getTimestamp("created_at"),
+                        rs.getTimestamp("submitted_at"),
+                        rs.getTimestamp("approved_at"),
+                        rs.getTimestamp("rejected_at"),
+                        rs.getTimestamp("disbursed_at")));
+    }
+
+    @Override
+    public int exportCustomers(List<UUID> customerIds, OutputStream out) {
+        return export("Харилцагчид", CUSTOMER_SELECT, "c.id", " ORDER BY c.created_at, c.id",
+                customerIds, CUSTOMER_HEADER, out, (writer, rs) -> writer.writeRow(
+                        rs.getString("register_number"),
+                        rs.getString("customer_type"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("company_name"),
+                        rs.getString("phone"),
+                        rs.getString("email"),
+                        rs.getString("city"),
+                        rs.getString("province"),
+                        rs.getBigDecimal("monthly_income"),
+                        rs.getString("kyc_status"),
+                        rs.getString("risk_rating"),
+                        rs.getTimestamp("created_at")));
+    }
+
+    // Дотоод
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(XlsxStreamWriter writer, ResultSet rs) throws SQLException, IOException;
+    }
+
+    private int export(String sheetName, String select, String idColumn, String orderBy, List<UUID> ids,
+                       String[] header, OutputStream out, RowWriter rowWriter) {
+        long started = System.currentTimeMillis();
+        int rowCount;
+        int sharedStringCount;
+        XlsxStreamWriter writer;
+        try {
+            writer = new XlsxStreamWriter(out, sheetName, maxSharedStrings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            writer.writeHeader(header);
+
+            RowCallbackHandler handler = rs -> {
+                try {
+                    rowWriter.write(writer, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (ids == null || ids.isEmpty()) {
+                    jdbcTemplate.query(cursor(select + orderBy, Collections.emptyList()), handler);
+                    return;
+                }
+                // Сонгосон ID-уудыг хэсэгчлэн уншина; дараалал нь хэсэг дотроо хадгалагдана
+                List<String> distinct = ids.stream().distinct().map(UUID::toString).toList();
+                for (int from = 0; from < distinct.size(); from += ID_CHUNK_SIZE) {
+                    List<String> chunk = distinct.subList(from, Math.min(from + ID_CHUNK_SIZE, distinct.size()));
+                    String sql = select + " AND " + idColumn + " IN (" + placeholders(chunk.size()) + ")" + orderBy;
+                    jdbcTemplate.query(cursor(sql, chunk), handler);
+                }
+            });
+
+            rowCount = writer.getRowCount() - 1;
+            sharedStringCount = writer.getSharedStringCount();
+            // Зөвхөн бүх мөр амжилттай бичигдсэний дараа workbook-ийг дуусгана
+            writer.close();
+        } catch (IOException e) {
+            writer.abort();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            writer.abort();
+            logger.warn("Export to '{}' aborted after {} rows: {}", sheetName, writer.getRowCount() - 1, e.getMessage());
+            throw e;
+        }
+        logger.info("Exported {} rows to '{}' in {} ms ({} shared strings)", rowCount, sheetName,
+                System.currentTimeMillis() - started, sharedStringCount);
+        return rowCount;
+    }
+
+    private PreparedStatementCreator cursor(String sql, List<String> params) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setString(i + 1, params.get(i));
+            }
+            return ps;
+        };
+    }
+
+    private static String placeholders(int count) {
+        List<String> marks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            marks.add("?");
+        }
+        return String.join(",", marks);
+    }
+
+    private static String customerName(ResultSet rs) throws SQLException {
+        String companyName = rs.getString("company_name");
+        if (companyName != null && !companyName.isBlank()) {
+            return companyName;
+        }
+        String lastName = rs.getString("last_name");
+        String firstName = rs.getString("first_name");
+        if (lastName == null) {
+            return firstName;
+        }
+        return firstName == null ? lastName : lastName + " " + firstName;
+    }
+}
@@ -2,15 +2,22 @@ package com.company.los.service.impl;
 
 import com.company.los.dto.CreateUserRequestDto;
 import com.company.los.dto.UserDto;
+import com.company.los.dto.CursorPage;
+import com.company.los.entity.AuditLog;
 import com.company.los.entity.Role;
 import com.company.los.entity.User;
 import com.company.los.repository.RoleRepository;
 import com.company.los.repository.UserRepository;
+import com.company.los.repository.TableStatisticsRepository;
+import com.company.los.service.ActivityLogService;
+import com.company.los.service.AuditTrailService;
 import com.company.los.service.UserService;
+import com.company.los.util.SeekCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -34,6 +41,8 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    private static final int AUDIT_HISTORY_LIMIT = 200;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -43,6 +52,15 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuditTrailService auditTrailService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+
     // Spring Security UserDetailsService implementation
     @Override
     @Transactional(readOnly = true)
@@ -249,6 +267,25 @@ public class UserServiceImpl implements UserService {
         return users.map(UserDto::fromEntity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersByCursor(String cursor, int size, boolean includeTotal) {
+        logger.debug("Fetching users by cursor: {}, size: {}", cursor, size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        // Дараагийн хуудас байгаа эсэхийг мэдэхийн тулд нэг мөр илүү уншина
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> rows = after == null
+                ? userRepository.findSeekFirst(limit)
+                : userRepository.findSeekAfter(after.sortKey(), after.id(), limit);
+
+        CursorPage<UserDto> page = CursorPage.of(rows, pageSize, User::getCreatedAt, User::getId, UserDto::fromEntity);
+        if (includeTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("users"));
+        }
+        return page;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserDto> getUsersByStatus(User.UserStatus status, Pageable pageable) {
@@ -1044,14 +1081,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<Map<String, Object>> getUserAuditHistory(UUID id) { 
-        return new ArrayList<>(); 
+    public List<Map<String, Object>> getUserAuditHistory(UUID id) {
+        return auditTrailService.getAuditHistory(AuditLog.TABLE_USERS, id, AUDIT_HISTORY_LIMIT);
     }
 
     @Override
     public Page<Map<String, Object>> getUserActivity(UUID id, Pageable pageable) {
         logger.debug("Getting user activity for user: {}", id);
-        return Page.empty(pageable);
+        return activityLogService.getUserActivity(id, pageable);
     }
 
     @Override
@@ -0,0 +1,476 @@
+package com.company.los.service.impl;
+
+import com.company.los.dto.WorkQueueItem;
+import com.company.los.entity.AuditLog;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.AuditTrailService;
+import com.company.los.service.WorkQueueService;
+import com.company.los.util.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Зээлийн ажилтны ажлын дарааллын Service Implementation
+ *
+ * Хүсэлт бүрийн төлөв {@code entries} map-д (дараалалд эсвэл lease-тэй) хадгалагдаж, зөвхөн тухайн
+ * id-ийн {@link ConcurrentHashMap#compute} дотор өөрчлөгдөнө - нэг ажлыг хоёр ажилтанд олгохгүй.
+ * Эрэмбэлэгдсэн дарааллууд ({@link ConcurrentSkipListSet}, {@link WorkQueueItem#ORDER}) нь зөвхөн индекс:
+ * толгойг нь харж, compute-оор булааж авна - нийтлэг түгжээгүй, O(log n).
+ *
+ * DB-д зөвхөн олгосон мөрийн assigned_to, lease_owner, lease_expires_at-ийг PK-аар шинэчилнэ (хооронд нь өөрчлөгдсөн
+ * эсвэл өөр ажилтны хүчинтэй lease-тэй бол 0 мөр - дахин сонгоно); сунгах, чөлөөлөх нь мөн тэр мөрөөр дамжина.
+ * Мөр дээрх lease нь эх сурвалж тул restart болон олон node дээр ч нэг ажлыг хоёр ажилтанд олгохгүй.
+ * Дарааллыг жагсаахын тулд loan_applications-ийг скан хийхгүй. Эхлэхэд болон тогтмол давтамжтайгаар DB-тэй тулгана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@Service
+public class WorkQueueServiceImpl implements WorkQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkQueueServiceImpl.class);
+
+    private static final int MAX_CLAIM_ATTEMPTS = 5;
+    private static final String SHARED = "";
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final TransactionTemplate claimTransaction;
+    private final AuditTrailService auditTrailService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.loan.work-queue.enabled:true}")
+    private boolean enabled = true;
+
+    // Дараалалд орох төлөвүүд (ажилтны үйлдэл хүлээж буй)
+    @Value("${app.loan.work-queue.statuses:SUBMITTED,PENDING,UNDER_REVIEW}")
+    private String statusList = "SUBMITTED,PENDING,UNDER_REVIEW";
+
+    @Value("${app.loan.work-queue.lease-seconds:900}")
+    private long leaseSeconds = 900;
+
+    // Хулгайлах ажилтны дараалалд дор хаяж үлдэх ажил - ганц ажлыг нь булаахгүй
+    @Value("${app.loan.work-queue.steal-min-backlog:2}")
+    private int stealMinBacklog = 2;
+
+    private Set<ApplicationStatus> statuses = EnumSet.noneOf(ApplicationStatus.class);
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final OfficerQueue sharedQueue = new OfficerQueue(SHARED);
+    private final ConcurrentHashMap<String, OfficerQueue> officerQueues = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong stolen = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong claimConflicts = new AtomicLong();
+    private volatile LocalDateTime lastRebuildAt;
+
+    public WorkQueueServiceImpl(LoanApplicationRepository loanApplicationRepository,
+                                PlatformTransactionManager transactionManager,
+                                AuditTrailService auditTrailService,
+                                MeterRegistry meterRegistry) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.auditTrailService = auditTrailService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        EnumSet<ApplicationStatus> parsed = EnumSet.noneOf(ApplicationStatus.class);
+        for (String status : statusList.split(",")) {
+            if (!status.isBlank()) {
+                parsed.add(ApplicationStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        this.statuses = parsed;
+        meterRegistry.gauge("los.workqueue.shared", sharedQueue.size);
+        meterRegistry.gaugeMapSize("los.workqueue.entries", List.of(), entries);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Initial work queue load failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.loan.work-queue.resync-interval-ms:300000}",
+               initialDelayString = "${app.loan.work-queue.resync-interval-ms:300000}")
+    public void scheduledResync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Work queue resync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.loan.work-queue.reap-interval-ms:15000}")
+    public void expireLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<UUID, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            if (entry.isLeased() && entry.leaseExpiresAt().isBefore(now)) {
+                entries.computeIfPresent(mapEntry.getKey(), (id, current) -> {
+                    if (!current.isLeased() || !current.leaseExpiresAt().isBefore(now)) {
+                        return current;
+                    }
+                    expired.incrementAndGet();
+                    logger.info("Work lease expired: application {} returned to {}'s queue",
+                            current.item().applicationNumber(), current.leasedTo());
+                    return enqueue(current.item());
+                });
+            }
+        }
+    }
+
+    @Override
+    public Optional<WorkLease> next(String officer) {
+        requireOfficer(officer);
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Candidate candidate = pickCandidate(officer);
+            if (candidate == null) {
+                return Optional.empty();
+            }
+
+            LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(leaseSeconds);
+            Entry lease = new Entry(candidate.item(), officer, expiresAt);
+            Entry result = entries.computeIfPresent(candidate.item().id(), (id, current) -> {
+                if (current.isLeased() || !current.item().equals(candidate.item())) {
+                    return current;
+                }
+                queueOf(current.item()).remove(current.item());
+                return lease;
+            });
+            if (result != lease) {
+                continue; // өөр ажилтан түрүүлж авсан
+            }
+
+            // DB: зөвхөн энэ мөрийг PK-аар оноож lease тавих; хооронд нь өөрчлөгдсөн эсвэл өөр node дээр lease-тэй бол
+            // DB-ээс дахин уншаад дараагийнхыг сонгоно
+            String expectedOwner = candidate.item().assignedTo() != null ? candidate.item().assignedTo() : SHARED;
+            Integer updated = claimTransaction.execute(status -> loanApplicationRepository.claimForOfficer(
+                    candidate.item().id(), statuses, expectedOwner, officer, LocalDateTime.now(), expiresAt));
+            if (updated == null || updated != 1) {
+                claimConflicts.incrementAndGet();
+                entries.computeIfPresent(candidate.item().id(), (id, current) -> null);
+                refresh(candidate.item().id());
+                continue;
+            }
+
+            WorkQueueItem assigned = candidate.item().withLease(officer, expiresAt);
+            entries.computeIfPresent(assigned.id(), (id, current) ->
+                    officer.equals(current.leasedTo()) ? new Entry(assigned, officer, current.leaseExpiresAt()) : current);
+            issued.incrementAndGet();
+            if (candidate.stolen()) {
+                stolen.incrementAndGet();
+                logger.debug("Officer {} stole application {} from {}", officer,
+                        assigned.applicationNumber(), candidate.item().assignedTo());
+            }
+            meterRegistry.counter("los.workqueue.issued", "source", candidate.source()).increment();
+            auditClaim(candidate, officer);
+            return Optional.of(new WorkLease(assigned.id(), assigned.applicationNumber(), officer, expiresAt,
+                    candidate.stolen()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * claimForOfficer нь bulk UPDATE тул entity listener аудитлахгүй - эзэмшигч солигдсоныг өөрсдөө бүртгэнэ
+     */
+    private void auditClaim(Candidate candidate, String officer) {
+        String previousOwner = candidate.item().assignedTo();
+        if (officer.equals(previousOwner)) {
+            return;
+        }
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        oldValues.put("assignedTo", previousOwner);
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        newValues.put("assignedTo", officer);
+        AuditTrailService.Change change = AuditTrailService.Change.ofCurrentRequest(AuditLog.TABLE_LOAN_APPLICATIONS,
+                candidate.item().id(), AuditLog.ACTION_UPDATE, oldValues, newValues,
+                "work-queue claim (" + candidate.source() + ")");
+        AfterCommit.run(() -> auditTrailService.capture(change));
+    }
+
+    @Override
+    public WorkLease renew(UUID applicationId, String officer) {
+        requireOfficer(officer);
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(leaseSeconds);
+        Integer updated = claimTransaction.execute(status ->
+                loanApplicationRepository.renewLease(applicationId, officer, expiresAt));
+        if (updated == null || updated != 1) {
+            throw new IllegalStateException("No active work lease on application " + applicationId + " for " + officer);
+        }
+
+        // Мөр дээр сунгасан тул санах ойд (хугацаа дуусч дараалалд буцсан байсан ч) дахин lease-тэй болгоно
+        Entry renewed = entries.computeIfPresent(applicationId, (id, current) -> {
+            if (!current.isLeased()) {
+                queueOf(current.item()).remove(current.item());
+            }
+            return new Entry(current.item().withLease(officer, expiresAt), officer, expiresAt);
+        });
+        if (renewed == null) {
+            refresh(applicationId);
+            renewed = entries.get(applicationId);
+        }
+        String applicationNumber = renewed != null ? renewed.item().applicationNumber() : null;
+        return new WorkLease(applicationId, applicationNumber, officer, expiresAt, false);
+    }
+
+    @Override
+    public void release(UUID applicationId, String officer) {
+        requireOfficer(officer);
+        Integer updated = claimTransaction.execute(status ->
+                loanApplicationRepository.releaseLease(applicationId, officer));
+        if (updated == null || updated != 1) {
+            return;
+        }
+        entries.computeIfPresent(applicationId, (id, current) -> {
+            if (!current.isLeased()) {
+                queueOf(current.item()).remove(current.item());
+            }
+            return enqueue(current.item().withoutLease());
+        });
+    }
+
+    @Override
+    public void refresh(UUID applicationId) {
+        WorkQueueItem item = loanApplicationRepository.findWorkQueueItemById(applicationId)
+                .filter(row -> statuses.contains(row.status()))
+                .orElse(null);
+        apply(applicationId, item);
+    }
+
+    @Override
+    public List<WorkQueueItem> peek(String officer, int limit) {
+        requireOfficer(officer);
+        int max = Math.max(1, Math.min(limit, 100));
+        OfficerQueue own = officerQueues.get(officer);
+        Iterator<WorkQueueItem> mine = own != null ? own.items.iterator() : List.<WorkQueueItem>of().iterator();
+        Iterator<WorkQueueItem> shared = sharedQueue.items.iterator();
+
+        // Хоёр эрэмбэлэгдсэн дарааллыг нийлүүлж эхний max-ийг авна
+        List<WorkQueueItem> result = new ArrayList<>(max);
+        WorkQueueItem a = mine.hasNext() ? mine.next() : null;
+        WorkQueueItem b = shared.hasNext() ? shared.next() : null;
+        while (result.size() < max && (a != null || b != null)) {
+            if (b == null || (a != null && WorkQueueItem.ORDER.compare(a, b) <= 0)) {
+                result.add(a);
+                a = mine.hasNext() ? mine.next() : null;
+            } else {
+                result.add(b);
+                b = shared.hasNext() ? shared.next() : null;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            Map<String, Object> skipped = new LinkedHashMap<>();
+            skipped.put("skipped", true);
+            return skipped;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<WorkQueueItem> items = loanApplicationRepository.findWorkQueueItems(statuses);
+            Set<UUID> seen = new HashSet<>(items.size() * 2);
+            for (WorkQueueItem item : items) {
+                seen.add(item.id());
+                apply(item.id(), item);
+            }
+            // DB-д дараалалд орох төлөвгүй болсон мөрүүд (lease-тэй байсан ч) хасагдана
+            int removed = 0;
+            for (UUID id : new ArrayList<>(entries.keySet())) {
+                if (!seen.contains(id)) {
+                    apply(id, null);
+                    removed++;
+                }
+            }
+            lastRebuildAt = LocalDateTime.now();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("loaded", items.size());
+            result.put("removed", removed);
+            result.put("durationMs", System.currentTimeMillis() - start);
+            logger.debug("Work queue rebuilt: {}", result);
+            return result;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long leased = entries.values().stream().filter(Entry::isLeased).count();
+        stats.put("queued", entries.size() - leased);
+        stats.put("leased", leased);
+        stats.put("shared", sharedQueue.size.get());
+        stats.put("officers", officerQueues.values().stream().filter(queue -> queue.size.get() > 0).count());
+        stats.put("issued", issued.get());
+        stats.put("stolen", stolen.get());
+        stats.put("expiredLeases", expired.get());
+        stats.put("claimConflicts", claimConflicts.get());
+        stats.put("leaseSeconds", leaseSeconds);
+        stats.put("statuses", statuses);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    /**
+     * Өөрийн болон хуваалцсан дарааллын толгойноос илүүг нь; хоёулаа хоосон бол хамгийн их ачаалалтай
+     * бусад ажилтны толгойг (work stealing)
+     */
+    private Candidate pickCandidate(String officer) {
+        OfficerQueue own = officerQueues.get(officer);
+        WorkQueueItem mine = own != null ? first(own) : null;
+        WorkQueueItem shared = first(sharedQueue);
+        if (mine != null || shared != null) {
+            if (shared == null || (mine != null && WorkQueueItem.ORDER.compare(mine, shared) <= 0)) {
+                return new Candidate(mine, false, "own");
+            }
+            return new Candidate(shared, false, "shared");
+        }
+
+        OfficerQueue victim = null;
+        for (OfficerQueue queue : officerQueues.values()) {
+            if (!queue.officer.equals(officer) && queue.size.get() >= stealMinBacklog
+                    && (victim == null || queue.size.get() > victim.size.get())) {
+                victim = queue;
+            }
+        }
+        WorkQueueItem item = victim != null ? first(victim) : null;
+        return item != null ? new Candidate(item, true, "stolen") : null;
+    }
+
+    /**
+     * DB-ийн мөрийг санах ойд тусгах (null = дарааллаас хасах)
+     */
+    private void apply(UUID id, WorkQueueItem item) {
+        entries.compute(id, (key, current) -> {
+            if (current != null && !current.isLeased()) {
+                queueOf(current.item()).remove(current.item());
+            }
+            if (item == null) {
+                return null;
+            }
+            // Мөр дээр хүчинтэй lease байвал (өөр node эсвэл restart-аас өмнө олгосон) түүнийг дагана
+            if (item.isLeased(LocalDateTime.now())) {
+                return new Entry(item, item.leaseOwner(), item.leaseExpiresAt());
+            }
+            // Ажилтан дээр ажиллаж байгаа бол lease дуусах хүртэл үлдээнэ; дараа нь шинэ хариуцагчийн дараалалд орно
+            if (current != null && current.isLeased()) {
+                return new Entry(item, current.leasedTo(), current.leaseExpiresAt());
+            }
+            return enqueue(item);
+        });
+    }
+
+    /**
+     * compute дотроос л дуудна
+     */
+    private Entry enqueue(WorkQueueItem item) {
+        queueOf(item).add(item);
+        return new Entry(item, null, null);
+    }
+
+    private OfficerQueue queueOf(WorkQueueItem item) {
+        String owner = item.assignedTo();
+        if (owner == null || owner.isBlank()) {
+            return sharedQueue;
+        }
+        return officerQueues.computeIfAbsent(owner, OfficerQueue::new);
+    }
+
+    private static WorkQueueItem first(OfficerQueue queue) {
+        try {
+            return queue.items.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private static void requireOfficer(String officer) {
+        if (officer == null || officer.isBlank()) {
+            throw new IllegalArgumentException("Officer is required");
+        }
+    }
+
+    /**
+     * leasedTo == null бол дараалалд байна
+     */
+    private record Entry(WorkQueueItem item, String leasedTo, LocalDateTime leaseExpiresAt) {
+        boolean isLeased() {
+            return leasedTo != null;
+        }
+    }
+
+    private record Candidate(WorkQueueItem item, boolean stolen, String source) {
+    }
+
+    /**
+     * Эрэмбэлэгдсэн дараалал; size нь skip list-ийн O(n) size()-ийг орлоно
+     */
+    private static final class OfficerQueue {
+        private final String officer;
+        private final ConcurrentSkipListSet<WorkQueueItem> items = new ConcurrentSkipListSet<>(WorkQueueItem.ORDER);
+        private final AtomicInteger size = new AtomicInteger();
+
+        OfficerQueue(String officer) {
+            this.officer = officer;
+        }
+
+        void add(WorkQueueItem item) {
+            if (items.add(item)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(WorkQueueItem item) {
+            if (items.remove(item)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.los.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Транзакц commit болсны дараа гүйцэтгэх дагалдах үйлдэл (санах ойн индекс, мэдэгдэл, аудит).
+ * Runs side effects only once the surrounding transaction has committed.
+ *
+ * Идэвхтэй транзакцгүй бол шууд гүйцэтгэнэ. Rollback болбол үйлдэл хийгдэхгүй. afterCommit дотроос
+ * дахин дуудвал (commit-ийн дараах үйлдэл өөр үйлдэл бүртгэх) шууд гүйцэтгэнэ - Spring тухайн үед
+ * шинээр бүртгэсэн synchronization-ийг дуудахгүй. Үйлдлийн алдаа commit болсон өгөгдлийг буцаах
+ * боломжгүй тул дуудагч руу шидэгдэхгүй, зөвхөн log-д бичигдэнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class AfterCommit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AfterCommit.class);
+
+    private static final ThreadLocal<Boolean> RUNNING = new ThreadLocal<>();
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && RUNNING.get() == null) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    RUNNING.set(Boolean.TRUE);
+                    try {
+                        invoke(action);
+                    } finally {
+                        RUNNING.remove();
+                    }
+                }
+            });
+        } else {
+            invoke(action);
+        }
+    }
+
+    private static void invoke(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("After-commit action failed: {}", e.getMessage(), e);
+        }
+    }
+}
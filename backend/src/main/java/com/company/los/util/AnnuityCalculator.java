@@ -0,0 +1,123 @@
+package com.company.los.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Аннуитет зээлийн хаалттай томьёоны тооцоолол.
+ * Closed-form annuity formulas used by payoff and prepayment quotes.
+ *
+ * Бүх функц O(1) - хуваарийг бүтнээр нь үүсгэхгүйгээр үлдэгдэл, хүүг шууд тооцно.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class AnnuityCalculator {
+
+    public static final MathContext MC = MathContext.DECIMAL64;
+    public static final int MONEY_SCALE = 2;
+
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+
+    private AnnuityCalculator() {
+    }
+
+    /**
+     * Хүүг бутархай хэлбэрээр (0.12 = 12%). LoanProduct, LoanApplication-ий хүүгийн талбарууд
+     * @DecimalMax("1.0")-ээр бутархай гэж зарлагдсан тул хувиас хөрвүүлэхгүй; null, сөрөг утга 0 болно.
+     */
+    public static BigDecimal fractionalRate(BigDecimal rate) {
+        if (rate == null || rate.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return rate;
+    }
+
+    /**
+     * Сарын хүү (жилийн хүү / 12)
+     */
+    public static BigDecimal monthlyRate(BigDecimal annualRate) {
+        return fractionalRate(annualRate).divide(TWELVE, MC);
+    }
+
+    /**
+     * Сарын тэнцүү төлбөр: A = P·r / (1 - (1+r)^-n)
+     */
+    public static BigDecimal payment(BigDecimal principal, BigDecimal monthlyRate, int termMonths) {
+        if (principal == null || principal.signum() <= 0 || termMonths <= 0) {
+            return BigDecimal.ZERO;
+        }
+        if (monthlyRate.signum() == 0) {
+            return principal.divide(BigDecimal.valueOf(termMonths), MC);
+        }
+        BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(termMonths, MC);
+        return principal.multiply(monthlyRate, MC).multiply(growth, MC)
+                .divide(growth.subtract(BigDecimal.ONE), MC);
+    }
+
+    /**
+     * k төлбөр хийсний дараах үндсэн зээлийн үлдэгдэл: B_k = P(1+r)^k - A((1+r)^k - 1)/r
+     */
+    public static BigDecimal balanceAfter(BigDecimal principal, BigDecimal monthlyRate,
+                                          BigDecimal payment, int paymentsMade) {
+        if (paymentsMade <= 0) {
+            return principal;
+        }
+        BigDecimal balance;
+        if (monthlyRate.signum() == 0) {
+            balance = principal.subtract(payment.multiply(BigDecimal.valueOf(paymentsMade)));
+        } else {
+            BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(paymentsMade, MC);
+            balance = principal.multiply(growth, MC)
+                    .subtract(payment.multiply(growth.subtract(BigDecimal.ONE), MC).divide(monthlyRate, MC));
+        }
+        return balance.signum() < 0 ? BigDecimal.ZERO : balance;
+    }
+
+    /**
+     * from-оос to хүртэлх төлбөрүүдийн хүүгийн хэсгийн нийлбэр (from &lt; k &lt;= to)
+     */
+    public static BigDecimal interestBetween(BigDecimal principal, BigDecimal monthlyRate,
+                                             BigDecimal payment, int from, int to) {
+        if (to <= from) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal principalRepaid = balanceAfter(principal, monthlyRate, payment, from)
+                .subtract(balanceAfter(principal, monthlyRate, payment, to));
+        BigDecimal paid = payment.multiply(BigDecimal.valueOf((long) to - from));
+        BigDecimal interest = paid.subtract(principalRepaid);
+        return interest.signum() < 0 ? BigDecimal.ZERO : interest;
+    }
+
+    /**
+     * Тогтмол төлбөрөөр үлдэгдлийг хаах сарын тоо: n = -ln(1 - B·r/A) / ln(1+r)
+     * Төлбөр хүүг ч хаахгүй бол -1 буцаана.
+     */
+    public static int termForPayment(BigDecimal balance, BigDecimal monthlyRate, BigDecimal payment) {
+        if (balance == null || balance.signum() <= 0) {
+            return 0;
+        }
+        if (payment == null || payment.signum() <= 0) {
+            return -1;
+        }
+        if (monthlyRate.signum() == 0) {
+            return balance.divide(payment, 0, RoundingMode.CEILING).intValueExact();
+        }
+        double ratio = 1.0 - balance.multiply(monthlyRate, MC).divide(payment, MC).doubleValue();
+        if (ratio <= 0.0) {
+            return -1;
+        }
+        double months = -Math.log(ratio) / Math.log1p(monthlyRate.doubleValue());
+        // Бутархай үлдэгдлийг сүүлийн төлбөрт багтаана
+        return (int) Math.ceil(months - 1e-9);
+    }
+
+    /**
+     * Мөнгөн дүнг 2 оронтой бутархай руу тоймлох
+     */
+    public static BigDecimal money(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO.setScale(MONEY_SCALE) : value.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+}
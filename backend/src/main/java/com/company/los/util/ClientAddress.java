@@ -0,0 +1,32 @@
+package com.company.los.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Хүсэлт илгээгчийн IP хаяг.
+ * Resolves the client address for audit and activity records.
+ *
+ * X-Forwarded-For-ийг шууд уншихгүй - клиент дурын утга тавьж чадна. Proxy-ийн ард ажиллахад
+ * server.forward-headers-strategy=native (Tomcat RemoteIpValve) зөвхөн итгэмжлэгдсэн proxy-оос
+ * (server.tomcat.remoteip.internal-proxies) ирсэн толгойгоор getRemoteAddr()-ийг сольдог.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class ClientAddress {
+
+    // audit_logs.ip_address, activity_logs.ip_address баганын урт
+    private static final int MAX_LENGTH = 45;
+
+    private ClientAddress() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (address != null && address.length() > MAX_LENGTH) {
+            return address.substring(0, MAX_LENGTH);
+        }
+        return address;
+    }
+}
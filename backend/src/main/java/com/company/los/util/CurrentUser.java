@@ -0,0 +1,31 @@
+package com.company.los.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Одоогийн хүсэлтийг гүйцэтгэж буй хэрэглэгч.
+ * Resolves the authenticated username from the SecurityContext.
+ *
+ * Нэвтрээгүй, anonymous эсвэл scheduler зэрэг хүсэлтгүй thread дээр "system" буцаана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class CurrentUser {
+
+    public static final String SYSTEM = "system";
+
+    private CurrentUser() {
+    }
+
+    public static String username() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return SYSTEM;
+        }
+        return authentication.getName();
+    }
+}
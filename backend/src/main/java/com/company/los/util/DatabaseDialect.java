@@ -0,0 +1,29 @@
+package com.company.los.util;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+/**
+ * Өгөгдлийн сангийн төрлөөс хамаарах SQL-ийг сонгох туслах функц.
+ * Detects the database product behind a JdbcTemplate.
+ *
+ * PostgreSQL-д зориулсан statement (SKIP LOCKED, partition, pg_class) болон H2-ийн fallback-ийн хооронд
+ * сонгоход ашиглана. Connection metadata уншдаг тул дуудагч үр дүнг нь cache хийнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class DatabaseDialect {
+
+    private DatabaseDialect() {
+    }
+
+    public static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+}
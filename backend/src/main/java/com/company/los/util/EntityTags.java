@@ -0,0 +1,33 @@
+package com.company.los.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Entity-ийн өөрчлөлтийн тэмдгээс HTTP ETag үүсгэх.
+ * Weak entity tags derived from an entity's last-modified stamp.
+ *
+ * Хариултын JSON-д timestamp зэрэг талбар байдаг тул байт-байтаар ижил биш - weak tag ашиглана.
+ * {@code updated_at} нь DB-д микросекунд хүртэл хадгалагддаг тул тэр нарийвчлалаар тайрна,
+ * ингэснээр version-only query болон бүтэн entity-ээс гарсан tag ижил байна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Сүүлд өөрчлөгдсөн хугацаанаас weak ETag. Хугацаа байхгүй бол null (conditional GET хийхгүй).
+     */
+    public static String of(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return null;
+        }
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "W/\"" + Long.toHexString(micros) + "\"";
+    }
+}
@@ -0,0 +1,229 @@
+package com.company.los.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Шаталсан timer wheel (Varghese &amp; Lauck).
+ * Hierarchical hashed timing wheel with O(1) schedule/cancel.
+ *
+ * Түвшин бүр {@code wheelSize} слоттой; 0-р түвшний слот нэг tick, l-р түвшнийх {@code wheelSize^l} tick.
+ * Хугацаа нь ойр таймер доод түвшинд, хол нь дээд түвшинд орно. Дээд түвшний слот ээлжээ авахад
+ * доторх таймерууд доод түвшинд буух тул tick бүрт зөвхөн нэг слот шалгагдана.
+ * Хамгийн дээд түвшнээс хол хугацаатай таймер тэнд түр хадгалагдаж, cascade бүрт дахин байрлана.
+ *
+ * Таймер хугацаанаасаа өмнө хэзээ ч дуусахгүй; хоцрох нь нэг tick-ээс хэтрэхгүй (advance тогтмол дуудагдвал).
+ * Бүх method synchronized - дуудагч thread-үүдийн хооронд нэг түгжээтэй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class HierarchicalTimerWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Timeout<?>[][] slots; // [level][slot] - давхар холбоост жагсаалтын толгой
+
+    private long currentTick;
+    private int size;
+    // Бүртгэхэд хугацаа нь аль хэдийн өнгөрсөн таймерууд; дараагийн advance-д шууд буцна
+    private final List<Timeout<T>> due = new ArrayList<>();
+
+    public HierarchicalTimerWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Unsupported number of levels: " + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.slots = new Timeout<?>[levels][wheelSize];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Таймер бүртгэх. Хугацаа нь өнгөрсөн бол дараагийн advance-д буцна.
+     */
+    public synchronized Timeout<T> schedule(long deadlineMillis, T payload) {
+        // Дээш тоймлоно - хугацаанаасаа өмнө дуусахгүй
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMillis, deadlineTick);
+        if (deadlineTick <= currentTick) {
+            timeout.level = -1;
+            due.add(timeout);
+        } else {
+            place(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Таймерыг цуцлах
+     *
+     * @return өмнө нь дуусаагүй, цуцлагдаагүй байсан бол true
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.state != Timeout.SCHEDULED) {
+            return false;
+        }
+        if (timeout.level < 0) {
+            due.remove(timeout);
+        } else {
+            unlink(timeout);
+        }
+        timeout.state = Timeout.CANCELLED;
+        size--;
+        return true;
+    }
+
+    /**
+     * Цагийг nowMillis хүртэл урагшлуулж хугацаа нь дууссан таймеруудын payload-ийг буцаах.
+     * Хугацааны дарааллаар (tick-ийн нарийвчлалтай) буцна.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        for (Timeout<T> timeout : due) {
+            timeout.state = Timeout.EXPIRED;
+            expired.add(timeout.payload);
+        }
+        size -= due.size();
+        due.clear();
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                // Хоосон үед tick бүрийг гүйх шаардлагагүй
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            // Дээд түвшнээс эхлэн слот ээлжээ авсан түвшнүүдийг доош буулгана
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+                }
+            }
+            int index = (int) (currentTick & mask);
+            Timeout<T> timeout = head(0, index);
+            slots[0][index] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                timeout.state = Timeout.EXPIRED;
+                expired.add(timeout.payload);
+                size--;
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<T> timeout = head(level, index);
+        slots[level][index] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Cascade-ийн үед хугацаа нь яг одоогийн tick бол 0-р түвшний одоогийн слот руу орж,
+     * мөн энэ tick-д дуусна.
+     */
+    private void place(Timeout<T> timeout) {
+        long delta = Math.max(0, timeout.deadlineTick - currentTick);
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        // Дээд түвшний хүрээнээс хол бол хүрээний төгсгөлд түр байрлуулж, cascade-д дахин байрлуулна
+        long span = 1L << (bits * levels);
+        long tick = delta < span ? timeout.deadlineTick : currentTick + span - 1;
+        int index = (int) ((tick >>> (bits * level)) & mask);
+        timeout.level = level;
+        timeout.index = index;
+        timeout.prev = null;
+        timeout.next = head(level, index);
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[level][index] = timeout;
+    }
+
+    // Слотод зөвхөн энэ wheel-ийн Timeout<T> байрлана
+    @SuppressWarnings("unchecked")
+    private Timeout<T> head(int level, int index) {
+        return (Timeout<T>) slots[level][index];
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Бүртгэгдсэн таймерын handle (цуцлахад ашиглана)
+     */
+    public static final class Timeout<T> {
+
+        private static final int SCHEDULED = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final T payload;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+
+        // Wheel-ийн түгжээн дор л өөрчлөгдөнө
+        private int state = SCHEDULED;
+        private int level;
+        private int index;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineMillis, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.los.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Лог хүснэгтүүдийн (audit_logs, activity_logs) сарын partition-ий туслах функцууд.
+ * Monthly range partition helpers for PostgreSQL log tables.
+ *
+ * Partition-ийн нэр: {хүснэгт}_pYYYYMM, муж: [сарын 1, дараа сарын 1).
+ * Partition-гүй өгөгдлийн сан (H2 г.м.) дээр isPartitioned false буцаана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class LogPartitions {
+
+    /**
+     * Partition-лагдах лог хүснэгт ба түүний цагийн багана
+     */
+    public record LogTable(String name, String timeColumn) {
+    }
+
+    public static final LogTable AUDIT_LOGS = new LogTable("audit_logs", "changed_at");
+    public static final LogTable ACTIVITY_LOGS = new LogTable("activity_logs", "created_at");
+    public static final List<LogTable> TABLES = List.of(AUDIT_LOGS, ACTIVITY_LOGS);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private LogPartitions() {
+    }
+
+    public static String partitionName(LogTable table, YearMonth month) {
+        return table.name() + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * Partition-ий нэрээс сар гаргах (манай хэвд тохирохгүй бол null)
+     */
+    public static YearMonth monthOf(LogTable table, String partitionName) {
+        String prefix = table.name() + "_p";
+        if (partitionName == null || !partitionName.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Хүснэгт PostgreSQL-ийн declarative partition эсэх
+     */
+    public static boolean isPartitioned(JdbcTemplate jdbcTemplate, LogTable table) {
+        if (!DatabaseDialect.isPostgres(jdbcTemplate)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Integer.class, table.name());
+        return count != null && count > 0;
+    }
+
+    /**
+     * Сарын partition үүсгэх (байвал алгасна)
+     */
+    public static void createMonthPartition(JdbcTemplate jdbcTemplate, LogTable table, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) +
+                " PARTITION OF " + table.name() +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * Хүснэгтийн сарын partition-уудын нэр (default partition ороогүй), хуучнаас нь эхэлж
+     */
+    public static List<String> listMonthPartitions(JdbcTemplate jdbcTemplate, LogTable table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? AND pg_table_is_visible(p.oid) " +
+                "ORDER BY c.relname", String.class, table.name());
+        List<String> months = new ArrayList<>();
+        for (String name : names) {
+            if (monthOf(table, name) != null) {
+                months.add(name);
+            }
+        }
+        return months;
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.los.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Түгжээгүй, хязгаартай олон бичигч / нэг уншигч (MPSC) ring buffer.
+ * Lock-free bounded multi-producer single-consumer ring buffer.
+ *
+ * Слот бүр өөрийн sequence дугаартай (Vyukov-ийн bounded queue): бичигчид tail-ийг CAS-аар
+ * нэмж слот эзэмшинэ, уншигч sequence-ээр бэлэн слотыг таньж авна. Дүүрсэн үед offer нь
+ * хүлээлгүй false буцаана - дуудагч талын latency хэзээ ч блоклогдохгүй.
+ *
+ * poll/drainTo-г зөвхөн нэг thread дуудна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Зөвхөн уншигч бичнэ; size()-д зориулж volatile
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Элемент нэмэх. Buffer дүүрсэн бол false (хүлээхгүй).
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element must not be null");
+        }
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        buffer.lazySet(index, element);
+        // volatile бичилт: элемент уншигчид харагдсаны дараа л слот бэлэн болно
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Нэг элемент авах (хоосон бол null). Зөвхөн уншигч thread.
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Хамгийн ихдээ limit элементийг жагсаалт руу шилжүүлэх. Зөвхөн уншигч thread.
+     */
+    public int drainTo(List<? super E> target, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.los.util;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Энэ JVM-ийн (cluster node) тогтмол танигч.
+ * Stable identifier of this JVM, used to own DB claims shared between nodes.
+ *
+ * Олон node нэг өгөгдлийн сан дээр ажиллах үед batch partition, тайлангийн ажил, SLA escalation зэрэг
+ * нэг л node гүйцэтгэх ёстой ажлын эзэмшигчийг DB-д тэмдэглэхэд ашиглана. Хэлбэр: {@code host:pid:random}
+ * - random хэсэг нь нэг host дээр дахин эхэлсэн процесс өмнөх claim-ийг өөрийнх гэж үзэхээс сэргийлнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class NodeIdentity {
+
+    private static final String NODE_ID = resolve();
+
+    private NodeIdentity() {
+    }
+
+    /**
+     * Энэ node-ийн танигч (100 тэмдэгтээс богино)
+     */
+    public static String get() {
+        return NODE_ID;
+    }
+
+    private static String resolve() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        if (host.length() > 60) {
+            host = host.substring(0, 60);
+        }
+        return host + ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,164 @@
+package com.company.los.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Хоёр эгнээтэй (priority / normal), эгнээ бүр нь хязгаартай blocking queue.
+ * Bounded two-lane blocking queue with weighted priority and no starvation.
+ *
+ * Эгнээ бүр өөрийн багтаамжтай - энгийн эгнээний ачаалал priority ажлыг хэзээ ч хааж чадахгүй.
+ * take нь priority эгнээг түрүүлж авна, гэхдээ дараалан priorityBurst удаа авсны дараа энгийн эгнээнд
+ * ажил байвал нэгийг авна (энгийн эгнээ өлсөхгүй). put дүүрсэн эгнээнд хүлээнэ - дээд шатны worker
+ * блоклогдож backpressure дамжина; offer хүлээлгүй false буцаана.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class PriorityLaneQueue<E> {
+
+    private final int capacity;
+    private final int priorityBurst;
+    private final ArrayDeque<E> priorityLane;
+    private final ArrayDeque<E> normalLane;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition priorityNotFull = lock.newCondition();
+    private final Condition normalNotFull = lock.newCondition();
+
+    private int consecutivePriority;
+
+    /**
+     * @param capacity      эгнээ бүрийн багтаамж
+     * @param priorityBurst энгийн эгнээнээс авахаас өмнө дараалан авах priority ажлын дээд тоо
+     */
+    public PriorityLaneQueue(int capacity, int priorityBurst) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (priorityBurst < 1) {
+            throw new IllegalArgumentException("Priority burst must be positive");
+        }
+        this.capacity = capacity;
+        this.priorityBurst = priorityBurst;
+        this.priorityLane = new ArrayDeque<>(capacity);
+        this.normalLane = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Элемент нэмэх. Эгнээ дүүрсэн бол false (хүлээхгүй).
+     */
+    public boolean offer(E element, boolean priority) {
+        requireElement(element);
+        lock.lock();
+        try {
+            ArrayDeque<E> lane = lane(priority);
+            if (lane.size() >= capacity) {
+                return false;
+            }
+            lane.addLast(element);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Элемент нэмэх. Эгнээ дүүрсэн бол сул зай гартал хүлээнэ.
+     */
+    public void put(E element, boolean priority) throws InterruptedException {
+        requireElement(element);
+        lock.lockInterruptibly();
+        try {
+            ArrayDeque<E> lane = lane(priority);
+            Condition notFull = priority ? priorityNotFull : normalNotFull;
+            while (lane.size() >= capacity) {
+                notFull.await();
+            }
+            lane.addLast(element);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Дараагийн элемент (хоосон бол хүлээнэ)
+     */
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (priorityLane.isEmpty() && normalLane.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Дараагийн элемент; timeout дотор ирээгүй бол null
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (priorityLane.isEmpty() && normalLane.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(boolean priority) {
+        lock.lock();
+        try {
+            return lane(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFull(boolean priority) {
+        return size(priority) >= capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private E dequeue() {
+        E element;
+        if (!priorityLane.isEmpty() && (consecutivePriority < priorityBurst || normalLane.isEmpty())) {
+            element = priorityLane.pollFirst();
+            consecutivePriority++;
+            priorityNotFull.signal();
+        } else {
+            element = normalLane.pollFirst();
+            consecutivePriority = 0;
+            normalNotFull.signal();
+        }
+        return element;
+    }
+
+    private ArrayDeque<E> lane(boolean priority) {
+        return priority ? priorityLane : normalLane;
+    }
+
+    private static void requireElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element must not be null");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.los.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) хуудаслалтын cursor: сүүлийн мөрийн (эрэмбийн түлхүүр, id).
+ * Opaque seek cursor for keyset pagination over (sort key, id).
+ *
+ * Клиентэд base64url мөрөөр дамжина; дараагийн хуудас нь
+ * {@code (created_at, id) < (cursor.sortKey, cursor.id)} нөхцлөөр индексээс шууд эхэлнэ -
+ * OFFSET шиг өмнөх мөрүүдийг алгасаж уншихгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public record SeekCursor(LocalDateTime sortKey, UUID id) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    public SeekCursor {
+        if (sortKey == null || id == null) {
+            throw new IllegalArgumentException("Cursor sort key and id are required");
+        }
+    }
+
+    /**
+     * Cursor-ийг клиентэд өгөх мөр болгох
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Клиентээс ирсэн cursor задлах. Хоосон бол null (эхний хуудас).
+     *
+     * @throws IllegalArgumentException cursor буруу бол
+     */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SeekCursor(LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
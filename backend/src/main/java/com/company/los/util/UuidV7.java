@@ -0,0 +1,65 @@
+package com.company.los.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Цагаар эрэмбэлэгдсэн UUID (RFC 9562 version 7) үүсгэгч.
+ * Time-ordered UUIDv7 generator shared by all entities.
+ *
+ * Бүтэц: 48 бит unix миллисекунд | 4 бит хувилбар (7) | 12 бит дараалал | 2 бит variant | 62 бит санамсаргүй.
+ * Нэг миллисекунд доторх ID-ууд 12 битийн дараалалаар өсөх тул нэг процесс доторх ID бүр өмнөхөөсөө их;
+ * дараалал дүүрвэл эсвэл цаг буцвал дараагийн миллисекундийг "зээлж" авна. Шинэ мөрүүд B-tree индексийн
+ * баруун захад нэмэгдэх тул санамсаргүй (v4) ID-тай харьцуулахад хуудас хуваагдал, индексийн хэмжээ багасна.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class UuidV7 {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_BITS = 0x7000L;
+    private static final long VARIANT_BITS = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // (миллисекунд << 12 | дараалал) - сүүлд олгосон утга
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private UuidV7() {
+    }
+
+    /**
+     * Шинэ UUIDv7
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long stamp;
+        while (true) {
+            long last = LAST.get();
+            stamp = now > last ? now : last + 1;
+            if (LAST.compareAndSet(last, stamp)) {
+                break;
+            }
+        }
+
+        long millis = stamp >>> SEQUENCE_BITS;
+        long sequence = stamp & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificant = (millis << 16) | VERSION_BITS | sequence;
+        long leastSignificant = VARIANT_BITS | (RANDOM.get().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * UUIDv7-ийн үүссэн хугацаа (unix миллисекунд). v7 биш бол -1.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid == null || uuid.version() != 7) {
+            return -1;
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,367 @@
+package com.company.los.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Нэг sheet-тэй XLSX (OOXML)-ийг урсгалаар бичигч.
+ * Streaming single-sheet XLSX writer (no POI dependency).
+ *
+ * Мөр бүр sheet1.xml руу шууд бичигдэж санах ойд хуримтлагдахгүй. Давтагдах текстийг
+ * sharedStrings хүснэгтээр нэгтгэнэ; хүснэгт maxSharedStrings-д хүрвэл шинэ текст
+ * inline string болж бичигдэнэ - heap хэмжээ мөрийн тооноос хамаарахгүй.
+ *
+ * Ашиглалт: writeHeader → writeRow ... → close (гаралтын урсгалыг хаахгүй). Дундаас нь алдаа гарвал close биш
+ * abort дуудна - тасархай файлыг бүрэн workbook мэт дуусгахгүй.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class XlsxStreamWriter implements Closeable {
+
+    public static final int DEFAULT_MAX_SHARED_STRINGS = 10_000;
+
+    // Үүнээс урт текстийг dedupe хийхгүй (давтагдах магадлал бага)
+    private static final int MAX_SHARED_STRING_LENGTH = 64;
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_DATE = 2;
+    private static final int STYLE_DATETIME = 3;
+    private static final int STYLE_DECIMAL = 4;
+
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxSharedStrings;
+    private final Map<String, Integer> sharedStrings = new HashMap<>();
+    private final List<String> sharedStringOrder = new ArrayList<>();
+    private final List<String> columnRefs = new ArrayList<>();
+
+    private long sharedStringUses;
+    private int rowNumber;
+    private boolean closed;
+
+    public XlsxStreamWriter(OutputStream out, String sheetName) throws IOException {
+        this(out, sheetName, DEFAULT_MAX_SHARED_STRINGS);
+    }
+
+    public XlsxStreamWriter(OutputStream out, String sheetName, int maxSharedStrings) throws IOException {
+        this.zip = new ZipOutputStream(new NonClosingOutputStream(out), StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.maxSharedStrings = maxSharedStrings;
+
+        writeStaticParts(sheetName);
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        writer.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" "
+                + "activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        writer.write("<sheetData>");
+    }
+
+    /**
+     * Гарчгийн мөр (тод)
+     */
+    public void writeHeader(String... titles) throws IOException {
+        startRow();
+        for (int i = 0; i < titles.length; i++) {
+            writeString(i, titles[i], STYLE_HEADER);
+        }
+        writer.write("</row>");
+    }
+
+    /**
+     * Өгөгдлийн мөр. null утгатай нүд алгасагдана.
+     */
+    public void writeRow(Object... values) throws IOException {
+        startRow();
+        for (int i = 0; i < values.length; i++) {
+            writeCell(i, values[i]);
+        }
+        writer.write("</row>");
+    }
+
+    public int getRowCount() {
+        return rowNumber;
+    }
+
+    public int getSharedStringCount() {
+        return sharedStringOrder.size();
+    }
+
+    /**
+     * Алдааны үед: sheet, sharedStrings, zip-ийн central directory-г бичихгүй тул хүлээн авагч файлыг
+     * эвдэрсэн гэж үзнэ (хагас экспортыг бүрэн мэт нээхгүй). Дараагийн close юу ч хийхгүй.
+     */
+    public void abort() {
+        closed = true;
+    }
+
+    /**
+     * Sheet-ийг хааж sharedStrings-ийг бичнэ. Доорх OutputStream нээлттэй үлдэнэ.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\""
+                + sharedStringUses + "\" uniqueCount=\"" + sharedStringOrder.size() + "\">");
+        for (String value : sharedStringOrder) {
+            writer.write("<si><t xml:space=\"preserve\">");
+            writeEscaped(value);
+            writer.write("</t></si>");
+        }
+        writer.write("</sst>");
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    // Cells
+
+    private void startRow() throws IOException {
+        rowNumber++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowNumber));
+        writer.write("\">");
+    }
+
+    private void writeCell(int column, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            writeNumber(column, decimal.toPlainString(), STYLE_DECIMAL);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeNumber(column, value.toString(), STYLE_DECIMAL);
+        } else if (value instanceof Number number) {
+            writeNumber(column, Long.toString(number.longValue()), 0);
+        } else if (value instanceof Boolean bool) {
+            openCell(column, 0, "b");
+            writer.write("<v>");
+            writer.write(bool ? "1" : "0");
+            writer.write("</v></c>");
+        } else if (value instanceof LocalDateTime dateTime) {
+            writeNumber(column, excelSerial(dateTime), STYLE_DATETIME);
+        } else if (value instanceof LocalDate date) {
+            writeNumber(column, Long.toString(ChronoUnit.DAYS.between(EXCEL_EPOCH, date)), STYLE_DATE);
+        } else if (value instanceof Timestamp timestamp) {
+            writeNumber(column, excelSerial(timestamp.toLocalDateTime()), STYLE_DATETIME);
+        } else if (value instanceof Date date) {
+            writeNumber(column, Long.toString(ChronoUnit.DAYS.between(EXCEL_EPOCH, date.toLocalDate())), STYLE_DATE);
+        } else {
+            writeString(column, value.toString(), 0);
+        }
+    }
+
+    private void writeNumber(int column, String number, int style) throws IOException {
+        openCell(column, style, null);
+        writer.write("<v>");
+        writer.write(number);
+        writer.write("</v></c>");
+    }
+
+    private void writeString(int column, String value, int style) throws IOException {
+        if (value.length() > MAX_CELL_LENGTH) {
+            value = value.substring(0, MAX_CELL_LENGTH);
+        }
+        Integer index = sharedStrings.get(value);
+        if (index == null && value.length() <= MAX_SHARED_STRING_LENGTH && sharedStringOrder.size() < maxSharedStrings) {
+            index = sharedStringOrder.size();
+            sharedStrings.put(value, index);
+            sharedStringOrder.add(value);
+        }
+
+        if (index != null) {
+            sharedStringUses++;
+            openCell(column, style, "s");
+            writer.write("<v>");
+            writer.write(Integer.toString(index));
+            writer.write("</v></c>");
+        } else {
+            openCell(column, style, "inlineStr");
+            writer.write("<is><t xml:space=\"preserve\">");
+            writeEscaped(value);
+            writer.write("</t></is></c>");
+        }
+    }
+
+    private void openCell(int column, int style, String type) throws IOException {
+        writer.write("<c r=\"");
+        writer.write(columnRef(column));
+        writer.write(Integer.toString(rowNumber));
+        writer.write('"');
+        if (style != 0) {
+            writer.write(" s=\"");
+            writer.write(Integer.toString(style));
+            writer.write('"');
+        }
+        if (type != null) {
+            writer.write(" t=\"");
+            writer.write(type);
+            writer.write('"');
+        }
+        writer.write('>');
+    }
+
+    private String columnRef(int column) {
+        while (columnRefs.size() <= column) {
+            int n = columnRefs.size() + 1;
+            StringBuilder ref = new StringBuilder();
+            while (n > 0) {
+                int rem = (n - 1) % 26;
+                ref.insert(0, (char) ('A' + rem));
+                n = (n - 1) / 26;
+            }
+            columnRefs.add(ref.toString());
+        }
+        return columnRefs.get(column);
+    }
+
+    private static String excelSerial(LocalDateTime dateTime) {
+        long days = ChronoUnit.DAYS.between(EXCEL_EPOCH, dateTime.toLocalDate());
+        double fraction = dateTime.toLocalTime().toSecondOfDay() / 86400.0;
+        return BigDecimal.valueOf(days + fraction).setScale(6, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * XML escape; XML 1.0-д зөвшөөрөгдөөгүй удирдлагын тэмдэгтийг хасна
+     */
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+                        writer.write(ch);
+                    }
+                }
+            }
+        }
+    }
+
+    // Static package parts
+
+    private void writeStaticParts(String sheetName) throws IOException {
+        putEntry("[Content_Types].xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+                + "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+                + "</Types>");
+        putEntry("_rels/.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        putEntry("xl/workbook.xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets><sheet name=\"" + escapeAttribute(sheetName) + "\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                + "</workbook>");
+        putEntry("xl/_rels/workbook.xml.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>"
+                + "<Relationship Id=\"rId3\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+                + "</Relationships>");
+        // cellXfs: 0 энгийн, 1 гарчиг (тод), 2 огноо, 3 огноо+цаг, 4 мөнгөн дүн
+        putEntry("xl/styles.xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<numFmts count=\"2\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/>"
+                + "<numFmt numFmtId=\"165\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/></numFmts>"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"5\">"
+                + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+                + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "<xf numFmtId=\"165\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "<xf numFmtId=\"4\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "</cellXfs>"
+                + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+                + "</styleSheet>");
+    }
+
+    private void putEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static String escapeAttribute(String value) {
+        String name = value == null || value.isBlank() ? "Sheet1" : value;
+        if (name.length() > 31) {
+            name = name.substring(0, 31);
+        }
+        return name.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * ZipOutputStream.finish() нь доорх урсгалыг хаадаггүй ч close() хаадаг -
+     * HTTP response урсгалыг controller удирдана.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -219,19 +219,19 @@ INSERT INTO document_types (id, name, description, category, file_types, max_fil
 
 INSERT INTO loan_products (id, name, product_name, loan_type, min_amount, max_amount, min_term_months, max_term_months, base_rate, default_interest_rate, min_interest_rate, max_interest_rate, processing_fee_rate, is_featured, description, is_active, created_at, created_by) VALUES
 -- Хувийн хэрэглээний зээл
-('55555555-5555-5555-5555-555555555501', 'Хувийн хэрэглээний зээл', 'Personal Loan Standard', 'PERSONAL', 100000.00, 10000000.00, 6, 60, 12.0000, 15.0000, 12.0000, 18.0000, 1.0000, TRUE, 'Хувийн хэрэгцээнд зориулсан зээл. Баталгаа шаардахгүй.', TRUE, CURRENT_TIMESTAMP, 'system'),
+('55555555-5555-5555-5555-555555555501', 'Хувийн хэрэглээний зээл', 'Personal Loan Standard', 'PERSONAL', 100000.00, 10000000.00, 6, 60, 0.1200, 0.1500, 0.1200, 0.1800, 0.0100, TRUE, 'Хувийн хэрэгцээнд зориулсан зээл. Баталгаа шаардахгүй.', TRUE, CURRENT_TIMESTAMP, 'system'),
 
 -- Ипотекийн зээл
-('55555555-5555-5555-5555-555555555502', 'Ипотекийн зээл', 'Mortgage Loan', 'MORTGAGE', 10000000.00, 500000000.00, 120, 360, 9.5000, 11.5000, 9.0000, 14.0000, 0.5000, TRUE, 'Орон сууц худалдан авахад зориулсан урт хугацааны зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
+('55555555-5555-5555-5555-555555555502', 'Ипотекийн зээл', 'Mortgage Loan', 'MORTGAGE', 10000000.00, 500000000.00, 120, 360, 0.0950, 0.1150, 0.0900, 0.1400, 0.0050, TRUE, 'Орон сууц худалдан авахад зориулсан урт хугацааны зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
 
 -- Бизнес зээл
-('55555555-5555-5555-5555-555555555503', 'Бизнес зээл', 'Business Loan', 'BUSINESS', 1000000.00, 100000000.00, 12, 120, 15.0000, 18.0000, 14.0000, 22.0000, 2.0000, TRUE, 'Бизнесийн үйл ажиллагааг өргөжүүлэхэд зориулсан зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
+('55555555-5555-5555-5555-555555555503', 'Бизнес зээл', 'Business Loan', 'BUSINESS', 1000000.00, 100000000.00, 12, 120, 0.1500, 0.1800, 0.1400, 0.2200, 0.0200, TRUE, 'Бизнесийн үйл ажиллагааг өргөжүүлэхэд зориулсан зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
 
 -- Автомашины зээл
-('55555555-5555-5555-5555-555555555504', 'Автомашины зээл', 'Car Loan', 'CAR', 2000000.00, 50000000.00, 12, 84, 13.5000, 16.0000, 12.5000, 19.0000, 1.5000, FALSE, 'Автомашин худалдан авахад зориулсан зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
+('55555555-5555-5555-5555-555555555504', 'Автомашины зээл', 'Car Loan', 'CAR', 2000000.00, 50000000.00, 12, 84, 0.1350, 0.1600, 0.1250, 0.1900, 0.0150, FALSE, 'Автомашин худалдан авахад зориулсан зээл.', TRUE, CURRENT_TIMESTAMP, 'system'),
 
 -- Боловсролын зээл
-('55555555-5555-5555-5555-555555555505', 'Боловсролын зээл', 'Education Loan', 'EDUCATION', 500000.00, 20000000.00, 12, 120, 10.0000, 12.0000, 8.0000, 15.0000, 0.5000, FALSE, 'Боловсрол эзэмшихэд зориулсан хямд хүүтэй зээл.', TRUE, CURRENT_TIMESTAMP, 'system');
+('55555555-5555-5555-5555-555555555505', 'Боловсролын зээл', 'Education Loan', 'EDUCATION', 500000.00, 20000000.00, 12, 120, 0.1000, 0.1200, 0.0800, 0.1500, 0.0050, FALSE, 'Боловсрол эзэмшихэд зориулсан хямд хүүтэй зээл.', TRUE, CURRENT_TIMESTAMP, 'system');
 
 -- =====================================================================================
 -- 8. CUSTOMERS - Жишээ харилцагчид
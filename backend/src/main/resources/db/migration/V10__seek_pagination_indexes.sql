@@ -0,0 +1,8 @@
+-- Cursor хуудаслалт (created_at, id) буурахаар seek хийнэ - id-г индекст оруулснаар sort хийх шаардлагагүй
+DROP INDEX IF EXISTS idx_loan_apps_created_at;
+DROP INDEX IF EXISTS idx_customers_created_at;
+DROP INDEX IF EXISTS idx_documents_created_at;
+CREATE INDEX IF NOT EXISTS idx_loan_apps_created_at ON loan_applications(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_customers_created_at ON customers(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_documents_created_at ON documents(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users(created_at, id);
@@ -0,0 +1,5 @@
+-- Ажлын урсгал: одоогийн төлөвт орсон хугацаа (төлөв бүрт зарцуулсан хугацааны хэмжилт)
+ALTER TABLE loan_applications ADD COLUMN IF NOT EXISTS status_changed_at TIMESTAMP;
+
+-- Өмнөх мөрүүдэд сүүлийн өөрчлөлтийн хугацааг ойролцоо утга болгоно
+UPDATE loan_applications SET status_changed_at = COALESCE(updated_at, created_at) WHERE status_changed_at IS NULL;
@@ -0,0 +1,10 @@
+-- Баримт хянах дараалал: reviewer-т олгосон lease-ийн дуусах хугацаа (heartbeat-ээр сунгана)
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS review_lease_expires_at TIMESTAMP;
+
+-- FOR UPDATE SKIP LOCKED claim нь зөвхөн хүлээгдэж буй мөрүүдийг upload дарааллаар уншина
+CREATE INDEX IF NOT EXISTS idx_documents_review_queue ON documents(uploaded_at, id)
+    WHERE verification_status = 'PENDING' AND is_deleted = FALSE;
+
+-- Хугацаа дууссан lease-ийг буцааж авах
+CREATE INDEX IF NOT EXISTS idx_documents_review_lease ON documents(review_lease_expires_at)
+    WHERE verification_status = 'IN_REVIEW';
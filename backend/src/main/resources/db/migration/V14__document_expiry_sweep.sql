@@ -0,0 +1,11 @@
+-- Баримтын хугацаа дуусах sweeper: expiry_date-ийн keyset индекс болон high-water mark
+CREATE INDEX IF NOT EXISTS idx_documents_expiry ON documents(expiry_date, id)
+    WHERE expiry_date IS NOT NULL AND is_deleted = FALSE;
+
+CREATE TABLE IF NOT EXISTS document_expiry_sweeps (
+    sweep_name VARCHAR(50) PRIMARY KEY,
+    expired_through DATE NOT NULL,
+    last_document_id UUID,
+    expired_count BIGINT NOT NULL DEFAULT 0,
+    swept_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
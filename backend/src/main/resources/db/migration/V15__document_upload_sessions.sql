@@ -0,0 +1,23 @@
+-- Resumable (chunk-ээр) upload-ын session: хүлээн авсан chunk-уудын bitmap, sparse түр файлын зам
+CREATE TABLE IF NOT EXISTS document_upload_sessions (
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    loan_application_id UUID,
+    document_type_id UUID NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    received_chunks VARCHAR(4096) NOT NULL DEFAULT '',
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    expected_checksum VARCHAR(64),
+    temp_path VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN' CHECK (status IN ('OPEN', 'COMPLETED', 'ABORTED')),
+    document_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Хаягдсан session-уудыг цэвэрлэх
+CREATE INDEX IF NOT EXISTS idx_document_upload_sessions_expires ON document_upload_sessions(expires_at);
@@ -0,0 +1,3 @@
+-- Хүүгийн хуримтлал: олон node зэрэг ажиллахад partition бүрийг нэг node claim хийнэ
+ALTER TABLE accrual_run_partitions ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE accrual_run_partitions ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
@@ -0,0 +1,9 @@
+-- Async тайлан: ажлыг эзэмшигч node ба heartbeat - restart хийсэн node зөвхөн хуучирсан ажлыг FAILED болгоно
+ALTER TABLE report_results ADD COLUMN IF NOT EXISTS owner_node VARCHAR(100);
+ALTER TABLE report_results ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_report_results_heartbeat ON report_results(status, heartbeat_at);
+
+-- Data watermark нь эх хүснэгт бүрийн MAX(updated_at) - индексээр нэг мөр уншина
+CREATE INDEX IF NOT EXISTS idx_loan_products_updated_at ON loan_products(updated_at);
+CREATE INDEX IF NOT EXISTS idx_document_types_updated_at ON document_types(updated_at);
@@ -0,0 +1,2 @@
+-- Entity listener-ээс гадуурх өөрчлөлтийн (CAS төлөв шилжилт, дарааллын claim) шалтгаан
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS change_reason VARCHAR(500);
@@ -0,0 +1,15 @@
+-- SLA escalation: олон node-ийн timer wheel ижил escalation-ийг нэг л удаа нийтлэхийн тулд
+-- (хүсэлт, төлөв, орсон мөч, шатлал) бүрийг анх оруулсан node эзэмшинэ
+CREATE TABLE IF NOT EXISTS sla_escalations (
+    application_id UUID NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    entered_at TIMESTAMP NOT NULL,
+    escalation_level INTEGER NOT NULL,
+    fired_by VARCHAR(100) NOT NULL,
+    fired_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (application_id, status, entered_at, escalation_level)
+);
+
+-- Хуучин мөрүүдийг цэвэрлэх
+CREATE INDEX IF NOT EXISTS idx_sla_escalations_fired_at ON sla_escalations(fired_at);
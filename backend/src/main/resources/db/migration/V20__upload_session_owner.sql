@@ -0,0 +1,2 @@
+-- Resumable upload: session нээсэн хэрэглэгч л chunk бичиж, дуусгаж, цуцална
+ALTER TABLE document_upload_sessions ADD COLUMN IF NOT EXISTS created_by VARCHAR(100);
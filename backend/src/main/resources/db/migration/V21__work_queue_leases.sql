@@ -0,0 +1,3 @@
+-- Ажлын дараалал: ажилтанд олгосон lease-ийг мөр дээр хадгална (node restart, олон node-д ч хүчинтэй)
+ALTER TABLE loan_applications ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(100);
+ALTER TABLE loan_applications ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
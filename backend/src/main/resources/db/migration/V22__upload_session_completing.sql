@@ -0,0 +1,4 @@
+-- Resumable upload: файлыг баримтын сан руу зөөх хооронд session COMPLETING төлөвт байна (мөрийн түгжээгүй)
+ALTER TABLE document_upload_sessions DROP CONSTRAINT IF EXISTS document_upload_sessions_status_check;
+ALTER TABLE document_upload_sessions ADD CONSTRAINT document_upload_sessions_status_check
+    CHECK (status IN ('OPEN', 'COMPLETING', 'COMPLETED', 'ABORTED'));
@@ -0,0 +1,27 @@
+-- Өдрийн хүүгийн хуримтлалын ledger болон restartable checkpoint
+CREATE TABLE IF NOT EXISTS loan_interest_accruals (
+    loan_application_id VARCHAR(36) NOT NULL,
+    business_date DATE NOT NULL,
+    principal_balance DECIMAL(18,2) NOT NULL,
+    annual_rate DECIMAL(9,6) NOT NULL,
+    accrued_amount DECIMAL(18,4) NOT NULL,
+    day_count VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (loan_application_id, business_date)
+);
+
+CREATE TABLE IF NOT EXISTS accrual_run_partitions (
+    business_date DATE NOT NULL,
+    partition_no INTEGER NOT NULL,
+    range_start VARCHAR(36) NOT NULL,
+    range_end VARCHAR(36),
+    last_loan_id VARCHAR(36),
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    PRIMARY KEY (business_date, partition_no)
+);
+
+CREATE INDEX IF NOT EXISTS idx_loan_accruals_business_date ON loan_interest_accruals(business_date);
+CREATE INDEX IF NOT EXISTS idx_loan_apps_status_id ON loan_applications(status, id);
@@ -0,0 +1,52 @@
+-- Dashboard rollup хүснэгтүүд (өдөр / бүтээгдэхүүн / аймаг / статус) болон delta job-ийн watermark
+CREATE TABLE IF NOT EXISTS loan_application_daily_rollups (
+    stat_date DATE NOT NULL,
+    loan_product_id VARCHAR(36) NOT NULL,
+    province VARCHAR(100) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    application_count BIGINT NOT NULL DEFAULT 0,
+    requested_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    approved_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    max_requested_amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, loan_product_id, province, status)
+);
+
+CREATE TABLE IF NOT EXISTS loan_decision_daily_rollups (
+    stat_date DATE NOT NULL,
+    decision VARCHAR(20) NOT NULL,
+    decision_count BIGINT NOT NULL DEFAULT 0,
+    decision_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    processing_days_sum BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, decision)
+);
+
+CREATE TABLE IF NOT EXISTS customer_daily_rollups (
+    stat_date DATE NOT NULL,
+    province VARCHAR(100) NOT NULL,
+    customer_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (stat_date, province)
+);
+
+CREATE TABLE IF NOT EXISTS document_daily_rollups (
+    stat_date DATE NOT NULL PRIMARY KEY,
+    document_count BIGINT NOT NULL DEFAULT 0,
+    total_file_size BIGINT NOT NULL DEFAULT 0,
+    large_file_count BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    rollup_name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_loan_apps_updated_at ON loan_applications(updated_at);
+CREATE INDEX IF NOT EXISTS idx_loan_apps_approved_at ON loan_applications(approved_at);
+CREATE INDEX IF NOT EXISTS idx_loan_apps_rejected_at ON loan_applications(rejected_at);
+CREATE INDEX IF NOT EXISTS idx_loan_apps_disbursed_at ON loan_applications(disbursed_at);
+CREATE INDEX IF NOT EXISTS idx_customers_created_at ON customers(created_at);
+CREATE INDEX IF NOT EXISTS idx_customers_updated_at ON customers(updated_at);
+CREATE INDEX IF NOT EXISTS idx_documents_created_at ON documents(created_at);
+CREATE INDEX IF NOT EXISTS idx_documents_updated_at ON documents(updated_at);
+CREATE INDEX IF NOT EXISTS idx_loan_app_rollups_product ON loan_application_daily_rollups(loan_product_id);
+CREATE INDEX IF NOT EXISTS idx_loan_app_rollups_province ON loan_application_daily_rollups(province);
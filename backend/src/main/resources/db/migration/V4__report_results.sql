@@ -0,0 +1,19 @@
+-- Async тайлангийн үр дүн (тайлан / параметр / data watermark-аар cache-лэгдэнэ)
+CREATE TABLE IF NOT EXISTS report_results (
+    id VARCHAR(36) PRIMARY KEY,
+    report_type VARCHAR(50) NOT NULL,
+    cache_key VARCHAR(64) NOT NULL,
+    parameters TEXT,
+    data_watermark VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    row_count INTEGER,
+    result_data TEXT,
+    error_message VARCHAR(1000),
+    requested_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_results_cache_key ON report_results(cache_key, status);
+CREATE INDEX IF NOT EXISTS idx_report_results_created_at ON report_results(created_at);
@@ -0,0 +1,3 @@
+-- Бичлэгийн аудит түүхийг (table_name, record_id) дотор changed_at-аар эрэмбэлж уншина
+DROP INDEX IF EXISTS idx_audit_logs_table_record;
+CREATE INDEX IF NOT EXISTS idx_audit_logs_table_record ON audit_logs(table_name, record_id, changed_at);
@@ -0,0 +1,5 @@
+-- Объект болон хэрэглэгчийн үйл ажиллагааны түүхийг created_at-аар эрэмбэлж уншина
+DROP INDEX IF EXISTS idx_activity_logs_user_id;
+DROP INDEX IF EXISTS idx_activity_logs_entity;
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_id ON activity_logs(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_entity ON activity_logs(entity_type, entity_id, created_at);
@@ -0,0 +1,6 @@
+-- Жил бүрийн зээлийн хүсэлтийн дугаарын hi/lo блок нөөцлөлт (sequence_key жишээ: LN-2025)
+CREATE TABLE IF NOT EXISTS number_sequences (
+    sequence_key VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
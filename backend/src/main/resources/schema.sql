@@ -15,6 +15,18 @@ SET REFERENTIAL_INTEGRITY FALSE;
 -- =====================================================================================
 -- DROP EXISTING TABLES (Зөв дараалалтайгаар)
 -- =====================================================================================
+DROP TABLE IF EXISTS sla_escalations CASCADE;
+DROP TABLE IF EXISTS document_upload_sessions CASCADE;
+DROP TABLE IF EXISTS document_expiry_sweeps CASCADE;
+DROP TABLE IF EXISTS number_sequences CASCADE;
+DROP TABLE IF EXISTS report_results CASCADE;
+DROP TABLE IF EXISTS rollup_watermarks CASCADE;
+DROP TABLE IF EXISTS document_daily_rollups CASCADE;
+DROP TABLE IF EXISTS customer_daily_rollups CASCADE;
+DROP TABLE IF EXISTS loan_decision_daily_rollups CASCADE;
+DROP TABLE IF EXISTS loan_application_daily_rollups CASCADE;
+DROP TABLE IF EXISTS accrual_run_partitions CASCADE;
+DROP TABLE IF EXISTS loan_interest_accruals CASCADE;
 DROP TABLE IF EXISTS role_permissions CASCADE;
 DROP TABLE IF EXISTS user_roles CASCADE;
 DROP TABLE IF EXISTS activity_logs CASCADE;
@@ -36,7 +48,7 @@ DROP TABLE IF EXISTS roles CASCADE;
 
 -- 1. ROLES TABLE
 CREATE TABLE roles (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     name VARCHAR(100) UNIQUE NOT NULL,
     display_name VARCHAR(150) NOT NULL,
     display_name_mn VARCHAR(150),
@@ -50,7 +62,7 @@ CREATE TABLE roles (
     level_order INTEGER DEFAULT 1 CHECK (level_order >= 1),
     is_system_role BOOLEAN DEFAULT FALSE,
     is_default BOOLEAN DEFAULT FALSE,
-    parent_role_id VARCHAR(36),
+    parent_role_id UUID,
     
     -- Audit Fields
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -66,7 +78,7 @@ CREATE TABLE roles (
 
 -- 2. PERMISSIONS TABLE
 CREATE TABLE permissions (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     name VARCHAR(100) UNIQUE NOT NULL,
     display_name VARCHAR(150) NOT NULL,
     display_name_mn VARCHAR(150),
@@ -93,7 +105,7 @@ CREATE TABLE permissions (
 
 -- 3. CUSTOMERS TABLE
 CREATE TABLE customers (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     customer_type VARCHAR(20) NOT NULL CHECK (customer_type IN ('INDIVIDUAL', 'BUSINESS')),
     register_number VARCHAR(20) UNIQUE NOT NULL,
     
@@ -153,12 +165,13 @@ CREATE TABLE customers (
     created_by VARCHAR(100),
     updated_by VARCHAR(100),
     is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- 4. LOAN PRODUCTS TABLE
 CREATE TABLE loan_products (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     name VARCHAR(200) NOT NULL,
     product_name VARCHAR(200),
     loan_type VARCHAR(50) NOT NULL CHECK (loan_type IN ('PERSONAL', 'BUSINESS', 'MORTGAGE', 'CAR', 'EDUCATION', 'MEDICAL', 'CONSUMER')),
@@ -218,7 +231,7 @@ CREATE TABLE loan_products (
 
 -- 5. DOCUMENT TYPES TABLE
 CREATE TABLE document_types (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     name VARCHAR(100) NOT NULL UNIQUE,
     description TEXT,
     category VARCHAR(50),
@@ -238,7 +251,7 @@ CREATE TABLE document_types (
 
 -- 6. USERS TABLE
 CREATE TABLE users (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY,
     username VARCHAR(100) UNIQUE NOT NULL,
     email VARCHAR(255) UNIQUE NOT NULL,
     password_hash VARCHAR(255) NOT NULL,
@@ -252,7 +265,7 @@ CREATE TABLE users (
     employee_id VARCHAR(50) UNIQUE,
     department VARCHAR(100),
     position VARCHAR(100),
-    manager_id VARCHAR(36),
+    manager_id UUID,
     
     -- Account Status and Security
     status VARCHAR(30) DEFAULT 'PENDING_ACTIVATION' CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED', 'LOCKED', 'EXPIRED', 'PENDING_APPROVAL', 'PENDING_ACTIVATION')),
@@ -296,9 +309,9 @@ CREATE TABLE users (
 
 -- 7. LOAN APPLICATIONS TABLE
 CREATE TABLE loan_applications (
-    id VARCHAR(36) PRIMARY KEY,
-    customer_id VARCHAR(36) NOT NULL,
-    loan_product_id VARCHAR(36) NOT NULL,
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    loan_product_id UUID NOT NULL,
     application_number VARCHAR(50) UNIQUE NOT NULL,
     loan_type VARCHAR(30) NOT NULL CHECK (loan_type IN ('PERSONAL', 'BUSINESS', 'MORTGAGE', 'CAR', 'EDUCATION', 'MEDICAL', 'CONSUMER')),
     
@@ -325,7 +338,10 @@ CREATE TABLE loan_applications (
     status VARCHAR(30) DEFAULT 'DRAFT' CHECK (status IN ('DRAFT', 'SUBMITTED', 'PENDING', 'PENDING_DOCUMENTS', 'UNDER_REVIEW', 'APPROVED', 'REJECTED', 'CANCELLED', 'DISBURSED', 'EXPIRED')),
     current_step VARCHAR(100),
     assigned_to VARCHAR(100),
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
     priority INTEGER DEFAULT 3 CHECK (priority >= 1 AND priority <= 5),
+    status_changed_at TIMESTAMP,
     
     -- Decision Information
     decision_reason TEXT,
@@ -377,6 +393,7 @@ CREATE TABLE loan_applications (
     updated_by VARCHAR(100),
     is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
     
     -- Foreign Keys
     FOREIGN KEY (customer_id) REFERENCES customers(id),
@@ -385,10 +402,10 @@ CREATE TABLE loan_applications (
 
 -- 8. DOCUMENTS TABLE
 CREATE TABLE documents (
-    id VARCHAR(36) PRIMARY KEY,
-    customer_id VARCHAR(36) NOT NULL,
-    loan_application_id VARCHAR(36),
-    document_type_id VARCHAR(36) NOT NULL,
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    loan_application_id UUID,
+    document_type_id UUID NOT NULL,
     
     -- Document Information
     file_name VARCHAR(500) NOT NULL,
@@ -403,7 +420,7 @@ CREATE TABLE documents (
     description TEXT,
     tags TEXT, -- JSON array
     version_number INTEGER DEFAULT 1 CHECK (version_number >= 1),
-    previous_document_id VARCHAR(36),
+    previous_document_id UUID,
     
     -- Verification
     verification_status VARCHAR(30) DEFAULT 'PENDING' CHECK (verification_status IN ('PENDING', 'IN_REVIEW', 'APPROVED', 'REJECTED', 'EXPIRED', 'RESUBMIT_REQUIRED', 'ON_HOLD')),
@@ -411,6 +428,7 @@ CREATE TABLE documents (
     verified_at TIMESTAMP,
     verification_notes TEXT,
     status VARCHAR(50) DEFAULT 'PENDING',
+    review_lease_expires_at TIMESTAMP,
     
     -- Expiry and Requirements
     expiry_date DATE,
@@ -434,6 +452,7 @@ CREATE TABLE documents (
     updated_by VARCHAR(100),
     is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
     
     -- Foreign Keys
     FOREIGN KEY (customer_id) REFERENCES customers(id),
@@ -449,7 +468,7 @@ CREATE TABLE documents (
 -- 9. ACTIVITY LOGS TABLE
 CREATE TABLE activity_logs (
     id VARCHAR(36) PRIMARY KEY,
-    user_id VARCHAR(36),
+    user_id UUID,
     activity_type VARCHAR(50) NOT NULL,
     entity_type VARCHAR(50),
     entity_id VARCHAR(36),
@@ -488,8 +507,8 @@ CREATE TABLE audit_logs (
 
 -- 11. USER-ROLE JUNCTION TABLE
 CREATE TABLE user_roles (
-    user_id VARCHAR(36) NOT NULL,
-    role_id VARCHAR(36) NOT NULL,
+    user_id UUID NOT NULL,
+    role_id UUID NOT NULL,
     assigned_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     assigned_by VARCHAR(100),
     expires_at TIMESTAMP,
@@ -502,8 +521,8 @@ CREATE TABLE user_roles (
 
 -- 12. ROLE-PERMISSION JUNCTION TABLE
 CREATE TABLE role_permissions (
-    role_id VARCHAR(36) NOT NULL,
-    permission_id VARCHAR(36) NOT NULL,
+    role_id UUID NOT NULL,
+    permission_id UUID NOT NULL,
     assigned_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     assigned_by VARCHAR(100),
     is_active BOOLEAN DEFAULT TRUE,
@@ -559,6 +578,166 @@ CREATE TABLE system_configs (
     updated_by VARCHAR(100)
 );
 
+-- =====================================================================================
+-- LOAN SERVICING TABLES
+-- =====================================================================================
+
+-- 15. LOAN INTEREST ACCRUALS TABLE (өдрийн хүүгийн хуримтлал - compact ledger)
+CREATE TABLE loan_interest_accruals (
+    loan_application_id UUID NOT NULL,
+    business_date DATE NOT NULL,
+    principal_balance DECIMAL(18,2) NOT NULL,
+    annual_rate DECIMAL(9,6) NOT NULL,
+    accrued_amount DECIMAL(18,4) NOT NULL,
+    day_count VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (loan_application_id, business_date)
+);
+
+-- 16. ACCRUAL RUN PARTITIONS TABLE (restartable checkpoint)
+CREATE TABLE accrual_run_partitions (
+    business_date DATE NOT NULL,
+    partition_no INTEGER NOT NULL,
+    range_start VARCHAR(36) NOT NULL,
+    range_end VARCHAR(36),
+    last_loan_id VARCHAR(36),
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING' CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    claimed_by VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    PRIMARY KEY (business_date, partition_no)
+);
+
+-- =====================================================================================
+-- DASHBOARD ROLLUP TABLES
+-- =====================================================================================
+
+-- 17. LOAN APPLICATION DAILY ROLLUPS (үүсгэсэн өдөр / бүтээгдэхүүн / аймаг / статус)
+CREATE TABLE loan_application_daily_rollups (
+    stat_date DATE NOT NULL,
+    loan_product_id UUID NOT NULL,
+    province VARCHAR(100) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    application_count BIGINT NOT NULL DEFAULT 0,
+    requested_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    approved_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    max_requested_amount DECIMAL(18,2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (stat_date, loan_product_id, province, status)
+);
+
+-- 18. LOAN DECISION DAILY ROLLUPS (шийдвэрийн өдөр / APPROVED, REJECTED, DISBURSED)
+CREATE TABLE loan_decision_daily_rollups (
+    stat_date DATE NOT NULL,
+    decision VARCHAR(20) NOT NULL,
+    decision_count BIGINT NOT NULL DEFAULT 0,
+    decision_amount DECIMAL(20,2) NOT NULL DEFAULT 0,
+    processing_days_sum BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (stat_date, decision)
+);
+
+-- 19. CUSTOMER DAILY ROLLUPS (бүртгэсэн өдөр / аймаг)
+CREATE TABLE customer_daily_rollups (
+    stat_date DATE NOT NULL,
+    province VARCHAR(100) NOT NULL,
+    customer_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (stat_date, province)
+);
+
+-- 20. DOCUMENT DAILY ROLLUPS
+CREATE TABLE document_daily_rollups (
+    stat_date DATE NOT NULL PRIMARY KEY,
+    document_count BIGINT NOT NULL DEFAULT 0,
+    total_file_size BIGINT NOT NULL DEFAULT 0,
+    large_file_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- 21. ROLLUP WATERMARKS (delta job-ийн сүүлийн боловсруулсан updated_at)
+CREATE TABLE rollup_watermarks (
+    rollup_name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================================================
+-- REPORTING TABLES
+-- =====================================================================================
+
+-- 22. REPORT RESULTS (тайлан / параметр / data watermark-аар хадгалсан async үр дүн)
+CREATE TABLE report_results (
+    id VARCHAR(36) PRIMARY KEY,
+    report_type VARCHAR(50) NOT NULL,
+    cache_key VARCHAR(64) NOT NULL,
+    parameters TEXT,
+    data_watermark VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    row_count INTEGER,
+    result_data TEXT,
+    error_message VARCHAR(1000),
+    requested_by VARCHAR(100),
+    owner_node VARCHAR(100),
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- 23. NUMBER SEQUENCES (жил бүрийн зээлийн хүсэлтийн дугаарын hi/lo блок нөөцлөлт)
+CREATE TABLE number_sequences (
+    sequence_key VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 24. DOCUMENT EXPIRY SWEEPS (хугацаа дуусах sweeper-ийн high-water mark)
+CREATE TABLE document_expiry_sweeps (
+    sweep_name VARCHAR(50) PRIMARY KEY,
+    expired_through DATE NOT NULL,
+    last_document_id UUID,
+    expired_count BIGINT NOT NULL DEFAULT 0,
+    swept_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 25. DOCUMENT UPLOAD SESSIONS (resumable upload - хүлээн авсан chunk-уудын bitmap, sparse түр файл)
+CREATE TABLE document_upload_sessions (
+    id UUID PRIMARY KEY,
+    customer_id UUID NOT NULL,
+    loan_application_id UUID,
+    document_type_id UUID NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    received_chunks VARCHAR(4096) NOT NULL DEFAULT '',
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    expected_checksum VARCHAR(64),
+    temp_path VARCHAR(500) NOT NULL,
+    created_by VARCHAR(100),
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN' CHECK (status IN ('OPEN', 'COMPLETING', 'COMPLETED', 'ABORTED')),
+    document_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- 26. SLA ESCALATIONS (олон node-ийн дунд escalation event-ийг нэг удаа нийтлэх claim)
+CREATE TABLE sla_escalations (
+    application_id UUID NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    entered_at TIMESTAMP NOT NULL,
+    escalation_level INTEGER NOT NULL,
+    fired_by VARCHAR(100) NOT NULL,
+    fired_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (application_id, status, entered_at, escalation_level)
+);
+
 -- =====================================================================================
 -- PERFORMANCE INDEXES
 -- =====================================================================================
@@ -592,6 +771,7 @@ CREATE INDEX idx_users_employee_id ON users(employee_id);
 CREATE INDEX idx_users_status ON users(status);
 CREATE INDEX idx_users_department ON users(department);
 CREATE INDEX idx_users_last_login ON users(last_login_at);
+CREATE INDEX idx_users_created_at ON users(created_at, id);
 
 -- Loan Applications indexes
 CREATE INDEX idx_loan_apps_customer_id ON loan_applications(customer_id);
@@ -599,7 +779,7 @@ CREATE INDEX idx_loan_apps_product_id ON loan_applications(loan_product_id);
 CREATE INDEX idx_loan_apps_status ON loan_applications(status);
 CREATE INDEX idx_loan_apps_number ON loan_applications(application_number);
 CREATE INDEX idx_loan_apps_assigned_to ON loan_applications(assigned_to);
-CREATE INDEX idx_loan_apps_created_at ON loan_applications(created_at);
+CREATE INDEX idx_loan_apps_created_at ON loan_applications(created_at, id);
 CREATE INDEX idx_loan_apps_priority ON loan_applications(priority);
 
 -- Documents indexes
@@ -608,15 +788,43 @@ CREATE INDEX idx_documents_loan_app_id ON documents(loan_application_id);
 CREATE INDEX idx_documents_type_id ON documents(document_type_id);
 CREATE INDEX idx_documents_verification_status ON documents(verification_status);
 CREATE INDEX idx_documents_uploaded_at ON documents(uploaded_at);
+CREATE INDEX idx_documents_review_queue ON documents(verification_status, uploaded_at, id);
+CREATE INDEX idx_documents_review_lease ON documents(review_lease_expires_at);
+CREATE INDEX idx_documents_expiry ON documents(expiry_date, id);
+CREATE INDEX idx_document_upload_sessions_expires ON document_upload_sessions(expires_at);
+CREATE INDEX idx_sla_escalations_fired_at ON sla_escalations(fired_at);
 
 -- Activity Logs indexes
-CREATE INDEX idx_activity_logs_user_id ON activity_logs(user_id);
+CREATE INDEX idx_activity_logs_user_id ON activity_logs(user_id, created_at);
 CREATE INDEX idx_activity_logs_type ON activity_logs(activity_type);
-CREATE INDEX idx_activity_logs_entity ON activity_logs(entity_type, entity_id);
+CREATE INDEX idx_activity_logs_entity ON activity_logs(entity_type, entity_id, created_at);
 CREATE INDEX idx_activity_logs_created_at ON activity_logs(created_at);
 
+-- Dashboard rollup indexes (delta job)
+CREATE INDEX idx_loan_apps_updated_at ON loan_applications(updated_at);
+CREATE INDEX idx_loan_apps_approved_at ON loan_applications(approved_at);
+CREATE INDEX idx_loan_apps_rejected_at ON loan_applications(rejected_at);
+CREATE INDEX idx_loan_apps_disbursed_at ON loan_applications(disbursed_at);
+CREATE INDEX idx_customers_created_at ON customers(created_at, id);
+CREATE INDEX idx_customers_updated_at ON customers(updated_at);
+CREATE INDEX idx_documents_created_at ON documents(created_at, id);
+CREATE INDEX idx_documents_updated_at ON documents(updated_at);
+CREATE INDEX idx_loan_app_rollups_product ON loan_application_daily_rollups(loan_product_id);
+CREATE INDEX idx_loan_app_rollups_province ON loan_application_daily_rollups(province);
+
+-- Report result indexes
+CREATE INDEX idx_report_results_cache_key ON report_results(cache_key, status);
+CREATE INDEX idx_report_results_created_at ON report_results(created_at);
+CREATE INDEX idx_report_results_heartbeat ON report_results(status, heartbeat_at);
+CREATE INDEX idx_loan_products_updated_at ON loan_products(updated_at);
+CREATE INDEX idx_document_types_updated_at ON document_types(updated_at);
+
+-- Loan servicing indexes
+CREATE INDEX idx_loan_accruals_business_date ON loan_interest_accruals(business_date);
+CREATE INDEX idx_loan_apps_status_id ON loan_applications(status, id);
+
 -- Audit Logs indexes
-CREATE INDEX idx_audit_logs_table_record ON audit_logs(table_name, record_id);
+CREATE INDEX idx_audit_logs_table_record ON audit_logs(table_name, record_id, changed_at);
 CREATE INDEX idx_audit_logs_action ON audit_logs(action);
 CREATE INDEX idx_audit_logs_changed_by ON audit_logs(changed_by);
 CREATE INDEX idx_audit_logs_changed_at ON audit_logs(changed_at);
@@ -647,7 +855,7 @@ SET REFERENTIAL_INTEGRITY TRUE;
 -- =====================================================================================
 -- SCHEMA CREATION COMPLETE
 -- =====================================================================================
--- Total Tables: 14
+-- Total Tables: 22
 -- Junction Tables: 2  
 -- Total Indexes: 35+
 -- Security: RBAC with comprehensive permissions
@@ -0,0 +1,147 @@
+package com.company.los.config;
+
+import com.company.los.controller.CustomerController;
+import com.company.los.controller.HealthController;
+import com.company.los.entity.ActivityLog;
+import com.company.los.service.ActivityLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Controller үйлдлийг үйл ажиллагааны лог болгох - үйлдлийн төрөл, объект, унших хүсэлтийг алгасах
+ */
+@DisplayName("ActivityLoggingInterceptor Tests")
+class ActivityLoggingInterceptorTest {
+
+    private final List<ActivityLogService.Event> recorded = new ArrayList<>();
+    private ActivityLoggingInterceptor interceptor;
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ActivityLogService activityLogService = mock(ActivityLogService.class);
+        when(activityLogService.record(any())).thenAnswer(invocation -> recorded.add(invocation.getArgument(0)));
+        interceptor = new ActivityLoggingInterceptor(activityLogService);
+
+        response = mock(HttpServletResponse.class);
+        when(response.getStatus()).thenReturn(200);
+    }
+
+    private static HttpServletRequest request(String method, Map<String, String> pathVariables) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, pathVariables);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getRequestURI()).thenReturn("/api/v1/customers");
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        // Клиентийн тавьсан толгой - итгэмжлэгдсэн proxy-гүйгээр IP-г тодорхойлохгүй
+        when(request.getHeader("X-Forwarded-For")).thenReturn("203.0.113.9");
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        return request;
+    }
+
+    private static HandlerMethod handler(Object controller, String methodName) {
+        for (Method method : controller.getClass().getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return new HandlerMethod(controller, method);
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+
+    private void handle(HttpServletRequest request, HandlerMethod handler, Exception ex) {
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, ex);
+    }
+
+    @Test
+    @DisplayName("Өөрчлөх хүсэлтийг method-ийн нэрээс гаргасан төрөл, controller-ийн объекттой бүртгэнэ")
+    void afterCompletion_RecordsMutatingRequest() {
+        UUID id = UUID.randomUUID();
+
+        handle(request("PUT", Map.of("id", id.toString())),
+                handler(new CustomerController(null), "updateKycStatus"), null);
+
+        assertThat(recorded).hasSize(1);
+        ActivityLogService.Event event = recorded.get(0);
+        assertThat(event.activityType()).isEqualTo("UPDATE_KYC_STATUS");
+        assertThat(event.entityType()).isEqualTo(ActivityLog.ENTITY_CUSTOMER);
+        assertThat(event.entityId()).isEqualTo(id.toString());
+        assertThat(event.httpMethod()).isEqualTo("PUT");
+        assertThat(event.httpStatus()).isEqualTo(200);
+        assertThat(event.mutating()).isTrue();
+        assertThat(event.ipAddress()).isEqualTo("10.0.0.1");
+        assertThat(event.username()).isNull();
+    }
+
+    @Test
+    @DisplayName("Нэртэй path variable нь controller-оос үл хамааран объектыг тодорхойлно")
+    void afterCompletion_ResolvesEntityFromNamedVariable() {
+        UUID applicationId = UUID.randomUUID();
+
+        handle(request("POST", Map.of("applicationId", applicationId.toString())),
+                handler(new CustomerController(null), "createCustomer"), null);
+
+        assertThat(recorded).hasSize(1);
+        assertThat(recorded.get(0).activityType()).isEqualTo("CREATE_CUSTOMER");
+        assertThat(recorded.get(0).entityType()).isEqualTo(ActivityLog.ENTITY_LOAN_APPLICATION);
+        assertThat(recorded.get(0).entityId()).isEqualTo(applicationId.toString());
+    }
+
+    @Test
+    @DisplayName("Алдаатай дууссан хүсэлт 2xx статустай байсан ч 500 гэж бүртгэгдэнэ")
+    void afterCompletion_MapsExceptionTo500() {
+        handle(request("DELETE", Map.of()), handler(new CustomerController(null), "deleteCustomer"),
+                new IllegalStateException("boom"));
+
+        assertThat(recorded).hasSize(1);
+        assertThat(recorded.get(0).httpStatus()).isEqualTo(500);
+        assertThat(recorded.get(0).entityId()).isNull();
+    }
+
+    @Test
+    @DisplayName("GET хүсэлт log-reads идэвхгүй бол бүртгэгдэхгүй, идэвхтэй бол mutating=false")
+    void afterCompletion_LogsReadsOnlyWhenEnabled() {
+        HandlerMethod getCustomer = handler(new CustomerController(null), "getCustomer");
+
+        handle(request("GET", Map.of("id", UUID.randomUUID().toString())), getCustomer, null);
+        assertThat(recorded).isEmpty();
+
+        ReflectionTestUtils.setField(interceptor, "logReads", true);
+        handle(request("GET", Map.of("id", UUID.randomUUID().toString())), getCustomer, null);
+
+        assertThat(recorded).hasSize(1);
+        assertThat(recorded.get(0).activityType()).isEqualTo("GET_CUSTOMER");
+        assertThat(recorded.get(0).mutating()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Health endpoint болон идэвхгүй үед юу ч бүртгэгдэхгүй")
+    void afterCompletion_SkipsHealthAndDisabled() {
+        ReflectionTestUtils.setField(interceptor, "logReads", true);
+        handle(request("GET", Map.of()), handler(new HealthController(), "health"), null);
+
+        ReflectionTestUtils.setField(interceptor, "enabled", false);
+        handle(request("POST", Map.of()), handler(new CustomerController(null), "createCustomer"), null);
+
+        assertThat(recorded).isEmpty();
+    }
+}
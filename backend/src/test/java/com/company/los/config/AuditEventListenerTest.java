@@ -0,0 +1,136 @@
+package com.company.los.config;
+
+import com.company.los.entity.AuditLog;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.User;
+import com.company.los.service.AuditTrailService;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hibernate event-ээс талбарын diff гаргах - зөвхөн өөрчлөгдсөн талбар, хасагдах/нуугдах талбарууд
+ */
+@DisplayName("AuditEventListener Tests")
+class AuditEventListenerTest {
+
+    private static final UUID ID = UUID.randomUUID();
+    private static final String[] LOAN_PROPERTIES =
+            {"status", "requestedAmount", "customer", "documents", "version", "updatedAt", "updatedBy"};
+
+    private final List<AuditTrailService.Change> captured = new ArrayList<>();
+    private AuditEventListener listener;
+    private EventSource session;
+    private Type basicType;
+    private Type entityType;
+    private Type collectionType;
+
+    @BeforeEach
+    void setUp() {
+        AuditTrailService auditTrailService = mock(AuditTrailService.class);
+        when(auditTrailService.capture(any())).thenAnswer(invocation -> captured.add(invocation.getArgument(0)));
+        listener = new AuditEventListener(null, auditTrailService);
+
+        session = mock(EventSource.class);
+        basicType = mock(Type.class);
+        entityType = mock(Type.class);
+        when(entityType.isEntityType()).thenReturn(true);
+        collectionType = mock(Type.class);
+        when(collectionType.isCollectionType()).thenReturn(true);
+    }
+
+    private EntityPersister persister(Class<?> entityClass, String[] names, Type... types) {
+        EntityPersister persister = mock(EntityPersister.class);
+        doReturn(entityClass).when(persister).getMappedClass();
+        when(persister.getPropertyNames()).thenReturn(names);
+        when(persister.getPropertyTypes()).thenReturn(types);
+        return persister;
+    }
+
+    private EntityPersister loanPersister() {
+        return persister(LoanApplication.class, LOAN_PROPERTIES,
+                basicType, basicType, entityType, collectionType, basicType, basicType, basicType);
+    }
+
+    @Test
+    @DisplayName("Update: зөвхөн утга нь өөрчлөгдсөн dirty талбарыг бүртгэж, version/updatedAt-ийг алгасна")
+    void onPostUpdate_CapturesOnlyChangedFields() {
+        Object[] oldState = {"SUBMITTED", 1000000, "c-1", List.of(), 3L, "t1", "alice"};
+        Object[] state = {"APPROVED", 1000000, "c-1", List.of("d"), 4L, "t2", "bob"};
+
+        listener.onPostUpdate(new PostUpdateEvent(new LoanApplication(), ID, state, oldState,
+                new int[]{0, 1, 3, 4, 5, 6}, loanPersister(), session));
+
+        assertThat(captured).hasSize(1);
+        AuditTrailService.Change change = captured.get(0);
+        assertThat(change.tableName()).isEqualTo(AuditLog.TABLE_LOAN_APPLICATIONS);
+        assertThat(change.recordId()).isEqualTo(ID.toString());
+        assertThat(change.action()).isEqualTo(AuditLog.ACTION_UPDATE);
+        assertThat(change.oldValues()).containsExactly(entry("status", "SUBMITTED"));
+        assertThat(change.newValues()).containsExactly(entry("status", "APPROVED"));
+        assertThat(change.changedBy()).isEqualTo("system");
+    }
+
+    @Test
+    @DisplayName("Update: зөвхөн version/updatedAt өөрчлөгдсөн бол аудит бичигдэхгүй")
+    void onPostUpdate_SkipsBookkeepingOnlyChanges() {
+        Object[] oldState = {"SUBMITTED", 1000000, "c-1", List.of(), 3L, "t1", "alice"};
+        Object[] state = {"SUBMITTED", 1000000, "c-1", List.of(), 4L, "t2", "alice"};
+
+        listener.onPostUpdate(new PostUpdateEvent(new LoanApplication(), ID, state, oldState,
+                new int[]{4, 5}, loanPersister(), session));
+
+        assertThat(captured).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Insert: холбоос entity нь ID болж, collection болон нууц үг бичигдэхгүй")
+    void onPostInsert_NormalizesAssociationsAndMasksSecrets() {
+        Object customer = new Object();
+        when(session.getContextEntityIdentifier(customer)).thenReturn(ID);
+        EntityPersister persister = persister(User.class,
+                new String[]{"username", "passwordHash", "customer", "roles", "version"},
+                basicType, basicType, entityType, collectionType, basicType);
+
+        listener.onPostInsert(new PostInsertEvent(new User(), ID,
+                new Object[]{"officer", "$2a$10$hash", customer, List.of("ROLE"), 0L}, persister, session));
+
+        assertThat(captured).hasSize(1);
+        AuditTrailService.Change change = captured.get(0);
+        assertThat(change.tableName()).isEqualTo(AuditLog.TABLE_USERS);
+        assertThat(change.action()).isEqualTo(AuditLog.ACTION_INSERT);
+        assertThat(change.oldValues()).isEmpty();
+        assertThat(change.newValues()).containsExactly(
+                entry("username", "officer"), entry("passwordHash", "***"), entry("customer", ID.toString()));
+    }
+
+    @Test
+    @DisplayName("Delete: устгагдсан мөрийн утгыг oldValues-д хадгална")
+    void onPostDelete_CapturesDeletedState() {
+        Object[] deletedState = {"REJECTED", 500000, null, List.of(), 2L, "t1", "alice"};
+
+        listener.onPostDelete(new PostDeleteEvent(new LoanApplication(), ID, deletedState, loanPersister(), session));
+
+        assertThat(captured).hasSize(1);
+        Map<String, Object> oldValues = captured.get(0).oldValues();
+        assertThat(captured.get(0).action()).isEqualTo(AuditLog.ACTION_DELETE);
+        assertThat(oldValues).containsEntry("status", "REJECTED").containsEntry("requestedAmount", 500000)
+                .containsEntry("customer", null);
+        assertThat(oldValues).doesNotContainKey("version");
+        assertThat(captured.get(0).newValues()).isEmpty();
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -180,6 +181,27 @@ class CustomerControllerTest {
         verify(customerService, times(1)).getCustomerById(customerId);
     }
 
+    @Test
+    @DisplayName("GET /customers/{id} - Should return 304 when If-None-Match matches")
+    @WithMockUser(authorities = "customer:view")
+    void getCustomerById_ShouldReturn304WhenETagMatches() throws Exception {
+        // Given
+        UUID customerId = testCustomerDto.getId();
+        String etag = "W/\"18f3a2b4c5d\"";
+        when(customerService.getCustomerETag(customerId)).thenReturn(etag);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/customers/{id}", customerId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpectAll(
+                    status().isNotModified(),
+                    header().string(HttpHeaders.ETAG, etag),
+                    content().string("")
+                );
+
+        verify(customerService, never()).getCustomerById(any());
+    }
+
     @Test
     @DisplayName("POST /customers - Should create new customer")
     @WithMockUser(authorities = "customer:create") // ⭐ AUTHORITIES-ээр тохируулсан ⭐
@@ -0,0 +1,144 @@
+package com.company.los.repository;
+
+import com.company.los.util.DatabaseDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Баримт хянах lease-ийн SQL - FOR UPDATE SKIP LOCKED сонголт ба H2 дээрх хоёр statement-ийн claim
+ */
+@DisplayName("DocumentReviewLeaseRepository Tests")
+class DocumentReviewLeaseRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 8, 10, 9, 0);
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+    private static final UUID DOCUMENT_TYPE_ID = UUID.randomUUID();
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DocumentReviewLeaseRepository repository;
+    private List<UUID> documents;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:review" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new DocumentReviewLeaseRepository(jdbcTemplate);
+        jdbcTemplate.update("INSERT INTO customers (id, customer_type, register_number, phone) " +
+                "VALUES (?, 'INDIVIDUAL', 'УБ99010101', '99001122')", CUSTOMER_ID);
+        jdbcTemplate.update("INSERT INTO document_types (id, name) VALUES (?, 'Иргэний үнэмлэх')", DOCUMENT_TYPE_ID);
+
+        // Upload хийсэн дарааллаар: 0 нь хамгийн эрт
+        documents = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            documents.add(insertDocument(BASE.plusMinutes(i), "PENDING"));
+        }
+        insertDocument(BASE.minusDays(1), "APPROVED");
+    }
+
+    private UUID insertDocument(LocalDateTime uploadedAt, String verificationStatus) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO documents (id, customer_id, document_type_id, file_name, original_filename, " +
+                "stored_filename, file_path, content_type, file_size, verification_status, status, uploaded_at) " +
+                "VALUES (?, ?, ?, 'f.pdf', 'f.pdf', 'f.pdf', '/tmp/f.pdf', 'application/pdf', 10, ?, ?, ?)",
+                id, CUSTOMER_ID, DOCUMENT_TYPE_ID, verificationStatus, verificationStatus,
+                Timestamp.valueOf(uploadedAt));
+        return id;
+    }
+
+    private String ownerOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT verified_by FROM documents WHERE id = ?", String.class, id);
+    }
+
+    @Test
+    @DisplayName("H2 дээр fallback замаар хамгийн эрт upload хийсэн хүлээгдэж буй баримтуудыг давхардуулалгүй олгоно")
+    void claimNext_FallbackClaimsOldestPendingOnce() {
+        LocalDateTime now = BASE.plusHours(1);
+
+        List<UUID> first = repository.claimNext("reviewer1", 2, now, now.plusMinutes(15));
+        List<UUID> second = repository.claimNext("reviewer2", 5, now, now.plusMinutes(15));
+
+        assertThat(DatabaseDialect.isPostgres(jdbcTemplate)).isFalse();
+        assertThat(first).containsExactly(documents.get(0), documents.get(1));
+        assertThat(second).containsExactly(documents.get(2), documents.get(3));
+        assertThat(ownerOf(documents.get(0))).isEqualTo("reviewer1");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM documents WHERE id = ?", Long.class,
+                documents.get(0))).isEqualTo(1L);
+        assertThat(repository.countActiveLeases(now)).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Өөр transaction түгжсэн мөрийг SKIP LOCKED сонголт хүлээлгүй алгасна")
+    void claimNext_SkipsRowsLockedByAnotherTransaction() throws Exception {
+        LocalDateTime now = BASE.plusHours(1);
+
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (PreparedStatement lock = holder.prepareStatement("SELECT id FROM documents WHERE id = ? FOR UPDATE")) {
+                lock.setObject(1, documents.get(0));
+                try (ResultSet rs = lock.executeQuery()) {
+                    assertThat(rs.next()).isTrue();
+                }
+            }
+
+            List<UUID> claimed = repository.claimNext("reviewer1", 2, now, now.plusMinutes(15));
+
+            assertThat(claimed).containsExactly(documents.get(1), documents.get(2));
+            holder.rollback();
+        }
+
+        // Түгжээ чөлөөлөгдсөний дараа алгассан мөр дараагийн claim-д орно
+        assertThat(repository.claimNext("reviewer2", 5, now, now.plusMinutes(15)))
+                .containsExactly(documents.get(0), documents.get(3));
+    }
+
+    @Test
+    @DisplayName("Lease-ийг зөвхөн эзэмшигч сунгаж, хугацаа дууссаны дараа өөр reviewer авч чадна")
+    void leaseLifecycle_OwnerOnlyUntilExpiry() {
+        UUID id = documents.get(0);
+        LocalDateTime now = BASE.plusHours(1);
+        assertThat(repository.claim(id, "reviewer1", now, now.plusMinutes(15))).isTrue();
+
+        assertThat(repository.claim(id, "reviewer2", now.plusMinutes(5), now.plusMinutes(20))).isFalse();
+        assertThat(repository.renew(id, "reviewer2", now.plusMinutes(5), now.plusMinutes(20))).isFalse();
+        assertThat(repository.renew(id, "reviewer1", now.plusMinutes(5), now.plusMinutes(20))).isTrue();
+
+        LocalDateTime afterExpiry = now.plusMinutes(21);
+        assertThat(repository.claim(id, "reviewer2", afterExpiry, afterExpiry.plusMinutes(15))).isTrue();
+        assertThat(ownerOf(id)).isEqualTo("reviewer2");
+        assertThat(repository.release(id, "reviewer1", afterExpiry)).isFalse();
+        assertThat(repository.release(id, "reviewer2", afterExpiry)).isTrue();
+        assertThat(ownerOf(id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Хугацаа дууссан lease-үүд хүлээгдэж буй төлөвт буцна")
+    void expireLeases_ReturnsExpiredToQueue() {
+        LocalDateTime now = BASE.plusHours(1);
+        repository.claimNext("reviewer1", 2, now, now.plusMinutes(15));
+        repository.claim(documents.get(2), "reviewer2", now, now.plusMinutes(60));
+
+        assertThat(repository.expireLeases(now.plusMinutes(30))).isEqualTo(2);
+        assertThat(repository.countActiveLeases(now.plusMinutes(30))).isEqualTo(1L);
+        assertThat(repository.claimNext("reviewer3", 5, now.plusMinutes(30), now.plusMinutes(45)))
+                .containsExactly(documents.get(0), documents.get(1), documents.get(3));
+    }
+}
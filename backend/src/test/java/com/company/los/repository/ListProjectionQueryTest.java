@@ -0,0 +1,119 @@
+package com.company.los.repository;
+
+import com.company.los.dto.LoanApplicationDto;
+import com.company.los.entity.Customer;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanProduct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Жагсаалтын projection query-ийн SQL statement тоо
+ *
+ * Хуудас бүр хэмжээнээсээ үл хамааран яг SELECT + COUNT (2 statement) гүйцэтгэх ёстой.
+ * Entity-ээр уншвал мөр бүрт customer, loanProduct LAZY ачаалагдаж N+1 болно.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:listquerytest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("List projection query statement count")
+class ListProjectionQueryTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Customer customer = new Customer();
+            customer.setCustomerType(Customer.CustomerType.INDIVIDUAL);
+            customer.setFirstName("Нэр" + i);
+            customer.setLastName("Овог" + i);
+            customer.setRegisterNumber("УБ9001010" + i);
+            customer.setPhone("9911000" + i);
+            customer.setEmail("list" + i + "@test.com");
+            entityManager.persist(customer);
+
+            LoanProduct product = new LoanProduct();
+            product.setName("Бүтээгдэхүүн " + i);
+            product.setLoanType(LoanProduct.LoanType.PERSONAL);
+            product.setMinAmount(new BigDecimal("100000"));
+            product.setMaxAmount(new BigDecimal("50000000"));
+            product.setMinTermMonths(1);
+            product.setMaxTermMonths(60);
+            entityManager.persist(product);
+
+            LoanApplication application = new LoanApplication();
+            application.setCustomer(customer);
+            application.setLoanProduct(product);
+            application.setApplicationNumber("LN-LIST-" + i);
+            application.setLoanType(LoanApplication.LoanType.PERSONAL);
+            application.setRequestedAmount(new BigDecimal("1000000"));
+            application.setRequestedTermMonths(12);
+            entityManager.persist(application);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Projection хуудас бүр SELECT + COUNT-оор уншигдана")
+    void findListItems_FixedStatementsPerPage() {
+        for (int size = 1; size < ROWS; size++) {
+            statistics.clear();
+
+            Page<LoanApplicationDto> page = loanApplicationRepository
+                    .findListItems(PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")))
+                    .map(LoanApplicationDto::fromListItem);
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getTotalElements()).isEqualTo(ROWS);
+            assertThat(page.getContent()).allSatisfy(dto -> {
+                assertThat(dto.getCustomerName()).isNotBlank();
+                assertThat(dto.getLoanProductName()).isNotBlank();
+            });
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Entity-ээр уншихад мөр бүрт нэмэлт query гарна")
+    void findAll_LoadsAssociationsPerRow() {
+        loanApplicationRepository.findAll(PageRequest.of(0, 3))
+                .map(LoanApplicationDto::fromEntity);
+
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(2);
+    }
+}
@@ -0,0 +1,133 @@
+package com.company.los.repository;
+
+import com.company.los.entity.Customer;
+import com.company.los.entity.Document;
+import com.company.los.entity.DocumentType;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @Version-той entity-ийн @SQLDelete - id болон version хоёуланг bind хийж мөрийг is_deleted болгоно
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:softdeletetest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never",
+    "spring.flyway.enabled=false"
+})
+@DisplayName("Soft delete with optimistic locking")
+class SoftDeleteTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Customer customer;
+    private LoanApplication application;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setCustomerType(Customer.CustomerType.INDIVIDUAL);
+        customer.setFirstName("Бат");
+        customer.setLastName("Дорж");
+        customer.setRegisterNumber("УБ90010101");
+        customer.setPhone("99110001");
+        customer.setEmail("softdelete@test.com");
+        entityManager.persist(customer);
+
+        LoanProduct product = new LoanProduct();
+        product.setName("Хэрэглээний зээл");
+        product.setLoanType(LoanProduct.LoanType.PERSONAL);
+        product.setMinAmount(new BigDecimal("100000"));
+        product.setMaxAmount(new BigDecimal("50000000"));
+        product.setMinTermMonths(1);
+        product.setMaxTermMonths(60);
+        entityManager.persist(product);
+
+        application = new LoanApplication();
+        application.setCustomer(customer);
+        application.setLoanProduct(product);
+        application.setApplicationNumber("LN-SOFT-1");
+        application.setLoanType(LoanApplication.LoanType.PERSONAL);
+        application.setRequestedAmount(new BigDecimal("1000000"));
+        application.setRequestedTermMonths(12);
+        entityManager.persist(application);
+
+        DocumentType documentType = new DocumentType("SOFT_DELETE_ID", "Иргэний үнэмлэх", true);
+        entityManager.persist(documentType);
+
+        document = new Document(customer, documentType, "passport.pdf", "passport-1.pdf", "/tmp/passport-1.pdf",
+                "application/pdf", 1024L);
+        entityManager.persist(document);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Object[] deletedRow(String table, UUID id) {
+        return (Object[]) entityManager.getEntityManager()
+                .createNativeQuery("SELECT is_deleted, version FROM " + table + " WHERE id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+
+    private void assertSoftDeleted(String table, UUID id) {
+        Object[] row = deletedRow(table, id);
+        assertThat(row[0]).isEqualTo(Boolean.TRUE);
+        assertThat(((Number) row[1]).longValue()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Харилцагчийг устгахад мөр is_deleted болж version нэмэгдэнэ")
+    void deleteCustomer_MarksRowDeleted() {
+        customerRepository.delete(customerRepository.findById(customer.getId()).orElseThrow());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertSoftDeleted("customers", customer.getId());
+        assertThat(customerRepository.findById(customer.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Зээлийн хүсэлтийг устгахад мөр is_deleted болж version нэмэгдэнэ")
+    void deleteLoanApplication_MarksRowDeleted() {
+        loanApplicationRepository.delete(loanApplicationRepository.findById(application.getId()).orElseThrow());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertSoftDeleted("loan_applications", application.getId());
+        assertThat(loanApplicationRepository.findById(application.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Баримтыг устгахад мөр is_deleted болж version нэмэгдэнэ")
+    void deleteDocument_MarksRowDeleted() {
+        documentRepository.delete(documentRepository.findById(document.getId()).orElseThrow());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertSoftDeleted("documents", document.getId());
+        assertThat(documentRepository.findById(document.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,124 @@
+package com.company.los.service;
+
+import com.company.los.entity.ActivityLog;
+import com.company.los.service.impl.ActivityLogServiceImpl;
+import com.company.los.util.MpscRingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Үйл ажиллагааны лог - дүүрэлтийн үеийн sample/drop тоолуур, batch бичилт (H2)
+ */
+@DisplayName("ActivityLogService Tests")
+class ActivityLogServiceTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private ActivityLogServiceImpl activityLogService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:activity" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Flusher-гүй: buffer 8, 6 хүлээгдэж буй үйлдлээс дээш уншилтын 3-т нэгийг авна
+        activityLogService = new ActivityLogServiceImpl(jdbcTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(activityLogService, "buffer", new MpscRingBuffer<ActivityLogService.Event>(8));
+        ReflectionTestUtils.setField(activityLogService, "sampleFrom", 6);
+        ReflectionTestUtils.setField(activityLogService, "sampleRate", 3);
+        ReflectionTestUtils.setField(activityLogService, "batchSize", 5);
+    }
+
+    private static ActivityLogService.Event event(String method, int status, boolean mutating) {
+        return new ActivityLogService.Event(null, "officer", method + "_CUSTOMER", ActivityLog.ENTITY_CUSTOMER,
+                CUSTOMER_ID.toString(), method, "/api/v1/customers/" + CUSTOMER_ID, status, 12, mutating,
+                "10.0.0.1", "JUnit", null, LocalDateTime.now());
+    }
+
+    private int flushOnce() {
+        Integer count = ReflectionTestUtils.invokeMethod(activityLogService, "flushOnce", new ArrayList<>());
+        return count;
+    }
+
+    @Test
+    @DisplayName("Buffer дүүрэх үед уншилтыг sample хийж, бүрэн дүүрвэл өөрчлөх үйлдлийг ч хаяна")
+    void record_SamplesReadsThenDropsWhenFull() {
+        for (int i = 0; i < 6; i++) {
+            assertThat(activityLogService.record(event("UPDATE", 200, true))).isTrue();
+        }
+
+        List<Boolean> reads = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            reads.add(activityLogService.record(event("GET", 200, false)));
+        }
+        boolean overflow = activityLogService.record(event("UPDATE", 200, true));
+
+        assertThat(reads).containsExactly(false, false, true, false, false, true);
+        assertThat(overflow).isFalse();
+        assertThat(activityLogService.getStatistics())
+                .containsEntry("recorded", 8L)
+                .containsEntry("sampledOut", 4L)
+                .containsEntry("dropped", 1L)
+                .containsEntry("pending", 8);
+    }
+
+    @Test
+    @DisplayName("Дүүрэлт босгоос доош бол уншилт бүр бүртгэгдэнэ")
+    void record_KeepsAllReadsBelowThreshold() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(activityLogService.record(event("GET", 200, false))).isTrue();
+        }
+
+        assertThat(activityLogService.getStatistics())
+                .containsEntry("recorded", 5L)
+                .containsEntry("sampledOut", 0L);
+    }
+
+    @Test
+    @DisplayName("Flusher batch-size хүртэл нэг batch-аар бичиж, статусаас severity тооцно")
+    void flush_WritesBatchesWithSeverity() {
+        activityLogService.record(event("UPDATE", 200, true));
+        activityLogService.record(event("UPDATE", 404, true));
+        activityLogService.record(event("DELETE", 503, true));
+        for (int i = 0; i < 4; i++) {
+            activityLogService.record(event("CREATE", 201, true));
+        }
+
+        assertThat(flushOnce()).isEqualTo(5);
+        assertThat(flushOnce()).isEqualTo(2);
+        assertThat(flushOnce()).isZero();
+
+        assertThat(activityLogService.getStatistics())
+                .containsEntry("written", 7L)
+                .containsEntry("failed", 0L)
+                .containsEntry("pending", 0);
+        assertThat(jdbcTemplate.queryForList("SELECT severity FROM activity_logs WHERE activity_type <> 'CREATE_CUSTOMER' " +
+                "ORDER BY activity_type, severity", String.class)).containsExactly("ERROR", "INFO", "WARN");
+
+        List<Map<String, Object>> activity = activityLogService.getEntityActivity(
+                ActivityLog.ENTITY_CUSTOMER, CUSTOMER_ID, null, 10);
+        assertThat(activity).hasSize(7);
+        for (Map<String, Object> entry : activity) {
+            assertThat((String) entry.get("description")).endsWith(" /api/v1/customers/" + CUSTOMER_ID);
+            assertThat(((Map<?, ?>) entry.get("details")).get("username")).isEqualTo("officer");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.company.los.service;
+
+import com.company.los.service.impl.ApplicationNumberServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Зээлийн хүсэлтийн дугаар - hi/lo блок нөөцлөлт, олон thread/node-ийн давхардалгүй байдал, жил солигдох (H2)
+ */
+@DisplayName("ApplicationNumberService Tests")
+class ApplicationNumberServiceTest {
+
+    private static final int BLOCK_SIZE = 3;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicInteger year = new AtomicInteger(2025);
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:numbers" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Нэг node - өгөгдлийн сан хуваалцсан тусдаа instance
+     */
+    private ApplicationNumberServiceImpl newNode(int blockSize) {
+        ApplicationNumberServiceImpl node = new ApplicationNumberServiceImpl(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource)) {
+            @Override
+            protected int currentYear() {
+                return year.get();
+            }
+        };
+        ReflectionTestUtils.setField(node, "prefix", "LN");
+        ReflectionTestUtils.setField(node, "blockSize", blockSize);
+        return node;
+    }
+
+    private Long sequenceValue(String key) {
+        return jdbcTemplate.queryForObject("SELECT next_value FROM number_sequences WHERE sequence_key = ?",
+                Long.class, key);
+    }
+
+    @Test
+    @DisplayName("Блок дуусахад дараагийн блокийг нөөцөлж, дугаар дараалан үргэлжилнэ")
+    void nextApplicationNumber_RefillsBlockWhenExhausted() {
+        ApplicationNumberServiceImpl node = newNode(BLOCK_SIZE);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            numbers.add(node.nextApplicationNumber());
+        }
+
+        assertThat(numbers).containsExactly("LN-2025-000001", "LN-2025-000002", "LN-2025-000003",
+                "LN-2025-000004", "LN-2025-000005", "LN-2025-000006", "LN-2025-000007");
+        assertThat(sequenceValue("LN-2025")).isEqualTo(9L);
+        assertThat(node.getStatistics())
+                .containsEntry("issued", 7L)
+                .containsEntry("blocksReserved", 3L)
+                .containsEntry("blockLast", 9L)
+                .containsEntry("remainingInBlock", 2L);
+
+        // Өөр node дараагийн блокоос эхэлнэ; энэ node-ийн үлдсэн 8, 9 давхцахгүй
+        assertThat(newNode(BLOCK_SIZE).nextApplicationNumber()).isEqualTo("LN-2025-000010");
+        assertThat(node.nextApplicationNumber()).isEqualTo("LN-2025-000008");
+    }
+
+    @Test
+    @DisplayName("Олон thread, хоёр node зэрэг авахад блокийн зааг дээр ч дугаар давхардахгүй")
+    void nextApplicationNumber_UniqueUnderConcurrentAllocation() throws Exception {
+        List<ApplicationNumberServiceImpl> nodes = List.of(newNode(BLOCK_SIZE), newNode(BLOCK_SIZE));
+        int threads = 8;
+        int perThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                ApplicationNumberServiceImpl node = nodes.get(t % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> numbers = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(node.nextApplicationNumber());
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            List<String> all = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                all.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            Set<String> unique = new HashSet<>(all);
+
+            assertThat(all).hasSize(threads * perThread);
+            assertThat(unique).hasSize(all.size());
+            // Нөөцөлсөн блокууд хүснэгтийн утгыг яг блокийн тоогоор нэмэгдүүлсэн
+            long blocks = nodes.stream().mapToLong(node -> (Long) node.getStatistics().get("blocksReserved")).sum();
+            assertThat(sequenceValue("LN-2025")).isEqualTo(blocks * BLOCK_SIZE);
+            long highest = all.stream()
+                    .mapToLong(number -> Long.parseLong(number.substring("LN-2025-".length())))
+                    .max().orElse(0);
+            assertThat(highest).isLessThanOrEqualTo(blocks * BLOCK_SIZE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Жил солигдоход хуучин блокийн үлдэгдлийг орхиж шинэ жилийн 1-ээс эхэлнэ")
+    void nextApplicationNumber_StartsOverOnNewYear() {
+        ApplicationNumberServiceImpl node = newNode(BLOCK_SIZE);
+        assertThat(node.nextApplicationNumber()).isEqualTo("LN-2025-000001");
+
+        year.set(2026);
+
+        assertThat(node.nextApplicationNumber()).isEqualTo("LN-2026-000001");
+        assertThat(node.nextApplicationNumber()).isEqualTo("LN-2026-000002");
+        assertThat(sequenceValue("LN-2025")).isEqualTo(3L);
+        assertThat(sequenceValue("LN-2026")).isEqualTo(3L);
+        assertThat(node.getStatistics()).containsEntry("sequenceKey", "LN-2026");
+    }
+}
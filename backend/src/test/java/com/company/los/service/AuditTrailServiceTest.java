@@ -0,0 +1,145 @@
+package com.company.los.service;
+
+import com.company.los.entity.AuditLog;
+import com.company.los.service.impl.AuditTrailServiceImpl;
+import com.company.los.util.MpscRingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Аудитын ring buffer - дүүрэхэд хаях, flusher-ийн batch бичилт, зогсоохдоо үлдэгдлийг бичих (H2)
+ */
+@DisplayName("AuditTrailService Tests")
+class AuditTrailServiceTest {
+
+    private static final UUID RECORD_ID = UUID.randomUUID();
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditTrailServiceImpl auditTrailService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        auditTrailService = new AuditTrailServiceImpl(jdbcTemplate, new ObjectMapper());
+    }
+
+    private static AuditTrailService.Change change(int sequence) {
+        return new AuditTrailService.Change(AuditLog.TABLE_LOAN_APPLICATIONS, RECORD_ID.toString(),
+                AuditLog.ACTION_UPDATE, Map.of("requestedAmount", sequence), Map.of("requestedAmount", sequence + 1),
+                "officer", LocalDateTime.of(2025, 8, 10, 9, 0).plusSeconds(sequence), "10.0.0.1", "JUnit", null);
+    }
+
+    private int flushOnce() {
+        List<AuditTrailService.Change> batch = new ArrayList<>();
+        Integer count = ReflectionTestUtils.invokeMethod(auditTrailService, "flushOnce", batch);
+        return count;
+    }
+
+    private int auditRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+
+    @Test
+    @DisplayName("Buffer дүүрвэл шинэ өөрчлөлтийг хаяж, flusher batch-size-аар бичнэ")
+    void capture_DropsWhenFullAndFlushesInBatches() {
+        ReflectionTestUtils.setField(auditTrailService, "buffer", new MpscRingBuffer<AuditTrailService.Change>(8));
+        ReflectionTestUtils.setField(auditTrailService, "batchSize", 5);
+
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            accepted.add(auditTrailService.capture(change(i)));
+        }
+
+        assertThat(accepted).containsExactly(true, true, true, true, true, true, true, true, false, false);
+        assertThat(auditTrailService.getStatistics())
+                .containsEntry("captured", 8L)
+                .containsEntry("dropped", 2L)
+                .containsEntry("pending", 8);
+
+        assertThat(flushOnce()).isEqualTo(5);
+        assertThat(auditRows()).isEqualTo(5);
+        assertThat(flushOnce()).isEqualTo(3);
+        assertThat(flushOnce()).isZero();
+
+        assertThat(auditTrailService.getStatistics())
+                .containsEntry("written", 8L)
+                .containsEntry("batches", 2L)
+                .containsEntry("failed", 0L)
+                .containsEntry("pending", 0);
+        assertThat(auditRows()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Бичилт амжилтгүй бол failed тоолуур нэмэгдэж, flusher үргэлжилнэ")
+    void flush_CountsFailedBatches() {
+        ReflectionTestUtils.setField(auditTrailService, "buffer", new MpscRingBuffer<AuditTrailService.Change>(8));
+        jdbcTemplate.execute("DROP TABLE audit_logs");
+
+        auditTrailService.capture(change(1));
+        auditTrailService.capture(change(2));
+
+        assertThat(flushOnce()).isEqualTo(2);
+        assertThat(auditTrailService.getStatistics())
+                .containsEntry("failed", 2L)
+                .containsEntry("written", 0L)
+                .containsEntry("pending", 0);
+    }
+
+    @Test
+    @DisplayName("Batch-ийн нэг мөр буруу бол бусад мөрийг нэг бүрчлэн бичиж, зөвхөн бурууг хаяна")
+    void flush_FallsBackToRowByRowOnBatchFailure() {
+        ReflectionTestUtils.setField(auditTrailService, "buffer", new MpscRingBuffer<AuditTrailService.Change>(8));
+        auditTrailService.capture(change(1));
+        auditTrailService.capture(new AuditTrailService.Change(AuditLog.TABLE_LOAN_APPLICATIONS, RECORD_ID.toString(),
+                "MERGE", null, null, "officer", LocalDateTime.of(2025, 8, 10, 9, 0), null, null, null));
+        auditTrailService.capture(change(3));
+
+        assertThat(flushOnce()).isEqualTo(3);
+
+        assertThat(auditRows()).isEqualTo(2);
+        assertThat(auditTrailService.getStatistics())
+                .containsEntry("written", 2L)
+                .containsEntry("failed", 1L)
+                .containsEntry("pending", 0);
+    }
+
+    @Test
+    @DisplayName("Зогсоохдоо buffer-т үлдсэн өөрчлөлтийг бичиж дуусгаад, түүхийг талбараар буцаана")
+    void stop_DrainsPendingChanges() {
+        ReflectionTestUtils.setField(auditTrailService, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(auditTrailService, "start");
+        for (int i = 0; i < 3; i++) {
+            auditTrailService.capture(change(i));
+        }
+
+        ReflectionTestUtils.invokeMethod(auditTrailService, "stop");
+
+        assertThat(auditRows()).isEqualTo(3);
+        List<Map<String, Object>> history = auditTrailService.getAuditHistory(
+                AuditLog.TABLE_LOAN_APPLICATIONS, RECORD_ID, 10);
+        assertThat(history).hasSize(3);
+        assertThat(history.get(0))
+                .containsEntry("action", AuditLog.ACTION_UPDATE)
+                .containsEntry("changedBy", "officer")
+                .containsEntry("changedAt", LocalDateTime.of(2025, 8, 10, 9, 0, 2))
+                .containsEntry("changes", List.of(Map.of("field", "requestedAmount", "oldValue", 2, "newValue", 3)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.company.los.service;
+
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.RollupChangeListener;
+import com.company.los.service.impl.DashboardRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Dashboard rollup - өөрчлөгдсөн өдрүүдийн delta, шийдвэрийн өдөр шилжих, refresh/rebuild-ийн түгжээ (H2)
+ */
+@DisplayName("DashboardRollupService Tests")
+class DashboardRollupServiceTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 8, 1, 9, 0);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 8, 4);
+    private static final LocalDate SECOND_DAY = LocalDate.of(2025, 8, 6);
+
+    private JdbcTemplate jdbcTemplate;
+    private DashboardRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:rollup" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO customers (id, customer_type, register_number, phone, province) " +
+                "VALUES (?, 'INDIVIDUAL', 'УБ90010101', '99110001', 'Улаанбаатар')", CUSTOMER_ID);
+        jdbcTemplate.update("INSERT INTO loan_products (id, name, loan_type, min_amount, max_amount, min_term_months, " +
+                "max_term_months) VALUES (?, 'Хувийн зээл', 'PERSONAL', 100000, 50000000, 1, 60)", PRODUCT_ID);
+
+        for (String rollup : List.of(RollupChangeListener.LOAN_APPLICATIONS, RollupChangeListener.LOAN_DECISIONS,
+                RollupChangeListener.CUSTOMERS, RollupChangeListener.DOCUMENTS)) {
+            RollupChangeListener.drain(rollup);
+        }
+        rollupService = new DashboardRollupServiceImpl(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(rollupService, "watermarkOverlapSeconds", 0L);
+    }
+
+    private UUID insertApplication(String number, LocalDateTime approvedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO loan_applications (id, customer_id, loan_product_id, application_number, " +
+                        "loan_type, requested_amount, requested_term_months, status, approved_at, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, 'PERSONAL', 1000000, 12, 'APPROVED', ?, ?, ?)",
+                id, CUSTOMER_ID, PRODUCT_ID, number, Timestamp.valueOf(approvedAt), Timestamp.valueOf(CREATED),
+                Timestamp.valueOf(CREATED));
+        return id;
+    }
+
+    private Map<LocalDate, Long> approvalsByDay() {
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT stat_date, decision_count FROM loan_decision_daily_rollups WHERE decision = 'APPROVED'",
+                rs -> {
+                    counts.put(rs.getDate("stat_date").toLocalDate(), rs.getLong("decision_count"));
+                });
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Анхны refresh бүрэн үүсгэж, дараагийнх нь зөвхөн өөрчлөгдсөн өдрийг дахин тооцно")
+    void refreshRollups_RebuildsThenAppliesDelta() {
+        insertApplication("LN-2025-000001", FIRST_DAY.atTime(10, 0));
+
+        Map<String, Object> first = rollupService.refreshRollups();
+
+        assertThat(first.get(RollupChangeListener.LOAN_DECISIONS)).isEqualTo(-1);
+        assertThat(approvalsByDay()).containsExactly(entry(FIRST_DAY, 1L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT application_count FROM loan_application_daily_rollups WHERE stat_date = ?",
+                Long.class, Date.valueOf(CREATED.toLocalDate()))).isEqualTo(1L);
+
+        UUID second = insertApplication("LN-2025-000002", FIRST_DAY.atTime(15, 0));
+        jdbcTemplate.update("UPDATE loan_applications SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)), second);
+
+        Map<String, Object> delta = rollupService.refreshRollups();
+
+        assertThat(delta.get(RollupChangeListener.LOAN_DECISIONS)).isEqualTo(1);
+        assertThat(approvalsByDay()).containsExactly(entry(FIRST_DAY, 2L));
+    }
+
+    @Test
+    @DisplayName("Шийдвэрийн огноо өөр өдөрт шилжихэд хуучин өдрийн rollup мөр мөн засагдана")
+    void refreshRollups_RecomputesPreviousDecisionDay() {
+        UUID id = insertApplication("LN-2025-000001", FIRST_DAY.atTime(10, 0));
+        rollupService.refreshRollups();
+        assertThat(approvalsByDay()).containsExactly(entry(FIRST_DAY, 1L));
+
+        // Entity ачаалж, шийдвэрийн огноог өөрчилж flush хийсэн мэт
+        LoanApplication application = new LoanApplication();
+        application.setApprovedAt(FIRST_DAY.atTime(10, 0));
+        RollupChangeListener listener = new RollupChangeListener();
+        listener.onLoad(application);
+        application.setApprovedAt(SECOND_DAY.atTime(11, 0));
+        listener.onChange(application);
+        jdbcTemplate.update("UPDATE loan_applications SET approved_at = ?, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(SECOND_DAY.atTime(11, 0)), Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)), id);
+
+        Map<String, Object> delta = rollupService.refreshRollups();
+
+        assertThat(delta.get(RollupChangeListener.LOAN_DECISIONS)).isEqualTo(2);
+        assertThat(approvalsByDay()).containsExactly(entry(SECOND_DAY, 1L));
+    }
+
+    @Test
+    @DisplayName("Refresh ажиллаж байхад дахин refresh алгасагдаж, rebuildAll түүнийг дуустал хүлээнэ")
+    void rebuildAll_WaitsForRunningRefresh() throws Exception {
+        insertApplication("LN-2025-000001", FIRST_DAY.atTime(10, 0));
+        ReentrantLock lock = (ReentrantLock) ReflectionTestUtils.getField(rollupService, "refreshLock");
+
+        lock.lock();
+        CompletableFuture<Map<String, Object>> rebuild;
+        try {
+            assertThat(CompletableFuture.supplyAsync(rollupService::refreshRollups).get(5, TimeUnit.SECONDS))
+                    .containsEntry("skipped", true);
+
+            rebuild = CompletableFuture.supplyAsync(rollupService::rebuildAll);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!lock.hasQueuedThreads() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(lock.hasQueuedThreads()).isTrue();
+            assertThat(rebuild).isNotDone();
+        } finally {
+            lock.unlock();
+        }
+
+        assertThat(rebuild.get(5, TimeUnit.SECONDS)).containsEntry("rebuilt", true);
+        assertThat(approvalsByDay()).containsExactly(entry(FIRST_DAY, 1L));
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.los.service;
+
+import com.company.los.repository.DashboardRepository;
+import com.company.los.service.impl.DashboardServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * DashboardService Unit Test - зэрэг ачаалалт, хэсэгчилсэн хариу, cache
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DashboardService Tests")
+class DashboardServiceTest {
+
+    @Mock
+    private LoanApplicationService loanApplicationService;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private DashboardRepository dashboardRepository;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "widgetTimeoutMs", 300L);
+        ReflectionTestUtils.setField(dashboardService, "cacheTtlMs", 60000L);
+        ReflectionTestUtils.invokeMethod(dashboardService, "startExecutor");
+
+        given(loanApplicationService.getLoanApplicationStatistics()).willReturn(Map.of("totalApplications", 10L));
+        given(customerService.getCustomerStatistics()).willReturn(Map.of("totalCustomers", 5L));
+        given(documentService.getTodayDocumentStats()).willReturn(Map.of("uploadedToday", 2L));
+        given(dashboardRepository.getMainDashboardStats()).willReturn(new Object[]{5L, 10L, 3L, 4L, 1L, 7L, 2L, 6L});
+        given(dashboardRepository.getWeeklyTrends()).willReturn(Collections.emptyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(dashboardService, "stopExecutor");
+    }
+
+    @Test
+    @DisplayName("Бүх widget амжилттай - бүтэн хариу")
+    @SuppressWarnings("unchecked")
+    void getDashboard_AllWidgetsComplete() {
+        Map<String, Object> dashboard = dashboardService.getDashboard(false);
+
+        assertThat(dashboard.get("partial")).isEqualTo(false);
+        Map<String, Object> widgets = (Map<String, Object>) dashboard.get("widgets");
+        assertThat(widgets.get("loanApplications")).isEqualTo(Map.of("totalApplications", 10L));
+        assertThat((Map<String, Object>) widgets.get("overview")).containsEntry("totalApplications", 10L);
+    }
+
+    @Test
+    @DisplayName("Удаан widget хугацаа хэтэрвэл хэсэгчилсэн хариу буцаана")
+    @SuppressWarnings("unchecked")
+    void getDashboard_SlowWidget_ReturnsPartial() {
+        given(customerService.getCustomerStatistics()).willAnswer(invocation -> {
+            Thread.sleep(5000);
+            return Map.of();
+        });
+
+        long start = System.currentTimeMillis();
+        Map<String, Object> dashboard = dashboardService.getDashboard(false);
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(3000);
+        assertThat(dashboard.get("partial")).isEqualTo(true);
+        Map<String, String> status = (Map<String, String>) dashboard.get("widgetStatus");
+        assertThat(status).containsEntry("customers", "TIMEOUT").containsEntry("loanApplications", "OK");
+        assertThat((Map<String, Object>) dashboard.get("widgets")).doesNotContainKey("customers");
+    }
+
+    @Test
+    @DisplayName("Алдаатай widget бусдыг саатуулахгүй")
+    @SuppressWarnings("unchecked")
+    void getDashboard_FailingWidget_IsolatedAsError() {
+        given(documentService.getTodayDocumentStats()).willThrow(new RuntimeException("boom"));
+
+        Map<String, Object> dashboard = dashboardService.getDashboard(false);
+
+        Map<String, String> status = (Map<String, String>) dashboard.get("widgetStatus");
+        assertThat(status).containsEntry("documentsToday", "ERROR").containsEntry("customers", "OK");
+    }
+
+    @Test
+    @DisplayName("Cache хугацаанд давтан дуудлага query ажиллуулахгүй")
+    void getDashboard_CachedWithinWindow() {
+        dashboardService.getDashboard(false);
+        Map<String, Object> second = dashboardService.getDashboard(false);
+
+        assertThat(second.get("cached")).isEqualTo(true);
+        verify(loanApplicationService, times(1)).getLoanApplicationStatistics();
+
+        dashboardService.getDashboard(true);
+        verify(loanApplicationService, times(2)).getLoanApplicationStatistics();
+    }
+
+    @Test
+    @DisplayName("Хэсэгчилсэн хариу зөвхөн богино хугацаанд cache-лэгдэнэ")
+    void getDashboard_PartialResultCachedBriefly() throws Exception {
+        ReflectionTestUtils.setField(dashboardService, "partialCacheTtlMs", 200L);
+        given(documentService.getTodayDocumentStats()).willThrow(new RuntimeException("boom"));
+
+        assertThat(dashboardService.getDashboard(false).get("partial")).isEqualTo(true);
+        assertThat(dashboardService.getDashboard(false).get("cached")).isEqualTo(true);
+        verify(loanApplicationService, times(1)).getLoanApplicationStatistics();
+
+        Thread.sleep(300);
+        Map<String, Object> refreshed = dashboardService.getDashboard(false);
+
+        assertThat(refreshed.get("cached")).isEqualTo(false);
+        verify(loanApplicationService, times(2)).getLoanApplicationStatistics();
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.los.service;
+
+import com.company.los.repository.DocumentExpiryRepository;
+import com.company.los.repository.DocumentExpiryRepository.ExpiredDocumentRow;
+import com.company.los.repository.DocumentExpiryRepository.HighWaterMark;
+import com.company.los.service.DocumentExpiryService.DocumentExpired;
+import com.company.los.service.impl.DocumentExpiryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Баримтын хугацаа дуусах sweeper - keyset chunk, high-water mark, event
+ */
+@DisplayName("DocumentExpiryService Tests")
+class DocumentExpiryServiceTest {
+
+    private DocumentExpiryRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private List<Object> events;
+    private DocumentExpiryServiceImpl sweeper;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DocumentExpiryRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        events = new ArrayList<>();
+        sweeper = new DocumentExpiryServiceImpl(repository, transactionManager, events::add, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+    }
+
+    private static ExpiredDocumentRow row(LocalDate expiryDate) {
+        return new ExpiredDocumentRow(UUID.randomUUID(), expiryDate, "passport.pdf", UUID.randomUUID(), null,
+                "customer@example.mn", "+97699999999");
+    }
+
+    @Test
+    @DisplayName("Chunk-уудыг keyset-ээр үргэлжлүүлж, шинэчлэгдсэн мөр бүрд event нийтэлнэ")
+    void sweep_WalksChunksAndPublishesEvents() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        ExpiredDocumentRow first = row(yesterday.minusDays(2));
+        ExpiredDocumentRow second = row(yesterday.minusDays(1));
+        ExpiredDocumentRow third = row(yesterday);
+        when(repository.findExpiredChunk(eq(LocalDate.EPOCH), eq(LocalDate.now()), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(repository.findExpiredChunk(eq(LocalDate.EPOCH), eq(LocalDate.now()), eq(second), eq(2)))
+                .thenReturn(List.of(third));
+        // Хоёр дахь мөрийг өөр transaction зэрэг өөрчилсөн
+        when(repository.markExpired(eq(List.of(first.id(), second.id())), any())).thenReturn(new boolean[]{true, false});
+        when(repository.markExpired(eq(List.of(third.id())), any())).thenReturn(new boolean[]{true});
+
+        assertThat(sweeper.sweep()).containsEntry("expired", 2L).containsEntry("chunks", 2);
+
+        assertThat(events).extracting(event -> ((DocumentExpired) event).documentId())
+                .containsExactly(first.id(), third.id());
+        verify(repository).advanceHighWaterMark(anyString(), eq(second.expiryDate().minusDays(1)), eq(second.id()), eq(1L), any());
+        verify(repository).advanceHighWaterMark(anyString(), eq(yesterday), isNull(), eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Дараагийн sweep зөвхөн high-water mark-аас lookback хоногийн цонхыг уншина")
+    void sweep_StartsFromHighWaterMark() {
+        LocalDate through = LocalDate.now().minusDays(1);
+        when(repository.loadHighWaterMark(anyString()))
+                .thenReturn(new HighWaterMark(through, UUID.randomUUID(), 10, LocalDateTime.now()));
+        when(repository.findExpiredChunk(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        assertThat(sweeper.sweep()).containsEntry("expired", 0L).containsEntry("from", through.minusDays(7));
+
+        verify(repository).findExpiredChunk(eq(through.minusDays(7)), eq(LocalDate.now()), isNull(), eq(2));
+        verify(repository, never()).markExpired(any(), any());
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Chunk бүр өөрийн transaction-тай, listener-ийн алдаа бусад event-ийг зогсоохгүй")
+    void sweep_IsolatesChunksAndListenerFailures() {
+        ExpiredDocumentRow first = row(LocalDate.now().minusDays(3));
+        ExpiredDocumentRow second = row(LocalDate.now().minusDays(2));
+        when(repository.findExpiredChunk(any(), any(), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(repository.markExpired(any(), any())).thenReturn(new boolean[]{true, true});
+        ApplicationEventPublisher publisher = event -> {
+            if (((DocumentExpired) event).documentId().equals(first.id())) {
+                throw new IllegalStateException("smtp down");
+            }
+            events.add(event);
+        };
+        sweeper = new DocumentExpiryServiceImpl(repository, transactionManager, publisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+
+        assertThat(sweeper.sweep()).containsEntry("expired", 2L);
+
+        assertThat(events).extracting(event -> ((DocumentExpired) event).documentId()).containsExactly(second.id());
+        verify(repository).advanceHighWaterMark(anyString(), eq(LocalDate.now().minusDays(1)), isNull(), eq(0L), any());
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, never()).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() != TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+}
@@ -0,0 +1,224 @@
+package com.company.los.service;
+
+import com.company.los.service.DocumentOcrPipeline.OcrRequest;
+import com.company.los.service.impl.DocumentOcrPipelineImpl;
+import com.company.los.service.impl.LocalOcrEngine;
+import com.company.los.service.impl.ShardedLocalDocumentStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * OCR pipeline - шатнуудаар дамжих, backpressure, локал engine
+ */
+@DisplayName("DocumentOcrPipeline Tests")
+class DocumentOcrPipelineTest {
+
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+    private static final UUID DOCUMENT_TYPE_ID = UUID.randomUUID();
+
+    @TempDir
+    Path tempDir;
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    private DocumentOcrPipelineImpl pipeline;
+
+    private DocumentOcrPipelineImpl start(OcrEngine engine, int queueCapacity) {
+        return start(engine, queueCapacity, mock(JdbcTemplate.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private DocumentOcrPipelineImpl start(OcrEngine engine, int queueCapacity, JdbcTemplate jdbcTemplate) {
+        ObjectProvider<DocumentService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(documentService);
+        pipeline = new DocumentOcrPipelineImpl(engine, new ShardedLocalDocumentStorage(tempDir.toString(), null), provider,
+                jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(pipeline, "decodeWorkers", 1);
+        ReflectionTestUtils.invokeMethod(pipeline, "start");
+        return pipeline;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            ReflectionTestUtils.invokeMethod(pipeline, "stop");
+        }
+    }
+
+    private OcrRequest request(Path file, boolean priority) {
+        return new OcrRequest(UUID.randomUUID(), file.toString(), "text/plain", "id-card.txt", "Иргэний үнэмлэх",
+                null, priority);
+    }
+
+    @Test
+    @DisplayName("Бүх шатаар дамжиж танилт, задлалтын үр дүн saveOcrResults-ээр хадгалагдана")
+    void submit_RunsAllStagesAndSavesResults() throws Exception {
+        Path file = tempDir.resolve("id-card.txt");
+        Files.writeString(file, "Регистр:   УБ99112233\r\nОлгосон огноо 2024-05-01");
+        start(new LocalOcrEngine(new ObjectMapper()), 4);
+        OcrRequest request = request(file, true);
+
+        assertThat(pipeline.submit(request)).isTrue();
+
+        verify(documentService, timeout(5_000)).saveOcrResults(eq(request.documentId()),
+                eq("Регистр: УБ99112233\nОлгосон огноо 2024-05-01"),
+                argThat(json -> json.contains("\"registerNumber\":\"УБ99112233\"") && json.contains("2024-05-01")),
+                eq(new BigDecimal("1.0000")));
+    }
+
+    @Test
+    @DisplayName("Өмнө танигдсан тексттэй бол зөвхөн задлах шатаас эхэлнэ")
+    void submit_WithOcrText_StartsAtExtraction() {
+        start(new LocalOcrEngine(new ObjectMapper()), 4);
+        UUID id = UUID.randomUUID();
+
+        pipeline.submit(new OcrRequest(id, null, "application/pdf", "scan.pdf", null, "Утас 99112233", false));
+
+        verify(documentService, timeout(5_000)).saveOcrResults(eq(id), eq("Утас 99112233"),
+                argThat(json -> json.contains("\"phone\":\"99112233\"")), isNull());
+    }
+
+    @Test
+    @DisplayName("Эхний дараалал дүүрэхэд шинэ ажил татгалзагдаж, priority эгнээ нээлттэй үлдэнэ")
+    void submit_RejectsWhenEntryQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OcrEngine blocking = mock(OcrEngine.class);
+        when(blocking.getName()).thenReturn("blocking");
+        when(blocking.decode(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        start(blocking, 1);
+        Path file = tempDir.resolve("scan.pdf");
+
+        assertThat(pipeline.submit(request(file, false))).isTrue();
+        // Эхний ажлыг decode worker авч блоклогдох хүртэл хүлээнэ
+        await(() -> pipeline.getStatistics().get("inFlight").equals(1) && !pipeline.isSaturated(false));
+        assertThat(pipeline.submit(request(file, false))).isTrue();
+
+        assertThat(pipeline.isSaturated(false)).isTrue();
+        assertThatThrownBy(() -> pipeline.submit(request(file, false))).isInstanceOf(IllegalStateException.class);
+        assertThat(pipeline.isSaturated(true)).isFalse();
+        assertThat(pipeline.submit(request(file, true))).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Pipeline-д байгаа баримтыг давхар оруулахгүй")
+    void submit_IgnoresDocumentAlreadyInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OcrEngine blocking = mock(OcrEngine.class);
+        when(blocking.decode(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        start(blocking, 4);
+        OcrRequest request = request(tempDir.resolve("scan.pdf"), false);
+
+        assertThat(pipeline.submit(request)).isTrue();
+        assertThat(pipeline.submit(request)).isFalse();
+        release.countDown();
+    }
+
+    private static JdbcTemplate h2() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ocr" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO customers (id, customer_type, register_number, phone) " +
+                "VALUES (?, 'INDIVIDUAL', 'УБ99010101', '99001122')", CUSTOMER_ID);
+        jdbcTemplate.update("INSERT INTO document_types (id, name) VALUES (?, 'Иргэний үнэмлэх')", DOCUMENT_TYPE_ID);
+        return jdbcTemplate;
+    }
+
+    private static UUID insertDocument(JdbcTemplate jdbcTemplate, String processingStatus, LocalDateTime updatedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO documents (id, customer_id, document_type_id, file_name, original_filename, " +
+                "stored_filename, file_path, content_type, file_size, processing_status, updated_at) " +
+                "VALUES (?, ?, ?, 'scan.pdf', 'scan.pdf', 'scan.pdf', '/tmp/scan.pdf', 'application/pdf', 10, ?, ?)",
+                id, CUSTOMER_ID, DOCUMENT_TYPE_ID, processingStatus, Timestamp.valueOf(updatedAt));
+        return id;
+    }
+
+    @Test
+    @DisplayName("Удаан QUEUED байгаа баримтыг нэг л удаа дахин оруулж, шинэ болон дууссан баримтад хүрэхгүй")
+    void requeueStale_ResubmitsStrandedQueuedDocuments() throws Exception {
+        JdbcTemplate jdbcTemplate = h2();
+        UUID stranded = insertDocument(jdbcTemplate, "QUEUED", LocalDateTime.now().minusHours(1));
+        insertDocument(jdbcTemplate, "QUEUED", LocalDateTime.now());
+        insertDocument(jdbcTemplate, "COMPLETED", LocalDateTime.now().minusHours(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> decoded = new java.util.concurrent.CopyOnWriteArrayList<>();
+        OcrEngine blocking = mock(OcrEngine.class);
+        when(blocking.decode(any(), any())).thenAnswer(invocation -> {
+            decoded.add(invocation.getArgument(1));
+            release.await();
+            return List.of();
+        });
+        start(blocking, 4, jdbcTemplate);
+
+        assertThat(pipeline.requeueStale()).isEqualTo(1);
+        assertThat(pipeline.requeueStale()).isZero();
+
+        await(() -> decoded.size() == 1);
+        assertThat(decoded).containsExactly("application/pdf");
+        assertThat(pipeline.getStatistics()).containsEntry("inFlight", 1).containsEntry("requeued", 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT updated_at FROM documents WHERE id = ?", Timestamp.class,
+                stranded).toLocalDateTime()).isAfter(LocalDateTime.now().minusMinutes(1));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Шатны Error нь баримтыг inFlight-аас гаргаж FAILED болгоно, worker үргэлжилнэ")
+    void stageError_ReleasesDocumentAndKeepsWorker() throws Exception {
+        JdbcTemplate jdbcTemplate = h2();
+        UUID first = insertDocument(jdbcTemplate, "QUEUED", LocalDateTime.now());
+        OcrEngine failing = mock(OcrEngine.class);
+        when(failing.decode(any(), any())).thenThrow(new OutOfMemoryError("page too large"));
+        start(failing, 4, jdbcTemplate);
+        Path file = tempDir.resolve("scan.pdf");
+
+        pipeline.submit(new OcrRequest(first, file.toString(), "application/pdf", "scan.pdf", null, null, false));
+        await(() -> pipeline.getStatistics().get("failed").equals(1L));
+        pipeline.submit(request(file, false));
+        await(() -> pipeline.getStatistics().get("failed").equals(2L));
+
+        assertThat(pipeline.getStatistics()).containsEntry("inFlight", 0);
+        assertThat(jdbcTemplate.queryForMap("SELECT processing_status, processing_error FROM documents WHERE id = ?", first))
+                .containsEntry("processing_status", "FAILED")
+                .containsEntry("processing_error", "decode: page too large");
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
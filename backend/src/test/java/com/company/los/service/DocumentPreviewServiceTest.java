@@ -0,0 +1,203 @@
+package com.company.los.service;
+
+import com.company.los.entity.Document;
+import com.company.los.repository.DocumentRepository;
+import com.company.los.service.DocumentPreviewService.Preview;
+import com.company.los.service.DocumentPreviewService.Rendition;
+import com.company.los.service.impl.DocumentPreviewServiceImpl;
+import com.company.los.service.impl.ShardedLocalDocumentStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Preview кэш - жижигрүүлэлт, checksum түлхүүр, single-flight
+ */
+@DisplayName("DocumentPreviewService Tests")
+class DocumentPreviewServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private DocumentPreviewServiceImpl previewService;
+
+    @BeforeEach
+    void setUp() {
+        previewService = new DocumentPreviewServiceImpl(documentRepository, new SimpleMeterRegistry(),
+                new ShardedLocalDocumentStorage(tempDir.toString(), null));
+        ReflectionTestUtils.invokeMethod(previewService, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(previewService, "stop");
+    }
+
+    private Document document(Path file, String contentType, String checksum) {
+        Document document = new Document();
+        document.setId(UUID.randomUUID());
+        document.setFilePath(file.toString());
+        document.setContentType(contentType);
+        document.setChecksum(checksum);
+        when(documentRepository.findById(document.getId())).thenReturn(Optional.of(document));
+        return document;
+    }
+
+    private Path png(String name, int width, int height) throws Exception {
+        Path file = tempDir.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", file.toFile());
+        return file;
+    }
+
+    private static BufferedImage decode(Preview preview) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(preview.content()));
+    }
+
+    private long cachedFiles() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir.resolve(".previews"))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Урт талыг тохируулсан хэмжээ хүртэл харьцааг хадгалан JPEG болгож жижигрүүлнэ")
+    void getPreview_DownscalesToJpegKeepingAspectRatio() throws Exception {
+        Document document = document(png("scan.png", 1600, 1200), "image/png", "abc123");
+
+        Preview thumbnail = previewService.getPreview(document.getId(), Rendition.THUMBNAIL);
+
+        assertThat(thumbnail.contentType()).isEqualTo("image/jpeg");
+        assertThat(thumbnail.etag()).isEqualTo("\"abc123-thumb-256\"");
+        BufferedImage image = decode(thumbnail);
+        assertThat(image.getWidth()).isEqualTo(256);
+        assertThat(image.getHeight()).isEqualTo(192);
+        assertThat(tempDir.resolve(".previews/abc123-thumb-256.jpg")).exists();
+    }
+
+    @Test
+    @DisplayName("Жижиг зургийг томруулахгүй")
+    void getPreview_DoesNotUpscale() throws Exception {
+        Document document = document(png("small.png", 100, 40), "image/png", "small");
+
+        BufferedImage image = decode(previewService.getPreview(document.getId(), Rendition.PREVIEW));
+
+        assertThat(image.getWidth()).isEqualTo(100);
+        assertThat(image.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Кэшэд байгаа хувилбарыг эх файлгүйгээр буцаана")
+    void getPreview_ServesCachedRenditionWithoutSource() throws Exception {
+        Path file = png("id-card.png", 800, 500);
+        Document document = document(file, "image/png", "cached");
+        byte[] first = previewService.getPreview(document.getId(), Rendition.THUMBNAIL).content();
+        Files.delete(file);
+
+        byte[] second = previewService.getPreview(document.getId(), Rendition.THUMBNAIL).content();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(previewService.getStatistics()).containsEntry("hits", 1L).containsEntry("generated", 1L);
+    }
+
+    @Test
+    @DisplayName("Ижил хувилбарыг зэрэг хүссэн хүсэлтүүд нэг удаа үүсгэнэ")
+    void getPreview_ConcurrentRequests_RenderOnce() throws Exception {
+        Document document = document(png("passport.png", 2400, 1800), "image/png", "flight");
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Preview>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(() -> previewService.getPreview(document.getId(), Rendition.PREVIEW));
+            }
+            for (Future<Preview> result : callers.invokeAll(calls)) {
+                assertThat(decode(result.get()).getWidth()).isEqualTo(1280);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(previewService.getStatistics()).containsEntry("generated", 1L);
+        assertThat(cachedFiles()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Upload-ын дараа бүх хувилбар background-д үүснэ")
+    void generateAsync_RendersAllRenditions() throws Exception {
+        Document document = document(png("contract.png", 640, 640), "image/png", "async");
+
+        previewService.generateAsync(document.getId());
+
+        Path preview = tempDir.resolve(".previews/async-preview-1280.jpg");
+        for (int i = 0; i < 100 && !Files.exists(preview); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(tempDir.resolve(".previews/async-thumb-256.jpg")).exists();
+        assertThat(preview).exists();
+    }
+
+    @Test
+    @DisplayName("Скан PDF-ээс суулгасан JPEG-ийг авч, текст PDF болон бусад төрлийг татгалзана")
+    void getPreview_PdfUsesEmbeddedJpeg() throws Exception {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 800, BufferedImage.TYPE_INT_RGB), "jpeg", jpeg);
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        pdf.write("%PDF-1.4\n1 0 obj\n<< /Type /XObject /Subtype /Image /Filter /DCTDecode >>\nstream\n"
+                .getBytes(StandardCharsets.US_ASCII));
+        pdf.write(jpeg.toByteArray());
+        pdf.write("\nendstream\nendobj\n%%EOF".getBytes(StandardCharsets.US_ASCII));
+        Path scanned = Files.write(tempDir.resolve("scanned.pdf"), pdf.toByteArray());
+        Path text = Files.writeString(tempDir.resolve("text.pdf"), "%PDF-1.4\n(Hello) Tj\n%%EOF");
+        Path word = Files.writeString(tempDir.resolve("letter.docx"), "PK");
+
+        Document scannedDocument = document(scanned, "application/pdf", "scanned");
+        Document textDocument = document(text, "application/pdf", "text");
+        Document wordDocument = document(word,
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "word");
+
+        BufferedImage image = decode(previewService.getPreview(scannedDocument.getId(), Rendition.THUMBNAIL));
+        assertThat(image.getWidth()).isEqualTo(192);
+        assertThat(image.getHeight()).isEqualTo(256);
+        assertThatThrownBy(() -> previewService.getPreview(textDocument.getId(), Rendition.THUMBNAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> previewService.getPreview(wordDocument.getId(), Rendition.THUMBNAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ETag нь файл уншилгүйгээр checksum-аас тооцогдоно")
+    void getPreviewETag_UsesChecksumOrDocumentId() {
+        UUID withChecksum = UUID.randomUUID();
+        UUID legacy = UUID.randomUUID();
+        when(documentRepository.findChecksumById(withChecksum)).thenReturn(Optional.of("deadbeef"));
+        when(documentRepository.findChecksumById(legacy)).thenReturn(Optional.of(""));
+
+        assertThat(previewService.getPreviewETag(withChecksum, Rendition.PREVIEW)).isEqualTo("\"deadbeef-preview-1280\"");
+        assertThat(previewService.getPreviewETag(legacy, Rendition.THUMBNAIL)).isEqualTo("\"" + legacy + "-thumb-256\"");
+        assertThat(previewService.getPreviewETag(UUID.randomUUID(), Rendition.THUMBNAIL)).isNull();
+    }
+}
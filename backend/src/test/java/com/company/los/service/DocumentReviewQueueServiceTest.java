@@ -0,0 +1,111 @@
+package com.company.los.service;
+
+import com.company.los.entity.Document;
+import com.company.los.repository.DocumentRepository;
+import com.company.los.repository.DocumentReviewLeaseRepository;
+import com.company.los.service.DocumentReviewQueueService.ReviewLease;
+import com.company.los.service.impl.DocumentReviewQueueServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Баримт хянах дараалал - lease олгох, сунгах, зөрчил
+ */
+@DisplayName("DocumentReviewQueueService Tests")
+class DocumentReviewQueueServiceTest {
+
+    private DocumentReviewLeaseRepository leaseRepository;
+    private DocumentRepository documentRepository;
+    private PlatformTransactionManager transactionManager;
+    private DocumentReviewQueueServiceImpl reviewQueue;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = mock(DocumentReviewLeaseRepository.class);
+        documentRepository = mock(DocumentRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        reviewQueue = new DocumentReviewQueueServiceImpl(leaseRepository, documentRepository,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    private static Document document(UUID id) {
+        Document document = new Document();
+        document.setId(id);
+        document.setOriginalFilename("passport.pdf");
+        return document;
+    }
+
+    @Test
+    @DisplayName("Claim хийсэн дарааллаар баримтууд буцна, тоо max-claim-аар хязгаарлагдана")
+    void claimNext_KeepsClaimOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(leaseRepository.claimNext(eq("alice"), eq(20), any(), any())).thenReturn(List.of(first, second));
+        when(documentRepository.findAllById(List.of(first, second)))
+                .thenReturn(List.of(document(second), document(first)));
+
+        List<ReviewLease> leases = reviewQueue.claimNext("alice", 500);
+
+        assertThat(leases).extracting(ReviewLease::documentId).containsExactly(first, second);
+        assertThat(leases).allSatisfy(lease -> {
+            assertThat(lease.reviewer()).isEqualTo("alice");
+            assertThat(lease.document()).isNotNull();
+        });
+        verify(transactionManager).commit(any());
+        assertThat(reviewQueue.getStatistics()).containsEntry("claimed", 2L);
+    }
+
+    @Test
+    @DisplayName("Дараалал хоосон бол баримт уншихгүй")
+    void claimNext_Empty() {
+        when(leaseRepository.claimNext(anyString(), anyInt(), any(), any())).thenReturn(List.of());
+
+        assertThat(reviewQueue.claimNext("alice", 5)).isEmpty();
+        verifyNoInteractions(documentRepository);
+    }
+
+    @Test
+    @DisplayName("Өөр reviewer-ийн lease-тэй баримтыг авахад зөрчил")
+    void claim_ConflictThrows() {
+        UUID id = UUID.randomUUID();
+        when(leaseRepository.claim(eq(id), eq("bob"), any(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> reviewQueue.claim(id, "bob")).isInstanceOf(IllegalStateException.class);
+        assertThat(reviewQueue.getStatistics()).containsEntry("conflicts", 1L);
+    }
+
+    @Test
+    @DisplayName("Lease-ийн эзэмшигч биш бол heartbeat татгалзана")
+    void heartbeat_RequiresOwner() {
+        UUID id = UUID.randomUUID();
+        when(leaseRepository.renew(eq(id), eq("alice"), any(), any())).thenReturn(true);
+        when(leaseRepository.renew(eq(id), eq("bob"), any(), any())).thenReturn(false);
+
+        assertThat(reviewQueue.heartbeat(id, "alice").expiresAt()).isAfter(LocalDateTime.now());
+        assertThatThrownBy(() -> reviewQueue.heartbeat(id, "bob")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Тодорхой баримтыг авахад шинэчлэгдсэн баримт буцна")
+    void claim_ReturnsDocument() {
+        UUID id = UUID.randomUUID();
+        when(leaseRepository.claim(eq(id), eq("alice"), any(), any())).thenReturn(true);
+        when(documentRepository.findById(id)).thenReturn(Optional.of(document(id)));
+
+        assertThat(reviewQueue.claim(id, "alice").document().getId()).isEqualTo(id);
+    }
+}
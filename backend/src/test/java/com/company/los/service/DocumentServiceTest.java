@@ -10,6 +10,7 @@ import com.company.los.repository.CustomerRepository;
 import com.company.los.repository.DocumentRepository;
 import com.company.los.repository.DocumentTypeRepository;
 import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.DocumentService.UploadResult;
 import com.company.los.service.impl.DocumentServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,17 +27,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -76,6 +84,9 @@ class DocumentServiceTest {
     @Mock
     private DocumentTypeRepository documentTypeRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private DocumentServiceImpl documentService;
 
@@ -679,6 +690,9 @@ class DocumentServiceTest {
         // Given
         String verifierName = "test-verifier";
         String notes = "Document verified successfully";
+        testDocument.setVerificationStatus(Document.VerificationStatus.IN_REVIEW);
+        testDocument.setVerifiedBy(verifierName);
+        testDocument.setReviewLeaseExpiresAt(LocalDateTime.now().plusMinutes(10));
         
         given(documentRepository.findById(testDocument.getId())).willReturn(Optional.of(testDocument));
         
@@ -707,6 +721,29 @@ class DocumentServiceTest {
         verify(documentRepository).save(any(Document.class));
     }
 
+    @Test
+    @DisplayName("Өөр reviewer-ийн эсвэл хугацаа дууссан lease-тэй баримтад шийдвэр гаргахгүй")
+    void decisions_RequireActiveReviewLease() {
+        testDocument.setVerificationStatus(Document.VerificationStatus.IN_REVIEW);
+        testDocument.setVerifiedBy("other-reviewer");
+        testDocument.setReviewLeaseExpiresAt(LocalDateTime.now().plusMinutes(10));
+        given(documentRepository.findById(testDocument.getId())).willReturn(Optional.of(testDocument));
+
+        assertThatThrownBy(() -> documentService.approveDocument(testDocument.getId(), "test-verifier", "ok"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> documentService.rejectDocument(testDocument.getId(), "test-verifier", "blurry"))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Өөрийн lease хугацаа нь дууссан бол өөр reviewer авч болох тул мөн татгалзана
+        testDocument.setVerifiedBy("test-verifier");
+        testDocument.setReviewLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        assertThatThrownBy(() -> documentService.verifyDocument(testDocument.getId(),
+                Document.VerificationStatus.APPROVED, "test-verifier", "ok"))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(documentRepository, never()).save(any(Document.class));
+    }
+
     @Test
     @DisplayName("⭐ ЗАСВАРЛАСАН: Файлын хэмжээ шалгах логик ⭐")
     void isFileSizeValid_Tests() {
@@ -837,4 +874,72 @@ class DocumentServiceTest {
 
         verify(documentRepository).findByLoanApplicationId(testLoanApplication.getId(), PageRequest.of(0, 10));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Олон баримт зэрэг upload хийх - нийтлэг хайлт нэг удаа, нэг saveAll, файл бүрийн үр дүн")
+    @SuppressWarnings("unchecked")
+    void uploadDocumentsInParallel_StoresConcurrentlyAndSavesOnce() throws Exception {
+        documentService.initializeDefaults();
+        try {
+            DocumentType passport = new DocumentType();
+            passport.setId(UUID.randomUUID());
+            passport.setName("PASSPORT");
+            DocumentType payslip = new DocumentType();
+            payslip.setId(UUID.randomUUID());
+            payslip.setName("SALARY_STATEMENT");
+
+            Map<DocumentType, MultipartFile> files = new LinkedHashMap<>();
+            files.put(testDocumentType, testFile);
+            files.put(passport, new MockMultipartFile("file", "passport.jpg", "image/jpeg", "passport scan".getBytes()));
+            files.put(payslip, new MockMultipartFile("file", "payslip.exe", "application/x-msdownload", "x".getBytes()));
+
+            given(customerRepository.findById(testCustomer.getId())).willReturn(Optional.of(testCustomer));
+            given(loanApplicationRepository.findById(testLoanApplication.getId())).willReturn(Optional.of(testLoanApplication));
+            given(documentRepository.findByCustomerIdAndDocumentTypeIn(eq(testCustomer.getId()), any())).willReturn(List.of());
+            given(documentRepository.findExistingChecksums(any())).willReturn(List.of());
+
+            // When
+            List<UploadResult> results = documentService.uploadDocumentsInParallel(
+                    testCustomer.getId(), testLoanApplication.getId(), files);
+
+            // Then - оролтын дарааллаар, амжилтгүй файл бусдыг зогсоохгүй
+            assertThat(results).extracting(UploadResult::documentType)
+                    .containsExactly("IDENTITY_CARD", "PASSPORT", "SALARY_STATEMENT");
+            assertThat(results).extracting(UploadResult::isSuccess).containsExactly(true, true, false);
+            assertThat(results.get(2).error()).isEqualTo("File type not allowed");
+            String expectedChecksum = HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest("Test document content".getBytes()));
+            assertThat(results.get(0).document().getChecksum()).isEqualTo(expectedChecksum);
+
+            ArgumentCaptor<Iterable<Document>> saved = ArgumentCaptor.forClass(Iterable.class);
+            verify(documentRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).hasSize(2);
+            verify(documentRepository, never()).save(any(Document.class));
+            // Файл хадгалсны дараа зөвхөн saveAll-д зориулсан нэг богино transaction
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(customerRepository, times(1)).findById(testCustomer.getId());
+            verify(loanApplicationRepository, times(1)).findById(testLoanApplication.getId());
+
+            try (Stream<Path> stored = Files.walk(tempDir)) {
+                assertThat(stored.filter(Files::isRegularFile)
+                        .filter(path -> !path.getFileName().toString().equals("test-document.pdf"))).hasSize(2);
+            }
+        } finally {
+            ReflectionTestUtils.invokeMethod(documentService, "stopUploadExecutor");
+        }
+    }
+
+    @Test
+    @DisplayName("Олон баримт upload хийх - нийт хэмжээ хязгаараас хэтэрвэл юу ч хадгалахгүй")
+    void uploadDocumentsInParallel_RejectsOversizedRequest() {
+        ReflectionTestUtils.setField(documentService, "batchMaxTotalBytes", 10L);
+
+        assertThatThrownBy(() -> documentService.uploadDocumentsInParallel(
+                testCustomer.getId(), null, Map.of(testDocumentType, testFile)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds limit");
+
+        verifyNoInteractions(customerRepository);
+        verify(documentRepository, never()).saveAll(any());
+    }
+}
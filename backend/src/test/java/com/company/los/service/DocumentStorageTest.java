@@ -0,0 +1,207 @@
+package com.company.los.service;
+
+import com.company.los.service.impl.S3DocumentStorage;
+import com.company.los.service.impl.ShardedLocalDocumentStorage;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Файл хадгалалт - mount-уудын жигнэсэн тархалт, hash угтвар, S3 stand-in, хуучин зам
+ */
+@DisplayName("DocumentStorage Tests")
+class DocumentStorageTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(DocumentStorage storage, String location) throws IOException {
+        try (InputStream in = storage.open(location)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Шинэ файлууд сул зайгаар жигнэгдэн тархаж, нөөцөөс доош mount бичилт авахгүй")
+    void store_SpreadsAcrossMountsWeightedByFreeSpace() throws Exception {
+        Map<String, Long> freeSpace = Map.of("small", 2 * GB, "large", 8 * GB, "full", GB / 2);
+        String mounts = "small=" + tempDir.resolve("small") + ",large=" + tempDir.resolve("large")
+                + ",full=" + tempDir.resolve("full");
+        ShardedLocalDocumentStorage storage = new ShardedLocalDocumentStorage(tempDir.toString(), mounts) {
+            @Override
+            protected long usableSpace(Path root) {
+                return freeSpace.get(root.getFileName().toString());
+            }
+        };
+
+        Map<String, Integer> perMount = new ConcurrentHashMap<>();
+        for (int i = 0; i < 400; i++) {
+            String location = storage.store("20250810_" + i + ".pdf", new ByteArrayInputStream(bytes("doc " + i)), 5,
+                    "application/pdf");
+            perMount.merge(location.substring("local://".length(), location.indexOf('/', "local://".length())), 1,
+                    Integer::sum);
+        }
+
+        // Нөөцийг (1GB) хассан жин 1:7
+        assertThat(perMount).doesNotContainKey("full");
+        assertThat(perMount.get("small")).isBetween(20, 90);
+        assertThat(perMount.get("large")).isBetween(310, 380);
+    }
+
+    @Test
+    @DisplayName("Байршил нь mount-ийн нэр ба нэрийн hash угтвартай, уншиж устгаж болно")
+    void store_UsesHashPrefixedLocation() throws Exception {
+        ShardedLocalDocumentStorage storage = new ShardedLocalDocumentStorage(tempDir.toString(), null);
+
+        String location = storage.store("20250810_120000_abcd1234.pdf", new ByteArrayInputStream(bytes("passport")), 8,
+                "application/pdf");
+
+        String prefix = DocumentStorage.shardPrefix("20250810_120000_abcd1234.pdf");
+        assertThat(prefix).matches("[0-9a-f]{2}/[0-9a-f]{2}");
+        assertThat(location).isEqualTo("local://default/" + prefix + "/20250810_120000_abcd1234.pdf");
+        assertThat(storage.localFile(location))
+                .isEqualTo(tempDir.resolve(prefix).resolve("20250810_120000_abcd1234.pdf"));
+        assertThat(read(storage, location)).isEqualTo("passport");
+        assertThat(storage.exists(location)).isTrue();
+
+        assertThat(storage.delete(location)).isTrue();
+        assertThat(storage.exists(location)).isFalse();
+        assertThatThrownBy(() -> storage.open(location)).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    @DisplayName("Схемгүй хуучин абсолют замыг уншиж, мэдэгдэхгүй mount болон mount-оос гарах замыг татгалзана")
+    void resolve_LegacyPathsAndRejectsUnknownLocations() throws Exception {
+        ShardedLocalDocumentStorage storage = new ShardedLocalDocumentStorage(tempDir.toString(), null);
+        Path legacy = Files.write(tempDir.resolve("legacy.pdf"), bytes("old upload"));
+
+        assertThat(read(storage, legacy.toString())).isEqualTo("old upload");
+        assertThatThrownBy(() -> storage.open("local://archive/ab/cd/x.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.open("local://default/../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.store("../x.pdf", new ByteArrayInputStream(new byte[0]), 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("S3 stand-in руу гарын үсэгтэй PUT/GET/HEAD/DELETE, хуучин local замыг mount-оос уншина")
+    void s3_StoresAndReadsObjectsThroughSignedRequests() throws Exception {
+        Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        List<String> authorizations = new CopyOnWriteArrayList<>();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            String path = exchange.getRequestURI().getRawPath();
+            byte[] object = objects.get(path);
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    objects.put(path, exchange.getRequestBody().readAllBytes());
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> {
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, object.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(object);
+                        }
+                    }
+                }
+                case "HEAD" -> exchange.sendResponseHeaders(object == null ? 404 : 200, -1);
+                case "DELETE" -> {
+                    objects.remove(path);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        S3DocumentStorage storage = new S3DocumentStorage();
+        ReflectionTestUtils.setField(storage, "endpoint", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(storage, "bucket", "los-test");
+        ReflectionTestUtils.setField(storage, "accessKey", "AKIDEXAMPLE");
+        ReflectionTestUtils.setField(storage, "secretKey", "secret");
+        ReflectionTestUtils.setField(storage, "storagePath", tempDir.toString());
+        ReflectionTestUtils.invokeMethod(storage, "start");
+
+        String location = storage.store("20250810_120000_abcd1234.pdf",
+                new ByteArrayInputStream(bytes("loan contract")), 13, "application/pdf");
+        String key = DocumentStorage.shardPrefix("20250810_120000_abcd1234.pdf") + "/20250810_120000_abcd1234.pdf";
+        assertThat(location).isEqualTo("s3://los-test/" + key);
+        assertThat(objects).containsOnlyKeys("/los-test/" + key);
+        assertThat(storage.localFile(location)).isNull();
+        assertThat(storage.exists(location)).isTrue();
+        assertThat(read(storage, location)).isEqualTo("loan contract");
+        assertThat(storage.<String>withLocalFile(location, Files::readString)).isEqualTo("loan contract");
+
+        Path incoming = Files.write(tempDir.resolve("upload.part"), bytes("chunked upload"));
+        String moved = storage.moveIn(incoming, "20250810_130000_ef567890.png", "image/png");
+        assertThat(incoming).doesNotExist();
+        assertThat(read(storage, moved)).isEqualTo("chunked upload");
+
+        storage.delete(location);
+        assertThat(storage.exists(location)).isFalse();
+        assertThatThrownBy(() -> storage.open(location)).isInstanceOf(NoSuchFileException.class);
+
+        Path legacy = Files.write(tempDir.resolve("legacy.pdf"), bytes("old upload"));
+        assertThat(read(storage, legacy.toString())).isEqualTo("old upload");
+
+        assertThat(authorizations).isNotEmpty().allSatisfy(authorization -> assertThat(authorization)
+                .startsWith("AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/")
+                .contains("/us-east-1/s3/aws4_request, SignedHeaders=host;x-amz-content-sha256;x-amz-date, Signature="));
+    }
+
+    @Test
+    @DisplayName("Signature V4 нь AWS-ийн жишээ хүсэлтийн гарын үсэгтэй таарна")
+    void signature_MatchesAwsExample() {
+        String canonicalRequest = "GET\n/test.txt\n\n"
+                + "host:examplebucket.s3.amazonaws.com\n"
+                + "range:bytes=0-9\n"
+                + "x-amz-content-sha256:e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855\n"
+                + "x-amz-date:20130524T000000Z\n\n"
+                + "host;range;x-amz-content-sha256;x-amz-date\n"
+                + "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+        assertThat(S3DocumentStorage.signature("wJalrXUtnFEMI/K7MDENG/bPxRfiCYEXAMPLEKEY", "us-east-1",
+                "20130524T000000Z", canonicalRequest))
+                .isEqualTo("f0e8bdb87c964420e857bd35b5d6ed310bd44f0170aba48dd91039c6036bdb41");
+    }
+}
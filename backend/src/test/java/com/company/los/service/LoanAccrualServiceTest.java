@@ -0,0 +1,164 @@
+package com.company.los.service;
+
+import com.company.los.enums.DayCountConvention;
+import com.company.los.service.impl.LoanAccrualServiceImpl;
+import com.company.los.util.NodeIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Хүүгийн хуримтлал - өдрийн тооллын арга, partition checkpoint, олон node-ийн claim (H2)
+ */
+@DisplayName("LoanAccrualService Tests")
+class LoanAccrualServiceTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2025, 2, 10);
+    private static final int LOANS = 5;
+
+    private JdbcTemplate jdbcTemplate;
+    private LoanAccrualServiceImpl accrualService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:accrual" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE loan_products (id UUID PRIMARY KEY, default_interest_rate DECIMAL(7,4))");
+        jdbcTemplate.execute("CREATE TABLE loan_applications (id UUID PRIMARY KEY, loan_product_id UUID, " +
+                "status VARCHAR(30), is_deleted BOOLEAN DEFAULT FALSE, disbursed_amount DECIMAL(15,2), " +
+                "approved_amount DECIMAL(15,2), requested_amount DECIMAL(15,2), approved_term_months INTEGER, " +
+                "requested_term_months INTEGER, approved_rate DECIMAL(5,4), interest_rate DECIMAL(5,4), " +
+                "disbursed_date TIMESTAMP, disbursed_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE loan_interest_accruals (loan_application_id UUID NOT NULL, " +
+                "business_date DATE NOT NULL, principal_balance DECIMAL(18,2) NOT NULL, annual_rate DECIMAL(9,6) NOT NULL, " +
+                "accrued_amount DECIMAL(18,4) NOT NULL, day_count VARCHAR(10) NOT NULL, " +
+                "created_at TIMESTAMP NOT NULL, PRIMARY KEY (loan_application_id, business_date))");
+        jdbcTemplate.execute("CREATE TABLE accrual_run_partitions (business_date DATE NOT NULL, " +
+                "partition_no INTEGER NOT NULL, range_start VARCHAR(36) NOT NULL, range_end VARCHAR(36), " +
+                "last_loan_id VARCHAR(36), processed_count BIGINT NOT NULL DEFAULT 0, status VARCHAR(20) NOT NULL, " +
+                "claimed_by VARCHAR(100), heartbeat_at TIMESTAMP, started_at TIMESTAMP NOT NULL, completed_at TIMESTAMP, " +
+                "PRIMARY KEY (business_date, partition_no))");
+
+        Timestamp disbursed = Timestamp.valueOf(LocalDateTime.of(2025, 1, 15, 10, 0));
+        for (int i = 0; i < LOANS; i++) {
+            jdbcTemplate.update("INSERT INTO loan_applications (id, status, disbursed_amount, approved_term_months, " +
+                            "interest_rate, disbursed_date) VALUES (?, 'DISBURSED', ?, 12, 0.1200, ?)",
+                    new UUID(0x0198_0000_0000_7000L, i + 1), new BigDecimal("1200000.00"), disbursed);
+        }
+        // Хуримтлалд орохгүй зээл
+        jdbcTemplate.update("INSERT INTO loan_applications (id, status, requested_amount, requested_term_months, " +
+                "interest_rate) VALUES (?, 'SUBMITTED', 500000, 12, 0.1200)", new UUID(0x0198_0000_0000_7000L, 99));
+
+        accrualService = new LoanAccrualServiceImpl(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(accrualService, "configuredPartitions", 2);
+        ReflectionTestUtils.setField(accrualService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Өдрийн тооллын арга: 30/360 сарын сүүл, ACT/ACT өндөр жил")
+    void dayCountConvention_Math() {
+        LocalDate jan31 = LocalDate.of(2025, 1, 31);
+        LocalDate feb28 = LocalDate.of(2025, 2, 28);
+
+        assertThat(DayCountConvention.ACT_365.dayCount(feb28, feb28.plusDays(1))).isEqualTo(1);
+        assertThat(DayCountConvention.ACT_360.dayCount(jan31, LocalDate.of(2025, 3, 31))).isEqualTo(59);
+        // 31-ийг 30 гэж үзнэ; 2-р сарын 28-аас 3-р сарын 1 хүртэл 3 өдөр
+        assertThat(DayCountConvention.THIRTY_360.dayCount(jan31, LocalDate.of(2025, 2, 1))).isEqualTo(1);
+        assertThat(DayCountConvention.THIRTY_360.dayCount(feb28, LocalDate.of(2025, 3, 1))).isEqualTo(3);
+        assertThat(DayCountConvention.THIRTY_360.dayCount(LocalDate.of(2025, 3, 30), LocalDate.of(2025, 3, 31)))
+                .isZero();
+        assertThat(DayCountConvention.THIRTY_360.dayCount(jan31, LocalDate.of(2026, 1, 31))).isEqualTo(360);
+
+        assertThat(DayCountConvention.ACT_ACT.daysInYear(LocalDate.of(2024, 6, 1))).isEqualTo(366);
+        assertThat(DayCountConvention.ACT_ACT.daysInYear(LocalDate.of(2025, 6, 1))).isEqualTo(365);
+        assertThat(DayCountConvention.ACT_360.daysInYear(LocalDate.of(2024, 6, 1))).isEqualTo(360);
+    }
+
+    @Test
+    @DisplayName("Өдрийн хуримтлал = үлдэгдэл × хүү × өдөр / жилийн суурь")
+    void calculateDailyAccrual_AppliesConvention() {
+        BigDecimal principal = new BigDecimal("1000000");
+        LocalDate feb28 = LocalDate.of(2025, 2, 28);
+
+        assertThat(accrualService.calculateDailyAccrual(principal, new BigDecimal("0.12"), DayCountConvention.ACT_365, feb28))
+                .isEqualByComparingTo("328.7671");
+        assertThat(accrualService.calculateDailyAccrual(principal, new BigDecimal("0.12"), DayCountConvention.ACT_360, feb28))
+                .isEqualByComparingTo("333.3333");
+        assertThat(accrualService.calculateDailyAccrual(principal, new BigDecimal("0.12"), DayCountConvention.ACT_ACT,
+                LocalDate.of(2024, 2, 28))).isEqualByComparingTo("327.8689");
+        // 30/360: сарын сүүлийн өдөр 3 өдрийн хүү
+        assertThat(accrualService.calculateDailyAccrual(principal, new BigDecimal("0.12"), DayCountConvention.THIRTY_360, feb28))
+                .isEqualByComparingTo("1000.0000");
+        assertThat(accrualService.calculateDailyAccrual(principal, BigDecimal.ZERO, DayCountConvention.ACT_365, feb28))
+                .isZero();
+        assertThat(accrualService.calculateDailyAccrual(null, new BigDecimal("0.12"), DayCountConvention.ACT_365, feb28))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Олгогдсон зээл бүрт нэг ledger мөр бичиж, дахин ажиллуулахад давхардахгүй")
+    void runDailyAccrual_WritesLedgerOncePerLoan() {
+        Map<String, Object> result = accrualService.runDailyAccrual(BUSINESS_DATE);
+
+        assertThat(result.get("status")).isEqualTo("COMPLETED");
+        assertThat(result.get("partitions")).isEqualTo(2);
+        assertThat(result.get("processedLoans")).isEqualTo((long) LOANS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_interest_accruals WHERE business_date = ?",
+                Integer.class, Date.valueOf(BUSINESS_DATE))).isEqualTo(LOANS);
+        // Эхний төлбөрөөс өмнө үлдэгдэл = олгосон дүн: 1,200,000 × 0.12 / 365
+        assertThat(jdbcTemplate.queryForList("SELECT accrued_amount FROM loan_interest_accruals", BigDecimal.class))
+                .allSatisfy(amount -> assertThat(amount).isEqualByComparingTo("394.5205"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM accrual_run_partitions WHERE status = 'COMPLETED' AND claimed_by IS NULL",
+                Integer.class)).isEqualTo(2);
+
+        Map<String, Object> rerun = accrualService.runDailyAccrual(BUSINESS_DATE);
+
+        assertThat(rerun.get("resumedPartitions")).isEqualTo(0);
+        assertThat(rerun.get("processedLoans")).isEqualTo(0L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan_interest_accruals", Integer.class))
+                .isEqualTo(LOANS);
+    }
+
+    @Test
+    @DisplayName("Өөр node-ийн шинэ heartbeat-тэй partition-ийг алгасаж, хуучирсан claim-ийг авна")
+    void runDailyAccrual_RespectsClaimsOfOtherNodes() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String firstBound = jdbcTemplate.queryForObject(
+                "SELECT id FROM loan_applications WHERE status = 'DISBURSED' ORDER BY id LIMIT 1 OFFSET 2", String.class);
+        jdbcTemplate.update("INSERT INTO accrual_run_partitions (business_date, partition_no, range_start, range_end, " +
+                        "status, claimed_by, heartbeat_at, started_at) VALUES (?, 0, '', ?, 'RUNNING', 'node-b', ?, ?)",
+                Date.valueOf(BUSINESS_DATE), firstBound, now, now);
+        jdbcTemplate.update("INSERT INTO accrual_run_partitions (business_date, partition_no, range_start, range_end, " +
+                        "status, claimed_by, heartbeat_at, started_at) VALUES (?, 1, ?, NULL, 'RUNNING', 'node-c', ?, ?)",
+                Date.valueOf(BUSINESS_DATE), firstBound, Timestamp.valueOf(LocalDateTime.now().minusHours(1)), now);
+
+        Map<String, Object> result = accrualService.runDailyAccrual(BUSINESS_DATE);
+
+        assertThat(result.get("status")).isEqualTo("SKIPPED");
+        assertThat(result.get("skippedPartitions")).isEqualTo(1);
+        assertThat(result.get("processedLoans")).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject("SELECT claimed_by FROM accrual_run_partitions WHERE partition_no = 0",
+                String.class)).isEqualTo("node-b");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM accrual_run_partitions WHERE partition_no = 1",
+                String.class)).isEqualTo("COMPLETED");
+        assertThat(accrualService.getAccrualRunStatus(BUSINESS_DATE))
+                .containsEntry("completed", false)
+                .containsEntry("node", NodeIdentity.get());
+    }
+}
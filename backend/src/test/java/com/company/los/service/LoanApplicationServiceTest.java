@@ -1,7 +1,10 @@
 package com.company.los.service;
 
 import com.company.los.dto.CreateLoanRequestDto;
+import com.company.los.dto.CursorPage;
 import com.company.los.dto.LoanApplicationDto;
+import com.company.los.dto.LoanApplicationListItem;
+import com.company.los.entity.AuditLog;
 import com.company.los.entity.Customer;
 import com.company.los.entity.LoanApplication;
 import com.company.los.entity.Document;
@@ -10,19 +13,28 @@ import com.company.los.exception.ResourceNotFoundException;
 import com.company.los.repository.CustomerRepository;
 import com.company.los.repository.LoanApplicationRepository;
 import com.company.los.service.impl.LoanApplicationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -72,6 +84,21 @@ class LoanApplicationServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationNumberService applicationNumberService;
+
+    @Mock
+    private WorkQueueService workQueueService;
+
+    @Mock
+    private SlaMonitorService slaMonitorService;
+
+    @Mock
+    private AuditTrailService auditTrailService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private LoanApplicationServiceImpl loanApplicationService;
 
@@ -80,10 +107,24 @@ class LoanApplicationServiceTest {
     private CreateLoanRequestDto createRequest;
     private List<LoanApplication> loanApplicationList;
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
     @BeforeEach
     void setUp() {
         // Reset all mocks
         reset(loanApplicationRepository, customerRepository, documentService, notificationService);
+        ReflectionTestUtils.setField(loanApplicationService, "transitionMaxAttempts", 3);
+        // Төлөвийн шилжилтийг application.yml-ийн бодит workflow хүснэгтээр шалгана
+        ReflectionTestUtils.setField(loanApplicationService, "loanWorkflowService",
+                LoanWorkflowServiceTest.fromApplicationYml(notificationService, meterRegistry));
         
         // ⭐ REALISTIC TEST CUSTOMER ⭐
         testCustomer = new Customer();
@@ -147,8 +188,8 @@ class LoanApplicationServiceTest {
     @DisplayName("Бүх зээлийн хүсэлт авах - Амжилттай")
     void getAllLoanApplications_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<LoanApplication> applicationPage = new PageImpl<>(loanApplicationList, pageable, loanApplicationList.size());
-        given(loanApplicationRepository.findAll(pageable)).willReturn(applicationPage);
+        Page<LoanApplicationListItem> applicationPage = new PageImpl<>(listItems(loanApplicationList), pageable, loanApplicationList.size());
+        given(loanApplicationRepository.findListItems(pageable)).willReturn(applicationPage);
 
         Page<LoanApplicationDto> result = loanApplicationService.getAllLoanApplications(pageable);
 
@@ -158,7 +199,32 @@ class LoanApplicationServiceTest {
         assertThat(result.getContent().get(1).getApplicationNumber()).isEqualTo("LN-2025-0002");
         assertThat(result.getTotalElements()).isEqualTo(2);
 
-        verify(loanApplicationRepository).findAll(pageable);
+        verify(loanApplicationRepository).findListItems(pageable);
+        verify(loanApplicationRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Cursor хуудаслалт - дараагийн хуудас сүүлийн мөрийн (createdAt, id)-ээс эхэлнэ")
+    void getLoanApplicationsByCursor_SeeksFromLastRow() {
+        Pageable limit = PageRequest.of(0, 2);
+        given(loanApplicationRepository.findSeekFirst(limit)).willReturn(listItems(loanApplicationList));
+
+        CursorPage<LoanApplicationDto> first = loanApplicationService.getLoanApplicationsByCursor(null, 1, false);
+
+        assertThat(first.getContent()).hasSize(1);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getApproximateTotal()).isNull();
+
+        LoanApplication last = loanApplicationList.get(0);
+        given(loanApplicationRepository.findSeekAfter(last.getCreatedAt(), last.getId(), limit))
+                .willReturn(listItems(List.of(loanApplicationList.get(1))));
+
+        CursorPage<LoanApplicationDto> second = loanApplicationService.getLoanApplicationsByCursor(first.getNextCursor(), 1, false);
+
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(loanApplicationRepository, never()).count();
     }
 
     @Test
@@ -195,7 +261,7 @@ class LoanApplicationServiceTest {
     @DisplayName("⭐ ЗАСВАРЛАСАН: Шинэ зээлийн хүсэлт үүсгэх - Амжилттай ⭐")
     void createLoanApplication_Success() {
         given(customerRepository.findById(testCustomer.getId())).willReturn(Optional.of(testCustomer));
-        given(loanApplicationRepository.findByApplicationNumber(anyString())).willReturn(Optional.empty());
+        given(applicationNumberService.nextApplicationNumber()).willReturn("LN-2025-000001");
         given(loanApplicationRepository.save(any(LoanApplication.class))).willReturn(testLoanApplication);
         doNothing().when(notificationService).sendApplicationCreatedNotification(any(LoanApplication.class));
 
@@ -225,20 +291,17 @@ class LoanApplicationServiceTest {
     }
 
     @Test
-    @DisplayName("⭐ ЗАСВАРЛАСАН: Шинэ зээлийн хүсэлт үүсгэх - Давхардсан дугаар ⭐")
-    void createLoanApplication_DuplicateApplicationNumber() {
-        LoanApplication existing = new LoanApplication();
-        existing.setApplicationNumber("LN-2025-0001");
-
+    @DisplayName("Шинэ зээлийн хүсэлт үүсгэх - Нөөцөлсөн дугаар, давхардал шалгахгүй")
+    void createLoanApplication_UsesReservedApplicationNumber() {
         given(customerRepository.findById(testCustomer.getId())).willReturn(Optional.of(testCustomer));
-        given(loanApplicationRepository.findByApplicationNumber(anyString())).willReturn(Optional.of(existing));
+        given(applicationNumberService.nextApplicationNumber()).willReturn("LN-2025-000042");
+        given(loanApplicationRepository.save(any(LoanApplication.class))).willAnswer(invocation -> invocation.getArgument(0));
 
-        assertThatThrownBy(() -> loanApplicationService.createLoanApplication(createRequest))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageStartingWith("Application number already exists");
+        LoanApplicationDto result = loanApplicationService.createLoanApplication(createRequest);
 
-        verify(customerRepository).findById(testCustomer.getId());
-        verify(loanApplicationRepository, never()).save(any(LoanApplication.class));
+        assertThat(result.getApplicationNumber()).isEqualTo("LN-2025-000042");
+        verify(applicationNumberService).nextApplicationNumber();
+        verify(loanApplicationRepository, never()).findByApplicationNumber(anyString());
     }
 
     @Test
@@ -298,14 +361,22 @@ class LoanApplicationServiceTest {
         draftApplication.setId(testLoanApplication.getId());
         draftApplication.setStatus(LoanApplication.ApplicationStatus.DRAFT);
         draftApplication.setCustomer(testCustomer);
+        draftApplication.setLoanType(LoanApplication.LoanType.PERSONAL);
+        draftApplication.setRequestedAmount(new BigDecimal("3000000"));
+        draftApplication.setRequestedTermMonths(12);
+        draftApplication.setVersion(3L);
 
         LoanApplication submittedApplication = new LoanApplication();
         submittedApplication.setId(testLoanApplication.getId());
         submittedApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
         submittedApplication.setUpdatedAt(LocalDateTime.now());
 
-        given(loanApplicationRepository.findById(testLoanApplication.getId())).willReturn(Optional.of(draftApplication));
-        given(loanApplicationRepository.save(any(LoanApplication.class))).willReturn(submittedApplication);
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(draftApplication), Optional.of(submittedApplication));
+        given(loanApplicationRepository.compareAndSetStatus(eq(testLoanApplication.getId()),
+                eq(LoanApplication.ApplicationStatus.DRAFT), eq(3L), eq(LoanApplication.ApplicationStatus.SUBMITTED),
+                isNull(), any(LocalDateTime.class)))
+            .willReturn(1);
         doNothing().when(notificationService).sendStatusUpdateNotification(any(LoanApplication.class));
 
         LoanApplicationDto result = loanApplicationService.updateLoanApplicationStatus(testLoanApplication.getId(),
@@ -314,11 +385,27 @@ class LoanApplicationServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(LoanApplication.ApplicationStatus.SUBMITTED);
 
-        verify(loanApplicationRepository).findById(testLoanApplication.getId());
-        verify(loanApplicationRepository).save(any(LoanApplication.class));
+        verify(loanApplicationRepository, times(2)).findById(testLoanApplication.getId());
+        verify(loanApplicationRepository, never()).save(any(LoanApplication.class));
         verify(notificationService).sendStatusUpdateNotification(any(LoanApplication.class));
     }
 
+    @Test
+    @DisplayName("Зээлийн хүсэлтийн статус шинэчлэх - Хориотой шилжилт")
+    void updateLoanApplicationStatus_InvalidTransition() {
+        testLoanApplication.setVersion(1L);
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(testLoanApplication));
+
+        assertThatThrownBy(() -> loanApplicationService.updateLoanApplicationStatus(testLoanApplication.getId(),
+                LoanStatus.DISBURSED))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("DRAFT to DISBURSED");
+
+        verify(loanApplicationRepository, never()).compareAndSetStatus(any(), any(), any(), any(), any(), any());
+        verify(notificationService, never()).sendStatusUpdateNotification(any(LoanApplication.class));
+    }
+
     @Test
     @DisplayName("Зээлийн хүсэлт устгах - Амжилттай")
     void deleteLoanApplication_Success() {
@@ -365,8 +452,8 @@ class LoanApplicationServiceTest {
     @DisplayName("Харилцагчийн зээлийн хүсэлтүүд авах - Амжилттай")
     void getLoanApplicationsByCustomerId_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<LoanApplication> applicationPage = new PageImpl<>(loanApplicationList, pageable, 2);
-        given(loanApplicationRepository.findByCustomer_Id(eq(testCustomer.getId()), any(Pageable.class)))
+        Page<LoanApplicationListItem> applicationPage = new PageImpl<>(listItems(loanApplicationList), pageable, 2);
+        given(loanApplicationRepository.findListItemsByCustomerId(eq(testCustomer.getId()), any(Pageable.class)))
             .willReturn(applicationPage);
 
         Page<LoanApplicationDto> result = loanApplicationService.getLoanApplicationsByCustomer(testCustomer.getId(), pageable);
@@ -376,15 +463,15 @@ class LoanApplicationServiceTest {
         assertThat(result.getContent().get(0).getCustomerId()).isEqualTo(testCustomer.getId());
         assertThat(result.getContent().get(1).getCustomerId()).isEqualTo(testCustomer.getId());
 
-        verify(loanApplicationRepository).findByCustomer_Id(eq(testCustomer.getId()), any(Pageable.class));
+        verify(loanApplicationRepository).findListItemsByCustomerId(eq(testCustomer.getId()), any(Pageable.class));
     }
 
     @Test
     @DisplayName("Статусаар зээлийн хүсэлт хайх - Амжилттай")
     void getLoanApplicationsByStatus_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<LoanApplication> page = new PageImpl<>(List.of(testLoanApplication), pageable, 1);
-        given(loanApplicationRepository.findByStatus(eq(LoanApplication.ApplicationStatus.DRAFT), any(Pageable.class)))
+        Page<LoanApplicationListItem> page = new PageImpl<>(listItems(List.of(testLoanApplication)), pageable, 1);
+        given(loanApplicationRepository.findListItemsByStatus(eq(LoanApplication.ApplicationStatus.DRAFT), any(Pageable.class)))
             .willReturn(page);
 
         Page<LoanApplicationDto> result = loanApplicationService.getLoanApplicationsByStatus(LoanStatus.DRAFT, pageable);
@@ -393,16 +480,43 @@ class LoanApplicationServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getStatus()).isEqualTo(LoanApplication.ApplicationStatus.DRAFT);
 
-        verify(loanApplicationRepository).findByStatus(eq(LoanApplication.ApplicationStatus.DRAFT), any(Pageable.class));
+        verify(loanApplicationRepository).findListItemsByStatus(eq(LoanApplication.ApplicationStatus.DRAFT), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Хугацаа хэтэрсэн хүсэлтүүд - SLA monitor-ийн дарааллаар, DB scan хийхгүй")
+    void getOverdueApplications_ReadsFromSlaMonitor() {
+        LoanApplication second = new LoanApplication();
+        second.setId(UUID.randomUUID());
+        second.setApplicationNumber("LN-2025-000002");
+        second.setStatus(LoanApplication.ApplicationStatus.UNDER_REVIEW);
+        given(slaMonitorService.getOverdue()).willReturn(List.of(
+                new SlaMonitorService.SlaBreach(second.getId(), second.getApplicationNumber(),
+                        LoanApplication.ApplicationStatus.UNDER_REVIEW, LocalDateTime.now().minusDays(9),
+                        LocalDateTime.now().minusDays(2), 2),
+                new SlaMonitorService.SlaBreach(testLoanApplication.getId(), testLoanApplication.getApplicationNumber(),
+                        LoanApplication.ApplicationStatus.DRAFT, LocalDateTime.now().minusDays(3),
+                        LocalDateTime.now().minusDays(1), 1)));
+        given(slaMonitorService.isOverdue(any(UUID.class))).willReturn(true);
+        given(loanApplicationRepository.findListItemsByIds(anyCollection()))
+                .willReturn(listItems(List.of(testLoanApplication, second)));
+
+        Page<LoanApplicationDto> result = loanApplicationService.getOverdueApplications(PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(LoanApplicationDto::getId)
+                .containsExactly(second.getId(), testLoanApplication.getId());
+        assertThat(result.getContent()).allMatch(dto -> Boolean.TRUE.equals(dto.getIsOverdue()));
+        verify(loanApplicationRepository, never()).findByStatusAndCreatedAtBefore(any(), any(), any(Pageable.class));
     }
 
     @Test
     @DisplayName("Зээлийн төрлөөр хайх - Амжилттай")
     void getLoanApplicationsByType_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<LoanApplication> page = new PageImpl<>(Arrays.asList(testLoanApplication), pageable, 1);
+        Page<LoanApplicationListItem> page = new PageImpl<>(listItems(Arrays.asList(testLoanApplication)), pageable, 1);
         
-        given(loanApplicationRepository.findByLoanType(LoanApplication.LoanType.PERSONAL, pageable))
+        given(loanApplicationRepository.findListItemsByLoanType(LoanApplication.LoanType.PERSONAL, pageable))
             .willReturn(page);
 
         Page<LoanApplicationDto> result = loanApplicationService.getLoanApplicationsByType(LoanApplication.LoanType.PERSONAL, pageable);
@@ -411,7 +525,7 @@ class LoanApplicationServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getLoanType()).isEqualTo(LoanApplication.LoanType.PERSONAL);
 
-        verify(loanApplicationRepository).findByLoanType(LoanApplication.LoanType.PERSONAL, pageable);
+        verify(loanApplicationRepository).findListItemsByLoanType(LoanApplication.LoanType.PERSONAL, pageable);
     }
 
     @Test
@@ -510,9 +624,9 @@ class LoanApplicationServiceTest {
     void searchLoanApplications_Success() {
         String searchTerm = "LN-2025";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<LoanApplication> page = new PageImpl<>(List.of(testLoanApplication), pageable, 1);
+        Page<LoanApplicationListItem> page = new PageImpl<>(listItems(List.of(testLoanApplication)), pageable, 1);
         
-        given(loanApplicationRepository.findByApplicationNumberContainingIgnoreCase(searchTerm, pageable))
+        given(loanApplicationRepository.searchListItemsByApplicationNumber(searchTerm, pageable))
             .willReturn(page);
 
         Page<LoanApplicationDto> result = loanApplicationService.searchLoanApplications(searchTerm, pageable);
@@ -521,7 +635,7 @@ class LoanApplicationServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getApplicationNumber()).contains("LN-2025");
 
-        verify(loanApplicationRepository).findByApplicationNumberContainingIgnoreCase(searchTerm, pageable);
+        verify(loanApplicationRepository).searchListItemsByApplicationNumber(searchTerm, pageable);
     }
 
     @Test
@@ -553,10 +667,12 @@ class LoanApplicationServiceTest {
     @Test
     @DisplayName("Approve loan application")
     void approveLoanApplication_Success() {
+        authenticateAs("loan.officer");
         LoanApplication submittedApplication = new LoanApplication();
         submittedApplication.setId(testLoanApplication.getId());
         submittedApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
         submittedApplication.setCustomer(testCustomer);
+        submittedApplication.setVersion(5L);
 
         LoanApplication approvedApplication = new LoanApplication();
         approvedApplication.setId(testLoanApplication.getId());
@@ -565,8 +681,13 @@ class LoanApplicationServiceTest {
         approvedApplication.setApprovedTermMonths(24);
         approvedApplication.setApprovedRate(new BigDecimal("0.12"));
 
-        given(loanApplicationRepository.findById(testLoanApplication.getId())).willReturn(Optional.of(submittedApplication));
-        given(loanApplicationRepository.save(any(LoanApplication.class))).willReturn(approvedApplication);
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(submittedApplication), Optional.of(approvedApplication));
+        given(loanApplicationRepository.compareAndSetApproved(eq(testLoanApplication.getId()),
+                eq(LoanApplication.ApplicationStatus.SUBMITTED), eq(5L), eq(LoanApplication.ApplicationStatus.APPROVED),
+                eq("loan.officer"), eq(new BigDecimal("4500000")), eq(24), eq(new BigDecimal("0.12")),
+                any(BigDecimal.class), eq("Approved"), any(LocalDateTime.class)))
+            .willReturn(1);
 
         LoanApplicationDto result = loanApplicationService.approveLoanApplication(
                 testLoanApplication.getId(),
@@ -580,24 +701,91 @@ class LoanApplicationServiceTest {
         assertThat(result.getStatus()).isEqualTo(LoanApplication.ApplicationStatus.APPROVED);
         assertThat(result.getApprovedAmount()).isEqualTo(new BigDecimal("4500000"));
 
-        verify(loanApplicationRepository).findById(testLoanApplication.getId());
-        verify(loanApplicationRepository).save(any(LoanApplication.class));
+        verify(loanApplicationRepository, times(2)).findById(testLoanApplication.getId());
+        verify(loanApplicationRepository, never()).save(any(LoanApplication.class));
+        verify(workQueueService).refresh(testLoanApplication.getId());
+    }
+
+    @Test
+    @DisplayName("CAS шилжилт Hibernate event-гүй тул төлөв, version-ийн аудит мөрийг өөрөө бичнэ")
+    void rejectLoanApplication_CapturesAuditChange() {
+        LoanApplication submittedApplication = new LoanApplication();
+        submittedApplication.setId(testLoanApplication.getId());
+        submittedApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
+        submittedApplication.setVersion(3L);
+
+        LoanApplication rejectedApplication = new LoanApplication();
+        rejectedApplication.setId(testLoanApplication.getId());
+        rejectedApplication.setStatus(LoanApplication.ApplicationStatus.REJECTED);
+        rejectedApplication.setDecisionReason("Insufficient income");
+        rejectedApplication.setVersion(4L);
+
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(submittedApplication), Optional.of(rejectedApplication));
+        given(loanApplicationRepository.compareAndSetRejected(any(), any(), any(), any(), any(), any(), any()))
+            .willReturn(1);
+
+        loanApplicationService.rejectLoanApplication(testLoanApplication.getId(), "Insufficient income");
+
+        ArgumentCaptor<AuditTrailService.Change> change = ArgumentCaptor.forClass(AuditTrailService.Change.class);
+        verify(auditTrailService).capture(change.capture());
+        assertThat(change.getValue().tableName()).isEqualTo(AuditLog.TABLE_LOAN_APPLICATIONS);
+        assertThat(change.getValue().recordId()).isEqualTo(testLoanApplication.getId().toString());
+        assertThat(change.getValue().action()).isEqualTo(AuditLog.ACTION_UPDATE);
+        assertThat(change.getValue().oldValues())
+            .containsEntry("status", "SUBMITTED")
+            .containsEntry("version", 3L);
+        assertThat(change.getValue().newValues())
+            .containsEntry("status", "REJECTED")
+            .containsEntry("version", 4L)
+            .containsEntry("decisionReason", "Insufficient income");
+        assertThat(change.getValue().changedBy()).isEqualTo("system");
+        assertThat(change.getValue().changeReason()).isEqualTo("reject: Insufficient income");
+        verify(slaMonitorService).onStateEntered(any());
+    }
+
+    @Test
+    @DisplayName("Approve loan application - өрсөлдөөнд давтахгүй, conflict буцаана")
+    void approveLoanApplication_ConcurrentModification() {
+        LoanApplication submittedApplication = new LoanApplication();
+        submittedApplication.setId(testLoanApplication.getId());
+        submittedApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
+        submittedApplication.setVersion(5L);
+
+        given(loanApplicationRepository.findById(testLoanApplication.getId())).willReturn(Optional.of(submittedApplication));
+        given(loanApplicationRepository.compareAndSetApproved(any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), any())).willReturn(0);
+
+        assertThatThrownBy(() -> loanApplicationService.approveLoanApplication(
+                testLoanApplication.getId(), new BigDecimal("4500000"), 24, new BigDecimal("0.12"), "Approved"))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(loanApplicationRepository, times(1)).compareAndSetApproved(any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), any());
+        assertThat(meterRegistry.counter("los.loan.transition.conflicts", "operation", "approve").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("los.loan.transition.failures", "operation", "approve").count()).isEqualTo(1.0);
     }
 
     @Test
     @DisplayName("Reject loan application")
     void rejectLoanApplication_Success() {
+        authenticateAs("credit.manager");
         LoanApplication submittedApplication = new LoanApplication();
         submittedApplication.setId(testLoanApplication.getId());
         submittedApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
+        submittedApplication.setVersion(1L);
 
         LoanApplication rejectedApplication = new LoanApplication();
         rejectedApplication.setId(testLoanApplication.getId());
         rejectedApplication.setStatus(LoanApplication.ApplicationStatus.REJECTED);
         rejectedApplication.setDecisionReason("Insufficient income");
 
-        given(loanApplicationRepository.findById(testLoanApplication.getId())).willReturn(Optional.of(submittedApplication));
-        given(loanApplicationRepository.save(any(LoanApplication.class))).willReturn(rejectedApplication);
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(submittedApplication), Optional.of(rejectedApplication));
+        given(loanApplicationRepository.compareAndSetRejected(eq(testLoanApplication.getId()),
+                eq(LoanApplication.ApplicationStatus.SUBMITTED), eq(1L), eq(LoanApplication.ApplicationStatus.REJECTED),
+                eq("credit.manager"), eq("Insufficient income"), any(LocalDateTime.class)))
+            .willReturn(1);
 
         LoanApplicationDto result = loanApplicationService.rejectLoanApplication(
                 testLoanApplication.getId(),
@@ -607,7 +795,60 @@ class LoanApplicationServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(LoanApplication.ApplicationStatus.REJECTED);
 
-        verify(loanApplicationRepository).findById(testLoanApplication.getId());
-        verify(loanApplicationRepository).save(any(LoanApplication.class));
+        verify(loanApplicationRepository, times(2)).findById(testLoanApplication.getId());
+        verify(loanApplicationRepository, never()).save(any(LoanApplication.class));
+    }
+
+    @Test
+    @DisplayName("Reject loan application - өрсөлдөөнд шинэ хувилбарыг уншиж дахин оролдоно")
+    void rejectLoanApplication_RetriesOnConcurrentModification() {
+        LoanApplication staleApplication = new LoanApplication();
+        staleApplication.setId(testLoanApplication.getId());
+        staleApplication.setStatus(LoanApplication.ApplicationStatus.SUBMITTED);
+        staleApplication.setVersion(1L);
+
+        LoanApplication reviewedApplication = new LoanApplication();
+        reviewedApplication.setId(testLoanApplication.getId());
+        reviewedApplication.setStatus(LoanApplication.ApplicationStatus.UNDER_REVIEW);
+        reviewedApplication.setVersion(2L);
+
+        LoanApplication rejectedApplication = new LoanApplication();
+        rejectedApplication.setId(testLoanApplication.getId());
+        rejectedApplication.setStatus(LoanApplication.ApplicationStatus.REJECTED);
+
+        given(loanApplicationRepository.findById(testLoanApplication.getId()))
+            .willReturn(Optional.of(staleApplication), Optional.of(reviewedApplication), Optional.of(rejectedApplication));
+        given(loanApplicationRepository.compareAndSetRejected(any(), eq(LoanApplication.ApplicationStatus.SUBMITTED),
+                eq(1L), any(), any(), any(), any())).willReturn(0);
+        given(loanApplicationRepository.compareAndSetRejected(any(), eq(LoanApplication.ApplicationStatus.UNDER_REVIEW),
+                eq(2L), any(), any(), any(), any())).willReturn(1);
+
+        LoanApplicationDto result = loanApplicationService.rejectLoanApplication(testLoanApplication.getId(), "Insufficient income");
+
+        assertThat(result.getStatus()).isEqualTo(LoanApplication.ApplicationStatus.REJECTED);
+        verify(loanApplicationRepository, times(2)).compareAndSetRejected(any(), any(), any(), any(), any(), any(), any());
+        assertThat(meterRegistry.counter("los.loan.transition.conflicts", "operation", "reject").count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Repository-ийн projection query-ийн үр дүнг entity-ээс бүрдүүлэх
+     */
+    private static List<LoanApplicationListItem> listItems(List<LoanApplication> applications) {
+        return applications.stream()
+                .map(la -> new LoanApplicationListItem(
+                        la.getId(), la.getApplicationNumber(), la.getLoanType(), la.getStatus(),
+                        la.getRequestedAmount(), la.getRequestedTermMonths(), la.getInterestRate(),
+                        la.getApprovedAmount(), la.getApprovedTermMonths(), la.getMonthlyPayment(), la.getTotalPayment(),
+                        la.getPurpose(), la.getAssignedTo(), la.getPriority(), la.getSubmittedAt(), la.getReviewedAt(),
+                        la.getApprovedAt(), la.getRejectedAt(), la.getDisbursedAt(), la.getCreatedAt(), la.getUpdatedAt(),
+                        la.getCustomer() != null ? la.getCustomer().getId() : null,
+                        la.getCustomer() != null ? la.getCustomer().getCustomerType() : null,
+                        la.getCustomer() != null ? la.getCustomer().getCompanyName() : null,
+                        la.getCustomer() != null ? la.getCustomer().getFirstName() : null,
+                        la.getCustomer() != null ? la.getCustomer().getLastName() : null,
+                        la.getCustomer() != null ? la.getCustomer().getRegisterNumber() : null,
+                        la.getLoanProduct() != null ? la.getLoanProduct().getId() : null,
+                        la.getLoanProduct() != null ? la.getLoanProduct().getName() : null))
+                .toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.company.los.service;
+
+import com.company.los.dto.LoanQuoteDto;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanProduct;
+import com.company.los.enums.PrepaymentStrategy;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.impl.LoanQuoteServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoanQuoteService Unit Test - хаалттай томьёоны тооцоо
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LoanQuoteService Tests")
+class LoanQuoteServiceTest {
+
+    private static final LocalDate DISBURSED_ON = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @InjectMocks
+    private LoanQuoteServiceImpl loanQuoteService;
+
+    private LoanApplication disbursedLoan;
+
+    @BeforeEach
+    void setUp() {
+        LoanProduct product = new LoanProduct();
+        product.setEarlyPaymentPenaltyRate(new BigDecimal("0.0200"));
+        product.setLatePaymentPenaltyRate(new BigDecimal("0.3650"));
+
+        // 1,200,000₮, жилийн 12%, 12 сар => сарын төлбөр 106,618.55₮
+        disbursedLoan = new LoanApplication();
+        disbursedLoan.setId(UUID.randomUUID());
+        disbursedLoan.setApplicationNumber("LN-2025-0001");
+        disbursedLoan.setStatus(LoanApplication.ApplicationStatus.DISBURSED);
+        disbursedLoan.setDisbursedAmount(new BigDecimal("1200000"));
+        disbursedLoan.setApprovedTermMonths(12);
+        disbursedLoan.setApprovedRate(new BigDecimal("0.12"));
+        disbursedLoan.setDisbursedDate(DISBURSED_ON.atStartOfDay());
+        disbursedLoan.setLoanProduct(product);
+
+        given(loanApplicationRepository.findByIdWithLoanProduct(disbursedLoan.getId()))
+                .willReturn(Optional.of(disbursedLoan));
+    }
+
+    @Test
+    @DisplayName("Хуваарийн дагуу төлсөн зээлийн хаалтын дүн")
+    void getPayoffQuote_CurrentLoan() {
+        LoanQuoteDto quote = loanQuoteService.getPayoffQuote(disbursedLoan.getId(), DISBURSED_ON.plusMonths(3), null);
+
+        assertThat(quote.getMonthlyPayment()).isEqualByComparingTo("106618.55");
+        assertThat(quote.getInstallmentsDue()).isEqualTo(3);
+        assertThat(quote.getRemainingInstallments()).isEqualTo(9);
+        assertThat(quote.getOutstandingPrincipal()).isEqualByComparingTo("913296.34");
+        assertThat(quote.getAccruedInterest()).isEqualByComparingTo("0.00");
+        assertThat(quote.getLatePaymentPenalty()).isEqualByComparingTo("0.00");
+        assertThat(quote.getEarlyPaymentPenalty()).isEqualByComparingTo("18265.93");
+        assertThat(quote.getPayoffAmount()).isEqualByComparingTo("931562.27");
+    }
+
+    @Test
+    @DisplayName("Хоцорсон төлбөртэй зээлд хүү болон хоцрогдлын торгууль тооцогдоно")
+    void getPayoffQuote_WithArrears() {
+        LoanQuoteDto quote = loanQuoteService.getPayoffQuote(disbursedLoan.getId(), DISBURSED_ON.plusMonths(3), 1);
+
+        assertThat(quote.getInstallmentsPaid()).isEqualTo(1);
+        assertThat(quote.getOutstandingPrincipal()).isEqualByComparingTo("1105381.45");
+        assertThat(quote.getOverdueInterest()).isPositive();
+        assertThat(quote.getLatePaymentPenalty()).isPositive();
+        assertThat(quote.getPayoffAmount()).isGreaterThan(quote.getOutstandingPrincipal());
+    }
+
+    @Test
+    @DisplayName("Урьдчилан төлөлт - сарын төлбөр бууруулах")
+    void getPrepaymentQuote_ReducePayment() {
+        LoanQuoteDto quote = loanQuoteService.getPrepaymentQuote(disbursedLoan.getId(),
+                new BigDecimal("300000"), PrepaymentStrategy.REDUCE_PAYMENT, DISBURSED_ON.plusMonths(3));
+
+        assertThat(quote.getNewOutstandingPrincipal()).isEqualByComparingTo("613296.34");
+        assertThat(quote.getNewRemainingTermMonths()).isEqualTo(9);
+        assertThat(quote.getNewMonthlyPayment()).isEqualByComparingTo("71596.44");
+        assertThat(quote.getEarlyPaymentPenalty()).isEqualByComparingTo("6000.00");
+        assertThat(quote.getInterestSaved()).isPositive();
+        assertThat(quote.getPayoffAmount()).isNull();
+    }
+
+    @Test
+    @DisplayName("Бүтээгдэхүүний тогтмол торгууль хувиар тооцсон торгууль дээр нэмэгдэнэ")
+    void earlyPaymentPenalty_AddsFlatPenaltyToRate() {
+        disbursedLoan.getLoanProduct().setEarlyPaymentPenalty(new BigDecimal("5000.00"));
+
+        LoanQuoteDto payoff = loanQuoteService.getPayoffQuote(disbursedLoan.getId(), DISBURSED_ON.plusMonths(3), null);
+        LoanQuoteDto prepayment = loanQuoteService.getPrepaymentQuote(disbursedLoan.getId(),
+                new BigDecimal("300000"), PrepaymentStrategy.REDUCE_PAYMENT, DISBURSED_ON.plusMonths(3));
+
+        assertThat(payoff.getEarlyPaymentPenalty()).isEqualByComparingTo("23265.93");
+        assertThat(payoff.getPayoffAmount()).isEqualByComparingTo("936562.27");
+        assertThat(prepayment.getEarlyPaymentPenalty()).isEqualByComparingTo("11000.00");
+    }
+
+    @Test
+    @DisplayName("Урьдчилан төлөлт - хугацаа богиносгох")
+    void getPrepaymentQuote_ReduceTerm() {
+        LoanQuoteDto quote = loanQuoteService.getPrepaymentQuote(disbursedLoan.getId(),
+                new BigDecimal("300000"), PrepaymentStrategy.REDUCE_TERM, DISBURSED_ON.plusMonths(3));
+
+        assertThat(quote.getNewMonthlyPayment()).isEqualByComparingTo("106618.55");
+        assertThat(quote.getNewRemainingTermMonths()).isEqualTo(6);
+        assertThat(quote.getInterestSaved()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Олгогдоогүй зээлд тооцоо хийхгүй")
+    void getPayoffQuote_NotDisbursed() {
+        disbursedLoan.setStatus(LoanApplication.ApplicationStatus.APPROVED);
+
+        assertThatThrownBy(() -> loanQuoteService.getPayoffQuote(disbursedLoan.getId(), LocalDate.now(), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Bulk тооцоо нэг query-гээр, олдоогүй мөрийг алдаатайгаар буцаана")
+    void getBulkPayoffQuotes_SingleQueryWithMissingRow() {
+        UUID missingId = UUID.randomUUID();
+        given(loanApplicationRepository.findAllByIdInWithLoanProduct(anyCollection()))
+                .willReturn(Collections.singletonList(disbursedLoan));
+
+        List<LoanQuoteDto> quotes = loanQuoteService.getBulkPayoffQuotes(
+                Arrays.asList(disbursedLoan.getId(), missingId), DISBURSED_ON.plusMonths(3));
+
+        assertThat(quotes).hasSize(2);
+        assertThat(quotes.get(0).getPayoffAmount()).isEqualByComparingTo("931562.27");
+        assertThat(quotes.get(1).getError()).contains(missingId.toString());
+        verify(loanApplicationRepository, times(1)).findAllByIdInWithLoanProduct(anyCollection());
+        verify(loanApplicationRepository, never()).findByIdWithLoanProduct(any());
+    }
+}
@@ -0,0 +1,211 @@
+package com.company.los.service;
+
+import com.company.los.entity.Customer;
+import com.company.los.entity.LoanApplication;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.enums.LoanStatus;
+import com.company.los.enums.WorkflowStatus;
+import com.company.los.service.impl.LoanWorkflowServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ажлын урсгалын төлөвийн машин - application.yml-ийн бодит тохиргоогоор
+ */
+@DisplayName("LoanWorkflowService Tests")
+class LoanWorkflowServiceTest {
+
+    private NotificationService notificationService;
+    private MeterRegistry meterRegistry;
+    private LoanWorkflowService workflow;
+
+    /**
+     * application.yml-ийн app.loan.workflow тохиргооноос хөрвүүлсэн workflow (Spring context-гүй)
+     */
+    static LoanWorkflowServiceImpl fromApplicationYml(NotificationService notificationService, MeterRegistry meterRegistry) {
+        LoanWorkflowServiceImpl workflow = new LoanWorkflowServiceImpl(applicationYml(), notificationService, meterRegistry);
+        workflow.compile();
+        return workflow;
+    }
+
+    /**
+     * application.yml-ийг property source болгон ачаалсан орчин
+     */
+    static StandardEnvironment applicationYml() {
+        StandardEnvironment environment = new StandardEnvironment();
+        try {
+            new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))
+                    .forEach(environment.getPropertySources()::addLast);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return environment;
+    }
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        workflow = fromApplicationYml(notificationService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Хүснэгтэд байгаа шилжилт зөвшөөрөгдөж, эцсийн төлөвөөс шилжихгүй")
+    void canTransition_FollowsConfiguredTable() {
+        assertThat(workflow.canTransition(ApplicationStatus.DRAFT, ApplicationStatus.SUBMITTED)).isTrue();
+        assertThat(workflow.canTransition(ApplicationStatus.PENDING_DOCUMENTS, ApplicationStatus.APPROVED)).isTrue();
+        assertThat(workflow.canTransition(ApplicationStatus.DRAFT, ApplicationStatus.APPROVED)).isFalse();
+        assertThat(workflow.canTransition(ApplicationStatus.APPROVED, ApplicationStatus.REJECTED)).isFalse();
+
+        for (ApplicationStatus terminal : List.of(ApplicationStatus.REJECTED, ApplicationStatus.CANCELLED,
+                ApplicationStatus.DISBURSED)) {
+            assertThat(workflow.getAllowedTransitions(terminal)).isEmpty();
+            assertThat(workflow.getWorkflowStatus(terminal)).isIn(WorkflowStatus.COMPLETED, WorkflowStatus.CANCELLED);
+        }
+        assertThat(workflow.getWorkflowStatus(ApplicationStatus.PENDING_DOCUMENTS)).isEqualTo(WorkflowStatus.ON_HOLD);
+    }
+
+    @Test
+    @DisplayName("Guard татгалзвал шалтгаантай IllegalStateException")
+    void checkTransition_GuardBlocksIncompleteSubmission() {
+        LoanApplication application = application(ApplicationStatus.DRAFT);
+        application.setRequestedAmount(null);
+
+        assertThatThrownBy(() -> workflow.checkTransition(application, ApplicationStatus.SUBMITTED))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("complete-application");
+
+        application.setRequestedAmount(new BigDecimal("1000000"));
+        assertThatCode(() -> workflow.checkTransition(application, ApplicationStatus.SUBMITTED))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Бөөн үнэлгээ мөр бүрт шийдвэр буцаана")
+    void evaluateTransitions_DecidesEachApplication() {
+        LoanApplication submitted = application(ApplicationStatus.SUBMITTED);
+        LoanApplication approved = application(ApplicationStatus.APPROVED);
+        LoanApplication rejected = application(ApplicationStatus.REJECTED);
+
+        List<LoanWorkflowService.TransitionDecision> decisions = workflow.evaluateTransitions(
+                List.of(submitted, approved, rejected), ApplicationStatus.CANCELLED);
+
+        assertThat(decisions).extracting(LoanWorkflowService.TransitionDecision::applicationId)
+                .containsExactly(submitted.getId(), approved.getId(), rejected.getId());
+        assertThat(decisions).extracting(LoanWorkflowService.TransitionDecision::allowed)
+                .containsExactly(true, true, false);
+        assertThat(decisions.get(2).reason()).contains("REJECTED");
+    }
+
+    @Test
+    @DisplayName("Шилжилтийн дараа өмнөх төлөвийн хугацаа хэмжигдэж, effect ажиллана")
+    void onTransitionCompleted_RecordsDwellAndRunsEffects() {
+        LoanApplication application = application(ApplicationStatus.UNDER_REVIEW);
+
+        workflow.onTransitionCompleted(ApplicationStatus.SUBMITTED, LocalDateTime.now().minusHours(3), application);
+
+        Timer dwell = meterRegistry.get("los.workflow.status.dwell")
+                .tag("from", "SUBMITTED").tag("to", "UNDER_REVIEW").timer();
+        assertThat(dwell.count()).isEqualTo(1);
+        assertThat(dwell.totalTime(TimeUnit.MINUTES)).isBetween(179.0, 181.0);
+        verify(notificationService).sendStatusUpdateNotification(application);
+    }
+
+    @Test
+    @DisplayName("Effect алдаа шилжилтийг буцаахгүй")
+    void onTransitionCompleted_EffectFailureIsContained() {
+        doThrow(new RuntimeException("smtp down")).when(notificationService).sendStatusUpdateNotification(any());
+
+        assertThatCode(() -> workflow.onTransitionCompleted(ApplicationStatus.SUBMITTED, null,
+                application(ApplicationStatus.REJECTED))).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("los.workflow.effect.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Транзакц дотор effect commit болсны дараа ажиллаж, rollback болбол ажиллахгүй")
+    void onTransitionCompleted_DefersEffectsUntilCommit() {
+        LoanApplication committed = application(ApplicationStatus.UNDER_REVIEW);
+        LoanApplication rolledBack = application(ApplicationStatus.UNDER_REVIEW);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            workflow.onTransitionCompleted(ApplicationStatus.SUBMITTED, null, committed);
+            verify(notificationService, never()).sendStatusUpdateNotification(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            workflow.onTransitionCompleted(ApplicationStatus.SUBMITTED, null, rolledBack);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(notificationService).sendStatusUpdateNotification(committed);
+        verify(notificationService, never()).sendStatusUpdateNotification(rolledBack);
+    }
+
+    @Test
+    @DisplayName("LoanStatus хөрвүүлэлт: харгалзахгүй утга DRAFT болж хувирахгүй")
+    void statusConversion_RejectsNonApplicationStatuses() {
+        assertThat(workflow.toApplicationStatus(LoanStatus.PENDING_DOCUMENTS)).isEqualTo(ApplicationStatus.PENDING_DOCUMENTS);
+        assertThat(workflow.toLoanStatus(ApplicationStatus.DISBURSED)).isEqualTo(LoanStatus.DISBURSED);
+        assertThatThrownBy(() -> workflow.toApplicationStatus(LoanStatus.ACTIVE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Хүснэгтэд байхгүй шилжилтэд guard зааж өгвөл эхлэхгүй")
+    void compile_RejectsGuardOnUnknownTransition() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.loan.workflow.transitions[DRAFT]", "SUBMITTED")
+                .withProperty("app.loan.workflow.guards[DRAFT>APPROVED]", "complete-application")
+                .withProperty("app.loan.workflow.phases[IN_PROGRESS]",
+                        "DRAFT, PENDING, SUBMITTED, PENDING_DOCUMENTS, UNDER_REVIEW, APPROVED, REJECTED, CANCELLED, DISBURSED");
+        LoanWorkflowServiceImpl invalid = new LoanWorkflowServiceImpl(environment, notificationService, meterRegistry);
+
+        assertThatThrownBy(invalid::compile)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("DRAFT>APPROVED");
+    }
+
+    private LoanApplication application(ApplicationStatus status) {
+        Customer customer = new Customer();
+        customer.setId(UUID.randomUUID());
+
+        LoanApplication application = new LoanApplication();
+        application.setId(UUID.randomUUID());
+        application.setCustomer(customer);
+        application.setLoanType(LoanApplication.LoanType.PERSONAL);
+        application.setRequestedAmount(new BigDecimal("1000000"));
+        application.setRequestedTermMonths(12);
+        application.setStatus(status);
+        return application;
+    }
+}
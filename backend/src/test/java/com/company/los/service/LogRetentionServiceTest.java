@@ -0,0 +1,172 @@
+package com.company.los.service;
+
+import com.company.los.config.LogPartitionMigration;
+import com.company.los.service.impl.LogRetentionServiceImpl;
+import com.company.los.util.DatabaseDialect;
+import com.company.los.util.LogPartitions;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Логийн хадгалалт - partition-гүй өгөгдлийн сан дээрх (цаг, id) keyset chunk устгал (H2)
+ */
+@DisplayName("LogRetentionService Tests")
+class LogRetentionServiceTest {
+
+    private static final LocalDateTime OLD = LocalDateTime.now().minusDays(60).withNano(0);
+
+    @TempDir
+    Path exportDir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LogRetentionServiceImpl retentionService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:retention" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        retentionService = new LogRetentionServiceImpl(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(retentionService, "auditRetentionDays", 30);
+        ReflectionTestUtils.setField(retentionService, "activityRetentionDays", 30);
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 3);
+        ReflectionTestUtils.setField(retentionService, "chunkPauseMs", 0L);
+
+        // Chunk-ийн хил ижил цагтай мөрүүдийн дундуур таарна: 2 мөр OLD, 5 мөр OLD + 1 цаг
+        for (int i = 1; i <= 7; i++) {
+            insertAudit(String.format("a%02d", i), i <= 2 ? OLD : OLD.plusHours(1));
+        }
+        insertAudit("recent-1", LocalDateTime.now().minusDays(1));
+        insertAudit("recent-2", LocalDateTime.now());
+    }
+
+    private void insertAudit(String id, LocalDateTime changedAt) {
+        jdbcTemplate.update("INSERT INTO audit_logs (id, table_name, record_id, action, changed_by, changed_at) " +
+                "VALUES (?, 'loan_applications', ?, 'UPDATE', 'officer', ?)", id, id, Timestamp.valueOf(changedAt));
+    }
+
+    private void insertActivity(String id, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO activity_logs (id, activity_type, description, created_at) " +
+                "VALUES (?, 'LOGIN', 'Нэвтэрсэн, \"web\"', ?)", id, Timestamp.valueOf(createdAt));
+    }
+
+    private List<String> auditIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM audit_logs ORDER BY id", String.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> tableResult(Map<String, Object> result, String table) {
+        return (Map<String, Object>) result.get(table);
+    }
+
+    @Test
+    @DisplayName("Cutoff-оос өмнөх мөрүүдийг ижил цагтай мөрийг алгасахгүйгээр chunk-аар устгана")
+    void runRetention_DeletesOldRowsInKeysetChunks() {
+        Map<String, Object> audit = tableResult(retentionService.runRetention(), LogPartitions.AUDIT_LOGS.name());
+
+        assertThat(audit)
+                .containsEntry("mode", "CHUNK")
+                .containsEntry("deletedRows", 7L)
+                .containsEntry("chunks", 3)
+                .containsEntry("complete", true);
+        assertThat(auditIds()).containsExactly("recent-1", "recent-2");
+    }
+
+    @Test
+    @DisplayName("Нэг ажиллагааны chunk-ийн дээд хэмжээнд хүрвэл зогсож, дараагийн ажиллагаа үргэлжлүүлнэ")
+    void runRetention_StopsAtMaxChunksAndResumes() {
+        ReflectionTestUtils.setField(retentionService, "maxChunksPerRun", 2);
+
+        Map<String, Object> first = tableResult(retentionService.runRetention(), LogPartitions.AUDIT_LOGS.name());
+
+        assertThat(first)
+                .containsEntry("deletedRows", 6L)
+                .containsEntry("chunks", 2)
+                .containsEntry("complete", false);
+        assertThat(auditIds()).containsExactly("a07", "recent-1", "recent-2");
+
+        Map<String, Object> second = tableResult(retentionService.runRetention(), LogPartitions.AUDIT_LOGS.name());
+
+        assertThat(second)
+                .containsEntry("deletedRows", 1L)
+                .containsEntry("complete", true);
+        assertThat(auditIds()).containsExactly("recent-1", "recent-2");
+    }
+
+    @Test
+    @DisplayName("Export идэвхтэй бол устгах мөрүүдийг gzip CSV-д бичсэний дараа устгана")
+    void runRetention_ExportsChunksBeforeDeleting() throws Exception {
+        ReflectionTestUtils.setField(retentionService, "exportEnabled", true);
+        ReflectionTestUtils.setField(retentionService, "exportPath", exportDir.toString());
+        insertActivity("act-1", OLD);
+        insertActivity("act-2", OLD.plusMinutes(1));
+        insertActivity("act-3", LocalDateTime.now());
+
+        Map<String, Object> activity = tableResult(retentionService.runRetention(),
+                LogPartitions.ACTIVITY_LOGS.name());
+
+        assertThat(activity).containsEntry("deletedRows", 2L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM activity_logs", String.class)).containsExactly("act-3");
+
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(exportDir.resolve(LogPartitions.ACTIVITY_LOGS.name()))) {
+            archives = files.collect(Collectors.toList());
+        }
+        assertThat(archives).hasSize(1);
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archives.get(0))), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,").contains("created_at");
+        assertThat(lines.get(1)).startsWith("act-1,").contains("\"Нэвтэрсэн, \"\"web\"\"\"");
+        assertThat(lines.get(2)).startsWith("act-2,");
+    }
+
+    @Test
+    @DisplayName("PostgreSQL биш өгөгдлийн сан дээр partition migration юу ч өөрчлөхгүй, retention CHUNK горимтой")
+    void partitionMigration_IsNoOpWithoutPostgres() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+
+            new LogPartitionMigration().migrate(context);
+        }
+
+        assertThat(DatabaseDialect.isPostgres(jdbcTemplate)).isFalse();
+        assertThat(auditIds()).hasSize(9);
+        assertThat(retentionService.getRetentionStatus().get(LogPartitions.AUDIT_LOGS.name()))
+                .isEqualTo(Map.of("mode", "CHUNK", "retentionDays", 30));
+    }
+}
@@ -0,0 +1,174 @@
+package com.company.los.service;
+
+import com.company.los.dto.ReportJobDto;
+import com.company.los.enums.ReportType;
+import com.company.los.repository.ReportingRepository;
+import com.company.los.service.impl.ReportServiceImpl;
+import com.company.los.util.NodeIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Async тайлан - watermark-аар дахин ашиглах, single-flight, унасан node-ийн ажлыг цэвэрлэх (H2)
+ */
+@DisplayName("ReportService Tests")
+class ReportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ReportingRepository reportingRepository;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:report" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        reportingRepository = mock(ReportingRepository.class);
+        when(reportingRepository.getDocumentStatisticsReport()).thenReturn(rows("Паспорт", 3L));
+        reportService = new ReportServiceImpl(jdbcTemplate, reportingRepository, new ObjectMapper());
+        ReflectionTestUtils.invokeMethod(reportService, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(reportService, "stop");
+    }
+
+    private static List<Object[]> rows(String documentType, long total) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{documentType, true, total, 2L, 1L, 1024L, 3072L});
+        return rows;
+    }
+
+    private ReportJobDto awaitStatus(UUID jobId, String status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReportJobDto job = reportService.getJob(jobId);
+        while (!status.equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = reportService.getJob(jobId);
+        }
+        return job;
+    }
+
+    private void insertJob(String status, String ownerNode, LocalDateTime heartbeatAt) {
+        jdbcTemplate.update("INSERT INTO report_results (id, report_type, cache_key, data_watermark, status, owner_node, " +
+                        "heartbeat_at, created_at) VALUES (?, 'GEOGRAPHIC', ?, 'w', ?, ?, ?, ?)",
+                UUID.randomUUID().toString(), UUID.randomUUID().toString().replace("-", ""), status, ownerNode,
+                heartbeatAt != null ? Timestamp.valueOf(heartbeatAt) : null, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private String statusOf(String ownerNode) {
+        return jdbcTemplate.queryForObject("SELECT status FROM report_results WHERE owner_node = ?", String.class, ownerNode);
+    }
+
+    @Test
+    @DisplayName("Эх өгөгдөл өөрчлөгдөөгүй бол дууссан үр дүнг дахин ашиглаж, өөрчлөгдвөл шинээр гүйцэтгэнэ")
+    void submitReport_ReusesResultUntilSourceChanges() throws Exception {
+        ReportJobDto first = reportService.submitReport(ReportType.DOCUMENT_STATISTICS, Map.of(), "admin");
+        assertThat(awaitStatus(first.getJobId(), ReportJobDto.COMPLETED).getRowCount()).isEqualTo(1);
+
+        ReportJobDto cached = reportService.submitReport(ReportType.DOCUMENT_STATISTICS, Map.of(), "manager");
+        assertThat(cached.getJobId()).isEqualTo(first.getJobId());
+        assertThat(cached.isCached()).isTrue();
+        verify(reportingRepository, times(1)).getDocumentStatisticsReport();
+
+        jdbcTemplate.update("INSERT INTO document_types (id, name, updated_at) VALUES (?, 'Иргэний үнэмлэх', ?)",
+                UUID.randomUUID(), Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)));
+        ReportJobDto refreshed = reportService.submitReport(ReportType.DOCUMENT_STATISTICS, Map.of(), "admin");
+
+        assertThat(refreshed.getJobId()).isNotEqualTo(first.getJobId());
+        assertThat(refreshed.getDataWatermark()).isNotEqualTo(first.getDataWatermark());
+        assertThat(awaitStatus(refreshed.getJobId(), ReportJobDto.COMPLETED).getStatus()).isEqualTo(ReportJobDto.COMPLETED);
+        verify(reportingRepository, times(2)).getDocumentStatisticsReport();
+    }
+
+    @Test
+    @DisplayName("Watermark нь эх хүснэгт бүрийн MAX(updated_at)")
+    void computeWatermark_UsesLastChangePerTable() {
+        LocalDateTime changed = LocalDateTime.of(2025, 8, 10, 12, 0);
+        jdbcTemplate.update("INSERT INTO document_types (id, name, updated_at) VALUES (?, 'Паспорт', ?)",
+                UUID.randomUUID(), Timestamp.valueOf(changed));
+
+        String watermark = ReflectionTestUtils.invokeMethod(reportService, "computeWatermark",
+                ReportType.DOCUMENT_STATISTICS);
+
+        assertThat(watermark).isEqualTo("document_types@" + Timestamp.valueOf(changed) + ";documents@null");
+    }
+
+    @Test
+    @DisplayName("Зэрэг ирсэн ижил хүсэлтүүд нэг ажлыг хуваалцана")
+    void submitReport_ConcurrentRequestsShareOneJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportingRepository.getDocumentStatisticsReport()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return rows("Паспорт", 3L);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ReportJobDto>> submitted = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                submitted.add(callers.submit(() ->
+                        reportService.submitReport(ReportType.DOCUMENT_STATISTICS, Map.of(), "admin")));
+            }
+            List<UUID> jobIds = new ArrayList<>();
+            for (Future<ReportJobDto> future : submitted) {
+                jobIds.add(future.get(5, TimeUnit.SECONDS).getJobId());
+            }
+
+            assertThat(jobIds).containsOnly(jobIds.get(0));
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_results", Integer.class)).isEqualTo(1);
+            release.countDown();
+            assertThat(awaitStatus(jobIds.get(0), ReportJobDto.COMPLETED).getStatus()).isEqualTo(ReportJobDto.COMPLETED);
+            verify(reportingRepository, times(1)).getDocumentStatisticsReport();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Зөвхөн heartbeat нь хуучирсан ажлыг FAILED болгож, амьд node-ийн ажилд хүрэхгүй")
+    void scheduledHeartbeat_FailsOnlyStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        insertJob("RUNNING", "node-stopped", now.minusMinutes(10));
+        insertJob("QUEUED", "node-alive", now.minusSeconds(10));
+        insertJob("QUEUED", NodeIdentity.get(), now.minusMinutes(10));
+        insertJob("COMPLETED", "node-finished", now.minusDays(1));
+
+        reportService.scheduledHeartbeat();
+
+        assertThat(statusOf("node-stopped")).isEqualTo("FAILED");
+        assertThat(statusOf("node-alive")).isEqualTo("QUEUED");
+        assertThat(statusOf("node-finished")).isEqualTo("COMPLETED");
+        // Энэ node-ийн ажил хэвээр, heartbeat нь сунгагдсан
+        assertThat(statusOf(NodeIdentity.get())).isEqualTo("QUEUED");
+        assertThat(jdbcTemplate.queryForObject("SELECT heartbeat_at FROM report_results WHERE owner_node = ?",
+                Timestamp.class, NodeIdentity.get()).toLocalDateTime()).isAfter(now.minusSeconds(1));
+    }
+}
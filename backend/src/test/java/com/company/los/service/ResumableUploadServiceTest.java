@@ -0,0 +1,290 @@
+package com.company.los.service;
+
+import com.company.los.dto.DocumentDto;
+import com.company.los.exception.OcrSaturatedException;
+import com.company.los.repository.DocumentUploadSessionRepository;
+import com.company.los.repository.DocumentUploadSessionRepository.SessionRow;
+import com.company.los.service.ResumableUploadService.SessionRequest;
+import com.company.los.service.ResumableUploadService.UploadStatus;
+import com.company.los.service.impl.ResumableUploadServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Resumable upload - chunk бичих, дахин эхлэх, checksum, цэвэрлэгээ
+ */
+@DisplayName("ResumableUploadService Tests")
+class ResumableUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String OWNER = "officer";
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<UUID, SessionRow> sessions = new ConcurrentHashMap<>();
+    private volatile boolean failDeletes;
+    private DocumentService documentService;
+    private ResumableUploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        documentService = mock(DocumentService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        uploadService = new ResumableUploadServiceImpl(new InMemorySessionRepository(), documentService,
+                transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(uploadService, "documentStoragePath", tempDir.toString());
+        ReflectionTestUtils.setField(uploadService, "chunkSize", CHUNK_SIZE);
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static byte[] chunk(byte[] file, int index) {
+        return Arrays.copyOfRange(file, index * CHUNK_SIZE, Math.min(file.length, (index + 1) * CHUNK_SIZE));
+    }
+
+    private UploadStatus open(long size, String checksum) {
+        return uploadService.createSession(new SessionRequest(UUID.randomUUID(), null, UUID.randomUUID(), "scan.pdf",
+                "application/pdf", size, checksum), OWNER);
+    }
+
+    @Test
+    @DisplayName("Дарааллаас гадуур, давтан ирсэн chunk-ууд бүрэн файл болж, checksum-тай баримт үүснэ")
+    void writeChunk_OutOfOrderAndRetried_CompletesWithChecksum() throws Exception {
+        byte[] file = new byte[4500];
+        new Random(7).nextBytes(file);
+        UploadStatus session = open(file.length, sha256(file));
+        assertThat(session.missingOffsets()).containsExactly(0L, 1000L, 2000L, 3000L, 4000L);
+
+        uploadService.writeChunk(session.sessionId(), 2000, chunk(file, 2), null, OWNER);
+        uploadService.writeChunk(session.sessionId(), 0, chunk(file, 0), sha256(chunk(file, 0)), OWNER);
+        UploadStatus retried = uploadService.writeChunk(session.sessionId(), 0, chunk(file, 0), null, OWNER);
+        assertThat(retried.receivedBytes()).isEqualTo(2000);
+        assertThat(retried.nextOffset()).isEqualTo(1000);
+        assertThat(retried.missingOffsets()).containsExactly(1000L, 3000L, 4000L);
+        assertThatThrownBy(() -> uploadService.complete(session.sessionId(), OWNER))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("incomplete");
+
+        for (int index : new int[]{4, 1, 3}) {
+            uploadService.writeChunk(session.sessionId(), (long) index * CHUNK_SIZE, chunk(file, index), null, OWNER);
+        }
+        AtomicReference<byte[]> stored = new AtomicReference<>();
+        AtomicReference<String> statusDuringMove = new AtomicReference<>();
+        DocumentDto created = new DocumentDto();
+        created.setId(UUID.randomUUID());
+        when(documentService.createDocumentFromFile(any(), isNull(), any(), any(), eq("scan.pdf"), eq("application/pdf"),
+                eq(sha256(file)), any())).thenAnswer(invocation -> {
+                    stored.set(Files.readAllBytes(invocation.getArgument(3)));
+                    statusDuringMove.set(sessions.get(session.sessionId()).status());
+                    invocation.<Consumer<DocumentDto>>getArgument(7).accept(created);
+                    return created;
+                });
+
+        DocumentDto document = uploadService.complete(session.sessionId(), OWNER);
+
+        assertThat(document.getId()).isEqualTo(created.getId());
+        assertThat(stored.get()).isEqualTo(file);
+        assertThat(statusDuringMove.get()).isEqualTo("COMPLETING");
+        assertThat(sessions.get(session.sessionId()).documentId()).isEqualTo(created.getId());
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("Offset, урт, chunk checksum буруу бол бичихгүй")
+    void writeChunk_RejectsMisalignedOrCorruptChunks() {
+        UploadStatus session = open(2500, null);
+
+        assertThatThrownBy(() -> uploadService.writeChunk(session.sessionId(), 500, new byte[CHUNK_SIZE], null, OWNER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uploadService.writeChunk(session.sessionId(), 2000, new byte[CHUNK_SIZE], null, OWNER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("500 bytes");
+        assertThatThrownBy(() -> uploadService.writeChunk(session.sessionId(), 0, new byte[CHUNK_SIZE], "00", OWNER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("checksum");
+
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).receivedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Файлын checksum таарахгүй бол session цуцлагдаж түр файл устана")
+    void complete_ChecksumMismatch_AbortsSession() throws Exception {
+        UploadStatus session = open(10, "a".repeat(64));
+        uploadService.writeChunk(session.sessionId(), 0, new byte[10], null, OWNER);
+        Path tempFile = Paths.get(sessions.get(session.sessionId()).tempPath());
+
+        assertThatThrownBy(() -> uploadService.complete(session.sessionId(), OWNER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Checksum mismatch");
+
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).status()).isEqualTo("ABORTED");
+        assertThat(tempFile).doesNotExist();
+        verify(documentService, never()).createDocumentFromFile(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Баримт үүсгэж чадаагүй бол session OPEN болж буцаж, дахин дуусгах боломжтой")
+    void complete_StoreFailure_ReopensSession() throws Exception {
+        byte[] file = new byte[10];
+        UploadStatus session = open(file.length, sha256(file));
+        uploadService.writeChunk(session.sessionId(), 0, file, null, OWNER);
+        DocumentDto created = new DocumentDto();
+        created.setId(UUID.randomUUID());
+        when(documentService.createDocumentFromFile(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new OcrSaturatedException())
+                .thenAnswer(invocation -> {
+                    invocation.<Consumer<DocumentDto>>getArgument(7).accept(created);
+                    return created;
+                });
+
+        assertThatThrownBy(() -> uploadService.complete(session.sessionId(), OWNER))
+                .isInstanceOf(OcrSaturatedException.class);
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).status()).isEqualTo("OPEN");
+
+        assertThat(uploadService.complete(session.sessionId(), OWNER).getId()).isEqualTo(created.getId());
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("Хугацаа нь дууссан session-ууд түр файлтайгаа устана")
+    void reapExpired_DeletesAbandonedSessions() {
+        UploadStatus abandoned = open(3000, null);
+        UploadStatus active = open(3000, null);
+        Path abandonedFile = Paths.get(sessions.get(abandoned.sessionId()).tempPath());
+        sessions.computeIfPresent(abandoned.sessionId(), (id, row) ->
+                row.withProgress(row.receivedChunks(), row.receivedBytes(), LocalDateTime.now().minusMinutes(1)));
+
+        assertThat(uploadService.reapExpired()).isEqualTo(1);
+
+        assertThat(abandonedFile).doesNotExist();
+        assertThat(sessions).containsOnlyKeys(active.sessionId());
+    }
+
+    @Test
+    @DisplayName("Session-ийг нээсэн хэрэглэгчээс өөр хүн төлөв харах, chunk бичих, дуусгах, цуцлах боломжгүй")
+    void otherUser_CannotReadWriteCompleteOrAbort() throws Exception {
+        UploadStatus session = open(10, null);
+        assertThat(sessions.get(session.sessionId()).createdBy()).isEqualTo(OWNER);
+
+        assertThatThrownBy(() -> uploadService.writeChunk(session.sessionId(), 0, new byte[10], null, "intruder"))
+                .isInstanceOf(AccessDeniedException.class);
+        uploadService.writeChunk(session.sessionId(), 0, new byte[10], null, OWNER);
+        assertThatThrownBy(() -> uploadService.complete(session.sessionId(), "intruder"))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> uploadService.abort(session.sessionId(), "intruder"))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> uploadService.getStatus(session.sessionId(), "intruder"))
+                .isInstanceOf(AccessDeniedException.class);
+
+        assertThat(uploadService.getStatus(session.sessionId(), OWNER).status()).isEqualTo("OPEN");
+        assertThat(Paths.get(sessions.get(session.sessionId()).tempPath())).exists();
+        verify(documentService, never()).createDocumentFromFile(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Бүтэн batch-ийн нэгийг ч устгаж чадахгүй бол цэвэрлэгээ зогсоно")
+    void reapExpired_StopsWhenBatchReapsNothing() {
+        LocalDateTime expired = LocalDateTime.now().minusMinutes(1);
+        for (int i = 0; i < 250; i++) {
+            UUID id = UUID.randomUUID();
+            sessions.put(id, new SessionRow(id, UUID.randomUUID(), null, UUID.randomUUID(), "scan.pdf", null, 10,
+                    CHUNK_SIZE, "", 0, null, tempDir.resolve(id + ".part").toString(), OWNER, "ABORTED", null, expired));
+        }
+        failDeletes = true;
+
+        assertThat(uploadService.reapExpired()).isZero();
+
+        failDeletes = false;
+        assertThat(uploadService.reapExpired()).isEqualTo(250);
+        assertThat(sessions).isEmpty();
+    }
+
+    /**
+     * Session хүснэгтийг санах ойд дуурайна
+     */
+    private class InMemorySessionRepository extends DocumentUploadSessionRepository {
+
+        InMemorySessionRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insert(SessionRow session, LocalDateTime now) {
+            sessions.put(session.id(), session);
+        }
+
+        @Override
+        public SessionRow find(UUID id) {
+            return sessions.get(id);
+        }
+
+        @Override
+        public SessionRow findForUpdate(UUID id) {
+            return sessions.get(id);
+        }
+
+        @Override
+        public void updateProgress(UUID id, String receivedChunks, long receivedBytes, LocalDateTime now,
+                                   LocalDateTime expiresAt) {
+            sessions.computeIfPresent(id, (key, row) -> row.withProgress(receivedChunks, receivedBytes, expiresAt));
+        }
+
+        @Override
+        public void updateStatus(UUID id, String status, UUID documentId, LocalDateTime now, LocalDateTime expiresAt) {
+            sessions.computeIfPresent(id, (key, row) -> new SessionRow(row.id(), row.customerId(),
+                    row.loanApplicationId(), row.documentTypeId(), row.originalFilename(), row.contentType(),
+                    row.totalSize(), row.chunkSize(), row.receivedChunks(), row.receivedBytes(), row.expectedChecksum(),
+                    row.tempPath(), row.createdBy(), status, documentId, expiresAt));
+        }
+
+        @Override
+        public List<SessionRow> findExpired(LocalDateTime now, int limit) {
+            List<SessionRow> expired = new ArrayList<>();
+            for (SessionRow row : sessions.values()) {
+                if (row.expiresAt().isBefore(now) && expired.size() < limit) {
+                    expired.add(row);
+                }
+            }
+            return expired;
+        }
+
+        @Override
+        public int delete(UUID id) {
+            if (failDeletes) {
+                return 0;
+            }
+            return sessions.remove(id) != null ? 1 : 0;
+        }
+    }
+}
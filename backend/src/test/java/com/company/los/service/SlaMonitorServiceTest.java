@@ -0,0 +1,173 @@
+package com.company.los.service;
+
+import com.company.los.dto.ApplicationStateEntry;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.SlaMonitorService.SlaBreach;
+import com.company.los.service.SlaMonitorService.SlaEscalation;
+import com.company.los.service.impl.SlaMonitorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * SLA хяналт - application.yml-ийн хугацаа, workflow хүснэгтээр, escalation claim нь H2 дээр
+ */
+@DisplayName("SlaMonitorService Tests")
+class SlaMonitorServiceTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private LoanApplicationRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private List<Object> events;
+    private SlaMonitorServiceImpl monitor;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LoanApplicationRepository.class);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sla" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        events = new ArrayList<>();
+        monitor = monitor(events);
+    }
+
+    private SlaMonitorServiceImpl monitor(List<Object> published) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LoanWorkflowService workflow = LoanWorkflowServiceTest.fromApplicationYml(mock(NotificationService.class), meterRegistry);
+        SlaMonitorServiceImpl node = new SlaMonitorServiceImpl(repository, jdbcTemplate, workflow, published::add,
+                LoanWorkflowServiceTest.applicationYml(), meterRegistry);
+        node.init();
+        return node;
+    }
+
+    private static ApplicationStateEntry entry(UUID id, ApplicationStatus status, LocalDateTime enteredAt) {
+        return new ApplicationStateEntry(id, "LN-" + id.toString().substring(0, 8), status, enteredAt);
+    }
+
+    @Test
+    @DisplayName("Хугацаа өнгөрөх мөчид escalation event нийтлэгдэж, хугацаа хэтэрсэнд орно")
+    void deadlinePassing_FiresEscalationEvent() {
+        UUID id = UUID.randomUUID();
+        // SUBMITTED: 2 өдөр - хугацаа 1 секундийн дараа дуусна
+        monitor.onStateEntered(entry(id, ApplicationStatus.SUBMITTED, LocalDateTime.now().minusDays(2).plusSeconds(1)));
+        long now = System.currentTimeMillis();
+
+        assertThat(monitor.advanceTo(now)).isZero();
+        assertThat(monitor.isOverdue(id)).isFalse();
+
+        assertThat(monitor.advanceTo(now + 3_000)).isEqualTo(1);
+        assertThat(monitor.isOverdue(id)).isTrue();
+        assertThat(events).singleElement().isInstanceOfSatisfying(SlaEscalation.class, escalation -> {
+            assertThat(escalation.applicationId()).isEqualTo(id);
+            assertThat(escalation.escalationLevel()).isEqualTo(1);
+        });
+
+        // Дараагийн шатлал escalation-interval (1 өдөр)-ийн дараа
+        assertThat(monitor.advanceTo(now + 3_000 + DAY_MILLIS)).isEqualTo(1);
+        assertThat(monitor.getOverdue()).extracting(SlaBreach::escalationLevel).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Төлөв солигдоход өмнөх таймер цуцлагдана")
+    void stateChange_CancelsPendingTimer() {
+        UUID id = UUID.randomUUID();
+        monitor.onStateEntered(entry(id, ApplicationStatus.SUBMITTED, LocalDateTime.now().minusDays(2).plusSeconds(1)));
+        monitor.onStateEntered(entry(id, ApplicationStatus.UNDER_REVIEW, LocalDateTime.now()));
+
+        assertThat(monitor.advanceTo(System.currentTimeMillis() + 3_000)).isZero();
+        assertThat(monitor.isOverdue(id)).isFalse();
+        assertThat(events).isEmpty();
+
+        monitor.onStateEntered(entry(id, ApplicationStatus.APPROVED, LocalDateTime.now()));
+        monitor.onStateEntered(entry(id, ApplicationStatus.DISBURSED, LocalDateTime.now()));
+        assertThat(monitor.getStatistics()).containsEntry("tracked", 0).containsEntry("timers", 0);
+    }
+
+    @Test
+    @DisplayName("Restart: унтарсан хооронд өнгөрсөн шатлал бүрийг claim-аар нэг л удаа нийтэлнэ")
+    void rebuild_PublishesMissedEscalationsOnce() {
+        UUID late = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        UUID draft = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findStateEntries(anyCollection())).thenReturn(List.of(
+                entry(late, ApplicationStatus.UNDER_REVIEW, now.minusDays(8).minusHours(1)),
+                entry(fresh, ApplicationStatus.PENDING, now.minusDays(1)),
+                entry(draft, ApplicationStatus.DRAFT, now.minusDays(30))));
+
+        monitor.rebuild();
+
+        assertThat(monitor.getOverdue()).singleElement()
+                .extracting(SlaBreach::applicationId, SlaBreach::escalationLevel)
+                .containsExactly(late, 2);
+        assertThat(monitor.isOverdue(fresh)).isFalse();
+        assertThat(monitor.getEnteredBefore(ApplicationStatus.DRAFT, now.minusDays(10))).containsExactly(draft);
+        assertThat(events).hasSize(2).allSatisfy(event ->
+                assertThat(event).isInstanceOfSatisfying(SlaEscalation.class,
+                        escalation -> assertThat(escalation.applicationId()).isEqualTo(late)));
+        assertThat(events).extracting(event -> ((SlaEscalation) event).escalationLevel()).containsExactly(1, 2);
+        assertThat(monitor.advanceTo(System.currentTimeMillis())).isZero();
+
+        // Дахин restart хийсэн node өмнө нь нийтэлсэн шатлалыг давтахгүй
+        List<Object> restartedEvents = new ArrayList<>();
+        monitor(restartedEvents).rebuild();
+        assertThat(restartedEvents).isEmpty();
+
+        // DB-д байхгүй болсон (эцсийн төлөвт орсон) мөр хасагдана
+        when(repository.findStateEntries(anyCollection())).thenReturn(List.of(
+                entry(fresh, ApplicationStatus.PENDING, now.minusDays(1))));
+        assertThat(monitor.rebuild()).containsEntry("removed", 2);
+        assertThat(monitor.getOverdue()).isEmpty();
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Хоёр node ижил escalation-ийг шатлуулахад event-ийг зөвхөн нэг нь нийтэлнэ")
+    void advanceTo_PublishesEachEscalationOnceAcrossNodes() {
+        List<Object> otherEvents = new ArrayList<>();
+        SlaMonitorServiceImpl other = monitor(otherEvents);
+        UUID id = UUID.randomUUID();
+        ApplicationStateEntry submitted = entry(id, ApplicationStatus.SUBMITTED,
+                LocalDateTime.now().minusDays(2).plusSeconds(1));
+        monitor.onStateEntered(submitted);
+        other.onStateEntered(submitted);
+        long later = System.currentTimeMillis() + 3_000;
+
+        assertThat(monitor.advanceTo(later)).isEqualTo(1);
+        assertThat(other.advanceTo(later)).isZero();
+
+        assertThat(events).hasSize(1);
+        assertThat(otherEvents).isEmpty();
+        // Хоёр node хоёулаа хугацаа хэтэрсэн төлөвийг санах ойдоо хадгална
+        assertThat(other.isOverdue(id)).isTrue();
+        assertThat(other.getStatistics()).containsEntry("duplicateEscalations", 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sla_escalations WHERE application_id = ?",
+                Integer.class, id)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Эцсийн төлөвийн хугацааг хүлээн авахгүй")
+    void getEnteredBefore_RejectsTerminalStatus() {
+        assertThat(monitor.isTracked(ApplicationStatus.REJECTED)).isFalse();
+        assertThatThrownBy(() -> monitor.getEnteredBefore(ApplicationStatus.REJECTED, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,216 @@
+package com.company.los.service;
+
+import com.company.los.dto.WorkQueueItem;
+import com.company.los.entity.LoanApplication.ApplicationStatus;
+import com.company.los.repository.LoanApplicationRepository;
+import com.company.los.service.WorkQueueService.WorkLease;
+import com.company.los.service.impl.WorkQueueServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ажлын дараалал - эрэмбэ, lease, work stealing
+ */
+@DisplayName("WorkQueueService Tests")
+class WorkQueueServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 8, 1, 9, 0);
+
+    private LoanApplicationRepository repository;
+    private WorkQueueServiceImpl workQueue;
+    private List<WorkQueueItem> rows;
+    private List<AuditTrailService.Change> audited;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(LoanApplicationRepository.class);
+        rows = new ArrayList<>();
+        when(repository.findWorkQueueItems(anyCollection())).thenAnswer(inv -> List.copyOf(rows));
+        when(repository.findWorkQueueItemById(any(UUID.class))).thenAnswer(inv ->
+                rows.stream().filter(r -> r.id().equals(inv.getArgument(0))).findFirst());
+        when(repository.claimForOfficer(any(), anyCollection(), anyString(), anyString(), any(), any())).thenReturn(1);
+
+        audited = new ArrayList<>();
+        AuditTrailService auditTrailService = mock(AuditTrailService.class);
+        when(auditTrailService.capture(any())).thenAnswer(inv -> audited.add(inv.getArgument(0)));
+
+        workQueue = new WorkQueueServiceImpl(repository, mock(PlatformTransactionManager.class), auditTrailService,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(workQueue, "init");
+    }
+
+    private WorkQueueItem row(String number, int priority, int hoursAfterBase, String amount, String assignedTo) {
+        WorkQueueItem item = new WorkQueueItem(UUID.randomUUID(), number, ApplicationStatus.SUBMITTED, priority,
+                new BigDecimal(amount), BASE.plusHours(hoursAfterBase), assignedTo, null, null);
+        rows.add(item);
+        return item;
+    }
+
+    @Test
+    @DisplayName("Эрэмбэ буурахаар, дараа нь SLA эхэлсэн хугацаа, дараа нь дүнгээр олгоно")
+    void next_OrdersByPriorityThenAgeThenAmount() {
+        row("LN-OLD", 3, 0, "1000000", null);
+        row("LN-URGENT", 5, 4, "1000000", null);
+        row("LN-BIG", 3, 0, "9000000", null);
+        row("LN-NEW", 3, 2, "1000000", null);
+        workQueue.rebuild();
+
+        List<String> order = new ArrayList<>();
+        Optional<WorkLease> lease;
+        while ((lease = workQueue.next("officer1")).isPresent()) {
+            order.add(lease.get().applicationNumber());
+        }
+
+        assertThat(order).containsExactly("LN-URGENT", "LN-BIG", "LN-OLD", "LN-NEW");
+        verify(repository, times(4)).claimForOfficer(any(), anyCollection(), eq(""), eq("officer1"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Өөрийн дараалал хуваалцсан дараалалтай эрэмбээр харьцуулагдана")
+    void next_PicksBestOfOwnAndShared() {
+        row("LN-SHARED", 4, 0, "1000000", null);
+        row("LN-MINE", 3, 0, "1000000", "officer1");
+        row("LN-OTHER", 5, 0, "1000000", "officer2");
+        workQueue.rebuild();
+
+        assertThat(workQueue.peek("officer1", 10))
+                .extracting(WorkQueueItem::applicationNumber)
+                .containsExactly("LN-SHARED", "LN-MINE");
+        assertThat(workQueue.next("officer1")).get()
+                .extracting(WorkLease::applicationNumber, WorkLease::stolen)
+                .containsExactly("LN-SHARED", false);
+        assertThat(workQueue.next("officer1")).get()
+                .extracting(WorkLease::applicationNumber).isEqualTo("LN-MINE");
+    }
+
+    @Test
+    @DisplayName("Өөрийн болон хуваалцсан дараалал хоосон бол ачаалалтай ажилтнаас авна")
+    void next_StealsFromBusiestOfficer() {
+        row("LN-B1", 3, 0, "1000000", "busy");
+        row("LN-B2", 4, 0, "1000000", "busy");
+        row("LN-Q1", 5, 0, "1000000", "quiet");
+        workQueue.rebuild();
+
+        WorkLease lease = workQueue.next("idle").orElseThrow();
+
+        assertThat(lease.applicationNumber()).isEqualTo("LN-B2");
+        assertThat(lease.stolen()).isTrue();
+        verify(repository).claimForOfficer(eq(lease.applicationId()), anyCollection(), eq("busy"), eq("idle"), any(),
+                any());
+        // Нэг л ажилтай ажилтнаас хулгайлахгүй
+        assertThat(workQueue.next("idle")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Эзэмшигч солигдсон claim-ийг өмнөх, шинэ эзэмшигч болон шалтгаантай аудитлана")
+    void next_AuditsOwnerChange() {
+        WorkQueueItem mine = row("LN-MINE", 5, 0, "1000000", "officer1");
+        WorkQueueItem shared = row("LN-SHARED", 4, 0, "1000000", null);
+        WorkQueueItem busy = row("LN-B1", 3, 0, "1000000", "busy");
+        row("LN-B2", 2, 0, "1000000", "busy");
+        workQueue.rebuild();
+
+        workQueue.next("officer1");
+        workQueue.next("officer1");
+        workQueue.next("officer1");
+
+        assertThat(audited).hasSize(2);
+        assertThat(audited.get(0).recordId()).isEqualTo(shared.id().toString());
+        assertThat(audited.get(0).oldValues()).containsEntry("assignedTo", null);
+        assertThat(audited.get(0).newValues()).containsEntry("assignedTo", "officer1");
+        assertThat(audited.get(0).changeReason()).isEqualTo("work-queue claim (shared)");
+        assertThat(audited.get(1).recordId()).isEqualTo(busy.id().toString());
+        assertThat(audited.get(1).oldValues()).containsEntry("assignedTo", "busy");
+        assertThat(audited.get(1).changeReason()).isEqualTo("work-queue claim (stolen)");
+        assertThat(audited).extracting(AuditTrailService.Change::recordId).doesNotContain(mine.id().toString());
+    }
+
+    @Test
+    @DisplayName("Lease дууссан ажил дараалалд буцаж, зөвхөн эзэмшигч нь сунгаж чадна")
+    void expiredLease_ReturnsToQueue() {
+        row("LN-1", 3, 0, "1000000", null);
+        workQueue.rebuild();
+
+        WorkLease lease = workQueue.next("officer1").orElseThrow();
+        when(repository.renewLease(eq(lease.applicationId()), eq("officer1"), any())).thenReturn(1);
+        assertThat(workQueue.next("officer2")).isEmpty();
+        assertThatThrownBy(() -> workQueue.renew(lease.applicationId(), "officer2"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(workQueue.renew(lease.applicationId(), "officer1").expiresAt())
+                .isAfterOrEqualTo(lease.expiresAt());
+
+        ReflectionTestUtils.setField(workQueue, "leaseSeconds", -1L);
+        workQueue.renew(lease.applicationId(), "officer1");
+        workQueue.expireLeases();
+
+        assertThat(workQueue.peek("officer1", 10))
+                .extracting(WorkQueueItem::applicationNumber).containsExactly("LN-1");
+        assertThat(workQueue.getStatistics()).containsEntry("expiredLeases", 1L);
+    }
+
+    @Test
+    @DisplayName("DB дээр өөр хүн авсан бол дараагийн ажлыг олгоно")
+    void next_ClaimConflictSkipsToNextItem() {
+        WorkQueueItem taken = row("LN-TAKEN", 5, 0, "1000000", null);
+        row("LN-FREE", 3, 0, "1000000", null);
+        workQueue.rebuild();
+        when(repository.claimForOfficer(eq(taken.id()), anyCollection(), anyString(), anyString(), any(), any())).thenReturn(0);
+        rows.set(0, taken.withAssignedTo("someoneElse"));
+
+        WorkLease lease = workQueue.next("officer1").orElseThrow();
+
+        assertThat(lease.applicationNumber()).isEqualTo("LN-FREE");
+        assertThat(workQueue.getStatistics()).containsEntry("claimConflicts", 1L);
+        assertThat(workQueue.peek("someoneElse", 10))
+                .extracting(WorkQueueItem::applicationNumber).containsExactly("LN-TAKEN");
+    }
+
+    @Test
+    @DisplayName("Мөр дээр өөр node-ийн хүчинтэй lease-тэй ажлыг дараалалд оруулахгүй")
+    void rebuild_RespectsLeaseHeldOnRow() {
+        WorkQueueItem held = row("LN-HELD", 5, 0, "1000000", null);
+        rows.set(0, held.withLease("officer2", LocalDateTime.now().plusMinutes(10)));
+        row("LN-FREE", 3, 0, "1000000", null);
+        workQueue.rebuild();
+
+        assertThat(workQueue.next("officer1")).get()
+                .extracting(WorkLease::applicationNumber).isEqualTo("LN-FREE");
+        assertThat(workQueue.getStatistics()).containsEntry("leased", 2L);
+        verify(repository, never()).claimForOfficer(eq(held.id()), anyCollection(), anyString(), anyString(), any(),
+                any());
+    }
+
+    @Test
+    @DisplayName("Чөлөөлөх нь мөр дээрх lease-ийг арилгасны дараа л ажлыг дараалалд буцаана")
+    void release_ClearsLeaseOnRowFirst() {
+        row("LN-1", 3, 0, "1000000", null);
+        workQueue.rebuild();
+        WorkLease lease = workQueue.next("officer1").orElseThrow();
+
+        workQueue.release(lease.applicationId(), "officer2");
+        assertThat(workQueue.peek("officer1", 10)).isEmpty();
+
+        when(repository.releaseLease(lease.applicationId(), "officer1")).thenReturn(1);
+        workQueue.release(lease.applicationId(), "officer1");
+
+        verify(repository).releaseLease(lease.applicationId(), "officer1");
+        List<WorkQueueItem> queued = workQueue.peek("officer1", 10);
+        assertThat(queued).extracting(WorkQueueItem::applicationNumber).containsExactly("LN-1");
+        assertThat(queued.get(0).leaseOwner()).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.los.util;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * VARCHAR(36) + UUIDv4 ба native UUID + UUIDv7 анхдагч түлхүүрийн insert/lookup benchmark.
+ * Primary key insert/lookup benchmark: VARCHAR(36) random v4 keys vs native UUID time-ordered v7 keys.
+ *
+ * JUnit тест биш - гараар ажиллуулна:
+ * <pre>
+ *   java -cp test-classes:classes:h2.jar com.company.los.util.UuidKeyBenchmark [rows] [jdbcUrl user password]
+ * </pre>
+ * URL өгөөгүй бол H2 (file) ашиглана. PostgreSQL URL өгвөл хүснэгт/индексийн хэмжээг pg_relation_size-аар хэвлэнэ.
+ *
+ * @author LOS Development Team
+ * @version 1.0
+ * @since 2025-08-10
+ */
+public final class UuidKeyBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int LOOKUPS = 100_000;
+
+    private UuidKeyBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:./target/uuid-benchmark;MODE=PostgreSQL";
+        String user = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+            run(connection, postgres, "bench_varchar_v4", "VARCHAR(36)", rows, false);
+            run(connection, postgres, "bench_uuid_v7", "UUID", rows, true);
+        }
+    }
+
+    private static void run(Connection connection, boolean postgres, String table, String keyType,
+                            int rows, boolean timeOrdered) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id " + keyType + " PRIMARY KEY, payload VARCHAR(64))");
+        }
+        connection.commit();
+
+        List<UUID> keys = new ArrayList<>(rows);
+        long insertStart = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                UUID id = timeOrdered ? UuidV7.next() : UUID.randomUUID();
+                keys.add(id);
+                if (timeOrdered) {
+                    insert.setObject(1, id);
+                } else {
+                    insert.setString(1, id.toString());
+                }
+                insert.setString(2, "row-" + i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long insertNanos = System.nanoTime() - insertStart;
+
+        Collections.shuffle(keys, new Random(42));
+        int lookups = Math.min(LOOKUPS, rows);
+        long lookupStart = System.nanoTime();
+        int found = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT payload FROM " + table + " WHERE id = ?")) {
+            for (int i = 0; i < lookups; i++) {
+                if (timeOrdered) {
+                    select.setObject(1, keys.get(i));
+                } else {
+                    select.setString(1, keys.get(i).toString());
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        found++;
+                    }
+                }
+            }
+        }
+        connection.commit();
+        long lookupNanos = System.nanoTime() - lookupStart;
+
+        System.out.printf("%-18s %-12s insert %,10.0f rows/s   lookup %,10.0f ops/s (%d/%d found)%n",
+                table, keyType, rows / (insertNanos / 1e9), lookups / (lookupNanos / 1e9), found, lookups);
+
+        if (postgres) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT pg_size_pretty(pg_relation_size('" + table + "')), " +
+                         "pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+                if (rs.next()) {
+                    System.out.printf("%-18s table %s, primary key index %s%n", table, rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.company.los.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Streaming XLSX бичигч - zip бүтэц, sheet XML, sharedStrings, escape
+ */
+@DisplayName("XlsxStreamWriter Tests")
+class XlsxStreamWriterTest {
+
+    private static final String SHEET = "xl/worksheets/sheet1.xml";
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+
+    private static Map<String, String> unzip(byte[] xlsx) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static void assertWellFormed(Map<String, String> entries) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        for (String xml : entries.values()) {
+            factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    @DisplayName("Zip нь workbook-ийн бүх хэсгийг агуулж, XML бүр зөв бүтэцтэй")
+    void close_WritesWellFormedPackage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxStreamWriter writer = new XlsxStreamWriter(out, "Зээл <2025>")) {
+            writer.writeHeader("Дугаар");
+            writer.writeRow("LN-2025-000001");
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        assertThat(entries.keySet()).containsExactly("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", SHEET, SHARED_STRINGS);
+        assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"Зээл &lt;2025&gt;\"");
+        assertThat(entries.get(SHEET)).contains("<pane ySplit=\"1\"");
+        assertWellFormed(entries);
+    }
+
+    @Test
+    @DisplayName("Нүд бүр төрлөөрөө бичигдэж, давтагдсан текст sharedStrings-д нэг удаа орно")
+    void writeRow_WritesTypedCellsAndSharedStrings() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String longText = "Т".repeat(65);
+        try (XlsxStreamWriter writer = new XlsxStreamWriter(out, "Export")) {
+            writer.writeHeader("Аймаг", "Тоо", "Дүн", "Идэвхтэй", "Огноо", "Хугацаа", "Хоосон", "Тайлбар");
+            writer.writeRow("Улаанбаатар", 12L, new BigDecimal("1500000.50"), true,
+                    LocalDate.of(2025, 8, 10), LocalDateTime.of(2025, 8, 10, 12, 0), null, "A & <B>");
+            writer.writeRow("Улаанбаатар", 7, null, false, null, null, null, longText);
+            writer.writeRow("x\u0001y");
+
+            assertThat(writer.getRowCount()).isEqualTo(4);
+            assertThat(writer.getSharedStringCount()).isEqualTo(11);
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        String sheet = entries.get(SHEET);
+
+        assertThat(sheet).contains(
+                "<row r=\"1\"><c r=\"A1\" s=\"1\" t=\"s\"><v>0</v></c>",
+                "<c r=\"H1\" s=\"1\" t=\"s\"><v>7</v></c></row>",
+                "<c r=\"A2\" t=\"s\"><v>8</v></c>",
+                "<c r=\"B2\"><v>12</v></c>",
+                "<c r=\"C2\" s=\"4\"><v>1500000.50</v></c>",
+                "<c r=\"D2\" t=\"b\"><v>1</v></c>",
+                "<c r=\"E2\" s=\"2\"><v>45879</v></c>",
+                "<c r=\"F2\" s=\"3\"><v>45879.500000</v></c>",
+                "<c r=\"H2\" t=\"s\"><v>9</v></c></row>",
+                "<c r=\"A3\" t=\"s\"><v>8</v></c>",
+                "<c r=\"B3\"><v>7</v></c>",
+                "<c r=\"D3\" t=\"b\"><v>0</v></c>",
+                "<c r=\"H3\" t=\"inlineStr\"><is><t xml:space=\"preserve\">" + longText + "</t></is></c>",
+                "<row r=\"4\"><c r=\"A4\" t=\"s\"><v>10</v></c></row>");
+        // null нүд бичигдэхгүй
+        assertThat(sheet).doesNotContain("r=\"G2\"", "r=\"C3\"", "r=\"E3\"");
+
+        String sharedStrings = entries.get(SHARED_STRINGS);
+        assertThat(sharedStrings).contains("count=\"12\" uniqueCount=\"11\"",
+                "<si><t xml:space=\"preserve\">Улаанбаатар</t></si>",
+                "<si><t xml:space=\"preserve\">A &amp; &lt;B&gt;</t></si>",
+                "<si><t xml:space=\"preserve\">xy</t></si>");
+        assertThat(sharedStrings).doesNotContain(longText);
+        assertWellFormed(entries);
+    }
+
+    @Test
+    @DisplayName("sharedStrings дүүрвэл шинэ текст inline болж, өмнөх текстүүд index-ээ хадгална")
+    void writeRow_FallsBackToInlineWhenSharedStringsFull() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxStreamWriter writer = new XlsxStreamWriter(out, "Export", 2)) {
+            writer.writeRow("a", "b", "c", "a");
+            assertThat(writer.getSharedStringCount()).isEqualTo(2);
+        }
+
+        Map<String, String> entries = unzip(out.toByteArray());
+
+        assertThat(entries.get(SHEET)).contains("<c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c>"
+                + "<c r=\"C1\" t=\"inlineStr\"><is><t xml:space=\"preserve\">c</t></is></c>"
+                + "<c r=\"D1\" t=\"s\"><v>0</v></c>");
+        assertThat(entries.get(SHARED_STRINGS)).contains("count=\"3\" uniqueCount=\"2\"");
+    }
+
+    @Test
+    @DisplayName("close давтан дуудагдаж болох бөгөөд доорх урсгалыг хаахгүй")
+    void close_IsIdempotentAndLeavesStreamOpen() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertThat(closed).isFalse();
+                super.write(b, off, len);
+            }
+        };
+        XlsxStreamWriter writer = new XlsxStreamWriter(out, "Export");
+        writer.writeRow("a");
+        writer.close();
+        int size = out.size();
+        writer.close();
+
+        assertThat(out.size()).isEqualTo(size);
+        out.write("tail".getBytes(StandardCharsets.UTF_8));
+        assertThat(unzip(out.toByteArray())).containsKey(SHARED_STRINGS);
+    }
+
+    @Test
+    @DisplayName("abort хийсэн экспорт zip-ийн төгсгөлийг бичихгүй тул бүрэн workbook болж нээгдэхгүй")
+    void abort_LeavesArchiveUnfinished() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxStreamWriter writer = new XlsxStreamWriter(out, "Export");
+        writer.writeHeader("Дугаар");
+        writer.writeRow("LN-2025-000001");
+        writer.abort();
+        writer.close();
+
+        String bytes = out.toString(StandardCharsets.ISO_8859_1);
+        // End of central directory бичлэгийн сигнатур
+        assertThat(bytes).doesNotContain("PK\u0005\u0006");
+        assertThat(bytes).doesNotContain(SHARED_STRINGS);
+    }
+}